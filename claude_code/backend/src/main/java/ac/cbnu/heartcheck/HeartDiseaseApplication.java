@@ -3,6 +3,7 @@ package ac.cbnu.heartcheck;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.data.jpa.repository.config.EnableJpaAuditing;
+import org.springframework.scheduling.annotation.EnableScheduling;
 import org.springframework.session.data.redis.config.annotation.web.http.EnableRedisHttpSession;
 
 /**
@@ -14,6 +15,7 @@ import org.springframework.session.data.redis.config.annotation.web.http.EnableR
  */
 @SpringBootApplication
 @EnableJpaAuditing
+@EnableScheduling
 @EnableRedisHttpSession(maxInactiveIntervalInSeconds = 3600)
 public class HeartDiseaseApplication {
 
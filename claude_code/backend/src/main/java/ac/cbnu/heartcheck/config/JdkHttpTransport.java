@@ -0,0 +1,179 @@
+package ac.cbnu.heartcheck.config;
+
+import com.google.api.client.http.HttpTransport;
+import com.google.api.client.http.LowLevelHttpRequest;
+import com.google.api.client.http.LowLevelHttpResponse;
+import com.google.api.client.util.StreamingContent;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * JDK HttpClient 기반 google-http-client 전송 계층
+ *
+ * NetHttpTransport는 요청마다 HttpURLConnection을 새로 열고 타임아웃을 HttpRequest 기본값(20초)에 맡긴다.
+ * Google 공개키 조회(GoogleIdTokenVerifier)처럼 요청을 라이브러리가 만드는 경우에도 다른 외부 호출과 같이
+ * 공유 HttpClient(연결 재사용, 연결 타임아웃)와 설정한 응답 타임아웃을 쓰고 시도별 지표를 남기도록 이 전송 계층을 쓴다.
+ */
+class JdkHttpTransport extends HttpTransport {
+
+    /** java.net.http가 직접 설정하는 헤더 */
+    private static final Set<String> RESTRICTED_HEADERS = Set.of("connection", "content-length", "expect", "host", "upgrade");
+
+    private final HttpClient httpClient;
+    private final Duration readTimeout;
+    private final OutboundHttpMetrics metrics;
+
+    /**
+     * @param httpClient 공유 HttpClient (연결 타임아웃 포함)
+     * @param readTimeout 응답 헤더 수신까지의 타임아웃
+     * @param metrics 호출 대상 지표
+     */
+    JdkHttpTransport(HttpClient httpClient, Duration readTimeout, OutboundHttpMetrics metrics) {
+        this.httpClient = httpClient;
+        this.readTimeout = readTimeout;
+        this.metrics = metrics;
+    }
+
+    @Override
+    protected LowLevelHttpRequest buildRequest(String method, String url) {
+        return new Request(method, url);
+    }
+
+    private static HttpRequest.BodyPublisher bodyPublisher(StreamingContent content) throws IOException {
+        if (content == null) {
+            return HttpRequest.BodyPublishers.noBody();
+        }
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        content.writeTo(out);
+        return HttpRequest.BodyPublishers.ofByteArray(out.toByteArray());
+    }
+
+    private final class Request extends LowLevelHttpRequest {
+
+        private final String method;
+        private final String url;
+        private final List<String[]> headers = new ArrayList<>();
+
+        private Request(String method, String url) {
+            this.method = method;
+            this.url = url;
+        }
+
+        @Override
+        public void addHeader(String name, String value) {
+            headers.add(new String[]{name, value});
+        }
+
+        @Override
+        public LowLevelHttpResponse execute() throws IOException {
+            HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(url)).timeout(readTimeout);
+            for (String[] header : headers) {
+                if (!RESTRICTED_HEADERS.contains(header[0].toLowerCase())) {
+                    builder.header(header[0], header[1]);
+                }
+            }
+            if (getContentType() != null) {
+                builder.header("Content-Type", getContentType());
+            }
+            if (getContentEncoding() != null) {
+                builder.header("Content-Encoding", getContentEncoding());
+            }
+            builder.method(method, bodyPublisher(getStreamingContent()));
+
+            long start = metrics.start();
+            try {
+                HttpResponse<InputStream> response = httpClient.send(builder.build(), HttpResponse.BodyHandlers.ofInputStream());
+                metrics.finish(String.valueOf(response.statusCode()), start);
+                return new Response(response);
+            } catch (IOException e) {
+                metrics.finish("IO_ERROR", start);
+                throw e;
+            } catch (InterruptedException e) {
+                metrics.finish("IO_ERROR", start);
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Interrupted while waiting for " + url);
+            }
+        }
+    }
+
+    private static final class Response extends LowLevelHttpResponse {
+
+        private final HttpResponse<InputStream> response;
+        private final List<String> headerNames = new ArrayList<>();
+        private final List<String> headerValues = new ArrayList<>();
+
+        private Response(HttpResponse<InputStream> response) {
+            this.response = response;
+            response.headers().map().forEach((name, values) -> values.forEach(value -> {
+                headerNames.add(name);
+                headerValues.add(value);
+            }));
+        }
+
+        @Override
+        public InputStream getContent() {
+            return response.body();
+        }
+
+        @Override
+        public String getContentEncoding() {
+            return response.headers().firstValue("Content-Encoding").orElse(null);
+        }
+
+        @Override
+        public long getContentLength() {
+            return response.headers().firstValueAsLong("Content-Length").orElse(-1);
+        }
+
+        @Override
+        public String getContentType() {
+            return response.headers().firstValue("Content-Type").orElse(null);
+        }
+
+        @Override
+        public String getStatusLine() {
+            return null;
+        }
+
+        @Override
+        public int getStatusCode() {
+            return response.statusCode();
+        }
+
+        @Override
+        public String getReasonPhrase() {
+            return null;
+        }
+
+        @Override
+        public int getHeaderCount() {
+            return headerNames.size();
+        }
+
+        @Override
+        public String getHeaderName(int index) {
+            return headerNames.get(index);
+        }
+
+        @Override
+        public String getHeaderValue(int index) {
+            return headerValues.get(index);
+        }
+
+        @Override
+        public void disconnect() throws IOException {
+            response.body().close();
+        }
+    }
+}
@@ -0,0 +1,131 @@
+package ac.cbnu.heartcheck.config;
+
+import com.google.api.client.googleapis.auth.oauth2.GoogleIdTokenVerifier;
+import com.google.api.client.json.gson.GsonFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
+import org.springframework.web.client.RestTemplate;
+
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 외부 API 호출 공용 HTTP 설정
+ *
+ * 호출 대상마다 HttpClient를 1개씩 두고 애플리케이션 전체에서 재사용한다.
+ * HttpClient는 keep-alive 연결 풀과 HTTP/2(ALPN 협상)를 지원하므로 호출마다 TLS 핸드셰이크를 하지 않는다.
+ * 대상별 설정(heart.http.{대상}.*): 연결·응답 타임아웃
+ *
+ * 지연 지표는 RestTemplateBuilder가 붙이는 http.client.requests(호출 단위)와
+ * OutboundHttpMetrics의 outbound.http.*(시도 단위, 대상 태그)로 남는다.
+ * 재시도는 이 계층에서 하지 않고 호출 단위(작업자 재점유, DependencyGuard)로 처리한다.
+ *
+ * @author CBNU Development Team
+ * @version 1.1.0
+ * @since 2024
+ */
+@Configuration
+public class OutboundHttpConfig {
+
+    public static final String OPENAI = "openai";
+    public static final String GOOGLE = "google";
+
+    /**
+     * 외부 HTTP 응답 처리용 공유 실행기 (모든 대상의 HttpClient가 함께 사용)
+     */
+    @Bean(destroyMethod = "shutdownNow")
+    public static ExecutorService outboundHttpExecutor(@Value("${heart.http.threads:4}") int threads) {
+        AtomicInteger sequence = new AtomicInteger();
+        ThreadFactory threadFactory = runnable -> {
+            Thread thread = new Thread(runnable, "outbound-http-" + sequence.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+        return Executors.newFixedThreadPool(threads, threadFactory);
+    }
+
+    /**
+     * OpenAI REST 호출용 RestTemplate (토큰 발급)
+     */
+    @Bean
+    public RestTemplate openAiRestTemplate(RestTemplateBuilder builder,
+                                           @Qualifier("outboundHttpExecutor") ExecutorService outboundHttpExecutor,
+                                           MeterRegistry meterRegistry,
+                                           @Value("${heart.http.openai.connect-timeout-ms:3000}") long connectTimeoutMs,
+                                           @Value("${heart.http.openai.read-timeout-ms:15000}") long readTimeoutMs) {
+        HttpClient httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_2)
+                .connectTimeout(Duration.ofMillis(connectTimeoutMs))
+                .executor(outboundHttpExecutor)
+                .build();
+        JdkClientHttpRequestFactory requestFactory = new JdkClientHttpRequestFactory(httpClient, outboundHttpExecutor);
+        requestFactory.setReadTimeout(Duration.ofMillis(readTimeoutMs));
+
+        return builder
+                .requestFactory(() -> requestFactory)
+                .additionalInterceptors(new OutboundHttpInterceptor(new OutboundHttpMetrics(OPENAI, meterRegistry)))
+                .build();
+    }
+
+    /**
+     * 푸시 게이트웨이(FCM, APNs) 호출용 HttpClient
+     * 제공자마다 HTTP/2 연결 하나에 여러 요청을 스트림으로 동시에 보낸다 (PushGatewayClient).
+     * 재시도는 전달 작업 단위로 NotificationDeliveryWorker가 백오프를 두고 다시 점유해 처리한다.
+     */
+    @Bean
+    public HttpClient pushHttpClient(@Qualifier("outboundHttpExecutor") ExecutorService outboundHttpExecutor,
+                                     @Value("${heart.http.push.connect-timeout-ms:3000}") long connectTimeoutMs) {
+        return HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_2)
+                .connectTimeout(Duration.ofMillis(connectTimeoutMs))
+                .executor(outboundHttpExecutor)
+                .build();
+    }
+
+    /**
+     * 스토어 영수증 검증(Google Play Developer API, App Store Server API) 호출용 HttpClient
+     * PaymentVerificationWorker의 작업자 스레드가 동기로 호출하며, 재시도는 결제 단위로 작업자가 백오프를 두고 다시 점유해 처리한다.
+     */
+    @Bean
+    public HttpClient receiptHttpClient(@Qualifier("outboundHttpExecutor") ExecutorService outboundHttpExecutor,
+                                        @Value("${heart.http.receipt.connect-timeout-ms:3000}") long connectTimeoutMs) {
+        return HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_2)
+                .connectTimeout(Duration.ofMillis(connectTimeoutMs))
+                .executor(outboundHttpExecutor)
+                .build();
+    }
+
+    /**
+     * Google ID 토큰 검증기 (싱글톤)
+     * 검증기가 Google 공개키를 Cache-Control 만료 시각까지 보관하므로, 로그인마다 키를 다시 받지 않는다.
+     * 공개키 조회는 설정한 타임아웃의 공유 HttpClient로 보내고 outbound.http.*(target=google)로 기록한다 (JdkHttpTransport)
+     */
+    @Bean
+    public GoogleIdTokenVerifier googleIdTokenVerifier(@Value("${google.oauth2.client-id}") String googleClientId,
+                                                       @Qualifier("outboundHttpExecutor") ExecutorService outboundHttpExecutor,
+                                                       MeterRegistry meterRegistry,
+                                                       @Value("${heart.http.google.connect-timeout-ms:3000}") long connectTimeoutMs,
+                                                       @Value("${heart.http.google.read-timeout-ms:5000}") long readTimeoutMs) {
+        HttpClient httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_2)
+                .connectTimeout(Duration.ofMillis(connectTimeoutMs))
+                .executor(outboundHttpExecutor)
+                .build();
+        JdkHttpTransport transport = new JdkHttpTransport(httpClient, Duration.ofMillis(readTimeoutMs),
+                new OutboundHttpMetrics(GOOGLE, meterRegistry));
+        return new GoogleIdTokenVerifier.Builder(transport, GsonFactory.getDefaultInstance())
+                .setAudience(Collections.singletonList(googleClientId))
+                .build();
+    }
+}
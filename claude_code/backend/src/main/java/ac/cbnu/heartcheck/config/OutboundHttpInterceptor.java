@@ -0,0 +1,41 @@
+package ac.cbnu.heartcheck.config;
+
+import org.springframework.http.HttpRequest;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+
+import java.io.IOException;
+
+/**
+ * 외부 호출 대상별 지표 인터셉터
+ *
+ * 시도별 지연(outbound.http.attempt)과 진행 중 요청 수(outbound.http.in_flight)를 대상별로 기록한다 (OutboundHttpMetrics).
+ * 재시도하지 않는다. 이 인터셉터를 쓰는 OpenAI 호출(토큰 발급 등)은 모두 POST라 다시 보내면 중복 발급될 수 있으므로,
+ * 실패는 호출한 쪽(OpenAIRealtimeService, OpenAIService의 DependencyGuard)이 처리한다.
+ */
+class OutboundHttpInterceptor implements ClientHttpRequestInterceptor {
+
+    private final OutboundHttpMetrics metrics;
+
+    /**
+     * @param metrics 호출 대상 지표
+     */
+    OutboundHttpInterceptor(OutboundHttpMetrics metrics) {
+        this.metrics = metrics;
+    }
+
+    @Override
+    public ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution)
+            throws IOException {
+        long start = metrics.start();
+        try {
+            ClientHttpResponse response = execution.execute(request, body);
+            metrics.finish(String.valueOf(response.getStatusCode().value()), start);
+            return response;
+        } catch (IOException e) {
+            metrics.finish("IO_ERROR", start);
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package ac.cbnu.heartcheck.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 외부 호출 대상별 지표
+ *
+ * 시도별 지연(outbound.http.attempt, 결과 태그)과 진행 중 요청 수(outbound.http.in_flight)를 대상 태그로 기록한다.
+ * 결과별 Timer는 처음 본 결과에서 한 번만 등록하고 이후에는 캐시한 것을 쓴다.
+ */
+class OutboundHttpMetrics {
+
+    private final String target;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, Timer> attemptTimers = new ConcurrentHashMap<>();
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    /**
+     * @param target 호출 대상 이름 (지표 태그)
+     * @param meterRegistry 지표 레지스트리
+     */
+    OutboundHttpMetrics(String target, MeterRegistry meterRegistry) {
+        this.target = target;
+        this.meterRegistry = meterRegistry;
+        meterRegistry.gauge("outbound.http.in_flight", Tags.of("target", target), inFlight);
+    }
+
+    /**
+     * 시도 시작 (진행 중 요청 수 증가)
+     * @return 시작 시각 (System.nanoTime)
+     */
+    long start() {
+        inFlight.incrementAndGet();
+        return System.nanoTime();
+    }
+
+    /**
+     * 시도 종료 기록
+     * @param outcome 결과 (HTTP 상태 코드 또는 IO_ERROR)
+     * @param startNanos start()가 돌려준 시작 시각
+     */
+    void finish(String outcome, long startNanos) {
+        inFlight.decrementAndGet();
+        attemptTimers.computeIfAbsent(outcome, key -> Timer.builder("outbound.http.attempt")
+                        .tags("target", target, "outcome", key)
+                        .register(meterRegistry))
+                .record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * 현재 진행 중인 요청 수
+     */
+    int inFlight() {
+        return inFlight.get();
+    }
+}
@@ -1,19 +1,27 @@
 package ac.cbnu.heartcheck.config;
 
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
 import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+import org.springframework.data.redis.serializer.GenericToStringSerializer;
+import org.springframework.data.redis.serializer.RedisSerializer;
 import org.springframework.data.redis.serializer.StringRedisSerializer;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.ThreadPoolExecutor;
 
 /**
  * Redis 설정 클래스
  * 계층화된 인가 시스템을 위한 캐시 설정
  *
  * @author CBNU Development Team
- * @version 1.0.0
+ * @version 1.2.0
  * @since 2024
  */
 @Configuration
@@ -22,7 +30,8 @@ public class RedisConfig {
 
     /**
      * Redis Template 설정
-     * 사용량 추적 및 세션 관리를 위한 템플릿
+     * 범용 객체 템플릿 (JSON, 타입 정보 포함)
+     * 카운터는 counterRedisTemplate, 자주 읽는 캐시 값은 bytesRedisTemplate(HotKeyCache)을 사용한다
      */
     @Bean
     public RedisTemplate<String, Object> redisTemplate(RedisConnectionFactory connectionFactory) {
@@ -44,4 +53,64 @@ public class RedisConfig {
         log.info("Redis Template configured for layered authorization system");
         return template;
     }
-}
\ No newline at end of file
+
+    /**
+     * 카운터 전용 Redis Template
+     * 값을 10진수 문자열로 저장하여 INCR 결과와 호환되며 Long으로 바로 조회된다
+     */
+    @Bean
+    public RedisTemplate<String, Long> counterRedisTemplate(RedisConnectionFactory connectionFactory) {
+        RedisTemplate<String, Long> template = new RedisTemplate<>();
+        template.setConnectionFactory(connectionFactory);
+        template.setKeySerializer(new StringRedisSerializer());
+        template.setValueSerializer(new GenericToStringSerializer<>(Long.class));
+        template.afterPropertiesSet();
+        return template;
+    }
+
+    /**
+     * 바이트 값 Redis Template
+     * RedisValueCodec으로 인코딩한 값(문자열 원문 또는 Smile 바이너리)을 그대로 저장
+     */
+    @Bean
+    public RedisTemplate<String, byte[]> bytesRedisTemplate(RedisConnectionFactory connectionFactory) {
+        RedisTemplate<String, byte[]> template = new RedisTemplate<>();
+        template.setConnectionFactory(connectionFactory);
+        template.setKeySerializer(new StringRedisSerializer());
+        template.setValueSerializer(RedisSerializer.byteArray());
+        template.afterPropertiesSet();
+        return template;
+    }
+
+    /**
+     * Redis pub/sub 메시지 처리 실행기
+     * 기본 실행기(SimpleAsyncTaskExecutor)는 메시지마다 스레드를 새로 만들므로 스레드 수와 대기열을 제한한다.
+     * 대기열이 차면 구독 연결 스레드에서 직접 처리해 발행 속도를 늦춘다 (메시지는 버리지 않음)
+     */
+    @Bean
+    public ThreadPoolTaskExecutor redisListenerExecutor(
+            @Value("${heart.redis.listener.threads:4}") int threads,
+            @Value("${heart.redis.listener.queue-capacity:1000}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("redis-listener-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        return executor;
+    }
+
+    /**
+     * Redis pub/sub 리스너 컨테이너
+     * 노드 간 이벤트 전파용 구독을 연결 하나로 공유한다 (알림 푸시: NotificationPushService)
+     */
+    @Bean
+    public RedisMessageListenerContainer redisMessageListenerContainer(
+            RedisConnectionFactory connectionFactory,
+            @Qualifier("redisListenerExecutor") ThreadPoolTaskExecutor redisListenerExecutor) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        container.setTaskExecutor(redisListenerExecutor);
+        return container;
+    }
+}
@@ -0,0 +1,40 @@
+package ac.cbnu.heartcheck.config;
+
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 장애 격리 설정
+ * 외부 의존성 호출을 감싸는 서킷 브레이커 인스턴스 (설정값은 resilience4j.circuitbreaker.instances.*)
+ *
+ * @author CBNU Development Team
+ * @version 1.0.0
+ * @since 2024
+ */
+@Configuration
+@Slf4j
+public class ResilienceConfig {
+
+    public static final String REDIS_QUOTA = "redisQuota";
+
+    /**
+     * 외부 의존성 이름 (DependencyGuard의 bulkhead·서킷 브레이커 인스턴스 이름)
+     */
+    public static final String OPENAI = "openai";
+    public static final String GOOGLE = "google";
+
+    /**
+     * 사용량 제한용 Redis 호출 서킷 브레이커
+     * 열린 동안 QuotaEngine은 노드 로컬 카운터로 제한을 적용한다
+     */
+    @Bean
+    public CircuitBreaker redisQuotaCircuitBreaker(CircuitBreakerRegistry circuitBreakerRegistry) {
+        CircuitBreaker circuitBreaker = circuitBreakerRegistry.circuitBreaker(REDIS_QUOTA);
+        circuitBreaker.getEventPublisher().onStateTransition(event ->
+                log.warn("Redis quota circuit breaker {}", event.getStateTransition()));
+        return circuitBreaker;
+    }
+}
@@ -47,9 +47,10 @@ public class SecurityConfig {
                 .requestMatchers("/api/auth/**").permitAll()
                 .requestMatchers("/api/public/**").permitAll()
                 .requestMatchers("/api/v1/voice/realtime/**").permitAll()  // WebSocket endpoint
+                .requestMatchers("/api/v1/notifications/stream").permitAll()  // WebSocket endpoint (token 쿼리로 인증)
                 .requestMatchers("/login/oauth2/**").permitAll()  // OAuth2 login
                 .requestMatchers("/oauth2/**").permitAll()  // OAuth2 callback
-                .requestMatchers("/actuator/health").permitAll()
+                .requestMatchers("/actuator/health", "/actuator/health/liveness", "/actuator/health/readiness").permitAll()
                 .requestMatchers("/actuator/info").permitAll()
                 .requestMatchers("/h2-console/**").permitAll()
                 .requestMatchers("/api/admin/**").hasRole("ADMIN")
@@ -1,13 +1,23 @@
 package ac.cbnu.heartcheck.config;
 
+import ac.cbnu.heartcheck.websocket.NotificationPushHandler;
 import ac.cbnu.heartcheck.websocket.VoiceProxyHandler;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.web.socket.config.annotation.EnableWebSocket;
 import org.springframework.web.socket.config.annotation.WebSocketConfigurer;
 import org.springframework.web.socket.config.annotation.WebSocketHandlerRegistry;
 
+import java.net.http.HttpClient;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
 /**
  * WebSocket configuration for OpenAI Realtime API proxy
  */
@@ -18,6 +28,7 @@ import org.springframework.web.socket.config.annotation.WebSocketHandlerRegistry
 public class WebSocketConfig implements WebSocketConfigurer {
 
     private final VoiceProxyHandler voiceProxyHandler;
+    private final NotificationPushHandler notificationPushHandler;
 
     @Override
     public void registerWebSocketHandlers(WebSocketHandlerRegistry registry) {
@@ -26,5 +37,64 @@ public class WebSocketConfig implements WebSocketConfigurer {
         registry
             .addHandler(voiceProxyHandler, "/api/v1/voice/realtime")
             .setAllowedOrigins("*"); // Allow all origins for development
+
+        // 알림 푸시 스트림 (폴링 대체)
+        registry
+            .addHandler(notificationPushHandler, "/api/v1/notifications/stream")
+            .setAllowedOrigins("*");
+    }
+
+    /**
+     * OpenAI Realtime 중계용 공유 HttpClient
+     * 모든 상위 WebSocket 연결이 셀렉터 스레드 1개와 소수의 콜백 스레드를 함께 사용한다
+     */
+    @Bean(destroyMethod = "shutdownNow")
+    public static ExecutorService voiceProxyExecutor(@Value("${heart.voice.proxy.io-threads:0}") int ioThreads) {
+        int threads = ioThreads > 0 ? ioThreads : Runtime.getRuntime().availableProcessors();
+        AtomicInteger sequence = new AtomicInteger();
+        ThreadFactory threadFactory = runnable -> {
+            Thread thread = new Thread(runnable, "voice-proxy-" + sequence.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+        return Executors.newFixedThreadPool(threads, threadFactory);
+    }
+
+    /**
+     * 프론트엔드 송신 전용 실행기
+     * 세션별 다음 비동기 전송을 시작하는 짧은 작업만 실행하며 전송 완료를 기다리지 않는다 (세션당 동시에 작업 1개)
+     */
+    @Bean(destroyMethod = "shutdownNow")
+    public static ExecutorService voiceOutboundExecutor(@Value("${heart.voice.proxy.outbound.threads:0}") int outboundThreads) {
+        int threads = outboundThreads > 0 ? outboundThreads : Runtime.getRuntime().availableProcessors() * 2;
+        AtomicInteger sequence = new AtomicInteger();
+        ThreadFactory threadFactory = runnable -> {
+            Thread thread = new Thread(runnable, "voice-outbound-" + sequence.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+        return Executors.newFixedThreadPool(threads, threadFactory);
+    }
+
+    /**
+     * 음성 검사 저장 전용 실행기
+     * DB 트랜잭션을 여는 검사 저장이 프론트엔드 송신 스레드를 붙잡지 않도록 분리한다
+     */
+    @Bean(destroyMethod = "shutdown")
+    public static ExecutorService voiceCheckExecutor(@Value("${heart.voice.proxy.check.threads:4}") int checkThreads) {
+        AtomicInteger sequence = new AtomicInteger();
+        ThreadFactory threadFactory = runnable -> {
+            Thread thread = new Thread(runnable, "voice-check-" + sequence.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+        return Executors.newFixedThreadPool(Math.max(1, checkThreads), threadFactory);
+    }
+
+    @Bean
+    public static HttpClient voiceProxyHttpClient(@Qualifier("voiceProxyExecutor") ExecutorService voiceProxyExecutor) {
+        return HttpClient.newBuilder()
+                .executor(voiceProxyExecutor)
+                .build();
     }
 }
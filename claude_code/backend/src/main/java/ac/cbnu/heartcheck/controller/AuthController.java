@@ -6,6 +6,7 @@ import ac.cbnu.heartcheck.dto.request.RefreshTokenRequest;
 import ac.cbnu.heartcheck.dto.request.UserRegistrationRequest;
 import ac.cbnu.heartcheck.dto.response.ApiResponse;
 import ac.cbnu.heartcheck.dto.response.LoginResponse;
+import ac.cbnu.heartcheck.exception.DependencyUnavailableException;
 import ac.cbnu.heartcheck.service.AuthService;
 import ac.cbnu.heartcheck.service.GoogleAuthService;
 import io.swagger.v3.oas.annotations.Operation;
@@ -13,6 +14,7 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.BadCredentialsException;
@@ -109,6 +111,11 @@ public class AuthController {
         try {
             LoginResponse response = googleAuthService.loginWithGoogle(request);
             return ResponseEntity.ok(ApiResponse.success(response, "Google login successful"));
+        } catch (DependencyUnavailableException e) {
+            log.warn("Google login shed: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfterSeconds()))
+                .body(ApiResponse.error("Google login is temporarily unavailable"));
         } catch (IllegalArgumentException e) {
             log.error("Google login failed: {}", e.getMessage());
             return ResponseEntity.badRequest()
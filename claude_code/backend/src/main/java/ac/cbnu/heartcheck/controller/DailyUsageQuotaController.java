@@ -3,14 +3,18 @@ package ac.cbnu.heartcheck.controller;
 import ac.cbnu.heartcheck.entity.DailyUsageQuota;
 import ac.cbnu.heartcheck.entity.User;
 import ac.cbnu.heartcheck.service.DailyUsageQuotaService;
+import ac.cbnu.heartcheck.service.QuotaEngine.QuotaResult;
+import ac.cbnu.heartcheck.service.UsageDashboardService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
 import java.time.LocalDate;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -19,7 +23,7 @@ import java.util.Map;
  * Heart Doctor 일일 사용량 제한 REST API 컨트롤러
  *
  * @author CBNU Development Team
- * @version 1.4
+ * @version 1.7
  * @since 2024
  */
 @Slf4j
@@ -29,6 +33,7 @@ import java.util.Map;
 public class DailyUsageQuotaController {
 
     private final DailyUsageQuotaService dailyUsageQuotaService;
+    private final UsageDashboardService usageDashboardService;
 
     /**
      * 사용자의 오늘 사용량 정보 조회
@@ -73,10 +78,11 @@ public class DailyUsageQuotaController {
     public ResponseEntity<Map<String, Object>> checkCanUse(@PathVariable Long userId) {
         try {
             User user = User.builder().userId(userId).build();
-            boolean canUse = dailyUsageQuotaService.canUseService(user);
-            int currentUsage = dailyUsageQuotaService.getTodayUsageCount(user);
-            int dailyLimit = dailyUsageQuotaService.getDailyLimit(user);
-            int remaining = dailyUsageQuotaService.getRemainingUsage(user);
+            DailyUsageQuotaService.DailyUsageInfo usageInfo = dailyUsageQuotaService.getUsageInfo(user);
+            boolean canUse = usageInfo.isCanUse();
+            int currentUsage = usageInfo.getCurrentUsage();
+            int dailyLimit = usageInfo.getDailyLimit();
+            int remaining = usageInfo.getRemainingUsage();
 
             Map<String, Object> response = Map.of(
                 "success", true,
@@ -109,30 +115,27 @@ public class DailyUsageQuotaController {
         try {
             User user = User.builder().userId(userId).build();
 
-            // 사용 가능 여부 먼저 확인
-            if (!dailyUsageQuotaService.canUseService(user)) {
+            // 허용 검사와 증가를 한 번에 처리
+            QuotaResult result = dailyUsageQuotaService.tryConsume(user);
+            if (!result.allowed()) {
                 return ResponseEntity.status(HttpStatus.FORBIDDEN).body(Map.of(
                     "success", false,
                     "message", "일일 사용량 제한에 도달했습니다.",
                     "data", Map.of(
-                        "currentUsage", dailyUsageQuotaService.getTodayUsageCount(user),
-                        "dailyLimit", dailyUsageQuotaService.getDailyLimit(user)
+                        "currentUsage", result.used(),
+                        "dailyLimit", result.limit()
                     )
                 ));
             }
 
-            int newUsageCount = dailyUsageQuotaService.incrementUsage(user);
-            int remainingUsage = dailyUsageQuotaService.getRemainingUsage(user);
-            boolean canStillUse = dailyUsageQuotaService.canUseService(user);
-
             Map<String, Object> response = Map.of(
                 "success", true,
                 "message", "사용량이 증가되었습니다.",
                 "data", Map.of(
-                    "newUsageCount", newUsageCount,
-                    "remainingUsage", remainingUsage,
-                    "canStillUse", canStillUse,
-                    "dailyLimit", dailyUsageQuotaService.getDailyLimit(user)
+                    "newUsageCount", result.used(),
+                    "remainingUsage", result.remaining(),
+                    "canStillUse", result.remaining() > 0,
+                    "dailyLimit", result.limit()
                 )
             );
 
@@ -228,26 +231,30 @@ public class DailyUsageQuotaController {
 
     /**
      * 사용량 현황 대시보드 (관리자용)
-     * GET /api/usage/dashboard?date=2024-01-01
+     * GET /api/usage/dashboard?date=2024-01-01&top=10
      */
     @GetMapping("/dashboard")
+    @PreAuthorize("hasRole('ADMIN')")
     public ResponseEntity<Map<String, Object>> getUsageDashboard(
-            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date) {
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date,
+            @RequestParam(defaultValue = "10") int top) {
         try {
-            // TODO: 관리자 권한 확인 필요
-
-            // 현재는 기본 통계만 제공
             LocalDate targetDate = date != null ? date : LocalDate.now();
-
-            Map<String, Object> response = Map.of(
+            UsageDashboardService.UsageDashboard dashboard = usageDashboardService.getDashboard(targetDate, top);
+
+            Map<String, Object> data = new LinkedHashMap<>();
+            data.put("date", dashboard.getDate());
+            data.put("activeUsers", dashboard.getActiveUsers());
+            data.put("totalUsage", dashboard.getTotalUsage());
+            data.put("topUsers", dashboard.getTopUsers());
+            data.put("perMinute", dashboard.getPerMinute());
+            data.put("peakMinute", dashboard.getPeakMinute());
+            data.put("peakMinuteUsage", dashboard.getPeakMinuteUsage());
+
+            return ResponseEntity.ok(Map.of(
                 "success", true,
-                "data", Map.of(
-                    "date", targetDate,
-                    "message", "사용량 대시보드 기능은 추후 구현 예정입니다."
-                )
-            );
-
-            return ResponseEntity.ok(response);
+                "data", data
+            ));
 
         } catch (Exception e) {
             log.error("Error retrieving usage dashboard", e);
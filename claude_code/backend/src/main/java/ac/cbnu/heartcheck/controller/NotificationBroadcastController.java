@@ -0,0 +1,156 @@
+package ac.cbnu.heartcheck.controller;
+
+import ac.cbnu.heartcheck.dto.request.NotificationBroadcastRequest;
+import ac.cbnu.heartcheck.dto.response.ApiResponse;
+import ac.cbnu.heartcheck.entity.NotificationBroadcast;
+import ac.cbnu.heartcheck.exception.ResourceNotFoundException;
+import ac.cbnu.heartcheck.service.NotificationBroadcastService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * NotificationBroadcastController for Heart Doctor system
+ * 일괄 알림 발송 관리 REST API 엔드포인트 (관리자 전용)
+ *
+ * @author CBNU Development Team
+ * @version 1.0.0
+ * @since 2024
+ */
+@Slf4j
+@RestController
+@RequestMapping("/api/admin/notifications/broadcasts")
+@RequiredArgsConstructor
+public class NotificationBroadcastController {
+
+    private final NotificationBroadcastService notificationBroadcastService;
+
+    /**
+     * 일괄 발송 작업 생성
+     * POST /api/admin/notifications/broadcasts
+     *
+     * @param request 알림 내용과 발송 대상
+     * @return 생성된 작업 (발송은 비동기로 진행)
+     */
+    @PostMapping
+    public ResponseEntity<ApiResponse<NotificationBroadcast>> createBroadcast(
+            @Valid @RequestBody NotificationBroadcastRequest request) {
+        log.info("일괄 알림 작업 생성 요청: audience={}, type={}", request.getAudience(), request.getType());
+
+        try {
+            NotificationBroadcast broadcast = notificationBroadcastService.createBroadcast(request.getType(),
+                    request.getTitle(), request.getMessage(), request.getUrl(), request.getPriority(),
+                    request.getAudience());
+            return ResponseEntity.status(HttpStatus.ACCEPTED)
+                    .body(ApiResponse.success(broadcast, "일괄 알림 작업이 등록되었습니다"));
+        } catch (Exception e) {
+            log.error("일괄 알림 작업 생성 실패", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(ApiResponse.error("일괄 알림 작업 생성 실패: " + e.getMessage()));
+        }
+    }
+
+    /**
+     * 작업 목록 조회 (최근 순)
+     * GET /api/admin/notifications/broadcasts
+     *
+     * @param page 페이지 번호 (기본값: 0)
+     * @param size 페이지 크기 (기본값: 20)
+     * @return 작업 목록
+     */
+    @GetMapping
+    public ResponseEntity<ApiResponse<Page<NotificationBroadcast>>> getBroadcasts(
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size) {
+        try {
+            return ResponseEntity.ok(ApiResponse.success(
+                    notificationBroadcastService.getBroadcasts(PageRequest.of(page, size))));
+        } catch (Exception e) {
+            log.error("일괄 알림 작업 목록 조회 실패", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(ApiResponse.error("일괄 알림 작업 목록 조회 실패: " + e.getMessage()));
+        }
+    }
+
+    /**
+     * 작업 진행 상황 조회
+     * GET /api/admin/notifications/broadcasts/{broadcastId}
+     *
+     * @param broadcastId 작업 ID
+     * @return 작업 (상태, 발송 수)
+     */
+    @GetMapping("/{broadcastId}")
+    public ResponseEntity<ApiResponse<NotificationBroadcast>> getBroadcast(@PathVariable Long broadcastId) {
+        try {
+            return ResponseEntity.ok(ApiResponse.success(notificationBroadcastService.getBroadcast(broadcastId)));
+        } catch (ResourceNotFoundException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                    .body(ApiResponse.error(e.getMessage()));
+        } catch (Exception e) {
+            log.error("일괄 알림 작업 조회 실패: broadcastId={}", broadcastId, e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(ApiResponse.error("일괄 알림 작업 조회 실패: " + e.getMessage()));
+        }
+    }
+
+    /**
+     * 작업 취소 (진행 중인 청크가 끝나면 멈춤)
+     * POST /api/admin/notifications/broadcasts/{broadcastId}/cancel
+     *
+     * @param broadcastId 작업 ID
+     * @return 취소 결과
+     */
+    @PostMapping("/{broadcastId}/cancel")
+    public ResponseEntity<ApiResponse<NotificationBroadcast>> cancel(@PathVariable Long broadcastId) {
+        log.info("일괄 알림 작업 취소 요청: broadcastId={}", broadcastId);
+
+        try {
+            if (!notificationBroadcastService.cancel(broadcastId)) {
+                return ResponseEntity.status(HttpStatus.CONFLICT)
+                        .body(ApiResponse.error("대기 중이거나 발송 중인 작업만 취소할 수 있습니다"));
+            }
+            return ResponseEntity.ok(ApiResponse.success(
+                    notificationBroadcastService.getBroadcast(broadcastId), "일괄 알림 작업이 취소되었습니다"));
+        } catch (ResourceNotFoundException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                    .body(ApiResponse.error(e.getMessage()));
+        } catch (Exception e) {
+            log.error("일괄 알림 작업 취소 실패: broadcastId={}", broadcastId, e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(ApiResponse.error("일괄 알림 작업 취소 실패: " + e.getMessage()));
+        }
+    }
+
+    /**
+     * 취소·실패한 작업 재개 (마지막 진행 위치부터)
+     * POST /api/admin/notifications/broadcasts/{broadcastId}/resume
+     *
+     * @param broadcastId 작업 ID
+     * @return 재개 결과
+     */
+    @PostMapping("/{broadcastId}/resume")
+    public ResponseEntity<ApiResponse<NotificationBroadcast>> resume(@PathVariable Long broadcastId) {
+        log.info("일괄 알림 작업 재개 요청: broadcastId={}", broadcastId);
+
+        try {
+            if (!notificationBroadcastService.resume(broadcastId)) {
+                return ResponseEntity.status(HttpStatus.CONFLICT)
+                        .body(ApiResponse.error("취소되었거나 실패한 작업만 재개할 수 있습니다"));
+            }
+            return ResponseEntity.ok(ApiResponse.success(
+                    notificationBroadcastService.getBroadcast(broadcastId), "일괄 알림 작업이 재개되었습니다"));
+        } catch (ResourceNotFoundException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                    .body(ApiResponse.error(e.getMessage()));
+        } catch (Exception e) {
+            log.error("일괄 알림 작업 재개 실패: broadcastId={}", broadcastId, e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(ApiResponse.error("일괄 알림 작업 재개 실패: " + e.getMessage()));
+        }
+    }
+}
@@ -1,7 +1,12 @@
 package ac.cbnu.heartcheck.controller;
 
+import ac.cbnu.heartcheck.dto.request.DeviceTokenRequest;
 import ac.cbnu.heartcheck.dto.response.ApiResponse;
+import ac.cbnu.heartcheck.entity.DeviceToken;
 import ac.cbnu.heartcheck.entity.Notification;
+import ac.cbnu.heartcheck.entity.NotificationDelivery;
+import ac.cbnu.heartcheck.exception.ResourceNotFoundException;
+import jakarta.validation.Valid;
 import ac.cbnu.heartcheck.service.NotificationService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -392,4 +397,76 @@ public class NotificationController {
                     .body(ApiResponse.error("통계 조회 실패: " + e.getMessage()));
         }
     }
+
+    /**
+     * 기기 푸시 토큰 등록
+     * POST /api/v1/notifications/devices
+     *
+     * @param request 사용자 ID, 푸시 제공자, 토큰
+     * @return 등록된 기기 토큰 정보
+     */
+    @PostMapping("/devices")
+    public ResponseEntity<ApiResponse<Map<String, Object>>> registerDeviceToken(
+            @Valid @RequestBody DeviceTokenRequest request) {
+        log.info("기기 토큰 등록 요청: userId={}, provider={}", request.getUserId(), request.getProvider());
+
+        try {
+            DeviceToken deviceToken = notificationService.registerDeviceToken(
+                    request.getUserId(), request.getProvider(), request.getToken());
+            Map<String, Object> result = new HashMap<>();
+            result.put("deviceTokenId", deviceToken.getId());
+            result.put("provider", deviceToken.getProvider());
+            result.put("active", deviceToken.getActive());
+            return ResponseEntity.ok(ApiResponse.success(result));
+        } catch (ResourceNotFoundException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(ApiResponse.error(e.getMessage()));
+        } catch (Exception e) {
+            log.error("기기 토큰 등록 실패: userId={}", request.getUserId(), e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(ApiResponse.error("기기 토큰 등록 실패: " + e.getMessage()));
+        }
+    }
+
+    /**
+     * 기기 푸시 토큰 해제
+     * DELETE /api/v1/notifications/devices?token={token}
+     *
+     * @param token 푸시 토큰
+     * @return 성공 메시지
+     */
+    @DeleteMapping("/devices")
+    public ResponseEntity<ApiResponse<String>> unregisterDeviceToken(@RequestParam String token) {
+        log.info("기기 토큰 해제 요청");
+
+        try {
+            notificationService.unregisterDeviceToken(token);
+            return ResponseEntity.ok(ApiResponse.success("기기 토큰이 해제되었습니다"));
+        } catch (Exception e) {
+            log.error("기기 토큰 해제 실패", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(ApiResponse.error("기기 토큰 해제 실패: " + e.getMessage()));
+        }
+    }
+
+    /**
+     * 알림의 기기별 푸시 전달 상태 조회
+     * GET /api/v1/notifications/{notificationId}/deliveries
+     *
+     * @param notificationId 알림 ID
+     * @return 전달 상태 목록
+     */
+    @GetMapping("/{notificationId}/deliveries")
+    public ResponseEntity<ApiResponse<List<NotificationDelivery>>> getDeliveries(@PathVariable Long notificationId) {
+        log.info("푸시 전달 상태 조회 요청: notificationId={}", notificationId);
+
+        try {
+            return ResponseEntity.ok(ApiResponse.success(notificationService.getDeliveries(notificationId)));
+        } catch (ResourceNotFoundException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(ApiResponse.error(e.getMessage()));
+        } catch (Exception e) {
+            log.error("푸시 전달 상태 조회 실패: notificationId={}", notificationId, e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(ApiResponse.error("전달 상태 조회 실패: " + e.getMessage()));
+        }
+    }
 }
@@ -11,9 +11,11 @@ import org.springframework.data.domain.Sort;
 import org.springframework.data.web.PageableDefault;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
 import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.HashMap;
 import java.util.List;
@@ -68,12 +70,15 @@ public class PaymentController {
     }
 
     /**
-     * 결제 완료 처리
+     * 결제 완료 요청 (영수증 검증은 비동기)
      * PUT /api/v1/payments/{paymentId}/complete
      *
+     * 결제를 검증 중(VERIFYING)으로 기록하고 202로 바로 응답한다.
+     * 클라이언트는 GET /api/v1/payments/{paymentId}로 SUCCESS 또는 FAIL이 될 때까지 확인한다.
+     *
      * @param paymentId 결제 ID
      * @param request 결제 완료 요청
-     * @return 완료된 결제 정보
+     * @return 검증 중인 결제 정보
      */
     @PutMapping("/{paymentId}/complete")
     public ResponseEntity<ApiResponse<Payment>> completePayment(
@@ -84,7 +89,8 @@ public class PaymentController {
 
         try {
             Payment payment = paymentService.completePayment(paymentId, request.getTransactionId());
-            return ResponseEntity.ok(ApiResponse.success(payment));
+            return ResponseEntity.status(HttpStatus.ACCEPTED)
+                    .body(ApiResponse.success(payment, "결제 영수증을 검증하고 있습니다"));
         } catch (IllegalArgumentException e) {
             log.error("Payment not found", e);
             return ResponseEntity.status(HttpStatus.NOT_FOUND)
@@ -378,6 +384,43 @@ public class PaymentController {
         }
     }
 
+    /**
+     * 일별 매출 스냅샷 재구성 (관리자)
+     * POST /api/v1/payments/stats/rebuild
+     *
+     * 결제 원장에서 기간 내 스냅샷을 다시 집계한다. 기간을 주지 않으면 원장 전체를 다시 만든다.
+     *
+     * @param from 시작일 (선택)
+     * @param to 종료일 (선택)
+     * @return 만든 스냅샷 행 수
+     */
+    @PostMapping("/stats/rebuild")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ApiResponse<Map<String, Object>>> rebuildRevenueSnapshots(
+            @RequestParam(required = false) LocalDate from,
+            @RequestParam(required = false) LocalDate to) {
+        log.info("Rebuilding revenue snapshots: from={}, to={}", from, to);
+
+        try {
+            int rows = paymentService.rebuildRevenueSnapshots(from, to);
+
+            Map<String, Object> result = new HashMap<>();
+            result.put("from", from);
+            result.put("to", to);
+            result.put("snapshotRows", rows);
+
+            return ResponseEntity.ok(ApiResponse.success(result, "매출 스냅샷을 재구성했습니다"));
+        } catch (IllegalStateException e) {
+            log.error("Invalid snapshot rebuild range", e);
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(ApiResponse.error(e.getMessage()));
+        } catch (Exception e) {
+            log.error("Error rebuilding revenue snapshots", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(ApiResponse.error("매출 스냅샷 재구성 실패: " + e.getMessage()));
+        }
+    }
+
     /**
      * 결제 요청 DTO
      */
@@ -0,0 +1,73 @@
+package ac.cbnu.heartcheck.controller;
+
+import ac.cbnu.heartcheck.dto.response.ApiResponse;
+import ac.cbnu.heartcheck.service.VoiceSessionRegistry;
+import ac.cbnu.heartcheck.service.VoiceSessionRegistry.NodeLoad;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+/**
+ * 음성 세션 부하·드레인 API
+ * 로드밸런서 에이전트 체크(세션 수 기반 라우팅)와 배포 전 드레인에 사용
+ *
+ * @author CBNU Development Team
+ * @version 1.0.0
+ * @since 2024
+ */
+@Slf4j
+@RestController
+@RequiredArgsConstructor
+public class VoiceSessionController {
+
+    private final VoiceSessionRegistry voiceSessionRegistry;
+
+    /**
+     * 이 노드의 음성 세션 부하 (인증 없음, 로드밸런서용)
+     * GET /api/public/voice/load
+     *
+     * @return 노드 부하 (드레인 중이면 503)
+     */
+    @GetMapping("/api/public/voice/load")
+    public ResponseEntity<NodeLoad> localLoad() {
+        NodeLoad load = voiceSessionRegistry.localLoad();
+        return load.draining()
+                ? ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(load)
+                : ResponseEntity.ok(load);
+    }
+
+    /**
+     * 클러스터 전체 노드별 음성 세션 수 (세션 수 오름차순)
+     * GET /api/admin/voice/nodes
+     *
+     * @return 노드 부하 목록
+     */
+    @GetMapping("/api/admin/voice/nodes")
+    public ResponseEntity<ApiResponse<List<NodeLoad>>> clusterLoad() {
+        try {
+            return ResponseEntity.ok(ApiResponse.success(voiceSessionRegistry.nodes()));
+        } catch (Exception e) {
+            log.error("Error reading voice session registry", e);
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .body(ApiResponse.error("음성 세션 레지스트리 조회 실패: " + e.getMessage()));
+        }
+    }
+
+    /**
+     * 이 노드 드레인 시작: 새 음성 세션을 거절하고 진행 중인 세션은 끝까지 유지
+     * POST /api/admin/voice/drain
+     *
+     * @return 드레인 시작 시점의 노드 부하
+     */
+    @PostMapping("/api/admin/voice/drain")
+    public ResponseEntity<ApiResponse<NodeLoad>> drain() {
+        voiceSessionRegistry.startDrain();
+        return ResponseEntity.ok(ApiResponse.success(voiceSessionRegistry.localLoad(), "Voice drain started"));
+    }
+}
@@ -1,10 +1,15 @@
 package ac.cbnu.heartcheck.controller;
 
 import ac.cbnu.heartcheck.dto.voice.TokenResponse;
+import ac.cbnu.heartcheck.exception.DependencyUnavailableException;
+import ac.cbnu.heartcheck.service.EphemeralTokenPool.MintedToken;
 import ac.cbnu.heartcheck.service.OpenAIRealtimeService;
+import ac.cbnu.heartcheck.service.VoiceClientSecretPool;
 import ac.cbnu.heartcheck.util.JwtUtil;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
@@ -23,6 +28,7 @@ import org.springframework.web.bind.annotation.*;
 public class VoiceTestController {
 
     private final OpenAIRealtimeService openAIRealtimeService;
+    private final VoiceClientSecretPool voiceClientSecretPool;
     private final JwtUtil jwtUtil;
 
     /**
@@ -46,15 +52,21 @@ public class VoiceTestController {
             String username = jwtUtil.extractUsername(jwt);
             log.debug("[Voice Test] Token requested by user: {}", username);
 
-            // Generate ephemeral token from OpenAI
-            String ephemeralToken = openAIRealtimeService.generateClientSecret();
+            // Take a pre-minted ephemeral token (minted on demand only when the pool is empty)
+            MintedToken ephemeralToken = voiceClientSecretPool.take();
 
             // Create response
-            TokenResponse response = new TokenResponse(ephemeralToken);
+            TokenResponse response = new TokenResponse(new TokenResponse.ClientSecret(
+                    ephemeralToken.value(), ephemeralToken.expiresAt().toEpochMilli()));
 
             log.info("[Voice Test] Token generated successfully for user: {}", username);
             return ResponseEntity.ok(response);
 
+        } catch (DependencyUnavailableException e) {
+            log.warn("[Voice Test] Token request shed: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfterSeconds()))
+                    .body(new TokenResponse());
         } catch (Exception e) {
             log.error("[Voice Test] Failed to generate token", e);
             return ResponseEntity.internalServerError()
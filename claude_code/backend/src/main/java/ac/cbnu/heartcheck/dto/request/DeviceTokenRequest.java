@@ -0,0 +1,31 @@
+package ac.cbnu.heartcheck.dto.request;
+
+import ac.cbnu.heartcheck.entity.DeviceToken;
+import jakarta.validation.constraints.*;
+import lombok.*;
+
+/**
+ * DeviceTokenRequest DTO
+ * 기기 푸시 토큰 등록 요청 데이터
+ *
+ * @author CBNU Development Team
+ * @version 1.0
+ * @since 2024
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class DeviceTokenRequest {
+
+    @NotNull(message = "사용자 ID는 필수입니다")
+    private Long userId;
+
+    @NotNull(message = "푸시 제공자는 필수입니다")
+    private DeviceToken.Provider provider;
+
+    @NotBlank(message = "푸시 토큰은 필수입니다")
+    @Size(max = 255, message = "푸시 토큰은 255자를 초과할 수 없습니다")
+    private String token;
+}
@@ -0,0 +1,41 @@
+package ac.cbnu.heartcheck.dto.request;
+
+import ac.cbnu.heartcheck.entity.Notification;
+import ac.cbnu.heartcheck.entity.NotificationBroadcast;
+import jakarta.validation.constraints.*;
+import lombok.*;
+
+/**
+ * NotificationBroadcastRequest DTO
+ * 일괄 알림 발송 작업 생성 요청 데이터
+ *
+ * @author CBNU Development Team
+ * @version 1.0
+ * @since 2024
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class NotificationBroadcastRequest {
+
+    @NotNull(message = "알림 타입은 필수입니다")
+    private Notification.NotificationType type;
+
+    @NotBlank(message = "알림 제목은 필수입니다")
+    @Size(max = 100, message = "알림 제목은 100자를 초과할 수 없습니다")
+    private String title;
+
+    @NotBlank(message = "알림 메시지는 필수입니다")
+    @Size(max = 500, message = "알림 메시지는 500자를 초과할 수 없습니다")
+    private String message;
+
+    @Size(max = 200, message = "URL은 200자를 초과할 수 없습니다")
+    private String url;
+
+    private Notification.Priority priority; // 없으면 NORMAL
+
+    @NotNull(message = "발송 대상은 필수입니다")
+    private NotificationBroadcast.Audience audience;
+}
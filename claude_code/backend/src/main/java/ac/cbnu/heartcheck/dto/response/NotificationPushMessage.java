@@ -0,0 +1,63 @@
+package ac.cbnu.heartcheck.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.Builder;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 알림 푸시 메시지 DTO
+ * 알림 스트림(WebSocket)으로 앱에 보내고, 노드 간 Redis pub/sub으로도 그대로 전달되는 메시지
+ *
+ * type
+ * - notification.created: 새 알림 (notification 포함, unreadDelta = 1)
+ * - unread.changed: 읽음/미읽음/삭제로 읽지 않은 개수가 unreadDelta만큼 변함
+ * - unread.count: 읽지 않은 개수 전체 값 (접속 직후 동기화, 일괄 읽음 처리 후)
+ * - notification.broadcast: 노드 간 전용. 일괄 발송 청크의 대상(userIds)과 공통 내용을 한 번에 전달하며,
+ *   각 노드는 자기 노드에 연결된 사용자에게만 notification.created로 풀어서 보낸다
+ * - notification.batch: 노드 간 전용. 예약 알림 발송 청크의 사용자별 메시지(messages)를 한 번에 전달하며,
+ *   각 노드는 자기 노드에 연결된 사용자의 메시지만 꺼내서 보낸다
+ *
+ * @author CBNU Development Team
+ * @version 1.1.0
+ * @since 2024
+ */
+@Getter
+@Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class NotificationPushMessage {
+
+    public static final String NOTIFICATION_CREATED = "notification.created";
+    public static final String UNREAD_CHANGED = "unread.changed";
+    public static final String UNREAD_COUNT = "unread.count";
+    public static final String NOTIFICATION_BROADCAST = "notification.broadcast";
+    public static final String NOTIFICATION_BATCH = "notification.batch";
+
+    private String type;
+    private Long userId;
+    private List<Long> userIds;
+    private Item notification;
+    private Integer unreadDelta;
+    private Long unreadCount;
+    private List<NotificationPushMessage> messages;
+
+    /**
+     * 푸시되는 알림 내용 (엔티티의 사용자 연관 없이 앱이 표시할 필드만)
+     */
+    @Getter
+    @Builder
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public static class Item {
+        private Long id;
+        private String type;
+        private String title;
+        private String message;
+        private String url;
+        private Boolean isRead;
+        private LocalDateTime sentTime;
+        private LocalDateTime scheduledTime;
+        private Integer priority;
+    }
+}
@@ -29,6 +29,12 @@ public class OpenAITokenResponse {
     @JsonProperty("expires_in")
     private Integer expiresIn;
 
+    /**
+     * Token expiration time (epoch seconds).
+     */
+    @JsonProperty("expires_at")
+    private Long expiresAt;
+
     /**
      * Session ID from OpenAI (if provided).
      */
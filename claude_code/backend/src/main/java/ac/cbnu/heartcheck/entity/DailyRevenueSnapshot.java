@@ -0,0 +1,73 @@
+package ac.cbnu.heartcheck.entity;
+
+import ac.cbnu.heartcheck.entity.CostModel.CostType;
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotNull;
+import lombok.*;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * DailyRevenueSnapshot entity for Heart Doctor system
+ * 일별 매출 스냅샷 (날짜 × 요금제 × 스토어)
+ *
+ * 결제 원장(PaymentLedgerEntry)에 행이 쌓일 때 같은 트랜잭션에서 해당 날짜 행에 건수·금액을 더한다
+ * (DailyRevenueSnapshotRepository.accumulate). 매출·요금제별 통계는 결제 테이블 대신 이 행들을 합산한다.
+ * 원장에서 다시 만들 수 있는 파생 데이터다 (PaymentLedgerService.rebuildSnapshots).
+ *
+ * @author CBNU Development Team
+ * @version 1.0
+ * @since 2024
+ */
+@Entity
+@Table(name = "daily_revenue_snapshots", uniqueConstraints = {
+    @UniqueConstraint(name = "uk_revenue_snapshot", columnNames = {"snapshot_date", "plan_type", "store_info"})
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class DailyRevenueSnapshot {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @NotNull
+    @Column(name = "snapshot_date", nullable = false)
+    private LocalDate snapshotDate;
+
+    @NotNull
+    @Enumerated(EnumType.STRING)
+    @Column(name = "plan_type", length = 20, nullable = false)
+    private CostType planType;
+
+    @NotNull
+    @Column(name = "store_info", length = 1, nullable = false)
+    private String storeInfo; // G/A
+
+    @Builder.Default
+    @Column(name = "purchase_count", nullable = false)
+    private Long purchaseCount = 0L;
+
+    @Builder.Default
+    @Column(name = "refund_count", nullable = false)
+    private Long refundCount = 0L;
+
+    @Builder.Default
+    @Column(name = "gross_amount", nullable = false)
+    private Long grossAmount = 0L; // 구매 금액 합계
+
+    @Builder.Default
+    @Column(name = "refund_amount", nullable = false)
+    private Long refundAmount = 0L; // 환불 금액 합계 (양수)
+
+    @Builder.Default
+    @Column(name = "net_amount", nullable = false)
+    private Long netAmount = 0L; // 구매 - 환불
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+}
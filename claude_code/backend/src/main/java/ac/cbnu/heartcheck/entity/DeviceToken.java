@@ -0,0 +1,84 @@
+package ac.cbnu.heartcheck.entity;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.*;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDateTime;
+
+/**
+ * DeviceToken entity for Heart Doctor system
+ * 앱 설치 기기의 푸시 토큰 (FCM 등록 토큰, APNs 디바이스 토큰)
+ *
+ * 알림이 발송되면 사용자의 활성 토큰마다 전달 작업(NotificationDelivery)이 만들어진다.
+ * 게이트웨이가 더 이상 유효하지 않은 토큰이라고 응답하면(FCM 404 UNREGISTERED, APNs 410)
+ * 전달 작업자가 비활성화하며, 앱이 같은 토큰을 다시 등록하면 활성화된다.
+ *
+ * @author CBNU Development Team
+ * @version 1.0
+ * @since 2024
+ */
+@Entity
+@Table(name = "device_tokens", uniqueConstraints = {
+    @UniqueConstraint(name = "uk_device_token", columnNames = {"token"})
+}, indexes = {
+    @Index(name = "idx_device_token_user", columnList = "user_id, active")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class DeviceToken {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @NotNull(message = "사용자는 필수입니다")
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "user_id", nullable = false)
+    private User user;
+
+    @NotNull(message = "푸시 제공자는 필수입니다")
+    @Enumerated(EnumType.STRING)
+    @Column(name = "provider", length = 10, nullable = false)
+    private Provider provider;
+
+    @NotBlank(message = "푸시 토큰은 필수입니다")
+    @Size(max = 255, message = "푸시 토큰은 255자를 초과할 수 없습니다")
+    @Column(name = "token", length = 255, nullable = false)
+    private String token;
+
+    @Builder.Default
+    @Column(name = "active", nullable = false)
+    private Boolean active = true;
+
+    @CreationTimestamp
+    @Column(name = "created_at", updatable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "last_seen_at")
+    private LocalDateTime lastSeenAt; // 앱이 마지막으로 토큰을 등록한 시간
+
+    /**
+     * 푸시 제공자 ENUM
+     */
+    public enum Provider {
+        FCM("Firebase Cloud Messaging"),
+        APNS("Apple Push Notification service");
+
+        private final String description;
+
+        Provider(String description) {
+            this.description = description;
+        }
+
+        public String getDescription() {
+            return description;
+        }
+    }
+}
@@ -13,8 +13,11 @@ import java.time.LocalDateTime;
  * Notification entity for Heart Doctor system
  * 사용자 알림 관리
  *
+ * 테이블은 created_at 월 단위 RANGE 파티션으로 나뉜다 (V6 마이그레이션, NotificationRetentionService).
+ * MySQL 파티션 테이블은 외래 키를 지원하지 않으므로 user_id 외래 키 제약은 만들지 않는다.
+ *
  * @author CBNU Development Team
- * @version 1.4
+ * @version 1.7
  * @since 2024
  */
 @Entity
@@ -22,7 +25,11 @@ import java.time.LocalDateTime;
     @Index(name = "idx_notification_user", columnList = "user_id"),
     @Index(name = "idx_notification_type", columnList = "type"),
     @Index(name = "idx_notification_read", columnList = "is_read"),
-    @Index(name = "idx_notification_sent_time", columnList = "sent_time")
+    @Index(name = "idx_notification_sent_time", columnList = "sent_time"),
+    @Index(name = "idx_notification_due", columnList = "sent_time, scheduled_time"),
+    @Index(name = "idx_notification_user_unread", columnList = "user_id, is_read, sent_time"),
+    @Index(name = "idx_notification_created", columnList = "created_at"),
+    @Index(name = "idx_notification_user_unread_at", columnList = "user_id, unread_at")
 })
 @Getter
 @Setter
@@ -37,7 +44,7 @@ public class Notification {
 
     @NotNull(message = "사용자는 필수입니다")
     @ManyToOne(fetch = FetchType.LAZY)
-    @JoinColumn(name = "user_id", nullable = false)
+    @JoinColumn(name = "user_id", nullable = false, foreignKey = @ForeignKey(ConstraintMode.NO_CONSTRAINT))
     private User user;
 
     @NotNull(message = "알림 타입은 필수입니다")
@@ -66,9 +73,8 @@ public class Notification {
     @Column(name = "read_time")
     private LocalDateTime readTime; // 읽은 시간
 
-    @CreationTimestamp
     @Column(name = "sent_time")
-    private LocalDateTime sentTime; // 발송 시간
+    private LocalDateTime sentTime; // 발송 시간 (예약 알림은 발송 전까지 null)
 
     @Column(name = "scheduled_time")
     private LocalDateTime scheduledTime; // 예약 발송 시간
@@ -77,6 +83,13 @@ public class Notification {
     @Column(name = "priority", nullable = false)
     private Integer priority = 1; // 우선순위 (1: 낮음, 2: 보통, 3: 높음, 4: 긴급)
 
+    @Column(name = "unread_at")
+    private LocalDateTime unreadAt; // 마지막 미읽음 처리 시간 (이후의 읽음 기준선만 이 알림을 덮음)
+
+    @CreationTimestamp
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt; // 생성 시간 (파티션 키)
+
     /**
      * 알림 타입 ENUM
      */
@@ -156,6 +169,7 @@ public class Notification {
     public void markAsUnread() {
         this.isRead = false;
         this.readTime = null;
+        this.unreadAt = LocalDateTime.now();
     }
 
     /**
@@ -0,0 +1,135 @@
+package ac.cbnu.heartcheck.entity;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.*;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDateTime;
+
+/**
+ * NotificationBroadcast entity for Heart Doctor system
+ * 수신 동의 사용자 전체에게 보내는 공지·마케팅 알림 작업
+ *
+ * 발송은 사용자 ID 순으로 청크 단위로 진행되며, 청크마다 알림 INSERT와 함께
+ * 진행 위치(lastUserId)와 발송 수(sentCount)를 같은 트랜잭션에서 기록한다.
+ * 중단(장애·취소) 후 재개하면 lastUserId 다음 사용자부터 이어서 보내므로 중복 발송이 없다.
+ *
+ * @author CBNU Development Team
+ * @version 1.0
+ * @since 2024
+ */
+@Entity
+@Table(name = "notification_broadcasts", indexes = {
+    @Index(name = "idx_broadcast_status", columnList = "status, heartbeat_at")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class NotificationBroadcast {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @NotNull(message = "알림 타입은 필수입니다")
+    @Enumerated(EnumType.STRING)
+    @Column(name = "type", nullable = false)
+    private Notification.NotificationType type;
+
+    @NotBlank(message = "알림 제목은 필수입니다")
+    @Size(max = 100, message = "알림 제목은 100자를 초과할 수 없습니다")
+    @Column(name = "title", length = 100, nullable = false)
+    private String title;
+
+    @NotBlank(message = "알림 메시지는 필수입니다")
+    @Size(max = 500, message = "알림 메시지는 500자를 초과할 수 없습니다")
+    @Column(name = "message", length = 500, nullable = false)
+    private String message;
+
+    @Size(max = 200, message = "URL은 200자를 초과할 수 없습니다")
+    @Column(name = "url", length = 200)
+    private String url;
+
+    @Builder.Default
+    @Column(name = "priority", nullable = false)
+    private Integer priority = Notification.Priority.NORMAL.getLevel();
+
+    @NotNull(message = "발송 대상은 필수입니다")
+    @Enumerated(EnumType.STRING)
+    @Column(name = "audience", nullable = false)
+    private Audience audience;
+
+    @Builder.Default
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false)
+    private BroadcastStatus status = BroadcastStatus.PENDING;
+
+    @Builder.Default
+    @Column(name = "last_user_id", nullable = false)
+    private Long lastUserId = 0L; // 마지막으로 발송한 사용자 ID (재개 위치)
+
+    @Builder.Default
+    @Column(name = "sent_count", nullable = false)
+    private Long sentCount = 0L; // 발송한 알림 수
+
+    @Column(name = "heartbeat_at")
+    private LocalDateTime heartbeatAt; // 실행 중인 노드가 마지막으로 청크를 커밋한 시간
+
+    @CreationTimestamp
+    @Column(name = "created_at", updatable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "started_at")
+    private LocalDateTime startedAt;
+
+    @Column(name = "completed_at")
+    private LocalDateTime completedAt;
+
+    @Size(max = 500)
+    @Column(name = "error_message", length = 500)
+    private String errorMessage;
+
+    /**
+     * 발송 대상 ENUM
+     */
+    public enum Audience {
+        PUSH_ENABLED("푸시 알림 허용 사용자"),
+        MARKETING("마케팅 알림 허용 사용자");
+
+        private final String description;
+
+        Audience(String description) {
+            this.description = description;
+        }
+
+        public String getDescription() {
+            return description;
+        }
+    }
+
+    /**
+     * 작업 상태 ENUM
+     */
+    public enum BroadcastStatus {
+        PENDING("대기"),
+        RUNNING("발송 중"),
+        COMPLETED("완료"),
+        FAILED("실패"),
+        CANCELLED("취소");
+
+        private final String description;
+
+        BroadcastStatus(String description) {
+            this.description = description;
+        }
+
+        public String getDescription() {
+            return description;
+        }
+    }
+}
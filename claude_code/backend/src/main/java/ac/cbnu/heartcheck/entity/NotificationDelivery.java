@@ -0,0 +1,108 @@
+package ac.cbnu.heartcheck.entity;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * NotificationDelivery entity for Heart Doctor system
+ * 알림 한 건을 기기 하나로 보내는 푸시 전달 작업 (전달 대기열)
+ *
+ * 알림이 발송 처리되는 트랜잭션에서 사용자의 활성 기기 토큰마다 PENDING으로 만들어지고,
+ * NotificationDeliveryWorker가 next_attempt_at이 지난 행을 점유해 제공자별로 묶어 보낸다.
+ * 점유 시 next_attempt_at을 리스 만료 시각으로 미루므로, 처리 중 노드가 죽으면 리스가 끝난 뒤 다시 전달된다.
+ *
+ * @author CBNU Development Team
+ * @version 1.0
+ * @since 2024
+ */
+@Entity
+@Table(name = "notification_deliveries", indexes = {
+    @Index(name = "idx_delivery_due", columnList = "status, next_attempt_at"),
+    @Index(name = "idx_delivery_notification", columnList = "notification_id")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class NotificationDelivery {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @NotNull
+    @Column(name = "notification_id", nullable = false)
+    private Long notificationId;
+
+    @NotNull
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @NotNull
+    @Column(name = "device_token_id", nullable = false)
+    private Long deviceTokenId;
+
+    @NotNull
+    @Enumerated(EnumType.STRING)
+    @Column(name = "provider", length = 10, nullable = false)
+    private DeviceToken.Provider provider;
+
+    @NotNull
+    @Column(name = "token", length = 255, nullable = false)
+    private String token;
+
+    @Builder.Default
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", length = 20, nullable = false)
+    private DeliveryStatus status = DeliveryStatus.PENDING;
+
+    @Builder.Default
+    @Column(name = "attempts", nullable = false)
+    private Integer attempts = 0; // 게이트웨이 전송 시도 횟수
+
+    @NotNull
+    @Column(name = "next_attempt_at", nullable = false)
+    private LocalDateTime nextAttemptAt; // 다음 시도 시각 (처리 중이면 리스 만료 시각)
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt; // 대기열에 들어간 시간 (알림 발송 시간)
+
+    @Column(name = "delivered_at")
+    private LocalDateTime deliveredAt; // 게이트웨이가 수락한 시간
+
+    @Column(name = "latency_ms")
+    private Long latencyMs; // 대기열 등록부터 게이트웨이 수락까지
+
+    @Size(max = 100)
+    @Column(name = "provider_message_id", length = 100)
+    private String providerMessageId; // FCM message name, APNs apns-id
+
+    @Size(max = 500)
+    @Column(name = "last_error", length = 500)
+    private String lastError;
+
+    /**
+     * 전달 상태 ENUM
+     */
+    public enum DeliveryStatus {
+        PENDING("전달 대기"),
+        SENT("전달 완료"),
+        FAILED("전달 실패"),
+        INVALID_TOKEN("만료된 토큰");
+
+        private final String description;
+
+        DeliveryStatus(String description) {
+            this.description = description;
+        }
+
+        public String getDescription() {
+            return description;
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package ac.cbnu.heartcheck.entity;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotNull;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * NotificationReadMark entity for Heart Doctor system
+ * 사용자별 알림 읽음 기준선 ("여기까지 읽음")
+ *
+ * scope가 ALL이면 사용자의 모든 알림, 알림 타입 이름이면 그 타입 알림에 적용된다.
+ * 발송 시간이 기준선(readUpTo) 이전인 알림은 is_read 값과 관계없이 읽은 것으로 보며,
+ * 기준선 이후 개별적으로 미읽음 처리한 알림(unread_at이 기준선보다 늦음)만 예외다.
+ * 모두 읽음 처리는 알림 행을 갱신하지 않고 이 행 하나만 올린다 (NotificationReadMarkRepository.advance).
+ *
+ * @author CBNU Development Team
+ * @version 1.0
+ * @since 2024
+ */
+@Entity
+@Table(name = "notification_read_marks", uniqueConstraints = {
+    @UniqueConstraint(name = "uk_read_mark_user_scope", columnNames = {"user_id", "scope"})
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class NotificationReadMark {
+
+    /** 사용자의 모든 알림에 적용되는 기준선 */
+    public static final String SCOPE_ALL = "ALL";
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @NotNull
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @NotNull
+    @Column(name = "scope", length = 30, nullable = false)
+    private String scope; // ALL 또는 알림 타입 이름
+
+    @NotNull
+    @Column(name = "read_up_to", nullable = false)
+    private LocalDateTime readUpTo; // 이 시각까지 발송된 알림은 읽음
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    /**
+     * 알림에 적용되는 기준선인지 확인
+     * @param notification 알림
+     * @return ALL이거나 같은 타입이면 true
+     */
+    public boolean appliesTo(Notification notification) {
+        return SCOPE_ALL.equals(scope)
+                || (notification.getType() != null && notification.getType().name().equals(scope));
+    }
+
+    /**
+     * 기준선으로 읽음 처리되는 알림인지 확인
+     * @param notification 알림
+     * @return 기준선 이전에 발송됐고, 그 뒤 개별 미읽음 처리되지 않았으면 true
+     */
+    public boolean covers(Notification notification) {
+        return appliesTo(notification)
+                && notification.getSentTime() != null
+                && !notification.getSentTime().isAfter(readUpTo)
+                && (notification.getUnreadAt() == null || notification.getUnreadAt().isBefore(readUpTo));
+    }
+}
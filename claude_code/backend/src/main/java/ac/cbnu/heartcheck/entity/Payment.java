@@ -13,8 +13,11 @@ import java.time.LocalDateTime;
  * Payment entity for Heart Doctor system
  * 사용자 결제 정보 및 상태 기록
  *
+ * 결제 완료 요청은 VERIFYING으로 기록만 하고, 스토어 영수증 검증은 PaymentVerificationWorker가
+ * 트랜잭션 밖에서 수행한 뒤 SUCCESS 또는 FAIL로 확정한다. next_verify_at은 다음 검증 시도 시각이자 점유 리스 만료 시각이다.
+ *
  * @author CBNU Development Team
- * @version 1.4
+ * @version 1.5
  * @since 2024
  */
 @Entity
@@ -22,7 +25,8 @@ import java.time.LocalDateTime;
     @Index(name = "idx_payment_user", columnList = "user_id"),
     @Index(name = "idx_payment_subscription", columnList = "subscription_id"),
     @Index(name = "idx_payment_status", columnList = "status"),
-    @Index(name = "idx_payment_transaction", columnList = "transaction_id")
+    @Index(name = "idx_payment_transaction", columnList = "transaction_id"),
+    @Index(name = "idx_payment_verify", columnList = "status, next_verify_at")
 })
 @Getter
 @Setter
@@ -71,11 +75,23 @@ public class Payment {
     @Column(name = "create_time")
     private LocalDateTime createTime; // 생성 시간
 
+    @Builder.Default
+    @Column(name = "verify_attempts", nullable = false)
+    private Integer verifyAttempts = 0; // 영수증 검증 시도 횟수
+
+    @Column(name = "next_verify_at")
+    private LocalDateTime nextVerifyAt; // 다음 검증 시도 시각 (점유 중이면 리스 만료 시각)
+
+    @Size(max = 500)
+    @Column(name = "verify_error", length = 500)
+    private String verifyError; // 마지막 검증 실패 사유
+
     /**
      * 결제 상태 ENUM
      */
     public enum PaymentStatus {
         PENDING("대기중"),
+        VERIFYING("검증중"),
         SUCCESS("성공"),
         FAIL("실패"),
         CANCELED("취소"),
@@ -165,6 +181,14 @@ public class Payment {
         return PaymentStatus.PENDING.equals(status);
     }
 
+    /**
+     * 영수증 검증 중인지 확인
+     * @return 검증 중 여부
+     */
+    public boolean isVerifying() {
+        return PaymentStatus.VERIFYING.equals(status);
+    }
+
     /**
      * 구글 플레이 스토어 결제인지 확인
      * @return 구글 플레이 스토어 여부
@@ -227,6 +251,18 @@ public class Payment {
         return String.format("%,d원", amount);
     }
 
+    /**
+     * 영수증 검증 대기 처리 (트랜잭션 ID를 먼저 기록해 같은 영수증의 중복 완료 요청을 막음)
+     * @param transactionId 트랜잭션 ID
+     */
+    public void markAsVerifying(String transactionId) {
+        this.status = PaymentStatus.VERIFYING;
+        this.transactionId = transactionId;
+        this.verifyAttempts = 0;
+        this.nextVerifyAt = LocalDateTime.now();
+        this.verifyError = null;
+    }
+
     /**
      * 결제 완료 처리
      * @param transactionId 트랜잭션 ID
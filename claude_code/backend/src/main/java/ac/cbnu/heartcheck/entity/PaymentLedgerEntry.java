@@ -0,0 +1,103 @@
+package ac.cbnu.heartcheck.entity;
+
+import ac.cbnu.heartcheck.entity.CostModel.CostType;
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotNull;
+import lombok.*;
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.Immutable;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * PaymentLedgerEntry entity for Heart Doctor system
+ * 결제 원장 (추가 전용)
+ *
+ * 결제가 확정(PURCHASE)되거나 환불(REFUND)될 때 한 행씩 쌓이며 수정·삭제하지 않는다.
+ * 금액은 그 시점의 결제 금액을 복사해 두므로, 나중에 요금제 가격이 바뀌어도 지난 매출이 달라지지 않는다.
+ * 환불은 구매 행과 같은 금액을 음수로 기록한다. 결제마다 이벤트 종류별로 한 행만 둔다 (payment_id, event_type 유니크).
+ * 일별 매출 스냅샷(DailyRevenueSnapshot)은 이 원장에서 언제든 다시 만들 수 있다.
+ *
+ * @author CBNU Development Team
+ * @version 1.0
+ * @since 2024
+ */
+@Entity
+@Immutable
+@Table(name = "payment_ledger", uniqueConstraints = {
+    @UniqueConstraint(name = "uk_payment_ledger_event", columnNames = {"payment_id", "event_type"})
+}, indexes = {
+    @Index(name = "idx_payment_ledger_date", columnList = "business_date"),
+    @Index(name = "idx_payment_ledger_occurred", columnList = "occurred_at")
+})
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@AllArgsConstructor
+@Builder
+public class PaymentLedgerEntry {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @NotNull
+    @Column(name = "payment_id", nullable = false)
+    private Long paymentId;
+
+    @NotNull
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @NotNull
+    @Column(name = "cost_id", nullable = false)
+    private Short costId; // 결제 당시 요금제
+
+    @NotNull
+    @Enumerated(EnumType.STRING)
+    @Column(name = "plan_type", length = 20, nullable = false)
+    private CostType planType;
+
+    @NotNull
+    @Column(name = "store_info", length = 1, nullable = false)
+    private String storeInfo; // G/A
+
+    @NotNull
+    @Enumerated(EnumType.STRING)
+    @Column(name = "event_type", length = 10, nullable = false)
+    private EventType eventType;
+
+    @NotNull
+    @Column(name = "amount", nullable = false)
+    private Integer amount; // 원 단위, 환불은 음수
+
+    @NotNull
+    @Column(name = "occurred_at", nullable = false)
+    private LocalDateTime occurredAt;
+
+    @NotNull
+    @Column(name = "business_date", nullable = false)
+    private LocalDate businessDate; // 스냅샷 집계 기준일 (occurred_at의 날짜)
+
+    @CreationTimestamp
+    @Column(name = "created_at", updatable = false)
+    private LocalDateTime createdAt;
+
+    /**
+     * 원장 이벤트 종류
+     */
+    public enum EventType {
+        PURCHASE("구매"),
+        REFUND("환불");
+
+        private final String description;
+
+        EventType(String description) {
+            this.description = description;
+        }
+
+        public String getDescription() {
+            return description;
+        }
+    }
+}
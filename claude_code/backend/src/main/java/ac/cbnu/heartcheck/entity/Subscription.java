@@ -13,14 +13,15 @@ import java.util.List;
  * 사용자 구독 상태
  *
  * @author CBNU Development Team
- * @version 1.4
+ * @version 1.5
  * @since 2024
  */
 @Entity
 @Table(name = "subscriptions", indexes = {
     @Index(name = "idx_subscription_user", columnList = "user_id"),
     @Index(name = "idx_subscription_status", columnList = "status"),
-    @Index(name = "idx_subscription_dates", columnList = "from_date, to_date")
+    @Index(name = "idx_subscription_dates", columnList = "from_date, to_date"),
+    @Index(name = "idx_subscription_status_to_date", columnList = "status, to_date")
 })
 @Getter
 @Setter
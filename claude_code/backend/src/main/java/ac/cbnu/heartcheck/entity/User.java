@@ -15,7 +15,7 @@ import java.util.List;
  * 사용자 계정 및 기본 정보 관리 테이블
  *
  * @author CBNU Development Team
- * @version 1.4
+ * @version 1.5
  * @since 2024
  */
 @Entity
@@ -113,6 +113,10 @@ public class User {
     @OneToMany(mappedBy = "user", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
     private List<DailyUsageQuota> dailyUsageQuotas = new ArrayList<>();
 
+    @Builder.Default
+    @OneToMany(mappedBy = "user", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
+    private List<DeviceToken> deviceTokens = new ArrayList<>();
+
     /**
      * 생년월일을 기반으로 나이 계산
      * @return 계산된 나이
@@ -0,0 +1,38 @@
+package ac.cbnu.heartcheck.exception;
+
+import java.time.Duration;
+
+/**
+ * 외부 의존성 사용 불가 예외
+ * 서킷 브레이커가 열려 있거나 동시 호출 한도(bulkhead)가 찬 경우 즉시 발생하며, 컨트롤러는 503 + Retry-After로 응답한다
+ *
+ * @author CBNU Development Team
+ * @version 1.0.0
+ * @since 2024
+ */
+public class DependencyUnavailableException extends RuntimeException {
+
+    private final String dependency;
+    private final Duration retryAfter;
+
+    public DependencyUnavailableException(String dependency, Duration retryAfter, Throwable cause) {
+        super(dependency + " is temporarily unavailable", cause);
+        this.dependency = dependency;
+        this.retryAfter = retryAfter;
+    }
+
+    public String getDependency() {
+        return dependency;
+    }
+
+    public Duration getRetryAfter() {
+        return retryAfter;
+    }
+
+    /**
+     * Retry-After 헤더 값 (초 단위 올림, 최소 1)
+     */
+    public long getRetryAfterSeconds() {
+        return Math.max(1, (retryAfter.toMillis() + 999) / 1000);
+    }
+}
@@ -0,0 +1,89 @@
+package ac.cbnu.heartcheck.repository;
+
+import ac.cbnu.heartcheck.entity.DailyRevenueSnapshot;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * DailyRevenueSnapshot Repository
+ * 일별 매출 스냅샷 데이터 접근 레이어
+ *
+ * @author CBNU Development Team
+ * @version 1.0.0
+ * @since 2024
+ */
+@Repository
+public interface DailyRevenueSnapshotRepository extends JpaRepository<DailyRevenueSnapshot, Long> {
+
+    /**
+     * 스냅샷에 원장 행 하나 반영 (없으면 생성, 있으면 건수·금액을 더함)
+     * (snapshot_date, plan_type, store_info) 유니크 키 한 행만 쓴다. 순매출은 호출한 쪽에서 계산해 넘긴다.
+     * @return 영향받은 행 수
+     */
+    @Modifying
+    @Query(value = "INSERT INTO daily_revenue_snapshots (snapshot_date, plan_type, store_info, purchase_count, " +
+                   "refund_count, gross_amount, refund_amount, net_amount, updated_at) " +
+                   "VALUES (:date, :planType, :storeInfo, :purchaseCount, :refundCount, :grossAmount, " +
+                   ":refundAmount, :netAmount, :now) " +
+                   "ON DUPLICATE KEY UPDATE purchase_count = purchase_count + VALUES(purchase_count), " +
+                   "refund_count = refund_count + VALUES(refund_count), " +
+                   "gross_amount = gross_amount + VALUES(gross_amount), " +
+                   "refund_amount = refund_amount + VALUES(refund_amount), " +
+                   "net_amount = net_amount + VALUES(net_amount), updated_at = VALUES(updated_at)",
+           nativeQuery = true)
+    int accumulate(@Param("date") LocalDate date, @Param("planType") String planType,
+                   @Param("storeInfo") String storeInfo, @Param("purchaseCount") long purchaseCount,
+                   @Param("refundCount") long refundCount, @Param("grossAmount") long grossAmount,
+                   @Param("refundAmount") long refundAmount, @Param("netAmount") long netAmount,
+                   @Param("now") LocalDateTime now);
+
+    /**
+     * 기간 내 순매출 합계
+     * @param from 시작일 (포함)
+     * @param to 종료일 (포함)
+     * @return 합계 (없으면 0)
+     */
+    @Query("SELECT COALESCE(SUM(s.netAmount), 0) FROM DailyRevenueSnapshot s WHERE s.snapshotDate BETWEEN :from AND :to")
+    long sumNetAmountBetween(@Param("from") LocalDate from, @Param("to") LocalDate to);
+
+    /**
+     * 요금제별 유효 결제 건수 (구매 - 환불)
+     * @return [요금제 유형, 건수]
+     */
+    @Query("SELECT s.planType, SUM(s.purchaseCount) - SUM(s.refundCount) FROM DailyRevenueSnapshot s " +
+           "GROUP BY s.planType")
+    List<Object[]> countByPlanType();
+
+    /**
+     * 기간 내 스냅샷 삭제 (재구성 전)
+     * @return 삭제한 행 수
+     */
+    @Modifying
+    @Query("DELETE FROM DailyRevenueSnapshot s WHERE s.snapshotDate BETWEEN :from AND :to")
+    int deleteBySnapshotDateBetween(@Param("from") LocalDate from, @Param("to") LocalDate to);
+
+    /**
+     * 기간 내 스냅샷을 원장에서 다시 집계 (INSERT ... SELECT 한 문장)
+     * @return 만든 행 수
+     */
+    @Modifying
+    @Query(value = "INSERT INTO daily_revenue_snapshots (snapshot_date, plan_type, store_info, purchase_count, " +
+                   "refund_count, gross_amount, refund_amount, net_amount, updated_at) " +
+                   "SELECT business_date, plan_type, store_info, " +
+                   "SUM(CASE WHEN event_type = 'PURCHASE' THEN 1 ELSE 0 END), " +
+                   "SUM(CASE WHEN event_type = 'REFUND' THEN 1 ELSE 0 END), " +
+                   "SUM(CASE WHEN event_type = 'PURCHASE' THEN amount ELSE 0 END), " +
+                   "SUM(CASE WHEN event_type = 'REFUND' THEN -amount ELSE 0 END), " +
+                   "SUM(amount), CAST(:now AS DATETIME) " +
+                   "FROM payment_ledger WHERE business_date BETWEEN :from AND :to " +
+                   "GROUP BY business_date, plan_type, store_info",
+           nativeQuery = true)
+    int rebuildFromLedger(@Param("from") LocalDate from, @Param("to") LocalDate to, @Param("now") LocalDateTime now);
+}
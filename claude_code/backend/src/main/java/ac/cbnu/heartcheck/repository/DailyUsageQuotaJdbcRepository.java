@@ -0,0 +1,59 @@
+package ac.cbnu.heartcheck.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Daily Usage Quota JDBC Repository
+ * 일일 사용량 일괄 반영(upsert) 전용 데이터 접근 계층
+ * JPA의 조회 후 저장 방식 대신 idx_quota_user_day 유니크 인덱스를 이용한 upsert를 사용하여
+ * 동시 요청 시 중복 키 오류가 발생하지 않도록 한다.
+ *
+ * @author CBNU Development Team
+ * @version 1.5
+ * @since 2024
+ */
+@Repository
+@RequiredArgsConstructor
+public class DailyUsageQuotaJdbcRepository {
+
+    private static final String UPSERT_COUNT_SQL =
+            "INSERT INTO daily_usage_quotas (user_id, day, count, quota_limit) VALUES (?, ?, ?, ?) " +
+            "ON DUPLICATE KEY UPDATE count = VALUES(count), quota_limit = VALUES(quota_limit)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Redis 카운터 값을 일괄 upsert
+     * @param rows 반영할 사용량 목록
+     * @return 반영된 행 수
+     */
+    public int batchUpsertCounts(List<UsageCountRow> rows) {
+        if (rows.isEmpty()) {
+            return 0;
+        }
+
+        jdbcTemplate.batchUpdate(UPSERT_COUNT_SQL, rows, rows.size(), (ps, row) -> {
+            ps.setLong(1, row.userId());
+            ps.setDate(2, Date.valueOf(row.day()));
+            ps.setInt(3, row.count());
+            ps.setInt(4, row.limit());
+        });
+        return rows.size();
+    }
+
+    /**
+     * 일괄 반영 대상 사용량 행
+     * @param userId 사용자 ID
+     * @param day 기준일
+     * @param count 사용 횟수
+     * @param limit 허용 횟수
+     */
+    public record UsageCountRow(Long userId, LocalDate day, int count, int limit) {
+    }
+}
@@ -0,0 +1,37 @@
+package ac.cbnu.heartcheck.repository;
+
+import ac.cbnu.heartcheck.entity.DeviceToken;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * DeviceToken Repository
+ * 기기 푸시 토큰 등록·조회 (전달 대기열 등록과 만료 토큰 비활성화는 NotificationDeliveryJdbcRepository)
+ *
+ * @author CBNU Development Team
+ * @version 1.0.0
+ * @since 2024
+ */
+@Repository
+public interface DeviceTokenRepository extends JpaRepository<DeviceToken, Long> {
+
+    /**
+     * 토큰으로 조회 (기기 재설치·계정 전환 시 같은 토큰이 다시 등록됨)
+     * @param token 푸시 토큰
+     * @return 기기 토큰
+     */
+    Optional<DeviceToken> findByToken(String token);
+
+    /**
+     * 사용자의 활성 기기 토큰 목록
+     * @param userId 사용자 ID
+     * @return 활성 토큰 목록
+     */
+    @Query("SELECT d FROM DeviceToken d WHERE d.user.userId = :userId AND d.active = true ORDER BY d.id")
+    List<DeviceToken> findActiveByUserId(@Param("userId") Long userId);
+}
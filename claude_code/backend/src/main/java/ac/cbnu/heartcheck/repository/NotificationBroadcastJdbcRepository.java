@@ -0,0 +1,187 @@
+package ac.cbnu.heartcheck.repository;
+
+import ac.cbnu.heartcheck.entity.NotificationBroadcast;
+import ac.cbnu.heartcheck.entity.NotificationBroadcast.Audience;
+import ac.cbnu.heartcheck.entity.NotificationBroadcast.BroadcastStatus;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Notification Broadcast JDBC Repository
+ * 일괄 알림 발송 전용 데이터 접근 계층
+ *
+ * 대상 사용자는 settings.user_id(유니크 인덱스) 순으로 "user_id > 마지막 위치" 조건의 키셋 커서로 읽으므로
+ * 청크마다 앞에서부터 다시 건너뛰지 않고 메모리에는 한 청크만 올라온다.
+ * 청크 하나는 트랜잭션 하나로, 작업 행 잠금(FOR UPDATE) → 대상 조회 → 알림 배치 INSERT → 푸시 전달 대기열 등록 →
+ * 진행 위치 갱신 순으로 처리한다.
+ * 진행 위치가 알림과 함께 커밋되므로 어느 시점에 중단돼도 재개 시 중복·누락이 없고,
+ * 작업 행 잠금으로 같은 작업을 두 노드가 동시에 진행하지 못한다.
+ *
+ * @author CBNU Development Team
+ * @version 1.0.0
+ * @since 2024
+ */
+@Repository
+@RequiredArgsConstructor
+public class NotificationBroadcastJdbcRepository {
+
+    private static final String LOCK_SQL =
+            "SELECT status, last_user_id FROM notification_broadcasts WHERE id = ? FOR UPDATE";
+
+    private static final String PUSH_AUDIENCE_SQL =
+            "SELECT s.user_id FROM settings s JOIN users u ON u.user_id = s.user_id " +
+            "WHERE s.push_notification = TRUE AND u.is_active = TRUE AND s.user_id > ? " +
+            "ORDER BY s.user_id LIMIT ?";
+
+    private static final String MARKETING_AUDIENCE_SQL =
+            "SELECT s.user_id FROM settings s JOIN users u ON u.user_id = s.user_id " +
+            "WHERE s.push_notification = TRUE AND s.marketing_notification = TRUE AND u.is_active = TRUE " +
+            "AND s.user_id > ? ORDER BY s.user_id LIMIT ?";
+
+    private static final String INSERT_NOTIFICATION_SQL =
+            "INSERT INTO notifications (user_id, type, title, message, url, is_read, sent_time, priority, created_at) " +
+            "VALUES (?, ?, ?, ?, ?, FALSE, ?, ?, ?)";
+
+    private static final String PROGRESS_SQL =
+            "UPDATE notification_broadcasts SET last_user_id = ?, sent_count = sent_count + ?, heartbeat_at = ?, " +
+            "status = ?, completed_at = ? WHERE id = ?";
+
+    private static final String CLAIMABLE_SQL =
+            "SELECT id FROM notification_broadcasts " +
+            "WHERE status = 'PENDING' OR (status = 'RUNNING' AND heartbeat_at < ?) ORDER BY id LIMIT 1";
+
+    private static final String CLAIM_SQL =
+            "UPDATE notification_broadcasts SET status = 'RUNNING', heartbeat_at = ?, " +
+            "started_at = COALESCE(started_at, ?), error_message = NULL " +
+            "WHERE id = ? AND (status = 'PENDING' OR (status = 'RUNNING' AND heartbeat_at < ?))";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NotificationDeliveryJdbcRepository notificationDeliveryJdbcRepository;
+
+    /**
+     * 실행할 작업 조회 (대기 중이거나, 실행 중이지만 진행 기록이 끊긴 작업)
+     * @param staleBefore 이 시각 이전에 마지막 청크를 커밋한 실행 중 작업은 멈춘 것으로 본다
+     * @return 작업 ID
+     */
+    public Optional<Long> findClaimable(LocalDateTime staleBefore) {
+        return jdbcTemplate.query(CLAIMABLE_SQL, (rs, rowNum) -> rs.getLong(1), Timestamp.valueOf(staleBefore))
+                .stream().findFirst();
+    }
+
+    /**
+     * 작업 점유 (조건부 UPDATE이므로 여러 노드 중 하나만 성공)
+     * @param id 작업 ID
+     * @param now 현재 시각
+     * @param staleBefore 멈춘 작업 판단 기준
+     * @return 점유 성공 여부
+     */
+    public boolean claim(long id, LocalDateTime now, LocalDateTime staleBefore) {
+        return jdbcTemplate.update(CLAIM_SQL, Timestamp.valueOf(now), Timestamp.valueOf(now), id,
+                Timestamp.valueOf(staleBefore)) == 1;
+    }
+
+    /**
+     * 청크 하나 발송
+     * @param broadcast 작업 (내용·대상)
+     * @param now 발송 시각
+     * @param limit 청크 크기
+     * @return 발송 결과 (작업이 실행 중이 아니면 빈 청크와 현재 상태)
+     */
+    @Transactional
+    public Chunk sendChunk(NotificationBroadcast broadcast, LocalDateTime now, int limit) {
+        Cursor cursor = jdbcTemplate.queryForObject(LOCK_SQL,
+                (rs, rowNum) -> new Cursor(BroadcastStatus.valueOf(rs.getString("status")), rs.getLong("last_user_id")),
+                broadcast.getId());
+        if (cursor == null || cursor.status() != BroadcastStatus.RUNNING) {
+            return new Chunk(List.of(), cursor != null ? cursor.status() : BroadcastStatus.CANCELLED);
+        }
+
+        String audienceSql = broadcast.getAudience() == Audience.MARKETING ? MARKETING_AUDIENCE_SQL : PUSH_AUDIENCE_SQL;
+        List<Long> userIds = jdbcTemplate.query(audienceSql, (rs, rowNum) -> rs.getLong(1), cursor.lastUserId(), limit);
+
+        if (!userIds.isEmpty()) {
+            Timestamp sentTime = Timestamp.valueOf(now);
+            GeneratedKeyHolder keys = new GeneratedKeyHolder();
+            jdbcTemplate.batchUpdate(con -> con.prepareStatement(INSERT_NOTIFICATION_SQL, new String[] {"id"}),
+                    new BatchPreparedStatementSetter() {
+                        @Override
+                        public void setValues(PreparedStatement ps, int i) throws SQLException {
+                            ps.setLong(1, userIds.get(i));
+                            ps.setString(2, broadcast.getType().name());
+                            ps.setString(3, broadcast.getTitle());
+                            ps.setString(4, broadcast.getMessage());
+                            if (broadcast.getUrl() != null) {
+                                ps.setString(5, broadcast.getUrl());
+                            } else {
+                                ps.setNull(5, Types.VARCHAR);
+                            }
+                            ps.setTimestamp(6, sentTime);
+                            ps.setInt(7, broadcast.getPriority());
+                            ps.setTimestamp(8, sentTime);
+                        }
+
+                        @Override
+                        public int getBatchSize() {
+                            return userIds.size();
+                        }
+                    }, keys);
+            // 생성 키 컬럼 이름은 드라이버마다 다름 (MySQL GENERATED_KEY, H2 ID)
+            List<Long> notificationIds = keys.getKeyList().stream()
+                    .map(key -> ((Number) key.values().iterator().next()).longValue())
+                    .toList();
+            notificationDeliveryJdbcRepository.enqueue(notificationIds, now);
+        }
+
+        boolean last = userIds.size() < limit;
+        BroadcastStatus status = last ? BroadcastStatus.COMPLETED : BroadcastStatus.RUNNING;
+        long lastUserId = userIds.isEmpty() ? cursor.lastUserId() : userIds.get(userIds.size() - 1);
+        jdbcTemplate.update(PROGRESS_SQL, lastUserId, userIds.size(), Timestamp.valueOf(now), status.name(),
+                last ? Timestamp.valueOf(now) : null, broadcast.getId());
+        return new Chunk(userIds, status);
+    }
+
+    /**
+     * 상태 전이 (현재 상태가 from 중 하나일 때만)
+     * @param id 작업 ID
+     * @param to 바꿀 상태
+     * @param errorMessage 실패 사유 (없으면 null)
+     * @param from 허용되는 현재 상태
+     * @return 전이 성공 여부
+     */
+    public boolean transition(long id, BroadcastStatus to, String errorMessage, BroadcastStatus... from) {
+        StringBuilder sql = new StringBuilder("UPDATE notification_broadcasts SET status = ?, error_message = ? WHERE id = ? AND status IN (");
+        Object[] args = new Object[3 + from.length];
+        args[0] = to.name();
+        args[1] = errorMessage;
+        args[2] = id;
+        for (int i = 0; i < from.length; i++) {
+            sql.append(i == 0 ? "?" : ", ?");
+            args[3 + i] = from[i].name();
+        }
+        sql.append(")");
+        return jdbcTemplate.update(sql.toString(), args) == 1;
+    }
+
+    private record Cursor(BroadcastStatus status, long lastUserId) {
+    }
+
+    /**
+     * 발송한 청크
+     * @param userIds 이번 청크에서 알림을 받은 사용자 ID (오름차순)
+     * @param status 청크 커밋 후 작업 상태 (마지막 청크면 COMPLETED)
+     */
+    public record Chunk(List<Long> userIds, BroadcastStatus status) {
+    }
+}
@@ -0,0 +1,24 @@
+package ac.cbnu.heartcheck.repository;
+
+import ac.cbnu.heartcheck.entity.NotificationBroadcast;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Repository interface for NotificationBroadcast entity
+ * 작업 생성·진행 조회용 (청크 발송과 상태 전이는 NotificationBroadcastJdbcRepository)
+ *
+ * @author CBNU Development Team
+ * @version 1.0.0
+ * @since 2024
+ */
+@Repository
+public interface NotificationBroadcastRepository extends JpaRepository<NotificationBroadcast, Long> {
+
+    /**
+     * 최근 생성 순 작업 목록
+     */
+    Page<NotificationBroadcast> findAllByOrderByIdDesc(Pageable pageable);
+}
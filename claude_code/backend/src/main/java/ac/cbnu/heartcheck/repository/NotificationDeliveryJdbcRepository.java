@@ -0,0 +1,198 @@
+package ac.cbnu.heartcheck.repository;
+
+import ac.cbnu.heartcheck.entity.DeviceToken;
+import ac.cbnu.heartcheck.entity.NotificationDelivery.DeliveryStatus;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Notification Delivery JDBC Repository
+ * 푸시 전달 대기열(notification_deliveries) 전용 데이터 접근 계층
+ *
+ * - enqueue: 알림이 발송 처리되는 트랜잭션 안에서 INSERT ... SELECT 한 문장으로 활성 기기마다 전달 작업을 만든다.
+ *   푸시 수신을 끈 사용자(settings.push_notification = FALSE)는 제외한다.
+ * - claim: next_attempt_at이 지난 작업을 FOR UPDATE SKIP LOCKED로 점유하고 next_attempt_at을 리스 만료 시각으로 미룬다.
+ *   게이트웨이 호출은 트랜잭션 밖에서 하므로 점유 트랜잭션은 짧고, 여러 노드가 동시에 실행해도 서로 다른 행을 가져간다.
+ * - complete: 결과를 배치 UPDATE 한 번으로 기록한다.
+ * idx_delivery_due (status, next_attempt_at) 인덱스를 사용한다.
+ *
+ * @author CBNU Development Team
+ * @version 1.0.0
+ * @since 2024
+ */
+@Repository
+@RequiredArgsConstructor
+public class NotificationDeliveryJdbcRepository {
+
+    private static final String ENQUEUE_SQL =
+            "INSERT INTO notification_deliveries (notification_id, user_id, device_token_id, provider, token, " +
+            "status, attempts, next_attempt_at, created_at) " +
+            "SELECT n.id, n.user_id, d.id, d.provider, d.token, 'PENDING', 0, ?, ? FROM notifications n " +
+            "JOIN device_tokens d ON d.user_id = n.user_id AND d.active = TRUE " +
+            "LEFT JOIN settings s ON s.user_id = n.user_id " +
+            "WHERE (s.push_notification IS NULL OR s.push_notification = TRUE) AND n.id IN (";
+
+    // 보관 기간 정리로 알림이 먼저 지워졌으면 n.* 가 NULL (작업자가 실패로 기록)
+    private static final String CLAIM_SQL =
+            "SELECT d.id, d.notification_id, d.device_token_id, d.provider, d.token, d.attempts, d.created_at, " +
+            "n.type, n.title, n.message, n.url, n.priority FROM notification_deliveries d " +
+            "LEFT JOIN notifications n ON n.id = d.notification_id " +
+            "WHERE d.status = 'PENDING' AND d.next_attempt_at <= ? " +
+            "ORDER BY d.next_attempt_at LIMIT ? FOR UPDATE OF d SKIP LOCKED";
+
+    private static final String COMPLETE_SQL =
+            "UPDATE notification_deliveries SET status = ?, next_attempt_at = COALESCE(?, next_attempt_at), " +
+            "delivered_at = ?, latency_ms = ?, provider_message_id = ?, last_error = ? WHERE id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * 발송 처리된 알림의 전달 작업 등록 (호출한 쪽 트랜잭션에 참여)
+     * @param notificationIds 알림 ID
+     * @param now 등록 시각 (첫 시도 시각)
+     * @return 등록된 전달 작업 수
+     */
+    public int enqueue(Collection<Long> notificationIds, LocalDateTime now) {
+        if (notificationIds.isEmpty()) {
+            return 0;
+        }
+        String placeholders = String.join(",", Collections.nCopies(notificationIds.size(), "?"));
+        List<Object> args = new ArrayList<>(notificationIds.size() + 2);
+        args.add(Timestamp.valueOf(now));
+        args.add(Timestamp.valueOf(now));
+        args.addAll(notificationIds);
+        return jdbcTemplate.update(ENQUEUE_SQL + placeholders + ")", args.toArray());
+    }
+
+    /**
+     * 시도할 때가 된 전달 작업을 최대 limit건 점유
+     * 점유한 작업은 시도 횟수를 올리고 leaseUntil까지 다른 노드에 보이지 않는다.
+     * @param now 기준 시각
+     * @param leaseUntil 리스 만료 시각 (이때까지 결과가 기록되지 않으면 다시 점유 대상)
+     * @param limit 최대 점유 수
+     * @return 점유한 작업 (attempts는 이번 시도를 포함한 값)
+     */
+    @Transactional
+    public List<PendingDelivery> claim(LocalDateTime now, LocalDateTime leaseUntil, int limit) {
+        List<PendingDelivery> claimed = jdbcTemplate.query(CLAIM_SQL,
+                (rs, rowNum) -> new PendingDelivery(
+                        rs.getLong("id"),
+                        rs.getLong("notification_id"),
+                        rs.getLong("device_token_id"),
+                        DeviceToken.Provider.valueOf(rs.getString("provider")),
+                        rs.getString("token"),
+                        rs.getInt("attempts") + 1,
+                        rs.getTimestamp("created_at").toLocalDateTime(),
+                        rs.getString("type"),
+                        rs.getString("title"),
+                        rs.getString("message"),
+                        rs.getString("url"),
+                        rs.getInt("priority")),
+                Timestamp.valueOf(now), limit);
+        if (claimed.isEmpty()) {
+            return claimed;
+        }
+
+        String placeholders = String.join(",", Collections.nCopies(claimed.size(), "?"));
+        Object[] args = new Object[claimed.size() + 1];
+        args[0] = Timestamp.valueOf(leaseUntil);
+        for (int i = 0; i < claimed.size(); i++) {
+            args[i + 1] = claimed.get(i).id();
+        }
+        jdbcTemplate.update("UPDATE notification_deliveries SET attempts = attempts + 1, next_attempt_at = ? " +
+                "WHERE id IN (" + placeholders + ")", args);
+        return claimed;
+    }
+
+    /**
+     * 전달 결과 기록 (배치 UPDATE 1회)
+     * @param outcomes 작업별 결과
+     */
+    @Transactional
+    public void complete(List<DeliveryOutcome> outcomes) {
+        if (outcomes.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(COMPLETE_SQL, outcomes, outcomes.size(), (ps, outcome) -> {
+            ps.setString(1, outcome.status().name());
+            setTimestamp(ps, 2, outcome.nextAttemptAt());
+            setTimestamp(ps, 3, outcome.deliveredAt());
+            if (outcome.latencyMs() != null) {
+                ps.setLong(4, outcome.latencyMs());
+            } else {
+                ps.setNull(4, Types.BIGINT);
+            }
+            ps.setString(5, outcome.providerMessageId());
+            ps.setString(6, outcome.error());
+            ps.setLong(7, outcome.id());
+        });
+    }
+
+    /**
+     * 게이트웨이가 만료됐다고 응답한 기기 토큰 비활성화
+     * @param deviceTokenIds 기기 토큰 ID
+     * @return 비활성화된 토큰 수
+     */
+    public int deactivateTokens(Collection<Long> deviceTokenIds) {
+        if (deviceTokenIds.isEmpty()) {
+            return 0;
+        }
+        String placeholders = String.join(",", Collections.nCopies(deviceTokenIds.size(), "?"));
+        return jdbcTemplate.update("UPDATE device_tokens SET active = FALSE WHERE id IN (" + placeholders + ")",
+                deviceTokenIds.toArray());
+    }
+
+    private static void setTimestamp(PreparedStatement ps, int index, LocalDateTime value) throws SQLException {
+        if (value != null) {
+            ps.setTimestamp(index, Timestamp.valueOf(value));
+        } else {
+            ps.setNull(index, Types.TIMESTAMP);
+        }
+    }
+
+    /**
+     * 점유한 전달 작업 (알림 내용 포함)
+     * @param id 전달 작업 ID
+     * @param notificationId 알림 ID
+     * @param deviceTokenId 기기 토큰 ID
+     * @param provider 푸시 제공자
+     * @param token 푸시 토큰
+     * @param attempts 이번 시도를 포함한 시도 횟수
+     * @param createdAt 대기열 등록 시각
+     * @param type 알림 타입 (알림이 지워졌으면 null)
+     * @param title 제목
+     * @param message 메시지
+     * @param url 액션 URL
+     * @param priority 우선순위
+     */
+    public record PendingDelivery(long id, long notificationId, long deviceTokenId, DeviceToken.Provider provider,
+                                  String token, int attempts, LocalDateTime createdAt, String type, String title,
+                                  String message, String url, int priority) {
+    }
+
+    /**
+     * 전달 결과
+     * @param id 전달 작업 ID
+     * @param status 기록할 상태 (재시도면 PENDING)
+     * @param nextAttemptAt 재시도 시각 (재시도가 아니면 null)
+     * @param deliveredAt 게이트웨이 수락 시각
+     * @param latencyMs 등록부터 수락까지 걸린 시간
+     * @param providerMessageId 제공자 메시지 ID
+     * @param error 실패 사유
+     */
+    public record DeliveryOutcome(long id, DeliveryStatus status, LocalDateTime nextAttemptAt,
+                                  LocalDateTime deliveredAt, Long latencyMs, String providerMessageId, String error) {
+    }
+}
@@ -0,0 +1,26 @@
+package ac.cbnu.heartcheck.repository;
+
+import ac.cbnu.heartcheck.entity.NotificationDelivery;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+/**
+ * Repository interface for NotificationDelivery entity
+ * 전달 상태 조회용 (등록·점유·결과 기록은 NotificationDeliveryJdbcRepository)
+ *
+ * @author CBNU Development Team
+ * @version 1.0.0
+ * @since 2024
+ */
+@Repository
+public interface NotificationDeliveryRepository extends JpaRepository<NotificationDelivery, Long> {
+
+    /**
+     * 알림의 기기별 전달 상태
+     * @param notificationId 알림 ID
+     * @return 전달 작업 목록
+     */
+    List<NotificationDelivery> findByNotificationIdOrderByIdAsc(Long notificationId);
+}
@@ -0,0 +1,86 @@
+package ac.cbnu.heartcheck.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Notification Dispatch JDBC Repository
+ * 예약 알림 발송 전용 데이터 접근 계층
+ *
+ * 발송 시각이 지난 미발송 알림을 SELECT ... FOR UPDATE SKIP LOCKED로 청크 단위 점유하고,
+ * 같은 트랜잭션에서 UPDATE 한 번으로 발송 처리하고 푸시 전달 대기열에 등록한다. 다른 노드가 점유 중인 행은 건너뛰므로
+ * 여러 노드가 동시에 실행해도 같은 알림을 중복 발송하지 않고, 트랜잭션은 청크 하나 동안만 유지된다.
+ * idx_notification_due (sent_time, scheduled_time) 인덱스를 사용한다.
+ *
+ * @author CBNU Development Team
+ * @version 1.5
+ * @since 2024
+ */
+@Repository
+@RequiredArgsConstructor
+public class NotificationDispatchJdbcRepository {
+
+    private static final String CLAIM_DUE_SQL =
+            "SELECT id, user_id, scheduled_time, type, title, message, url, priority FROM notifications " +
+            "WHERE sent_time IS NULL AND scheduled_time <= ? " +
+            "ORDER BY scheduled_time LIMIT ? FOR UPDATE SKIP LOCKED";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NotificationDeliveryJdbcRepository notificationDeliveryJdbcRepository;
+
+    /**
+     * 발송 시각이 지난 알림을 최대 limit건 점유하고 발송 처리
+     * @param now 기준 시각 (scheduled_time이 이 시각 이전인 알림)
+     * @param limit 청크 크기
+     * @return 발송 처리한 알림 (scheduled_time 순)
+     */
+    @Transactional
+    public List<DueNotification> claimAndMarkSent(LocalDateTime now, int limit) {
+        List<DueNotification> claimed = jdbcTemplate.query(CLAIM_DUE_SQL,
+                (rs, rowNum) -> new DueNotification(
+                        rs.getLong("id"),
+                        rs.getLong("user_id"),
+                        rs.getTimestamp("scheduled_time").toLocalDateTime(),
+                        rs.getString("type"),
+                        rs.getString("title"),
+                        rs.getString("message"),
+                        rs.getString("url"),
+                        rs.getInt("priority")),
+                Timestamp.valueOf(now), limit);
+        if (claimed.isEmpty()) {
+            return claimed;
+        }
+
+        String placeholders = String.join(",", Collections.nCopies(claimed.size(), "?"));
+        Object[] args = new Object[claimed.size() + 1];
+        args[0] = Timestamp.valueOf(now);
+        for (int i = 0; i < claimed.size(); i++) {
+            args[i + 1] = claimed.get(i).id();
+        }
+        jdbcTemplate.update("UPDATE notifications SET sent_time = ? WHERE id IN (" + placeholders + ")", args);
+        notificationDeliveryJdbcRepository.enqueue(claimed.stream().map(DueNotification::id).toList(), now);
+        return claimed;
+    }
+
+    /**
+     * 발송 처리된 예약 알림
+     * @param id 알림 ID
+     * @param userId 사용자 ID
+     * @param scheduledTime 예약 발송 시각
+     * @param type 알림 타입
+     * @param title 제목
+     * @param message 메시지
+     * @param url 액션 URL
+     * @param priority 우선순위
+     */
+    public record DueNotification(long id, long userId, LocalDateTime scheduledTime,
+                                  String type, String title, String message, String url, int priority) {
+    }
+}
@@ -0,0 +1,46 @@
+package ac.cbnu.heartcheck.repository;
+
+import ac.cbnu.heartcheck.entity.NotificationReadMark;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * NotificationReadMark Repository
+ * 알림 읽음 기준선 데이터 접근 레이어
+ *
+ * @author CBNU Development Team
+ * @version 1.0.0
+ * @since 2024
+ */
+@Repository
+public interface NotificationReadMarkRepository extends JpaRepository<NotificationReadMark, Long> {
+
+    /**
+     * 사용자의 기준선 목록 (ALL + 타입별, 최대 타입 수 + 1행)
+     * @param userId 사용자 ID
+     * @return 기준선 목록
+     */
+    List<NotificationReadMark> findByUserId(Long userId);
+
+    /**
+     * 기준선 올리기 (없으면 생성, 있으면 더 늦은 시각으로만 갱신)
+     * 알림 수와 관계없이 (user_id, scope) 유니크 키 한 행만 쓴다.
+     * @param userId 사용자 ID
+     * @param scope ALL 또는 알림 타입 이름
+     * @param readUpTo 이 시각까지 발송된 알림을 읽음으로 봄
+     * @return 영향받은 행 수
+     */
+    @Modifying
+    @Query(value = "INSERT INTO notification_read_marks (user_id, scope, read_up_to, updated_at) " +
+                   "VALUES (:userId, :scope, :readUpTo, :readUpTo) " +
+                   "ON DUPLICATE KEY UPDATE read_up_to = GREATEST(read_up_to, VALUES(read_up_to)), " +
+                   "updated_at = VALUES(updated_at)",
+           nativeQuery = true)
+    int advance(@Param("userId") Long userId, @Param("scope") String scope, @Param("readUpTo") LocalDateTime readUpTo);
+}
@@ -11,6 +11,7 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -24,6 +25,20 @@ import java.util.List;
 @Repository
 public interface NotificationRepository extends JpaRepository<Notification, Long> {
 
+    /**
+     * 알림 n이 사용자의 읽음 기준선(ALL 또는 같은 타입)으로 읽은 상태인지
+     * 기준선 이전에 발송됐고, 기준선 이후에 미읽음 처리되지 않은 알림이 해당된다 (NotificationReadMark).
+     */
+    String COVERED_BY_MARK =
+            "EXISTS (SELECT 1 FROM notification_read_marks m WHERE m.user_id = n.user_id " +
+            "AND m.scope IN ('ALL', n.type) AND m.read_up_to >= n.sent_time " +
+            "AND (n.unread_at IS NULL OR n.unread_at < m.read_up_to))";
+
+    /** 사용자의 모두 읽음 기준선 (없으면 가장 이른 시각) */
+    String ALL_MARK_FLOOR =
+            "COALESCE((SELECT m.read_up_to FROM notification_read_marks m " +
+            "WHERE m.user_id = :userId AND m.scope = 'ALL'), TIMESTAMP '1970-01-01 00:00:00')";
+
     /**
      * 사용자 ID로 알림 목록 조회 (페이징)
      * @param userId 사용자 ID
@@ -42,29 +57,81 @@ public interface NotificationRepository extends JpaRepository<Notification, Long
     Page<Notification> findByUser(User user, Pageable pageable);
 
     /**
-     * 사용자의 읽지 않은 알림 개수 조회
+     * 사용자의 읽지 않은 알림 개수 조회 (발송 전 예약 알림 제외, 발송 시 푸시로 더해짐)
+     * 모두 읽음 기준선(ALL) 이후 발송분은 (user_id, is_read, sent_time) 인덱스 범위로,
+     * 기준선 이전 발송분은 미읽음 처리된 알림만 (user_id, unread_at) 인덱스로 세므로
+     * 모두 읽음 이후 쌓인 읽지 않은 행 수와 무관하게 기준선 이후 알림만 읽는다.
      * @param userId 사용자 ID
      * @return 읽지 않은 알림 개수
      */
-    @Query("SELECT COUNT(n) FROM Notification n WHERE n.user.userId = :userId AND n.isRead = false")
+    @Query(value = "SELECT " +
+                   "(SELECT COUNT(*) FROM notifications n WHERE n.user_id = :userId AND n.is_read = FALSE " +
+                   "AND n.sent_time > " + ALL_MARK_FLOOR + " AND NOT " + COVERED_BY_MARK + ") + " +
+                   "(SELECT COUNT(*) FROM notifications n WHERE n.user_id = :userId AND n.unread_at IS NOT NULL " +
+                   "AND n.is_read = FALSE AND n.sent_time <= " + ALL_MARK_FLOOR + " AND NOT " + COVERED_BY_MARK + ")",
+           nativeQuery = true)
     long countUnreadByUserId(@Param("userId") Long userId);
 
     /**
-     * 사용자의 읽지 않은 알림 목록 조회
+     * 사용자의 특정 타입 읽지 않은 알림 개수 조회 (타입별 읽음 처리 시 카운터 조정량)
      * @param userId 사용자 ID
+     * @param type 알림 타입 이름
+     * @return 읽지 않은 알림 개수
+     */
+    @Query(value = "SELECT COUNT(*) FROM notifications n WHERE n.user_id = :userId AND n.type = :type " +
+                   "AND n.is_read = FALSE AND n.sent_time IS NOT NULL AND NOT " + COVERED_BY_MARK,
+           nativeQuery = true)
+    long countUnreadByUserIdAndType(@Param("userId") Long userId, @Param("type") String type);
+
+    /**
+     * 여러 사용자의 읽지 않은 알림 개수 조회 (읽지 않은 알림 카운터 대조용)
+     * @param userIds 사용자 ID 목록
+     * @return [사용자 ID, 읽지 않은 알림 개수] 목록 (읽지 않은 알림이 없는 사용자는 빠짐)
+     */
+    @Query(value = "SELECT n.user_id, COUNT(*) FROM notifications n WHERE n.user_id IN (:userIds) " +
+                   "AND n.is_read = FALSE AND n.sent_time IS NOT NULL AND NOT " + COVERED_BY_MARK + " GROUP BY n.user_id",
+           nativeQuery = true)
+    List<Object[]> countUnreadByUserIds(@Param("userIds") Collection<Long> userIds);
+
+    /**
+     * 사용자의 읽지 않은 알림 목록 조회 (읽음 기준선으로 읽은 알림·발송 전 알림 제외)
+     * countUnreadByUserId와 같이 모두 읽음 기준선(ALL) 이후 발송분은 (user_id, is_read, sent_time) 인덱스 범위로,
+     * 기준선 이전 발송분은 미읽음 처리된 알림만 (user_id, unread_at) 인덱스로 읽으므로
+     * 기준선 이전에 쌓인 읽지 않은 행을 훑지 않는다.
+     * @param userId 사용자 ID
+     * @param now 조회 시각 (이후 발송 시각을 가진 알림 제외)
      * @param pageable 페이징 정보
      * @return 읽지 않은 알림 페이지
      */
-    @Query("SELECT n FROM Notification n WHERE n.user.userId = :userId AND n.isRead = false ORDER BY n.sentTime DESC")
-    Page<Notification> findUnreadByUserId(@Param("userId") Long userId, Pageable pageable);
+    @Query(value = "SELECT n.* FROM (" +
+                   "SELECT * FROM notifications n WHERE n.user_id = :userId AND n.is_read = FALSE " +
+                   "AND n.sent_time > " + ALL_MARK_FLOOR + " AND n.sent_time <= :now AND NOT " + COVERED_BY_MARK +
+                   " UNION ALL " +
+                   "SELECT * FROM notifications n WHERE n.user_id = :userId AND n.unread_at IS NOT NULL " +
+                   "AND n.is_read = FALSE AND n.sent_time <= " + ALL_MARK_FLOOR + " AND n.sent_time <= :now " +
+                   "AND NOT " + COVERED_BY_MARK +
+                   ") n ORDER BY n.sent_time DESC",
+           countQuery = "SELECT " +
+                        "(SELECT COUNT(*) FROM notifications n WHERE n.user_id = :userId AND n.is_read = FALSE " +
+                        "AND n.sent_time > " + ALL_MARK_FLOOR + " AND n.sent_time <= :now AND NOT " + COVERED_BY_MARK + ") + " +
+                        "(SELECT COUNT(*) FROM notifications n WHERE n.user_id = :userId AND n.unread_at IS NOT NULL " +
+                        "AND n.is_read = FALSE AND n.sent_time <= " + ALL_MARK_FLOOR + " AND n.sent_time <= :now " +
+                        "AND NOT " + COVERED_BY_MARK + ")",
+           nativeQuery = true)
+    Page<Notification> findUnreadByUserId(@Param("userId") Long userId, @Param("now") LocalDateTime now,
+                                          Pageable pageable);
 
     /**
-     * 사용자의 읽은 알림 목록 조회
+     * 사용자의 읽은 알림 목록 조회 (읽음 기준선으로 읽은 알림 포함)
      * @param userId 사용자 ID
      * @param pageable 페이징 정보
      * @return 읽은 알림 페이지
      */
-    @Query("SELECT n FROM Notification n WHERE n.user.userId = :userId AND n.isRead = true ORDER BY n.sentTime DESC")
+    @Query(value = "SELECT n.* FROM notifications n WHERE n.user_id = :userId " +
+                   "AND (n.is_read = TRUE OR " + COVERED_BY_MARK + ") ORDER BY n.sent_time DESC",
+           countQuery = "SELECT COUNT(*) FROM notifications n WHERE n.user_id = :userId " +
+                        "AND (n.is_read = TRUE OR " + COVERED_BY_MARK + ")",
+           nativeQuery = true)
     Page<Notification> findReadByUserId(@Param("userId") Long userId, Pageable pageable);
 
     /**
@@ -103,48 +170,17 @@ public interface NotificationRepository extends JpaRepository<Notification, Long
                                                        Pageable pageable);
 
     /**
-     * 발송 예약된 알림 목록 조회
-     * @param now 현재 시간
-     * @return 발송 가능한 예약 알림 목록
-     */
-    @Query("SELECT n FROM Notification n WHERE n.scheduledTime IS NOT NULL AND n.scheduledTime <= :now AND n.sentTime IS NULL")
-    List<Notification> findScheduledNotifications(@Param("now") LocalDateTime now);
-
-    /**
-     * 오래된 읽은 알림 조회 (자동 삭제용)
-     * @param beforeDate 기준 날짜
-     * @return 오래된 읽은 알림 목록
-     */
-    @Query("SELECT n FROM Notification n WHERE n.isRead = true AND n.readTime < :beforeDate")
-    List<Notification> findOldReadNotifications(@Param("beforeDate") LocalDateTime beforeDate);
-
-    /**
-     * 사용자의 모든 알림을 읽음으로 표시
-     * @param userId 사용자 ID
-     */
-    @Modifying
-    @Query("UPDATE Notification n SET n.isRead = true, n.readTime = :readTime WHERE n.user.userId = :userId AND n.isRead = false")
-    void markAllAsReadByUserId(@Param("userId") Long userId, @Param("readTime") LocalDateTime readTime);
-
-    /**
-     * 특정 타입의 알림을 읽음으로 표시
-     * @param userId 사용자 ID
-     * @param type 알림 타입
-     * @param readTime 읽은 시간
-     */
-    @Modifying
-    @Query("UPDATE Notification n SET n.isRead = true, n.readTime = :readTime WHERE n.user.userId = :userId AND n.type = :type AND n.isRead = false")
-    void markAsReadByTypeAndUserId(@Param("userId") Long userId,
-                                    @Param("type") Notification.NotificationType type,
-                                    @Param("readTime") LocalDateTime readTime);
-
-    /**
-     * 사용자의 오래된 알림 삭제
+     * 사용자의 오래된 알림 삭제 (읽음 기준선으로 읽은 알림은 기준선 시각으로 판단)
      * @param userId 사용자 ID
      * @param beforeDate 기준 날짜
      */
     @Modifying
-    @Query("DELETE FROM Notification n WHERE n.user.userId = :userId AND n.isRead = true AND n.readTime < :beforeDate")
+    @Query(value = "DELETE FROM notifications WHERE user_id = :userId AND sent_time IS NOT NULL " +
+                   "AND ((is_read = TRUE AND read_time < :beforeDate) OR EXISTS (SELECT 1 FROM notification_read_marks m " +
+                   "WHERE m.user_id = notifications.user_id AND m.scope IN ('ALL', notifications.type) " +
+                   "AND m.read_up_to < :beforeDate AND notifications.sent_time <= m.read_up_to " +
+                   "AND (notifications.unread_at IS NULL OR notifications.unread_at < m.read_up_to)))",
+           nativeQuery = true)
     void deleteOldReadNotificationsByUserId(@Param("userId") Long userId, @Param("beforeDate") LocalDateTime beforeDate);
 
     /**
@@ -0,0 +1,196 @@
+package ac.cbnu.heartcheck.repository;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.Optional;
+import java.util.regex.Pattern;
+
+/**
+ * Notification Retention JDBC Repository
+ * 알림 보관 기간 정리 전용 데이터 접근 계층
+ *
+ * notifications는 created_at 월 단위 RANGE 파티션(pYYYYMM, 마지막은 p_future MAXVALUE)으로 나뉜다 (V6 마이그레이션).
+ * 만료된 파티션은 DROP PARTITION으로 한 번에 지우고, 그럴 수 없는 행은 id 범위 단위 DELETE로 지운다.
+ * id 범위 DELETE는 문장마다 자동 커밋되므로 잠금·undo·binlog 이벤트 크기가 범위 크기로 제한된다.
+ * 파티션이 없는 테이블(H2 개발 DB, 마이그레이션 전)에서는 파티션 목록이 비고 범위 DELETE만 사용한다.
+ *
+ * @author CBNU Development Team
+ * @version 1.0.0
+ * @since 2024
+ */
+@Slf4j
+@Repository
+@RequiredArgsConstructor
+public class NotificationRetentionJdbcRepository {
+
+    static final String FUTURE_PARTITION = "p_future";
+
+    /** MySQL TO_DAYS('1970-01-01') */
+    private static final long TO_DAYS_EPOCH = 719528L;
+    private static final Pattern PARTITION_NAME = Pattern.compile("p\\w+");
+    private static final DateTimeFormatter MONTH_SUFFIX = DateTimeFormatter.ofPattern("yyyyMM");
+
+    private static final String PARTITIONS_SQL =
+            "SELECT PARTITION_NAME, PARTITION_DESCRIPTION FROM information_schema.PARTITIONS " +
+            "WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'notifications' AND PARTITION_NAME IS NOT NULL " +
+            "ORDER BY PARTITION_ORDINAL_POSITION";
+
+    private static final String MIN_ID_SQL = "SELECT MIN(id) FROM notifications";
+
+    private static final String LAST_ID_CREATED_BEFORE_SQL =
+            "SELECT id FROM notifications WHERE created_at < ? ORDER BY created_at DESC, id DESC LIMIT 1";
+
+    /** 읽음 기준선(notification_read_marks)이 이 시각 이전에 덮은 알림 (모두 읽음 처리로 읽은 알림) */
+    private static final String COVERED_BY_MARK_BEFORE =
+            "EXISTS (SELECT 1 FROM notification_read_marks m WHERE m.user_id = notifications.user_id " +
+            "AND m.scope IN ('ALL', notifications.type) AND m.read_up_to < ? " +
+            "AND notifications.sent_time <= m.read_up_to " +
+            "AND (notifications.unread_at IS NULL OR notifications.unread_at < m.read_up_to))";
+
+    private static final String DELETE_EXPIRED_SQL =
+            "DELETE FROM notifications WHERE id >= ? AND id < ? AND created_at < ? AND sent_time IS NOT NULL " +
+            "AND (sent_time < ? OR (is_read = TRUE AND read_time < ?) OR " + COVERED_BY_MARK_BEFORE + ")";
+
+    private static final String DELETE_READ_SQL =
+            "DELETE FROM notifications WHERE id >= ? AND id < ? AND created_at < ? AND sent_time IS NOT NULL " +
+            "AND ((is_read = TRUE AND read_time < ?) OR " + COVERED_BY_MARK_BEFORE + ")";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * 파티션 목록 (정의 순서)
+     * @return 파티션 (분할되지 않은 테이블이면 빈 목록)
+     */
+    public List<Partition> findPartitions() {
+        try {
+            return jdbcTemplate.query(PARTITIONS_SQL, (rs, rowNum) -> {
+                String description = rs.getString("PARTITION_DESCRIPTION");
+                LocalDate upperBound = description == null || "MAXVALUE".equalsIgnoreCase(description)
+                        ? null
+                        : LocalDate.ofEpochDay(Long.parseLong(description.trim()) - TO_DAYS_EPOCH);
+                return new Partition(rs.getString("PARTITION_NAME"), upperBound);
+            });
+        } catch (DataAccessException e) {
+            log.debug("Partition metadata unavailable, treating notifications as unpartitioned: {}", e.getMessage());
+            return List.of();
+        }
+    }
+
+    /**
+     * 새 월 파티션을 나눠 낼 p_future(MAXVALUE) 파티션이 있는지
+     * @param partitions findPartitions 결과
+     * @return 있으면 true
+     */
+    public boolean hasFuturePartition(List<Partition> partitions) {
+        return partitions.stream().anyMatch(partition -> FUTURE_PARTITION.equals(partition.name()));
+    }
+
+    /**
+     * 파티션에 아직 보관해야 할 행(발송 전 예약 알림, 보관 기간 내 발송 알림)이 있는지
+     * @param partition 파티션 이름
+     * @param sentBefore 보관 기간 기준 (이 시각 이전 발송 알림은 만료)
+     * @return 남겨야 할 행이 있으면 true
+     */
+    public boolean hasRetainedRows(String partition, LocalDateTime sentBefore) {
+        List<Integer> rows = jdbcTemplate.query(
+                "SELECT 1 FROM notifications PARTITION (" + checkName(partition) + ") " +
+                "WHERE sent_time IS NULL OR sent_time >= ? LIMIT 1",
+                (rs, rowNum) -> rs.getInt(1), Timestamp.valueOf(sentBefore));
+        return !rows.isEmpty();
+    }
+
+    /**
+     * 파티션 삭제 (메타데이터 작업이므로 행 수와 무관하게 즉시 끝나고 binlog에는 DDL 한 건만 남음)
+     * @param partition 파티션 이름
+     */
+    public void dropPartition(String partition) {
+        jdbcTemplate.execute("ALTER TABLE notifications DROP PARTITION " + checkName(partition));
+    }
+
+    /**
+     * p_future를 나눠 upperBound 미만 월 파티션 추가
+     * p_future가 비어 있으면(미래 월을 미리 만드는 평상시) 즉시 끝난다.
+     * @param month 파티션 이름에 붙일 월 (pYYYYMM)
+     * @param upperBound 파티션 상한 (다음 달 1일)
+     */
+    public void addPartition(YearMonth month, LocalDate upperBound) {
+        jdbcTemplate.execute("ALTER TABLE notifications REORGANIZE PARTITION " + FUTURE_PARTITION + " INTO (" +
+                "PARTITION p" + month.format(MONTH_SUFFIX) + " VALUES LESS THAN (TO_DAYS('" + upperBound + "')), " +
+                "PARTITION " + FUTURE_PARTITION + " VALUES LESS THAN MAXVALUE)");
+    }
+
+    /**
+     * 정리 대상 id 범위
+     * @param createdBefore 이 시각 이전에 생성된 알림까지
+     * @return [가장 작은 id, 범위 안 마지막 id]
+     */
+    public Optional<IdRange> findIdRange(LocalDateTime createdBefore) {
+        Long minId = jdbcTemplate.queryForObject(MIN_ID_SQL, Long.class);
+        if (minId == null) {
+            return Optional.empty();
+        }
+        return jdbcTemplate.query(LAST_ID_CREATED_BEFORE_SQL, (rs, rowNum) -> rs.getLong(1),
+                        Timestamp.valueOf(createdBefore))
+                .stream().findFirst()
+                .map(maxId -> new IdRange(minId, maxId));
+    }
+
+    /**
+     * id 범위 안의 만료 알림 삭제 (보관 기간이 지난 발송 알림 + 읽은 지 오래된 알림, 읽음 기준선으로 읽은 알림 포함)
+     * @param fromId 시작 id (포함)
+     * @param toId 끝 id (제외)
+     * @param sentBefore 이 시각 이전 발송 알림은 읽음 여부와 무관하게 삭제
+     * @param readBefore 이 시각 이전에 읽은 알림 삭제
+     * @return 삭제된 행 수
+     */
+    public int deleteExpired(long fromId, long toId, LocalDateTime sentBefore, LocalDateTime readBefore) {
+        LocalDateTime createdBefore = sentBefore.isAfter(readBefore) ? sentBefore : readBefore;
+        return jdbcTemplate.update(DELETE_EXPIRED_SQL, fromId, toId, Timestamp.valueOf(createdBefore),
+                Timestamp.valueOf(sentBefore), Timestamp.valueOf(readBefore), Timestamp.valueOf(readBefore));
+    }
+
+    /**
+     * id 범위 안의 읽은 지 오래된 알림 삭제 (읽음 기준선으로 읽은 알림 포함)
+     * @param fromId 시작 id (포함)
+     * @param toId 끝 id (제외)
+     * @param readBefore 이 시각 이전에 읽은 알림 삭제
+     * @return 삭제된 행 수
+     */
+    public int deleteRead(long fromId, long toId, LocalDateTime readBefore) {
+        // 읽은 시간은 생성 시간 이후이므로 created_at 조건으로 지난 파티션만 보게 함
+        return jdbcTemplate.update(DELETE_READ_SQL, fromId, toId, Timestamp.valueOf(readBefore),
+                Timestamp.valueOf(readBefore), Timestamp.valueOf(readBefore));
+    }
+
+    private String checkName(String partition) {
+        // DDL에는 바인드 변수를 쓸 수 없으므로 information_schema에서 읽은 이름 형식만 허용
+        if (!PARTITION_NAME.matcher(partition).matches()) {
+            throw new IllegalArgumentException("Invalid partition name: " + partition);
+        }
+        return partition;
+    }
+
+    /**
+     * RANGE 파티션
+     * @param name 파티션 이름
+     * @param upperBound created_at 상한 (미만), MAXVALUE면 null
+     */
+    public record Partition(String name, LocalDate upperBound) {
+    }
+
+    /**
+     * 정리 대상 id 범위 (양 끝 포함)
+     */
+    public record IdRange(long minId, long maxId) {
+    }
+}
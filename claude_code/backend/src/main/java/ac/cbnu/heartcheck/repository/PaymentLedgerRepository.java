@@ -0,0 +1,90 @@
+package ac.cbnu.heartcheck.repository;
+
+import ac.cbnu.heartcheck.entity.PaymentLedgerEntry;
+import ac.cbnu.heartcheck.entity.PaymentLedgerEntry.EventType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+/**
+ * PaymentLedgerEntry Repository
+ * 결제 원장 데이터 접근 레이어 (추가·조회만, 원장 도입 전 결제 이관 포함)
+ *
+ * @author CBNU Development Team
+ * @version 1.0.0
+ * @since 2024
+ */
+@Repository
+public interface PaymentLedgerRepository extends JpaRepository<PaymentLedgerEntry, Long> {
+
+    /**
+     * 결제의 원장 행 조회
+     * @param paymentId 결제 ID
+     * @param eventType 이벤트 종류
+     * @return 원장 행
+     */
+    Optional<PaymentLedgerEntry> findByPaymentIdAndEventType(Long paymentId, EventType eventType);
+
+    /**
+     * 기간 내 원장 금액 합계 (환불 차감, 하루 안쪽 구간 계산용)
+     * @param from 시작 시각 (포함)
+     * @param to 종료 시각 (포함)
+     * @return 합계 (없으면 0)
+     */
+    @Query("SELECT COALESCE(SUM(l.amount), 0) FROM PaymentLedgerEntry l WHERE l.occurredAt BETWEEN :from AND :to")
+    long sumAmountBetween(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+
+    /**
+     * 원장의 첫 집계일 (전체 재구성 범위)
+     */
+    @Query("SELECT MIN(l.businessDate) FROM PaymentLedgerEntry l")
+    Optional<LocalDate> findFirstBusinessDate();
+
+    /**
+     * 원장의 마지막 집계일 (전체 재구성 범위)
+     */
+    @Query("SELECT MAX(l.businessDate) FROM PaymentLedgerEntry l")
+    Optional<LocalDate> findLastBusinessDate();
+
+    /**
+     * 원장에 구매 행이 없는 완료·환불 결제를 구매로 이관 (INSERT ... SELECT 한 문장, 다시 실행해도 같은 행을 넣지 않음)
+     * 당시 금액 기록이 없으므로 지금의 요금제 가격을, 시각은 pay_time을 쓴다 (V11과 같은 규칙).
+     * @param now 생성 시각
+     * @return 이관한 행 수
+     */
+    @Modifying
+    @Query(value = "INSERT INTO payment_ledger (payment_id, user_id, cost_id, plan_type, store_info, event_type, " +
+                   "amount, occurred_at, business_date, created_at) " +
+                   "SELECT p.id, p.user_id, p.cost_id, c.type, p.store_info, 'PURCHASE', c.cost, p.pay_time, " +
+                   "CAST(p.pay_time AS DATE), CAST(:now AS DATETIME) " +
+                   "FROM payments p JOIN cost_models c ON c.cost_id = p.cost_id " +
+                   "WHERE p.status IN ('SUCCESS', 'REFUNDED') AND NOT EXISTS (SELECT 1 FROM payment_ledger l " +
+                   "WHERE l.payment_id = p.id AND l.event_type = 'PURCHASE')",
+           nativeQuery = true)
+    int backfillPurchases(@Param("now") LocalDateTime now);
+
+    /**
+     * 원장에 환불 행이 없는 환불 결제를 환불로 이관 (구매 행 금액의 음수, 구매 행이 없으면 지금의 요금제 가격)
+     * 환불 시각이 따로 남아 있지 않아 pay_time으로 기록한다.
+     * @param now 생성 시각
+     * @return 이관한 행 수
+     */
+    @Modifying
+    @Query(value = "INSERT INTO payment_ledger (payment_id, user_id, cost_id, plan_type, store_info, event_type, " +
+                   "amount, occurred_at, business_date, created_at) " +
+                   "SELECT p.id, p.user_id, p.cost_id, c.type, p.store_info, 'REFUND', " +
+                   "-COALESCE((SELECT l.amount FROM payment_ledger l WHERE l.payment_id = p.id " +
+                   "AND l.event_type = 'PURCHASE'), c.cost), p.pay_time, CAST(p.pay_time AS DATE), " +
+                   "CAST(:now AS DATETIME) " +
+                   "FROM payments p JOIN cost_models c ON c.cost_id = p.cost_id " +
+                   "WHERE p.status = 'REFUNDED' AND NOT EXISTS (SELECT 1 FROM payment_ledger l " +
+                   "WHERE l.payment_id = p.id AND l.event_type = 'REFUND')",
+           nativeQuery = true)
+    int backfillRefunds(@Param("now") LocalDateTime now);
+}
@@ -5,11 +5,11 @@ import ac.cbnu.heartcheck.entity.User;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
-import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
@@ -18,7 +18,7 @@ import java.util.Optional;
  * Repository interface for Payment entity
  *
  * @author CBNU Development Team
- * @version 1.0.0
+ * @version 1.2
  * @since 2024
  */
 @Repository
@@ -46,21 +46,48 @@ public interface PaymentRepository extends JpaRepository<Payment, Long> {
     List<Payment> findSuccessfulPaymentsByUser(@Param("user") User user);
 
     /**
-     * Calculate total revenue within date range
+     * Find latest successful payment by user
      */
-    @Query("SELECT SUM(p.costModel.cost) FROM Payment p WHERE p.status = 'SUCCESS' AND p.createTime BETWEEN :startDate AND :endDate")
-    BigDecimal calculateRevenueByDateRange(@Param("startDate") LocalDateTime startDate,
-                                         @Param("endDate") LocalDateTime endDate);
+    @Query("SELECT p FROM Payment p WHERE p.user = :user AND p.status = 'SUCCESS' ORDER BY p.createTime DESC")
+    List<Payment> findLatestSuccessfulPaymentByUser(@Param("user") User user, Pageable pageable);
 
     /**
-     * Count payments by cost model type
+     * Find payment with its cost model (receipt verification)
      */
-    @Query("SELECT p.costModel.type, COUNT(p) FROM Payment p WHERE p.status = 'SUCCESS' GROUP BY p.costModel.type")
-    List<Object[]> countByCostModelType();
+    @Query("SELECT p FROM Payment p JOIN FETCH p.costModel WHERE p.id = :id")
+    Optional<Payment> findWithCostModelById(@Param("id") Long id);
 
     /**
-     * Find latest successful payment by user
+     * Find verifying payments whose next attempt (or claim lease) is due, oldest first
      */
-    @Query("SELECT p FROM Payment p WHERE p.user = :user AND p.status = 'SUCCESS' ORDER BY p.createTime DESC")
-    List<Payment> findLatestSuccessfulPaymentByUser(@Param("user") User user, Pageable pageable);
-}
\ No newline at end of file
+    @Query("SELECT p.id FROM Payment p WHERE p.status = 'VERIFYING' AND p.nextVerifyAt <= :now ORDER BY p.nextVerifyAt")
+    List<Long> findDueVerificationIds(@Param("now") LocalDateTime now, Pageable pageable);
+
+    /**
+     * Claim a due verifying payment: counts the attempt and pushes next_verify_at to the lease end.
+     * Returns 0 when another worker already holds it or it is no longer verifying.
+     */
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE Payment p SET p.verifyAttempts = p.verifyAttempts + 1, p.nextVerifyAt = :leaseUntil " +
+           "WHERE p.id = :id AND p.status = 'VERIFYING' AND p.nextVerifyAt <= :now")
+    int claimVerification(@Param("id") Long id, @Param("now") LocalDateTime now,
+                          @Param("leaseUntil") LocalDateTime leaseUntil);
+
+    /**
+     * Reschedule a verifying payment after a retryable gateway failure
+     */
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE Payment p SET p.nextVerifyAt = :nextVerifyAt, p.verifyError = :error " +
+           "WHERE p.id = :id AND p.status = 'VERIFYING'")
+    int rescheduleVerification(@Param("id") Long id, @Param("nextVerifyAt") LocalDateTime nextVerifyAt,
+                               @Param("error") String error);
+
+    /**
+     * Defer a verifying payment after a store credential fault, giving back the attempt counted by the claim
+     */
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE Payment p SET p.verifyAttempts = p.verifyAttempts - 1, p.nextVerifyAt = :nextVerifyAt, " +
+           "p.verifyError = :error WHERE p.id = :id AND p.status = 'VERIFYING' AND p.verifyAttempts > 0")
+    int deferVerification(@Param("id") Long id, @Param("nextVerifyAt") LocalDateTime nextVerifyAt,
+                          @Param("error") String error);
+}
@@ -3,12 +3,15 @@ package ac.cbnu.heartcheck.repository;
 import ac.cbnu.heartcheck.entity.Subscription;
 import ac.cbnu.heartcheck.entity.Subscription.SubscriptionStatus;
 import ac.cbnu.heartcheck.entity.User;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -17,7 +20,7 @@ import java.util.Optional;
  * 구독 데이터 접근 레이어
  *
  * @author CBNU Development Team
- * @version 1.0
+ * @version 1.1
  * @since 2024
  */
 @Repository
@@ -63,6 +66,14 @@ public interface SubscriptionRepository extends JpaRepository<Subscription, Long
     @Query("SELECT s FROM Subscription s WHERE s.user.id = :userId AND s.status = 'ACTIVE' AND (s.toDate IS NULL OR s.toDate > :now)")
     Optional<Subscription> findValidSubscriptionByUserId(@Param("userId") Long userId, @Param("now") LocalDateTime now);
 
+    /**
+     * 사용자의 활성 구독을 요금제와 함께 조회 (구독 권한·요금제 등급 캐시 적재용, 종료 시각과 무관)
+     * @param userId 사용자 ID
+     * @return 활성 구독
+     */
+    @Query("SELECT s FROM Subscription s JOIN FETCH s.costModel WHERE s.user.id = :userId AND s.status = 'ACTIVE'")
+    Optional<Subscription> findActiveWithCostModelByUserId(@Param("userId") Long userId);
+
     /**
      * 만료된 구독 조회
      * @param now 현재 시각
@@ -71,6 +82,52 @@ public interface SubscriptionRepository extends JpaRepository<Subscription, Long
     @Query("SELECT s FROM Subscription s WHERE s.status = 'ACTIVE' AND s.toDate IS NOT NULL AND s.toDate <= :now")
     List<Subscription> findExpiredSubscriptions(@Param("now") LocalDateTime now);
 
+    /**
+     * 종료 시각이 지난 활성 구독 ID를 ID 순으로 조회 (시작 시 밀린 만료 처리용, id 범위 단위)
+     * @param now 현재 시각
+     * @param afterId 이 ID 다음부터
+     * @param pageable 최대 건수
+     * @return 구독 ID 목록
+     */
+    @Query("SELECT s.id FROM Subscription s WHERE s.status = 'ACTIVE' AND s.toDate <= :now AND s.id > :afterId ORDER BY s.id")
+    List<Long> findOverdueIds(@Param("now") LocalDateTime now, @Param("afterId") Long afterId, Pageable pageable);
+
+    /**
+     * 곧 종료될 활성 구독의 ID와 종료 시각 조회 (만료 타이머 적재용, (종료 시각, ID) 순 키셋)
+     * @param fromDate 이 종료 시각 이후 (같으면 afterId 다음 ID부터)
+     * @param afterId 같은 종료 시각에서 이 ID 다음부터
+     * @param untilDate 이 종료 시각까지
+     * @param pageable 최대 건수
+     * @return [구독 ID, 종료 시각] 목록
+     */
+    @Query("SELECT s.id, s.toDate FROM Subscription s WHERE s.status = 'ACTIVE' " +
+           "AND (s.toDate > :fromDate OR (s.toDate = :fromDate AND s.id > :afterId)) AND s.toDate <= :untilDate " +
+           "ORDER BY s.toDate, s.id")
+    List<Object[]> findExpiringBetween(@Param("fromDate") LocalDateTime fromDate, @Param("afterId") Long afterId,
+                                       @Param("untilDate") LocalDateTime untilDate, Pageable pageable);
+
+    /**
+     * 만료 대상 구독의 사용자 ID 조회 (캐시 무효화 이벤트용)
+     * @param ids 구독 ID 목록
+     * @param now 현재 시각
+     * @return [구독 ID, 사용자 ID] 목록
+     */
+    @Query("SELECT s.id, s.user.id FROM Subscription s WHERE s.id IN :ids AND s.status = 'ACTIVE' AND s.toDate <= :now")
+    List<Object[]> findExpirableUserIds(@Param("ids") Collection<Long> ids, @Param("now") LocalDateTime now);
+
+    /**
+     * 종료 시각이 지난 활성 구독을 한 문장으로 만료 처리
+     * 그 사이 연장·취소된 구독은 조건에서 빠진다.
+     * @param ids 구독 ID 목록
+     * @param now 현재 시각
+     * @param expired 만료 상태
+     * @return 만료 처리된 구독 수
+     */
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE Subscription s SET s.status = :expired WHERE s.id IN :ids AND s.status = 'ACTIVE' AND s.toDate <= :now")
+    int expireByIds(@Param("ids") Collection<Long> ids, @Param("now") LocalDateTime now,
+                    @Param("expired") SubscriptionStatus expired);
+
     /**
      * 곧 만료될 구독 조회 (7일 이내)
      * @param now 현재 시각
@@ -0,0 +1,106 @@
+package ac.cbnu.heartcheck.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * 클러스터 리스 잠금
+ *
+ * 여러 노드에서 같은 스케줄이 돌 때 한 노드만 작업하도록 Redis 키(lock:{이름})에 노드 소유자와 만료를 건다.
+ * 잠금은 만료 시간이 있는 리스이므로, 소유 노드가 죽으면 만료 후 다른 노드가 가져가고
+ * 오래 걸리는 작업은 진행 중에 renew로 연장한다. 연장·해제는 소유자가 같을 때만 적용된다.
+ *
+ * Redis 장애 시에는 잠금을 얻지 못한 것으로 보고 작업을 건너뛴다 (다음 주기에 다시 시도).
+ *
+ * @author CBNU Development Team
+ * @version 1.0.0
+ * @since 2024
+ */
+@Slf4j
+@Service
+public class ClusterLeaseLock {
+
+    private static final String LOCK_KEY_PREFIX = "lock:";
+
+    private static final RedisScript<Long> RENEW_SCRIPT = new DefaultRedisScript<>("""
+            if redis.call('GET', KEYS[1]) == ARGV[1] then
+                return redis.call('PEXPIRE', KEYS[1], ARGV[2])
+            end
+            return 0
+            """, Long.class);
+
+    private static final RedisScript<Long> RELEASE_SCRIPT = new DefaultRedisScript<>("""
+            if redis.call('GET', KEYS[1]) == ARGV[1] then
+                return redis.call('DEL', KEYS[1])
+            end
+            return 0
+            """, Long.class);
+
+    private final StringRedisTemplate redisTemplate;
+    private final String owner;
+
+    public ClusterLeaseLock(StringRedisTemplate redisTemplate,
+                            @Value("${heart.lock.node-id:${HOSTNAME:}}") String nodeId) {
+        this.redisTemplate = redisTemplate;
+        // 같은 호스트에서 재시작한 프로세스가 이전 리스를 이어받지 않도록 프로세스마다 구분
+        String node = nodeId == null || nodeId.isBlank() ? "node" : nodeId;
+        this.owner = node + ":" + UUID.randomUUID();
+    }
+
+    /**
+     * 잠금 획득
+     * @param name 잠금 이름
+     * @param lease 리스 기간 (작업이 이보다 길면 renew 필요)
+     * @return 획득 여부
+     */
+    public boolean tryAcquire(String name, Duration lease) {
+        try {
+            return Boolean.TRUE.equals(redisTemplate.opsForValue().setIfAbsent(lockKey(name), owner, lease));
+        } catch (Exception e) {
+            log.warn("Lease lock {} acquire failed: {}", name, e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * 리스 연장 (이 노드가 소유할 때만)
+     * @param name 잠금 이름
+     * @param lease 지금부터의 리스 기간
+     * @return 여전히 소유 중이면 true (false면 작업을 멈춰야 함)
+     */
+    public boolean renew(String name, Duration lease) {
+        try {
+            Long renewed = redisTemplate.execute(RENEW_SCRIPT, List.of(lockKey(name)), owner,
+                    Long.toString(lease.toMillis()));
+            return renewed != null && renewed == 1L;
+        } catch (Exception e) {
+            log.warn("Lease lock {} renew failed: {}", name, e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * 잠금 해제 (이 노드가 소유할 때만)
+     * @param name 잠금 이름
+     */
+    public void release(String name) {
+        try {
+            redisTemplate.execute(RELEASE_SCRIPT, List.of(lockKey(name)), owner);
+        } catch (Exception e) {
+            // 해제하지 못해도 리스 만료 후 다른 노드가 가져감
+            log.warn("Lease lock {} release failed: {}", name, e.getMessage());
+        }
+    }
+
+    private String lockKey(String name) {
+        return LOCK_KEY_PREFIX + name;
+    }
+}
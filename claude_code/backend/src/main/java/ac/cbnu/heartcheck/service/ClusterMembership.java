@@ -0,0 +1,109 @@
+package ac.cbnu.heartcheck.service;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * 클러스터 노드 멤버십 (하트비트)
+ *
+ * 각 노드가 heartbeat-ms마다 Redis ZSET(cluster:nodes)에 자기 ID를 현재 시각 점수로 기록하고,
+ * 하트비트 3회 동안 갱신되지 않은 노드를 지운 뒤 남은 노드 수를 읽어 둔다.
+ * Redis 장애 중에는 마지막으로 관측한 노드 수를 유지하며, 한 번도 관측하지 못했으면 0(알 수 없음)을 돌려준다.
+ *
+ * @author CBNU Development Team
+ * @version 1.0.0
+ * @since 2024
+ */
+@Slf4j
+@Service
+public class ClusterMembership {
+
+    static final String NODES_KEY = "cluster:nodes";
+
+    /**
+     * KEYS[1] 노드 ZSET, ARGV[1] 노드 ID, ARGV[2] 현재 시각(ms), ARGV[3] 노드 만료(ms)
+     * @return 살아 있는 노드 수
+     */
+    private static final RedisScript<Long> HEARTBEAT_SCRIPT = new DefaultRedisScript<>("""
+            local now = tonumber(ARGV[2])
+            local ttl = tonumber(ARGV[3])
+            redis.call('ZADD', KEYS[1], now, ARGV[1])
+            redis.call('ZREMRANGEBYSCORE', KEYS[1], '-inf', now - ttl)
+            redis.call('PEXPIRE', KEYS[1], ttl)
+            return redis.call('ZCARD', KEYS[1])
+            """, Long.class);
+
+    private final StringRedisTemplate stringRedisTemplate;
+    private final String nodeId;
+    private final long nodeTtlMillis;
+
+    private volatile int liveNodeCount;
+    private volatile boolean redisHealthy = true;
+
+    public ClusterMembership(StringRedisTemplate stringRedisTemplate,
+                             MeterRegistry meterRegistry,
+                             @Value("${heart.cluster.node-id:${HOSTNAME:}}") String nodeId,
+                             @Value("${heart.cluster.heartbeat-ms:5000}") long heartbeatMillis) {
+        this.stringRedisTemplate = stringRedisTemplate;
+        // 같은 호스트에서 재시작한 프로세스는 만료 전까지 별도 노드로 세어 배분을 보수적으로 유지
+        String node = nodeId == null || nodeId.isBlank() ? "node" : nodeId;
+        this.nodeId = node + ":" + UUID.randomUUID();
+        this.nodeTtlMillis = heartbeatMillis * 3;
+
+        Gauge.builder("cluster.nodes.live", this, ClusterMembership::liveNodeCount)
+                .description("Live nodes last observed through the Redis heartbeat (0 = unknown)")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 하트비트 기록 후 살아 있는 노드 수 갱신
+     */
+    @Scheduled(fixedDelayString = "${heart.cluster.heartbeat-ms:5000}")
+    public void heartbeat() {
+        try {
+            Long count = stringRedisTemplate.execute(HEARTBEAT_SCRIPT, List.of(NODES_KEY),
+                    nodeId, String.valueOf(System.currentTimeMillis()), String.valueOf(nodeTtlMillis));
+            if (count != null && count > 0) {
+                liveNodeCount = count.intValue();
+            }
+            if (!redisHealthy) {
+                log.info("[Cluster] Redis reachable again, {} live nodes", liveNodeCount);
+                redisHealthy = true;
+            }
+        } catch (Exception e) {
+            if (redisHealthy) {
+                log.warn("[Cluster] Heartbeat failed, keeping last known node count {}: {}",
+                        liveNodeCount, e.getMessage());
+                redisHealthy = false;
+            }
+        }
+    }
+
+    /**
+     * 마지막으로 관측한 살아 있는 노드 수
+     * @return 노드 수 (관측 전이면 0)
+     */
+    public int liveNodeCount() {
+        return liveNodeCount;
+    }
+
+    @PreDestroy
+    public void leave() {
+        try {
+            stringRedisTemplate.opsForZSet().remove(NODES_KEY, nodeId);
+        } catch (Exception e) {
+            log.debug("[Cluster] Failed to leave membership: {}", e.getMessage());
+        }
+    }
+}
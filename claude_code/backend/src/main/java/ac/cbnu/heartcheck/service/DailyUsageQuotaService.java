@@ -3,120 +3,65 @@ package ac.cbnu.heartcheck.service;
 import ac.cbnu.heartcheck.entity.DailyUsageQuota;
 import ac.cbnu.heartcheck.entity.User;
 import ac.cbnu.heartcheck.repository.DailyUsageQuotaRepository;
+import ac.cbnu.heartcheck.service.QuotaEngine.QuotaResult;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
-import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
-import java.util.concurrent.TimeUnit;
 
 /**
  * Daily Usage Quota Service
  * Heart Doctor 일일 사용량 제한 비즈니스 로직 서비스
+ * 허용 검사와 사용량 증가는 QuotaEngine에 위임하고, 제한량은 사용자의 요금제 등급을 따른다
+ * 허용 검사 경로는 DB 커넥션을 점유하지 않도록 트랜잭션 없이 실행한다
+ * Redis 장애 시에도 DB로 우회하지 않으며 QuotaEngine이 노드 로컬 카운터로 제한을 적용한다
  *
  * @author CBNU Development Team
- * @version 1.4
+ * @version 1.7
  * @since 2024
  */
 @Slf4j
 @Service
 @RequiredArgsConstructor
-@Transactional(readOnly = true)
 public class DailyUsageQuotaService {
 
     private final DailyUsageQuotaRepository dailyUsageQuotaRepository;
-    private final RedisTemplate<String, Object> redisTemplate;
-
-    // Redis 키 패턴
-    private static final String REDIS_KEY_PREFIX = "daily_usage:";
-    private static final int CACHE_EXPIRY_HOURS = 26; // 26시간 (하루 + 2시간 여유)
-
-    // 기본 사용량 제한
-    private static final int FREE_USER_DAILY_LIMIT = 1;
-    private static final int PREMIUM_USER_DAILY_LIMIT = 5;
+    private final QuotaEngine quotaEngine;
 
     /**
-     * 사용자의 오늘 사용량 조회 (Redis 캐시 우선)
+     * 사용자의 현재 사용량 조회 (Redis 우선)
+     * FREE_USER는 총 사용량, 그 외는 오늘 사용량
      * @param user 사용자
-     * @return 오늘 사용량
+     * @return 현재 사용량
      */
     public int getTodayUsageCount(User user) {
-        String redisKey = generateRedisKey(user.getUserId(), LocalDate.now());
-
-        try {
-            // Redis에서 먼저 조회
-            Object cachedCount = redisTemplate.opsForValue().get(redisKey);
-            if (cachedCount != null) {
-                return (Integer) cachedCount;
-            }
-
-            // Redis에 없으면 DB에서 조회
-            Optional<DailyUsageQuota> quotaOpt = findTodayQuota(user);
-            int usageCount = quotaOpt.map(DailyUsageQuota::getCount).orElse(0);
-
-            // Redis에 캐시
-            redisTemplate.opsForValue().set(redisKey, usageCount, CACHE_EXPIRY_HOURS, TimeUnit.HOURS);
-
-            return usageCount;
-
-        } catch (Exception e) {
-            log.error("Error retrieving usage count from Redis for user: {}", user.getUserId(), e);
-            // Redis 오류 시 DB에서 직접 조회
-            return findTodayQuota(user).map(DailyUsageQuota::getCount).orElse(0);
-        }
+        return quotaEngine.status(user.getUserId()).used();
     }
 
     /**
-     * 사용자의 일일 제한량 조회
+     * 사용자의 제한량 조회 (요금제 등급 캐시)
      * @param user 사용자
-     * @return 일일 제한량
+     * @return 제한량 (관리자/의사는 무제한)
      */
     public int getDailyLimit(User user) {
-        // 프리미엄 사용자 여부 확인 (실제로는 Subscription 엔티티와 연계)
-        // 현재는 단순화하여 Role로 판단
-        if (User.Role.ADMIN.equals(user.getRole()) || User.Role.DOCTOR.equals(user.getRole())) {
-            return Integer.MAX_VALUE; // 관리자/의사는 무제한
-        }
-
-        // TODO: Subscription 서비스와 연계하여 프리미엄 사용자 확인
-        // 현재는 기본값으로 FREE 사용자로 처리
-        return FREE_USER_DAILY_LIMIT;
+        return quotaEngine.planTier(user.getUserId()).limit();
     }
 
     /**
-     * 사용량 증가 (Redis + DB 동기화)
+     * 허용 검사 후 사용량 증가 (Redis 왕복 1회)
+     * DB 반영은 UsageWriteBehindService가 주기적으로 일괄 처리한다
      * @param user 사용자
-     * @return 증가 후 사용량
+     * @return 처리 결과 (제한 도달 시 allowed=false, 사용량 증가 없음)
      */
-    @Transactional
-    public int incrementUsage(User user) {
-        LocalDate today = LocalDate.now();
-        String redisKey = generateRedisKey(user.getUserId(), today);
-
-        try {
-            // Redis에서 증가
-            Long newCount = redisTemplate.opsForValue().increment(redisKey);
-            if (newCount == 1) {
-                // 첫 증가인 경우 TTL 설정
-                redisTemplate.expire(redisKey, CACHE_EXPIRY_HOURS, TimeUnit.HOURS);
-            }
-
-            // DB 동기화
-            syncToDatabase(user, today, newCount.intValue());
-
-            log.info("Usage incremented for user: {} to count: {}", user.getUserId(), newCount);
-            return newCount.intValue();
-
-        } catch (Exception e) {
-            log.error("Error incrementing usage in Redis for user: {}", user.getUserId(), e);
-            // Redis 오류 시 DB에서 직접 처리
-            return incrementUsageInDatabase(user, today);
-        }
+    public QuotaResult tryConsume(User user) {
+        QuotaResult result = quotaEngine.tryAcquire(user.getUserId());
+        log.info("Usage acquire for user: {} allowed: {} count: {}",
+                user.getUserId(), result.allowed(), result.used());
+        return result;
     }
 
     /**
@@ -125,14 +70,11 @@ public class DailyUsageQuotaService {
      * @return 사용 가능 여부
      */
     public boolean canUseService(User user) {
-        int currentUsage = getTodayUsageCount(user);
-        int dailyLimit = getDailyLimit(user);
-
-        boolean canUse = currentUsage < dailyLimit;
+        DailyUsageInfo info = getUsageInfo(user);
         log.debug("User: {} usage check - current: {}, limit: {}, canUse: {}",
-                user.getUserId(), currentUsage, dailyLimit, canUse);
+                user.getUserId(), info.getCurrentUsage(), info.getDailyLimit(), info.isCanUse());
 
-        return canUse;
+        return info.isCanUse();
     }
 
     /**
@@ -141,10 +83,7 @@ public class DailyUsageQuotaService {
      * @return 남은 사용량
      */
     public int getRemainingUsage(User user) {
-        int currentUsage = getTodayUsageCount(user);
-        int dailyLimit = getDailyLimit(user);
-
-        return Math.max(0, dailyLimit - currentUsage);
+        return getUsageInfo(user).getRemainingUsage();
     }
 
     /**
@@ -175,6 +114,7 @@ public class DailyUsageQuotaService {
      * @param endDate 종료일
      * @return 기간별 사용량 목록
      */
+    @Transactional(readOnly = true)
     public List<DailyUsageQuota> getUsageByDateRange(User user, LocalDate startDate, LocalDate endDate) {
         return dailyUsageQuotaRepository.findByUserAndDateRange(user, startDate, endDate);
     }
@@ -186,11 +126,9 @@ public class DailyUsageQuotaService {
      */
     @Transactional
     public void resetUsage(User user, LocalDate date) {
-        String redisKey = generateRedisKey(user.getUserId(), date);
-
         try {
-            // Redis 캐시 삭제
-            redisTemplate.delete(redisKey);
+            // Redis 카운터 삭제
+            quotaEngine.resetDaily(user.getUserId(), date);
 
             // DB에서도 삭제 또는 0으로 초기화
             Optional<DailyUsageQuota> quotaOpt = dailyUsageQuotaRepository.findByUserAndDay(user, date);
@@ -208,61 +146,6 @@ public class DailyUsageQuotaService {
         }
     }
 
-    // Private helper methods
-
-    private Optional<DailyUsageQuota> findTodayQuota(User user) {
-        return dailyUsageQuotaRepository.findByUserAndDay(user, LocalDate.now());
-    }
-
-    private String generateRedisKey(Long userId, LocalDate date) {
-        return REDIS_KEY_PREFIX + userId + ":" + date.toString();
-    }
-
-    private void syncToDatabase(User user, LocalDate date, int count) {
-        try {
-            Optional<DailyUsageQuota> quotaOpt = dailyUsageQuotaRepository.findByUserAndDay(user, date);
-
-            DailyUsageQuota quota;
-            if (quotaOpt.isPresent()) {
-                quota = quotaOpt.get();
-                quota.setCount(count);
-            } else {
-                quota = DailyUsageQuota.builder()
-                        .user(user)
-                        .day(date)
-                        .count(count)
-                        .limit(getDailyLimit(user))
-                        .build();
-            }
-
-            dailyUsageQuotaRepository.save(quota);
-
-        } catch (Exception e) {
-            log.error("Error syncing usage to database for user: {} date: {}", user.getUserId(), date, e);
-            // DB 동기화 실패해도 Redis는 정상 작동하도록 예외를 던지지 않음
-        }
-    }
-
-    private int incrementUsageInDatabase(User user, LocalDate date) {
-        Optional<DailyUsageQuota> quotaOpt = dailyUsageQuotaRepository.findByUserAndDay(user, date);
-
-        DailyUsageQuota quota;
-        if (quotaOpt.isPresent()) {
-            quota = quotaOpt.get();
-            quota.setCount(quota.getCount() + 1);
-        } else {
-            quota = DailyUsageQuota.builder()
-                    .user(user)
-                    .day(date)
-                    .count(1)
-                    .limit(getDailyLimit(user))
-                    .build();
-        }
-
-        DailyUsageQuota saved = dailyUsageQuotaRepository.save(quota);
-        return saved.getCount();
-    }
-
     /**
      * 일일 사용량 정보 DTO
      */
@@ -0,0 +1,184 @@
+package ac.cbnu.heartcheck.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Redis 장애 시 노드 로컬 사용량 제한기
+ * 서킷 브레이커가 열린 동안 사용량을 노드 메모리에서 근사적으로 제한하고,
+ * 복구 후 QuotaEngine이 누적분(PendingIncrement)을 Redis에 되돌려 반영한다
+ *
+ * 남은 허용량은 마지막으로 관측한 Redis 카운터 값을 기준으로 계산하며 노드 수로 나누어(올림) 각 노드에 배분한다.
+ * 노드 수는 고정 설정 대신 ClusterMembership 하트비트로 마지막 관측한 값을 쓰고,
+ * 관측한 적이 없으면(장애 중 시작한 노드 등) 배분량을 알 수 없으므로 허용하지 않는다 (fail closed).
+ * 장애 중에는 DB를 조회하지 않는다.
+ *
+ * @author CBNU Development Team
+ * @version 1.1.0
+ * @since 2024
+ */
+@Component
+public class DegradedQuotaLimiter {
+
+    private final ClusterMembership clusterMembership;
+    private final int maxTrackedKeys;
+
+    /** 정상 상태에서 마지막으로 관측한 제한 카운터 값 (제한 키 → 사용량) */
+    private final ConcurrentMap<String, Integer> lastKnownUsage = new ConcurrentHashMap<>();
+    /** 장애 중 이 노드에서 허용한 횟수 (제한 키 → 횟수) */
+    private final ConcurrentMap<String, AtomicInteger> localUsage = new ConcurrentHashMap<>();
+    /** 복구 후 Redis에 반영할 누적분 */
+    private final ConcurrentMap<PendingIncrement, AtomicInteger> pending = new ConcurrentHashMap<>();
+
+    private final Counter allowedCounter;
+    private final Counter deniedCounter;
+
+    public DegradedQuotaLimiter(MeterRegistry meterRegistry,
+                                ClusterMembership clusterMembership,
+                                @Value("${heart.quota.degraded.max-tracked-keys:100000}") int maxTrackedKeys) {
+        this.clusterMembership = clusterMembership;
+        this.maxTrackedKeys = maxTrackedKeys;
+
+        this.allowedCounter = Counter.builder("quota.degraded.decisions")
+                .tag("result", "allowed")
+                .register(meterRegistry);
+        this.deniedCounter = Counter.builder("quota.degraded.decisions")
+                .tag("result", "denied")
+                .register(meterRegistry);
+        meterRegistry.gaugeMapSize("quota.degraded.pending", Tags.empty(), pending);
+    }
+
+    /**
+     * 정상 상태에서 관측한 제한 카운터 값 기록
+     * @param limitKey 제한 카운터 키
+     * @param used 사용량
+     */
+    public void remember(String limitKey, int used) {
+        if (lastKnownUsage.size() >= maxTrackedKeys && !lastKnownUsage.containsKey(limitKey)) {
+            lastKnownUsage.clear();
+        }
+        lastKnownUsage.put(limitKey, used);
+    }
+
+    /**
+     * 노드 로컬 허용 검사 후 사용량 증가
+     * @param increment 반영할 키 정보
+     * @param limit 허용 횟수 (-1이면 검사 생략)
+     * @return {허용 여부, 추정 사용량}
+     */
+    public LocalDecision tryAcquire(PendingIncrement increment, int limit) {
+        String limitKey = increment.limitKey();
+        int baseline = lastKnownUsage.getOrDefault(limitKey, 0);
+        AtomicInteger local = localUsage.computeIfAbsent(limitKey, key -> new AtomicInteger());
+
+        int allowance = limit < 0 ? Integer.MAX_VALUE : localAllowance(limit, baseline);
+        int current;
+        do {
+            current = local.get();
+            if (current >= allowance) {
+                deniedCounter.increment();
+                return new LocalDecision(false, baseline + current);
+            }
+        } while (!local.compareAndSet(current, current + 1));
+
+        pending.computeIfAbsent(increment, key -> new AtomicInteger()).incrementAndGet();
+        allowedCounter.increment();
+        return new LocalDecision(true, baseline + current + 1);
+    }
+
+    /**
+     * 노드 로컬 추정 사용량
+     * @param limitKey 제한 카운터 키
+     * @return 마지막 관측값 + 장애 중 로컬 증가분
+     */
+    public int usage(String limitKey) {
+        AtomicInteger local = localUsage.get(limitKey);
+        return lastKnownUsage.getOrDefault(limitKey, 0) + (local != null ? local.get() : 0);
+    }
+
+    /**
+     * 반영 대기 중인 누적분을 꺼냄 (꺼낸 항목은 목록에서 제거)
+     * @return 누적분 목록
+     */
+    public List<PendingDelta> drain() {
+        List<PendingDelta> drained = new ArrayList<>(pending.size());
+        for (Map.Entry<PendingIncrement, AtomicInteger> entry : pending.entrySet()) {
+            int delta = entry.getValue().getAndSet(0);
+            pending.remove(entry.getKey(), entry.getValue());
+            if (delta > 0) {
+                drained.add(new PendingDelta(entry.getKey(), delta));
+            }
+        }
+        localUsage.clear();
+        return drained;
+    }
+
+    /**
+     * 반영에 실패한 누적분을 다시 등록
+     * @param deltas 누적분 목록
+     */
+    public void restore(List<PendingDelta> deltas) {
+        for (PendingDelta delta : deltas) {
+            pending.computeIfAbsent(delta.increment(), key -> new AtomicInteger()).addAndGet(delta.delta());
+        }
+    }
+
+    /**
+     * 반영 대기 중인 누적분 존재 여부
+     */
+    public boolean hasPending() {
+        return !pending.isEmpty();
+    }
+
+    private int localAllowance(int limit, int baseline) {
+        int nodeCount = clusterMembership.liveNodeCount();
+        if (nodeCount <= 0) {
+            // 클러스터 크기를 모르면 노드마다 전체 허용량을 주게 되므로 거절
+            return 0;
+        }
+        int remaining = Math.max(0, limit - baseline);
+        // 올림 나눗셈: 노드 수보다 남은 허용량이 적어도 각 노드가 최소 1회는 허용 (근사치)
+        return (remaining + nodeCount - 1) / nodeCount;
+    }
+
+    /**
+     * 복구 후 반영할 키 정보
+     * @param userId 사용자 ID
+     * @param day 기준일 (대시보드 통계 키)
+     * @param limitKey 제한 카운터 키
+     * @param limitExpireAt 제한 카운터 만료 시각 (epoch 초, 0이면 만료 없음)
+     * @param ledgerKey 일일 원장 키
+     * @param ledgerExpireAt 원장 만료 시각 (epoch 초)
+     * @param dirtyMember DB 반영 대기열 항목
+     */
+    public record PendingIncrement(Long userId, LocalDate day, String limitKey, long limitExpireAt,
+                                   String ledgerKey, long ledgerExpireAt, String dirtyMember) {
+    }
+
+    /**
+     * 반영할 누적분
+     * @param increment 키 정보
+     * @param delta 증가량
+     */
+    public record PendingDelta(PendingIncrement increment, int delta) {
+    }
+
+    /**
+     * 로컬 허용 검사 결과
+     * @param allowed 허용 여부
+     * @param used 추정 사용량
+     */
+    public record LocalDecision(boolean allowed, int used) {
+    }
+}
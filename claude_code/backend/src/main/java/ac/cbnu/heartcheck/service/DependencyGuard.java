@@ -0,0 +1,102 @@
+package ac.cbnu.heartcheck.service;
+
+import ac.cbnu.heartcheck.exception.DependencyUnavailableException;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * 외부 의존성(OpenAI, Google 등) 호출 격리
+ *
+ * 의존성마다 동시 호출 한도(bulkhead)와 서킷 브레이커를 둔다. 느린 외부 서비스가 Tomcat 작업 스레드를
+ * 모두 붙잡지 못하도록, 한도가 찼거나 브레이커가 열려 있으면 기다리지 않고 DependencyUnavailableException을 던진다.
+ *
+ * 설정: resilience4j.bulkhead.instances.{의존성}.*, resilience4j.circuitbreaker.instances.{의존성}.*
+ * 지표: resilience4j.circuitbreaker.state / resilience4j.bulkhead.* (resilience4j 기본),
+ *       dependency.rejected{dependency, reason=bulkhead|circuit_open}
+ *
+ * @author CBNU Development Team
+ * @version 1.0.0
+ * @since 2024
+ */
+@Slf4j
+@Component
+public class DependencyGuard {
+
+    /**
+     * 동시 호출 한도 초과 시 Retry-After
+     */
+    private static final Duration BULKHEAD_RETRY_AFTER = Duration.ofSeconds(1);
+
+    private final CircuitBreakerRegistry circuitBreakerRegistry;
+    private final BulkheadRegistry bulkheadRegistry;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, Guard> guards = new ConcurrentHashMap<>();
+
+    public DependencyGuard(CircuitBreakerRegistry circuitBreakerRegistry,
+                           BulkheadRegistry bulkheadRegistry,
+                           MeterRegistry meterRegistry) {
+        this.circuitBreakerRegistry = circuitBreakerRegistry;
+        this.bulkheadRegistry = bulkheadRegistry;
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * 의존성 호출을 동시 호출 한도와 서킷 브레이커 안에서 실행
+     * @param dependency 의존성 이름 (resilience4j 인스턴스 이름)
+     * @param call 외부 호출
+     * @return 호출 결과
+     * @throws DependencyUnavailableException 한도 초과 또는 브레이커 열림
+     */
+    public <T> T call(String dependency, Supplier<T> call) {
+        Guard guard = guards.computeIfAbsent(dependency, this::createGuard);
+        // 한도 초과 거절은 브레이커 실패로 세지 않도록 bulkhead를 바깥에 둔다
+        Supplier<T> guarded = Bulkhead.decorateSupplier(guard.bulkhead(),
+                CircuitBreaker.decorateSupplier(guard.circuitBreaker(), call));
+        try {
+            return guarded.get();
+        } catch (BulkheadFullException e) {
+            guard.bulkheadRejected().increment();
+            throw new DependencyUnavailableException(dependency, BULKHEAD_RETRY_AFTER, e);
+        } catch (CallNotPermittedException e) {
+            guard.circuitOpenRejected().increment();
+            throw new DependencyUnavailableException(dependency, guard.openWait(), e);
+        }
+    }
+
+    /**
+     * 의존성의 서킷 브레이커 상태
+     * @param dependency 의존성 이름
+     */
+    public CircuitBreaker.State state(String dependency) {
+        return guards.computeIfAbsent(dependency, this::createGuard).circuitBreaker().getState();
+    }
+
+    private Guard createGuard(String dependency) {
+        CircuitBreaker circuitBreaker = circuitBreakerRegistry.circuitBreaker(dependency);
+        circuitBreaker.getEventPublisher().onStateTransition(event ->
+                log.warn("{} circuit breaker {}", dependency, event.getStateTransition()));
+        Bulkhead bulkhead = bulkheadRegistry.bulkhead(dependency);
+        Duration openWait = Duration.ofMillis(
+                circuitBreaker.getCircuitBreakerConfig().getWaitIntervalFunctionInOpenState().apply(1));
+        return new Guard(circuitBreaker, bulkhead, openWait,
+                meterRegistry.counter("dependency.rejected", "dependency", dependency, "reason", "bulkhead"),
+                meterRegistry.counter("dependency.rejected", "dependency", dependency, "reason", "circuit_open"));
+    }
+
+    private record Guard(CircuitBreaker circuitBreaker, Bulkhead bulkhead, Duration openWait,
+                         Counter bulkheadRejected, Counter circuitOpenRejected) {
+    }
+}
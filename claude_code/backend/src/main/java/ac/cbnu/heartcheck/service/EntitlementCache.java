@@ -0,0 +1,231 @@
+package ac.cbnu.heartcheck.service;
+
+import ac.cbnu.heartcheck.entity.CostModel.CostType;
+import ac.cbnu.heartcheck.entity.Subscription;
+import ac.cbnu.heartcheck.entity.Subscription.SubscriptionStatus;
+import ac.cbnu.heartcheck.repository.SubscriptionRepository;
+import ac.cbnu.heartcheck.repository.UserRepository;
+import ac.cbnu.heartcheck.service.SubscriptionService.SubscriptionChangedEvent;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.lettuce.core.RedisException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * 구독 권한 Near-Cache
+ * 사용자별 활성 구독의 요금제 종류, 상태, 종료 시각과 무제한 여부(관리자/의사)를 Redis 키(user:{id}:entitlement)에 보관하고
+ * HotKeyCache의 클라이언트 측 캐싱으로 노드 메모리에서 읽어 구독 여부 확인과 사용량 허용 검사 시 DB 조회를 없앤다
+ * (요금제 등급 PlanTierCache도 이 항목에서 등급을 계산하므로 구독 행은 키 하나에만 캐시된다).
+ *
+ * 구독이 없는 사용자도 "없음"으로 캐시하므로 무료 사용자의 반복 확인도 DB에 닿지 않는다.
+ * 키는 TTL 또는 구독 종료 시각 중 빠른 시점에 만료되고, 유효 여부는 읽을 때 종료 시각과 비교해 판단한다.
+ * 구독 활성화/취소/연장/만료 시 트랜잭션 커밋 후 키를 삭제하면 Redis 서버가 모든 노드의 로컬 사본을 무효화한다.
+ * 삭제는 버전 키(user:{id}:entitlement:version)도 올리고, 적재는 DB 조회 전에 읽은 버전이 그대로일 때만 저장한다.
+ * 커밋 전 상태를 읽은 적재가 삭제 뒤에 저장해 오래된 항목이 TTL 동안 남는 경합을 막는다.
+ *
+ * Redis 장애(서킷 브레이커 열림) 중에는 노드 메모리의 보조 맵을 사용하여 사용자당 DB 조회를 1회로 제한한다.
+ * 클라이언트 측 캐싱 연결(Lettuce CacheFrontend)은 Spring 예외 변환을 거치지 않으므로 RedisException도 장애로 본다.
+ *
+ * @author CBNU Development Team
+ * @version 1.2.0
+ * @since 2024
+ */
+@Slf4j
+@Component
+public class EntitlementCache {
+
+    private static final String ENTITLEMENT_KEY = "user:%d:entitlement";
+    private static final String VERSION_KEY = "user:%d:entitlement:version";
+
+    private final SubscriptionRepository subscriptionRepository;
+    private final UserRepository userRepository;
+    private final HotKeyCache hotKeyCache;
+    private final CircuitBreaker redisQuotaCircuitBreaker;
+    private final Duration ttl;
+    private final int maxTrackedUsers;
+
+    /** Redis 장애 중 사용하는 보조 캐시 (사용자 ID → 구독 권한) */
+    private final ConcurrentMap<Long, Entitlement> degradedEntitlements = new ConcurrentHashMap<>();
+
+    public EntitlementCache(SubscriptionRepository subscriptionRepository,
+                            UserRepository userRepository,
+                            HotKeyCache hotKeyCache,
+                            CircuitBreaker redisQuotaCircuitBreaker,
+                            @Value("${heart.subscription.entitlement-cache.ttl-seconds:300}") long ttlSeconds,
+                            @Value("${heart.subscription.entitlement-cache.max-tracked-users:100000}") int maxTrackedUsers) {
+        this.subscriptionRepository = subscriptionRepository;
+        this.userRepository = userRepository;
+        this.hotKeyCache = hotKeyCache;
+        this.redisQuotaCircuitBreaker = redisQuotaCircuitBreaker;
+        this.ttl = Duration.ofSeconds(ttlSeconds);
+        this.maxTrackedUsers = maxTrackedUsers;
+
+        // 복구 후에는 장애 중 적재한 권한을 버리고 Redis 캐시를 다시 사용
+        redisQuotaCircuitBreaker.getEventPublisher().onStateTransition(event -> {
+            if (event.getStateTransition().getToState() == CircuitBreaker.State.CLOSED) {
+                degradedEntitlements.clear();
+            }
+        });
+    }
+
+    /**
+     * 사용자의 구독 권한 조회 (캐시 우선)
+     * @param userId 사용자 ID
+     * @return 구독 권한 (활성 구독이 없으면 Entitlement.none())
+     */
+    public Entitlement get(Long userId) {
+        String key = entitlementKey(userId);
+        Entitlement cached;
+        try {
+            cached = redisQuotaCircuitBreaker.executeSupplier(() -> hotKeyCache.get(key, Entitlement.class));
+        } catch (CallNotPermittedException | DataAccessException | RedisException e) {
+            return getDegraded(userId);
+        }
+        if (cached != null) {
+            return cached;
+        }
+        degradedEntitlements.remove(userId);
+
+        // DB 조회 전에 버전을 읽어야 그 사이 커밋된 변경의 삭제를 알아챌 수 있음
+        String versionKey = versionKey(userId);
+        long version;
+        try {
+            version = redisQuotaCircuitBreaker.executeSupplier(() -> hotKeyCache.version(versionKey));
+        } catch (CallNotPermittedException | DataAccessException | RedisException e) {
+            return getDegraded(userId);
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        Entitlement loaded = load(userId);
+        Duration expiresIn = ttl;
+        if (loaded.toDate() != null && loaded.toDate().isAfter(now)) {
+            // 종료 시각이 지나면 다시 적재 (만료 처리 전이라도 읽을 때 종료 시각으로 판단하므로 결과는 같음)
+            Duration untilEnd = Duration.between(now, loaded.toDate());
+            if (untilEnd.compareTo(expiresIn) < 0) {
+                expiresIn = untilEnd;
+            }
+        }
+
+        Duration putTtl = expiresIn;
+        try {
+            boolean stored = redisQuotaCircuitBreaker.executeSupplier(
+                    () -> hotKeyCache.putIfVersion(key, versionKey, version, loaded, putTtl));
+            if (!stored) {
+                log.debug("Entitlement changed while loading for user: {}, not cached", userId);
+            }
+        } catch (CallNotPermittedException | DataAccessException | RedisException e) {
+            log.debug("Entitlement not cached for user: {} ({})", userId, e.getMessage());
+        }
+        return loaded;
+    }
+
+    /**
+     * 캐시 항목 제거 (모든 노드)
+     * @param userId 사용자 ID
+     */
+    public void evict(Long userId) {
+        degradedEntitlements.remove(userId);
+        hotKeyCache.evictVersioned(versionKey(userId), ttl, entitlementKey(userId));
+    }
+
+    /**
+     * 구독 변경 시 커밋 후 캐시 무효화
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onSubscriptionChanged(SubscriptionChangedEvent event) {
+        try {
+            evict(event.userId());
+        } catch (Exception e) {
+            // 무효화 실패 시 TTL 만료로 수렴
+            log.warn("Failed to invalidate entitlement for user: {}", event.userId(), e);
+        }
+    }
+
+    /**
+     * Redis 장애 중 권한 조회 (노드 메모리 보조 캐시, 사용자당 DB 1회)
+     */
+    private Entitlement getDegraded(Long userId) {
+        Entitlement entitlement = degradedEntitlements.get(userId);
+        if (entitlement != null) {
+            return entitlement;
+        }
+        if (degradedEntitlements.size() >= maxTrackedUsers) {
+            degradedEntitlements.clear();
+        }
+        return degradedEntitlements.computeIfAbsent(userId, this::load);
+    }
+
+    /**
+     * DB에서 무제한 여부와 활성 구독 조회
+     */
+    private Entitlement load(Long userId) {
+        boolean unlimited = userRepository.findById(userId)
+                .map(user -> user.isAdmin() || user.isDoctor())
+                .orElse(false);
+        return subscriptionRepository.findActiveWithCostModelByUserId(userId)
+                .map(Entitlement::of)
+                .orElse(Entitlement.none())
+                .withUnlimited(unlimited);
+    }
+
+    static String entitlementKey(Long userId) {
+        return String.format(ENTITLEMENT_KEY, userId);
+    }
+
+    static String versionKey(Long userId) {
+        return String.format(VERSION_KEY, userId);
+    }
+
+    /**
+     * 구독 권한
+     * @param subscriptionId 활성 구독 ID (없으면 null)
+     * @param status 구독 상태 (없으면 null)
+     * @param planType 요금제 종류
+     * @param dailyLimit 일일 사용 한도
+     * @param toDate 구독 종료 시각
+     * @param unlimited 사용량 무제한 여부 (관리자/의사, 구독과 무관)
+     */
+    public record Entitlement(Long subscriptionId, SubscriptionStatus status, CostType planType,
+                              int dailyLimit, LocalDateTime toDate, boolean unlimited) {
+
+        public static Entitlement none() {
+            return new Entitlement(null, null, null, 1, null, false);
+        }
+
+        public static Entitlement of(Subscription subscription) {
+            return new Entitlement(subscription.getId(), subscription.getStatus(),
+                    subscription.getCostModel().getType(), subscription.getDailyLimit(), subscription.getToDate(), false);
+        }
+
+        public Entitlement withUnlimited(boolean unlimited) {
+            return new Entitlement(subscriptionId, status, planType, dailyLimit, toDate, unlimited);
+        }
+
+        /**
+         * 활성 구독 존재 여부 (종료 시각과 무관, 만료 처리 전 상태 포함)
+         */
+        @JsonIgnore
+        public boolean isActive() {
+            return subscriptionId != null && status == SubscriptionStatus.ACTIVE;
+        }
+
+        /**
+         * 유효한 구독 여부 (활성 + 종료 시각 전)
+         * @param now 기준 시각
+         */
+        public boolean isValid(LocalDateTime now) {
+            return isActive() && (toDate == null || toDate.isAfter(now));
+        }
+    }
+}
@@ -0,0 +1,229 @@
+package ac.cbnu.heartcheck.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 미리 발급한 OpenAI 임시 토큰 풀
+ * 음성 검사 시작 시 상위 HTTPS 왕복 없이 준비된 토큰을 꺼내 쓰고, 백그라운드에서 채운다
+ *
+ * 목표 크기 = 최근 세션 시작률(EWMA, 초당) × (평균 발급 시간 + 보충 주기) × 2, [min-size, max-size] 범위로 제한.
+ * 토큰은 만료 시각을 함께 보관하며, 남은 유효 시간이 safety-margin보다 짧으면 버린다.
+ * 풀이 비어 있을 때만 호출 스레드에서 즉시 발급하며, 백그라운드 발급이 실패하면 30초간 보충을 멈춘다.
+ *
+ * 하위 클래스가 발급 방법(mint)과 풀 이름을 정한다.
+ *
+ * @author CBNU Development Team
+ * @version 1.0.0
+ * @since 2024
+ */
+@Slf4j
+public abstract class EphemeralTokenPool {
+
+    private static final double EWMA_ALPHA = 0.2;
+    private static final long FAILURE_BACKOFF_NANOS = TimeUnit.SECONDS.toNanos(30);
+
+    private final String name;
+    private final int minSize;
+    private final int maxSize;
+    private final Duration safetyMargin;
+    private final Duration refillInterval;
+    private final Clock clock;
+
+    private final ConcurrentLinkedDeque<MintedToken> tokens = new ConcurrentLinkedDeque<>();
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicLong startsSinceTick = new AtomicLong();
+    private final ExecutorService refillExecutor;
+
+    private volatile double startRatePerSecond;
+    private volatile double mintMillisEwma = 500;
+    private volatile int targetSize;
+    private volatile long lastTickNanos = System.nanoTime();
+    private volatile long refillPausedUntilNanos = System.nanoTime();
+
+    private final Counter hitCounter;
+    private final Counter missCounter;
+    private final Counter expiredCounter;
+    private final Timer mintTimer;
+
+    protected EphemeralTokenPool(String name,
+                                 MeterRegistry meterRegistry,
+                                 int minSize,
+                                 int maxSize,
+                                 Duration safetyMargin,
+                                 Duration refillInterval,
+                                 int refillConcurrency,
+                                 Clock clock) {
+        this.name = name;
+        this.minSize = minSize;
+        this.maxSize = Math.max(minSize, maxSize);
+        this.safetyMargin = safetyMargin;
+        this.refillInterval = refillInterval;
+        this.clock = clock;
+        this.targetSize = minSize;
+
+        AtomicInteger sequence = new AtomicInteger();
+        this.refillExecutor = Executors.newFixedThreadPool(Math.max(1, refillConcurrency), runnable -> {
+            Thread thread = new Thread(runnable, "token-pool-" + name + "-" + sequence.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        this.hitCounter = Counter.builder("voice.token_pool.take").tag("pool", name).tag("result", "hit")
+                .register(meterRegistry);
+        this.missCounter = Counter.builder("voice.token_pool.take").tag("pool", name).tag("result", "miss")
+                .register(meterRegistry);
+        this.expiredCounter = Counter.builder("voice.token_pool.expired").tag("pool", name)
+                .register(meterRegistry);
+        this.mintTimer = Timer.builder("voice.token_pool.mint").tag("pool", name)
+                .register(meterRegistry);
+        Gauge.builder("voice.token_pool.size", tokens, ConcurrentLinkedDeque::size).tag("pool", name)
+                .register(meterRegistry);
+        Gauge.builder("voice.token_pool.target", this, pool -> pool.targetSize).tag("pool", name)
+                .register(meterRegistry);
+    }
+
+    /**
+     * 상위 API에서 토큰 1개 발급 (블로킹)
+     * @return 발급된 토큰
+     */
+    protected abstract MintedToken mint();
+
+    /**
+     * 토큰 꺼내기 (풀이 비어 있으면 즉시 발급)
+     * @return 유효한 토큰
+     */
+    public MintedToken take() {
+        startsSinceTick.incrementAndGet();
+        Instant usableUntil = clock.instant().plus(safetyMargin);
+
+        MintedToken token;
+        while ((token = tokens.pollFirst()) != null) {
+            if (token.expiresAt().isAfter(usableUntil)) {
+                hitCounter.increment();
+                refillAsync();
+                return token;
+            }
+            expiredCounter.increment();
+        }
+
+        missCounter.increment();
+        refillAsync();
+        return timedMint();
+    }
+
+    /**
+     * 주기적 보충: 세션 시작률과 목표 크기를 갱신하고 만료 임박 토큰을 버린 뒤 부족분 발급
+     */
+    @Scheduled(fixedDelayString = "${heart.voice.token-pool.refill-interval-ms:1000}")
+    public void tick() {
+        long now = System.nanoTime();
+        double elapsedSeconds = Math.max(0.001, (now - lastTickNanos) / 1_000_000_000.0);
+        lastTickNanos = now;
+
+        double instantRate = startsSinceTick.getAndSet(0) / elapsedSeconds;
+        startRatePerSecond = EWMA_ALPHA * instantRate + (1 - EWMA_ALPHA) * startRatePerSecond;
+
+        double horizonSeconds = (mintMillisEwma + refillInterval.toMillis()) / 1000.0;
+        int desired = (int) Math.ceil(startRatePerSecond * horizonSeconds * 2);
+        targetSize = Math.max(minSize, Math.min(maxSize, desired));
+
+        purgeExpired();
+        refillAsync();
+    }
+
+    /**
+     * 현재 보관 중인 토큰 수
+     */
+    public int size() {
+        return tokens.size();
+    }
+
+    /**
+     * 현재 목표 크기
+     */
+    public int targetSize() {
+        return targetSize;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        refillExecutor.shutdownNow();
+        try {
+            refillExecutor.awaitTermination(1, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void purgeExpired() {
+        Instant usableUntil = clock.instant().plus(safetyMargin);
+        tokens.removeIf(token -> {
+            boolean expired = !token.expiresAt().isAfter(usableUntil);
+            if (expired) {
+                expiredCounter.increment();
+            }
+            return expired;
+        });
+    }
+
+    private void refillAsync() {
+        if (System.nanoTime() - refillPausedUntilNanos < 0) {
+            return;
+        }
+        int deficit = targetSize - tokens.size() - inFlight.get();
+        for (int i = 0; i < deficit; i++) {
+            inFlight.incrementAndGet();
+            try {
+                refillExecutor.execute(() -> {
+                    try {
+                        tokens.addLast(timedMint());
+                    } catch (Exception e) {
+                        // 상위 API 장애 시 백그라운드 발급을 잠시 멈춤 (요청 시 즉시 발급은 계속)
+                        refillPausedUntilNanos = System.nanoTime() + FAILURE_BACKOFF_NANOS;
+                        log.warn("[Token Pool] {} refill failed, pausing background refill: {}", name, e.getMessage());
+                    } finally {
+                        inFlight.decrementAndGet();
+                    }
+                });
+            } catch (Exception e) {
+                inFlight.decrementAndGet();
+                return;
+            }
+        }
+    }
+
+    private MintedToken timedMint() {
+        long start = System.nanoTime();
+        try {
+            return mint();
+        } finally {
+            long elapsed = System.nanoTime() - start;
+            mintTimer.record(elapsed, TimeUnit.NANOSECONDS);
+            mintMillisEwma = EWMA_ALPHA * (elapsed / 1_000_000.0) + (1 - EWMA_ALPHA) * mintMillisEwma;
+        }
+    }
+
+    /**
+     * 발급된 임시 토큰
+     * @param value 토큰 값
+     * @param expiresAt 만료 시각
+     */
+    public record MintedToken(String value, Instant expiresAt) {
+    }
+}
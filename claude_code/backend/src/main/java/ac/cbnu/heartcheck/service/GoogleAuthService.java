@@ -1,23 +1,23 @@
 package ac.cbnu.heartcheck.service;
 
+import ac.cbnu.heartcheck.config.ResilienceConfig;
 import ac.cbnu.heartcheck.dto.request.GoogleLoginRequest;
 import ac.cbnu.heartcheck.dto.response.LoginResponse;
 import ac.cbnu.heartcheck.dto.response.OAuth2UserInfo;
 import ac.cbnu.heartcheck.entity.User;
+import ac.cbnu.heartcheck.exception.DependencyUnavailableException;
 import ac.cbnu.heartcheck.repository.UserRepository;
 import ac.cbnu.heartcheck.util.JwtUtil;
 import com.google.api.client.googleapis.auth.oauth2.GoogleIdToken;
 import com.google.api.client.googleapis.auth.oauth2.GoogleIdTokenVerifier;
-import com.google.api.client.http.javanet.NetHttpTransport;
-import com.google.api.client.json.gson.GsonFactory;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.util.Collections;
+import java.io.IOException;
+import java.security.GeneralSecurityException;
 import java.util.UUID;
 
 /**
@@ -35,24 +35,18 @@ public class GoogleAuthService {
     private final UserRepository userRepository;
     private final JwtUtil jwtUtil;
     private final PasswordEncoder passwordEncoder;
-
-    @Value("${google.oauth2.client-id}")
-    private String googleClientId;
+    private final GoogleIdTokenVerifier googleIdTokenVerifier;
+    private final DependencyGuard dependencyGuard;
 
     /**
      * Google ID Token을 검증하고 사용자 정보 추출
      */
     public OAuth2UserInfo verifyGoogleToken(String idToken) {
         try {
-            GoogleIdTokenVerifier verifier = new GoogleIdTokenVerifier.Builder(
-                new NetHttpTransport(),
-                new GsonFactory()
-            )
-            .setAudience(Collections.singletonList(googleClientId))
-            .build();
-
-            GoogleIdToken token = verifier.verify(idToken);
-            if (token == null) {
+            // 형식 오류는 Google 장애가 아니므로 서킷 브레이커 밖에서 파싱하고, 공개키 조회가 있는 서명 검증만 격리
+            GoogleIdToken token = GoogleIdToken.parse(googleIdTokenVerifier.getJsonFactory(), idToken);
+            boolean verified = dependencyGuard.call(ResilienceConfig.GOOGLE, () -> verifySignature(token));
+            if (!verified) {
                 throw new IllegalArgumentException("Invalid Google ID token");
             }
 
@@ -67,12 +61,22 @@ public class GoogleAuthService {
                 .emailVerified(payload.getEmailVerified())
                 .build();
 
+        } catch (DependencyUnavailableException e) {
+            throw e;
         } catch (Exception e) {
             log.error("Failed to verify Google ID token", e);
             throw new IllegalArgumentException("Invalid Google ID token: " + e.getMessage());
         }
     }
 
+    private boolean verifySignature(GoogleIdToken token) {
+        try {
+            return googleIdTokenVerifier.verify(token);
+        } catch (GeneralSecurityException | IOException e) {
+            throw new IllegalStateException("Failed to load Google public keys", e);
+        }
+    }
+
     /**
      * Google 로그인 처리
      */
@@ -0,0 +1,296 @@
+package ac.cbnu.heartcheck.service;
+
+import ac.cbnu.heartcheck.util.RedisValueCodec;
+import io.lettuce.core.RedisClient;
+import io.lettuce.core.TrackingArgs;
+import io.lettuce.core.api.StatefulRedisConnection;
+import io.lettuce.core.codec.ByteArrayCodec;
+import io.lettuce.core.codec.RedisCodec;
+import io.lettuce.core.codec.StringCodec;
+import io.lettuce.core.support.caching.CacheAccessor;
+import io.lettuce.core.support.caching.CacheFrontend;
+import io.lettuce.core.support.caching.ClientSideCaching;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * 자주 읽는 Redis 키 캐시 (RESP3 클라이언트 측 캐싱)
+ * 세션 토큰, 구독 권한처럼 읽기가 대부분인 값을 노드 메모리에 보관하고,
+ * 다른 노드가 키를 변경/삭제하면 Redis 서버가 CLIENT TRACKING 무효화 메시지를 보내 즉시 제거한다
+ *
+ * 추적 연결을 만들 수 없는 경우(RESP2 서버, 클러스터 구성 등) 로컬 캐시 없이 Redis를 직접 조회한다.
+ * 재연결 중 놓친 무효화에 대비해 로컬 항목은 max-age 이후 다시 조회한다.
+ *
+ * DB에서 읽어 채우는 값은 버전 키와 함께 쓸 수 있다 (version → DB 조회 → putIfVersion).
+ * evictVersioned가 버전을 올리므로, 삭제 전에 읽은 오래된 값은 삭제 뒤에 도착해도 저장되지 않는다.
+ *
+ * @author CBNU Development Team
+ * @version 1.1.0
+ * @since 2024
+ */
+@Slf4j
+@Service
+public class HotKeyCache {
+
+    private static final long RETRY_INTERVAL_MILLIS = 30_000;
+
+    /** 버전 키가 읽을 때와 같을 때만 저장 (버전 키가 없으면 0) */
+    private static final RedisScript<Long> PUT_IF_VERSION_SCRIPT = new DefaultRedisScript<>("""
+            local current = redis.call('GET', KEYS[2]) or '0'
+            if current == ARGV[1] then
+                redis.call('SET', KEYS[1], ARGV[2], 'PX', ARGV[3])
+                return 1
+            end
+            return 0
+            """, Long.class);
+
+    /** 버전을 올리고 키 삭제 (버전 키는 ARGV[1] 밀리초 후 만료) */
+    private static final RedisScript<Long> EVICT_VERSIONED_SCRIPT = new DefaultRedisScript<>("""
+            local version = redis.call('INCR', KEYS[1])
+            redis.call('PEXPIRE', KEYS[1], ARGV[1])
+            for i = 2, #KEYS do
+                redis.call('DEL', KEYS[i])
+            end
+            return version
+            """, Long.class);
+
+    private final RedisConnectionFactory connectionFactory;
+    private final RedisTemplate<String, byte[]> bytesRedisTemplate;
+    private final RedisValueCodec codec;
+    private final boolean trackingEnabled;
+    private final long maxAgeMillis;
+    private final int maxEntries;
+
+    private final ConcurrentMap<String, CachedValue> entries = new ConcurrentHashMap<>();
+    private final Counter hitCounter;
+    private final Counter missCounter;
+
+    private volatile StatefulRedisConnection<String, byte[]> trackingConnection;
+    private volatile CacheFrontend<String, byte[]> frontend;
+    private volatile long nextAttemptMillis;
+
+    public HotKeyCache(RedisConnectionFactory connectionFactory,
+                       RedisTemplate<String, byte[]> bytesRedisTemplate,
+                       RedisValueCodec codec,
+                       MeterRegistry meterRegistry,
+                       @Value("${heart.redis.client-cache.enabled:true}") boolean trackingEnabled,
+                       @Value("${heart.redis.client-cache.max-age-seconds:60}") long maxAgeSeconds,
+                       @Value("${heart.redis.client-cache.max-entries:100000}") int maxEntries) {
+        this.connectionFactory = connectionFactory;
+        this.bytesRedisTemplate = bytesRedisTemplate;
+        this.codec = codec;
+        this.trackingEnabled = trackingEnabled;
+        this.maxAgeMillis = maxAgeSeconds * 1000;
+        this.maxEntries = maxEntries;
+
+        this.hitCounter = Counter.builder("redis.client_cache")
+                .tag("result", "hit")
+                .register(meterRegistry);
+        this.missCounter = Counter.builder("redis.client_cache")
+                .tag("result", "miss")
+                .register(meterRegistry);
+        meterRegistry.gaugeMapSize("redis.client_cache.size", Tags.empty(), entries);
+    }
+
+    /**
+     * 값 조회 (로컬 캐시 우선)
+     * @param key Redis 키
+     * @param type 값 타입
+     * @return 값 (없으면 null)
+     */
+    public <T> T get(String key, Class<T> type) {
+        CacheFrontend<String, byte[]> cacheFrontend = frontend();
+        byte[] bytes = cacheFrontend != null
+                ? cacheFrontend.get(key)
+                : bytesRedisTemplate.opsForValue().get(key);
+        return codec.decode(bytes, type);
+    }
+
+    /**
+     * 값 저장 (다른 노드의 로컬 캐시는 서버 무효화 메시지로 제거됨)
+     * @param key Redis 키
+     * @param value 값
+     * @param ttl 만료 시간
+     */
+    public void put(String key, Object value, Duration ttl) {
+        bytesRedisTemplate.opsForValue().set(key, codec.encode(value), ttl);
+    }
+
+    /**
+     * 현재 버전 조회 (로컬 캐시를 거치지 않음)
+     * @param versionKey 버전 키
+     * @return 버전 (키가 없으면 0)
+     */
+    public long version(String versionKey) {
+        byte[] bytes = bytesRedisTemplate.opsForValue().get(versionKey);
+        return bytes == null ? 0 : Long.parseLong(new String(bytes, StandardCharsets.US_ASCII));
+    }
+
+    /**
+     * 버전이 그대로일 때만 값 저장
+     * 값을 읽기 전에 version으로 얻은 버전을 넘긴다. 그 사이 evictVersioned가 실행됐으면 저장하지 않는다.
+     * @param key Redis 키
+     * @param versionKey 버전 키
+     * @param version 값을 읽기 전에 조회한 버전
+     * @param value 값
+     * @param ttl 만료 시간
+     * @return 저장 여부
+     */
+    public boolean putIfVersion(String key, String versionKey, long version, Object value, Duration ttl) {
+        Long stored = bytesRedisTemplate.execute(PUT_IF_VERSION_SCRIPT, List.of(key, versionKey),
+                ascii(Long.toString(version)), codec.encode(value), ascii(Long.toString(ttl.toMillis())));
+        return stored != null && stored == 1L;
+    }
+
+    /**
+     * 버전을 올리고 키 삭제 (한 번의 스크립트로 처리)
+     * 버전 키는 versionTtl 후 만료되므로, 값의 TTL 이상으로 주어 그동안 진행 중인 적재가 버전 변경을 보게 한다.
+     * @param versionKey 버전 키
+     * @param versionTtl 버전 키 만료 시간
+     * @param keys 삭제할 Redis 키 목록
+     */
+    public void evictVersioned(String versionKey, Duration versionTtl, String... keys) {
+        List<String> scriptKeys = new ArrayList<>(keys.length + 1);
+        scriptKeys.add(versionKey);
+        scriptKeys.addAll(Arrays.asList(keys));
+        bytesRedisTemplate.execute(EVICT_VERSIONED_SCRIPT, scriptKeys, ascii(Long.toString(versionTtl.toMillis())));
+        Arrays.asList(keys).forEach(entries::remove);
+    }
+
+    /**
+     * 키 삭제 (여러 키를 DEL 한 번으로 처리)
+     * @param keys Redis 키 목록
+     */
+    public void evict(String... keys) {
+        evict(Arrays.asList(keys));
+    }
+
+    /**
+     * 키 삭제 (여러 키를 DEL 한 번으로 처리)
+     * @param keys Redis 키 목록
+     */
+    public void evict(Collection<String> keys) {
+        bytesRedisTemplate.delete(keys);
+        keys.forEach(entries::remove);
+    }
+
+    @PreDestroy
+    public synchronized void close() {
+        closeQuietly();
+    }
+
+    private static byte[] ascii(String value) {
+        return value.getBytes(StandardCharsets.US_ASCII);
+    }
+
+    private CacheFrontend<String, byte[]> frontend() {
+        CacheFrontend<String, byte[]> current = frontend;
+        StatefulRedisConnection<String, byte[]> connection = trackingConnection;
+        if (current != null && connection != null && connection.isOpen()) {
+            return current;
+        }
+        if (!trackingEnabled || System.currentTimeMillis() < nextAttemptMillis) {
+            return null;
+        }
+        return connect();
+    }
+
+    private synchronized CacheFrontend<String, byte[]> connect() {
+        if (frontend != null && trackingConnection != null && trackingConnection.isOpen()) {
+            return frontend;
+        }
+        // 연결이 끊긴 동안 놓친 무효화가 있을 수 있으므로 로컬 항목을 모두 버린다
+        entries.clear();
+        closeQuietly();
+        try {
+            if (!(connectionFactory instanceof LettuceConnectionFactory lettuce)
+                    || !(lettuce.getNativeClient() instanceof RedisClient client)) {
+                log.info("Client-side caching requires a standalone Lettuce connection; reading hot keys directly");
+                nextAttemptMillis = Long.MAX_VALUE;
+                return null;
+            }
+            trackingConnection = client.connect(RedisCodec.of(StringCodec.UTF8, ByteArrayCodec.INSTANCE));
+            frontend = ClientSideCaching.enable(new BoundedAccessor(), trackingConnection, TrackingArgs.Builder.enabled());
+            log.info("Redis client-side caching enabled for hot keys");
+            return frontend;
+        } catch (Exception e) {
+            log.warn("Redis client-side caching unavailable, retrying in {} ms", RETRY_INTERVAL_MILLIS, e);
+            nextAttemptMillis = System.currentTimeMillis() + RETRY_INTERVAL_MILLIS;
+            closeQuietly();
+            return null;
+        }
+    }
+
+    private void closeQuietly() {
+        try {
+            if (frontend != null) {
+                frontend.close();
+            }
+            if (trackingConnection != null) {
+                trackingConnection.close();
+            }
+        } catch (Exception e) {
+            log.debug("Error closing client-side caching connection", e);
+        } finally {
+            frontend = null;
+            trackingConnection = null;
+        }
+    }
+
+    private record CachedValue(byte[] value, long expiresAtMillis) {
+    }
+
+    /**
+     * 최대 보관 시간과 항목 수를 제한하는 로컬 저장소
+     * 존재하지 않는 키(null)는 저장하지 않는다
+     */
+    private final class BoundedAccessor implements CacheAccessor<String, byte[]> {
+
+        @Override
+        public byte[] get(String key) {
+            CachedValue cached = entries.get(key);
+            if (cached == null || cached.expiresAtMillis() <= System.currentTimeMillis()) {
+                missCounter.increment();
+                return null;
+            }
+            hitCounter.increment();
+            return cached.value();
+        }
+
+        @Override
+        public void put(String key, byte[] value) {
+            if (value == null) {
+                entries.remove(key);
+                return;
+            }
+            if (entries.size() >= maxEntries) {
+                entries.clear();
+            }
+            entries.put(key, new CachedValue(value, System.currentTimeMillis() + maxAgeMillis));
+        }
+
+        @Override
+        public void evict(String key) {
+            entries.remove(key);
+        }
+    }
+}
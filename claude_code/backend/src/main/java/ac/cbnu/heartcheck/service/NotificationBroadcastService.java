@@ -0,0 +1,250 @@
+package ac.cbnu.heartcheck.service;
+
+import ac.cbnu.heartcheck.entity.Notification;
+import ac.cbnu.heartcheck.entity.NotificationBroadcast;
+import ac.cbnu.heartcheck.entity.NotificationBroadcast.Audience;
+import ac.cbnu.heartcheck.entity.NotificationBroadcast.BroadcastStatus;
+import ac.cbnu.heartcheck.exception.ResourceNotFoundException;
+import ac.cbnu.heartcheck.repository.NotificationBroadcastJdbcRepository;
+import ac.cbnu.heartcheck.repository.NotificationBroadcastJdbcRepository.Chunk;
+import ac.cbnu.heartcheck.repository.NotificationBroadcastRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 일괄 알림 발송 서비스
+ *
+ * 공지·마케팅 알림을 수신 동의 사용자 전체에게 보낸다. 작업을 만들면 PENDING으로 저장되고,
+ * 각 노드의 폴러가 작업을 점유(조건부 UPDATE)해 전용 스레드에서 청크 단위로 발송한다
+ * (NotificationBroadcastJdbcRepository.sendChunk: 키셋 커서 + 배치 INSERT + 진행 위치 갱신을 한 트랜잭션으로).
+ * 청크가 커밋될 때마다 읽지 않은 알림 카운터를 파이프라인으로 조정하고, 접속 중인 앱에는 청크당 한 번 푸시한다.
+ *
+ * 진행 위치가 청크와 함께 커밋되므로
+ * - 노드가 죽으면 heartbeat가 stale-after 이상 멈춘 작업을 다른 노드가 점유해 이어서 보내고
+ * - 취소한 작업이나 실패한 작업은 resume으로 마지막 위치부터 다시 보낸다.
+ * 메모리에는 청크 하나(기본 1000명)만 올라오므로 대상 수와 무관하게 일정하다.
+ *
+ * @author CBNU Development Team
+ * @version 1.0.0
+ * @since 2024
+ */
+@Slf4j
+@Service
+public class NotificationBroadcastService {
+
+    private final NotificationBroadcastRepository notificationBroadcastRepository;
+    private final NotificationBroadcastJdbcRepository notificationBroadcastJdbcRepository;
+    private final UnreadNotificationCounter unreadNotificationCounter;
+    private final NotificationPushService notificationPushService;
+    private final int chunkSize;
+    private final Duration staleAfter;
+    private final Clock clock;
+
+    private final ExecutorService runner;
+    private final AtomicBoolean running = new AtomicBoolean();
+    private final Counter sentCounter;
+    private final Timer chunkTimer;
+
+    public NotificationBroadcastService(NotificationBroadcastRepository notificationBroadcastRepository,
+                                        NotificationBroadcastJdbcRepository notificationBroadcastJdbcRepository,
+                                        UnreadNotificationCounter unreadNotificationCounter,
+                                        NotificationPushService notificationPushService,
+                                        MeterRegistry meterRegistry,
+                                        @Value("${heart.notification.broadcast.chunk-size:1000}") int chunkSize,
+                                        @Value("${heart.notification.broadcast.stale-after-ms:60000}") long staleAfterMillis) {
+        this(notificationBroadcastRepository, notificationBroadcastJdbcRepository, unreadNotificationCounter,
+                notificationPushService, meterRegistry, chunkSize, Duration.ofMillis(staleAfterMillis),
+                Clock.systemDefaultZone());
+    }
+
+    NotificationBroadcastService(NotificationBroadcastRepository notificationBroadcastRepository,
+                                 NotificationBroadcastJdbcRepository notificationBroadcastJdbcRepository,
+                                 UnreadNotificationCounter unreadNotificationCounter,
+                                 NotificationPushService notificationPushService,
+                                 MeterRegistry meterRegistry, int chunkSize, Duration staleAfter, Clock clock) {
+        this.notificationBroadcastRepository = notificationBroadcastRepository;
+        this.notificationBroadcastJdbcRepository = notificationBroadcastJdbcRepository;
+        this.unreadNotificationCounter = unreadNotificationCounter;
+        this.notificationPushService = notificationPushService;
+        this.chunkSize = chunkSize;
+        this.staleAfter = staleAfter;
+        this.clock = clock;
+        this.runner = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "notification-broadcast");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        this.sentCounter = Counter.builder("notification.broadcast.sent")
+                .description("Notifications inserted by broadcast jobs")
+                .register(meterRegistry);
+        this.chunkTimer = Timer.builder("notification.broadcast.chunk.duration")
+                .description("Select-insert-progress transaction time per broadcast chunk")
+                .register(meterRegistry);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        // 진행 중인 청크는 트랜잭션 단위로 끝나거나 롤백되며, 남은 대상은 다른 노드가 이어받음
+        runner.shutdownNow();
+    }
+
+    /**
+     * 일괄 발송 작업 생성 (다음 폴링 주기에 발송 시작)
+     * @param type 알림 타입
+     * @param title 제목
+     * @param message 메시지
+     * @param url 액션 URL
+     * @param priority 우선순위
+     * @param audience 발송 대상
+     * @return 생성된 작업
+     */
+    public NotificationBroadcast createBroadcast(Notification.NotificationType type, String title, String message,
+                                                 String url, Notification.Priority priority, Audience audience) {
+        NotificationBroadcast broadcast = notificationBroadcastRepository.save(NotificationBroadcast.builder()
+                .type(type)
+                .title(title)
+                .message(message)
+                .url(url)
+                .priority(priority != null ? priority.getLevel() : Notification.Priority.NORMAL.getLevel())
+                .audience(audience)
+                .build());
+        log.info("일괄 알림 작업 생성: broadcastId={}, audience={}, type={}", broadcast.getId(), audience, type);
+        return broadcast;
+    }
+
+    /**
+     * 작업 진행 상황 조회
+     * @param broadcastId 작업 ID
+     * @return 작업 (상태, 발송 수, 진행 위치)
+     */
+    public NotificationBroadcast getBroadcast(Long broadcastId) {
+        return notificationBroadcastRepository.findById(broadcastId)
+                .orElseThrow(() -> new ResourceNotFoundException("일괄 알림 작업을 찾을 수 없습니다: " + broadcastId));
+    }
+
+    /**
+     * 작업 목록 (최근 순)
+     */
+    public Page<NotificationBroadcast> getBroadcasts(Pageable pageable) {
+        return notificationBroadcastRepository.findAllByOrderByIdDesc(pageable);
+    }
+
+    /**
+     * 작업 취소 (진행 중이면 현재 청크 커밋 후 멈춤)
+     * @param broadcastId 작업 ID
+     * @return 취소 여부 (이미 끝난 작업이면 false)
+     */
+    public boolean cancel(Long broadcastId) {
+        getBroadcast(broadcastId);
+        return notificationBroadcastJdbcRepository.transition(broadcastId, BroadcastStatus.CANCELLED, null,
+                BroadcastStatus.PENDING, BroadcastStatus.RUNNING);
+    }
+
+    /**
+     * 취소·실패한 작업을 마지막 진행 위치부터 재개
+     * @param broadcastId 작업 ID
+     * @return 재개 여부
+     */
+    public boolean resume(Long broadcastId) {
+        getBroadcast(broadcastId);
+        return notificationBroadcastJdbcRepository.transition(broadcastId, BroadcastStatus.PENDING, null,
+                BroadcastStatus.CANCELLED, BroadcastStatus.FAILED);
+    }
+
+    /**
+     * 대기 중이거나 멈춘 작업 점유 (스케줄러, 노드당 동시에 작업 1개)
+     */
+    @Scheduled(fixedDelayString = "${heart.notification.broadcast.poll-interval-ms:5000}")
+    public void poll() {
+        if (!running.compareAndSet(false, true)) {
+            return;
+        }
+        boolean submitted = false;
+        try {
+            LocalDateTime now = LocalDateTime.now(clock);
+            LocalDateTime staleBefore = now.minus(staleAfter);
+            Long claimed = notificationBroadcastJdbcRepository.findClaimable(staleBefore)
+                    .filter(id -> notificationBroadcastJdbcRepository.claim(id, now, staleBefore))
+                    .orElse(null);
+            if (claimed != null) {
+                runner.execute(() -> {
+                    try {
+                        run(claimed);
+                    } finally {
+                        running.set(false);
+                    }
+                });
+                submitted = true;
+            }
+        } catch (Exception e) {
+            log.error("Broadcast poll failed", e);
+        } finally {
+            if (!submitted) {
+                running.set(false);
+            }
+        }
+    }
+
+    /**
+     * 점유한 작업을 끝까지(또는 취소될 때까지) 발송
+     * @param broadcastId 작업 ID
+     * @return 이번 실행에서 발송한 알림 수
+     */
+    long run(Long broadcastId) {
+        NotificationBroadcast broadcast = getBroadcast(broadcastId);
+        log.info("일괄 알림 발송 시작: broadcastId={}, resumeAfterUserId={}, alreadySent={}",
+                broadcastId, broadcast.getLastUserId(), broadcast.getSentCount());
+        long sent = 0;
+        try {
+            while (!Thread.currentThread().isInterrupted()) {
+                LocalDateTime now = LocalDateTime.now(clock);
+                long startNanos = System.nanoTime();
+                Chunk chunk = notificationBroadcastJdbcRepository.sendChunk(broadcast, now, chunkSize);
+                chunkTimer.record(Duration.ofNanos(System.nanoTime() - startNanos));
+
+                if (!chunk.userIds().isEmpty()) {
+                    sent += chunk.userIds().size();
+                    sentCounter.increment(chunk.userIds().size());
+                    Map<Long, Long> deltas = new LinkedHashMap<>();
+                    chunk.userIds().forEach(userId -> deltas.put(userId, 1L));
+                    unreadNotificationCounter.adjustAll(deltas);
+                    notificationPushService.broadcastDelivered(broadcast, chunk.userIds(), now);
+                    log.debug("일괄 알림 청크 완료: broadcastId={}, chunk={}, total={}",
+                            broadcastId, chunk.userIds().size(), broadcast.getSentCount() + sent);
+                }
+                if (chunk.status() != BroadcastStatus.RUNNING) {
+                    log.info("일괄 알림 발송 종료: broadcastId={}, status={}, sentThisRun={}",
+                            broadcastId, chunk.status(), sent);
+                    break;
+                }
+            }
+        } catch (Exception e) {
+            // 진행 위치는 마지막으로 커밋된 청크까지 보존되므로 resume으로 이어서 보낼 수 있음
+            log.error("일괄 알림 발송 실패: broadcastId={}, sentThisRun={}", broadcastId, sent, e);
+            String reason = e.getMessage() != null && e.getMessage().length() > 500
+                    ? e.getMessage().substring(0, 500)
+                    : e.getMessage();
+            notificationBroadcastJdbcRepository.transition(broadcastId, BroadcastStatus.FAILED, reason,
+                    BroadcastStatus.RUNNING);
+        }
+        return sent;
+    }
+}
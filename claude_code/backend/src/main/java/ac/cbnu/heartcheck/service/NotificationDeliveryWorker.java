@@ -0,0 +1,276 @@
+package ac.cbnu.heartcheck.service;
+
+import ac.cbnu.heartcheck.entity.DeviceToken.Provider;
+import ac.cbnu.heartcheck.entity.NotificationDelivery.DeliveryStatus;
+import ac.cbnu.heartcheck.repository.NotificationDeliveryJdbcRepository;
+import ac.cbnu.heartcheck.repository.NotificationDeliveryJdbcRepository.DeliveryOutcome;
+import ac.cbnu.heartcheck.repository.NotificationDeliveryJdbcRepository.PendingDelivery;
+import ac.cbnu.heartcheck.service.PushGatewayClient.PushResult;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+
+/**
+ * 푸시 전달 작업자
+ *
+ * 전달 대기열(notification_deliveries)에서 시도할 때가 된 작업을 배치로 점유하고(NotificationDeliveryJdbcRepository.claim),
+ * 제공자별로 묶어 PushGatewayClient로 동시에 보낸 뒤, 결과를 배치 UPDATE 한 번으로 기록한다.
+ * 점유는 SKIP LOCKED + 리스이므로 모든 노드가 동시에 실행해도 같은 작업을 중복으로 보내지 않고,
+ * 노드가 죽으면 리스가 끝난 작업을 다른 노드가 다시 가져간다.
+ *
+ * 결과 처리
+ * - 수락: SENT, 등록부터 수락까지의 지연(latency_ms) 기록
+ * - 재시도 대상(429·5xx·연결 오류): 지수 백오프(full jitter, Retry-After 이상)로 next_attempt_at을 미룸.
+ *   max-attempts를 다 쓰면 FAILED
+ * - 만료된 토큰: INVALID_TOKEN, 기기 토큰 비활성화
+ * - 그 외 거절, 알림이 지워진 작업: FAILED
+ *
+ * 지표
+ * - notification.delivery.latency: 대기열 등록부터 게이트웨이 수락까지 (제공자 태그)
+ * - notification.delivery.sent / retried / failed / invalid_token: 결과별 작업 수 (제공자 태그)
+ * - notification.delivery.batch.duration: 배치 하나의 점유·전송·기록 시간
+ * - notification.delivery.request: 게이트웨이 요청 단위 지연 (PushGatewayClient)
+ *
+ * @author CBNU Development Team
+ * @version 1.0.0
+ * @since 2024
+ */
+@Slf4j
+@Service
+public class NotificationDeliveryWorker {
+
+    private final NotificationDeliveryJdbcRepository notificationDeliveryJdbcRepository;
+    private final PushGatewayClient pushGatewayClient;
+    private final MeterRegistry meterRegistry;
+    private final int batchSize;
+    private final int maxBatchesPerRun;
+    private final int maxAttempts;
+    private final Duration lease;
+    private final Duration backoff;
+    private final Duration maxBackoff;
+    private final Clock clock;
+
+    private final ExecutorService runner;
+    private final AtomicBoolean running = new AtomicBoolean();
+    private final Timer batchTimer;
+
+    public NotificationDeliveryWorker(NotificationDeliveryJdbcRepository notificationDeliveryJdbcRepository,
+                                      PushGatewayClient pushGatewayClient,
+                                      MeterRegistry meterRegistry,
+                                      @Value("${heart.notification.delivery.batch-size:500}") int batchSize,
+                                      @Value("${heart.notification.delivery.max-batches-per-run:20}") int maxBatchesPerRun,
+                                      @Value("${heart.notification.delivery.max-attempts:5}") int maxAttempts,
+                                      @Value("${heart.notification.delivery.lease-ms:60000}") long leaseMillis,
+                                      @Value("${heart.notification.delivery.backoff-ms:1000}") long backoffMillis,
+                                      @Value("${heart.notification.delivery.max-backoff-ms:300000}") long maxBackoffMillis) {
+        this(notificationDeliveryJdbcRepository, pushGatewayClient, meterRegistry, batchSize, maxBatchesPerRun,
+                maxAttempts, Duration.ofMillis(leaseMillis), Duration.ofMillis(backoffMillis),
+                Duration.ofMillis(maxBackoffMillis), Clock.systemDefaultZone());
+    }
+
+    NotificationDeliveryWorker(NotificationDeliveryJdbcRepository notificationDeliveryJdbcRepository,
+                               PushGatewayClient pushGatewayClient, MeterRegistry meterRegistry,
+                               int batchSize, int maxBatchesPerRun, int maxAttempts,
+                               Duration lease, Duration backoff, Duration maxBackoff, Clock clock) {
+        this.notificationDeliveryJdbcRepository = notificationDeliveryJdbcRepository;
+        this.pushGatewayClient = pushGatewayClient;
+        this.meterRegistry = meterRegistry;
+        this.batchSize = batchSize;
+        this.maxBatchesPerRun = maxBatchesPerRun;
+        this.maxAttempts = Math.max(1, maxAttempts);
+        this.lease = lease;
+        this.backoff = backoff;
+        this.maxBackoff = maxBackoff;
+        this.clock = clock;
+        this.runner = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "notification-delivery");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        this.batchTimer = Timer.builder("notification.delivery.batch.duration")
+                .description("Claim-send-record time per delivery batch")
+                .register(meterRegistry);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        // 보내는 중이던 작업은 리스가 끝나면 다른 노드(또는 재시작한 이 노드)가 다시 보냄
+        runner.shutdownNow();
+    }
+
+    /**
+     * 대기열 확인 (스케줄러). 전송은 전용 스레드에서 하므로 다른 스케줄 작업을 막지 않음
+     */
+    @Scheduled(fixedDelayString = "${heart.notification.delivery.poll-interval-ms:1000}")
+    public void poll() {
+        if (!running.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            runner.execute(() -> {
+                try {
+                    drain();
+                } catch (Exception e) {
+                    log.error("Notification delivery run failed", e);
+                } finally {
+                    running.set(false);
+                }
+            });
+        } catch (Exception e) {
+            running.set(false);
+            log.error("Notification delivery poll failed", e);
+        }
+    }
+
+    /**
+     * 가득 찬 배치가 나오는 동안 최대 max-batches-per-run 배치까지 전달
+     * @return 이번 실행에서 처리한 작업 수
+     */
+    public int drain() {
+        int total = 0;
+        for (int batch = 0; batch < maxBatchesPerRun && !Thread.currentThread().isInterrupted(); batch++) {
+            int claimed = deliverOnce();
+            total += claimed;
+            if (claimed < batchSize) {
+                break;
+            }
+        }
+        return total;
+    }
+
+    /**
+     * 배치 하나 점유·전송·결과 기록
+     * @return 점유한 작업 수
+     */
+    int deliverOnce() {
+        long startNanos = System.nanoTime();
+        LocalDateTime now = LocalDateTime.now(clock);
+        List<PendingDelivery> claimed = notificationDeliveryJdbcRepository.claim(now, now.plus(lease), batchSize);
+        if (claimed.isEmpty()) {
+            return 0;
+        }
+
+        List<DeliveryOutcome> outcomes = new ArrayList<>(claimed.size());
+        Map<Provider, List<PendingDelivery>> byProvider = new EnumMap<>(Provider.class);
+        for (PendingDelivery delivery : claimed) {
+            if (delivery.title() == null) {
+                outcomes.add(failed(delivery, DeliveryStatus.FAILED, "Notification no longer exists"));
+            } else {
+                byProvider.computeIfAbsent(delivery.provider(), provider -> new ArrayList<>()).add(delivery);
+            }
+        }
+
+        // 제공자별 묶음을 동시에 보내고 모두 끝날 때까지 대기 (요청마다 타임아웃이 있어 무한히 기다리지 않음)
+        Map<Provider, CompletableFuture<List<PushResult>>> inFlight = new EnumMap<>(Provider.class);
+        byProvider.forEach((provider, deliveries) -> inFlight.put(provider, pushGatewayClient.send(provider, deliveries)));
+
+        Set<Long> invalidTokens = new LinkedHashSet<>();
+        for (Map.Entry<Provider, CompletableFuture<List<PushResult>>> entry : inFlight.entrySet()) {
+            List<PendingDelivery> deliveries = byProvider.get(entry.getKey());
+            List<PushResult> results = entry.getValue().join();
+            LocalDateTime completedAt = LocalDateTime.now(clock);
+            for (int i = 0; i < deliveries.size(); i++) {
+                PendingDelivery delivery = deliveries.get(i);
+                DeliveryOutcome outcome = toOutcome(delivery, results.get(i), completedAt);
+                if (outcome.status() == DeliveryStatus.INVALID_TOKEN) {
+                    invalidTokens.add(delivery.deviceTokenId());
+                }
+                outcomes.add(outcome);
+            }
+        }
+
+        notificationDeliveryJdbcRepository.complete(outcomes);
+        if (!invalidTokens.isEmpty()) {
+            notificationDeliveryJdbcRepository.deactivateTokens(invalidTokens);
+        }
+        batchTimer.record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+        if (log.isDebugEnabled()) {
+            log.debug("푸시 전달 배치 완료: claimed={}, results={}", claimed.size(), outcomes.stream()
+                    .collect(Collectors.groupingBy(DeliveryOutcome::status, Collectors.counting())));
+        }
+        return claimed.size();
+    }
+
+    private DeliveryOutcome toOutcome(PendingDelivery delivery, PushResult result, LocalDateTime completedAt) {
+        String provider = delivery.provider().name();
+        switch (result.outcome()) {
+            case DELIVERED -> {
+                long latencyMs = Math.max(0, Duration.between(delivery.createdAt(), completedAt).toMillis());
+                Timer.builder("notification.delivery.latency")
+                        .description("Time from enqueue to gateway acceptance")
+                        .tags("provider", provider)
+                        .register(meterRegistry)
+                        .record(latencyMs, TimeUnit.MILLISECONDS);
+                counter("notification.delivery.sent", provider).increment();
+                return new DeliveryOutcome(delivery.id(), DeliveryStatus.SENT, null, completedAt, latencyMs,
+                        result.providerMessageId(), null);
+            }
+            case RETRY -> {
+                if (delivery.attempts() >= maxAttempts) {
+                    return failed(delivery, DeliveryStatus.FAILED, result.error());
+                }
+                counter("notification.delivery.retried", provider).increment();
+                Duration wait = backoff(delivery.attempts());
+                if (result.retryAfter() != null && result.retryAfter().compareTo(wait) > 0) {
+                    wait = result.retryAfter();
+                }
+                return new DeliveryOutcome(delivery.id(), DeliveryStatus.PENDING, completedAt.plus(wait), null, null,
+                        null, truncate(result.error()));
+            }
+            case INVALID_TOKEN -> {
+                return failed(delivery, DeliveryStatus.INVALID_TOKEN, result.error());
+            }
+            default -> {
+                return failed(delivery, DeliveryStatus.FAILED, result.error());
+            }
+        }
+    }
+
+    private DeliveryOutcome failed(PendingDelivery delivery, DeliveryStatus status, String error) {
+        String metric = status == DeliveryStatus.INVALID_TOKEN
+                ? "notification.delivery.invalid_token"
+                : "notification.delivery.failed";
+        counter(metric, delivery.provider().name()).increment();
+        return new DeliveryOutcome(delivery.id(), status, null, null, null, null, truncate(error));
+    }
+
+    /**
+     * 재시도 대기 시간 (full jitter: 0 ~ min(max, base * 2^(attempts-1)))
+     * @param attempts 지금까지의 시도 횟수 (1부터)
+     */
+    Duration backoff(int attempts) {
+        long ceiling = Math.min(maxBackoff.toMillis(), backoff.toMillis() << Math.min(attempts - 1, 20));
+        return Duration.ofMillis(ceiling > 0 ? ThreadLocalRandom.current().nextLong(ceiling + 1) : 0);
+    }
+
+    private Counter counter(String name, String provider) {
+        return meterRegistry.counter(name, "provider", provider);
+    }
+
+    private static String truncate(String error) {
+        return error != null && error.length() > 500 ? error.substring(0, 500) : error;
+    }
+}
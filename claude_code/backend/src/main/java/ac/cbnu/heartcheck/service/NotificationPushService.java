@@ -0,0 +1,284 @@
+package ac.cbnu.heartcheck.service;
+
+import ac.cbnu.heartcheck.dto.response.NotificationPushMessage;
+import ac.cbnu.heartcheck.entity.Notification;
+import ac.cbnu.heartcheck.entity.NotificationBroadcast;
+import ac.cbnu.heartcheck.repository.NotificationDispatchJdbcRepository.DueNotification;
+import ac.cbnu.heartcheck.websocket.NotificationPushHandler;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 알림 푸시 서비스
+ *
+ * 알림 생성·읽음 상태 변경을 커밋 직후 Redis 채널(notifications:push)에 발행하고,
+ * 모든 노드가 같은 채널을 구독해 자기 노드에 연결된 사용자에게만 전달한다 (NotificationPushHandler).
+ * 트랜잭션 안에서 호출되면 커밋 후에 발행하므로 롤백된 알림은 푸시되지 않으며,
+ * 앱은 폴링 대신 이 스트림으로 새 알림과 읽지 않은 개수를 받는다.
+ *
+ * Redis 발행에 실패하면 이 노드의 연결에만 직접 전달한다 (다른 노드 사용자는 재연결 시 개수로 동기화).
+ *
+ * @author CBNU Development Team
+ * @version 1.1.0
+ * @since 2024
+ */
+@Slf4j
+@Service
+public class NotificationPushService implements MessageListener {
+
+    static final String CHANNEL = "notifications:push";
+
+    private final StringRedisTemplate redisTemplate;
+    private final RedisMessageListenerContainer redisMessageListenerContainer;
+    private final NotificationPushHandler notificationPushHandler;
+    private final ObjectMapper objectMapper;
+
+    private final Counter publishedCounter;
+    private final Counter publishFailedCounter;
+
+    public NotificationPushService(StringRedisTemplate redisTemplate,
+                                   RedisMessageListenerContainer redisMessageListenerContainer,
+                                   NotificationPushHandler notificationPushHandler,
+                                   ObjectMapper objectMapper,
+                                   MeterRegistry meterRegistry) {
+        this.redisTemplate = redisTemplate;
+        this.redisMessageListenerContainer = redisMessageListenerContainer;
+        this.notificationPushHandler = notificationPushHandler;
+        this.objectMapper = objectMapper;
+        this.publishedCounter = Counter.builder("notification.push.published")
+                .description("Push events published to the cross-node channel")
+                .register(meterRegistry);
+        this.publishFailedCounter = Counter.builder("notification.push.publish.failed")
+                .description("Push events that fell back to local delivery because Redis publish failed")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    void subscribe() {
+        redisMessageListenerContainer.addMessageListener(this, new ChannelTopic(CHANNEL));
+    }
+
+    /**
+     * 새 알림 푸시 (발송 시각이 있는 알림만, 예약 알림은 발송 시점에 푸시)
+     * @param notification 저장된 알림
+     */
+    public void notificationCreated(Notification notification) {
+        if (notification.getSentTime() == null) {
+            return;
+        }
+        Long userId = notification.getUser().getUserId();
+        afterCommit(NotificationPushMessage.builder()
+                .type(NotificationPushMessage.NOTIFICATION_CREATED)
+                .userId(userId)
+                .notification(NotificationPushMessage.Item.builder()
+                        .id(notification.getId())
+                        .type(notification.getType().name())
+                        .title(notification.getTitle())
+                        .message(notification.getMessage())
+                        .url(notification.getUrl())
+                        .isRead(notification.getIsRead())
+                        .sentTime(notification.getSentTime())
+                        .scheduledTime(notification.getScheduledTime())
+                        .priority(notification.getPriority())
+                        .build())
+                .unreadDelta(Boolean.TRUE.equals(notification.getIsRead()) ? 0 : 1)
+                .build());
+    }
+
+    /**
+     * 예약 알림 발송 푸시
+     * 알림마다 발행하지 않고 청크당 메시지 하나(notification.batch)로 보내며,
+     * 각 노드가 자기 노드에 연결된 사용자의 메시지만 꺼내서 전달한다
+     * @param dispatched 발송 처리된 예약 알림 (청크 트랜잭션 커밋 후)
+     * @param sentTime 발송 처리 시각
+     */
+    public void notificationsDispatched(List<DueNotification> dispatched, LocalDateTime sentTime) {
+        if (dispatched.isEmpty()) {
+            return;
+        }
+        List<NotificationPushMessage> messages = new ArrayList<>(dispatched.size());
+        for (DueNotification due : dispatched) {
+            messages.add(NotificationPushMessage.builder()
+                    .type(NotificationPushMessage.NOTIFICATION_CREATED)
+                    .userId(due.userId())
+                    .notification(NotificationPushMessage.Item.builder()
+                            .id(due.id())
+                            .type(due.type())
+                            .title(due.title())
+                            .message(due.message())
+                            .url(due.url())
+                            .isRead(false)
+                            .sentTime(sentTime)
+                            .scheduledTime(due.scheduledTime())
+                            .priority(due.priority())
+                            .build())
+                    .unreadDelta(1)
+                    .build());
+        }
+        afterCommit(NotificationPushMessage.builder()
+                .type(NotificationPushMessage.NOTIFICATION_BATCH)
+                .messages(messages)
+                .build());
+    }
+
+    /**
+     * 일괄 발송 청크 푸시
+     * 대상 사용자마다 발행하지 않고 청크당 메시지 하나(notification.broadcast)로 보내며,
+     * 각 노드가 자기 노드에 연결된 사용자에게만 notification.created로 풀어서 전달한다
+     * @param broadcast 일괄 발송 작업
+     * @param userIds 청크 대상 사용자 ID
+     * @param sentTime 발송 시각
+     */
+    public void broadcastDelivered(NotificationBroadcast broadcast, List<Long> userIds, LocalDateTime sentTime) {
+        if (userIds.isEmpty()) {
+            return;
+        }
+        afterCommit(NotificationPushMessage.builder()
+                .type(NotificationPushMessage.NOTIFICATION_BROADCAST)
+                .userIds(userIds)
+                .notification(NotificationPushMessage.Item.builder()
+                        .type(broadcast.getType().name())
+                        .title(broadcast.getTitle())
+                        .message(broadcast.getMessage())
+                        .url(broadcast.getUrl())
+                        .isRead(false)
+                        .sentTime(sentTime)
+                        .priority(broadcast.getPriority())
+                        .build())
+                .unreadDelta(1)
+                .build());
+    }
+
+    /**
+     * 읽지 않은 개수 변화량 푸시 (읽음·미읽음·삭제)
+     * @param userId 사용자 ID
+     * @param delta 변화량
+     */
+    public void unreadChanged(Long userId, int delta) {
+        if (delta == 0) {
+            return;
+        }
+        afterCommit(NotificationPushMessage.builder()
+                .type(NotificationPushMessage.UNREAD_CHANGED)
+                .userId(userId)
+                .unreadDelta(delta)
+                .build());
+    }
+
+    /**
+     * 읽지 않은 개수 전체 값 푸시 (일괄 읽음 처리 후)
+     * @param userId 사용자 ID
+     * @param unreadCount 읽지 않은 개수
+     */
+    public void unreadCount(Long userId, long unreadCount) {
+        afterCommit(NotificationPushMessage.builder()
+                .type(NotificationPushMessage.UNREAD_COUNT)
+                .userId(userId)
+                .unreadCount(unreadCount)
+                .build());
+    }
+
+    /**
+     * 다른 노드(또는 이 노드)가 발행한 이벤트 수신: 이 노드에 연결된 사용자에게만 전달
+     */
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String payload = new String(message.getBody(), StandardCharsets.UTF_8);
+        try {
+            JsonNode root = objectMapper.readTree(payload);
+            JsonNode messages = root.get("messages");
+            if (messages != null && messages.isArray()) {
+                deliverBatch(messages);
+                return;
+            }
+            JsonNode userIds = root.get("userIds");
+            if (userIds != null && userIds.isArray()) {
+                deliverBroadcast(root, userIds);
+                return;
+            }
+            JsonNode userId = root.get("userId");
+            if (userId != null) {
+                notificationPushHandler.deliver(userId.asLong(), payload);
+            }
+        } catch (Exception e) {
+            log.warn("Dropping malformed notification push message: {}", e.getMessage());
+        }
+    }
+
+    private void deliverBroadcast(JsonNode root, JsonNode userIds) throws JsonProcessingException {
+        for (JsonNode node : userIds) {
+            long userId = node.asLong();
+            if (!notificationPushHandler.isConnected(userId)) {
+                continue;
+            }
+            ObjectNode message = objectMapper.createObjectNode();
+            message.put("type", NotificationPushMessage.NOTIFICATION_CREATED);
+            message.put("userId", userId);
+            message.set("notification", root.get("notification"));
+            message.set("unreadDelta", root.get("unreadDelta"));
+            notificationPushHandler.deliver(userId, objectMapper.writeValueAsString(message));
+        }
+    }
+
+    private void deliverBatch(JsonNode messages) throws JsonProcessingException {
+        for (JsonNode message : messages) {
+            JsonNode userId = message.get("userId");
+            if (userId == null || !notificationPushHandler.isConnected(userId.asLong())) {
+                continue;
+            }
+            notificationPushHandler.deliver(userId.asLong(), objectMapper.writeValueAsString(message));
+        }
+    }
+
+    private void afterCommit(NotificationPushMessage message) {
+        String payload;
+        try {
+            payload = objectMapper.writeValueAsString(message);
+        } catch (JsonProcessingException e) {
+            log.warn("Failed to serialize notification push for user {}", message.getUserId(), e);
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    publish(payload);
+                }
+            });
+        } else {
+            publish(payload);
+        }
+    }
+
+    private void publish(String payload) {
+        try {
+            redisTemplate.convertAndSend(CHANNEL, payload);
+            publishedCounter.increment();
+        } catch (Exception e) {
+            publishFailedCounter.increment();
+            log.warn("Redis publish failed, delivering notification push locally: {}", e.getMessage());
+            onMessage(new DefaultMessage(CHANNEL.getBytes(StandardCharsets.UTF_8),
+                    payload.getBytes(StandardCharsets.UTF_8)), null);
+        }
+    }
+}
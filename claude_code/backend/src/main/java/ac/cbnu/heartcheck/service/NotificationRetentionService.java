@@ -0,0 +1,291 @@
+package ac.cbnu.heartcheck.service;
+
+import ac.cbnu.heartcheck.repository.NotificationRetentionJdbcRepository;
+import ac.cbnu.heartcheck.repository.NotificationRetentionJdbcRepository.IdRange;
+import ac.cbnu.heartcheck.repository.NotificationRetentionJdbcRepository.Partition;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.BooleanSupplier;
+
+/**
+ * 알림 보관 기간 정리 서비스
+ *
+ * 매일 한 노드(ClusterLeaseLock)에서 다음 순서로 실행된다.
+ * 1. 앞으로 future-months개월 치 월 파티션을 미리 만든다 (비어 있는 p_future 분할이라 즉시 끝남)
+ * 2. 상한이 보관 기간(sent-months) 이전인 파티션 중 남길 행이 없는 파티션을 DROP PARTITION으로 지운다
+ * 3. 나머지(발송이 늦은 예약 알림이 섞인 파티션, 읽은 지 read-days가 지난 알림)는 id 범위 단위로 지우고
+ *    범위마다 pause만큼 쉬어 복제 지연과 잠금 경합을 제한한다
+ *
+ * 파티션이 없는 테이블에서는 3만 수행한다. 삭제된 읽지 않은 알림은 읽지 않은 알림 카운터 대조로 반영된다.
+ *
+ * 정리는 수 분이 걸릴 수 있으므로 cron은 전용 스레드에 넘기기만 한다. 공유 스케줄러 스레드를 잡고 있으면
+ * 클러스터 멤버십·음성 세션 하트비트 같은 다른 @Scheduled 작업이 밀린다. 이전 정리가 아직 돌고 있으면 이번 회차는 건너뛴다.
+ *
+ * @author CBNU Development Team
+ * @version 1.1.0
+ * @since 2024
+ */
+@Slf4j
+@Service
+public class NotificationRetentionService {
+
+    static final String LOCK_NAME = "notifications:retention";
+
+    private final NotificationRetentionJdbcRepository notificationRetentionJdbcRepository;
+    private final ClusterLeaseLock clusterLeaseLock;
+    private final int sentMonths;
+    private final int readDays;
+    private final int futureMonths;
+    private final int chunkSize;
+    private final Duration pause;
+    private final Duration lease;
+    private final Clock clock;
+    private final ExecutorService runner;
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    private final Counter deletedCounter;
+    private final Counter droppedCounter;
+    private final Timer purgeTimer;
+
+    public NotificationRetentionService(NotificationRetentionJdbcRepository notificationRetentionJdbcRepository,
+                                        ClusterLeaseLock clusterLeaseLock,
+                                        MeterRegistry meterRegistry,
+                                        @Value("${heart.notification.retention.sent-months:6}") int sentMonths,
+                                        @Value("${heart.notification.retention.read-days:30}") int readDays,
+                                        @Value("${heart.notification.retention.future-months:2}") int futureMonths,
+                                        @Value("${heart.notification.retention.chunk-size:10000}") int chunkSize,
+                                        @Value("${heart.notification.retention.pause-ms:100}") long pauseMillis,
+                                        @Value("${heart.notification.retention.lock-lease-seconds:300}") long leaseSeconds) {
+        this(notificationRetentionJdbcRepository, clusterLeaseLock, meterRegistry, sentMonths, readDays,
+                futureMonths, chunkSize, Duration.ofMillis(pauseMillis), Duration.ofSeconds(leaseSeconds),
+                Clock.systemDefaultZone());
+    }
+
+    NotificationRetentionService(NotificationRetentionJdbcRepository notificationRetentionJdbcRepository,
+                                 ClusterLeaseLock clusterLeaseLock, MeterRegistry meterRegistry,
+                                 int sentMonths, int readDays, int futureMonths, int chunkSize,
+                                 Duration pause, Duration lease, Clock clock) {
+        this.notificationRetentionJdbcRepository = notificationRetentionJdbcRepository;
+        this.clusterLeaseLock = clusterLeaseLock;
+        this.sentMonths = sentMonths;
+        this.readDays = readDays;
+        this.futureMonths = futureMonths;
+        this.chunkSize = chunkSize;
+        this.pause = pause;
+        this.lease = lease;
+        this.clock = clock;
+        this.runner = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "notification-retention");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        this.deletedCounter = Counter.builder("notification.retention.deleted")
+                .description("Notifications deleted by id-range retention chunks")
+                .register(meterRegistry);
+        this.droppedCounter = Counter.builder("notification.retention.partitions.dropped")
+                .description("Expired notification partitions dropped")
+                .register(meterRegistry);
+        this.purgeTimer = Timer.builder("notification.retention.duration")
+                .description("Notification retention run time")
+                .register(meterRegistry);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        // 중단된 정리는 잠금 리스가 끝난 뒤 다음 회차에 이어서 진행
+        runner.shutdownNow();
+    }
+
+    /**
+     * 일일 정리 (스케줄러, 전용 스레드에 넘기고 바로 돌아감)
+     * @return 넘겼으면 true (이전 정리가 아직 진행 중이거나 종료 중이면 false)
+     */
+    @Scheduled(cron = "${heart.notification.retention.cron:0 30 3 * * *}")
+    public boolean scheduledPurge() {
+        if (!running.compareAndSet(false, true)) {
+            log.warn("Notification retention still running, skipping this run");
+            return false;
+        }
+        try {
+            runner.execute(() -> {
+                try {
+                    purgeWithLock();
+                } finally {
+                    running.set(false);
+                }
+            });
+            return true;
+        } catch (RejectedExecutionException e) {
+            running.set(false);
+            return false;
+        }
+    }
+
+    /**
+     * 잠금을 얻은 노드에서만 정리 (클러스터에서 한 노드만)
+     * @return 정리했으면 true
+     */
+    boolean purgeWithLock() {
+        if (!clusterLeaseLock.tryAcquire(LOCK_NAME, lease)) {
+            log.debug("Notification retention skipped, another node holds the lock");
+            return false;
+        }
+        try {
+            purge();
+            return true;
+        } catch (Exception e) {
+            log.error("Notification retention failed", e);
+            return false;
+        } finally {
+            clusterLeaseLock.release(LOCK_NAME);
+        }
+    }
+
+    /**
+     * 파티션 준비·삭제 후 남은 만료 알림을 범위 단위로 삭제
+     * @return 실행 결과
+     */
+    PurgeResult purge() {
+        long startNanos = System.nanoTime();
+        LocalDateTime now = LocalDateTime.now(clock);
+        LocalDateTime sentBefore = now.minusMonths(sentMonths);
+        LocalDateTime readBefore = now.minusDays(readDays);
+
+        List<Partition> partitions = notificationRetentionJdbcRepository.findPartitions();
+        int created = 0;
+        int dropped = 0;
+        if (!partitions.isEmpty()) {
+            created = ensureFuturePartitions(partitions, now.toLocalDate());
+            dropped = dropExpiredPartitions(partitions, sentBefore);
+        }
+
+        LocalDateTime createdBefore = sentBefore.isAfter(readBefore) ? sentBefore : readBefore;
+        long deleted = deleteInChunks(createdBefore,
+                (fromId, toId) -> notificationRetentionJdbcRepository.deleteExpired(fromId, toId, sentBefore, readBefore),
+                () -> clusterLeaseLock.renew(LOCK_NAME, lease));
+
+        Duration elapsed = Duration.ofNanos(System.nanoTime() - startNanos);
+        purgeTimer.record(elapsed);
+        log.info("알림 보관 기간 정리 완료: 파티션 생성 {}개, 파티션 삭제 {}개, 행 삭제 {}건, {}ms",
+                created, dropped, deleted, elapsed.toMillis());
+        return new PurgeResult(created, dropped, deleted);
+    }
+
+    /**
+     * 읽은 지 오래된 알림 삭제 (범위 단위)
+     * @param readBefore 이 시각 이전에 읽은 알림 삭제
+     * @return 삭제된 알림 수
+     */
+    public long deleteReadBefore(LocalDateTime readBefore) {
+        return deleteInChunks(readBefore,
+                (fromId, toId) -> notificationRetentionJdbcRepository.deleteRead(fromId, toId, readBefore),
+                () -> true);
+    }
+
+    private int ensureFuturePartitions(List<Partition> partitions, LocalDate today) {
+        if (!notificationRetentionJdbcRepository.hasFuturePartition(partitions)) {
+            log.warn("notifications has no p_future partition, skipping partition maintenance");
+            return 0;
+        }
+        LocalDate bound = partitions.stream()
+                .map(Partition::upperBound)
+                .filter(Objects::nonNull)
+                .max(LocalDate::compareTo)
+                .orElse(null);
+        LocalDate currentMonth = today.withDayOfMonth(1);
+        LocalDate target = currentMonth.plusMonths(futureMonths + 1L);
+
+        int created = 0;
+        if (bound == null || bound.isBefore(currentMonth)) {
+            // 관리가 밀린 경우 지난 달까지를 파티션 하나로 나눠 p_future 재구성을 한 번으로 끝냄
+            notificationRetentionJdbcRepository.addPartition(YearMonth.from(currentMonth.minusMonths(1)), currentMonth);
+            bound = currentMonth;
+            created++;
+        }
+        while (bound.isBefore(target)) {
+            notificationRetentionJdbcRepository.addPartition(YearMonth.from(bound), bound.plusMonths(1));
+            bound = bound.plusMonths(1);
+            created++;
+        }
+        return created;
+    }
+
+    private int dropExpiredPartitions(List<Partition> partitions, LocalDateTime sentBefore) {
+        int dropped = 0;
+        for (Partition partition : partitions) {
+            if (partition.upperBound() == null || partition.upperBound().atStartOfDay().isAfter(sentBefore)) {
+                continue;
+            }
+            if (notificationRetentionJdbcRepository.hasRetainedRows(partition.name(), sentBefore)) {
+                // 늦게 발송된 예약 알림이 남아 있으면 만료된 행만 범위 단위로 지움
+                log.info("파티션 {}에 보관 기간 내 알림이 있어 행 단위로 정리", partition.name());
+                continue;
+            }
+            notificationRetentionJdbcRepository.dropPartition(partition.name());
+            droppedCounter.increment();
+            dropped++;
+            log.info("만료 파티션 삭제: {} (< {})", partition.name(), partition.upperBound());
+        }
+        return dropped;
+    }
+
+    private long deleteInChunks(LocalDateTime createdBefore, RangeDelete delete, BooleanSupplier stillOwner) {
+        IdRange range = notificationRetentionJdbcRepository.findIdRange(createdBefore).orElse(null);
+        if (range == null) {
+            return 0;
+        }
+        long deleted = 0;
+        for (long fromId = range.minId(); fromId <= range.maxId(); fromId += chunkSize) {
+            long toId = Math.min(fromId + chunkSize, range.maxId() + 1);
+            int rows = delete.apply(fromId, toId);
+            deleted += rows;
+            deletedCounter.increment(rows);
+            if (!stillOwner.getAsBoolean()) {
+                log.warn("Notification retention lost its lock at id {}, stopping", toId);
+                break;
+            }
+            if (rows > 0 && !pause.isZero()) {
+                try {
+                    Thread.sleep(pause.toMillis());
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    break;
+                }
+            }
+        }
+        return deleted;
+    }
+
+    @FunctionalInterface
+    private interface RangeDelete {
+        int apply(long fromId, long toId);
+    }
+
+    /**
+     * 정리 결과
+     * @param partitionsCreated 새로 만든 월 파티션 수
+     * @param partitionsDropped 삭제한 파티션 수
+     * @param rowsDeleted 범위 단위로 삭제한 행 수
+     */
+    record PurgeResult(int partitionsCreated, int partitionsDropped, long rowsDeleted) {
+    }
+}
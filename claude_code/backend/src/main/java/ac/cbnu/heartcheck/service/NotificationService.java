@@ -1,15 +1,24 @@
 package ac.cbnu.heartcheck.service;
 
+import ac.cbnu.heartcheck.entity.DeviceToken;
 import ac.cbnu.heartcheck.entity.Notification;
+import ac.cbnu.heartcheck.entity.NotificationDelivery;
+import ac.cbnu.heartcheck.entity.NotificationReadMark;
 import ac.cbnu.heartcheck.entity.User;
 import ac.cbnu.heartcheck.exception.ResourceNotFoundException;
+import ac.cbnu.heartcheck.repository.DeviceTokenRepository;
+import ac.cbnu.heartcheck.repository.NotificationDeliveryJdbcRepository;
+import ac.cbnu.heartcheck.repository.NotificationDeliveryRepository;
+import ac.cbnu.heartcheck.repository.NotificationReadMarkRepository;
 import ac.cbnu.heartcheck.repository.NotificationRepository;
 import ac.cbnu.heartcheck.repository.UserRepository;
+import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
@@ -19,6 +28,10 @@ import java.util.List;
  * Notification Service
  * 알림 관리 비즈니스 로직 처리
  *
+ * 모두 읽음/타입별 읽음은 알림 행을 갱신하지 않고 사용자별 읽음 기준선(NotificationReadMark) 한 행만 올린다.
+ * 알림의 실제 읽음 상태는 is_read 또는 기준선으로 판단하며, 조회 결과에는 기준선을 반영해 돌려준다.
+ * 발송된 알림은 같은 트랜잭션에서 기기별 푸시 전달 대기열에 등록되고 NotificationDeliveryWorker가 보낸다.
+ *
  * @author CBNU Development Team
  * @version 1.0.0
  * @since 2024
@@ -30,7 +43,16 @@ import java.util.List;
 public class NotificationService {
 
     private final NotificationRepository notificationRepository;
+    private final NotificationReadMarkRepository notificationReadMarkRepository;
+    private final NotificationDeliveryJdbcRepository notificationDeliveryJdbcRepository;
+    private final NotificationDeliveryRepository notificationDeliveryRepository;
+    private final DeviceTokenRepository deviceTokenRepository;
     private final UserRepository userRepository;
+    private final ScheduledNotificationDispatcher scheduledNotificationDispatcher;
+    private final NotificationPushService notificationPushService;
+    private final UnreadNotificationCounter unreadNotificationCounter;
+    private final NotificationRetentionService notificationRetentionService;
+    private final EntityManager entityManager;
 
     /**
      * 알림 생성 및 발송
@@ -58,6 +80,9 @@ public class NotificationService {
             .build();
 
         Notification savedNotification = notificationRepository.save(notification);
+        notificationDeliveryJdbcRepository.enqueue(List.of(savedNotification.getId()), savedNotification.getSentTime());
+        unreadNotificationCounter.adjust(userId, 1);
+        notificationPushService.notificationCreated(savedNotification);
         log.info("알림 생성 완료: notificationId={}", savedNotification.getId());
         return savedNotification;
     }
@@ -93,7 +118,14 @@ public class NotificationService {
             .sentTime(scheduledTime == null ? LocalDateTime.now() : null)
             .build();
 
-        return notificationRepository.save(notification);
+        // 예약 알림은 발송 시점에 ScheduledNotificationDispatcher가 카운터 조정·푸시
+        Notification savedNotification = notificationRepository.save(notification);
+        if (savedNotification.getSentTime() != null) {
+            notificationDeliveryJdbcRepository.enqueue(List.of(savedNotification.getId()), savedNotification.getSentTime());
+            unreadNotificationCounter.adjust(userId, 1);
+        }
+        notificationPushService.notificationCreated(savedNotification);
+        return savedNotification;
     }
 
     /**
@@ -118,7 +150,7 @@ public class NotificationService {
     public Page<Notification> getUserNotifications(Long userId, Pageable pageable) {
         log.info("사용자 알림 목록 조회: userId={}, page={}, size={}",
             userId, pageable.getPageNumber(), pageable.getPageSize());
-        return notificationRepository.findByUserId(userId, pageable);
+        return applyReadMarks(userId, notificationRepository.findByUserId(userId, pageable));
     }
 
     /**
@@ -130,18 +162,18 @@ public class NotificationService {
     @Transactional(readOnly = true)
     public Page<Notification> getUnreadNotifications(Long userId, Pageable pageable) {
         log.info("읽지 않은 알림 조회: userId={}", userId);
-        return notificationRepository.findUnreadByUserId(userId, pageable);
+        return notificationRepository.findUnreadByUserId(userId, LocalDateTime.now(), pageable);
     }
 
     /**
-     * 사용자의 읽지 않은 알림 개수 조회
+     * 사용자의 읽지 않은 알림 개수 조회 (Redis 카운터, 없을 때만 COUNT)
      * @param userId 사용자 ID
      * @return 읽지 않은 알림 개수
      */
-    @Transactional(readOnly = true)
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public long getUnreadNotificationCount(Long userId) {
-        log.info("읽지 않은 알림 개수 조회: userId={}", userId);
-        return notificationRepository.countUnreadByUserId(userId);
+        log.debug("읽지 않은 알림 개수 조회: userId={}", userId);
+        return unreadNotificationCounter.get(userId);
     }
 
     /**
@@ -155,7 +187,7 @@ public class NotificationService {
     public Page<Notification> getNotificationsByType(Long userId, Notification.NotificationType type,
                                                      Pageable pageable) {
         log.info("타입별 알림 조회: userId={}, type={}", userId, type);
-        return notificationRepository.findByUserIdAndType(userId, type, pageable);
+        return applyReadMarks(userId, notificationRepository.findByUserIdAndType(userId, type, pageable));
     }
 
     /**
@@ -166,7 +198,10 @@ public class NotificationService {
     @Transactional(readOnly = true)
     public List<Notification> getUrgentNotifications(Long userId) {
         log.info("긴급 알림 조회: userId={}", userId);
-        return notificationRepository.findUrgentByUserId(userId, Notification.Priority.URGENT.getLevel());
+        List<Notification> notifications =
+            notificationRepository.findUrgentByUserId(userId, Notification.Priority.URGENT.getLevel());
+        applyReadMarks(userId, notifications);
+        return notifications;
     }
 
     /**
@@ -181,7 +216,8 @@ public class NotificationService {
     public Page<Notification> getNotificationsByPeriod(Long userId, LocalDateTime startTime,
                                                        LocalDateTime endTime, Pageable pageable) {
         log.info("기간별 알림 조회: userId={}, start={}, end={}", userId, startTime, endTime);
-        return notificationRepository.findByUserIdAndSentTimeBetween(userId, startTime, endTime, pageable);
+        return applyReadMarks(userId,
+            notificationRepository.findByUserIdAndSentTimeBetween(userId, startTime, endTime, pageable));
     }
 
     /**
@@ -192,8 +228,14 @@ public class NotificationService {
     public Notification markAsRead(Long notificationId) {
         log.info("알림 읽음 처리: notificationId={}", notificationId);
         Notification notification = getNotificationById(notificationId);
+        boolean wasUnread = !isEffectivelyRead(notification);
         notification.markAsRead();
-        return notificationRepository.save(notification);
+        Notification savedNotification = notificationRepository.save(notification);
+        if (wasUnread) {
+            unreadNotificationCounter.adjust(notification.getUser().getUserId(), -1);
+            notificationPushService.unreadChanged(notification.getUser().getUserId(), -1);
+        }
+        return savedNotification;
     }
 
     /**
@@ -204,27 +246,43 @@ public class NotificationService {
     public Notification markAsUnread(Long notificationId) {
         log.info("알림 미읽음 처리: notificationId={}", notificationId);
         Notification notification = getNotificationById(notificationId);
+        boolean wasRead = isEffectivelyRead(notification);
+        // unread_at을 남겨 이미 올라간 기준선에서 빠지게 함 (이후의 모두 읽음에는 다시 포함)
         notification.markAsUnread();
-        return notificationRepository.save(notification);
+        Notification savedNotification = notificationRepository.save(notification);
+        if (wasRead) {
+            unreadNotificationCounter.adjust(notification.getUser().getUserId(), 1);
+            notificationPushService.unreadChanged(notification.getUser().getUserId(), 1);
+        }
+        return savedNotification;
     }
 
     /**
      * 사용자의 모든 알림 읽음 처리
+     * 알림 수와 관계없이 읽음 기준선(ALL) 한 행만 올림
      * @param userId 사용자 ID
      */
     public void markAllAsRead(Long userId) {
         log.info("모든 알림 읽음 처리: userId={}", userId);
-        notificationRepository.markAllAsReadByUserId(userId, LocalDateTime.now());
+        notificationReadMarkRepository.advance(userId, NotificationReadMark.SCOPE_ALL, LocalDateTime.now());
+        unreadNotificationCounter.set(userId, 0);
+        notificationPushService.unreadCount(userId, 0);
     }
 
     /**
      * 특정 타입의 알림 모두 읽음 처리
+     * 타입 읽음 기준선 한 행만 올리고, 카운터 조정량은 기준선을 올리기 전의 읽지 않은 개수로 구함
      * @param userId 사용자 ID
      * @param type 알림 타입
      */
     public void markAllAsReadByType(Long userId, Notification.NotificationType type) {
         log.info("타입별 알림 읽음 처리: userId={}, type={}", userId, type);
-        notificationRepository.markAsReadByTypeAndUserId(userId, type, LocalDateTime.now());
+        long unread = notificationRepository.countUnreadByUserIdAndType(userId, type.name());
+        notificationReadMarkRepository.advance(userId, type.name(), LocalDateTime.now());
+        if (unread > 0) {
+            unreadNotificationCounter.adjust(userId, -unread);
+            notificationPushService.unreadChanged(userId, (int) -unread);
+        }
     }
 
     /**
@@ -234,7 +292,12 @@ public class NotificationService {
     public void deleteNotification(Long notificationId) {
         log.info("알림 삭제: notificationId={}", notificationId);
         Notification notification = getNotificationById(notificationId);
+        boolean wasUnread = !isEffectivelyRead(notification);
         notificationRepository.delete(notification);
+        if (wasUnread && notification.getSentTime() != null) {
+            unreadNotificationCounter.adjust(notification.getUser().getUserId(), -1);
+            notificationPushService.unreadChanged(notification.getUser().getUserId(), -1);
+        }
     }
 
     /**
@@ -248,39 +311,72 @@ public class NotificationService {
     }
 
     /**
-     * 예약된 알림 발송 (스케줄러용)
+     * 예약된 알림 발송 (ScheduledNotificationDispatcher가 주기적으로도 실행)
+     * 청크마다 별도의 짧은 트랜잭션을 쓰도록 바깥 트랜잭션 없이 실행
      * @return 발송된 알림 수
      */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public int sendScheduledNotifications() {
-        log.info("예약된 알림 발송 시작");
-        List<Notification> scheduledNotifications = notificationRepository.findScheduledNotifications(LocalDateTime.now());
-
-        int sentCount = 0;
-        for (Notification notification : scheduledNotifications) {
-            notification.setSentTime(LocalDateTime.now());
-            notificationRepository.save(notification);
-            sentCount++;
-        }
-
-        log.info("예약된 알림 발송 완료: {}건", sentCount);
-        return sentCount;
+        return scheduledNotificationDispatcher.dispatchDue();
     }
 
     /**
      * 오래된 읽은 알림 자동 삭제 (스케줄러용)
+     * id 범위 단위로 나눠 지우며 범위마다 커밋한다 (NotificationRetentionService)
      * @param days 보관 기간 (일)
      * @return 삭제된 알림 수
      */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public int cleanupOldReadNotifications(int days) {
         log.info("오래된 읽은 알림 정리 시작: {}일 이전", days);
         LocalDateTime beforeDate = LocalDateTime.now().minusDays(days);
-        List<Notification> oldNotifications = notificationRepository.findOldReadNotifications(beforeDate);
-
-        int deletedCount = oldNotifications.size();
-        notificationRepository.deleteAll(oldNotifications);
+        long deletedCount = notificationRetentionService.deleteReadBefore(beforeDate);
 
         log.info("오래된 읽은 알림 정리 완료: {}건 삭제", deletedCount);
-        return deletedCount;
+        return (int) deletedCount;
+    }
+
+    /**
+     * 기기 푸시 토큰 등록 (이미 있는 토큰이면 사용자·제공자를 갱신하고 다시 활성화)
+     * @param userId 사용자 ID
+     * @param provider 푸시 제공자
+     * @param token 푸시 토큰
+     * @return 등록된 기기 토큰
+     */
+    public DeviceToken registerDeviceToken(Long userId, DeviceToken.Provider provider, String token) {
+        User user = userRepository.findById(userId)
+            .orElseThrow(() -> new ResourceNotFoundException("사용자를 찾을 수 없습니다: " + userId));
+        DeviceToken deviceToken = deviceTokenRepository.findByToken(token)
+            .orElseGet(() -> DeviceToken.builder().token(token).build());
+        deviceToken.setUser(user);
+        deviceToken.setProvider(provider);
+        deviceToken.setActive(true);
+        deviceToken.setLastSeenAt(LocalDateTime.now());
+        log.info("기기 토큰 등록: userId={}, provider={}", userId, provider);
+        return deviceTokenRepository.save(deviceToken);
+    }
+
+    /**
+     * 기기 푸시 토큰 해제 (로그아웃·알림 끄기)
+     * @param token 푸시 토큰
+     */
+    public void unregisterDeviceToken(String token) {
+        deviceTokenRepository.findByToken(token).ifPresent(deviceToken -> {
+            deviceToken.setActive(false);
+            deviceTokenRepository.save(deviceToken);
+            log.info("기기 토큰 해제: deviceTokenId={}", deviceToken.getId());
+        });
+    }
+
+    /**
+     * 알림의 기기별 푸시 전달 상태 조회
+     * @param notificationId 알림 ID
+     * @return 전달 작업 목록 (상태, 시도 횟수, 지연)
+     */
+    @Transactional(readOnly = true)
+    public List<NotificationDelivery> getDeliveries(Long notificationId) {
+        getNotificationById(notificationId);
+        return notificationDeliveryRepository.findByNotificationIdOrderByIdAsc(notificationId);
     }
 
     /**
@@ -293,4 +389,46 @@ public class NotificationService {
         log.info("알림 타입별 통계 조회: userId={}", userId);
         return notificationRepository.countByTypeAndUserId(userId);
     }
+
+    /**
+     * is_read와 사용자의 읽음 기준선을 함께 본 실제 읽음 여부
+     * @param notification 알림
+     * @return 읽은 알림이면 true
+     */
+    private boolean isEffectivelyRead(Notification notification) {
+        if (Boolean.TRUE.equals(notification.getIsRead())) {
+            return true;
+        }
+        return notificationReadMarkRepository.findByUserId(notification.getUser().getUserId()).stream()
+            .anyMatch(mark -> mark.covers(notification));
+    }
+
+    /**
+     * 조회 결과에 읽음 기준선 반영
+     * 반영 값은 응답용이므로 바꾸기 전에 영속성 컨텍스트에서 분리한다. 같은 요청(open-in-view)의 이후 쓰기
+     * 트랜잭션이 이 컨텍스트를 flush해도 is_read가 저장되지 않는다.
+     * @param userId 사용자 ID
+     * @param notifications 조회된 알림
+     */
+    private void applyReadMarks(Long userId, List<Notification> notifications) {
+        if (notifications.isEmpty()) {
+            return;
+        }
+        List<NotificationReadMark> marks = notificationReadMarkRepository.findByUserId(userId);
+        if (marks.isEmpty()) {
+            return;
+        }
+        for (Notification notification : notifications) {
+            if (!Boolean.TRUE.equals(notification.getIsRead())
+                    && marks.stream().anyMatch(mark -> mark.covers(notification))) {
+                entityManager.detach(notification);
+                notification.setIsRead(true);
+            }
+        }
+    }
+
+    private Page<Notification> applyReadMarks(Long userId, Page<Notification> page) {
+        applyReadMarks(userId, page.getContent());
+        return page;
+    }
 }
@@ -1,7 +1,9 @@
 package ac.cbnu.heartcheck.service;
 
+import ac.cbnu.heartcheck.config.ResilienceConfig;
 import ac.cbnu.heartcheck.dto.voice.OpenAITokenRequest;
 import ac.cbnu.heartcheck.dto.voice.OpenAITokenResponse;
+import ac.cbnu.heartcheck.service.EphemeralTokenPool.MintedToken;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpEntity;
@@ -12,6 +14,8 @@ import org.springframework.stereotype.Service;
 import org.springframework.web.client.RestClientException;
 import org.springframework.web.client.RestTemplate;
 
+import java.time.Instant;
+
 /**
  * Service for interacting with OpenAI Realtime API.
  * Handles generation of ephemeral tokens for client-side voice interactions.
@@ -33,24 +37,33 @@ public class OpenAIRealtimeService {
     private String model;
 
     private final RestTemplate restTemplate;
+    private final DependencyGuard dependencyGuard;
 
     /**
      * Constructor with RestTemplate injection.
      *
      * @param restTemplate REST client for API calls
+     * @param dependencyGuard bulkhead and circuit breaker for OpenAI calls
      */
-    public OpenAIRealtimeService(RestTemplate restTemplate) {
+    public OpenAIRealtimeService(RestTemplate restTemplate, DependencyGuard dependencyGuard) {
         this.restTemplate = restTemplate;
+        this.dependencyGuard = dependencyGuard;
     }
 
     /**
      * Generates an ephemeral client secret for OpenAI Realtime API access.
      * This token is safe to use in client environments and has a short lifespan.
+     * Callers should normally take a pre-minted token from VoiceClientSecretPool instead.
      *
-     * @return The ephemeral token value
+     * @return The ephemeral token value and its expiry
      * @throws RestClientException if the API call fails
+     * @throws ac.cbnu.heartcheck.exception.DependencyUnavailableException if OpenAI calls are being shed
      */
-    public String generateClientSecret() {
+    public MintedToken generateClientSecret() {
+        return dependencyGuard.call(ResilienceConfig.OPENAI, this::requestClientSecret);
+    }
+
+    private MintedToken requestClientSecret() {
         log.info("[OpenAI] Generating ephemeral token for realtime session");
 
         try {
@@ -86,7 +99,15 @@ public class OpenAIRealtimeService {
             log.info("[OpenAI] Token generated successfully: {}...",
                     token.substring(0, Math.min(10, token.length())));
 
-            return token;
+            Instant expiresAt;
+            if (responseBody.getExpiresAt() != null) {
+                expiresAt = Instant.ofEpochSecond(responseBody.getExpiresAt());
+            } else if (responseBody.getExpiresIn() != null) {
+                expiresAt = Instant.now().plusSeconds(responseBody.getExpiresIn());
+            } else {
+                expiresAt = Instant.now().plusSeconds(60);
+            }
+            return new MintedToken(token, expiresAt);
 
         } catch (RestClientException e) {
             log.error("[OpenAI] Failed to generate token", e);
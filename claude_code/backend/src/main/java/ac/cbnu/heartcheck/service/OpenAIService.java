@@ -1,11 +1,14 @@
 package ac.cbnu.heartcheck.service;
 
+import ac.cbnu.heartcheck.config.ResilienceConfig;
+import ac.cbnu.heartcheck.service.EphemeralTokenPool.MintedToken;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.*;
 import org.springframework.stereotype.Service;
 import org.springframework.web.client.RestTemplate;
 
+import java.time.Instant;
 import java.util.Map;
 
 /**
@@ -18,12 +21,29 @@ public class OpenAIService {
     @Value("${openai.api.key}")
     private String openAiApiKey;
 
-    private final RestTemplate restTemplate = new RestTemplate();
+    @Value("${openai.realtime.sessions.url:https://api.openai.com/v1/realtime/sessions}")
+    private String sessionsUrl;
+
+    private final RestTemplate restTemplate;
+    private final DependencyGuard dependencyGuard;
+
+    public OpenAIService(RestTemplate restTemplate, DependencyGuard dependencyGuard) {
+        this.restTemplate = restTemplate;
+        this.dependencyGuard = dependencyGuard;
+    }
 
     /**
      * Generate ephemeral token for OpenAI Realtime API
+     * 음성 중계 시작 시에는 RealtimeProxyTokenPool을 통해 미리 발급된 토큰을 사용한다
+     *
+     * @return 토큰 값과 만료 시각
+     * @throws ac.cbnu.heartcheck.exception.DependencyUnavailableException OpenAI 호출이 차단된 경우
      */
-    public String generateEphemeralToken() {
+    public MintedToken generateEphemeralToken() {
+        return dependencyGuard.call(ResilienceConfig.OPENAI, this::requestEphemeralToken);
+    }
+
+    private MintedToken requestEphemeralToken() {
         try {
             log.info("[OpenAI Service] Generating ephemeral token");
 
@@ -40,7 +60,7 @@ public class OpenAIService {
             );
 
             ResponseEntity<Map> response = restTemplate.exchange(
-                    "https://api.openai.com/v1/realtime/sessions",
+                    sessionsUrl,
                     HttpMethod.POST,
                     request,
                     Map.class
@@ -50,9 +70,12 @@ public class OpenAIService {
                 @SuppressWarnings("unchecked")
                 Map<String, Object> clientSecret = (Map<String, Object>) response.getBody().get("client_secret");
                 String token = (String) clientSecret.get("value");
+                Object expiresAt = clientSecret.get("expires_at");
 
                 log.info("[OpenAI Service] Ephemeral token generated successfully");
-                return token;
+                return new MintedToken(token, expiresAt instanceof Number epochSeconds
+                        ? Instant.ofEpochSecond(epochSeconds.longValue())
+                        : Instant.now().plusSeconds(60));
             }
 
             throw new RuntimeException("Failed to generate ephemeral token: " + response.getStatusCode());
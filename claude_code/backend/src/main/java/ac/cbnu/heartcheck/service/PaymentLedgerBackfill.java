@@ -0,0 +1,66 @@
+package ac.cbnu.heartcheck.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+
+/**
+ * 결제 원장 이관 (시작 시)
+ *
+ * 운영 스키마는 Flyway 대신 JPA(ddl-auto=update)가 만들므로 V11의 기존 결제 이관 SQL이 실행되지 않는다.
+ * 애플리케이션이 준비되면 잠금(ClusterLeaseLock)을 가진 한 노드가 원장에 없는 완료·환불 결제를 원장으로 옮기고
+ * 스냅샷을 다시 만든다 (PaymentLedgerService.backfillFromPayments). 이미 옮긴 결제는 건너뛰므로 매번 실행해도 되며,
+ * 옮길 결제가 없으면 조회 두 문장으로 끝난다. 잠금을 얻지 못하거나 실패하면 다음 시작 때 다시 시도한다.
+ *
+ * @author CBNU Development Team
+ * @version 1.0.0
+ * @since 2024
+ */
+@Slf4j
+@Service
+public class PaymentLedgerBackfill {
+
+    static final String LOCK_NAME = "payments:ledger-backfill";
+
+    private final PaymentLedgerService paymentLedgerService;
+    private final ClusterLeaseLock clusterLeaseLock;
+    private final boolean enabled;
+    private final Duration lease;
+
+    public PaymentLedgerBackfill(PaymentLedgerService paymentLedgerService,
+                                 ClusterLeaseLock clusterLeaseLock,
+                                 @Value("${heart.payment.ledger.backfill-on-startup:true}") boolean enabled,
+                                 @Value("${heart.payment.ledger.backfill-lock-lease-seconds:600}") long leaseSeconds) {
+        this.paymentLedgerService = paymentLedgerService;
+        this.clusterLeaseLock = clusterLeaseLock;
+        this.enabled = enabled;
+        this.lease = Duration.ofSeconds(leaseSeconds);
+    }
+
+    /**
+     * 애플리케이션 시작 후 이관 (클러스터에서 한 노드만)
+     * @return 옮긴 원장 행 수 (건너뛰었거나 실패하면 0)
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public int backfill() {
+        if (!enabled) {
+            return 0;
+        }
+        if (!clusterLeaseLock.tryAcquire(LOCK_NAME, lease)) {
+            log.debug("Payment ledger backfill skipped, another node holds the lock");
+            return 0;
+        }
+        try {
+            return paymentLedgerService.backfillFromPayments();
+        } catch (Exception e) {
+            log.error("Payment ledger backfill failed", e);
+            return 0;
+        } finally {
+            clusterLeaseLock.release(LOCK_NAME);
+        }
+    }
+}
@@ -0,0 +1,182 @@
+package ac.cbnu.heartcheck.service;
+
+import ac.cbnu.heartcheck.entity.Payment;
+import ac.cbnu.heartcheck.entity.PaymentLedgerEntry;
+import ac.cbnu.heartcheck.entity.PaymentLedgerEntry.EventType;
+import ac.cbnu.heartcheck.repository.DailyRevenueSnapshotRepository;
+import ac.cbnu.heartcheck.repository.PaymentLedgerRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * 결제 원장·일별 매출 스냅샷 서비스
+ *
+ * 결제가 확정·환불되는 트랜잭션 안에서 원장 행을 추가하고, 같은 트랜잭션에서 그 날짜의 스냅샷 행에 건수·금액을 더한다.
+ * 매출은 온전히 포함된 날짜를 스냅샷 합계로, 기간 양 끝의 하루 안쪽 구간만 원장(occurred_at 인덱스)으로 계산한다.
+ * 요금제별 통계도 스냅샷 합계로 답한다. 스냅샷이 어긋나면 원장에서 기간 단위로 다시 만든다 (rebuildSnapshots).
+ *
+ * 같은 결제의 같은 이벤트는 한 번만 기록한다 (원장 유니크 키).
+ * 원장 도입 전 결제는 backfillFromPayments가 원장으로 옮기고 스냅샷을 다시 만든다 (PaymentLedgerBackfill이 시작 시 실행).
+ *
+ * @author CBNU Development Team
+ * @version 1.1.0
+ * @since 2024
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class PaymentLedgerService {
+
+    private final PaymentLedgerRepository paymentLedgerRepository;
+    private final DailyRevenueSnapshotRepository dailyRevenueSnapshotRepository;
+
+    /**
+     * 구매 기록 (결제 확정 트랜잭션 안에서 호출)
+     * 금액은 지금의 요금제 가격을 복사해 둔다.
+     * @param payment 확정된 결제
+     * @param occurredAt 확정 시각
+     * @return 추가한 원장 행 (이미 기록돼 있으면 빈 값)
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public Optional<PaymentLedgerEntry> recordPurchase(Payment payment, LocalDateTime occurredAt) {
+        if (paymentLedgerRepository.findByPaymentIdAndEventType(payment.getId(), EventType.PURCHASE).isPresent()) {
+            return Optional.empty();
+        }
+        return Optional.of(append(payment, EventType.PURCHASE, payment.getCostModel().getCost(), occurredAt));
+    }
+
+    /**
+     * 환불 기록 (환불 트랜잭션 안에서 호출)
+     * 구매 때 기록한 금액을 음수로 남긴다. 원장 도입 전 결제라 구매 행이 없으면 지금의 요금제 가격을 쓴다.
+     * @param payment 환불된 결제
+     * @param occurredAt 환불 시각
+     * @return 추가한 원장 행 (이미 기록돼 있으면 빈 값)
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public Optional<PaymentLedgerEntry> recordRefund(Payment payment, LocalDateTime occurredAt) {
+        if (paymentLedgerRepository.findByPaymentIdAndEventType(payment.getId(), EventType.REFUND).isPresent()) {
+            return Optional.empty();
+        }
+        int paid = paymentLedgerRepository.findByPaymentIdAndEventType(payment.getId(), EventType.PURCHASE)
+                .map(PaymentLedgerEntry::getAmount)
+                .orElseGet(() -> payment.getCostModel().getCost());
+        return Optional.of(append(payment, EventType.REFUND, -paid, occurredAt));
+    }
+
+    /**
+     * 기간 매출 (순매출: 구매 - 환불)
+     * @param start 시작 시각 (포함)
+     * @param end 종료 시각 (포함)
+     * @return 매출액
+     */
+    public long calculateRevenue(LocalDateTime start, LocalDateTime end) {
+        if (end.isBefore(start)) {
+            return 0;
+        }
+        // 00:00부터 23:59:59.999999999까지 모두 포함된 날짜만 스냅샷으로
+        LocalDate firstFullDay = start.toLocalTime().equals(LocalTime.MIDNIGHT)
+                ? start.toLocalDate() : start.toLocalDate().plusDays(1);
+        LocalDate lastFullDay = end.toLocalTime().equals(LocalTime.MAX)
+                ? end.toLocalDate() : end.toLocalDate().minusDays(1);
+        if (firstFullDay.isAfter(lastFullDay)) {
+            return paymentLedgerRepository.sumAmountBetween(start, end);
+        }
+
+        long revenue = dailyRevenueSnapshotRepository.sumNetAmountBetween(firstFullDay, lastFullDay);
+        if (start.toLocalDate().isBefore(firstFullDay)) {
+            revenue += paymentLedgerRepository.sumAmountBetween(start, start.toLocalDate().atTime(LocalTime.MAX));
+        }
+        if (end.toLocalDate().isAfter(lastFullDay)) {
+            revenue += paymentLedgerRepository.sumAmountBetween(end.toLocalDate().atStartOfDay(), end);
+        }
+        return revenue;
+    }
+
+    /**
+     * 요금제별 유효 결제 건수 (구매 - 환불)
+     * @return [요금제 유형, 건수]
+     */
+    public List<Object[]> countByPlanType() {
+        return dailyRevenueSnapshotRepository.countByPlanType();
+    }
+
+    /**
+     * 기간 내 스냅샷을 원장에서 다시 만듦
+     * @param from 시작일 (포함)
+     * @param to 종료일 (포함)
+     * @return 만든 스냅샷 행 수
+     */
+    @Transactional
+    public int rebuildSnapshots(LocalDate from, LocalDate to) {
+        if (to.isBefore(from)) {
+            throw new IllegalStateException("종료일이 시작일보다 빠릅니다");
+        }
+        int deleted = dailyRevenueSnapshotRepository.deleteBySnapshotDateBetween(from, to);
+        int rebuilt = dailyRevenueSnapshotRepository.rebuildFromLedger(from, to, LocalDateTime.now());
+        log.info("매출 스냅샷 재구성: {} ~ {}, 삭제 {}행, 생성 {}행", from, to, deleted, rebuilt);
+        return rebuilt;
+    }
+
+    /**
+     * 원장 전체 기간의 스냅샷을 다시 만듦
+     * @return 만든 스냅샷 행 수 (원장이 비었으면 0)
+     */
+    @Transactional
+    public int rebuildAllSnapshots() {
+        Optional<LocalDate> first = paymentLedgerRepository.findFirstBusinessDate();
+        Optional<LocalDate> last = paymentLedgerRepository.findLastBusinessDate();
+        if (first.isEmpty() || last.isEmpty()) {
+            return 0;
+        }
+        return rebuildSnapshots(first.get(), last.get());
+    }
+
+    /**
+     * 원장에 없는 완료·환불 결제를 원장으로 옮기고, 옮긴 행이 있으면 전체 스냅샷을 다시 만듦
+     * 이미 옮긴 결제는 건너뛰므로 몇 번을 실행해도 결과가 같다.
+     * @return 옮긴 원장 행 수
+     */
+    @Transactional
+    public int backfillFromPayments() {
+        LocalDateTime now = LocalDateTime.now();
+        int purchases = paymentLedgerRepository.backfillPurchases(now);
+        int refunds = paymentLedgerRepository.backfillRefunds(now);
+        if (purchases + refunds == 0) {
+            return 0;
+        }
+        int rebuilt = rebuildAllSnapshots();
+        log.info("결제 원장 이관: 구매 {}행, 환불 {}행, 스냅샷 {}행 재구성", purchases, refunds, rebuilt);
+        return purchases + refunds;
+    }
+
+    private PaymentLedgerEntry append(Payment payment, EventType eventType, int amount, LocalDateTime occurredAt) {
+        PaymentLedgerEntry entry = paymentLedgerRepository.save(PaymentLedgerEntry.builder()
+                .paymentId(payment.getId())
+                .userId(payment.getUser().getUserId())
+                .costId(payment.getCostModel().getCostId())
+                .planType(payment.getCostModel().getType())
+                .storeInfo(payment.getStoreInfo())
+                .eventType(eventType)
+                .amount(amount)
+                .occurredAt(occurredAt)
+                .businessDate(occurredAt.toLocalDate())
+                .build());
+
+        boolean purchase = eventType == EventType.PURCHASE;
+        dailyRevenueSnapshotRepository.accumulate(entry.getBusinessDate(), entry.getPlanType().name(),
+                entry.getStoreInfo(), purchase ? 1 : 0, purchase ? 0 : 1,
+                purchase ? amount : 0, purchase ? 0 : -amount, amount, LocalDateTime.now());
+        log.debug("Payment ledger {}: payment ID={}, amount={}", eventType, payment.getId(), amount);
+        return entry;
+    }
+}
@@ -10,8 +10,10 @@ import ac.cbnu.heartcheck.repository.CostModelRepository;
 import ac.cbnu.heartcheck.repository.PaymentRepository;
 import ac.cbnu.heartcheck.repository.SubscriptionRepository;
 import ac.cbnu.heartcheck.repository.UserRepository;
+import ac.cbnu.heartcheck.service.ReceiptVerificationClient.Receipt;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
@@ -19,6 +21,7 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
 
@@ -26,8 +29,12 @@ import java.util.List;
  * PaymentService for Heart Doctor system
  * 결제 관리 비즈니스 로직
  *
+ * 결제 완료는 두 단계로 나뉜다. 완료 요청은 VERIFYING 기록만 하고 바로 돌아가며,
+ * 스토어 영수증 검증과 결제·구독 확정은 PaymentVerificationWorker가 맡는다 (검증 중에는 DB 연결을 잡지 않음).
+ * 확정·환불은 같은 트랜잭션에서 결제 원장에 남기며, 매출·요금제별 통계는 원장에서 만든 일별 스냅샷으로 답한다.
+ *
  * @author CBNU Development Team
- * @version 1.0
+ * @version 1.2
  * @since 2024
  */
 @Slf4j
@@ -41,6 +48,8 @@ public class PaymentService {
     private final CostModelRepository costModelRepository;
     private final SubscriptionRepository subscriptionRepository;
     private final SubscriptionService subscriptionService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final PaymentLedgerService paymentLedgerService;
 
     /**
      * 결제 생성 (초기 상태: PENDING)
@@ -80,10 +89,12 @@ public class PaymentService {
     }
 
     /**
-     * 결제 검증 및 완료 처리
+     * 결제 완료 요청 (영수증 검증 대기 기록)
+     * 결제를 VERIFYING으로 기록하고 바로 돌아간다. 스토어 영수증 검증은 커밋 후 PaymentVerificationWorker가
+     * 트랜잭션 밖에서 수행하고, 결과는 finishVerification으로 짧은 트랜잭션에서 확정한다.
      * @param paymentId 결제 ID
      * @param transactionId 트랜잭션 ID (영수증 번호)
-     * @return 완료된 결제
+     * @return 검증 중인 결제
      */
     @Transactional
     public Payment completePayment(Long paymentId, String transactionId) {
@@ -96,59 +107,125 @@ public class PaymentService {
             throw new IllegalStateException("이미 완료된 결제입니다");
         }
 
+        if (payment.isVerifying()) {
+            throw new IllegalStateException("이미 검증 중인 결제입니다");
+        }
+
         if (payment.isCanceled() || payment.isRefunded()) {
             throw new IllegalStateException("취소 또는 환불된 결제는 완료할 수 없습니다");
         }
 
-        // 트랜잭션 ID 중복 확인
-        if (transactionId != null) {
-            paymentRepository.findByTransactionId(transactionId).ifPresent(existing -> {
-                if (!existing.getId().equals(paymentId)) {
-                    throw new IllegalStateException("이미 사용된 트랜잭션 ID입니다: " + transactionId);
-                }
-            });
+        if (transactionId == null || transactionId.isBlank()) {
+            throw new IllegalStateException("트랜잭션 ID는 필수입니다");
         }
 
-        // TODO: 실제 결제 게이트웨이 검증 로직 추가
-        // - Google Play Billing API 검증
-        // - Apple App Store Receipt Validation
-        boolean verified = verifyPaymentWithGateway(payment, transactionId);
-
-        if (verified) {
-            // 결제 완료 처리
-            payment.markAsSuccess(transactionId);
-            Payment completed = paymentRepository.save(payment);
-
-            // 구독 생성
-            try {
-                Subscription subscription = subscriptionService.createSubscription(
-                        payment.getUser().getUserId(),
-                        payment.getCostModel().getCostId()
-                );
-
-                // 구독 활성화
-                subscriptionService.activateSubscription(subscription.getId());
-
-                // 결제와 구독 연결
-                payment.setSubscription(subscription);
-                paymentRepository.save(payment);
-
-                log.info("Payment completed and subscription activated: payment ID={}, subscription ID={}",
-                        completed.getId(), subscription.getId());
-            } catch (Exception e) {
-                log.error("Failed to create subscription after payment completion", e);
-                // 결제는 성공했지만 구독 생성 실패 - 수동 처리 필요
-                // TODO: 알림 또는 재시도 로직 추가
+        // 트랜잭션 ID 중복 확인
+        paymentRepository.findByTransactionId(transactionId).ifPresent(existing -> {
+            if (!existing.getId().equals(paymentId)) {
+                throw new IllegalStateException("이미 사용된 트랜잭션 ID입니다: " + transactionId);
             }
+        });
 
-            return completed;
-        } else {
-            // 결제 실패 처리
+        payment.markAsVerifying(transactionId);
+        Payment verifying = paymentRepository.save(payment);
+        eventPublisher.publishEvent(new PaymentVerificationRequestedEvent(verifying.getId()));
+
+        log.info("Payment awaiting receipt verification: payment ID={}", paymentId);
+        return verifying;
+    }
+
+    /**
+     * 영수증 검증 점유 (검증 작업자)
+     * 시도할 때가 된 VERIFYING 결제만 점유되며, 시도 횟수를 올리고 리스가 끝날 때까지 다른 작업자가 가져가지 못하게 한다.
+     * @param paymentId 결제 ID
+     * @param now 현재 시각
+     * @param leaseUntil 점유 리스 만료 시각 (작업자가 죽으면 이후 다시 시도)
+     * @return 검증할 영수증 (이미 점유됐거나 검증 중이 아니면 null)
+     */
+    @Transactional
+    public Receipt claimVerification(Long paymentId, LocalDateTime now, LocalDateTime leaseUntil) {
+        if (paymentRepository.claimVerification(paymentId, now, leaseUntil) == 0) {
+            return null;
+        }
+        Payment payment = paymentRepository.findWithCostModelById(paymentId)
+                .orElseThrow(() -> new IllegalArgumentException("결제를 찾을 수 없습니다: " + paymentId));
+        return new Receipt(payment.getId(), StoreType.fromCode(payment.getStoreInfo()), payment.getTransactionId(),
+                payment.getCostModel().getType(), payment.getVerifyAttempts());
+    }
+
+    /**
+     * 영수증 검증 결과 확정 (검증 작업자)
+     * 확인되면 결제를 완료하고 구독을 반영(활성 구독 연장 또는 생성·활성화)해 연결하며, 거절되면 결제를 실패 처리한다.
+     * 이미 확정된 결제(다른 작업자가 먼저 확정, 취소 등)는 그대로 둔다.
+     * @param paymentId 결제 ID
+     * @param verified 영수증 확인 여부
+     * @param error 거절 사유 (확인되면 null)
+     * @return 결제
+     */
+    @Transactional
+    public Payment finishVerification(Long paymentId, boolean verified, String error) {
+        Payment payment = paymentRepository.findWithCostModelById(paymentId)
+                .orElseThrow(() -> new IllegalArgumentException("결제를 찾을 수 없습니다: " + paymentId));
+
+        if (!payment.isVerifying()) {
+            log.info("Payment no longer verifying, skipping: payment ID={}, status={}", paymentId, payment.getStatus());
+            return payment;
+        }
+
+        payment.setNextVerifyAt(null);
+        payment.setVerifyError(truncate(error));
+        if (!verified) {
             payment.markAsFailed();
             Payment failed = paymentRepository.save(payment);
-            log.warn("Payment verification failed: payment ID={}", paymentId);
-            throw new IllegalStateException("결제 검증에 실패했습니다");
+            log.warn("Payment verification failed: payment ID={}, reason={}", paymentId, error);
+            return failed;
         }
+
+        // 결제 완료 처리 (원장·일별 스냅샷도 같은 트랜잭션에서 기록)
+        payment.markAsSuccess(payment.getTransactionId());
+        Payment completed = paymentRepository.save(payment);
+        paymentLedgerService.recordPurchase(completed, completed.getPayTime());
+
+        // 구독 반영 (활성 구독이 있으면 연장, 없으면 생성·활성화)
+        // 예외는 잡지 않는다. 같은 트랜잭션이 rollback-only가 되므로 결제까지 되돌려 VERIFYING으로 두고,
+        // 점유 리스가 끝나면 작업자가 다시 확정한다 (시도 횟수 상한은 PaymentVerificationWorker가 적용)
+        Subscription subscription = subscriptionService.renewSubscription(
+                payment.getUser().getUserId(),
+                payment.getCostModel().getCostId()
+        );
+
+        // 결제와 구독 연결
+        payment.setSubscription(subscription);
+        paymentRepository.save(payment);
+
+        log.info("Payment completed and subscription renewed: payment ID={}, subscription ID={}",
+                completed.getId(), subscription.getId());
+        return completed;
+    }
+
+    /**
+     * 영수증 검증 재시도 예약 (검증 작업자)
+     * @param paymentId 결제 ID
+     * @param nextVerifyAt 다음 시도 시각
+     * @param error 이번 시도 실패 사유
+     * @return 예약되면 true (검증 중이 아니면 false)
+     */
+    @Transactional
+    public boolean retryVerification(Long paymentId, LocalDateTime nextVerifyAt, String error) {
+        return paymentRepository.rescheduleVerification(paymentId, nextVerifyAt, truncate(error)) > 0;
+    }
+
+    /**
+     * 영수증 검증 연기 (검증 작업자, 스토어 인증 오류)
+     * 자격 증명 설정 문제는 결제 탓이 아니므로 점유 때 올린 시도 횟수를 되돌리고 다음 시도 시각만 미룬다.
+     * @param paymentId 결제 ID
+     * @param nextVerifyAt 다음 시도 시각
+     * @param error 인증 오류 사유
+     * @return 연기되면 true (검증 중이 아니면 false)
+     */
+    @Transactional
+    public boolean deferVerification(Long paymentId, LocalDateTime nextVerifyAt, String error) {
+        return paymentRepository.deferVerification(paymentId, nextVerifyAt, truncate(error)) > 0;
     }
 
     /**
@@ -229,6 +306,7 @@ public class PaymentService {
         if (refunded) {
             payment.markAsRefunded();
             Payment refundedPayment = paymentRepository.save(payment);
+            paymentLedgerService.recordRefund(refundedPayment, LocalDateTime.now());
 
             // 연결된 구독이 있으면 취소 처리
             if (payment.getSubscription() != null) {
@@ -311,22 +389,35 @@ public class PaymentService {
     }
 
     /**
-     * 특정 기간의 매출 계산
+     * 특정 기간의 매출 계산 (일별 스냅샷 합산, 결제 당시 금액 기준 순매출)
      * @param startDate 시작일
      * @param endDate 종료일
      * @return 매출액
      */
     public BigDecimal calculateRevenue(LocalDateTime startDate, LocalDateTime endDate) {
-        BigDecimal revenue = paymentRepository.calculateRevenueByDateRange(startDate, endDate);
-        return revenue != null ? revenue : BigDecimal.ZERO;
+        return BigDecimal.valueOf(paymentLedgerService.calculateRevenue(startDate, endDate));
     }
 
     /**
-     * 요금제별 결제 통계
-     * @return 요금제별 결제 건수
+     * 요금제별 결제 통계 (일별 스냅샷 합산)
+     * @return 요금제별 결제 건수 (구매 - 환불)
      */
     public List<Object[]> getPaymentStatsByPlan() {
-        return paymentRepository.countByCostModelType();
+        return paymentLedgerService.countByPlanType();
+    }
+
+    /**
+     * 일별 매출 스냅샷 재구성 (결제 원장에서)
+     * @param from 시작일 (없으면 원장 전체)
+     * @param to 종료일 (없으면 원장 전체)
+     * @return 만든 스냅샷 행 수
+     */
+    @Transactional
+    public int rebuildRevenueSnapshots(LocalDate from, LocalDate to) {
+        if (from == null || to == null) {
+            return paymentLedgerService.rebuildAllSnapshots();
+        }
+        return paymentLedgerService.rebuildSnapshots(from, to);
     }
 
     /**
@@ -345,54 +436,6 @@ public class PaymentService {
         }
     }
 
-    /**
-     * 결제 게이트웨이 검증 (구현 필요)
-     * @param payment 결제 정보
-     * @param transactionId 트랜잭션 ID
-     * @return 검증 성공 여부
-     */
-    private boolean verifyPaymentWithGateway(Payment payment, String transactionId) {
-        log.debug("Verifying payment with gateway: payment ID={}, transaction ID={}",
-                payment.getId(), transactionId);
-
-        // TODO: 실제 결제 게이트웨이 검증 구현
-        if (payment.isGooglePlay()) {
-            // Google Play Billing API 검증
-            return verifyGooglePlayPurchase(transactionId);
-        } else if (payment.isAppStore()) {
-            // Apple App Store Receipt Validation
-            return verifyAppStoreReceipt(transactionId);
-        }
-
-        return false;
-    }
-
-    /**
-     * Google Play 구매 검증 (구현 필요)
-     * @param transactionId 트랜잭션 ID
-     * @return 검증 성공 여부
-     */
-    private boolean verifyGooglePlayPurchase(String transactionId) {
-        log.debug("Verifying Google Play purchase: {}", transactionId);
-        // TODO: Google Play Developer API 연동
-        // - packageName, productId, token으로 검증
-        // - 구매 상태 확인 (purchased, canceled, pending)
-        return true; // 임시로 true 반환
-    }
-
-    /**
-     * Apple App Store 영수증 검증 (구현 필요)
-     * @param transactionId 트랜잭션 ID
-     * @return 검증 성공 여부
-     */
-    private boolean verifyAppStoreReceipt(String transactionId) {
-        log.debug("Verifying App Store receipt: {}", transactionId);
-        // TODO: Apple App Store Server API 연동
-        // - receipt-data를 Apple 서버에 전송하여 검증
-        // - 구매 상태 및 유효성 확인
-        return true; // 임시로 true 반환
-    }
-
     /**
      * 환불 게이트웨이 처리 (구현 필요)
      * @param payment 결제 정보
@@ -434,4 +477,15 @@ public class PaymentService {
         // TODO: Apple App Store Server API 환불 요청
         return true; // 임시로 true 반환
     }
+
+    private static String truncate(String error) {
+        return error != null && error.length() > 500 ? error.substring(0, 500) : error;
+    }
+
+    /**
+     * 영수증 검증 요청 이벤트 (커밋 후 PaymentVerificationWorker가 검증 시작)
+     * @param paymentId 결제 ID
+     */
+    public record PaymentVerificationRequestedEvent(Long paymentId) {
+    }
 }
@@ -0,0 +1,250 @@
+package ac.cbnu.heartcheck.service;
+
+import ac.cbnu.heartcheck.repository.PaymentRepository;
+import ac.cbnu.heartcheck.service.PaymentService.PaymentVerificationRequestedEvent;
+import ac.cbnu.heartcheck.service.ReceiptVerificationClient.Outcome;
+import ac.cbnu.heartcheck.service.ReceiptVerificationClient.Receipt;
+import ac.cbnu.heartcheck.service.ReceiptVerificationClient.Verification;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 결제 영수증 검증 작업자
+ *
+ * 완료 요청으로 VERIFYING이 된 결제를 작업자 풀(heart.payment.verification.workers)에서 스토어에 검증하고 확정한다.
+ * 결제 하나의 처리는 세 단계이며, 스토어 호출 동안에는 DB 트랜잭션·연결을 잡고 있지 않다.
+ * 1. 점유: 조건부 UPDATE 한 문장으로 시도 횟수를 올리고 next_verify_at을 리스 만료 시각으로 미룸 (PaymentService.claimVerification)
+ * 2. 검증: ReceiptVerificationClient로 스토어 조회 (트랜잭션 밖)
+ * 3. 확정: 확인이면 결제 완료 + 구독 생성·활성화, 거절이면 실패 (PaymentService.finishVerification, 짧은 트랜잭션)
+ *    재시도 대상은 지수 백오프(full jitter, Retry-After 이상)로 next_verify_at을 미루고, max-attempts를 다 쓰면 실패 처리한다
+ *    확정이 예외로 끝나면(트랜잭션 전체가 되돌아감) 리스가 끝난 뒤 다시 시도하며, 점유 시 max-attempts를 넘었으면
+ *    스토어를 호출하지 않고 실패 처리하므로 어떤 결과로 끝나든 시도 횟수는 상한을 넘지 않는다
+ *    스토어 인증 오류(401·403, 토큰 발급 실패)는 자격 증명 설정 문제이므로 시도 횟수를 되돌리고 max-backoff 뒤로 미루며 오류 로그를 남긴다
+ *
+ * 완료 요청이 커밋되면 바로 풀에 넣고, poll-interval마다 시도할 때가 된 결제(재시도 예약, 리스가 끝난 점유)를 다시 넣는다.
+ * 점유가 조건부 UPDATE이므로 여러 노드가 같은 결제를 동시에 집어도 한 곳만 검증한다.
+ *
+ * 지표
+ * - payment.verification.verified / rejected / retried / failed: 결과별 결제 수 (스토어 태그)
+ * - payment.verification.unauthorized: 스토어 인증 오류로 미룬 결제 수 (0이 아니면 자격 증명 설정 확인, 알림 대상)
+ * - payment.verification.request: 스토어 요청 단위 지연 (ReceiptVerificationClient)
+ *
+ * @author CBNU Development Team
+ * @version 1.1.0
+ * @since 2024
+ */
+@Slf4j
+@Service
+public class PaymentVerificationWorker {
+
+    private final PaymentRepository paymentRepository;
+    private final PaymentService paymentService;
+    private final ReceiptVerificationClient receiptVerificationClient;
+    private final MeterRegistry meterRegistry;
+    private final int pollBatchSize;
+    private final int maxAttempts;
+    private final Duration lease;
+    private final Duration backoff;
+    private final Duration maxBackoff;
+    private final Clock clock;
+    private final ExecutorService workers;
+
+    /** 풀에 들어가 있거나 처리 중인 결제 (같은 결제를 두 번 넣지 않음) */
+    private final Set<Long> inFlight = ConcurrentHashMap.newKeySet();
+
+    public PaymentVerificationWorker(PaymentRepository paymentRepository,
+                                     PaymentService paymentService,
+                                     ReceiptVerificationClient receiptVerificationClient,
+                                     MeterRegistry meterRegistry,
+                                     @Value("${heart.payment.verification.workers:8}") int workers,
+                                     @Value("${heart.payment.verification.poll-batch-size:100}") int pollBatchSize,
+                                     @Value("${heart.payment.verification.max-attempts:8}") int maxAttempts,
+                                     @Value("${heart.payment.verification.lease-ms:60000}") long leaseMillis,
+                                     @Value("${heart.payment.verification.backoff-ms:2000}") long backoffMillis,
+                                     @Value("${heart.payment.verification.max-backoff-ms:600000}") long maxBackoffMillis) {
+        this(paymentRepository, paymentService, receiptVerificationClient, meterRegistry, workerPool(workers),
+                pollBatchSize, maxAttempts, Duration.ofMillis(leaseMillis), Duration.ofMillis(backoffMillis),
+                Duration.ofMillis(maxBackoffMillis), Clock.systemDefaultZone());
+    }
+
+    PaymentVerificationWorker(PaymentRepository paymentRepository, PaymentService paymentService,
+                              ReceiptVerificationClient receiptVerificationClient, MeterRegistry meterRegistry,
+                              ExecutorService workers, int pollBatchSize, int maxAttempts,
+                              Duration lease, Duration backoff, Duration maxBackoff, Clock clock) {
+        this.paymentRepository = paymentRepository;
+        this.paymentService = paymentService;
+        this.receiptVerificationClient = receiptVerificationClient;
+        this.meterRegistry = meterRegistry;
+        this.workers = workers;
+        this.pollBatchSize = pollBatchSize;
+        this.maxAttempts = Math.max(1, maxAttempts);
+        this.lease = lease;
+        this.backoff = backoff;
+        this.maxBackoff = maxBackoff;
+        this.clock = clock;
+        meterRegistry.gauge("payment.verification.in_flight", inFlight, Set::size);
+    }
+
+    private static ExecutorService workerPool(int size) {
+        AtomicInteger sequence = new AtomicInteger();
+        return Executors.newFixedThreadPool(Math.max(1, size), runnable -> {
+            Thread thread = new Thread(runnable, "payment-verify-" + sequence.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        // 검증 중이던 결제는 리스가 끝나면 다른 노드(또는 재시작한 이 노드)가 다시 검증
+        workers.shutdownNow();
+    }
+
+    /**
+     * 완료 요청 커밋 후 바로 검증 시작
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onVerificationRequested(PaymentVerificationRequestedEvent event) {
+        submit(event.paymentId());
+    }
+
+    /**
+     * 시도할 때가 된 검증 중 결제를 풀에 넣음 (재시도 예약, 리스가 끝난 점유, 커밋 직후 놓친 요청)
+     * @return 새로 넣은 결제 수
+     */
+    @Scheduled(fixedDelayString = "${heart.payment.verification.poll-interval-ms:5000}")
+    public int poll() {
+        int capacity = pollBatchSize - inFlight.size();
+        if (capacity <= 0) {
+            return 0;
+        }
+        try {
+            List<Long> due = paymentRepository.findDueVerificationIds(LocalDateTime.now(clock),
+                    PageRequest.of(0, capacity));
+            int submitted = 0;
+            for (Long paymentId : due) {
+                if (submit(paymentId)) {
+                    submitted++;
+                }
+            }
+            return submitted;
+        } catch (Exception e) {
+            log.error("Payment verification poll failed", e);
+            return 0;
+        }
+    }
+
+    /**
+     * 결제 검증을 작업자 풀에 넣음
+     * @param paymentId 결제 ID
+     * @return 넣었으면 true (이미 처리 중이거나 풀이 닫혔으면 false)
+     */
+    boolean submit(Long paymentId) {
+        if (!inFlight.add(paymentId)) {
+            return false;
+        }
+        try {
+            workers.execute(() -> {
+                try {
+                    verify(paymentId);
+                } catch (Exception e) {
+                    // 점유 리스가 끝나면 poll이 다시 시도
+                    log.error("Payment verification failed: payment ID={}", paymentId, e);
+                } finally {
+                    inFlight.remove(paymentId);
+                }
+            });
+            return true;
+        } catch (RejectedExecutionException e) {
+            inFlight.remove(paymentId);
+            return false;
+        }
+    }
+
+    /**
+     * 결제 하나 점유·검증·확정
+     * @param paymentId 결제 ID
+     * @return 검증 결과 분류 (점유하지 못했으면 null)
+     */
+    Outcome verify(Long paymentId) {
+        LocalDateTime now = LocalDateTime.now(clock);
+        Receipt receipt = paymentService.claimVerification(paymentId, now, now.plus(lease));
+        if (receipt == null) {
+            return null;
+        }
+
+        String store = receipt.store().getCode();
+        if (receipt.attempts() > maxAttempts) {
+            // 이전 시도가 확정 전에 끝남 (확정 트랜잭션 실패, 작업자 중단 등) - 결과와 무관하게 상한에서 멈춤
+            paymentService.finishVerification(paymentId, false, "Verification attempts exhausted");
+            meterRegistry.counter("payment.verification.failed", "store", store).increment();
+            log.error("Payment verification attempts exhausted: payment ID={}, attempts={}",
+                    paymentId, receipt.attempts());
+            return Outcome.REJECTED;
+        }
+
+        Verification verification = receiptVerificationClient.verify(receipt);
+        switch (verification.outcome()) {
+            case VERIFIED -> {
+                paymentService.finishVerification(paymentId, true, null);
+                meterRegistry.counter("payment.verification.verified", "store", store).increment();
+            }
+            case REJECTED -> {
+                paymentService.finishVerification(paymentId, false, verification.error());
+                meterRegistry.counter("payment.verification.rejected", "store", store).increment();
+            }
+            case RETRY -> {
+                if (receipt.attempts() >= maxAttempts) {
+                    paymentService.finishVerification(paymentId, false, verification.error());
+                    meterRegistry.counter("payment.verification.failed", "store", store).increment();
+                } else {
+                    Duration wait = backoff(receipt.attempts());
+                    if (verification.retryAfter() != null && verification.retryAfter().compareTo(wait) > 0) {
+                        wait = verification.retryAfter();
+                    }
+                    paymentService.retryVerification(paymentId, LocalDateTime.now(clock).plus(wait),
+                            verification.error());
+                    meterRegistry.counter("payment.verification.retried", "store", store).increment();
+                }
+            }
+            case UNAUTHORIZED -> {
+                paymentService.deferVerification(paymentId, LocalDateTime.now(clock).plus(maxBackoff),
+                        verification.error());
+                meterRegistry.counter("payment.verification.unauthorized", "store", store).increment();
+                log.error("Store rejected verification credentials, check {} credentials: payment ID={}, error={}",
+                        store, paymentId, verification.error());
+            }
+        }
+        log.debug("Payment verification: payment ID={}, attempt={}, outcome={}",
+                paymentId, receipt.attempts(), verification.outcome());
+        return verification.outcome();
+    }
+
+    /**
+     * 재시도 대기 시간 (full jitter: 0 ~ min(max, base * 2^(attempts-1)))
+     * @param attempts 지금까지의 시도 횟수 (1부터)
+     */
+    Duration backoff(int attempts) {
+        long ceiling = Math.min(maxBackoff.toMillis(), backoff.toMillis() << Math.min(Math.max(attempts - 1, 0), 20));
+        return Duration.ofMillis(ceiling > 0 ? ThreadLocalRandom.current().nextLong(ceiling + 1) : 0);
+    }
+}
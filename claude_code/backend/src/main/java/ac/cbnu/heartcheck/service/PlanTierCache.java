@@ -0,0 +1,69 @@
+package ac.cbnu.heartcheck.service;
+
+import ac.cbnu.heartcheck.entity.UserType;
+import ac.cbnu.heartcheck.service.EntitlementCache.Entitlement;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+
+/**
+ * 요금제 등급 조회
+ * 사용자별 요금제 등급(무료/구독/무제한)을 구독 권한 Near-Cache(EntitlementCache)의 항목에서 계산하여
+ * 사용량 허용 검사 시 DB 조회를 없앤다
+ *
+ * 등급용 키를 따로 두지 않으므로 구독 변경 시 무효화, TTL, Redis 장애 중 노드 메모리 보조 캐시는
+ * 모두 EntitlementCache를 따른다. 구독 유효 여부는 읽을 때 종료 시각과 비교해 판단한다.
+ *
+ * @author CBNU Development Team
+ * @version 1.3.0
+ * @since 2024
+ */
+@Component
+@RequiredArgsConstructor
+public class PlanTierCache {
+
+    private final EntitlementCache entitlementCache;
+
+    /**
+     * 사용자의 요금제 등급 조회 (캐시 우선)
+     * @param userId 사용자 ID
+     * @return 요금제 등급
+     */
+    public PlanTier get(Long userId) {
+        return PlanTier.of(entitlementCache.get(userId), LocalDateTime.now());
+    }
+
+    /**
+     * 요금제 등급
+     * @param userType 사용자 타입 (FREE_USER는 총 사용량, 그 외는 일일 사용량으로 제한)
+     * @param limit 허용 횟수
+     * @param unlimited 무제한 여부 (관리자/의사)
+     */
+    public record PlanTier(UserType userType, int limit, boolean unlimited) {
+
+        public static PlanTier freeTier() {
+            return new PlanTier(UserType.FREE_USER, UserType.FREE_USER.getTotalTestLimit(), false);
+        }
+
+        public static PlanTier premiumTier(int dailyLimit) {
+            return new PlanTier(UserType.PREMIUM_USER, dailyLimit, false);
+        }
+
+        public static PlanTier unlimitedTier() {
+            return new PlanTier(UserType.PREMIUM_USER, Integer.MAX_VALUE, true);
+        }
+
+        /**
+         * 구독 권한에서 등급 계산
+         * @param entitlement 구독 권한
+         * @param now 기준 시각 (구독 종료 시각 비교)
+         */
+        public static PlanTier of(Entitlement entitlement, LocalDateTime now) {
+            if (entitlement.unlimited()) {
+                return unlimitedTier();
+            }
+            return entitlement.isValid(now) ? premiumTier(entitlement.dailyLimit()) : freeTier();
+        }
+    }
+}
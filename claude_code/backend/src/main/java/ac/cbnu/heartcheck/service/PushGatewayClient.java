@@ -0,0 +1,274 @@
+package ac.cbnu.heartcheck.service;
+
+import ac.cbnu.heartcheck.entity.DeviceToken.Provider;
+import ac.cbnu.heartcheck.entity.Notification;
+import ac.cbnu.heartcheck.repository.NotificationDeliveryJdbcRepository.PendingDelivery;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 푸시 게이트웨이 클라이언트 (FCM HTTP v1, APNs HTTP/2)
+ *
+ * 제공자별 묶음을 요청 하나씩 비동기로 보내며, HttpClient가 같은 출처의 요청을 HTTP/2 연결 하나에 스트림으로 다중화한다.
+ * 제공자마다 동시에 열린 스트림 수를 max-concurrent-streams로 제한한다 (APNs·FCM의 연결당 동시 스트림 제한 이하로).
+ * 응답은 재시도할지(429·5xx·연결 오류), 토큰이 만료됐는지(FCM 404, APNs 410·BadDeviceToken), 그 외 거절인지로 분류해
+ * 돌려주고, 재시도 간격과 상태 기록은 NotificationDeliveryWorker가 정한다.
+ *
+ * 게이트웨이 주소는 설정(heart.push.{fcm,apns}.url)으로 바꿀 수 있어 로컬 대역 서버로 시험할 수 있다.
+ * 인증 헤더는 배포 환경이 발급한 토큰(FCM OAuth2 액세스 토큰, APNs 제공자 JWT)을 설정으로 받는다.
+ *
+ * @author CBNU Development Team
+ * @version 1.0.0
+ * @since 2024
+ */
+@Slf4j
+@Component
+public class PushGatewayClient {
+
+    private static final Set<Integer> RETRYABLE_STATUSES = Set.of(401, 403, 429, 500, 502, 503, 504);
+    private static final Set<String> APNS_INVALID_TOKEN_REASONS =
+            Set.of("BadDeviceToken", "Unregistered", "DeviceTokenNotForTopic");
+
+    private final HttpClient httpClient;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+    private final String fcmUrl;
+    private final String fcmProjectId;
+    private final String fcmAuthToken;
+    private final String apnsUrl;
+    private final String apnsTopic;
+    private final String apnsAuthToken;
+    private final Duration requestTimeout;
+    private final Map<Provider, Semaphore> streams = new EnumMap<>(Provider.class);
+
+    public PushGatewayClient(@Qualifier("pushHttpClient") HttpClient httpClient,
+                             ObjectMapper objectMapper,
+                             MeterRegistry meterRegistry,
+                             @Value("${heart.push.fcm.url:https://fcm.googleapis.com}") String fcmUrl,
+                             @Value("${heart.push.fcm.project-id:}") String fcmProjectId,
+                             @Value("${heart.push.fcm.auth-token:}") String fcmAuthToken,
+                             @Value("${heart.push.apns.url:https://api.push.apple.com}") String apnsUrl,
+                             @Value("${heart.push.apns.topic:}") String apnsTopic,
+                             @Value("${heart.push.apns.auth-token:}") String apnsAuthToken,
+                             @Value("${heart.push.request-timeout-ms:10000}") long requestTimeoutMs,
+                             @Value("${heart.push.max-concurrent-streams:100}") int maxConcurrentStreams) {
+        this.httpClient = httpClient;
+        this.objectMapper = objectMapper;
+        this.meterRegistry = meterRegistry;
+        this.fcmUrl = fcmUrl;
+        this.fcmProjectId = fcmProjectId;
+        this.fcmAuthToken = fcmAuthToken;
+        this.apnsUrl = apnsUrl;
+        this.apnsTopic = apnsTopic;
+        this.apnsAuthToken = apnsAuthToken;
+        this.requestTimeout = Duration.ofMillis(requestTimeoutMs);
+        for (Provider provider : Provider.values()) {
+            streams.put(provider, new Semaphore(Math.max(1, maxConcurrentStreams)));
+        }
+    }
+
+    /**
+     * 같은 제공자의 전달 작업 묶음 전송
+     * 동시 스트림 한도가 찰 때까지는 바로 보내고, 찬 뒤에는 응답이 돌아와 자리가 날 때마다 보낸다.
+     * @param provider 푸시 제공자
+     * @param deliveries 전달 작업 (모두 같은 제공자)
+     * @return 작업 순서대로의 결과 (예외로 끝나지 않음)
+     */
+    public CompletableFuture<List<PushResult>> send(Provider provider, List<PendingDelivery> deliveries) {
+        Semaphore permits = streams.get(provider);
+        List<CompletableFuture<PushResult>> futures = new ArrayList<>(deliveries.size());
+        for (PendingDelivery delivery : deliveries) {
+            HttpRequest request;
+            try {
+                request = provider == Provider.APNS ? apnsRequest(delivery) : fcmRequest(delivery);
+            } catch (JsonProcessingException e) {
+                futures.add(CompletableFuture.completedFuture(PushResult.rejected(0, "Payload error: " + e.getMessage())));
+                continue;
+            }
+            try {
+                permits.acquire();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                futures.add(CompletableFuture.completedFuture(PushResult.retry(0, "Interrupted", null)));
+                continue;
+            }
+            long startNanos = System.nanoTime();
+            futures.add(httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofString())
+                    .handle((response, error) -> {
+                        permits.release();
+                        PushResult result = error != null
+                                ? PushResult.retry(0, error.getClass().getSimpleName() + ": " + error.getMessage(), null)
+                                : classify(provider, response);
+                        Timer.builder("notification.delivery.request")
+                                .tags("provider", provider.name(), "outcome", result.outcome().name())
+                                .register(meterRegistry)
+                                .record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+                        return result;
+                    }));
+        }
+        return CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new))
+                .thenApply(done -> futures.stream().map(CompletableFuture::join).toList());
+    }
+
+    private HttpRequest fcmRequest(PendingDelivery delivery) throws JsonProcessingException {
+        Map<String, String> data = new LinkedHashMap<>();
+        data.put("notificationId", String.valueOf(delivery.notificationId()));
+        data.put("type", delivery.type());
+        if (delivery.url() != null) {
+            data.put("url", delivery.url());
+        }
+        Map<String, Object> message = Map.of("message", Map.of(
+                "token", delivery.token(),
+                "notification", Map.of("title", delivery.title(), "body", delivery.message()),
+                "data", data,
+                "android", Map.of("priority", isHighPriority(delivery) ? "HIGH" : "NORMAL")));
+
+        HttpRequest.Builder builder = HttpRequest.newBuilder(
+                        URI.create(fcmUrl + "/v1/projects/" + fcmProjectId + "/messages:send"))
+                .timeout(requestTimeout)
+                .header("Content-Type", "application/json; charset=UTF-8")
+                .POST(HttpRequest.BodyPublishers.ofString(objectMapper.writeValueAsString(message)));
+        if (!fcmAuthToken.isBlank()) {
+            builder.header("Authorization", "Bearer " + fcmAuthToken);
+        }
+        return builder.build();
+    }
+
+    private HttpRequest apnsRequest(PendingDelivery delivery) throws JsonProcessingException {
+        Map<String, Object> payload = new LinkedHashMap<>();
+        payload.put("aps", Map.of(
+                "alert", Map.of("title", delivery.title(), "body", delivery.message()),
+                "sound", "default"));
+        payload.put("notificationId", delivery.notificationId());
+        payload.put("type", delivery.type());
+        if (delivery.url() != null) {
+            payload.put("url", delivery.url());
+        }
+
+        HttpRequest.Builder builder = HttpRequest.newBuilder(
+                        URI.create(apnsUrl + "/3/device/" + URLEncoder.encode(delivery.token(), StandardCharsets.UTF_8)))
+                .timeout(requestTimeout)
+                .header("Content-Type", "application/json")
+                .header("apns-push-type", "alert")
+                .header("apns-priority", isHighPriority(delivery) ? "10" : "5")
+                .POST(HttpRequest.BodyPublishers.ofString(objectMapper.writeValueAsString(payload)));
+        if (!apnsTopic.isBlank()) {
+            builder.header("apns-topic", apnsTopic);
+        }
+        if (!apnsAuthToken.isBlank()) {
+            builder.header("Authorization", "bearer " + apnsAuthToken);
+        }
+        return builder.build();
+    }
+
+    private static boolean isHighPriority(PendingDelivery delivery) {
+        return delivery.priority() >= Notification.Priority.HIGH.getLevel();
+    }
+
+    /**
+     * 게이트웨이 응답 분류
+     */
+    PushResult classify(Provider provider, HttpResponse<String> response) {
+        int status = response.statusCode();
+        String body = response.body() == null ? "" : response.body();
+        if (status == 200) {
+            String messageId = provider == Provider.APNS
+                    ? response.headers().firstValue("apns-id").orElse(null)
+                    : readField(body, "name");
+            return PushResult.delivered(status, messageId);
+        }
+        if (RETRYABLE_STATUSES.contains(status)) {
+            return PushResult.retry(status, "HTTP " + status + " " + abbreviate(body), retryAfter(response));
+        }
+        boolean invalidToken = provider == Provider.APNS
+                ? status == 410 || (status == 400 && APNS_INVALID_TOKEN_REASONS.contains(readField(body, "reason")))
+                : status == 404 || body.contains("UNREGISTERED");
+        if (invalidToken) {
+            return PushResult.invalidToken(status, "HTTP " + status + " " + abbreviate(body));
+        }
+        return PushResult.rejected(status, "HTTP " + status + " " + abbreviate(body));
+    }
+
+    private String readField(String body, String field) {
+        try {
+            JsonNode node = objectMapper.readTree(body).get(field);
+            return node != null ? node.asText() : null;
+        } catch (JsonProcessingException e) {
+            return null;
+        }
+    }
+
+    private static Duration retryAfter(HttpResponse<String> response) {
+        return response.headers().firstValue("Retry-After")
+                .map(value -> {
+                    try {
+                        return Duration.ofSeconds(Long.parseLong(value.trim()));
+                    } catch (NumberFormatException e) {
+                        return null;
+                    }
+                })
+                .orElse(null);
+    }
+
+    private static String abbreviate(String body) {
+        return body.length() > 200 ? body.substring(0, 200) : body;
+    }
+
+    /**
+     * 전송 결과 분류
+     */
+    public enum Outcome {
+        DELIVERED, RETRY, INVALID_TOKEN, REJECTED
+    }
+
+    /**
+     * 전송 결과
+     * @param outcome 분류
+     * @param status HTTP 상태 (연결 오류면 0)
+     * @param providerMessageId 제공자 메시지 ID (FCM message name, APNs apns-id)
+     * @param error 실패 사유
+     * @param retryAfter 게이트웨이가 요청한 재시도 대기 (없으면 null)
+     */
+    public record PushResult(Outcome outcome, int status, String providerMessageId, String error, Duration retryAfter) {
+
+        static PushResult delivered(int status, String providerMessageId) {
+            return new PushResult(Outcome.DELIVERED, status, providerMessageId, null, null);
+        }
+
+        static PushResult retry(int status, String error, Duration retryAfter) {
+            return new PushResult(Outcome.RETRY, status, null, error, retryAfter);
+        }
+
+        static PushResult invalidToken(int status, String error) {
+            return new PushResult(Outcome.INVALID_TOKEN, status, null, error, null);
+        }
+
+        static PushResult rejected(int status, String error) {
+            return new PushResult(Outcome.REJECTED, status, null, error, null);
+        }
+    }
+}
@@ -0,0 +1,314 @@
+package ac.cbnu.heartcheck.service;
+
+import ac.cbnu.heartcheck.entity.UserType;
+import ac.cbnu.heartcheck.service.DegradedQuotaLimiter.LocalDecision;
+import ac.cbnu.heartcheck.service.DegradedQuotaLimiter.PendingDelta;
+import ac.cbnu.heartcheck.service.DegradedQuotaLimiter.PendingIncrement;
+import ac.cbnu.heartcheck.service.PlanTierCache.PlanTier;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 사용량 제한 엔진
+ * 요금제 등급별 허용 검사와 사용량 증가를 단일 Redis 스크립트로 처리
+ *
+ * 두 가지 키 체계를 함께 관리한다.
+ * - 제한 카운터: user:{id}:total_usage (FREE_USER, 만료 없음), user:{id}:daily_usage:{date} (그 외, 자정 만료)
+ * - 일일 원장: daily_usage:{id}:{date} (26시간 만료, UsageWriteBehindService가 DB에 일괄 반영)
+ * 허용 시 같은 스크립트에서 UsageDashboardService의 일자별 통계 키도 함께 갱신한다.
+ *
+ * 허용 검사는 요금제 등급 Near-Cache(PlanTierCache) 조회 후 Redis 왕복 1회로 끝나며 DB를 조회하지 않는다.
+ *
+ * Redis 호출은 서킷 브레이커(redisQuota)로 감싼다. 브레이커가 열리면 DegradedQuotaLimiter가
+ * 노드 로컬 카운터로 근사 제한을 적용하고, 닫힌 뒤 누적분을 RECONCILE_SCRIPT로 Redis에 반영한다.
+ *
+ * @author CBNU Development Team
+ * @version 1.2.0
+ * @since 2024
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class QuotaEngine {
+
+    private static final String DAILY_USAGE_KEY = "user:%d:daily_usage:%s";
+    private static final String TOTAL_USAGE_KEY = "user:%d:total_usage";
+    private static final String LEDGER_KEY = "daily_usage:%d:%s";
+    private static final long LEDGER_TTL_SECONDS = Duration.ofHours(26).toSeconds(); // 하루 + 2시간 여유
+    private static final int NO_LIMIT = -1;
+
+    /**
+     * KEYS[1] 제한 카운터, KEYS[2] 일일 원장, KEYS[3] DB 반영 대기열,
+     * KEYS[4..7] 대시보드 통계 (활성 사용자 HLL, 상위 사용자 ZSET, 분별 HASH, 전체 횟수)
+     * ARGV[1] 허용 횟수 (-1이면 검사 생략), ARGV[2] 제한 카운터 TTL(초, 0이면 만료 없음),
+     * ARGV[3] 원장 TTL(초), ARGV[4] 대기열 항목, ARGV[5] 현재 시각(ms),
+     * ARGV[6] 사용자 ID, ARGV[7] 분(HH:mm), ARGV[8] 통계 TTL(초)
+     * 반환: {허용 여부(1/0), 제한 카운터 값}
+     */
+    private static final RedisScript<List> ACQUIRE_SCRIPT = new DefaultRedisScript<>("""
+            local used = tonumber(redis.call('GET', KEYS[1]) or '0')
+            local limit = tonumber(ARGV[1])
+            if limit >= 0 and used >= limit then
+                return {0, used}
+            end
+            used = redis.call('INCR', KEYS[1])
+            local ttl = tonumber(ARGV[2])
+            if ttl > 0 and used == 1 then
+                redis.call('EXPIRE', KEYS[1], ttl)
+            end
+            if redis.call('INCR', KEYS[2]) == 1 then
+                redis.call('EXPIRE', KEYS[2], ARGV[3])
+            end
+            redis.call('ZADD', KEYS[3], 'NX', ARGV[5], ARGV[4])
+            redis.call('PFADD', KEYS[4], ARGV[6])
+            redis.call('ZINCRBY', KEYS[5], 1, ARGV[6])
+            redis.call('HINCRBY', KEYS[6], ARGV[7], 1)
+            if redis.call('INCR', KEYS[7]) == 1 then
+                for i = 4, 7 do
+                    redis.call('EXPIRE', KEYS[i], ARGV[8])
+                end
+            end
+            return {1, used}
+            """, List.class);
+
+    /**
+     * 장애 중 로컬에서 허용한 누적분 반영
+     * KEYS[1] 제한 카운터, KEYS[2] 일일 원장, KEYS[3] DB 반영 대기열,
+     * KEYS[4..6] 대시보드 통계 (활성 사용자 HLL, 상위 사용자 ZSET, 전체 횟수)
+     * ARGV[1] 증가량, ARGV[2] 제한 카운터 만료 시각(epoch 초, 0이면 만료 없음),
+     * ARGV[3] 원장 만료 시각(epoch 초), ARGV[4] 대기열 항목, ARGV[5] 현재 시각(ms),
+     * ARGV[6] 사용자 ID, ARGV[7] 통계 TTL(초)
+     */
+    private static final RedisScript<Long> RECONCILE_SCRIPT = new DefaultRedisScript<>("""
+            local delta = tonumber(ARGV[1])
+            if redis.call('INCRBY', KEYS[1], delta) == delta and tonumber(ARGV[2]) > 0 then
+                redis.call('EXPIREAT', KEYS[1], ARGV[2])
+            end
+            if redis.call('INCRBY', KEYS[2], delta) == delta then
+                redis.call('EXPIREAT', KEYS[2], ARGV[3])
+            end
+            redis.call('ZADD', KEYS[3], 'NX', ARGV[5], ARGV[4])
+            redis.call('PFADD', KEYS[4], ARGV[6])
+            redis.call('ZINCRBY', KEYS[5], delta, ARGV[6])
+            if redis.call('INCRBY', KEYS[6], delta) == delta then
+                for i = 4, 6 do
+                    redis.call('EXPIRE', KEYS[i], ARGV[7])
+                end
+            end
+            return delta
+            """, Long.class);
+
+    private final StringRedisTemplate stringRedisTemplate;
+    private final RedisTemplate<String, Long> counterRedisTemplate;
+    private final PlanTierCache planTierCache;
+    private final CircuitBreaker redisQuotaCircuitBreaker;
+    private final DegradedQuotaLimiter degradedQuotaLimiter;
+
+    /**
+     * 요금제 등급에 따른 허용 검사 후 사용량 증가 (원자적 처리)
+     * @param userId 사용자 ID
+     * @return 처리 결과
+     */
+    public QuotaResult tryAcquire(Long userId) {
+        PlanTier tier = planTierCache.get(userId);
+        int limit = tier.unlimited() ? NO_LIMIT : tier.limit();
+        return execute(userId, tier.userType(), limit, tier);
+    }
+
+    /**
+     * 허용 검사 없이 사용량 증가
+     * @param userId 사용자 ID
+     * @param userType 제한 카운터를 결정할 사용자 타입
+     * @return 증가 후 제한 카운터 값
+     */
+    public int increment(Long userId, UserType userType) {
+        return execute(userId, userType, NO_LIMIT, planTierCache.get(userId)).used();
+    }
+
+    /**
+     * 현재 사용량 조회 (Redis 왕복 1회)
+     * @param userId 사용자 ID
+     * @return 현재 상태
+     */
+    public QuotaResult status(Long userId) {
+        PlanTier tier = planTierCache.get(userId);
+        int used = usage(userId, tier.userType());
+        return new QuotaResult(used < tier.limit(), used, tier);
+    }
+
+    /**
+     * 사용자 타입별 제한 카운터 값 조회
+     * @param userId 사용자 ID
+     * @param userType 사용자 타입
+     * @return 사용량
+     */
+    public int usage(Long userId, UserType userType) {
+        String key = limitKey(userId, userType, LocalDate.now());
+        try {
+            Long value = redisQuotaCircuitBreaker.executeSupplier(() -> counterRedisTemplate.opsForValue().get(key));
+            int used = value != null ? value.intValue() : 0;
+            degradedQuotaLimiter.remember(key, used);
+            return used;
+        } catch (CallNotPermittedException | DataAccessException e) {
+            return degradedQuotaLimiter.usage(key);
+        }
+    }
+
+    /**
+     * 특정 날짜의 일일 카운터 초기화 (원장 + 일일 제한 카운터)
+     * @param userId 사용자 ID
+     * @param day 기준일
+     */
+    public void resetDaily(Long userId, LocalDate day) {
+        stringRedisTemplate.delete(List.of(ledgerKey(userId, day), dailyKey(userId, day)));
+    }
+
+    /**
+     * 요금제 등급 조회 (Near-Cache)
+     * @param userId 사용자 ID
+     * @return 요금제 등급
+     */
+    public PlanTier planTier(Long userId) {
+        return planTierCache.get(userId);
+    }
+
+    /**
+     * 장애 중 로컬에서 허용한 누적분을 Redis에 반영
+     * 브레이커가 닫혀 있을 때만 실행하며, 실패한 항목은 다음 주기에 다시 시도한다
+     * @return 반영한 항목 수
+     */
+    @Scheduled(fixedDelayString = "${heart.quota.degraded.reconcile-interval-ms:5000}")
+    public int reconcile() {
+        if (!degradedQuotaLimiter.hasPending()
+                || redisQuotaCircuitBreaker.getState() != CircuitBreaker.State.CLOSED) {
+            return 0;
+        }
+
+        List<PendingDelta> deltas = degradedQuotaLimiter.drain();
+        int applied = 0;
+        try {
+            for (PendingDelta delta : deltas) {
+                PendingIncrement increment = delta.increment();
+                stringRedisTemplate.execute(RECONCILE_SCRIPT,
+                        List.of(increment.limitKey(), increment.ledgerKey(), UsageWriteBehindService.DIRTY_KEY,
+                                UsageDashboardService.activeUsersKey(increment.day()),
+                                UsageDashboardService.topUsersKey(increment.day()),
+                                UsageDashboardService.totalKey(increment.day())),
+                        String.valueOf(delta.delta()),
+                        String.valueOf(increment.limitExpireAt()),
+                        String.valueOf(increment.ledgerExpireAt()),
+                        increment.dirtyMember(),
+                        String.valueOf(System.currentTimeMillis()),
+                        String.valueOf(increment.userId()),
+                        String.valueOf(UsageDashboardService.STATS_TTL_SECONDS));
+                applied++;
+            }
+        } catch (DataAccessException e) {
+            log.warn("Quota reconcile interrupted after {}/{} entries, retrying later", applied, deltas.size(), e);
+            degradedQuotaLimiter.restore(deltas.subList(applied, deltas.size()));
+        }
+        if (applied > 0) {
+            log.info("Reconciled {} degraded-mode quota entries to Redis", applied);
+        }
+        return applied;
+    }
+
+    private QuotaResult execute(Long userId, UserType userType, int limit, PlanTier tier) {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDate today = now.toLocalDate();
+        String limitKey = limitKey(userId, userType, today);
+        String ledgerKey = ledgerKey(userId, today);
+        String dirtyMember = UsageWriteBehindService.dirtyMember(userId, today, tier.limit());
+        long limitTtl = limitTtlSeconds(userType);
+
+        List<?> result;
+        try {
+            List<String> keys = new ArrayList<>(List.of(limitKey, ledgerKey, UsageWriteBehindService.DIRTY_KEY));
+            keys.addAll(UsageDashboardService.statsKeys(today));
+            result = redisQuotaCircuitBreaker.executeSupplier(() -> stringRedisTemplate.execute(ACQUIRE_SCRIPT, keys,
+                    String.valueOf(limit),
+                    String.valueOf(limitTtl),
+                    String.valueOf(LEDGER_TTL_SECONDS),
+                    dirtyMember,
+                    String.valueOf(System.currentTimeMillis()),
+                    String.valueOf(userId),
+                    UsageDashboardService.minuteField(now.toLocalTime()),
+                    String.valueOf(UsageDashboardService.STATS_TTL_SECONDS)));
+        } catch (CallNotPermittedException | DataAccessException e) {
+            long nowSeconds = Instant.now().getEpochSecond();
+            PendingIncrement increment = new PendingIncrement(userId, today,
+                    limitKey, limitTtl > 0 ? nowSeconds + limitTtl : 0,
+                    ledgerKey, nowSeconds + LEDGER_TTL_SECONDS, dirtyMember);
+            LocalDecision decision = degradedQuotaLimiter.tryAcquire(increment, limit);
+            log.debug("Degraded quota acquire for user: {} allowed: {} used: {}/{}",
+                    userId, decision.allowed(), decision.used(), tier.limit());
+            return new QuotaResult(decision.allowed(), decision.used(), tier);
+        }
+
+        boolean allowed = ((Number) result.get(0)).longValue() == 1L;
+        int used = ((Number) result.get(1)).intValue();
+        degradedQuotaLimiter.remember(limitKey, used);
+        log.debug("Quota acquire for user: {} allowed: {} used: {}/{}", userId, allowed, used, tier.limit());
+        return new QuotaResult(allowed, used, tier);
+    }
+
+    private long limitTtlSeconds(UserType userType) {
+        if (userType == UserType.FREE_USER) {
+            // FREE_USER는 총 사용량이므로 만료 없음
+            return 0;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime midnight = now.toLocalDate().plusDays(1).atTime(LocalTime.MIDNIGHT);
+        return Math.max(1, Duration.between(now, midnight).toSeconds());
+    }
+
+    static String limitKey(Long userId, UserType userType, LocalDate day) {
+        return userType == UserType.FREE_USER ? totalKey(userId) : dailyKey(userId, day);
+    }
+
+    static String dailyKey(Long userId, LocalDate day) {
+        return String.format(DAILY_USAGE_KEY, userId, day);
+    }
+
+    static String totalKey(Long userId) {
+        return String.format(TOTAL_USAGE_KEY, userId);
+    }
+
+    static String ledgerKey(Long userId, LocalDate day) {
+        return String.format(LEDGER_KEY, userId, day);
+    }
+
+    /**
+     * 사용량 처리 결과
+     * @param allowed 허용 여부
+     * @param used 제한 카운터 값
+     * @param tier 요금제 등급
+     */
+    public record QuotaResult(boolean allowed, int used, PlanTier tier) {
+
+        public int limit() {
+            return tier.limit();
+        }
+
+        public int remaining() {
+            return Math.max(0, tier.limit() - used);
+        }
+    }
+}
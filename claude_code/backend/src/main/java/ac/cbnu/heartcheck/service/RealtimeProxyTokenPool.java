@@ -0,0 +1,38 @@
+package ac.cbnu.heartcheck.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Duration;
+
+/**
+ * 음성 중계(VoiceProxyHandler)용 Realtime 세션 토큰 풀
+ *
+ * @author CBNU Development Team
+ * @version 1.0.0
+ * @since 2024
+ */
+@Component
+public class RealtimeProxyTokenPool extends EphemeralTokenPool {
+
+    private final OpenAIService openAIService;
+
+    public RealtimeProxyTokenPool(OpenAIService openAIService,
+                                  MeterRegistry meterRegistry,
+                                  @Value("${heart.voice.token-pool.min-size:1}") int minSize,
+                                  @Value("${heart.voice.token-pool.max-size:20}") int maxSize,
+                                  @Value("${heart.voice.token-pool.safety-margin-seconds:10}") long safetyMarginSeconds,
+                                  @Value("${heart.voice.token-pool.refill-interval-ms:1000}") long refillIntervalMillis,
+                                  @Value("${heart.voice.token-pool.refill-concurrency:2}") int refillConcurrency) {
+        super("realtime-proxy", meterRegistry, minSize, maxSize, Duration.ofSeconds(safetyMarginSeconds),
+                Duration.ofMillis(refillIntervalMillis), refillConcurrency, Clock.systemUTC());
+        this.openAIService = openAIService;
+    }
+
+    @Override
+    protected MintedToken mint() {
+        return openAIService.generateEphemeralToken();
+    }
+}
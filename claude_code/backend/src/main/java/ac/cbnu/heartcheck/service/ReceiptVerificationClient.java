@@ -0,0 +1,270 @@
+package ac.cbnu.heartcheck.service;
+
+import ac.cbnu.heartcheck.entity.CostModel.CostType;
+import ac.cbnu.heartcheck.entity.Payment.StoreType;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 스토어 영수증 검증 클라이언트 (Google Play Developer API, App Store Server API)
+ *
+ * 결제 하나의 영수증을 스토어에 조회해 확인됨(VERIFIED), 거절(REJECTED), 나중에 다시 시도(RETRY)로 분류해 돌려준다.
+ * - Google: purchases.products.get, purchaseState 0이면 확인, 1(취소)이면 거절, 2(대기)면 재시도
+ * - Apple: GET /inApps/v1/transactions/{transactionId}, signedTransactionInfo의 상품·번들이 맞고 철회되지 않았으면 확인
+ * - 400·404·410은 거절, 429·5xx·연결 오류는 재시도 (Retry-After 전달)
+ * - 401·403과 토큰 발급 실패는 인증 오류(UNAUTHORIZED): 결제가 아니라 자격 증명 설정 문제이므로
+ *   작업자는 결제의 시도 횟수를 쓰지 않고 미루며 알린다 (PaymentVerificationWorker)
+ *
+ * 요청은 호출한 스레드에서 동기로 보낸다. 동시성은 PaymentVerificationWorker의 작업자 풀이 정하며,
+ * 호출 중에는 DB 트랜잭션·연결을 잡고 있지 않다.
+ * 스토어 주소는 설정(heart.payment.{google,apple}.url)으로 바꿀 수 있어 로컬 대역 서버로 시험할 수 있고,
+ * 인증 토큰(Google 서비스 계정 OAuth2 액세스 토큰, App Store Connect API JWT)은 StoreAccessTokenProvider가 자격 증명에서 발급·갱신한다.
+ * signedTransactionInfo의 JWS 서명(Apple 인증서 체인) 검증은 하지 않고 TLS로 받은 페이로드만 확인한다.
+ *
+ * @author CBNU Development Team
+ * @version 1.1.0
+ * @since 2024
+ */
+@Slf4j
+@Component
+public class ReceiptVerificationClient {
+
+    private static final Set<Integer> RETRYABLE_STATUSES = Set.of(408, 429, 500, 502, 503, 504);
+    private static final Set<Integer> UNAUTHORIZED_STATUSES = Set.of(401, 403);
+
+    private final HttpClient httpClient;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+    private final String googleUrl;
+    private final String googlePackageName;
+    private final String appleUrl;
+    private final String appleBundleId;
+    private final StoreAccessTokenProvider tokenProvider;
+    private final String productIdPrefix;
+    private final Duration requestTimeout;
+
+    public ReceiptVerificationClient(@Qualifier("receiptHttpClient") HttpClient httpClient,
+                                     ObjectMapper objectMapper,
+                                     MeterRegistry meterRegistry,
+                                     @Value("${heart.payment.google.url:https://androidpublisher.googleapis.com}") String googleUrl,
+                                     @Value("${heart.payment.google.package-name:}") String googlePackageName,
+                                     @Value("${heart.payment.apple.url:https://api.storekit.itunes.apple.com}") String appleUrl,
+                                     @Value("${heart.payment.apple.bundle-id:}") String appleBundleId,
+                                     StoreAccessTokenProvider tokenProvider,
+                                     @Value("${heart.payment.product-id-prefix:heartcheck_}") String productIdPrefix,
+                                     @Value("${heart.payment.verification.request-timeout-ms:10000}") long requestTimeoutMs) {
+        this.httpClient = httpClient;
+        this.objectMapper = objectMapper;
+        this.meterRegistry = meterRegistry;
+        this.googleUrl = googleUrl;
+        this.googlePackageName = googlePackageName;
+        this.appleUrl = appleUrl;
+        this.appleBundleId = appleBundleId;
+        this.tokenProvider = tokenProvider;
+        this.productIdPrefix = productIdPrefix;
+        this.requestTimeout = Duration.ofMillis(requestTimeoutMs);
+    }
+
+    /**
+     * 영수증 검증 (예외로 끝나지 않음)
+     * @param receipt 검증할 결제 영수증
+     * @return 검증 결과
+     */
+    public Verification verify(Receipt receipt) {
+        if (receipt.transactionId() == null || receipt.transactionId().isBlank()) {
+            return Verification.rejected(0, "Missing transaction ID");
+        }
+        long startNanos = System.nanoTime();
+        Verification result;
+        String authToken;
+        try {
+            authToken = receipt.store() == StoreType.GOOGLE ? tokenProvider.googleToken() : tokenProvider.appleToken();
+        } catch (IOException | RuntimeException e) {
+            result = Verification.unauthorized(0, "Token unavailable: " + e.getClass().getSimpleName() + ": " + e.getMessage());
+            record(receipt, result, startNanos);
+            return result;
+        }
+        try {
+            HttpResponse<String> response = httpClient.send(request(receipt, authToken),
+                    HttpResponse.BodyHandlers.ofString());
+            result = classify(receipt, response);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            result = Verification.retry(0, "Interrupted", null);
+        } catch (IOException e) {
+            result = Verification.retry(0, e.getClass().getSimpleName() + ": " + e.getMessage(), null);
+        }
+        record(receipt, result, startNanos);
+        return result;
+    }
+
+    private void record(Receipt receipt, Verification result, long startNanos) {
+        Timer.builder("payment.verification.request")
+                .tags("store", receipt.store().getCode(), "outcome", result.outcome().name())
+                .register(meterRegistry)
+                .record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * 요금제의 스토어 상품 ID (접두사 + 요금제 유형, 예: heartcheck_monthly)
+     */
+    String productId(CostType plan) {
+        return productIdPrefix + plan.name().toLowerCase(Locale.ROOT);
+    }
+
+    private HttpRequest request(Receipt receipt, String authToken) {
+        String token = URLEncoder.encode(receipt.transactionId(), StandardCharsets.UTF_8);
+        HttpRequest.Builder builder;
+        if (receipt.store() == StoreType.GOOGLE) {
+            builder = HttpRequest.newBuilder(URI.create(googleUrl + "/androidpublisher/v3/applications/"
+                    + googlePackageName + "/purchases/products/" + productId(receipt.plan()) + "/tokens/" + token));
+        } else {
+            builder = HttpRequest.newBuilder(URI.create(appleUrl + "/inApps/v1/transactions/" + token));
+        }
+        if (!authToken.isBlank()) {
+            builder.header("Authorization", "Bearer " + authToken);
+        }
+        return builder.timeout(requestTimeout)
+                .header("Accept", "application/json")
+                .GET()
+                .build();
+    }
+
+    /**
+     * 스토어 응답 분류
+     */
+    Verification classify(Receipt receipt, HttpResponse<String> response) {
+        int status = response.statusCode();
+        String body = response.body() == null ? "" : response.body();
+        if (status == 200) {
+            try {
+                JsonNode json = objectMapper.readTree(body);
+                return receipt.store() == StoreType.GOOGLE ? classifyGoogle(json) : classifyApple(receipt, json);
+            } catch (JsonProcessingException | IllegalArgumentException e) {
+                return Verification.rejected(status, "Malformed store response: " + abbreviate(body));
+            }
+        }
+        if (UNAUTHORIZED_STATUSES.contains(status)) {
+            return Verification.unauthorized(status, "HTTP " + status + " " + abbreviate(body));
+        }
+        if (RETRYABLE_STATUSES.contains(status)) {
+            return Verification.retry(status, "HTTP " + status + " " + abbreviate(body), retryAfter(response));
+        }
+        return Verification.rejected(status, "HTTP " + status + " " + abbreviate(body));
+    }
+
+    private static Verification classifyGoogle(JsonNode purchase) {
+        int purchaseState = purchase.path("purchaseState").asInt(-1);
+        return switch (purchaseState) {
+            case 0 -> Verification.verified(200);
+            case 2 -> Verification.retry(200, "Purchase pending", null);
+            case 1 -> Verification.rejected(200, "Purchase canceled");
+            default -> Verification.rejected(200, "Unknown purchaseState: " + purchaseState);
+        };
+    }
+
+    private Verification classifyApple(Receipt receipt, JsonNode response) {
+        String[] parts = response.path("signedTransactionInfo").asText("").split("\\.");
+        if (parts.length != 3) {
+            return Verification.rejected(200, "Missing signedTransactionInfo");
+        }
+        JsonNode transaction;
+        try {
+            // 서명 페이로드가 Base64URL이 아니거나 JSON이 아니면 재시도해도 같으므로 거절
+            transaction = objectMapper.readTree(Base64.getUrlDecoder().decode(parts[1]));
+        } catch (IOException | IllegalArgumentException e) {
+            return Verification.rejected(200, "Malformed signedTransactionInfo");
+        }
+        String productId = transaction.path("productId").asText();
+        if (!productId(receipt.plan()).equals(productId)) {
+            return Verification.rejected(200, "Product mismatch: " + productId);
+        }
+        if (!appleBundleId.isBlank() && !appleBundleId.equals(transaction.path("bundleId").asText())) {
+            return Verification.rejected(200, "Bundle mismatch: " + transaction.path("bundleId").asText());
+        }
+        if (transaction.hasNonNull("revocationDate")) {
+            return Verification.rejected(200, "Transaction revoked");
+        }
+        return Verification.verified(200);
+    }
+
+    private static Duration retryAfter(HttpResponse<String> response) {
+        return response.headers().firstValue("Retry-After")
+                .map(value -> {
+                    try {
+                        return Duration.ofSeconds(Long.parseLong(value.trim()));
+                    } catch (NumberFormatException e) {
+                        return null;
+                    }
+                })
+                .orElse(null);
+    }
+
+    private static String abbreviate(String body) {
+        return body.length() > 200 ? body.substring(0, 200) : body;
+    }
+
+    /**
+     * 검증할 결제 영수증
+     * @param paymentId 결제 ID
+     * @param store 스토어
+     * @param transactionId 트랜잭션 ID (Google 구매 토큰, Apple transactionId)
+     * @param plan 요금제 유형 (상품 ID)
+     * @param attempts 이번 시도를 포함한 시도 횟수
+     */
+    public record Receipt(Long paymentId, StoreType store, String transactionId, CostType plan, int attempts) {
+    }
+
+    /**
+     * 검증 결과 분류 (UNAUTHORIZED: 스토어가 자격 증명을 거절했거나 토큰을 발급하지 못함)
+     */
+    public enum Outcome {
+        VERIFIED, REJECTED, RETRY, UNAUTHORIZED
+    }
+
+    /**
+     * 검증 결과
+     * @param outcome 분류
+     * @param status HTTP 상태 (연결 오류면 0)
+     * @param error 거절·실패 사유
+     * @param retryAfter 스토어가 요청한 재시도 대기 (없으면 null)
+     */
+    public record Verification(Outcome outcome, int status, String error, Duration retryAfter) {
+
+        static Verification verified(int status) {
+            return new Verification(Outcome.VERIFIED, status, null, null);
+        }
+
+        static Verification rejected(int status, String error) {
+            return new Verification(Outcome.REJECTED, status, error, null);
+        }
+
+        static Verification retry(int status, String error, Duration retryAfter) {
+            return new Verification(Outcome.RETRY, status, error, retryAfter);
+        }
+
+        static Verification unauthorized(int status, String error) {
+            return new Verification(Outcome.UNAUTHORIZED, status, error, null);
+        }
+    }
+}
@@ -0,0 +1,161 @@
+package ac.cbnu.heartcheck.service;
+
+import ac.cbnu.heartcheck.repository.NotificationDispatchJdbcRepository;
+import ac.cbnu.heartcheck.repository.NotificationDispatchJdbcRepository.DueNotification;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * 예약 알림 발송기
+ *
+ * 발송 시각이 지난 예약 알림을 고정 크기 청크로 점유해 발송 처리한다 (NotificationDispatchJdbcRepository).
+ * 청크마다 짧은 트랜잭션 하나만 사용하고, 점유는 FOR UPDATE SKIP LOCKED이므로
+ * 모든 노드가 동시에 실행해도 서로 다른 행을 나눠 처리한다 (노드 수만큼 자연스럽게 분산).
+ * 한 번 실행에서 최대 max-chunks-per-run 청크까지 처리하고 나머지는 다음 주기로 넘긴다.
+ * 발송 처리한 알림은 청크 커밋 후 읽지 않은 알림 카운터에 반영하고 NotificationPushService로 접속 중인 앱에 푸시한다.
+ *
+ * 지표
+ * - notification.dispatch.lag: 예약 시각부터 발송 처리까지 걸린 시간 (알림 단위)
+ * - notification.dispatch.sent: 발송 처리한 알림 수
+ * - notification.dispatch.chunk.size / chunk.duration: 청크 크기와 처리 시간
+ *
+ * @author CBNU Development Team
+ * @version 1.0.0
+ * @since 2024
+ */
+@Slf4j
+@Service
+public class ScheduledNotificationDispatcher {
+
+    private final NotificationDispatchJdbcRepository notificationDispatchJdbcRepository;
+    private final NotificationPushService notificationPushService;
+    private final UnreadNotificationCounter unreadNotificationCounter;
+    private final int chunkSize;
+    private final int maxChunksPerRun;
+    private final Clock clock;
+
+    private final Timer lagTimer;
+    private final Counter sentCounter;
+    private final DistributionSummary chunkSizeSummary;
+    private final Timer chunkDurationTimer;
+    private final Counter failureCounter;
+    private final AtomicLong lastLagMillis = new AtomicLong();
+
+    public ScheduledNotificationDispatcher(NotificationDispatchJdbcRepository notificationDispatchJdbcRepository,
+                                           NotificationPushService notificationPushService,
+                                           UnreadNotificationCounter unreadNotificationCounter,
+                                           MeterRegistry meterRegistry,
+                                           @Value("${heart.notification.dispatch.chunk-size:500}") int chunkSize,
+                                           @Value("${heart.notification.dispatch.max-chunks-per-run:200}") int maxChunksPerRun) {
+        this(notificationDispatchJdbcRepository, notificationPushService, unreadNotificationCounter, meterRegistry,
+                chunkSize, maxChunksPerRun, Clock.systemDefaultZone());
+    }
+
+    ScheduledNotificationDispatcher(NotificationDispatchJdbcRepository notificationDispatchJdbcRepository,
+                                    NotificationPushService notificationPushService,
+                                    UnreadNotificationCounter unreadNotificationCounter,
+                                    MeterRegistry meterRegistry, int chunkSize, int maxChunksPerRun, Clock clock) {
+        this.notificationDispatchJdbcRepository = notificationDispatchJdbcRepository;
+        this.notificationPushService = notificationPushService;
+        this.unreadNotificationCounter = unreadNotificationCounter;
+        this.chunkSize = chunkSize;
+        this.maxChunksPerRun = maxChunksPerRun;
+        this.clock = clock;
+
+        this.lagTimer = Timer.builder("notification.dispatch.lag")
+                .description("Time between a notification's scheduled time and its dispatch")
+                .register(meterRegistry);
+        this.sentCounter = Counter.builder("notification.dispatch.sent")
+                .description("Scheduled notifications marked sent")
+                .register(meterRegistry);
+        this.chunkSizeSummary = DistributionSummary.builder("notification.dispatch.chunk.size")
+                .description("Rows claimed per dispatch chunk")
+                .register(meterRegistry);
+        this.chunkDurationTimer = Timer.builder("notification.dispatch.chunk.duration")
+                .description("Claim-and-update transaction time per dispatch chunk")
+                .register(meterRegistry);
+        this.failureCounter = Counter.builder("notification.dispatch.failures")
+                .description("Dispatch chunks that failed and were rolled back")
+                .register(meterRegistry);
+        meterRegistry.gauge("notification.dispatch.lag.last.seconds", lastLagMillis, v -> v.get() / 1000.0);
+    }
+
+    /**
+     * 주기적 발송 (스케줄러)
+     */
+    @Scheduled(fixedDelayString = "${heart.notification.dispatch.interval-ms:10000}",
+               initialDelayString = "${heart.notification.dispatch.interval-ms:10000}")
+    public void scheduledDispatch() {
+        try {
+            dispatchDue();
+        } catch (Exception e) {
+            log.error("Scheduled notification dispatch failed", e);
+        }
+    }
+
+    /**
+     * 발송 시각이 지난 알림을 청크 단위로 발송 처리
+     * @return 이번 실행에서 발송 처리한 알림 수
+     */
+    public int dispatchDue() {
+        int total = 0;
+        for (int chunk = 0; chunk < maxChunksPerRun; chunk++) {
+            int claimed = dispatchOnce();
+            total += claimed;
+            if (claimed < chunkSize) {
+                break;
+            }
+        }
+        if (total > 0) {
+            log.info("예약 알림 발송 완료: {}건", total);
+        }
+        return total;
+    }
+
+    /**
+     * 청크 하나 점유·발송 처리
+     * @return 점유한 알림 수
+     */
+    int dispatchOnce() {
+        LocalDateTime now = LocalDateTime.now(clock);
+        long startNanos = System.nanoTime();
+        List<DueNotification> claimed;
+        try {
+            claimed = notificationDispatchJdbcRepository.claimAndMarkSent(now, chunkSize);
+        } catch (Exception e) {
+            failureCounter.increment();
+            throw e;
+        }
+        if (claimed.isEmpty()) {
+            return 0;
+        }
+
+        chunkDurationTimer.record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+        chunkSizeSummary.record(claimed.size());
+        sentCounter.increment(claimed.size());
+        for (DueNotification notification : claimed) {
+            lagTimer.record(Duration.between(notification.scheduledTime(), now).toMillis(), TimeUnit.MILLISECONDS);
+        }
+        // 점유는 scheduled_time 순이므로 첫 행이 가장 오래 기다린 알림
+        lastLagMillis.set(Math.max(0, Duration.between(claimed.get(0).scheduledTime(), now).toMillis()));
+        // 청크 트랜잭션이 커밋된 뒤이므로 바로 카운터 조정·푸시
+        unreadNotificationCounter.adjustAll(claimed.stream()
+                .collect(Collectors.groupingBy(DueNotification::userId, Collectors.counting())));
+        notificationPushService.notificationsDispatched(claimed, now);
+        return claimed.size();
+    }
+}
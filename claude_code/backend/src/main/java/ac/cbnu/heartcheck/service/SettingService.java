@@ -211,6 +211,7 @@ public class SettingService {
 
     /**
      * 푸시 알림 활성화된 설정 목록 조회
+     * 전체 대상을 한 번에 메모리로 읽으므로 일괄 알림 발송에는 NotificationBroadcastService를 사용
      * @return 푸시 알림 활성화 설정 목록
      */
     @Transactional(readOnly = true)
@@ -0,0 +1,167 @@
+package ac.cbnu.heartcheck.service;
+
+import com.google.auth.oauth2.AccessToken;
+import com.google.auth.oauth2.GoogleCredentials;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.GeneralSecurityException;
+import java.security.KeyFactory;
+import java.security.PrivateKey;
+import java.security.spec.PKCS8EncodedKeySpec;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * 스토어 API 인증 토큰 발급
+ *
+ * 영수증 검증 요청에 붙일 토큰을 자격 증명에서 직접 만들고 만료 전에 새로 만든다.
+ * - Google: 서비스 계정 키(JSON)로 androidpublisher 범위 OAuth2 액세스 토큰 발급 (만료·갱신은 GoogleCredentials가 관리)
+ * - Apple: App Store Connect API 키(.p8, EC P-256)로 ES256 JWT 서명 (유효 20분, 만료 5분 전부터 새로 서명)
+ *
+ * 자격 증명 파일 경로가 비어 있으면 설정한 고정 토큰(heart.payment.{google,apple}.auth-token)을 그대로 쓴다.
+ * 로컬 대역 서버 시험용이며, 운영에서는 자격 증명 경로를 설정한다. 파일을 읽지 못하면 기동 시 실패한다.
+ *
+ * @author CBNU Development Team
+ * @version 1.0.0
+ * @since 2024
+ */
+@Slf4j
+@Component
+public class StoreAccessTokenProvider {
+
+    static final String ANDROID_PUBLISHER_SCOPE = "https://www.googleapis.com/auth/androidpublisher";
+    static final String APPLE_AUDIENCE = "appstoreconnect-v1";
+    static final Duration APPLE_TOKEN_LIFETIME = Duration.ofMinutes(20);
+    static final Duration APPLE_REFRESH_MARGIN = Duration.ofMinutes(5);
+
+    private final GoogleCredentials googleCredentials;
+    private final String googleStaticToken;
+    private final PrivateKey appleKey;
+    private final String appleKeyId;
+    private final String appleIssuerId;
+    private final String appleBundleId;
+    private final String appleStaticToken;
+    private final Clock clock;
+
+    /** 마지막으로 서명한 Apple 토큰 (appleToken()에서 동기화) */
+    private String appleToken;
+    private Instant appleTokenExpiresAt = Instant.MIN;
+
+    public StoreAccessTokenProvider(@Value("${heart.payment.google.credentials-path:}") String googleCredentialsPath,
+                                    @Value("${heart.payment.google.auth-token:}") String googleStaticToken,
+                                    @Value("${heart.payment.apple.private-key-path:}") String applePrivateKeyPath,
+                                    @Value("${heart.payment.apple.key-id:}") String appleKeyId,
+                                    @Value("${heart.payment.apple.issuer-id:}") String appleIssuerId,
+                                    @Value("${heart.payment.apple.bundle-id:}") String appleBundleId,
+                                    @Value("${heart.payment.apple.auth-token:}") String appleStaticToken) {
+        this(loadGoogleCredentials(googleCredentialsPath), googleStaticToken, loadApplePrivateKey(applePrivateKeyPath),
+                appleKeyId, appleIssuerId, appleBundleId, appleStaticToken, Clock.systemUTC());
+    }
+
+    StoreAccessTokenProvider(GoogleCredentials googleCredentials, String googleStaticToken,
+                             PrivateKey appleKey, String appleKeyId, String appleIssuerId, String appleBundleId,
+                             String appleStaticToken, Clock clock) {
+        this.googleCredentials = googleCredentials;
+        this.googleStaticToken = googleStaticToken;
+        this.appleKey = appleKey;
+        this.appleKeyId = appleKeyId;
+        this.appleIssuerId = appleIssuerId;
+        this.appleBundleId = appleBundleId;
+        this.appleStaticToken = appleStaticToken;
+        this.clock = clock;
+    }
+
+    /**
+     * 고정 토큰만 쓰는 발급기 (로컬 대역 서버 시험용)
+     */
+    static StoreAccessTokenProvider fixed(String googleToken, String appleToken) {
+        return new StoreAccessTokenProvider(null, googleToken, null, "", "", "", appleToken, Clock.systemUTC());
+    }
+
+    /**
+     * Google Play Developer API 액세스 토큰
+     * @return 토큰 (설정이 없으면 빈 문자열)
+     * @throws IOException 토큰 발급 실패 (자격 증명 거절, OAuth2 서버 연결 오류)
+     */
+    public String googleToken() throws IOException {
+        if (googleCredentials == null) {
+            return googleStaticToken;
+        }
+        googleCredentials.refreshIfExpired();
+        AccessToken token = googleCredentials.getAccessToken();
+        if (token == null) {
+            throw new IOException("Google access token unavailable");
+        }
+        return token.getTokenValue();
+    }
+
+    /**
+     * App Store Server API JWT
+     * @return 토큰 (설정이 없으면 빈 문자열)
+     */
+    public synchronized String appleToken() {
+        if (appleKey == null) {
+            return appleStaticToken;
+        }
+        Instant now = clock.instant();
+        if (appleToken == null || !now.isBefore(appleTokenExpiresAt.minus(APPLE_REFRESH_MARGIN))) {
+            Instant expiresAt = now.plus(APPLE_TOKEN_LIFETIME);
+            appleToken = Jwts.builder()
+                    .setHeaderParam("kid", appleKeyId)
+                    .setHeaderParam("typ", "JWT")
+                    .setIssuer(appleIssuerId)
+                    .setAudience(APPLE_AUDIENCE)
+                    .setIssuedAt(Date.from(now))
+                    .setExpiration(Date.from(expiresAt))
+                    .claim("bid", appleBundleId)
+                    .signWith(appleKey, SignatureAlgorithm.ES256)
+                    .compact();
+            appleTokenExpiresAt = expiresAt;
+            log.debug("Signed App Store Server API token, expires at {}", expiresAt);
+        }
+        return appleToken;
+    }
+
+    private static GoogleCredentials loadGoogleCredentials(String path) {
+        if (path == null || path.isBlank()) {
+            return null;
+        }
+        try (InputStream in = Files.newInputStream(Path.of(path))) {
+            return GoogleCredentials.fromStream(in).createScoped(List.of(ANDROID_PUBLISHER_SCOPE));
+        } catch (IOException e) {
+            throw new IllegalStateException("Google Play 서비스 계정 키를 읽을 수 없습니다: " + path, e);
+        }
+    }
+
+    private static PrivateKey loadApplePrivateKey(String path) {
+        if (path == null || path.isBlank()) {
+            return null;
+        }
+        try {
+            return parseApplePrivateKey(Files.readString(Path.of(path), StandardCharsets.US_ASCII));
+        } catch (IOException | GeneralSecurityException | IllegalArgumentException e) {
+            throw new IllegalStateException("App Store Connect API 키를 읽을 수 없습니다: " + path, e);
+        }
+    }
+
+    /**
+     * .p8 키(PKCS#8 PEM) 파싱
+     */
+    static PrivateKey parseApplePrivateKey(String pem) throws GeneralSecurityException {
+        String base64 = pem.replaceAll("-----(BEGIN|END) PRIVATE KEY-----", "").replaceAll("\\s", "");
+        return KeyFactory.getInstance("EC").generatePrivate(new PKCS8EncodedKeySpec(Base64.getDecoder().decode(base64)));
+    }
+}
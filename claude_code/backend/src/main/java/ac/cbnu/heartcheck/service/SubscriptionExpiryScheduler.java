@@ -0,0 +1,248 @@
+package ac.cbnu.heartcheck.service;
+
+import ac.cbnu.heartcheck.repository.SubscriptionRepository;
+import ac.cbnu.heartcheck.util.HashedTimerWheel;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 구독 만료 타이머
+ *
+ * 클러스터에서 잠금(ClusterLeaseLock)을 가진 한 노드가 곧 종료될 활성 구독(horizon 이내)을 해시 타이머 휠에 올려 두고,
+ * 종료 시각이 지나면 tick 안에 batch-size개씩 UPDATE 한 문장으로 만료 처리한다.
+ * - 잠금을 얻은 직후(시작 포함) 종료 시각이 이미 지난 활성 구독을 ID 범위 단위로 먼저 만료한다 (정지·장애 중 밀린 분)
+ * - refill-interval마다 잠금을 연장하고 직전 refill 시각부터 앞으로 horizon까지의 종료 시각을 다시 읽어 휠을 맞춘다
+ *   (다른 노드에서 활성화·연장된 구독도 이때 반영되며, 연장·취소된 구독은 UPDATE 조건에서 빠진다.
+ *   두 refill 사이에 활성화되거나 단축되어 이미 종료 시각이 지난 구독은 다음 tick에 만료된다)
+ * - 잠금을 잃으면 휠을 비우고 다음 주기에 다시 잠금을 시도한다
+ *
+ * 휠 접근과 DB 작업은 전용 스레드 하나에서만 실행한다.
+ *
+ * @author CBNU Development Team
+ * @version 1.1.0
+ * @since 2024
+ */
+@Slf4j
+@Service
+public class SubscriptionExpiryScheduler {
+
+    static final String LOCK_NAME = "subscriptions:expiry";
+
+    private final SubscriptionRepository subscriptionRepository;
+    private final SubscriptionService subscriptionService;
+    private final ClusterLeaseLock clusterLeaseLock;
+    private final Duration tick;
+    private final Duration horizon;
+    private final Duration refillInterval;
+    private final int batchSize;
+    private final Duration lease;
+    private final Clock clock;
+    private final HashedTimerWheel<Long> wheel;
+    private final ScheduledExecutorService runner;
+
+    private final Counter expiredCounter;
+    private final Timer lagTimer;
+
+    private volatile boolean leader;
+
+    /** 마지막으로 휠을 채운 시각 (다음 refill은 여기부터 읽음, 전용 스레드에서만 접근) */
+    private LocalDateTime lastRefillAt;
+
+    public SubscriptionExpiryScheduler(SubscriptionRepository subscriptionRepository,
+                                       SubscriptionService subscriptionService,
+                                       ClusterLeaseLock clusterLeaseLock,
+                                       MeterRegistry meterRegistry,
+                                       @Value("${heart.subscription.expiry.tick-ms:1000}") long tickMillis,
+                                       @Value("${heart.subscription.expiry.wheel-size:512}") int wheelSize,
+                                       @Value("${heart.subscription.expiry.horizon-seconds:600}") long horizonSeconds,
+                                       @Value("${heart.subscription.expiry.refill-interval-seconds:60}") long refillSeconds,
+                                       @Value("${heart.subscription.expiry.batch-size:200}") int batchSize,
+                                       @Value("${heart.subscription.expiry.lock-lease-seconds:180}") long leaseSeconds) {
+        this(subscriptionRepository, subscriptionService, clusterLeaseLock, meterRegistry,
+                Duration.ofMillis(tickMillis), wheelSize, Duration.ofSeconds(horizonSeconds),
+                Duration.ofSeconds(refillSeconds), batchSize, Duration.ofSeconds(leaseSeconds),
+                Clock.systemDefaultZone());
+    }
+
+    SubscriptionExpiryScheduler(SubscriptionRepository subscriptionRepository,
+                                SubscriptionService subscriptionService,
+                                ClusterLeaseLock clusterLeaseLock, MeterRegistry meterRegistry,
+                                Duration tick, int wheelSize, Duration horizon, Duration refillInterval,
+                                int batchSize, Duration lease, Clock clock) {
+        this.subscriptionRepository = subscriptionRepository;
+        this.subscriptionService = subscriptionService;
+        this.clusterLeaseLock = clusterLeaseLock;
+        this.tick = tick;
+        this.horizon = horizon;
+        this.refillInterval = refillInterval;
+        this.batchSize = batchSize;
+        this.lease = lease;
+        this.clock = clock;
+        this.wheel = new HashedTimerWheel<>(tick, wheelSize, clock.millis());
+        this.runner = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "subscription-expiry");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        this.expiredCounter = Counter.builder("subscription.expiry.expired")
+                .description("Subscriptions expired by the expiry timer")
+                .register(meterRegistry);
+        this.lagTimer = Timer.builder("subscription.expiry.lag")
+                .description("Delay between a subscription's end date and its expiry")
+                .register(meterRegistry);
+        meterRegistry.gauge("subscription.expiry.scheduled", wheel, HashedTimerWheel::size);
+    }
+
+    /**
+     * 애플리케이션 시작 후 타이머 시작 (첫 refill에서 잠금을 얻으면 밀린 만료부터 처리)
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        runner.scheduleWithFixedDelay(() -> runSafely("refill", this::refill),
+                0, refillInterval.toMillis(), TimeUnit.MILLISECONDS);
+        runner.scheduleAtFixedRate(() -> runSafely("tick", this::tick),
+                tick.toMillis(), tick.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        runner.shutdownNow();
+        if (leader) {
+            leader = false;
+            clusterLeaseLock.release(LOCK_NAME);
+        }
+    }
+
+    /**
+     * 잠금 획득·연장 후 직전 refill 이후부터 앞으로 horizon까지 종료될 구독을 휠에 적재
+     * @return 적재한 구독 수 (잠금이 없으면 0)
+     */
+    int refill() {
+        LocalDateTime now = LocalDateTime.now(clock);
+        LocalDateTime from = now;
+        if (!leader) {
+            if (!clusterLeaseLock.tryAcquire(LOCK_NAME, lease)) {
+                return 0;
+            }
+            leader = true;
+            wheel.clear();
+            long caughtUp = catchUp(now);
+            log.info("구독 만료 타이머 시작: 밀린 만료 {}건 처리", caughtUp);
+        } else if (!clusterLeaseLock.renew(LOCK_NAME, lease)) {
+            log.warn("Subscription expiry lock lost, clearing {} scheduled expiries", wheel.size());
+            leader = false;
+            wheel.clear();
+            lastRefillAt = null;
+            return 0;
+        } else if (lastRefillAt != null && lastRefillAt.isBefore(now)) {
+            // 직전 refill 이후 활성화·단축되어 종료 시각이 그 사이에 지난 구독까지 읽음
+            from = lastRefillAt;
+        }
+        int loaded = load(from, now.plus(horizon));
+        lastRefillAt = now;
+        return loaded;
+    }
+
+    /**
+     * 휠에서 종료 시각이 지난 구독을 꺼내 batch-size개씩 만료
+     * @return 만료 처리된 구독 수
+     */
+    int tick() {
+        if (!leader) {
+            return 0;
+        }
+        long nowMillis = clock.millis();
+        List<HashedTimerWheel.Entry<Long>> due = wheel.advance(nowMillis);
+        if (due.isEmpty()) {
+            return 0;
+        }
+        LocalDateTime now = LocalDateTime.ofInstant(Instant.ofEpochMilli(nowMillis), clock.getZone());
+        int expired = 0;
+        for (int from = 0; from < due.size(); from += batchSize) {
+            List<HashedTimerWheel.Entry<Long>> batch = due.subList(from, Math.min(from + batchSize, due.size()));
+            try {
+                expired += expire(batch.stream().map(HashedTimerWheel.Entry::key).toList(), now);
+                batch.forEach(entry -> lagTimer.record(
+                        Math.max(0, nowMillis - entry.deadlineMillis()), TimeUnit.MILLISECONDS));
+            } catch (Exception e) {
+                // 다음 refill 주기에 다시 시도
+                log.warn("Subscription expiry batch failed, retrying {} subscriptions later", batch.size(), e);
+                long retryAt = nowMillis + refillInterval.toMillis();
+                batch.forEach(entry -> wheel.schedule(entry.key(), retryAt));
+            }
+        }
+        return expired;
+    }
+
+    /**
+     * 종료 시각이 이미 지난 활성 구독을 ID 범위 단위로 만료
+     * @return 만료 처리된 구독 수
+     */
+    long catchUp(LocalDateTime now) {
+        long expired = 0;
+        long afterId = 0;
+        while (true) {
+            List<Long> ids = subscriptionRepository.findOverdueIds(now, afterId, PageRequest.of(0, batchSize));
+            if (ids.isEmpty()) {
+                break;
+            }
+            expired += expire(ids, now);
+            afterId = ids.get(ids.size() - 1);
+            if (ids.size() < batchSize || !clusterLeaseLock.renew(LOCK_NAME, lease)) {
+                break;
+            }
+        }
+        return expired;
+    }
+
+    private int load(LocalDateTime from, LocalDateTime until) {
+        int loaded = 0;
+        LocalDateTime cursorDate = from;
+        long cursorId = 0;
+        while (true) {
+            List<Object[]> rows = subscriptionRepository.findExpiringBetween(cursorDate, cursorId, until,
+                    PageRequest.of(0, batchSize));
+            for (Object[] row : rows) {
+                cursorId = (Long) row[0];
+                cursorDate = (LocalDateTime) row[1];
+                wheel.schedule(cursorId, cursorDate.atZone(clock.getZone()).toInstant().toEpochMilli());
+            }
+            loaded += rows.size();
+            if (rows.size() < batchSize) {
+                return loaded;
+            }
+        }
+    }
+
+    private int expire(List<Long> ids, LocalDateTime now) {
+        int expired = subscriptionService.expireSubscriptions(ids, now);
+        expiredCounter.increment(expired);
+        return expired;
+    }
+
+    private static void runSafely(String task, Runnable runnable) {
+        try {
+            runnable.run();
+        } catch (Exception e) {
+            log.error("Subscription expiry {} failed", task, e);
+        }
+    }
+}
@@ -7,21 +7,27 @@ import ac.cbnu.heartcheck.entity.User;
 import ac.cbnu.heartcheck.repository.CostModelRepository;
 import ac.cbnu.heartcheck.repository.SubscriptionRepository;
 import ac.cbnu.heartcheck.repository.UserRepository;
+import ac.cbnu.heartcheck.service.EntitlementCache.Entitlement;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 /**
  * SubscriptionService for Heart Doctor system
  * 구독 관리 비즈니스 로직
  *
+ * 구독 여부 확인(hasActiveSubscription, getEntitlement)은 EntitlementCache에서 답하며 DB 연결을 잡지 않는다.
+ * 구독 엔티티를 돌려주는 조회는 구독이 없으면 캐시만으로 끝나고, 있으면 캐시된 구독 ID로 기본 키 조회 1회를 한다.
+ *
  * @author CBNU Development Team
- * @version 1.0
+ * @version 1.6
  * @since 2024
  */
 @Slf4j
@@ -33,6 +39,8 @@ public class SubscriptionService {
     private final SubscriptionRepository subscriptionRepository;
     private final CostModelRepository costModelRepository;
     private final UserRepository userRepository;
+    private final EntitlementCache entitlementCache;
+    private final ApplicationEventPublisher eventPublisher;
 
     /**
      * 사용자 ID로 모든 구독 조회
@@ -49,9 +57,15 @@ public class SubscriptionService {
      * @param userId 사용자 ID
      * @return 활성 구독 (없으면 null)
      */
+    @Transactional(propagation = Propagation.SUPPORTS)
     public Subscription getActiveSubscription(Long userId) {
         log.debug("Fetching active subscription for user ID: {}", userId);
-        return subscriptionRepository.findByUserIdAndStatus(userId, SubscriptionStatus.ACTIVE)
+        Entitlement entitlement = entitlementCache.get(userId);
+        if (!entitlement.isActive()) {
+            return null;
+        }
+        return subscriptionRepository.findById(entitlement.subscriptionId())
+                .filter(Subscription::isActive)
                 .orElse(null);
     }
 
@@ -60,9 +74,15 @@ public class SubscriptionService {
      * @param userId 사용자 ID
      * @return 유효한 구독 (없으면 null)
      */
+    @Transactional(propagation = Propagation.SUPPORTS)
     public Subscription getValidSubscription(Long userId) {
         log.debug("Fetching valid subscription for user ID: {}", userId);
-        return subscriptionRepository.findValidSubscriptionByUserId(userId, LocalDateTime.now())
+        Entitlement entitlement = entitlementCache.get(userId);
+        if (!entitlement.isValid(LocalDateTime.now())) {
+            return null;
+        }
+        return subscriptionRepository.findById(entitlement.subscriptionId())
+                .filter(Subscription::isValid)
                 .orElse(null);
     }
 
@@ -71,12 +91,23 @@ public class SubscriptionService {
      * @param userId 사용자 ID
      * @return 활성 구독 존재 여부
      */
+    @Transactional(propagation = Propagation.SUPPORTS)
     public boolean hasActiveSubscription(Long userId) {
-        boolean hasActive = subscriptionRepository.hasActiveSubscription(userId, LocalDateTime.now());
+        boolean hasActive = entitlementCache.get(userId).isValid(LocalDateTime.now());
         log.debug("User ID {} has active subscription: {}", userId, hasActive);
         return hasActive;
     }
 
+    /**
+     * 사용자의 구독 권한 조회 (요금제 종류, 상태, 종료 시각)
+     * @param userId 사용자 ID
+     * @return 구독 권한
+     */
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public Entitlement getEntitlement(Long userId) {
+        return entitlementCache.get(userId);
+    }
+
     /**
      * 새로운 구독 생성
      * @param userId 사용자 ID
@@ -134,6 +165,7 @@ public class SubscriptionService {
 
         subscription.activate();
         Subscription activated = subscriptionRepository.save(subscription);
+        publishChanged(activated);
 
         log.info("Activated subscription ID: {}", subscriptionId);
         return activated;
@@ -157,6 +189,7 @@ public class SubscriptionService {
 
         subscription.cancel();
         Subscription canceled = subscriptionRepository.save(subscription);
+        publishChanged(canceled);
 
         log.info("Canceled subscription ID: {}", subscriptionId);
         return canceled;
@@ -177,29 +210,70 @@ public class SubscriptionService {
 
         subscription.extend(additionalDays);
         Subscription extended = subscriptionRepository.save(subscription);
+        publishChanged(extended);
 
         log.info("Extended subscription ID: {} to {}", subscriptionId, extended.getToDate());
         return extended;
     }
 
     /**
-     * 만료된 구독 처리 (스케줄러)
-     * 매일 자정에 실행
+     * 결제 확정에 따른 구독 반영 (영수증 검증 작업자)
+     * 활성 구독이 있으면 결제한 요금제 기간만큼 연장하고(종료 시각이 이미 지났으면 지금부터, 평생 요금제면 요금제도 바꿈),
+     * 없으면 새로 만들어 활성화한다. 이미 활성 구독이 있다고 예외를 던지지 않으므로 호출한 트랜잭션을 rollback-only로 만들지 않는다.
+     * @param userId 사용자 ID
+     * @param costModelId 결제한 요금제 ID
+     * @return 연장되거나 새로 활성화된 구독
      */
-    @Scheduled(cron = "0 0 0 * * *")
     @Transactional
-    public void processExpiredSubscriptions() {
-        log.info("Processing expired subscriptions...");
-
-        List<Subscription> expiredSubscriptions = subscriptionRepository.findExpiredSubscriptions(LocalDateTime.now());
+    public Subscription renewSubscription(Long userId, Short costModelId) {
+        Subscription active = subscriptionRepository.findByUserIdAndStatus(userId, SubscriptionStatus.ACTIVE)
+                .orElse(null);
+        if (active == null) {
+            return activateSubscription(createSubscription(userId, costModelId).getId());
+        }
 
-        for (Subscription subscription : expiredSubscriptions) {
-            subscription.updateStatus(); // EXPIRED로 상태 변경
-            subscriptionRepository.save(subscription);
-            log.info("Expired subscription ID: {}", subscription.getId());
+        CostModel costModel = costModelRepository.findById(costModelId)
+                .orElseThrow(() -> new IllegalArgumentException("요금제를 찾을 수 없습니다: " + costModelId));
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime base = active.getToDate() != null && active.getToDate().isAfter(now) ? active.getToDate() : now;
+        LocalDateTime toDate = calculateEndDate(base, costModel);
+        if (costModel.isLifetime()) {
+            active.setCostModel(costModel);
         }
+        if (active.getToDate() == null || toDate.isAfter(active.getToDate())) {
+            active.setToDate(toDate);
+        }
+        Subscription renewed = subscriptionRepository.save(active);
+        publishChanged(renewed);
+
+        log.info("Renewed subscription ID: {} for user ID: {} to {}", renewed.getId(), userId, renewed.getToDate());
+        return renewed;
+    }
 
-        log.info("Processed {} expired subscriptions", expiredSubscriptions.size());
+    /**
+     * 종료 시각이 지난 구독 만료 처리 (SubscriptionExpiryScheduler가 작은 묶음으로 호출)
+     * UPDATE 한 문장으로 만료하고, 만료된 구독마다 변경 이벤트를 발행한다 (커밋 후 캐시 무효화).
+     * @param subscriptionIds 만료 후보 구독 ID
+     * @param now 기준 시각
+     * @return 만료 처리된 구독 수
+     */
+    @Transactional
+    public int expireSubscriptions(Collection<Long> subscriptionIds, LocalDateTime now) {
+        if (subscriptionIds.isEmpty()) {
+            return 0;
+        }
+        // 그 사이 연장·취소된 구독은 두 조회 모두에서 빠짐
+        List<Object[]> expirable = subscriptionRepository.findExpirableUserIds(subscriptionIds, now);
+        if (expirable.isEmpty()) {
+            return 0;
+        }
+        int expired = subscriptionRepository.expireByIds(subscriptionIds, now, SubscriptionStatus.EXPIRED);
+        for (Object[] row : expirable) {
+            eventPublisher.publishEvent(new SubscriptionChangedEvent((Long) row[1], (Long) row[0],
+                    SubscriptionStatus.EXPIRED));
+        }
+        log.debug("Expired {} subscriptions", expired);
+        return expired;
     }
 
     /**
@@ -213,6 +287,15 @@ public class SubscriptionService {
         return subscriptionRepository.findExpiringSoonSubscriptions(now, sevenDaysLater);
     }
 
+    /**
+     * 구독 상태 변경 이벤트 발행 (구독 권한 캐시 무효화용, 요금제 등급도 이 항목에서 계산)
+     * @param subscription 변경된 구독
+     */
+    private void publishChanged(Subscription subscription) {
+        eventPublisher.publishEvent(new SubscriptionChangedEvent(
+                subscription.getUser().getUserId(), subscription.getId(), subscription.getStatus()));
+    }
+
     /**
      * 구독 종료일 계산
      * @param fromDate 시작일
@@ -249,4 +332,13 @@ public class SubscriptionService {
         return subscriptionRepository.findById(subscriptionId)
                 .orElseThrow(() -> new IllegalArgumentException("구독을 찾을 수 없습니다: " + subscriptionId));
     }
+
+    /**
+     * 구독 상태 변경 이벤트
+     * @param userId 사용자 ID
+     * @param subscriptionId 구독 ID
+     * @param status 변경 후 상태
+     */
+    public record SubscriptionChangedEvent(Long userId, Long subscriptionId, SubscriptionStatus status) {
+    }
 }
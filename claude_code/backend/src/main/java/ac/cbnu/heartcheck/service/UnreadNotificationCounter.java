@@ -0,0 +1,367 @@
+package ac.cbnu.heartcheck.service;
+
+import ac.cbnu.heartcheck.repository.NotificationRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 읽지 않은 알림 카운터
+ *
+ * 사용자별 읽지 않은 알림 수를 Redis 카운터(user:{id}:notifications:unread)로 유지해
+ * 배지 조회를 키 하나 읽기로 처리한다. 알림 생성·읽음·미읽음·삭제는 커밋 후 변화량만큼 조정하고,
+ * 일괄 읽음 처리는 갱신된 행 수만큼 한 번에 조정한다.
+ *
+ * 카운터가 없을 때만 DB COUNT로 채우며(SET NX), 조정은 카운터가 있을 때만 적용한다 (ADJUST_SCRIPT).
+ * 채우기와 조정이 엇갈려 생기는 오차는 주기적 대조(reconcile)로 바로잡는다.
+ * 대조 대상은 카운터를 가진 사용자 ZSET(notifications:unread:users)에서 마지막 대조 시각이 오래된 순으로
+ * 배치만큼 가져오며, 대조 중 카운터가 바뀌었으면 덮어쓰지 않는다 (RECONCILE_SCRIPT).
+ *
+ * 트랜잭션 안의 조정은 커밋 직전에 사용자별 대기 표시(user:{id}:notifications:unread:pending)를 올리고
+ * 커밋 후 조정과 함께 내린다. DB에는 반영됐지만 카운터 조정이 아직 적용되지 않은 사용자를 대조가 덮어쓰면
+ * 뒤이어 오는 조정이 한 번 더 더해지므로, 대기 표시가 있는 사용자는 대조를 건너뛴다.
+ * 조정 전에 노드가 죽어 남은 표시는 pending-ttl 후 만료된다.
+ *
+ * Redis 장애 시에는 DB COUNT로 응답하고 조정은 건너뛴다 (복구 후 대조로 보정).
+ *
+ * @author CBNU Development Team
+ * @version 1.1.0
+ * @since 2024
+ */
+@Slf4j
+@Service
+public class UnreadNotificationCounter {
+
+    static final String USERS_KEY = "notifications:unread:users";
+    private static final String COUNTER_KEY = "user:%d:notifications:unread";
+    private static final String PENDING_KEY = "user:%d:notifications:unread:pending";
+
+    /**
+     * 커밋 직전 대기 표시: KEYS 대기 키, ARGV[1] 표시 만료(ms)
+     */
+    private static final RedisScript<Long> MARK_SCRIPT = new DefaultRedisScript<>("""
+            for i = 1, #KEYS do
+                redis.call('INCR', KEYS[i])
+                redis.call('PEXPIRE', KEYS[i], ARGV[1])
+            end
+            return #KEYS
+            """, Long.class);
+
+    /**
+     * 카운터가 있을 때만 조정, 음수가 되면 삭제해 다음 조회 때 다시 채움
+     * KEYS 사용자별 [카운터, 대기 키] 쌍, ARGV[1] 대기 표시 해제 여부('1'), ARGV[2..] 사용자별 변화량
+     * 반환: 조정을 적용한 카운터 수
+     */
+    private static final RedisScript<Long> ADJUST_SCRIPT = new DefaultRedisScript<>("""
+            local release = ARGV[1] == '1'
+            local applied = 0
+            for i = 1, #KEYS / 2 do
+                local counter = KEYS[2 * i - 1]
+                local pending = KEYS[2 * i]
+                if release and redis.call('EXISTS', pending) == 1 and redis.call('DECR', pending) <= 0 then
+                    redis.call('DEL', pending)
+                end
+                local delta = tonumber(ARGV[i + 1])
+                if delta ~= 0 and redis.call('EXISTS', counter) == 1 then
+                    if redis.call('INCRBY', counter, delta) < 0 then
+                        redis.call('DEL', counter)
+                    else
+                        applied = applied + 1
+                    end
+                end
+            end
+            return applied
+            """, Long.class);
+
+    /**
+     * 커밋 후 조정을 기다리는 중이 아니고 대조 시작 시 읽은 값과 같을 때만 DB 값으로 교체
+     * KEYS[1] 카운터, KEYS[2] 대기 키
+     */
+    private static final RedisScript<Long> RECONCILE_SCRIPT = new DefaultRedisScript<>("""
+            if redis.call('EXISTS', KEYS[2]) == 0 and redis.call('GET', KEYS[1]) == ARGV[1] then
+                redis.call('SET', KEYS[1], ARGV[2], 'EX', ARGV[3])
+                return 1
+            end
+            return 0
+            """, Long.class);
+
+    private final StringRedisTemplate redisTemplate;
+    private final NotificationRepository notificationRepository;
+    private final Duration ttl;
+    private final Duration pendingTtl;
+    private final Duration reconcileAge;
+    private final int reconcileBatchSize;
+    private final Clock clock;
+
+    private final Counter hitCounter;
+    private final Counter missCounter;
+    private final Counter correctedCounter;
+
+    public UnreadNotificationCounter(StringRedisTemplate redisTemplate,
+                                     NotificationRepository notificationRepository,
+                                     MeterRegistry meterRegistry,
+                                     @Value("${heart.notification.unread.ttl-seconds:604800}") long ttlSeconds,
+                                     @Value("${heart.notification.unread.pending-ttl-seconds:60}") long pendingTtlSeconds,
+                                     @Value("${heart.notification.unread.reconcile.age-seconds:600}") long reconcileAgeSeconds,
+                                     @Value("${heart.notification.unread.reconcile.batch-size:500}") int reconcileBatchSize) {
+        this(redisTemplate, notificationRepository, meterRegistry, Duration.ofSeconds(ttlSeconds),
+                Duration.ofSeconds(pendingTtlSeconds), Duration.ofSeconds(reconcileAgeSeconds), reconcileBatchSize,
+                Clock.systemUTC());
+    }
+
+    UnreadNotificationCounter(StringRedisTemplate redisTemplate, NotificationRepository notificationRepository,
+                              MeterRegistry meterRegistry, Duration ttl, Duration pendingTtl, Duration reconcileAge,
+                              int reconcileBatchSize, Clock clock) {
+        this.redisTemplate = redisTemplate;
+        this.notificationRepository = notificationRepository;
+        this.ttl = ttl;
+        this.pendingTtl = pendingTtl;
+        this.reconcileAge = reconcileAge;
+        this.reconcileBatchSize = reconcileBatchSize;
+        this.clock = clock;
+
+        this.hitCounter = Counter.builder("notification.unread.lookups")
+                .tag("result", "hit")
+                .description("Unread count lookups served by the Redis counter")
+                .register(meterRegistry);
+        this.missCounter = Counter.builder("notification.unread.lookups")
+                .tag("result", "miss")
+                .description("Unread count lookups that fell back to a COUNT query")
+                .register(meterRegistry);
+        this.correctedCounter = Counter.builder("notification.unread.reconcile.corrected")
+                .description("Unread counters corrected by reconciliation")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 읽지 않은 알림 수 조회
+     * @param userId 사용자 ID
+     * @return 읽지 않은 알림 수
+     */
+    public long get(Long userId) {
+        String key = counterKey(userId);
+        try {
+            String cached = redisTemplate.opsForValue().get(key);
+            if (cached != null) {
+                hitCounter.increment();
+                return Long.parseLong(cached);
+            }
+        } catch (Exception e) {
+            log.warn("Unread counter read failed for user {}, using COUNT: {}", userId, e.getMessage());
+            missCounter.increment();
+            return notificationRepository.countUnreadByUserId(userId);
+        }
+
+        missCounter.increment();
+        long count = notificationRepository.countUnreadByUserId(userId);
+        try {
+            // 그 사이 다른 노드가 채웠으면 그 값을 유지
+            redisTemplate.opsForValue().setIfAbsent(key, Long.toString(count), ttl);
+            redisTemplate.opsForZSet().addIfAbsent(USERS_KEY, userId.toString(), clock.millis());
+        } catch (Exception e) {
+            log.warn("Unread counter fill failed for user {}: {}", userId, e.getMessage());
+        }
+        return count;
+    }
+
+    /**
+     * 읽지 않은 알림 수 조정 (트랜잭션 안이면 커밋 후)
+     * @param userId 사용자 ID
+     * @param delta 변화량 (생성·미읽음 +, 읽음·삭제 -)
+     */
+    public void adjust(Long userId, long delta) {
+        if (delta == 0) {
+            return;
+        }
+        adjustAfterCommit(Map.of(userId, delta));
+    }
+
+    /**
+     * 여러 사용자 카운터 일괄 조정 (예약 알림·일괄 발송 청크)
+     * 청크 전체를 스크립트 한 번(EVALSHA)으로 보내 청크 크기와 무관하게 왕복 1회로 처리
+     * @param deltas 사용자 ID별 변화량
+     */
+    public void adjustAll(Map<Long, Long> deltas) {
+        Map<Long, Long> changed = new LinkedHashMap<>();
+        deltas.forEach((userId, delta) -> {
+            if (delta != 0) {
+                changed.put(userId, delta);
+            }
+        });
+        if (changed.isEmpty()) {
+            return;
+        }
+        adjustAfterCommit(changed);
+    }
+
+    /**
+     * 읽지 않은 알림 수를 값으로 지정 (모두 읽음 처리 후 0)
+     * @param userId 사용자 ID
+     * @param count 읽지 않은 알림 수
+     */
+    public void set(Long userId, long count) {
+        afterCommit(() -> {
+            try {
+                redisTemplate.opsForValue().set(counterKey(userId), Long.toString(count), ttl);
+                redisTemplate.opsForZSet().add(USERS_KEY, userId.toString(), clock.millis());
+            } catch (Exception e) {
+                log.warn("Unread counter set failed for user {}: {}", userId, e.getMessage());
+            }
+        });
+    }
+
+    /**
+     * 주기적 대조 (스케줄러)
+     */
+    @Scheduled(fixedDelayString = "${heart.notification.unread.reconcile.interval-ms:60000}",
+               initialDelayString = "${heart.notification.unread.reconcile.interval-ms:60000}")
+    public void scheduledReconcile() {
+        try {
+            reconcile();
+        } catch (Exception e) {
+            log.error("Unread counter reconciliation failed", e);
+        }
+    }
+
+    /**
+     * 마지막 대조가 오래된 카운터 한 배치를 DB와 대조
+     * @return 바로잡은 카운터 수
+     */
+    int reconcile() {
+        long now = clock.millis();
+        Set<String> members = redisTemplate.opsForZSet()
+                .rangeByScore(USERS_KEY, 0, now - reconcileAge.toMillis(), 0, reconcileBatchSize);
+        if (members == null || members.isEmpty()) {
+            return 0;
+        }
+
+        List<Long> userIds = members.stream().map(Long::valueOf).toList();
+        List<String> cached = redisTemplate.opsForValue().multiGet(userIds.stream().map(this::counterKey).toList());
+        Map<Long, Long> actual = new HashMap<>();
+        for (Object[] row : notificationRepository.countUnreadByUserIds(userIds)) {
+            actual.put((Long) row[0], (Long) row[1]);
+        }
+
+        int corrected = 0;
+        List<String> expired = new ArrayList<>();
+        for (int i = 0; i < userIds.size(); i++) {
+            Long userId = userIds.get(i);
+            String value = cached != null ? cached.get(i) : null;
+            if (value == null) {
+                // 만료된 카운터는 다음 조회 때 다시 채워지므로 추적에서 제외
+                expired.add(userId.toString());
+                continue;
+            }
+            long expected = actual.getOrDefault(userId, 0L);
+            if (Long.parseLong(value) != expected) {
+                Long replaced = redisTemplate.execute(RECONCILE_SCRIPT, List.of(counterKey(userId), pendingKey(userId)),
+                        value, Long.toString(expected), Long.toString(ttl.toSeconds()));
+                if (replaced != null && replaced == 1L) {
+                    corrected++;
+                    log.debug("Unread counter corrected for user {}: {} -> {}", userId, value, expected);
+                }
+            }
+            redisTemplate.opsForZSet().add(USERS_KEY, userId.toString(), now);
+        }
+        if (!expired.isEmpty()) {
+            redisTemplate.opsForZSet().remove(USERS_KEY, expired.toArray());
+        }
+        correctedCounter.increment(corrected);
+        return corrected;
+    }
+
+    /**
+     * 트랜잭션 안이면 커밋 직전 대기 표시 후 커밋되면 조정, 롤백되면 표시만 해제
+     */
+    private void adjustAfterCommit(Map<Long, Long> deltas) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            applyAdjust(deltas, false);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            private boolean marked;
+
+            @Override
+            public void beforeCommit(boolean readOnly) {
+                marked = markPending(deltas.keySet());
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                if (status == STATUS_COMMITTED) {
+                    applyAdjust(deltas, marked);
+                } else if (marked) {
+                    Map<Long, Long> released = new LinkedHashMap<>();
+                    deltas.keySet().forEach(userId -> released.put(userId, 0L));
+                    applyAdjust(released, true);
+                }
+            }
+        });
+    }
+
+    private boolean markPending(Collection<Long> userIds) {
+        try {
+            redisTemplate.execute(MARK_SCRIPT, userIds.stream().map(this::pendingKey).toList(),
+                    Long.toString(pendingTtl.toMillis()));
+            return true;
+        } catch (Exception e) {
+            log.warn("Unread counter pending mark failed for {} users: {}", userIds.size(), e.getMessage());
+            return false;
+        }
+    }
+
+    private void applyAdjust(Map<Long, Long> deltas, boolean release) {
+        List<String> keys = new ArrayList<>(deltas.size() * 2);
+        List<String> args = new ArrayList<>(deltas.size() + 1);
+        args.add(release ? "1" : "0");
+        deltas.forEach((userId, delta) -> {
+            keys.add(counterKey(userId));
+            keys.add(pendingKey(userId));
+            args.add(Long.toString(delta));
+        });
+        try {
+            redisTemplate.execute(ADJUST_SCRIPT, keys, args.toArray());
+        } catch (Exception e) {
+            log.warn("Unread counter adjust failed for {} users: {}", deltas.size(), e.getMessage());
+        }
+    }
+
+    private void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    private String counterKey(Long userId) {
+        return String.format(COUNTER_KEY, userId);
+    }
+
+    private String pendingKey(Long userId) {
+        return String.format(PENDING_KEY, userId);
+    }
+}
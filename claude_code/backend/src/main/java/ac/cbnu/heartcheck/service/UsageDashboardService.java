@@ -0,0 +1,142 @@
+package ac.cbnu.heartcheck.service;
+
+import lombok.Builder;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ZSetOperations.TypedTuple;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * 사용량 대시보드 서비스
+ * QuotaEngine 스크립트가 허용할 때마다 갱신하는 일자별 스트리밍 구조를 읽어 실시간 통계를 제공
+ *
+ * 일자별 키 (8일 보관)
+ * - usage_stats:{date}:active  HyperLogLog, 활성 사용자 수 추정 (오차 약 0.81%)
+ * - usage_stats:{date}:top     ZSET, 사용자별 사용 횟수 (상위 K명 조회)
+ * - usage_stats:{date}:minutes HASH, 분(HH:mm)별 사용 횟수
+ * - usage_stats:{date}:total   전체 사용 횟수
+ *
+ * 조회는 키 개수만큼의 Redis 호출로 끝나며 daily_usage_quotas 집계 쿼리를 사용하지 않는다.
+ * Redis 장애 중 로컬에서 허용한 사용량은 복구 후 반영되지만 분별 통계에는 포함되지 않는다.
+ *
+ * @author CBNU Development Team
+ * @version 1.0.0
+ * @since 2024
+ */
+@Service
+@RequiredArgsConstructor
+public class UsageDashboardService {
+
+    private static final String STATS_KEY = "usage_stats:%s:%s";
+    static final long STATS_TTL_SECONDS = Duration.ofDays(8).toSeconds();
+    private static final int MAX_TOP_K = 100;
+
+    private final StringRedisTemplate stringRedisTemplate;
+
+    /**
+     * 일자별 사용량 대시보드 조회
+     * @param day 기준일
+     * @param topK 상위 사용자 수 (최대 100)
+     * @return 대시보드 통계
+     */
+    public UsageDashboard getDashboard(LocalDate day, int topK) {
+        int k = Math.max(1, Math.min(topK, MAX_TOP_K));
+
+        Long activeUsers = stringRedisTemplate.opsForHyperLogLog().size(activeUsersKey(day));
+        String total = stringRedisTemplate.opsForValue().get(totalKey(day));
+        Set<TypedTuple<String>> top = stringRedisTemplate.opsForZSet().reverseRangeWithScores(topUsersKey(day), 0, k - 1);
+        Map<Object, Object> minutes = stringRedisTemplate.opsForHash().entries(minutesKey(day));
+
+        List<TopUser> topUsers = new ArrayList<>();
+        if (top != null) {
+            for (TypedTuple<String> tuple : top) {
+                if (tuple.getValue() != null && tuple.getScore() != null) {
+                    topUsers.add(new TopUser(Long.valueOf(tuple.getValue()), tuple.getScore().longValue()));
+                }
+            }
+        }
+
+        TreeMap<String, Long> perMinute = new TreeMap<>();
+        minutes.forEach((minute, count) -> perMinute.put(minute.toString(), Long.parseLong(count.toString())));
+        Map.Entry<String, Long> peak = perMinute.entrySet().stream()
+                .max(Map.Entry.comparingByValue())
+                .orElse(null);
+
+        return UsageDashboard.builder()
+                .date(day)
+                .activeUsers(activeUsers != null ? activeUsers : 0)
+                .totalUsage(total != null ? Long.parseLong(total) : 0)
+                .topUsers(topUsers)
+                .perMinute(perMinute)
+                .peakMinute(peak != null ? peak.getKey() : null)
+                .peakMinuteUsage(peak != null ? peak.getValue() : 0)
+                .build();
+    }
+
+    /**
+     * QuotaEngine 스크립트에 전달할 통계 키 (활성 사용자, 상위 사용자, 분별, 전체 순서)
+     * @param day 기준일
+     * @return 통계 키 목록
+     */
+    static List<String> statsKeys(LocalDate day) {
+        return List.of(activeUsersKey(day), topUsersKey(day), minutesKey(day), totalKey(day));
+    }
+
+    /**
+     * 분별 통계 필드
+     * @param time 시각
+     * @return HH:mm
+     */
+    static String minuteField(LocalTime time) {
+        return String.format("%02d:%02d", time.getHour(), time.getMinute());
+    }
+
+    static String activeUsersKey(LocalDate day) {
+        return String.format(STATS_KEY, day, "active");
+    }
+
+    static String topUsersKey(LocalDate day) {
+        return String.format(STATS_KEY, day, "top");
+    }
+
+    static String minutesKey(LocalDate day) {
+        return String.format(STATS_KEY, day, "minutes");
+    }
+
+    static String totalKey(LocalDate day) {
+        return String.format(STATS_KEY, day, "total");
+    }
+
+    /**
+     * 상위 사용자
+     * @param userId 사용자 ID
+     * @param count 사용 횟수
+     */
+    public record TopUser(Long userId, long count) {
+    }
+
+    /**
+     * 사용량 대시보드 DTO
+     */
+    @Builder
+    @Getter
+    public static class UsageDashboard {
+        private LocalDate date;
+        private long activeUsers;
+        private long totalUsage;
+        private List<TopUser> topUsers;
+        private Map<String, Long> perMinute;
+        private String peakMinute;
+        private long peakMinuteUsage;
+    }
+}
@@ -0,0 +1,196 @@
+package ac.cbnu.heartcheck.service;
+
+import ac.cbnu.heartcheck.repository.DailyUsageQuotaJdbcRepository;
+import ac.cbnu.heartcheck.repository.DailyUsageQuotaJdbcRepository.UsageCountRow;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ZSetOperations.TypedTuple;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 사용량 Write-Behind 서비스
+ * Redis 카운터를 원본으로 두고, 변경된 (사용자, 날짜) 쌍을 주기적으로 daily_usage_quotas에 일괄 반영
+ *
+ * 변경 추적은 Redis ZSET(daily_usage:dirty)에 최초 변경 시각을 점수로 저장하며 (QuotaEngine 스크립트에서 등록),
+ * ZPOPMIN으로 항목을 가져가므로 여러 노드가 동시에 실행해도 같은 항목을 중복 처리하지 않는다.
+ *
+ * @author CBNU Development Team
+ * @version 1.0.0
+ * @since 2024
+ */
+@Slf4j
+@Service
+public class UsageWriteBehindService {
+
+    static final String DIRTY_KEY = "daily_usage:dirty";
+    private static final String COUNTER_KEY_PREFIX = "daily_usage:";
+    private static final int MAX_SHUTDOWN_ROUNDS = 100;
+
+    private final StringRedisTemplate stringRedisTemplate;
+    private final RedisTemplate<String, Long> counterRedisTemplate;
+    private final DailyUsageQuotaJdbcRepository dailyUsageQuotaJdbcRepository;
+    private final int batchSize;
+
+    private final DistributionSummary batchSizeSummary;
+    private final Timer flushLagTimer;
+    private final Timer flushDurationTimer;
+    private final Counter flushedRowsCounter;
+    private final Counter flushFailureCounter;
+    private final AtomicLong lastFlushLagMillis = new AtomicLong();
+
+    public UsageWriteBehindService(StringRedisTemplate stringRedisTemplate,
+                                   RedisTemplate<String, Long> counterRedisTemplate,
+                                   DailyUsageQuotaJdbcRepository dailyUsageQuotaJdbcRepository,
+                                   MeterRegistry meterRegistry,
+                                   @Value("${heart.quota.flush.batch-size:500}") int batchSize) {
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.counterRedisTemplate = counterRedisTemplate;
+        this.dailyUsageQuotaJdbcRepository = dailyUsageQuotaJdbcRepository;
+        this.batchSize = batchSize;
+
+        this.batchSizeSummary = DistributionSummary.builder("quota.flush.batch.size")
+                .description("Rows written per write-behind flush batch")
+                .register(meterRegistry);
+        this.flushLagTimer = Timer.builder("quota.flush.lag")
+                .description("Time between the first unflushed increment and its flush")
+                .register(meterRegistry);
+        this.flushDurationTimer = Timer.builder("quota.flush.duration")
+                .description("Duration of a single write-behind flush batch")
+                .register(meterRegistry);
+        this.flushedRowsCounter = Counter.builder("quota.flush.rows")
+                .description("Total rows upserted into daily_usage_quotas")
+                .register(meterRegistry);
+        this.flushFailureCounter = Counter.builder("quota.flush.failures")
+                .description("Write-behind flush batches that failed and were re-queued")
+                .register(meterRegistry);
+        meterRegistry.gauge("quota.flush.lag.last.seconds", lastFlushLagMillis, v -> v.get() / 1000.0);
+    }
+
+    /**
+     * 주기적 일괄 반영 (스케줄러)
+     */
+    @Scheduled(fixedDelayString = "${heart.quota.flush.interval-ms:5000}",
+               initialDelayString = "${heart.quota.flush.interval-ms:5000}")
+    public void scheduledFlush() {
+        try {
+            int flushed;
+            do {
+                flushed = flushOnce();
+            } while (flushed >= batchSize);
+        } catch (Exception e) {
+            log.error("Scheduled usage flush failed", e);
+        }
+    }
+
+    /**
+     * 종료 시 남은 변경분 반영
+     */
+    @PreDestroy
+    public void flushOnShutdown() {
+        log.info("Flushing pending usage counters before shutdown");
+        try {
+            for (int round = 0; round < MAX_SHUTDOWN_ROUNDS; round++) {
+                if (flushOnce() < batchSize) {
+                    return;
+                }
+            }
+            log.warn("Usage flush on shutdown stopped after {} rounds; remaining entries stay queued", MAX_SHUTDOWN_ROUNDS);
+        } catch (Exception e) {
+            log.error("Usage flush on shutdown failed", e);
+        }
+    }
+
+    /**
+     * 변경분 한 배치를 가져와 DB에 반영
+     * @return 가져온 항목 수
+     */
+    int flushOnce() {
+        Set<TypedTuple<String>> claimed = stringRedisTemplate.opsForZSet().popMin(DIRTY_KEY, batchSize);
+        if (claimed == null || claimed.isEmpty()) {
+            return 0;
+        }
+
+        long startNanos = System.nanoTime();
+        List<TypedTuple<String>> entries = new ArrayList<>(claimed);
+        List<String> counterKeys = new ArrayList<>(entries.size());
+        double oldestScore = Double.MAX_VALUE;
+        for (TypedTuple<String> entry : entries) {
+            counterKeys.add(counterKey(entry.getValue()));
+            if (entry.getScore() != null) {
+                oldestScore = Math.min(oldestScore, entry.getScore());
+            }
+        }
+
+        List<Long> counts = counterRedisTemplate.opsForValue().multiGet(counterKeys);
+        List<UsageCountRow> rows = new ArrayList<>(entries.size());
+        for (int i = 0; i < entries.size(); i++) {
+            Long count = counts != null ? counts.get(i) : null;
+            if (count == null) {
+                // 카운터가 만료되었거나 초기화된 경우 반영할 값이 없음
+                continue;
+            }
+            rows.add(toRow(entries.get(i).getValue(), count.intValue()));
+        }
+
+        try {
+            dailyUsageQuotaJdbcRepository.batchUpsertCounts(rows);
+        } catch (Exception e) {
+            flushFailureCounter.increment();
+            requeue(entries);
+            throw e;
+        }
+
+        flushDurationTimer.record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+        batchSizeSummary.record(rows.size());
+        flushedRowsCounter.increment(rows.size());
+        if (oldestScore != Double.MAX_VALUE) {
+            long lagMillis = Math.max(0, System.currentTimeMillis() - (long) oldestScore);
+            lastFlushLagMillis.set(lagMillis);
+            flushLagTimer.record(Duration.ofMillis(lagMillis));
+        }
+
+        log.debug("Flushed {} usage counters to database", rows.size());
+        return entries.size();
+    }
+
+    private void requeue(List<TypedTuple<String>> entries) {
+        // 원래 점수를 유지한 채 ZADD NX 한 번으로 다시 등록
+        Set<TypedTuple<String>> tuples = new HashSet<>(entries.size());
+        for (TypedTuple<String> entry : entries) {
+            double score = entry.getScore() != null ? entry.getScore() : System.currentTimeMillis();
+            tuples.add(TypedTuple.of(entry.getValue(), score));
+        }
+        stringRedisTemplate.opsForZSet().addIfAbsent(DIRTY_KEY, tuples);
+    }
+
+    static String dirtyMember(Long userId, LocalDate day, int limit) {
+        return userId + ":" + day + ":" + limit;
+    }
+
+    private static String counterKey(String member) {
+        int lastSeparator = member.lastIndexOf(':');
+        return COUNTER_KEY_PREFIX + member.substring(0, lastSeparator);
+    }
+
+    private static UsageCountRow toRow(String member, int count) {
+        String[] parts = member.split(":");
+        return new UsageCountRow(Long.parseLong(parts[0]), LocalDate.parse(parts[1]), count, Integer.parseInt(parts[2]));
+    }
+}
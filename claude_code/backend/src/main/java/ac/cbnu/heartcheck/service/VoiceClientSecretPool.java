@@ -0,0 +1,38 @@
+package ac.cbnu.heartcheck.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Duration;
+
+/**
+ * 클라이언트 직접 연결(VoiceTestController)용 client secret 풀
+ *
+ * @author CBNU Development Team
+ * @version 1.0.0
+ * @since 2024
+ */
+@Component
+public class VoiceClientSecretPool extends EphemeralTokenPool {
+
+    private final OpenAIRealtimeService openAIRealtimeService;
+
+    public VoiceClientSecretPool(OpenAIRealtimeService openAIRealtimeService,
+                                 MeterRegistry meterRegistry,
+                                 @Value("${heart.voice.token-pool.min-size:1}") int minSize,
+                                 @Value("${heart.voice.token-pool.max-size:20}") int maxSize,
+                                 @Value("${heart.voice.token-pool.safety-margin-seconds:10}") long safetyMarginSeconds,
+                                 @Value("${heart.voice.token-pool.refill-interval-ms:1000}") long refillIntervalMillis,
+                                 @Value("${heart.voice.token-pool.refill-concurrency:2}") int refillConcurrency) {
+        super("client-secret", meterRegistry, minSize, maxSize, Duration.ofSeconds(safetyMarginSeconds),
+                Duration.ofMillis(refillIntervalMillis), refillConcurrency, Clock.systemUTC());
+        this.openAIRealtimeService = openAIRealtimeService;
+    }
+
+    @Override
+    protected MintedToken mint() {
+        return openAIRealtimeService.generateClientSecret();
+    }
+}
@@ -0,0 +1,297 @@
+package ac.cbnu.heartcheck.service;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.availability.AvailabilityChangeEvent;
+import org.springframework.boot.availability.ReadinessState;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ZSetOperations.TypedTuple;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 클러스터 음성 세션 레지스트리와 드레인
+ *
+ * 노드별 활성 음성 세션을 Redis에 기록해 로드밸런서가 세션 수가 가장 적은 노드로 보낼 수 있게 한다.
+ * - voice:nodes (ZSET): 노드 ID → 활성 세션 수 (세션 시작·종료와 하트비트마다 갱신)
+ * - voice:node:{노드} (HASH, TTL): 상태(ACTIVE/DRAINING), 세션 수, 마지막 하트비트
+ * - voice:node:{노드}:sessions (HASH, TTL): 세션 ID → 사용자 ID, 시작 시각
+ * 하트비트가 끊긴 노드(TTL 만료)는 다른 노드의 하트비트가 ZSET에서 정리한다.
+ *
+ * 드레인: 새 음성 세션을 거절하고 readiness를 REFUSING_TRAFFIC으로 바꾼 뒤, 진행 중인 세션이 끝나기를
+ * drain-timeout까지 기다리고 남은 세션을 닫는다. 애플리케이션 종료 시 웹 서버보다 먼저 멈추도록
+ * SmartLifecycle 최상위 phase에서 실행된다 (spring.lifecycle.timeout-per-shutdown-phase가 drain-timeout보다 길어야 함).
+ * Redis 장애는 음성 세션을 막지 않으며, 다음 하트비트가 로컬 상태로 다시 맞춘다.
+ *
+ * @author CBNU Development Team
+ * @version 1.0.0
+ * @since 2024
+ */
+@Slf4j
+@Service
+public class VoiceSessionRegistry implements SmartLifecycle {
+
+    static final String NODES_KEY = "voice:nodes";
+    private static final String NODE_KEY_PREFIX = "voice:node:";
+    private static final long DRAIN_POLL_MILLIS = 500;
+
+    private final StringRedisTemplate stringRedisTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final String nodeId;
+    private final Duration nodeTtl;
+    private final Duration drainTimeout;
+
+    private final Map<String, Runnable> sessions = new ConcurrentHashMap<>();
+    private volatile boolean draining;
+    private volatile boolean running;
+    private volatile boolean redisHealthy = true;
+
+    public VoiceSessionRegistry(StringRedisTemplate stringRedisTemplate,
+                                ApplicationEventPublisher eventPublisher,
+                                MeterRegistry meterRegistry,
+                                @Value("${heart.voice.registry.node-id:${HOSTNAME:}}") String nodeId,
+                                @Value("${heart.voice.registry.heartbeat-ms:5000}") long heartbeatMillis,
+                                @Value("${heart.voice.drain.timeout-ms:120000}") long drainTimeoutMillis) {
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.eventPublisher = eventPublisher;
+        this.nodeId = nodeId == null || nodeId.isBlank() ? UUID.randomUUID().toString() : nodeId;
+        this.nodeTtl = Duration.ofMillis(heartbeatMillis * 3);
+        this.drainTimeout = Duration.ofMillis(drainTimeoutMillis);
+
+        Gauge.builder("voice.registry.draining", this, registry -> registry.draining ? 1 : 0)
+                .description("1 while this node refuses new voice sessions")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 새 음성 세션 등록 (드레인 중이면 거절)
+     * @param sessionId 프론트엔드 WebSocket 세션 ID
+     * @param userId 사용자 ID
+     * @param forceClose 드레인 기한이 지났을 때 세션을 닫는 동작
+     * @return 등록 여부
+     */
+    public boolean register(String sessionId, Long userId, Runnable forceClose) {
+        if (draining) {
+            return false;
+        }
+        sessions.put(sessionId, forceClose);
+        try {
+            String sessionsKey = sessionsKey();
+            stringRedisTemplate.opsForHash().put(sessionsKey, sessionId, userId + ":" + Instant.now().getEpochSecond());
+            stringRedisTemplate.expire(sessionsKey, nodeTtl);
+            publishCount();
+        } catch (Exception e) {
+            logRedisFailure(e);
+        }
+        return true;
+    }
+
+    /**
+     * 음성 세션 해제
+     * @param sessionId 프론트엔드 WebSocket 세션 ID
+     */
+    public void unregister(String sessionId) {
+        if (sessions.remove(sessionId) == null) {
+            return;
+        }
+        try {
+            stringRedisTemplate.opsForHash().delete(sessionsKey(), sessionId);
+            publishCount();
+        } catch (Exception e) {
+            logRedisFailure(e);
+        }
+    }
+
+    /**
+     * 하트비트: 노드 상태와 세션 수를 기록하고 만료된 노드를 정리
+     */
+    @Scheduled(fixedDelayString = "${heart.voice.registry.heartbeat-ms:5000}")
+    public void heartbeat() {
+        if (!running) {
+            return;
+        }
+        try {
+            String nodeKey = NODE_KEY_PREFIX + nodeId;
+            stringRedisTemplate.opsForHash().putAll(nodeKey, Map.of(
+                    "state", draining ? "DRAINING" : "ACTIVE",
+                    "sessions", String.valueOf(sessions.size()),
+                    "heartbeatAt", String.valueOf(Instant.now().getEpochSecond())));
+            stringRedisTemplate.expire(nodeKey, nodeTtl);
+            if (!sessions.isEmpty()) {
+                stringRedisTemplate.expire(sessionsKey(), nodeTtl);
+            }
+            publishCount();
+            pruneExpiredNodes();
+            if (!redisHealthy) {
+                log.info("[Voice Registry] Redis reachable again, node {} re-registered", nodeId);
+                redisHealthy = true;
+            }
+        } catch (Exception e) {
+            logRedisFailure(e);
+        }
+    }
+
+    /**
+     * 클러스터 전체 노드 부하 (세션 수 오름차순, 하트비트가 살아 있는 노드만)
+     */
+    public List<NodeLoad> nodes() {
+        Set<TypedTuple<String>> entries = stringRedisTemplate.opsForZSet().rangeWithScores(NODES_KEY, 0, -1);
+        List<NodeLoad> nodes = new ArrayList<>();
+        if (entries == null) {
+            return nodes;
+        }
+        for (TypedTuple<String> entry : entries) {
+            Object state = stringRedisTemplate.opsForHash().get(NODE_KEY_PREFIX + entry.getValue(), "state");
+            if (state != null && entry.getScore() != null) {
+                nodes.add(new NodeLoad(entry.getValue(), entry.getScore().longValue(), "DRAINING".equals(state)));
+            }
+        }
+        return nodes;
+    }
+
+    /**
+     * 이 노드의 부하
+     */
+    public NodeLoad localLoad() {
+        return new NodeLoad(nodeId, sessions.size(), draining);
+    }
+
+    /**
+     * 드레인 시작: 새 세션을 거절하고 readiness를 내림 (진행 중인 세션은 유지)
+     */
+    public void startDrain() {
+        if (draining) {
+            return;
+        }
+        draining = true;
+        log.info("[Voice Registry] Node {} draining with {} active voice sessions", nodeId, sessions.size());
+        AvailabilityChangeEvent.publish(eventPublisher, this, ReadinessState.REFUSING_TRAFFIC);
+        heartbeat();
+    }
+
+    public boolean isDraining() {
+        return draining;
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        heartbeat();
+    }
+
+    @Override
+    public void stop() {
+        drainAndDeregister();
+    }
+
+    @Override
+    public void stop(Runnable callback) {
+        Thread drainThread = new Thread(() -> {
+            try {
+                drainAndDeregister();
+            } finally {
+                callback.run();
+            }
+        }, "voice-drain");
+        drainThread.setDaemon(true);
+        drainThread.start();
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * 웹 서버(graceful shutdown 포함)보다 먼저 멈춤
+     */
+    @Override
+    public int getPhase() {
+        return SmartLifecycle.DEFAULT_PHASE;
+    }
+
+    private void drainAndDeregister() {
+        startDrain();
+        long deadline = System.nanoTime() + drainTimeout.toNanos();
+        while (!sessions.isEmpty() && System.nanoTime() < deadline) {
+            try {
+                TimeUnit.MILLISECONDS.sleep(DRAIN_POLL_MILLIS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        if (!sessions.isEmpty()) {
+            log.warn("[Voice Registry] Drain deadline reached, closing {} voice sessions", sessions.size());
+            sessions.values().forEach(forceClose -> {
+                try {
+                    forceClose.run();
+                } catch (Exception e) {
+                    log.error("[Voice Registry] Failed to close voice session", e);
+                }
+            });
+        }
+        running = false;
+        try {
+            stringRedisTemplate.opsForZSet().remove(NODES_KEY, nodeId);
+            stringRedisTemplate.delete(List.of(NODE_KEY_PREFIX + nodeId, sessionsKey()));
+        } catch (Exception e) {
+            logRedisFailure(e);
+        }
+        log.info("[Voice Registry] Node {} drained", nodeId);
+    }
+
+    private void publishCount() {
+        if (!running) {
+            return;
+        }
+        stringRedisTemplate.opsForZSet().add(NODES_KEY, nodeId, sessions.size());
+    }
+
+    private void pruneExpiredNodes() {
+        Set<String> members = stringRedisTemplate.opsForZSet().range(NODES_KEY, 0, -1);
+        if (members == null) {
+            return;
+        }
+        for (String member : members) {
+            if (!member.equals(nodeId) && !Boolean.TRUE.equals(stringRedisTemplate.hasKey(NODE_KEY_PREFIX + member))) {
+                stringRedisTemplate.opsForZSet().remove(NODES_KEY, member);
+                log.info("[Voice Registry] Removed expired node {}", member);
+            }
+        }
+    }
+
+    private String sessionsKey() {
+        return NODE_KEY_PREFIX + nodeId + ":sessions";
+    }
+
+    private void logRedisFailure(Exception e) {
+        if (redisHealthy) {
+            log.warn("[Voice Registry] Redis unavailable, session registry is local only: {}", e.getMessage());
+            redisHealthy = false;
+        }
+    }
+
+    /**
+     * 노드별 음성 세션 부하
+     * @param nodeId 노드 ID
+     * @param activeSessions 활성 음성 세션 수
+     * @param draining 드레인 중 여부 (새 세션을 받지 않음)
+     */
+    public record NodeLoad(String nodeId, long activeSessions, boolean draining) {
+    }
+}
@@ -0,0 +1,141 @@
+package ac.cbnu.heartcheck.util;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 해시 타이머 휠
+ * 마감 시각을 tick 단위 칸(wheelSize개, 2의 거듭제곱)에 나눠 담고, advance가 지나간 칸만 살펴 마감된 항목을 꺼낸다.
+ * 등록·취소는 O(1), advance는 지나간 칸에 든 항목 수에 비례한다. 휠 한 바퀴보다 먼 마감은 같은 칸에 남아 다음 바퀴에 꺼낸다.
+ *
+ * 항목은 마감 시각 이후 첫 tick 경계에서 꺼내므로 마감보다 일찍 나오지 않고, 늦어도 tick 하나 + advance 호출 간격 안에 나온다.
+ * 같은 키를 다시 등록하면 이전 마감을 대체한다. 스레드에 안전하다 (모든 메서드 동기화).
+ *
+ * @author CBNU Development Team
+ * @version 1.0.0
+ * @since 2024
+ */
+public class HashedTimerWheel<K> {
+
+    private final long tickMillis;
+    private final int mask;
+    private final List<Map<K, Entry<K>>> buckets;
+    private final Map<K, Entry<K>> entries = new HashMap<>();
+
+    /** 마지막으로 처리한 tick */
+    private long currentTick;
+
+    /**
+     * @param tick 칸 하나의 시간 폭
+     * @param wheelSize 칸 수 (2의 거듭제곱으로 올림)
+     * @param startMillis 시작 시각 (epoch ms)
+     */
+    public HashedTimerWheel(Duration tick, int wheelSize, long startMillis) {
+        if (tick.toMillis() <= 0) {
+            throw new IllegalArgumentException("tick must be at least 1 ms");
+        }
+        int size = Integer.highestOneBit(Math.max(1, wheelSize - 1)) << 1;
+        this.tickMillis = tick.toMillis();
+        this.mask = size - 1;
+        this.buckets = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            buckets.add(new HashMap<>());
+        }
+        this.currentTick = Math.floorDiv(startMillis, tickMillis);
+    }
+
+    /**
+     * 항목 등록 (같은 키가 있으면 마감 시각 교체)
+     * 이미 지난 마감은 다음 advance에서 꺼낸다.
+     * @param key 키
+     * @param deadlineMillis 마감 시각 (epoch ms)
+     */
+    public synchronized void schedule(K key, long deadlineMillis) {
+        Entry<K> previous = entries.get(key);
+        if (previous != null) {
+            if (previous.deadlineMillis() == deadlineMillis) {
+                return;
+            }
+            bucket(previous.tick()).remove(key);
+        }
+        // 마감 이후 첫 tick 경계 (이미 처리한 tick이면 다음 tick)
+        long tick = Math.max(Math.floorDiv(deadlineMillis + tickMillis - 1, tickMillis), currentTick + 1);
+        Entry<K> entry = new Entry<>(key, deadlineMillis, tick);
+        entries.put(key, entry);
+        bucket(tick).put(key, entry);
+    }
+
+    /**
+     * 항목 취소
+     * @param key 키
+     * @return 등록되어 있었으면 true
+     */
+    public synchronized boolean cancel(K key) {
+        Entry<K> entry = entries.remove(key);
+        if (entry == null) {
+            return false;
+        }
+        bucket(entry.tick()).remove(key);
+        return true;
+    }
+
+    /**
+     * 현재 시각까지 지나간 칸에서 마감된 항목 꺼내기
+     * @param nowMillis 현재 시각 (epoch ms)
+     * @return 마감된 항목 (마감 시각 순서는 보장하지 않음)
+     */
+    public synchronized List<Entry<K>> advance(long nowMillis) {
+        long targetTick = Math.floorDiv(nowMillis, tickMillis);
+        if (targetTick <= currentTick) {
+            return List.of();
+        }
+        // 한 바퀴 이상 밀렸으면 모든 칸을 한 번씩만 살핌
+        long ticks = Math.min(targetTick - currentTick, (long) mask + 1);
+        List<Entry<K>> expired = new ArrayList<>();
+        for (long t = targetTick - ticks + 1; t <= targetTick; t++) {
+            Iterator<Entry<K>> iterator = bucket(t).values().iterator();
+            while (iterator.hasNext()) {
+                Entry<K> entry = iterator.next();
+                if (entry.tick() <= targetTick) {
+                    iterator.remove();
+                    entries.remove(entry.key());
+                    expired.add(entry);
+                }
+            }
+        }
+        currentTick = targetTick;
+        return expired;
+    }
+
+    /**
+     * 등록된 항목 수
+     */
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    /**
+     * 모든 항목 제거
+     */
+    public synchronized void clear() {
+        entries.clear();
+        buckets.forEach(Map::clear);
+    }
+
+    private Map<K, Entry<K>> bucket(long tick) {
+        return buckets.get((int) (tick & mask));
+    }
+
+    /**
+     * 등록 항목
+     * @param key 키
+     * @param deadlineMillis 마감 시각 (epoch ms)
+     * @param tick 담긴 tick
+     */
+    public record Entry<K>(K key, long deadlineMillis, long tick) {
+    }
+}
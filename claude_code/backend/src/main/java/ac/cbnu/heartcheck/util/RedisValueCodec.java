@@ -0,0 +1,64 @@
+package ac.cbnu.heartcheck.util;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.springframework.data.redis.serializer.SerializationException;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Redis 값 코덱
+ * 문자열은 UTF-8 원문 그대로, 객체는 Smile(바이너리 JSON)으로 인코딩하여 값 크기를 줄인다
+ * 타입 정보는 저장하지 않으므로 조회 시 대상 클래스를 지정해야 한다
+ *
+ * @author CBNU Development Team
+ * @version 1.0.0
+ * @since 2024
+ */
+@Component
+public class RedisValueCodec {
+
+    private final ObjectMapper smileMapper = new ObjectMapper(new SmileFactory())
+            .registerModule(new JavaTimeModule())
+            .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+
+    /**
+     * 값 인코딩
+     * @param value 저장할 값
+     * @return 인코딩된 바이트
+     */
+    public byte[] encode(Object value) {
+        if (value instanceof String text) {
+            return text.getBytes(StandardCharsets.UTF_8);
+        }
+        try {
+            return smileMapper.writeValueAsBytes(value);
+        } catch (IOException e) {
+            throw new SerializationException("Could not encode value of type " + value.getClass().getName(), e);
+        }
+    }
+
+    /**
+     * 값 디코딩
+     * @param bytes 저장된 바이트 (null 허용)
+     * @param type 대상 클래스
+     * @return 디코딩된 값 (bytes가 null이면 null)
+     */
+    public <T> T decode(byte[] bytes, Class<T> type) {
+        if (bytes == null) {
+            return null;
+        }
+        if (type == String.class) {
+            return type.cast(new String(bytes, StandardCharsets.UTF_8));
+        }
+        try {
+            return smileMapper.readValue(bytes, type);
+        } catch (IOException e) {
+            throw new SerializationException("Could not decode value as " + type.getName(), e);
+        }
+    }
+}
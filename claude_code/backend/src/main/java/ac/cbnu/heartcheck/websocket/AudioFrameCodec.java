@@ -0,0 +1,208 @@
+package ac.cbnu.heartcheck.websocket;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * 바이너리 오디오 프레임과 OpenAI Realtime JSON 봉투 사이의 변환기 (세션당 1개)
+ *
+ * 앱 → 상위: PCM16 바이너리 프레임을 input_audio_buffer.append JSON으로 감싼다.
+ * JSON 버퍼를 세션 안에서 재사용하므로, 반환된 메시지는 상위 전송이 끝날 때까지만 유효하다
+ * (VoiceProxyHandler는 세션당 전송 중인 프레임을 1개로 유지한다).
+ *
+ * 상위 → 앱: 오디오 delta 메시지의 최상위 필드만 스트리밍 파서로 읽고, delta 문자열을 만들지 않은 채
+ * 파서의 문자 버퍼(getTextCharacters)에서 바로 Base64를 풀어 세션 풀에서 꺼낸 버퍼에 PCM16으로 쓴다.
+ * 디코딩 결과는 프론트엔드 송신 큐에 보관되므로, 송신 큐가 전송을 마치거나 버린 뒤 recycle로 돌려준다.
+ *
+ * @author CBNU Development Team
+ * @version 1.1.0
+ * @since 2024
+ */
+class AudioFrameCodec {
+
+    /**
+     * 바이너리 오디오 전송 서브프로토콜
+     */
+    static final String AUDIO_SUBPROTOCOL = "heartcheck.audio.v1";
+
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+    private static final String APPEND_PREFIX = "{\"type\":\"input_audio_buffer.append\",\"audio\":\"";
+    private static final String APPEND_SUFFIX = "\"}";
+
+    private static final char[] BASE64_ALPHABET =
+            "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789+/".toCharArray();
+    private static final int[] BASE64_VALUES = new int[128];
+
+    /** 세션당 보관하는 디코딩 버퍼 수와 할당 단위 */
+    private static final int POOL_SIZE = 8;
+    private static final int BUFFER_UNIT = 4096;
+
+    static {
+        Arrays.fill(BASE64_VALUES, -1);
+        for (int i = 0; i < BASE64_ALPHABET.length; i++) {
+            BASE64_VALUES[BASE64_ALPHABET[i]] = i;
+        }
+    }
+
+    private final StringBuilder envelope = new StringBuilder(16 * 1024);
+    /** 상위 수신 스레드가 꺼내고 프론트엔드 송신 스레드가 돌려주므로 스레드 안전한 큐 사용 */
+    private final BlockingQueue<byte[]> decodeBuffers = new ArrayBlockingQueue<>(POOL_SIZE);
+
+    /**
+     * PCM16 오디오를 input_audio_buffer.append 메시지로 감쌈
+     * 수신 버퍼에서 바로 Base64로 인코딩해 재사용 StringBuilder에 쓴다
+     * @param pcm 오디오 데이터
+     * @return JSON 메시지 (다음 호출 전까지만 유효)
+     */
+    CharSequence wrapAppend(ByteBuffer pcm) {
+        envelope.setLength(0);
+        envelope.ensureCapacity(APPEND_PREFIX.length() + 4 * ((pcm.remaining() + 2) / 3) + APPEND_SUFFIX.length());
+        envelope.append(APPEND_PREFIX);
+        while (pcm.remaining() >= 3) {
+            int bits = (pcm.get() & 0xff) << 16 | (pcm.get() & 0xff) << 8 | (pcm.get() & 0xff);
+            envelope.append(BASE64_ALPHABET[bits >>> 18 & 0x3f])
+                    .append(BASE64_ALPHABET[bits >>> 12 & 0x3f])
+                    .append(BASE64_ALPHABET[bits >>> 6 & 0x3f])
+                    .append(BASE64_ALPHABET[bits & 0x3f]);
+        }
+        if (pcm.remaining() == 2) {
+            int bits = (pcm.get() & 0xff) << 16 | (pcm.get() & 0xff) << 8;
+            envelope.append(BASE64_ALPHABET[bits >>> 18 & 0x3f])
+                    .append(BASE64_ALPHABET[bits >>> 12 & 0x3f])
+                    .append(BASE64_ALPHABET[bits >>> 6 & 0x3f])
+                    .append('=');
+        } else if (pcm.remaining() == 1) {
+            int bits = (pcm.get() & 0xff) << 16;
+            envelope.append(BASE64_ALPHABET[bits >>> 18 & 0x3f])
+                    .append(BASE64_ALPHABET[bits >>> 12 & 0x3f])
+                    .append("==");
+        }
+        envelope.append(APPEND_SUFFIX);
+        return envelope;
+    }
+
+    /**
+     * 오디오 delta 메시지이면 PCM16으로 디코딩
+     * @param message 상위 JSON 메시지
+     * @return 오디오 데이터 (오디오 delta가 아니거나 Base64가 잘못되었으면 null). 전송 후 recycle로 반환
+     */
+    ByteBuffer unwrapAudioDelta(String message) {
+        // 대부분의 메시지는 문자열 검사만으로 걸러낸다
+        if (!message.contains("audio.delta")) {
+            return null;
+        }
+        String type = null;
+        ByteBuffer audio = null;
+        try (JsonParser parser = JSON_FACTORY.createParser(message)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                return null;
+            }
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                JsonToken value = parser.nextToken();
+                if ("type".equals(field) && value == JsonToken.VALUE_STRING) {
+                    type = parser.getText();
+                } else if ("delta".equals(field) && value == JsonToken.VALUE_STRING && audio == null) {
+                    audio = decodeBase64(parser.getTextCharacters(), parser.getTextOffset(), parser.getTextLength());
+                    if (audio == null) {
+                        return null;
+                    }
+                } else {
+                    parser.skipChildren();
+                }
+            }
+        } catch (IOException e) {
+            recycle(audio);
+            return null;
+        }
+        if (audio != null && !isAudioDelta(type)) {
+            recycle(audio);
+            return null;
+        }
+        return audio;
+    }
+
+    /**
+     * 전송을 마치거나 버린 디코딩 버퍼를 풀에 돌려줌 (풀이 가득 차면 버림)
+     * @param audio unwrapAudioDelta가 반환한 버퍼 (null 허용)
+     */
+    void recycle(ByteBuffer audio) {
+        if (audio != null && audio.hasArray() && audio.arrayOffset() == 0) {
+            decodeBuffers.offer(audio.array());
+        }
+    }
+
+    /**
+     * Base64 문자 구간을 풀에서 꺼낸 버퍼에 디코딩 (패딩 생략 허용)
+     * @return 디코딩 결과 (잘못된 문자가 있으면 null)
+     */
+    private ByteBuffer decodeBase64(char[] chars, int offset, int length) {
+        int end = offset + length;
+        while (end > offset && chars[end - 1] == '=') {
+            end--;
+        }
+        int remainder = (end - offset) % 4;
+        if (remainder == 1) {
+            return null;
+        }
+        int size = (end - offset) / 4 * 3 + (remainder == 0 ? 0 : remainder - 1);
+        byte[] out = takeBuffer(size);
+
+        int position = 0;
+        int i = offset;
+        for (; end - i >= 4; i += 4) {
+            int bits = value(chars[i]) << 18 | value(chars[i + 1]) << 12 | value(chars[i + 2]) << 6 | value(chars[i + 3]);
+            if (bits < 0) {
+                decodeBuffers.offer(out);
+                return null;
+            }
+            out[position++] = (byte) (bits >>> 16);
+            out[position++] = (byte) (bits >>> 8);
+            out[position++] = (byte) bits;
+        }
+        if (remainder > 0) {
+            int bits = value(chars[i]) << 18 | value(chars[i + 1]) << 12 | (remainder == 3 ? value(chars[i + 2]) << 6 : 0);
+            if (bits < 0) {
+                decodeBuffers.offer(out);
+                return null;
+            }
+            out[position++] = (byte) (bits >>> 16);
+            if (remainder == 3) {
+                out[position++] = (byte) (bits >>> 8);
+            }
+        }
+        return ByteBuffer.wrap(out, 0, position);
+    }
+
+    private byte[] takeBuffer(int size) {
+        byte[] buffer = decodeBuffers.poll();
+        if (buffer != null && buffer.length >= size) {
+            return buffer;
+        }
+        return new byte[(size + BUFFER_UNIT - 1) / BUFFER_UNIT * BUFFER_UNIT];
+    }
+
+    private static int value(char c) {
+        return c < BASE64_VALUES.length ? BASE64_VALUES[c] : -1;
+    }
+
+    /**
+     * JSON 오디오 delta 메시지인지 빠르게 판별 (전체 파싱 없음)
+     * @param message 상위 JSON 메시지
+     * @return 오디오 delta 여부
+     */
+    static boolean isAudioDeltaMessage(String message) {
+        return message.contains("\"response.audio.delta\"") || message.contains("\"response.output_audio.delta\"");
+    }
+
+    private static boolean isAudioDelta(String type) {
+        return "response.audio.delta".equals(type) || "response.output_audio.delta".equals(type);
+    }
+}
@@ -0,0 +1,201 @@
+package ac.cbnu.heartcheck.websocket;
+
+import ac.cbnu.heartcheck.dto.response.NotificationPushMessage;
+import ac.cbnu.heartcheck.service.UnreadNotificationCounter;
+import ac.cbnu.heartcheck.util.JwtUtil;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.PingMessage;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.handler.ConcurrentWebSocketSessionDecorator;
+import org.springframework.web.socket.handler.TextWebSocketHandler;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 알림 스트림 WebSocket 핸들러
+ *
+ * 로그인한 앱은 /api/v1/notifications/stream?token=...으로 연결 하나를 열어 두고,
+ * 새 알림과 읽지 않은 개수 변경을 푸시로 받는다 (목록·개수 폴링 대체).
+ * 이 노드에 연결된 세션만 사용자별로 보관하며, 다른 노드에서 생긴 이벤트는
+ * NotificationPushService가 Redis pub/sub으로 받아 deliver()로 넘겨준다.
+ *
+ * 연결 직후 읽지 않은 개수(unread.count)를 한 번 보내 동기화하고, 이후에는 변화량만 보낸다.
+ * 앱은 연결이 끊기면 다시 연결하고, 재연결 시 받은 unread.count로 놓친 변화를 맞춘다.
+ * 중간 프록시의 유휴 연결 정리를 막기 위해 주기적으로 ping을 보낸다.
+ */
+@Slf4j
+@Component
+public class NotificationPushHandler extends TextWebSocketHandler {
+
+    private final JwtUtil jwtUtil;
+    private final UnreadNotificationCounter unreadNotificationCounter;
+    private final ObjectMapper objectMapper;
+    private final int sendTimeLimitMillis;
+    private final int sendBufferSizeLimit;
+
+    private final ConcurrentMap<Long, Set<WebSocketSession>> sessionsByUser = new ConcurrentHashMap<>();
+    private final AtomicInteger connections = new AtomicInteger();
+    private final Counter deliveredCounter;
+    private final Counter failedCounter;
+
+    public NotificationPushHandler(JwtUtil jwtUtil,
+                                   UnreadNotificationCounter unreadNotificationCounter,
+                                   ObjectMapper objectMapper,
+                                   MeterRegistry meterRegistry,
+                                   @Value("${heart.notification.push.send-time-limit-ms:5000}") int sendTimeLimitMillis,
+                                   @Value("${heart.notification.push.send-buffer-size-limit:65536}") int sendBufferSizeLimit) {
+        this.jwtUtil = jwtUtil;
+        this.unreadNotificationCounter = unreadNotificationCounter;
+        this.objectMapper = objectMapper;
+        this.sendTimeLimitMillis = sendTimeLimitMillis;
+        this.sendBufferSizeLimit = sendBufferSizeLimit;
+        this.deliveredCounter = Counter.builder("notification.push.delivered")
+                .description("Push messages written to local notification streams")
+                .register(meterRegistry);
+        this.failedCounter = Counter.builder("notification.push.failed")
+                .description("Push messages that could not be written and closed the stream")
+                .register(meterRegistry);
+        meterRegistry.gauge("notification.push.connections", connections);
+        meterRegistry.gauge("notification.push.users", sessionsByUser, Map::size);
+    }
+
+    @Override
+    public void afterConnectionEstablished(WebSocketSession session) throws Exception {
+        String token = UriComponentsBuilder.fromUri(session.getUri())
+                .build()
+                .getQueryParams()
+                .getFirst("token");
+        Long userId = token != null && jwtUtil.validateToken(token) && !jwtUtil.isRefreshToken(token)
+                ? jwtUtil.extractUserId(token)
+                : null;
+        if (userId == null) {
+            log.debug("[Notification Push] Rejecting unauthenticated stream {}", session.getId());
+            session.close(CloseStatus.NOT_ACCEPTABLE);
+            return;
+        }
+
+        // 여러 스레드(Redis 리스너, ping)에서 보내므로 직렬화하고, 느린 단말은 끊어서 재연결·재동기화하게 함
+        WebSocketSession safe = new ConcurrentWebSocketSessionDecorator(session, sendTimeLimitMillis, sendBufferSizeLimit);
+        session.getAttributes().put("userId", userId);
+        session.getAttributes().put("safeSession", safe);
+        sessionsByUser.compute(userId, (id, sessions) -> {
+            Set<WebSocketSession> updated = sessions != null ? sessions : ConcurrentHashMap.newKeySet();
+            updated.add(safe);
+            return updated;
+        });
+        connections.incrementAndGet();
+
+        NotificationPushMessage sync = NotificationPushMessage.builder()
+                .type(NotificationPushMessage.UNREAD_COUNT)
+                .userId(userId)
+                .unreadCount(unreadNotificationCounter.get(userId))
+                .build();
+        send(userId, safe, objectMapper.writeValueAsString(sync));
+    }
+
+    @Override
+    protected void handleTextMessage(WebSocketSession session, TextMessage message) {
+        // 수신 전용 채널: 앱이 보내는 메시지는 무시
+    }
+
+    @Override
+    public void afterConnectionClosed(WebSocketSession session, CloseStatus status) {
+        Long userId = (Long) session.getAttributes().get("userId");
+        WebSocketSession safe = (WebSocketSession) session.getAttributes().get("safeSession");
+        if (userId != null && safe != null) {
+            remove(userId, safe);
+        }
+    }
+
+    /**
+     * 이 노드에 연결된 사용자 세션으로 메시지 전달
+     * @param userId 사용자 ID
+     * @param payload JSON 메시지
+     * @return 전달한 세션 수 (이 노드에 연결이 없으면 0)
+     */
+    public int deliver(long userId, String payload) {
+        Set<WebSocketSession> sessions = sessionsByUser.get(userId);
+        if (sessions == null) {
+            return 0;
+        }
+        int delivered = 0;
+        for (WebSocketSession session : sessions) {
+            if (send(userId, session, payload)) {
+                delivered++;
+            }
+        }
+        return delivered;
+    }
+
+    /**
+     * 이 노드에 사용자의 스트림이 열려 있는지 여부 (일괄 발송 메시지에서 대상 선별)
+     */
+    public boolean isConnected(long userId) {
+        return sessionsByUser.containsKey(userId);
+    }
+
+    /**
+     * 유휴 연결 유지용 ping
+     */
+    @Scheduled(fixedDelayString = "${heart.notification.push.ping-interval-ms:25000}")
+    public void ping() {
+        sessionsByUser.forEach((userId, sessions) -> sessions.forEach(session -> {
+            try {
+                if (session.isOpen()) {
+                    session.sendMessage(new PingMessage());
+                }
+            } catch (Exception e) {
+                closeQuietly(userId, session);
+            }
+        }));
+    }
+
+    private boolean send(long userId, WebSocketSession session, String payload) {
+        try {
+            if (!session.isOpen()) {
+                remove(userId, session);
+                return false;
+            }
+            session.sendMessage(new TextMessage(payload));
+            deliveredCounter.increment();
+            return true;
+        } catch (Exception e) {
+            // 송신 제한 초과·끊긴 연결: 닫으면 앱이 재연결하면서 개수를 다시 맞춘다
+            failedCounter.increment();
+            log.debug("[Notification Push] Send failed for user {}: {}", userId, e.getMessage());
+            closeQuietly(userId, session);
+            return false;
+        }
+    }
+
+    private void closeQuietly(long userId, WebSocketSession session) {
+        remove(userId, session);
+        try {
+            session.close(CloseStatus.SESSION_NOT_RELIABLE);
+        } catch (Exception ignored) {
+            // 이미 닫힌 연결
+        }
+    }
+
+    private void remove(long userId, WebSocketSession session) {
+        sessionsByUser.computeIfPresent(userId, (id, sessions) -> {
+            if (sessions.remove(session)) {
+                connections.decrementAndGet();
+            }
+            return sessions.isEmpty() ? null : sessions;
+        });
+    }
+}
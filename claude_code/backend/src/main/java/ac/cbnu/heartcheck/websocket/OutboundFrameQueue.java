@@ -0,0 +1,325 @@
+package ac.cbnu.heartcheck.websocket;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Timer;
+import jakarta.websocket.Session;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.socket.BinaryMessage;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.adapter.NativeWebSocketSession;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketMessage;
+import org.springframework.web.socket.WebSocketSession;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * 프론트엔드 세션별 송신 큐 (프레임 수·바이트 상한)
+ *
+ * 상위 수신 스레드는 큐에 넣기만 하고 바로 돌아가며, 전송은 세션당 한 번에 1개씩 순서대로 처리한다.
+ * 컨테이너 세션(jakarta.websocket)이면 비동기 전송(getAsyncRemote)을 쓰고 완료 콜백에서 다음 프레임을 꺼내므로
+ * 느린 휴대폰이 송신 실행기 스레드를 붙잡지 않는다. 실행기는 다음 전송을 시작하는 짧은 작업만 처리한다.
+ *
+ * 상한 초과 시 정책
+ * - DROP_AUDIO: 가장 오래된 오디오 프레임부터 버림 (제어·자막 메시지는 유지). 버려도 상한을 넘으면 종료
+ * - CLOSE: 즉시 세션 종료
+ * 전송 하나가 send-timeout보다 오래 걸리면 정책과 상관없이 세션을 종료한다. 추가 시점뿐 아니라
+ * VoiceProxyHandler의 감시 작업(closeIfStalled)이 주기적으로 검사하므로 상위 메시지가 끊겨도 닫힌다.
+ *
+ * 전송 중에 종료를 요청하면 전송 완료 콜백에서 세션을 닫아 전송과 종료가 겹치지 않게 한다
+ * (전송이 멈춘 경우만 기다리지 않고 닫는다).
+ *
+ * 바이너리 프레임의 버퍼는 전송을 마치거나 버린 뒤 binaryRecycler로 돌려준다 (AudioFrameCodec 디코딩 버퍼 풀).
+ */
+@Slf4j
+class OutboundFrameQueue {
+
+    /**
+     * 상한 초과 시 처리 방식
+     */
+    enum OverflowPolicy {
+        DROP_AUDIO,
+        CLOSE
+    }
+
+    private final WebSocketSession session;
+    private final Executor executor;
+    private final Settings settings;
+    private final Meters meters;
+    private final Consumer<ByteBuffer> binaryRecycler;
+
+    private final Deque<Frame> frames = new ArrayDeque<>();
+    private int queuedBytes;
+    /** 전송 중이거나 다음 전송 작업이 실행기에 들어가 있음 */
+    private boolean draining;
+    /** 전송 중 요청된 종료 (전송 완료 후 적용) */
+    private CloseStatus pendingClose;
+
+    private volatile boolean closed;
+    private volatile boolean sending;
+    private volatile long sendStartedNanos;
+
+    OutboundFrameQueue(WebSocketSession session, Executor executor, Settings settings, Meters meters,
+                       Consumer<ByteBuffer> binaryRecycler) {
+        this.session = session;
+        this.executor = executor;
+        this.settings = settings;
+        this.meters = meters;
+        this.binaryRecycler = binaryRecycler;
+    }
+
+    /**
+     * 프레임 추가 (블로킹하지 않음)
+     * @param message 전송할 메시지
+     * @param audio 버려도 되는 오디오 프레임 여부
+     */
+    void enqueue(WebSocketMessage<?> message, boolean audio) {
+        if (closed) {
+            recycle(message);
+            return;
+        }
+        long now = System.nanoTime();
+        if (closeIfStalled(now)) {
+            recycle(message);
+            return;
+        }
+
+        boolean overflow;
+        boolean submit = false;
+        synchronized (this) {
+            Frame frame = new Frame(message, audio, sizeOf(message), now);
+            frames.addLast(frame);
+            queuedBytes += frame.size();
+            if (isFull() && settings.overflowPolicy() == OverflowPolicy.DROP_AUDIO) {
+                dropStaleAudio();
+            }
+            overflow = isFull();
+            meters.depth().record(frames.size());
+            if (!overflow && !draining) {
+                draining = true;
+                submit = true;
+            }
+        }
+
+        if (overflow) {
+            log.warn("[Voice Proxy] Outbound queue overflow for session {}, closing", session.getId());
+            meters.overflowClosed().increment();
+            close(settings.overflowStatus());
+        } else if (submit) {
+            scheduleNext();
+        }
+    }
+
+    /**
+     * 대기 프레임을 버리고 세션 종료 (전송 중이면 전송 완료 후 종료)
+     * @param status 종료 상태
+     */
+    void close(CloseStatus status) {
+        boolean closeNow;
+        synchronized (this) {
+            closed = true;
+            discardFrames();
+            closeNow = !sending;
+            if (!closeNow && pendingClose == null) {
+                pendingClose = status;
+            }
+        }
+        if (closeNow) {
+            closeSession(status);
+        }
+    }
+
+    /**
+     * 전송 하나가 send-timeout을 넘었으면 기다리지 않고 세션 종료
+     * @param nowNanos 현재 시각 (System.nanoTime)
+     * @return 종료했으면 true
+     */
+    boolean closeIfStalled(long nowNanos) {
+        if (!sending || nowNanos - sendStartedNanos <= settings.sendTimeoutNanos()) {
+            return false;
+        }
+        synchronized (this) {
+            if (closed && pendingClose == null) {
+                return true;
+            }
+            closed = true;
+            pendingClose = null;
+            discardFrames();
+        }
+        log.warn("[Voice Proxy] Frontend send stalled for session {}, closing", session.getId());
+        meters.overflowClosed().increment();
+        // 멈춘 전송 뒤에서 종료 프레임이 기다릴 수 있으므로 호출 스레드(수신·감시)를 붙잡지 않음
+        try {
+            executor.execute(() -> closeSession(settings.overflowStatus()));
+        } catch (RejectedExecutionException e) {
+            closeSession(settings.overflowStatus());
+        }
+        return true;
+    }
+
+    /**
+     * 현재 대기 중인 프레임 수
+     */
+    synchronized int depth() {
+        return frames.size();
+    }
+
+    boolean isOpen() {
+        return !closed && session.isOpen();
+    }
+
+    private void scheduleNext() {
+        try {
+            executor.execute(this::sendNext);
+        } catch (RejectedExecutionException e) {
+            synchronized (this) {
+                draining = false;
+            }
+            close(CloseStatus.SERVER_ERROR);
+        }
+    }
+
+    /**
+     * 다음 프레임 전송 시작 (완료는 onSent)
+     */
+    private void sendNext() {
+        Frame frame;
+        synchronized (this) {
+            frame = closed ? null : frames.pollFirst();
+            if (frame == null) {
+                draining = false;
+                return;
+            }
+            queuedBytes -= frame.size();
+            sendStartedNanos = System.nanoTime();
+            sending = true;
+        }
+
+        Session endpoint = session instanceof NativeWebSocketSession nativeSession
+                ? nativeSession.getNativeSession(Session.class)
+                : null;
+        try {
+            if (endpoint != null && frame.message() instanceof TextMessage text) {
+                endpoint.getAsyncRemote().sendText(text.getPayload(), result -> onSent(frame, result.getException()));
+            } else if (endpoint != null && frame.message() instanceof BinaryMessage binary) {
+                endpoint.getAsyncRemote().sendBinary(binary.getPayload().duplicate(),
+                        result -> onSent(frame, result.getException()));
+            } else {
+                session.sendMessage(frame.message());
+                onSent(frame, null);
+            }
+        } catch (Exception e) {
+            onSent(frame, e);
+        }
+    }
+
+    /**
+     * 전송 완료 콜백: 종료 요청이 있으면 이제 닫고, 아니면 다음 전송을 실행기에 넘김 (콜백 재귀 방지)
+     */
+    private void onSent(Frame frame, Throwable error) {
+        recycle(frame.message());
+        CloseStatus closeStatus;
+        boolean next = false;
+        synchronized (this) {
+            sending = false;
+            closeStatus = pendingClose;
+            pendingClose = null;
+            if (error != null || closed) {
+                draining = false;
+            } else if (frames.isEmpty()) {
+                draining = false;
+            } else {
+                next = true;
+            }
+        }
+
+        if (error != null) {
+            log.warn("[Voice Proxy] Failed to send to frontend session {}: {}", session.getId(), error.getMessage());
+            close(closeStatus != null ? closeStatus : CloseStatus.SERVER_ERROR);
+            return;
+        }
+        meters.sendLatency().record(System.nanoTime() - frame.enqueuedNanos(), TimeUnit.NANOSECONDS);
+        if (closeStatus != null) {
+            closeSession(closeStatus);
+        } else if (next) {
+            scheduleNext();
+        }
+    }
+
+    private void closeSession(CloseStatus status) {
+        try {
+            if (session.isOpen()) {
+                session.close(status);
+            }
+        } catch (Exception e) {
+            log.error("[Voice Proxy] Failed to close frontend session", e);
+        }
+    }
+
+    private void discardFrames() {
+        frames.forEach(frame -> recycle(frame.message()));
+        frames.clear();
+        queuedBytes = 0;
+    }
+
+    private boolean isFull() {
+        return frames.size() > settings.maxFrames() || queuedBytes > settings.maxBytes();
+    }
+
+    private void dropStaleAudio() {
+        Iterator<Frame> iterator = frames.iterator();
+        while (isFull() && iterator.hasNext()) {
+            Frame frame = iterator.next();
+            if (frame.audio()) {
+                iterator.remove();
+                queuedBytes -= frame.size();
+                meters.droppedAudio().increment();
+                recycle(frame.message());
+            }
+        }
+    }
+
+    private void recycle(WebSocketMessage<?> message) {
+        if (message instanceof BinaryMessage binary) {
+            binaryRecycler.accept(binary.getPayload());
+        }
+    }
+
+    private static int sizeOf(WebSocketMessage<?> message) {
+        // TextMessage.getPayloadLength()는 UTF-8 인코딩을 새로 하므로 문자 수로 대신함
+        return message instanceof TextMessage text ? text.getPayload().length() : message.getPayloadLength();
+    }
+
+    private record Frame(WebSocketMessage<?> message, boolean audio, int size, long enqueuedNanos) {
+    }
+
+    /**
+     * 송신 큐 설정 (모든 세션 공통)
+     * @param maxFrames 최대 대기 프레임 수
+     * @param maxBytes 최대 대기 바이트
+     * @param sendTimeoutNanos 전송 하나의 최대 소요 시간
+     * @param overflowPolicy 상한 초과 시 처리 방식
+     * @param overflowStatus 상한 초과·전송 지연으로 종료할 때의 상태
+     */
+    record Settings(int maxFrames, int maxBytes, long sendTimeoutNanos,
+                    OverflowPolicy overflowPolicy, CloseStatus overflowStatus) {
+    }
+
+    /**
+     * 송신 큐 지표 (모든 세션 공통)
+     * @param depth 추가 시점의 대기 프레임 수
+     * @param sendLatency 큐 추가부터 전송 완료까지 걸린 시간
+     * @param droppedAudio 버린 오디오 프레임 수
+     * @param overflowClosed 상한 초과·전송 지연으로 종료한 세션 수
+     */
+    record Meters(DistributionSummary depth, Timer sendLatency, Counter droppedAudio, Counter overflowClosed) {
+    }
+}
@@ -0,0 +1,430 @@
+package ac.cbnu.heartcheck.websocket;
+
+import ac.cbnu.heartcheck.dto.request.CheckRequest;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.BiConsumer;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 음성 검사 대화에서 답변을 추출해 CheckRequest로 누적하는 스캐너 (세션당 1개)
+ *
+ * 중계되는 메시지를 Jackson 스트리밍 토크나이저로 훑는다.
+ * type이 관심 대상이 아니면 바로 멈추고, delta·audio 같은 큰 문자열 값은 꺼내지 않고 건너뛰므로 트리를 만들지 않는다.
+ *
+ * - 질문 인식: 앱이 보내는 "다음 질문을 해주세요: ..." 텍스트와 AI 음성 자막에서 마지막으로 언급된 항목
+ * - 답변 인식: 사용자 음성 자막(conversation.item.input_audio_transcription.completed)을 현재 질문 형식으로 해석
+ * - 종료 인식: 완료 안내 문구
+ *
+ * 앱(voiceTestQuestions.ts)의 해석 규칙을 따르며, 체온·호흡은 측정값을 CheckRequest의 0/1/2 구분으로 바꾼다.
+ */
+@Slf4j
+class VoiceAnswerExtractor {
+
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+    private static final Set<String> QUESTION_EVENTS = Set.of(
+            "conversation.item.create",
+            "response.audio_transcript.done",
+            "response.output_audio_transcript.done");
+    private static final String ANSWER_EVENT = "conversation.item.input_audio_transcription.completed";
+    private static final Set<String> TEXT_FIELDS = Set.of("text", "transcript");
+
+    private static final List<String> COMPLETION_PHRASES = List.of("모든질문에대한답변이끝났", "검사를마칩니다");
+
+    private static final Pattern DIGITS = Pattern.compile("\\d+(\\.\\d+)?");
+    private static final Pattern SINO_NUMBER = Pattern.compile("[일이삼사오육칠팔구]?백?[일이삼사오육칠팔구]?십?[일이삼사오육칠팔구]?(점[영공일이삼사오육칠팔구])?");
+    private static final Map<String, Integer> NATIVE_TENS = Map.of(
+            "아흔", 90, "여든", 80, "일흔", 70, "예순", 60, "쉰", 50, "마흔", 40, "서른", 30, "스물", 20, "열", 10);
+    private static final List<Map.Entry<String, Integer>> NATIVE_UNITS = List.of(
+            Map.entry("하나", 1), Map.entry("다섯", 5), Map.entry("여섯", 6), Map.entry("일곱", 7),
+            Map.entry("여덟", 8), Map.entry("아홉", 9), Map.entry("한", 1), Map.entry("둘", 2),
+            Map.entry("두", 2), Map.entry("셋", 3), Map.entry("세", 3), Map.entry("넷", 4), Map.entry("네", 4));
+    private static final String SINO_DIGITS = "영일이삼사오육칠팔구";
+
+    private static final List<String> YES = List.of("네", "예", "있어요", "있습니다", "맞아요", "그렇습니다");
+    private static final List<String> NO = List.of("아니", "없어요", "없습니다", "아니요", "괜찮아요");
+
+    private final CheckRequest request = new CheckRequest();
+    private Question pending;
+    private boolean completed;
+    private int answered;
+
+    /**
+     * 중계 메시지 1개 스캔 (앱 → 상위, 상위 → 앱 모두)
+     * @param message JSON 텍스트 메시지
+     */
+    synchronized void accept(String message) {
+        String type = null;
+        List<String> texts = new ArrayList<>(1);
+        try (JsonParser parser = JSON_FACTORY.createParser(message)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                return;
+            }
+            JsonToken token;
+            while ((token = parser.nextToken()) != null) {
+                if (token != JsonToken.FIELD_NAME) {
+                    continue;
+                }
+                String field = parser.currentName();
+                JsonToken value = parser.nextToken();
+                if (value != JsonToken.VALUE_STRING) {
+                    continue;
+                }
+                if ("type".equals(field) && parser.getParsingContext().getParent().inRoot()) {
+                    type = parser.getText();
+                    if (!ANSWER_EVENT.equals(type) && !QUESTION_EVENTS.contains(type)) {
+                        // 오디오 delta 등은 type만 읽고 중단 (나머지 값은 토큰화하지 않음)
+                        return;
+                    }
+                } else if (TEXT_FIELDS.contains(field)) {
+                    texts.add(parser.getText());
+                }
+                // 그 밖의 문자열 값(delta, audio 등)은 getText()를 부르지 않아 디코딩 없이 건너뜀
+            }
+        } catch (IOException e) {
+            return;
+        }
+
+        if (type == null || texts.isEmpty()) {
+            return;
+        }
+        for (String text : texts) {
+            if (ANSWER_EVENT.equals(type)) {
+                onAnswer(text);
+            } else {
+                onQuestion(text);
+            }
+        }
+    }
+
+    /**
+     * 검사 종료 안내가 나왔는지
+     */
+    synchronized boolean isCompleted() {
+        return completed;
+    }
+
+    /**
+     * 인식한 답변 수
+     */
+    synchronized int answeredCount() {
+        return answered;
+    }
+
+    /**
+     * 아직 인식하지 못한 필수 항목 (CheckRequest의 @NotNull 항목)
+     * @return 항목 이름 목록 (질문 순서)
+     */
+    synchronized List<String> missingRequired() {
+        List<String> missing = new ArrayList<>();
+        addIfMissing(missing, request.getGender(), "성별");
+        addIfMissing(missing, request.getAge(), "나이");
+        addIfMissing(missing, request.getWeight(), "몸무게");
+        addIfMissing(missing, request.getHeight(), "키");
+        addIfMissing(missing, request.getTemperature(), "체온");
+        addIfMissing(missing, request.getBreathing(), "호흡");
+        addIfMissing(missing, request.getPulse(), "맥박");
+        return missing;
+    }
+
+    /**
+     * 필수 항목(성별, 나이, 키, 몸무게, 체온, 호흡, 맥박)이 모두 있으면 CheckRequest 반환
+     * 답하지 않은 항목을 기본값으로 채우지 않는다. 증상은 답하지 않으면 null(없음)로 둔다.
+     * @return 검사 요청 (필수 항목이 하나라도 없으면 null)
+     */
+    synchronized CheckRequest toCheckRequest() {
+        if (!missingRequired().isEmpty()) {
+            return null;
+        }
+        return CheckRequest.builder()
+                .gender(request.getGender())
+                .age(request.getAge())
+                .height(request.getHeight())
+                .weight(request.getWeight())
+                .temperature(request.getTemperature())
+                .breathing(request.getBreathing())
+                .pulse(request.getPulse())
+                .chestPain(request.getChestPain())
+                .flankPain(request.getFlankPain())
+                .footPain(request.getFootPain())
+                .footEdema(request.getFootEdema())
+                .dyspnea(request.getDyspnea())
+                .syncope(request.getSyncope())
+                .weakness(request.getWeakness())
+                .vomitting(request.getVomitting())
+                .palpitation(request.getPalpitation())
+                .dizziness(request.getDizziness())
+                .chestTightness(request.getChestTightness())
+                .sweating(request.getSweating())
+                .headache(request.getHeadache())
+                .nausea(request.getNausea())
+                .edema(request.getEdema())
+                .insomnia(request.getInsomnia())
+                .build();
+    }
+
+    private static void addIfMissing(List<String> missing, Object value, String name) {
+        if (value == null) {
+            missing.add(name);
+        }
+    }
+
+    private void onQuestion(String text) {
+        String cleaned = normalize(text);
+        if (COMPLETION_PHRASES.stream().anyMatch(cleaned::contains)) {
+            completed = true;
+            pending = null;
+            return;
+        }
+        // 마지막으로 언급된 항목이 현재 질문 (같은 위치에서 끝나면 더 긴 키워드 우선: 발부종 > 부종)
+        Question found = null;
+        int foundEnd = -1;
+        int foundLength = 0;
+        for (Question question : Question.values()) {
+            for (String keyword : question.keywords) {
+                int index = cleaned.lastIndexOf(keyword);
+                if (index < 0) {
+                    continue;
+                }
+                int end = index + keyword.length();
+                if (end > foundEnd || (end == foundEnd && keyword.length() > foundLength)) {
+                    found = question;
+                    foundEnd = end;
+                    foundLength = keyword.length();
+                }
+            }
+        }
+        if (found != null) {
+            pending = found;
+        }
+    }
+
+    private void onAnswer(String text) {
+        if (pending == null) {
+            return;
+        }
+        String cleaned = normalize(text);
+        if (pending.parser.apply(this, cleaned)) {
+            log.debug("[Voice Check] Recognized answer for {}", pending);
+            answered++;
+            pending = null;
+        }
+    }
+
+    private static String normalize(String text) {
+        return text.replaceAll("\\s+", "").toLowerCase();
+    }
+
+    /**
+     * 숫자 해석: 아라비아 숫자 → 고유어(스물다섯) → 한자어(삼십육점오)
+     */
+    static Double parseNumber(String cleaned) {
+        Matcher digits = DIGITS.matcher(cleaned);
+        if (digits.find()) {
+            return Double.parseDouble(digits.group());
+        }
+
+        for (Map.Entry<String, Integer> tens : NATIVE_TENS.entrySet()) {
+            int index = cleaned.indexOf(tens.getKey());
+            if (index >= 0) {
+                String rest = cleaned.substring(index + tens.getKey().length());
+                return (double) (tens.getValue() + nativeUnit(rest, true));
+            }
+        }
+
+        Matcher sino = SINO_NUMBER.matcher(cleaned);
+        while (sino.find()) {
+            String run = sino.group();
+            if (run.contains("십") || run.contains("백")) {
+                return parseSino(run);
+            }
+        }
+
+        int unit = nativeUnit(cleaned, false);
+        return unit > 0 ? (double) unit : null;
+    }
+
+    private static int nativeUnit(String text, boolean prefixOnly) {
+        for (Map.Entry<String, Integer> unit : NATIVE_UNITS) {
+            if (prefixOnly ? text.startsWith(unit.getKey()) : text.contains(unit.getKey())) {
+                return unit.getValue();
+            }
+        }
+        return 0;
+    }
+
+    private static double parseSino(String run) {
+        int value = 0;
+        int digit = 0;
+        int pointIndex = run.indexOf('점');
+        String whole = pointIndex >= 0 ? run.substring(0, pointIndex) : run;
+        for (char c : whole.toCharArray()) {
+            int d = SINO_DIGITS.indexOf(c);
+            if (d >= 0) {
+                digit = d;
+            } else if (c == '백') {
+                value += (digit == 0 ? 1 : digit) * 100;
+                digit = 0;
+            } else if (c == '십') {
+                value += (digit == 0 ? 1 : digit) * 10;
+                digit = 0;
+            }
+        }
+        value += digit;
+        if (pointIndex >= 0 && pointIndex + 1 < run.length()) {
+            char fraction = run.charAt(pointIndex + 1);
+            int d = fraction == '공' ? 0 : SINO_DIGITS.indexOf(fraction);
+            return value + Math.max(0, d) / 10.0;
+        }
+        return value;
+    }
+
+    static Boolean parseYesNo(String cleaned) {
+        if (YES.stream().anyMatch(cleaned::contains)) {
+            return true;
+        }
+        if (NO.stream().anyMatch(cleaned::contains)) {
+            return false;
+        }
+        return null;
+    }
+
+    /**
+     * 성별 해석 (CheckRequest 기준 false: 남, true: 여)
+     */
+    static Boolean parseFemale(String cleaned) {
+        if (cleaned.contains("남")) {
+            return false;
+        }
+        if (cleaned.contains("여")) {
+            return true;
+        }
+        return null;
+    }
+
+    private boolean setNumber(String cleaned, int min, int max, BiConsumer<CheckRequest, Short> setter) {
+        Double value = parseNumber(cleaned);
+        if (value == null || value < min || value > max) {
+            return false;
+        }
+        setter.accept(request, (short) Math.round(value));
+        return true;
+    }
+
+    private boolean setSymptom(String cleaned, BiConsumer<CheckRequest, Boolean> setter) {
+        Boolean value = parseYesNo(cleaned);
+        if (value == null) {
+            return false;
+        }
+        setter.accept(request, value);
+        return true;
+    }
+
+    /**
+     * 체온: 섭씨 측정값(34~42) 또는 보통/낮음/높음 → "0"/"1"/"2"
+     */
+    private boolean setTemperature(String cleaned) {
+        Double value = parseNumber(cleaned);
+        String code;
+        if (value != null && value >= 34 && value <= 42) {
+            code = value < 36.0 ? "1" : value > 37.5 ? "2" : "0";
+        } else {
+            code = levelWord(cleaned, "높", "낮");
+        }
+        if (code == null) {
+            return false;
+        }
+        request.setTemperature(code);
+        return true;
+    }
+
+    /**
+     * 호흡: 분당 횟수(8~40) 또는 보통/느림/빠름 → "0"/"1"/"2"
+     */
+    private boolean setBreathing(String cleaned) {
+        Double value = parseNumber(cleaned);
+        String code;
+        if (value != null && value >= 8 && value <= 40) {
+            code = value < 12 ? "1" : value > 20 ? "2" : "0";
+        } else {
+            code = levelWord(cleaned, "빠르", "느리");
+        }
+        if (code == null) {
+            return false;
+        }
+        request.setBreathing(code);
+        return true;
+    }
+
+    private static String levelWord(String cleaned, String high, String low) {
+        if (cleaned.contains(high)) {
+            return "2";
+        }
+        if (cleaned.contains(low) || cleaned.contains("낮")) {
+            return "1";
+        }
+        if (cleaned.contains("보통") || cleaned.contains("정상") || cleaned.contains("괜찮")) {
+            return "0";
+        }
+        return null;
+    }
+
+    /**
+     * 질문 항목과 인식 키워드 (공백 제거 기준)
+     */
+    private enum Question {
+        GENDER((x, s) -> {
+            Boolean female = parseFemale(s);
+            if (female == null) {
+                return false;
+            }
+            x.request.setGender(female);
+            return true;
+        }, "성별"),
+        AGE((x, s) -> x.setNumber(s, 1, 120, CheckRequest::setAge), "나이", "연세"),
+        WEIGHT((x, s) -> x.setNumber(s, 20, 300, CheckRequest::setWeight), "몸무게", "체중", "킬로그램"),
+        HEIGHT((x, s) -> x.setNumber(s, 100, 250, CheckRequest::setHeight), "키는", "키가", "신장", "센티미터"),
+        TEMPERATURE((x, s) -> x.setTemperature(s), "체온"),
+        BREATHING((x, s) -> x.setBreathing(s), "호흡은", "호흡수", "분당몇회"),
+        PULSE((x, s) -> x.setNumber(s, 30, 220, CheckRequest::setPulse), "맥박", "심박"),
+        CHEST_PAIN((x, s) -> x.setSymptom(s, CheckRequest::setChestPain), "가슴통증", "흉통"),
+        FLANK_PAIN((x, s) -> x.setSymptom(s, CheckRequest::setFlankPain), "옆구리"),
+        FOOT_PAIN((x, s) -> x.setSymptom(s, CheckRequest::setFootPain), "발통증"),
+        FOOT_EDEMA((x, s) -> x.setSymptom(s, CheckRequest::setFootEdema), "발부종", "발이붓"),
+        DYSPNEA((x, s) -> x.setSymptom(s, CheckRequest::setDyspnea), "호흡곤란", "숨이차", "숨가쁨"),
+        SYNCOPE((x, s) -> x.setSymptom(s, CheckRequest::setSyncope), "실신", "기절"),
+        WEAKNESS((x, s) -> x.setSymptom(s, CheckRequest::setWeakness), "피로", "무기력"),
+        VOMITTING((x, s) -> x.setSymptom(s, CheckRequest::setVomitting), "구토"),
+        PALPITATION((x, s) -> x.setSymptom(s, CheckRequest::setPalpitation), "두근", "심계항진"),
+        DIZZINESS((x, s) -> x.setSymptom(s, CheckRequest::setDizziness), "어지러", "현기증"),
+        CHEST_TIGHTNESS((x, s) -> x.setSymptom(s, CheckRequest::setChestTightness), "가슴답답", "흉부답답"),
+        SWEATING((x, s) -> x.setSymptom(s, CheckRequest::setSweating), "식은땀"),
+        HEADACHE((x, s) -> x.setSymptom(s, CheckRequest::setHeadache), "두통"),
+        NAUSEA((x, s) -> x.setSymptom(s, CheckRequest::setNausea), "메스꺼", "메슥", "울렁"),
+        EDEMA((x, s) -> x.setSymptom(s, CheckRequest::setEdema), "부종", "부기", "붓기"),
+        INSOMNIA((x, s) -> x.setSymptom(s, CheckRequest::setInsomnia), "수면", "불면");
+
+        private final AnswerParser parser;
+        private final String[] keywords;
+
+        Question(AnswerParser parser, String... keywords) {
+            this.parser = parser;
+            this.keywords = keywords;
+        }
+    }
+
+    @FunctionalInterface
+    private interface AnswerParser {
+        boolean apply(VoiceAnswerExtractor extractor, String cleaned);
+    }
+}
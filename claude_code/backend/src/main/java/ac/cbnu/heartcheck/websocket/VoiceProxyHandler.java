@@ -1,34 +1,188 @@
 package ac.cbnu.heartcheck.websocket;
 
-import ac.cbnu.heartcheck.service.OpenAIService;
-import lombok.RequiredArgsConstructor;
+import ac.cbnu.heartcheck.dto.request.CheckRequest;
+import ac.cbnu.heartcheck.entity.Check;
+import ac.cbnu.heartcheck.exception.DependencyUnavailableException;
+import ac.cbnu.heartcheck.service.CheckService;
+import ac.cbnu.heartcheck.service.RealtimeProxyTokenPool;
+import ac.cbnu.heartcheck.service.VoiceSessionRegistry;
+import ac.cbnu.heartcheck.util.JwtUtil;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
 import lombok.extern.slf4j.Slf4j;
-import org.java_websocket.client.WebSocketClient;
-import org.java_websocket.handshake.ServerHandshake;
-import org.springframework.security.core.Authentication;
-import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
+import org.springframework.web.socket.BinaryMessage;
 import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.SubProtocolCapable;
 import org.springframework.web.socket.TextMessage;
 import org.springframework.web.socket.WebSocketSession;
-import org.springframework.web.socket.handler.TextWebSocketHandler;
+import org.springframework.web.socket.handler.AbstractWebSocketHandler;
 import org.springframework.web.util.UriComponentsBuilder;
 
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
 import java.net.URI;
-import java.util.HashMap;
+import java.net.http.HttpClient;
+import java.net.http.WebSocket;
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
 
 /**
  * WebSocket proxy handler for OpenAI Realtime API
  * Relays messages between React Native frontend and OpenAI
+ *
+ * 상위(OpenAI) 연결은 JDK 비동기 WebSocket 클라이언트로 맺으며, 모든 세션이 하나의 HttpClient
+ * (셀렉터 스레드 1개 + 소수의 콜백 스레드)를 공유하므로 연결당 전용 스레드가 없다.
+ *
+ * 두 구간 사이의 흐름 제어
+ * - 상위 → 프론트엔드: 세션별 송신 큐(OutboundFrameQueue)에 넣고 바로 다음 메시지를 요청 (request(1)).
+ *   전송은 컨테이너 비동기 전송으로 처리하며, 큐 상한을 넘으면 오래된 오디오를 버리거나 세션을 종료한다.
+ *   전송이 send-timeout을 넘긴 세션은 감시 작업(closeStalledSessions)이 주기적으로 닫는다
+ * - 프론트엔드 → 상위: 세션당 전송 중인 프레임은 1개. 다음 프레임은 이전 전송 완료에 이어 붙여(thenCompose)
+ *   컨테이너 수신 스레드를 붙잡지 않으며, 이어 붙인 프레임이 max-pending-frames를 넘거나 전송 하나가
+ *   send-timeout을 넘으면 세션을 종료한다
+ *
+ * 앱이 heartcheck.audio.v1 서브프로토콜을 요청하면 오디오는 바이너리 프레임(PCM16 원본)으로 오가고,
+ * 프록시가 상위 JSON 봉투(input_audio_buffer.append / response.audio.delta)를 감싸고 푼다 (AudioFrameCodec).
+ * 서브프로토콜 없이 접속한 앱은 기존처럼 JSON 텍스트 프레임을 그대로 중계한다.
+ *
+ * 중계되는 질문·답변 자막은 VoiceAnswerExtractor가 스트리밍으로 훑어 CheckRequest로 누적하며,
+ * 앱의 heartcheck.check.finalize 요청(또는 검사 완료 후 연결 종료) 시 서버에서 바로 검사(Check)를 저장한다.
+ * 필수 항목이 하나라도 빠졌으면 저장하지 않고 빠진 항목(missing)을 앱에 알려 다시 묻게 한다.
+ *
+ * 구간별 전송 바이트(voice.proxy.bytes)와 세션 분당 프록시 CPU 시간(voice.proxy.cpu.per_session_minute)을 기록한다.
  */
 @Slf4j
 @Component
-@RequiredArgsConstructor
-public class VoiceProxyHandler extends TextWebSocketHandler {
+public class VoiceProxyHandler extends AbstractWebSocketHandler implements SubProtocolCapable {
 
-    private final OpenAIService openAIService;
-    private final Map<String, OpenAIWebSocketClient> openAIClients = new HashMap<>();
+    private static final ThreadMXBean THREAD_MX_BEAN = ManagementFactory.getThreadMXBean();
+    private static final boolean CPU_TIME_SUPPORTED = THREAD_MX_BEAN.isCurrentThreadCpuTimeSupported();
+    private static final String FINALIZE_TYPE = "heartcheck.check.finalize";
+
+    private final RealtimeProxyTokenPool realtimeProxyTokenPool;
+    private final VoiceSessionRegistry voiceSessionRegistry;
+    private final JwtUtil jwtUtil;
+    private final CheckService checkService;
+    private final ObjectMapper objectMapper;
+    private final HttpClient voiceProxyHttpClient;
+    private final URI realtimeUri;
+    private final Duration connectTimeout;
+    private final long sendTimeoutMillis;
+    private final int maxPendingSends;
+    private final ExecutorService voiceOutboundExecutor;
+    private final ExecutorService voiceCheckExecutor;
+    private final OutboundFrameQueue.Settings outboundSettings;
+    private final OutboundFrameQueue.Meters outboundMeters;
+    private final int maxFrameBytes;
+
+    private final Counter clientTextInBytes;
+    private final Counter clientBinaryInBytes;
+    private final Counter clientTextOutBytes;
+    private final Counter clientBinaryOutBytes;
+    private final Counter upstreamInBytes;
+    private final Counter upstreamOutBytes;
+    private final DistributionSummary cpuPerSessionMinute;
+    private final DistributionSummary bytesPerSessionMinute;
+    private final MeterRegistry meterRegistry;
+
+    private final ConcurrentMap<String, ProxySession> sessions = new ConcurrentHashMap<>();
+
+    public VoiceProxyHandler(RealtimeProxyTokenPool realtimeProxyTokenPool,
+                             VoiceSessionRegistry voiceSessionRegistry,
+                             JwtUtil jwtUtil,
+                             CheckService checkService,
+                             ObjectMapper objectMapper,
+                             @Qualifier("voiceProxyHttpClient") HttpClient voiceProxyHttpClient,
+                             @Qualifier("voiceOutboundExecutor") ExecutorService voiceOutboundExecutor,
+                             @Qualifier("voiceCheckExecutor") ExecutorService voiceCheckExecutor,
+                             MeterRegistry meterRegistry,
+                             @Value("${openai.realtime.ws.url}") String realtimeUrl,
+                             @Value("${heart.voice.proxy.connect-timeout-ms:5000}") long connectTimeoutMillis,
+                             @Value("${heart.voice.proxy.send-timeout-ms:5000}") long sendTimeoutMillis,
+                             @Value("${heart.voice.proxy.send-buffer-size-limit:524288}") int sendBufferSizeLimit,
+                             @Value("${heart.voice.proxy.max-frame-bytes:65536}") int maxFrameBytes,
+                             @Value("${heart.voice.proxy.inbound.max-pending-frames:64}") int maxPendingSends,
+                             @Value("${heart.voice.proxy.outbound.max-frames:256}") int outboundMaxFrames,
+                             @Value("${heart.voice.proxy.outbound.overflow-policy:DROP_AUDIO}") OutboundFrameQueue.OverflowPolicy overflowPolicy,
+                             @Value("${heart.voice.proxy.outbound.overflow-close-code:1013}") int overflowCloseCode) {
+        this.realtimeProxyTokenPool = realtimeProxyTokenPool;
+        this.voiceSessionRegistry = voiceSessionRegistry;
+        this.jwtUtil = jwtUtil;
+        this.checkService = checkService;
+        this.objectMapper = objectMapper;
+        this.meterRegistry = meterRegistry;
+        this.voiceProxyHttpClient = voiceProxyHttpClient;
+        this.realtimeUri = URI.create(realtimeUrl);
+        this.connectTimeout = Duration.ofMillis(connectTimeoutMillis);
+        this.sendTimeoutMillis = sendTimeoutMillis;
+        this.maxPendingSends = maxPendingSends;
+        this.voiceOutboundExecutor = voiceOutboundExecutor;
+        this.voiceCheckExecutor = voiceCheckExecutor;
+        this.outboundSettings = new OutboundFrameQueue.Settings(outboundMaxFrames, sendBufferSizeLimit,
+                TimeUnit.MILLISECONDS.toNanos(sendTimeoutMillis), overflowPolicy,
+                new CloseStatus(overflowCloseCode, "frontend too slow"));
+        this.outboundMeters = new OutboundFrameQueue.Meters(
+                DistributionSummary.builder("voice.proxy.outbound.depth")
+                        .description("Frames waiting in a session's outbound queue at enqueue time")
+                        .register(meterRegistry),
+                Timer.builder("voice.proxy.outbound.latency")
+                        .description("Time from enqueue to completed send to the frontend")
+                        .register(meterRegistry),
+                Counter.builder("voice.proxy.outbound.dropped")
+                        .tag("reason", "stale_audio")
+                        .register(meterRegistry),
+                Counter.builder("voice.proxy.outbound.overflow_closed")
+                        .register(meterRegistry));
+        this.maxFrameBytes = maxFrameBytes;
+
+        this.clientTextInBytes = bytesCounter(meterRegistry, "client", "inbound", "text");
+        this.clientBinaryInBytes = bytesCounter(meterRegistry, "client", "inbound", "binary");
+        this.clientTextOutBytes = bytesCounter(meterRegistry, "client", "outbound", "text");
+        this.clientBinaryOutBytes = bytesCounter(meterRegistry, "client", "outbound", "binary");
+        this.upstreamInBytes = bytesCounter(meterRegistry, "upstream", "inbound", "text");
+        this.upstreamOutBytes = bytesCounter(meterRegistry, "upstream", "outbound", "text");
+        this.cpuPerSessionMinute = DistributionSummary.builder("voice.proxy.cpu.per_session_minute")
+                .baseUnit("milliseconds")
+                .description("Proxy CPU time spent relaying one session, normalised to one minute")
+                .register(meterRegistry);
+        this.bytesPerSessionMinute = DistributionSummary.builder("voice.proxy.client.bytes.per_session_minute")
+                .baseUnit("bytes")
+                .description("Client-side bytes on the wire for one session, normalised to one minute")
+                .register(meterRegistry);
+
+        meterRegistry.gaugeMapSize("voice.proxy.sessions", Tags.empty(), sessions);
+        meterRegistry.gauge("voice.proxy.outbound.queued", Tags.empty(), sessions,
+                map -> map.values().stream().mapToInt(proxySession -> proxySession.outbound.depth()).sum());
+    }
+
+    @Override
+    public List<String> getSubProtocols() {
+        return List.of(AudioFrameCodec.AUDIO_SUBPROTOCOL);
+    }
 
     @Override
     public void afterConnectionEstablished(WebSocketSession session) throws Exception {
@@ -45,116 +199,436 @@ public class VoiceProxyHandler extends TextWebSocketHandler {
             session.close(CloseStatus.NOT_ACCEPTABLE);
             return;
         }
+        // 서버에서 검사를 저장하므로 사용자 식별이 필요함
+        Long userId = jwtUtil.validateToken(token) && !jwtUtil.isRefreshToken(token)
+                ? jwtUtil.extractUserId(token)
+                : null;
+        if (userId == null) {
+            log.error("[Voice Proxy] Invalid authentication token");
+            session.close(CloseStatus.NOT_ACCEPTABLE);
+            return;
+        }
+        // 드레인 중인 노드는 새 세션을 받지 않음 (앱은 1012를 받으면 다시 연결해 다른 노드로 감)
+        if (!voiceSessionRegistry.register(session.getId(), userId, () -> forceClose(session))) {
+            log.info("[Voice Proxy] Node draining, rejecting session {}", session.getId());
+            session.close(CloseStatus.SERVICE_RESTARTED);
+            return;
+        }
 
         try {
-            // Get ephemeral token from OpenAI
-            String ephemeralToken = openAIService.generateEphemeralToken();
-            log.info("[Voice Proxy] Generated ephemeral token");
+            // Get ephemeral token from OpenAI (미리 발급된 토큰 풀 우선)
+            String ephemeralToken = realtimeProxyTokenPool.take().value();
+            log.info("[Voice Proxy] Acquired ephemeral token");
 
-            // Create WebSocket client to OpenAI
-            OpenAIWebSocketClient openAIClient = new OpenAIWebSocketClient(
-                    new URI("wss://api.openai.com/v1/realtime?model=gpt-4o-realtime-preview-2024-10-01"),
-                    ephemeralToken,
-                    session
-            );
+            // 바이너리 오디오 프레임(최대 수 KB)과 JSON 봉투가 컨테이너 기본 버퍼(8KB)를 넘을 수 있음
+            session.setBinaryMessageSizeLimit(maxFrameBytes);
+            session.setTextMessageSizeLimit(maxFrameBytes);
 
-            openAIClients.put(session.getId(), openAIClient);
-            openAIClient.connect();
-
-            log.info("[Voice Proxy] Connected to OpenAI for session: {}", session.getId());
+            // 프론트엔드 전송은 세션별 송신 큐로만 (상한·직렬화·느린 단말 처리)
+            AudioFrameCodec codec = new AudioFrameCodec();
+            OutboundFrameQueue outbound = new OutboundFrameQueue(
+                    session, voiceOutboundExecutor, outboundSettings, outboundMeters, codec::recycle);
+            boolean binaryAudio = AudioFrameCodec.AUDIO_SUBPROTOCOL.equals(session.getAcceptedProtocol());
+            ProxySession proxySession = new ProxySession(outbound, codec, binaryAudio, userId);
+            log.info("[Voice Proxy] Audio transport for session {}: {}", session.getId(), binaryAudio ? "binary" : "json");
+            proxySession.upstream = voiceProxyHttpClient.newWebSocketBuilder()
+                    .connectTimeout(connectTimeout)
+                    .header("Authorization", "Bearer " + ephemeralToken)
+                    .header("OpenAI-Beta", "realtime=v1")
+                    .buildAsync(realtimeUri, new UpstreamListener(proxySession))
+                    .whenComplete((webSocket, error) -> {
+                        if (error != null) {
+                            log.error("[Voice Proxy] Failed to connect to OpenAI for session: {}", session.getId(), error);
+                            closeFrontend(proxySession, CloseStatus.SERVER_ERROR);
+                        } else {
+                            log.info("[Voice Proxy] Connected to OpenAI for session: {}", session.getId());
+                        }
+                    });
+            sessions.put(session.getId(), proxySession);
+        } catch (DependencyUnavailableException e) {
+            // OpenAI 호출 차단 중: 앱이 잠시 후 다시 시도하도록 1013(Try Again Later)으로 종료
+            log.warn("[Voice Proxy] OpenAI unavailable, rejecting session {}", session.getId());
+            voiceSessionRegistry.unregister(session.getId());
+            session.close(CloseStatus.SERVICE_OVERLOAD);
         } catch (Exception e) {
             log.error("[Voice Proxy] Failed to connect to OpenAI", e);
+            voiceSessionRegistry.unregister(session.getId());
             session.close(CloseStatus.SERVER_ERROR);
         }
     }
 
     @Override
     protected void handleTextMessage(WebSocketSession session, TextMessage message) throws Exception {
-        log.debug("[Voice Proxy] Received message from client: {} bytes", message.getPayloadLength());
+        String payload = message.getPayload();
+        log.debug("[Voice Proxy] Received message from client: {} chars", payload.length());
+
+        ProxySession proxySession = sessions.get(session.getId());
+        if (proxySession == null) {
+            log.warn("[Voice Proxy] OpenAI client not connected for session: {}", session.getId());
+            return;
+        }
+        clientTextInBytes.increment(payload.length());
+        proxySession.clientBytes.add(payload.length());
+
+        // 프록시 제어 메시지는 상위로 보내지 않음 (문자열 검사는 오디오 프레임을 파싱하지 않기 위한 사전 필터)
+        if (payload.contains(FINALIZE_TYPE) && FINALIZE_TYPE.equals(messageType(payload))) {
+            finalizeCheck(proxySession, true);
+            return;
+        }
+        proxySession.answers.accept(payload);
+
+        sendUpstream(proxySession, upstream -> {
+            upstreamOutBytes.increment(payload.length());
+            return upstream.sendText(payload, true);
+        });
+    }
 
-        OpenAIWebSocketClient openAIClient = openAIClients.get(session.getId());
-        if (openAIClient != null && openAIClient.isOpen()) {
-            openAIClient.send(message.getPayload());
-        } else {
+    /**
+     * 바이너리 오디오 프레임 수신: input_audio_buffer.append로 감싸 상위로 전송
+     */
+    @Override
+    protected void handleBinaryMessage(WebSocketSession session, BinaryMessage message) throws Exception {
+        ProxySession proxySession = sessions.get(session.getId());
+        if (proxySession == null) {
             log.warn("[Voice Proxy] OpenAI client not connected for session: {}", session.getId());
+            return;
         }
+        ByteBuffer audio = message.getPayload();
+        clientBinaryInBytes.increment(audio.remaining());
+        proxySession.clientBytes.add(audio.remaining());
+
+        // 컨테이너가 수신 버퍼를 재사용하므로 복사해 두고, 봉투는 이전 전송이 끝난 뒤 세션 버퍼에 만든다
+        ByteBuffer pcm = ByteBuffer.allocate(audio.remaining()).put(audio).flip();
+        sendUpstream(proxySession, upstream -> {
+            CharSequence envelope = proxySession.codec.wrapAppend(pcm);
+            upstreamOutBytes.increment(envelope.length());
+            return upstream.sendText(envelope, true);
+        });
     }
 
     @Override
     public void afterConnectionClosed(WebSocketSession session, CloseStatus status) throws Exception {
         log.info("[Voice Proxy] Client disconnected: {}, status: {}", session.getId(), status);
-
-        OpenAIWebSocketClient openAIClient = openAIClients.remove(session.getId());
-        if (openAIClient != null) {
-            openAIClient.close();
-        }
+        voiceSessionRegistry.unregister(session.getId());
+        finish(sessions.remove(session.getId()));
     }
 
     @Override
     public void handleTransportError(WebSocketSession session, Throwable exception) throws Exception {
         log.error("[Voice Proxy] Transport error for session: " + session.getId(), exception);
+        voiceSessionRegistry.unregister(session.getId());
+        finish(sessions.remove(session.getId()));
+    }
+
+    /**
+     * 프론트엔드 전송 감시: 전송 하나가 send-timeout을 넘긴 세션을 상위 메시지 도착과 무관하게 종료
+     */
+    @Scheduled(fixedDelayString = "${heart.voice.proxy.outbound.watchdog-ms:1000}")
+    public void closeStalledSessions() {
+        long now = System.nanoTime();
+        sessions.values().forEach(proxySession -> proxySession.outbound.closeIfStalled(now));
+    }
 
-        OpenAIWebSocketClient openAIClient = openAIClients.remove(session.getId());
-        if (openAIClient != null) {
-            openAIClient.close();
+    /**
+     * 현재 중계 중인 세션 수
+     */
+    public int activeSessionCount() {
+        return sessions.size();
+    }
+
+    /**
+     * 연결 완료와 이전 전송 완료 뒤에 다음 프레임 전송을 이어 붙임 (세션당 전송 중인 프레임 1개, 대기 없음)
+     * 이어 붙인 프레임이 상한을 넘거나 전송이 실패·지연되면 세션을 종료한다
+     * @param proxySession 중계 세션
+     * @param send 상위 연결로 프레임을 보내는 동작 (이전 전송 완료 후 실행)
+     */
+    private void sendUpstream(ProxySession proxySession, Function<WebSocket, CompletableFuture<WebSocket>> send) {
+        if (proxySession.pendingSends.incrementAndGet() > maxPendingSends) {
+            proxySession.pendingSends.decrementAndGet();
+            if (proxySession.sendFailed.compareAndSet(false, true)) {
+                log.warn("[Voice Proxy] {} frames waiting for OpenAI, closing session", maxPendingSends);
+                closeFrontend(proxySession, CloseStatus.SERVICE_OVERLOAD);
+            }
+            return;
         }
+        CompletableFuture<WebSocket> previous = proxySession.lastSend != null
+                ? proxySession.lastSend
+                : proxySession.upstream;
+        CompletableFuture<WebSocket> next = previous.thenCompose(upstream -> {
+            if (upstream.isOutputClosed()) {
+                return CompletableFuture.completedFuture(upstream);
+            }
+            long cpuStart = cpuTime();
+            CompletableFuture<WebSocket> sent = send.apply(upstream);
+            proxySession.addCpu(cpuStart);
+            return sent.orTimeout(sendTimeoutMillis, TimeUnit.MILLISECONDS);
+        });
+        proxySession.lastSend = next;
+        next.whenComplete((upstream, error) -> {
+            proxySession.pendingSends.decrementAndGet();
+            if (error != null && proxySession.sendFailed.compareAndSet(false, true)) {
+                log.warn("[Voice Proxy] Send to OpenAI failed, closing session: {}", error.toString());
+                closeFrontend(proxySession, CloseStatus.SERVER_ERROR);
+            }
+        });
     }
 
     /**
-     * WebSocket client for connecting to OpenAI Realtime API
+     * 세션 종료: 세션 분당 CPU 시간과 클라이언트 구간 바이트를 기록하고 상위 연결을 닫음
      */
-    private static class OpenAIWebSocketClient extends WebSocketClient {
-        private final String ephemeralToken;
-        private final WebSocketSession frontendSession;
+    private void finish(ProxySession proxySession) {
+        if (proxySession == null) {
+            return;
+        }
+        double minutes = Math.max(1.0 / 60, (System.nanoTime() - proxySession.startedNanos) / 60_000_000_000.0);
+        if (CPU_TIME_SUPPORTED) {
+            cpuPerSessionMinute.record(proxySession.cpuNanos.sum() / 1_000_000.0 / minutes);
+        }
+        bytesPerSessionMinute.record(proxySession.clientBytes.sum() / minutes);
+        // 완료 안내까지 진행된 대화는 앱이 확정 요청 없이 끊어도 저장
+        if (proxySession.answers.isCompleted()) {
+            finalizeCheck(proxySession, false);
+        }
+        closeUpstream(proxySession);
+    }
 
-        public OpenAIWebSocketClient(URI serverUri, String ephemeralToken, WebSocketSession frontendSession) {
-            super(serverUri, Map.of(
-                    "Authorization", "Bearer " + ephemeralToken,
-                    "OpenAI-Beta", "realtime=v1"
-            ));
-            this.ephemeralToken = ephemeralToken;
-            this.frontendSession = frontendSession;
+    /**
+     * 추출한 답변으로 검사 저장 (세션당 1회)
+     * @param proxySession 중계 세션
+     * @param reply 결과를 앱에 알릴지 여부
+     */
+    private void finalizeCheck(ProxySession proxySession, boolean reply) {
+        CompletableFuture<Check> result;
+        synchronized (proxySession) {
+            if (proxySession.check == null) {
+                CheckRequest request = proxySession.answers.toCheckRequest();
+                if (request == null) {
+                    meterRegistry.counter("voice.proxy.check", "result", "incomplete").increment();
+                    log.info("[Voice Proxy] Voice answers incomplete ({} recognized), check not created",
+                            proxySession.answers.answeredCount());
+                    if (reply) {
+                        // 앱은 missing 항목을 다시 질문한 뒤 확정을 재요청 (세션당 1회 제한은 저장 시작 후에만 적용)
+                        List<String> missing = proxySession.answers.missingRequired();
+                        sendControl(proxySession, Map.of("type", "heartcheck.check.failed",
+                                "message", "필수 항목(" + String.join(", ", missing) + ")을 인식하지 못했습니다.",
+                                "missing", missing));
+                    }
+                    return;
+                }
+                proxySession.check = CompletableFuture.supplyAsync(
+                        () -> checkService.saveCheck(request, proxySession.userId), voiceCheckExecutor);
+                proxySession.check.whenComplete((check, error) -> meterRegistry.counter("voice.proxy.check",
+                        "result", error == null ? "created" : "failed").increment());
+            }
+            result = proxySession.check;
+        }
+        if (!reply) {
+            return;
+        }
+        result.whenComplete((check, error) -> {
+            if (error != null) {
+                log.error("[Voice Proxy] Failed to save voice check", error);
+                sendControl(proxySession, Map.of("type", "heartcheck.check.failed",
+                        "message", "검사 저장에 실패했습니다."));
+                return;
+            }
+            Map<String, Object> data = new LinkedHashMap<>();
+            data.put("checkId", check.getId());
+            data.put("assessmentTime", check.getAssessmentTime());
+            data.put("symptomCount", check.getSymptomCount());
+            data.put("bmi", check.getBmi());
+            data.put("riskLevel", checkService.assessRiskLevel(check));
+            data.put("medicalReviewRecommended", checkService.isRecommendMedicalReview(check));
+            sendControl(proxySession, Map.of("type", "heartcheck.check.created", "data", data));
+        });
+    }
+
+    /**
+     * 최상위 type 값만 읽음 (나머지 필드는 토큰화하지 않음)
+     * @return type (JSON 객체가 아니거나 type이 없으면 null)
+     */
+    private String messageType(String payload) {
+        try (JsonParser parser = objectMapper.getFactory().createParser(payload)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                return null;
+            }
+            JsonToken token;
+            while ((token = parser.nextToken()) != null && token != JsonToken.END_OBJECT) {
+                if (token != JsonToken.FIELD_NAME) {
+                    continue;
+                }
+                String field = parser.currentName();
+                if (parser.nextToken() == JsonToken.VALUE_STRING && "type".equals(field)) {
+                    return parser.getText();
+                }
+                parser.skipChildren();
+            }
+        } catch (IOException e) {
+            log.debug("[Voice Proxy] Ignoring malformed client message: {}", e.getMessage());
+        }
+        return null;
+    }
+
+    private void sendControl(ProxySession proxySession, Map<String, Object> message) {
+        try {
+            proxySession.outbound.enqueue(new TextMessage(objectMapper.writeValueAsString(message)), false);
+        } catch (Exception e) {
+            log.error("[Voice Proxy] Failed to send control message", e);
+        }
+    }
+
+    private void closeUpstream(ProxySession proxySession) {
+        if (proxySession.upstream == null) {
+            return;
+        }
+        // 전송 중인 프레임이 끝난 뒤 종료 프레임 전송
+        CompletableFuture<?> pending = proxySession.lastSend != null
+                ? proxySession.lastSend
+                : CompletableFuture.completedFuture(null);
+        pending.handle((result, error) -> null).thenCompose(ignored -> proxySession.upstream).thenAccept(webSocket -> {
+            if (!webSocket.isOutputClosed()) {
+                webSocket.sendClose(WebSocket.NORMAL_CLOSURE, "client closed")
+                        .exceptionally(error -> {
+                            webSocket.abort();
+                            return webSocket;
+                        });
+            }
+        });
+    }
+
+    /**
+     * 드레인 기한 초과 시 세션 종료 (앱이 다른 노드로 다시 연결하도록 1012)
+     */
+    private void forceClose(WebSocketSession session) {
+        ProxySession proxySession = sessions.get(session.getId());
+        if (proxySession != null) {
+            closeFrontend(proxySession, CloseStatus.SERVICE_RESTARTED);
+            return;
+        }
+        try {
+            session.close(CloseStatus.SERVICE_RESTARTED);
+        } catch (Exception e) {
+            log.error("[Voice Proxy] Failed to close session {}", session.getId(), e);
+        }
+    }
+
+    private static void closeFrontend(ProxySession proxySession, CloseStatus status) {
+        proxySession.outbound.close(status);
+    }
+
+    private static long cpuTime() {
+        return CPU_TIME_SUPPORTED ? THREAD_MX_BEAN.getCurrentThreadCpuTime() : 0;
+    }
+
+    private static Counter bytesCounter(MeterRegistry meterRegistry, String leg, String direction, String frame) {
+        return Counter.builder("voice.proxy.bytes")
+                .baseUnit("bytes")
+                .tag("leg", leg)
+                .tag("direction", direction)
+                .tag("frame", frame)
+                .register(meterRegistry);
+    }
+
+    /**
+     * 프론트엔드 세션과 상위 연결 쌍
+     */
+    private static final class ProxySession {
+        private final OutboundFrameQueue outbound;
+        private final boolean binaryAudio;
+        private final Long userId;
+        private final AudioFrameCodec codec;
+        private final VoiceAnswerExtractor answers = new VoiceAnswerExtractor();
+        private final long startedNanos = System.nanoTime();
+        private final LongAdder cpuNanos = new LongAdder();
+        private final LongAdder clientBytes = new LongAdder();
+        private final AtomicInteger pendingSends = new AtomicInteger();
+        private final AtomicBoolean sendFailed = new AtomicBoolean();
+        private volatile CompletableFuture<WebSocket> upstream;
+        private volatile CompletableFuture<WebSocket> lastSend;
+        private CompletableFuture<Check> check;
+
+        private ProxySession(OutboundFrameQueue outbound, AudioFrameCodec codec, boolean binaryAudio, Long userId) {
+            this.outbound = outbound;
+            this.codec = codec;
+            this.binaryAudio = binaryAudio;
+            this.userId = userId;
+        }
+
+        private void addCpu(long cpuStart) {
+            if (CPU_TIME_SUPPORTED) {
+                cpuNanos.add(THREAD_MX_BEAN.getCurrentThreadCpuTime() - cpuStart);
+            }
+        }
+    }
+
+    /**
+     * OpenAI Realtime API 수신 리스너
+     * 분할 수신된 텍스트를 합쳐 프론트엔드로 전달하고, 전달이 끝난 뒤 다음 메시지를 요청한다
+     * 바이너리 오디오 세션이면 오디오 delta를 PCM16 바이너리 프레임으로 풀어 전달한다
+     */
+    private final class UpstreamListener implements WebSocket.Listener {
+        private final ProxySession proxySession;
+        private final StringBuilder partial = new StringBuilder();
+
+        private UpstreamListener(ProxySession proxySession) {
+            this.proxySession = proxySession;
         }
 
         @Override
-        public void onOpen(ServerHandshake handshakedata) {
+        public void onOpen(WebSocket webSocket) {
             log.info("[OpenAI Client] Connected to OpenAI Realtime API");
+            webSocket.request(1);
         }
 
         @Override
-        public void onMessage(String message) {
-            try {
-                log.debug("[OpenAI Client] Received message: {} bytes", message.length());
-                if (frontendSession.isOpen()) {
-                    frontendSession.sendMessage(new TextMessage(message));
+        public CompletionStage<?> onText(WebSocket webSocket, CharSequence data, boolean last) {
+            partial.append(data);
+            if (last) {
+                long cpuStart = cpuTime();
+                String message = partial.toString();
+                partial.setLength(0);
+                upstreamInBytes.increment(message.length());
+                try {
+                    log.debug("[OpenAI Client] Received message: {} bytes", message.length());
+                    if (proxySession.outbound.isOpen()) {
+                        relayToFrontend(message);
+                    }
+                } catch (Exception e) {
+                    log.error("[OpenAI Client] Failed to relay message to frontend", e);
                 }
-            } catch (Exception e) {
-                log.error("[OpenAI Client] Failed to relay message to frontend", e);
+                proxySession.addCpu(cpuStart);
             }
+            webSocket.request(1);
+            return null;
         }
 
-        @Override
-        public void onClose(int code, String reason, boolean remote) {
-            log.info("[OpenAI Client] Connection closed: code={}, reason={}, remote={}", code, reason, remote);
-            try {
-                if (frontendSession.isOpen()) {
-                    frontendSession.close(new CloseStatus(code, reason));
-                }
-            } catch (Exception e) {
-                log.error("[OpenAI Client] Failed to close frontend session", e);
+        private void relayToFrontend(String message) {
+            proxySession.answers.accept(message);
+            ByteBuffer audio = proxySession.binaryAudio ? proxySession.codec.unwrapAudioDelta(message) : null;
+            if (audio != null) {
+                clientBinaryOutBytes.increment(audio.remaining());
+                proxySession.clientBytes.add(audio.remaining());
+                proxySession.outbound.enqueue(new BinaryMessage(audio), true);
+            } else {
+                clientTextOutBytes.increment(message.length());
+                proxySession.clientBytes.add(message.length());
+                proxySession.outbound.enqueue(new TextMessage(message), AudioFrameCodec.isAudioDeltaMessage(message));
             }
         }
 
         @Override
-        public void onError(Exception ex) {
-            log.error("[OpenAI Client] Error occurred", ex);
-            try {
-                if (frontendSession.isOpen()) {
-                    frontendSession.close(CloseStatus.SERVER_ERROR);
-                }
-            } catch (Exception e) {
-                log.error("[OpenAI Client] Failed to close frontend session", e);
-            }
+        public CompletionStage<?> onClose(WebSocket webSocket, int statusCode, String reason) {
+            log.info("[OpenAI Client] Connection closed: code={}, reason={}", statusCode, reason);
+            closeFrontend(proxySession, statusCode >= 1000 && statusCode < 5000
+                    ? new CloseStatus(statusCode, reason)
+                    : CloseStatus.SERVER_ERROR);
+            return null;
+        }
+
+        @Override
+        public void onError(WebSocket webSocket, Throwable error) {
+            log.error("[OpenAI Client] Error occurred", error);
+            closeFrontend(proxySession, CloseStatus.SERVER_ERROR);
         }
     }
 }
@@ -0,0 +1,11 @@
+-- 결제 영수증 비동기 검증
+-- 완료 요청은 VERIFYING으로 기록만 하고, 검증 작업자가 트랜잭션 밖에서 스토어에 확인한 뒤 짧은 트랜잭션으로 확정한다.
+-- next_verify_at은 다음 시도 시각이자 점유 리스 만료 시각이며, (status, next_verify_at) 인덱스로 시도할 결제를 찾는다.
+
+ALTER TABLE payments
+    MODIFY COLUMN status ENUM('PENDING', 'VERIFYING', 'SUCCESS', 'FAIL', 'CANCELED', 'REFUNDED') NOT NULL COMMENT '결제 상태',
+    ADD COLUMN verify_attempts INT NOT NULL DEFAULT 0 COMMENT '영수증 검증 시도 횟수',
+    ADD COLUMN next_verify_at DATETIME(6) NULL COMMENT '다음 검증 시도 시각',
+    ADD COLUMN verify_error VARCHAR(500) NULL COMMENT '마지막 검증 실패 사유';
+
+CREATE INDEX idx_payment_verify ON payments (status, next_verify_at);
@@ -0,0 +1,59 @@
+-- 결제 원장과 일별 매출 스냅샷
+-- 결제 확정·환불 트랜잭션에서 payment_ledger에 결제 당시 금액을 한 행씩 추가하고(수정·삭제 없음),
+-- 같은 트랜잭션에서 daily_revenue_snapshots의 (날짜, 요금제, 스토어) 행에 건수·금액을 더한다.
+-- 매출·요금제별 통계는 스냅샷을 합산하며, 스냅샷은 원장에서 언제든 다시 집계할 수 있다.
+
+CREATE TABLE payment_ledger (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    payment_id BIGINT NOT NULL,
+    user_id BIGINT NOT NULL,
+    cost_id SMALLINT NOT NULL,
+    plan_type VARCHAR(20) NOT NULL,
+    store_info CHAR(1) NOT NULL,
+    event_type VARCHAR(10) NOT NULL,
+    amount INT NOT NULL COMMENT '원 단위, 환불은 음수',
+    occurred_at DATETIME(6) NOT NULL,
+    business_date DATE NOT NULL,
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    CONSTRAINT uk_payment_ledger_event UNIQUE (payment_id, event_type)
+);
+
+CREATE INDEX idx_payment_ledger_date ON payment_ledger (business_date);
+CREATE INDEX idx_payment_ledger_occurred ON payment_ledger (occurred_at);
+
+CREATE TABLE daily_revenue_snapshots (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    snapshot_date DATE NOT NULL,
+    plan_type VARCHAR(20) NOT NULL,
+    store_info CHAR(1) NOT NULL,
+    purchase_count BIGINT NOT NULL DEFAULT 0,
+    refund_count BIGINT NOT NULL DEFAULT 0,
+    gross_amount BIGINT NOT NULL DEFAULT 0,
+    refund_amount BIGINT NOT NULL DEFAULT 0,
+    net_amount BIGINT NOT NULL DEFAULT 0,
+    updated_at DATETIME NULL,
+    CONSTRAINT uk_revenue_snapshot UNIQUE (snapshot_date, plan_type, store_info)
+);
+
+-- 기존 결제 이관: 당시 금액 기록이 없으므로 현재 요금제 가격을 쓴다.
+-- 환불 시각도 남아 있지 않아 구매 시각(pay_time)으로 기록한다 (환불된 결제는 그날 순매출에서 상쇄).
+INSERT INTO payment_ledger (payment_id, user_id, cost_id, plan_type, store_info, event_type, amount, occurred_at, business_date)
+SELECT p.id, p.user_id, p.cost_id, c.type, p.store_info, 'PURCHASE', c.cost, p.pay_time, DATE(p.pay_time)
+FROM payments p JOIN cost_models c ON c.cost_id = p.cost_id
+WHERE p.status IN ('SUCCESS', 'REFUNDED');
+
+INSERT INTO payment_ledger (payment_id, user_id, cost_id, plan_type, store_info, event_type, amount, occurred_at, business_date)
+SELECT p.id, p.user_id, p.cost_id, c.type, p.store_info, 'REFUND', -c.cost, p.pay_time, DATE(p.pay_time)
+FROM payments p JOIN cost_models c ON c.cost_id = p.cost_id
+WHERE p.status = 'REFUNDED';
+
+INSERT INTO daily_revenue_snapshots (snapshot_date, plan_type, store_info, purchase_count, refund_count,
+                                     gross_amount, refund_amount, net_amount, updated_at)
+SELECT business_date, plan_type, store_info,
+       SUM(CASE WHEN event_type = 'PURCHASE' THEN 1 ELSE 0 END),
+       SUM(CASE WHEN event_type = 'REFUND' THEN 1 ELSE 0 END),
+       SUM(CASE WHEN event_type = 'PURCHASE' THEN amount ELSE 0 END),
+       SUM(CASE WHEN event_type = 'REFUND' THEN -amount ELSE 0 END),
+       SUM(amount), NOW()
+FROM payment_ledger
+GROUP BY business_date, plan_type, store_info;
@@ -0,0 +1,9 @@
+-- 예약 알림 발송 지원
+-- 예약 알림은 발송 전까지 sent_time이 NULL이어야 발송 대상(sent_time IS NULL AND scheduled_time <= now)으로 잡힌다.
+-- 기존에는 NOT NULL DEFAULT CURRENT_TIMESTAMP라 예약 알림이 생성 즉시 발송된 것으로 기록되었다.
+
+ALTER TABLE notifications
+    MODIFY sent_time DATETIME NULL COMMENT '발송 시간 (예약 알림은 발송 전까지 NULL)';
+
+-- 발송기 청크 점유(SELECT ... FOR UPDATE SKIP LOCKED)용 인덱스
+CREATE INDEX idx_notification_due ON notifications (sent_time, scheduled_time);
@@ -0,0 +1,5 @@
+-- 읽지 않은 알림 개수 조회
+-- 배지 조회는 Redis 카운터(UnreadNotificationCounter)로 처리하고, DB COUNT는 카운터가 없을 때의 채우기와
+-- 주기적 대조에서만 실행된다. 이때 사용자의 읽지 않은 발송 알림만 인덱스 범위로 세도록 복합 인덱스를 추가한다.
+
+CREATE INDEX idx_notification_user_unread ON notifications (user_id, is_read, sent_time);
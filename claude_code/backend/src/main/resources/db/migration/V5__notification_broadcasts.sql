@@ -0,0 +1,23 @@
+-- 일괄 알림 발송 작업
+-- 수신 동의 사용자 전체에게 보내는 알림을 사용자 ID 순 청크로 발송하며,
+-- 청크마다 진행 위치(last_user_id)와 발송 수를 알림 INSERT와 같은 트랜잭션에서 기록해 중단 후 재개할 수 있다.
+
+CREATE TABLE notification_broadcasts (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    type VARCHAR(30) NOT NULL,
+    title VARCHAR(100) NOT NULL,
+    message VARCHAR(500) NOT NULL,
+    url VARCHAR(200),
+    priority INT NOT NULL DEFAULT 2,
+    audience VARCHAR(20) NOT NULL,
+    status VARCHAR(20) NOT NULL DEFAULT 'PENDING',
+    last_user_id BIGINT NOT NULL DEFAULT 0,
+    sent_count BIGINT NOT NULL DEFAULT 0,
+    heartbeat_at TIMESTAMP NULL,
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    started_at TIMESTAMP NULL,
+    completed_at TIMESTAMP NULL,
+    error_message VARCHAR(500)
+);
+
+CREATE INDEX idx_broadcast_status ON notification_broadcasts (status, heartbeat_at);
@@ -0,0 +1,39 @@
+-- 알림 월 단위 파티셔닝
+-- 보관 기간이 지난 알림을 행 단위 DELETE 대신 DROP PARTITION으로 지우기 위해 created_at 기준 RANGE 파티션으로 바꾼다.
+-- sent_time은 발송 전 예약 알림에서 NULL이라 기본 키에 넣을 수 없으므로, 항상 값이 있는 created_at을 파티션 키로 쓴다.
+-- 예약 알림이 늦게 발송돼 만료되지 않은 행이 남은 파티션은 NotificationRetentionService가 id 범위 DELETE로 정리한다.
+--
+-- MySQL 파티션 테이블 제약
+-- - 파티션 키는 모든 유니크 키에 포함돼야 하므로 기본 키를 (id, created_at)으로 바꾼다 (id는 계속 AUTO_INCREMENT로 유일)
+-- - 외래 키를 지원하지 않으므로 user_id 외래 키를 제거한다 (사용자 삭제 시 알림 삭제는 JPA cascade가 처리)
+--
+-- 초기 파티션은 p_history와 p_future 두 개이며, 첫 정리 실행 때 p_future를 지난 달까지/이번 달/다음 달들로 나눈다.
+
+ALTER TABLE notifications
+    ADD COLUMN created_at DATETIME NULL COMMENT '생성 시간 (파티션 키)';
+
+UPDATE notifications SET created_at = COALESCE(sent_time, scheduled_time, NOW());
+
+ALTER TABLE notifications
+    MODIFY created_at DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP COMMENT '생성 시간 (파티션 키)';
+
+SET @notification_fk := (SELECT CONSTRAINT_NAME FROM information_schema.REFERENTIAL_CONSTRAINTS
+                         WHERE CONSTRAINT_SCHEMA = DATABASE() AND TABLE_NAME = 'notifications' LIMIT 1);
+SET @drop_fk_sql := IF(@notification_fk IS NULL, 'SELECT 1',
+                       CONCAT('ALTER TABLE notifications DROP FOREIGN KEY ', @notification_fk));
+PREPARE drop_fk FROM @drop_fk_sql;
+EXECUTE drop_fk;
+DEALLOCATE PREPARE drop_fk;
+
+ALTER TABLE notifications
+    DROP PRIMARY KEY,
+    ADD PRIMARY KEY (id, created_at);
+
+-- 정리 대상 id 범위 상한 조회(created_at 기준 최근 행)용
+CREATE INDEX idx_notification_created ON notifications (created_at);
+
+ALTER TABLE notifications
+    PARTITION BY RANGE (TO_DAYS(created_at)) (
+        PARTITION p_history VALUES LESS THAN (TO_DAYS('2025-01-01')),
+        PARTITION p_future VALUES LESS THAN MAXVALUE
+    );
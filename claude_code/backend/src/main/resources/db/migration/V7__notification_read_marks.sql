@@ -0,0 +1,17 @@
+-- 알림 읽음 기준선
+-- 모두 읽음/타입별 읽음은 알림 행을 모두 UPDATE하는 대신 (user_id, scope) 한 행의 read_up_to만 올린다.
+-- 발송 시간이 read_up_to 이전인 알림은 읽은 것으로 보고, 기준선 이후 미읽음 처리한 알림만 unread_at으로 예외 처리한다.
+
+CREATE TABLE notification_read_marks (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    user_id BIGINT NOT NULL,
+    scope VARCHAR(30) NOT NULL,
+    read_up_to DATETIME NOT NULL,
+    updated_at DATETIME NULL,
+    CONSTRAINT uk_read_mark_user_scope UNIQUE (user_id, scope)
+);
+
+ALTER TABLE notifications ADD COLUMN unread_at DATETIME NULL;
+
+-- 기준선 이전 발송분 중 미읽음 처리된 알림만 세는 데 사용
+CREATE INDEX idx_notification_user_unread_at ON notifications (user_id, unread_at);
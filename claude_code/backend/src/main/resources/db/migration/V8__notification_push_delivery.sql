@@ -0,0 +1,37 @@
+-- 기기 푸시 전달
+-- 알림이 발송 처리되는 트랜잭션에서 사용자의 활성 기기 토큰마다 전달 작업(notification_deliveries)을 만들고,
+-- NotificationDeliveryWorker가 (status, next_attempt_at) 인덱스로 시도할 때가 된 작업을 SKIP LOCKED로 점유해 보낸다.
+
+CREATE TABLE device_tokens (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    user_id BIGINT NOT NULL,
+    provider VARCHAR(10) NOT NULL,
+    token VARCHAR(255) NOT NULL,
+    active BOOLEAN NOT NULL DEFAULT TRUE,
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    last_seen_at TIMESTAMP NULL,
+    CONSTRAINT uk_device_token UNIQUE (token),
+    CONSTRAINT fk_device_token_user FOREIGN KEY (user_id) REFERENCES users (user_id) ON DELETE CASCADE
+);
+
+CREATE INDEX idx_device_token_user ON device_tokens (user_id, active);
+
+CREATE TABLE notification_deliveries (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    notification_id BIGINT NOT NULL,
+    user_id BIGINT NOT NULL,
+    device_token_id BIGINT NOT NULL,
+    provider VARCHAR(10) NOT NULL,
+    token VARCHAR(255) NOT NULL,
+    status VARCHAR(20) NOT NULL DEFAULT 'PENDING',
+    attempts INT NOT NULL DEFAULT 0,
+    next_attempt_at DATETIME NOT NULL,
+    created_at DATETIME NOT NULL,
+    delivered_at DATETIME NULL,
+    latency_ms BIGINT NULL,
+    provider_message_id VARCHAR(100),
+    last_error VARCHAR(500)
+);
+
+CREATE INDEX idx_delivery_due ON notification_deliveries (status, next_attempt_at);
+CREATE INDEX idx_delivery_notification ON notification_deliveries (notification_id);
@@ -0,0 +1,5 @@
+-- 구독 만료 타이머
+-- 만료 타이머 적재(곧 종료될 활성 구독)와 시작 시 밀린 만료 처리(종료 시각이 지난 활성 구독)가
+-- 활성 구독만 종료 시각 범위로 읽도록 복합 인덱스를 추가한다.
+
+CREATE INDEX idx_subscription_status_to_date ON subscriptions (status, to_date);
@@ -0,0 +1,92 @@
+package ac.cbnu.heartcheck.config;
+
+import com.google.api.client.http.GenericUrl;
+import com.google.api.client.http.HttpResponse;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.http.HttpClient;
+import java.net.http.HttpTimeoutException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * JDK HttpClient 기반 google-http-client 전송 계층 테스트
+ */
+@DisplayName("JDK HttpClient 전송 계층 테스트")
+class JdkHttpTransportTest {
+
+    private HttpServer server;
+    private SimpleMeterRegistry meterRegistry;
+    private JdkHttpTransport transport;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/certs", exchange -> {
+            byte[] body = "{\"keys\":[]}".getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.getResponseHeaders().add("Cache-Control", "public, max-age=100");
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        server.createContext("/slow", exchange -> {
+            try {
+                Thread.sleep(5000);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            exchange.sendResponseHeaders(204, -1);
+            exchange.close();
+        });
+        server.start();
+
+        meterRegistry = new SimpleMeterRegistry();
+        transport = new JdkHttpTransport(HttpClient.newHttpClient(), Duration.ofSeconds(2),
+                new OutboundHttpMetrics("google", meterRegistry));
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop(0);
+    }
+
+    @Test
+    @DisplayName("응답 본문·헤더를 google-http-client 응답으로 전달하고 시도 지표 기록")
+    void testGet() throws IOException {
+        // When
+        HttpResponse response = transport.createRequestFactory().buildGetRequest(url("/certs")).execute();
+
+        // Then
+        assertThat(response.getStatusCode()).isEqualTo(200);
+        assertThat(response.parseAsString()).isEqualTo("{\"keys\":[]}");
+        assertThat(response.getHeaders().getCacheControl()).isEqualTo("public, max-age=100");
+        assertThat(meterRegistry.timer("outbound.http.attempt", "target", "google", "outcome", "200").count())
+                .isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("설정한 응답 타임아웃을 넘기면 HttpRequest 기본값(20초)을 기다리지 않고 실패")
+    void testReadTimeout() {
+        assertThatThrownBy(() -> transport.createRequestFactory().buildGetRequest(url("/slow")).execute())
+                .isInstanceOf(HttpTimeoutException.class);
+        assertThat(meterRegistry.timer("outbound.http.attempt", "target", "google", "outcome", "IO_ERROR").count())
+                .isEqualTo(1);
+    }
+
+    private GenericUrl url(String path) {
+        return new GenericUrl("http://127.0.0.1:" + server.getAddress().getPort() + path);
+    }
+}
@@ -0,0 +1,91 @@
+package ac.cbnu.heartcheck.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpResponse;
+
+import java.io.IOException;
+import java.net.ConnectException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * 외부 호출 지표 인터셉터 테스트
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("외부 호출 지표 인터셉터 테스트")
+class OutboundHttpInterceptorTest {
+
+    private static final byte[] BODY = new byte[0];
+
+    @Mock
+    private HttpRequest request;
+
+    @Mock
+    private ClientHttpRequestExecution execution;
+
+    private SimpleMeterRegistry meterRegistry;
+    private OutboundHttpMetrics metrics;
+    private OutboundHttpInterceptor interceptor;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        metrics = new OutboundHttpMetrics("test", meterRegistry);
+        interceptor = new OutboundHttpInterceptor(metrics);
+    }
+
+    @Test
+    @DisplayName("실패 응답도 재시도하지 않고 상태 코드별로 기록")
+    void testRecordWithoutRetry() throws IOException {
+        // Given
+        ClientHttpResponse unavailable = response(HttpStatus.SERVICE_UNAVAILABLE);
+        ClientHttpResponse ok = response(HttpStatus.OK);
+        when(execution.execute(request, BODY)).thenReturn(unavailable, ok);
+
+        // When
+        ClientHttpResponse first = interceptor.intercept(request, BODY, execution);
+        ClientHttpResponse second = interceptor.intercept(request, BODY, execution);
+
+        // Then
+        assertThat(first).isSameAs(unavailable);
+        assertThat(second).isSameAs(ok);
+        verify(execution, times(2)).execute(request, BODY);
+        assertThat(meterRegistry.timer("outbound.http.attempt", "target", "test", "outcome", "503").count()).isEqualTo(1);
+        assertThat(meterRegistry.timer("outbound.http.attempt", "target", "test", "outcome", "200").count()).isEqualTo(1);
+        assertThat(metrics.inFlight()).isZero();
+    }
+
+    @Test
+    @DisplayName("연결 오류는 기록 후 그대로 전파")
+    void testIoErrorPropagates() throws IOException {
+        // Given
+        when(execution.execute(request, BODY)).thenThrow(new ConnectException("refused"));
+
+        // When & Then
+        assertThatThrownBy(() -> interceptor.intercept(request, BODY, execution))
+                .isInstanceOf(ConnectException.class);
+        verify(execution, times(1)).execute(request, BODY);
+        assertThat(meterRegistry.timer("outbound.http.attempt", "target", "test", "outcome", "IO_ERROR").count()).isEqualTo(1);
+        assertThat(metrics.inFlight()).isZero();
+    }
+
+    private static ClientHttpResponse response(HttpStatus status) throws IOException {
+        ClientHttpResponse response = mock(ClientHttpResponse.class);
+        when(response.getStatusCode()).thenReturn(status);
+        return response;
+    }
+}
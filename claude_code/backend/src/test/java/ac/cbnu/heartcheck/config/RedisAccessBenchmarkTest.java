@@ -0,0 +1,139 @@
+package ac.cbnu.heartcheck.config;
+
+import ac.cbnu.heartcheck.service.HotKeyCache;
+import ac.cbnu.heartcheck.service.PlanTierCache.PlanTier;
+import ac.cbnu.heartcheck.util.RedisValueCodec;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.StringRedisConnection;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+import org.springframework.data.redis.serializer.GenericToStringSerializer;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.utility.DockerImageName;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.IntConsumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Redis 접근 계층 벤치마크
+ * 기존 범용 JSON 템플릿과 타입별 템플릿/코덱의 값 크기 및 처리량 비교
+ *
+ * 처리량 측정은 Docker가 필요하므로 REDIS_BENCHMARK=true 환경 변수가 있을 때만 실행한다.
+ *   REDIS_BENCHMARK=true ./gradlew test --tests '*RedisAccessBenchmarkTest'
+ */
+@DisplayName("Redis 접근 계층 벤치마크")
+class RedisAccessBenchmarkTest {
+
+    private static final int ITERATIONS = 20_000;
+    private static final int MULTI_KEY_COUNT = 100;
+
+    private final RedisValueCodec codec = new RedisValueCodec();
+    private final GenericJackson2JsonRedisSerializer jsonSerializer = new GenericJackson2JsonRedisSerializer();
+    private final GenericToStringSerializer<Long> counterSerializer = new GenericToStringSerializer<>(Long.class);
+
+    @Test
+    @DisplayName("값 크기 - 카운터, 세션 토큰, 요금제 등급")
+    void testBytesPerValue() {
+        // Given
+        String token = "eyJhbGciOiJIUzI1NiJ9.eyJzdWIiOiIxIn0.signature";
+        PlanTier tier = PlanTier.premiumTier(5);
+
+        // When
+        int counterJson = jsonSerializer.serialize(3).length;
+        int counterTyped = counterSerializer.serialize(3L).length;
+        int tokenJson = jsonSerializer.serialize(token).length;
+        int tokenTyped = codec.encode(token).length;
+        int tierJson = jsonSerializer.serialize(tier).length;
+        int tierSmile = codec.encode(tier).length;
+
+        // Then
+        System.out.printf("bytes/value  counter json=%d typed=%d | token json=%d typed=%d | plan tier json=%d smile=%d%n",
+                counterJson, counterTyped, tokenJson, tokenTyped, tierJson, tierSmile);
+        assertThat(counterTyped).isLessThanOrEqualTo(counterJson);
+        assertThat(tokenTyped).isLessThan(tokenJson);
+        assertThat(tierSmile).isLessThan(tierJson);
+        assertThat(codec.decode(codec.encode(tier), PlanTier.class)).isEqualTo(tier);
+    }
+
+    @Test
+    @EnabledIfEnvironmentVariable(named = "REDIS_BENCHMARK", matches = "true")
+    @DisplayName("처리량 - 기존 템플릿 대비 ops/sec")
+    void testThroughput() {
+        try (GenericContainer<?> redis = new GenericContainer<>(DockerImageName.parse("redis:7-alpine"))
+                .withExposedPorts(6379)) {
+            redis.start();
+
+            LettuceConnectionFactory factory = new LettuceConnectionFactory(
+                    new RedisStandaloneConfiguration(redis.getHost(), redis.getMappedPort(6379)));
+            factory.afterPropertiesSet();
+            factory.start();
+
+            RedisConfig config = new RedisConfig();
+            RedisTemplate<String, Object> jsonTemplate = config.redisTemplate(factory);
+            RedisTemplate<String, Long> counterTemplate = config.counterRedisTemplate(factory);
+            RedisTemplate<String, byte[]> bytesTemplate = config.bytesRedisTemplate(factory);
+            StringRedisTemplate stringTemplate = new StringRedisTemplate(factory);
+            HotKeyCache hotKeyCache = new HotKeyCache(factory, bytesTemplate, codec,
+                    new SimpleMeterRegistry(), true, 60, 10_000);
+
+            List<String> keys = new ArrayList<>();
+            for (int i = 0; i < MULTI_KEY_COUNT; i++) {
+                keys.add("bench:counter:" + i);
+                counterTemplate.opsForValue().set("bench:counter:" + i, (long) i);
+            }
+            hotKeyCache.put("bench:session", "token-value", Duration.ofMinutes(5));
+            jsonTemplate.opsForValue().set("bench:session:json", "token-value", Duration.ofMinutes(5));
+
+            report("counter INCR+GET (json template)", ITERATIONS, i -> {
+                jsonTemplate.opsForValue().increment("bench:json:counter");
+                Object value = jsonTemplate.opsForValue().get("bench:json:counter");
+                assertThat(value).isInstanceOf(Integer.class);
+            });
+            report("counter INCR+GET (long template)", ITERATIONS, i -> {
+                counterTemplate.opsForValue().increment("bench:long:counter");
+                counterTemplate.opsForValue().get("bench:long:counter");
+            });
+            report("100 counters sequential GET", ITERATIONS / MULTI_KEY_COUNT, i ->
+                    keys.forEach(key -> jsonTemplate.opsForValue().get(key)));
+            report("100 counters MGET", ITERATIONS / MULTI_KEY_COUNT, i ->
+                    counterTemplate.opsForValue().multiGet(keys));
+            report("100 counters pipelined INCR", ITERATIONS / MULTI_KEY_COUNT, i ->
+                    stringTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                        StringRedisConnection stringConnection = (StringRedisConnection) connection;
+                        keys.forEach(stringConnection::incr);
+                        return null;
+                    }));
+            report("session token GET (json template)", ITERATIONS, i ->
+                    jsonTemplate.opsForValue().get("bench:session:json"));
+            report("session token GET (client-side cache)", ITERATIONS, i ->
+                    assertThat(hotKeyCache.get("bench:session", String.class)).isEqualTo("token-value"));
+
+            hotKeyCache.close();
+            factory.destroy();
+        }
+    }
+
+    private void report(String name, int iterations, IntConsumer operation) {
+        // 워밍업
+        for (int i = 0; i < Math.min(1_000, iterations); i++) {
+            operation.accept(i);
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            operation.accept(i);
+        }
+        double seconds = (System.nanoTime() - start) / 1_000_000_000.0;
+        System.out.printf("%-40s %,12.0f ops/sec%n", name, iterations / seconds);
+    }
+}
@@ -98,21 +98,22 @@ class PaymentControllerTest {
     }
 
     @Test
-    @DisplayName("결제 완료 처리")
+    @DisplayName("결제 완료 요청 - 검증 중 결제를 202로 응답")
     @WithMockUser
     void completePayment_Success() throws Exception {
         // Given
+        testPayment.markAsVerifying("TXN123");
         when(paymentService.completePayment(anyLong(), anyString()))
                 .thenReturn(testPayment);
 
         // When & Then
         mockMvc.perform(put("/api/v1/payments/1/complete")
                         .with(csrf())
-                        .param("transactionId", "TXN123")
-                        .contentType(MediaType.APPLICATION_FORM_URLENCODED))
-                .andExpect(status().isOk())
+                        .content("{\"transactionId\":\"TXN123\"}")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isAccepted())
                 .andExpect(jsonPath("$.success").value(true))
-                .andExpect(jsonPath("$.data.status").value("SUCCESS"));
+                .andExpect(jsonPath("$.data.status").value("VERIFYING"));
 
         verify(paymentService, times(1)).completePayment(1L, "TXN123");
     }
@@ -187,4 +188,21 @@ class PaymentControllerTest {
 
         verify(paymentService, times(1)).refundPayment(1L);
     }
+
+    @Test
+    @DisplayName("매출 스냅샷 재구성 (관리자)")
+    @WithMockUser(roles = "ADMIN")
+    void rebuildRevenueSnapshots_Admin() throws Exception {
+        // Given
+        when(paymentService.rebuildRevenueSnapshots(null, null)).thenReturn(3);
+
+        // When & Then
+        mockMvc.perform(post("/api/v1/payments/stats/rebuild")
+                        .with(csrf()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.success").value(true))
+                .andExpect(jsonPath("$.data.snapshotRows").value(3));
+
+        verify(paymentService, times(1)).rebuildRevenueSnapshots(null, null);
+    }
 }
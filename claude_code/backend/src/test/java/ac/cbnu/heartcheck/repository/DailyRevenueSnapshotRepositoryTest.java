@@ -0,0 +1,175 @@
+package ac.cbnu.heartcheck.repository;
+
+import ac.cbnu.heartcheck.entity.CostModel;
+import ac.cbnu.heartcheck.entity.DailyRevenueSnapshot;
+import ac.cbnu.heartcheck.entity.Payment;
+import ac.cbnu.heartcheck.entity.PaymentLedgerEntry;
+import ac.cbnu.heartcheck.entity.PaymentLedgerEntry.EventType;
+import ac.cbnu.heartcheck.entity.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * DailyRevenueSnapshotRepository·PaymentLedgerRepository 네이티브 쿼리 테스트
+ * (ON DUPLICATE KEY UPDATE를 쓰므로 H2를 MySQL 호환 모드로 띄움,
+ * 애플리케이션 클래스의 @EnableRedisHttpSession이 요구하는 연결 팩토리는 가짜로 대신함)
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@DisplayName("DailyRevenueSnapshotRepository 테스트")
+@org.springframework.test.context.TestPropertySource(properties = {
+    "spring.datasource.url=jdbc:h2:mem:revenuedb;MODE=MySQL;DB_CLOSE_DELAY=-1",
+    "spring.datasource.driver-class-name=org.h2.Driver",
+    "spring.flyway.enabled=false",
+    "spring.jpa.hibernate.ddl-auto=create-drop"
+})
+class DailyRevenueSnapshotRepositoryTest {
+
+    private static final LocalDate DAY = LocalDate.of(2024, 6, 15);
+    private static final LocalDateTime NOW = LocalDateTime.of(2024, 6, 16, 9, 0);
+
+    @MockBean
+    private RedisConnectionFactory redisConnectionFactory;
+
+    @Autowired
+    private DailyRevenueSnapshotRepository dailyRevenueSnapshotRepository;
+
+    @Autowired
+    private PaymentLedgerRepository paymentLedgerRepository;
+
+    @Autowired
+    private PaymentRepository paymentRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CostModelRepository costModelRepository;
+
+    private User testUser;
+    private CostModel testCostModel;
+
+    @BeforeEach
+    void setUp() {
+        testUser = userRepository.save(User.builder()
+                .userName("홍길동")
+                .phone("01012345678")
+                .password("password")
+                .userDob("19900101")
+                .role(User.Role.USER)
+                .build());
+
+        testCostModel = costModelRepository.save(CostModel.builder()
+                .type(CostModel.CostType.MONTHLY)
+                .cost(10000)
+                .build());
+    }
+
+    @Test
+    @DisplayName("스냅샷 누적 - 같은 (날짜, 요금제, 스토어) 행에 건수·금액을 더함")
+    void accumulate_UpsertsSameKey() {
+        // When
+        dailyRevenueSnapshotRepository.accumulate(DAY, "MONTHLY", "G", 1, 0, 10000, 0, 10000, NOW);
+        dailyRevenueSnapshotRepository.accumulate(DAY, "MONTHLY", "G", 1, 0, 10000, 0, 10000, NOW);
+        dailyRevenueSnapshotRepository.accumulate(DAY, "MONTHLY", "G", 0, 1, 0, 10000, -10000, NOW);
+        dailyRevenueSnapshotRepository.accumulate(DAY, "MONTHLY", "A", 1, 0, 10000, 0, 10000, NOW);
+
+        // Then
+        List<DailyRevenueSnapshot> snapshots = sortedSnapshots();
+        assertThat(snapshots).hasSize(2);
+        DailyRevenueSnapshot google = snapshots.get(1);
+        assertThat(google.getStoreInfo()).isEqualTo("G");
+        assertThat(google.getPurchaseCount()).isEqualTo(2L);
+        assertThat(google.getRefundCount()).isEqualTo(1L);
+        assertThat(google.getGrossAmount()).isEqualTo(20000L);
+        assertThat(google.getRefundAmount()).isEqualTo(10000L);
+        assertThat(google.getNetAmount()).isEqualTo(10000L);
+        assertThat(dailyRevenueSnapshotRepository.sumNetAmountBetween(DAY, DAY)).isEqualTo(20000L);
+    }
+
+    @Test
+    @DisplayName("원장 이관·재집계 - 완료·환불 결제만 옮기고, 다시 실행해도 같은 행을 넣지 않음")
+    void backfillAndRebuildFromLedger() {
+        // Given
+        payment(Payment.PaymentStatus.SUCCESS, "G", DAY.atTime(10, 0));
+        payment(Payment.PaymentStatus.REFUNDED, "G", DAY.atTime(11, 0));
+        payment(Payment.PaymentStatus.PENDING, "G", DAY.atTime(12, 0));
+        payment(Payment.PaymentStatus.SUCCESS, "A", DAY.plusDays(1).atTime(9, 0));
+
+        // When
+        int purchases = paymentLedgerRepository.backfillPurchases(NOW);
+        int refunds = paymentLedgerRepository.backfillRefunds(NOW);
+        int purchasesAgain = paymentLedgerRepository.backfillPurchases(NOW);
+        int refundsAgain = paymentLedgerRepository.backfillRefunds(NOW);
+        int rebuilt = dailyRevenueSnapshotRepository.rebuildFromLedger(DAY, DAY.plusDays(1), NOW);
+
+        // Then
+        assertThat(purchases).isEqualTo(3);
+        assertThat(refunds).isEqualTo(1);
+        assertThat(purchasesAgain).isZero();
+        assertThat(refundsAgain).isZero();
+        assertThat(paymentLedgerRepository.findAll())
+                .filteredOn(entry -> entry.getEventType() == EventType.REFUND)
+                .extracting(PaymentLedgerEntry::getAmount)
+                .containsExactly(-10000);
+        assertThat(paymentLedgerRepository.findFirstBusinessDate()).contains(DAY);
+        assertThat(paymentLedgerRepository.findLastBusinessDate()).contains(DAY.plusDays(1));
+
+        assertThat(rebuilt).isEqualTo(2);
+        List<DailyRevenueSnapshot> snapshots = sortedSnapshots();
+        assertThat(snapshots.get(0).getSnapshotDate()).isEqualTo(DAY);
+        assertThat(snapshots.get(0).getPurchaseCount()).isEqualTo(2L);
+        assertThat(snapshots.get(0).getRefundCount()).isEqualTo(1L);
+        assertThat(snapshots.get(0).getNetAmount()).isEqualTo(10000L);
+        assertThat(dailyRevenueSnapshotRepository.sumNetAmountBetween(DAY, DAY.plusDays(1))).isEqualTo(20000L);
+        assertThat(dailyRevenueSnapshotRepository.countByPlanType())
+                .singleElement()
+                .satisfies(row -> assertThat(((Number) row[1]).longValue()).isEqualTo(2L));
+    }
+
+    @Test
+    @DisplayName("스냅샷 삭제 - 기간 안의 행만 지움")
+    void deleteBySnapshotDateBetween() {
+        // Given
+        dailyRevenueSnapshotRepository.accumulate(DAY, "MONTHLY", "G", 1, 0, 10000, 0, 10000, NOW);
+        dailyRevenueSnapshotRepository.accumulate(DAY.plusDays(1), "MONTHLY", "G", 1, 0, 10000, 0, 10000, NOW);
+
+        // When
+        int deleted = dailyRevenueSnapshotRepository.deleteBySnapshotDateBetween(DAY, DAY);
+
+        // Then
+        assertThat(deleted).isEqualTo(1);
+        assertThat(sortedSnapshots()).extracting(DailyRevenueSnapshot::getSnapshotDate)
+                .containsExactly(DAY.plusDays(1));
+    }
+
+    private void payment(Payment.PaymentStatus status, String storeInfo, LocalDateTime payTime) {
+        paymentRepository.saveAndFlush(Payment.builder()
+                .user(testUser)
+                .costModel(testCostModel)
+                .status(status)
+                .storeInfo(storeInfo)
+                .payTime(payTime)
+                .build());
+    }
+
+    private List<DailyRevenueSnapshot> sortedSnapshots() {
+        return dailyRevenueSnapshotRepository.findAll().stream()
+                .sorted(Comparator.comparing(DailyRevenueSnapshot::getSnapshotDate)
+                        .thenComparing(DailyRevenueSnapshot::getStoreInfo))
+                .toList();
+    }
+}
@@ -11,7 +11,6 @@ import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 
-import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
@@ -159,62 +158,9 @@ class PaymentRepositoryTest {
         assertThat(result).hasSize(1);
     }
 
-    @Test
-    @DisplayName("특정 기간 매출 계산")
-    void calculateRevenueByDateRange_Success() {
-        // Given
-        LocalDateTime start = LocalDateTime.now().minusDays(30);
-        LocalDateTime end = LocalDateTime.now();
-
-        Payment payment1 = Payment.builder()
-                .user(testUser)
-                .costModel(testCostModel)
-                .status(Payment.PaymentStatus.SUCCESS)
-                .storeInfo("G")
-                .payTime(start.plusDays(5))
-                .build();
-        paymentRepository.save(payment1);
-
-        Payment payment2 = Payment.builder()
-                .user(testUser)
-                .costModel(testCostModel)
-                .status(Payment.PaymentStatus.SUCCESS)
-                .storeInfo("G")
-                .payTime(start.plusDays(10))
-                .build();
-        paymentRepository.save(payment2);
-
-        // When
-        BigDecimal revenue = paymentRepository.calculateRevenueByDateRange(start, end);
-
-        // Then
-        assertThat(revenue).isNotNull();
-        assertThat(revenue.intValue()).isEqualTo(20000); // 10000 * 2
-    }
-
-    @Test
-    @DisplayName("요금제별 결제 통계")
-    void countByPlanType_Success() {
-        // Given
-        Payment payment = Payment.builder()
-                .user(testUser)
-                .costModel(testCostModel)
-                .status(Payment.PaymentStatus.SUCCESS)
-                .storeInfo("G")
-                .payTime(LocalDateTime.now())
-                .build();
-        paymentRepository.save(payment);
-
-        // When
-        List<Object[]> result = paymentRepository.countByPlanType();
-
-        // Then
-        assertThat(result).isNotEmpty();
-    }
-
     @Test
     @DisplayName("결제 상태로 결제 목록 조회")
-    void findByPaymentStatus_Success() {
+    void findByStatus_Success() {
         // Given
         Payment successPayment = Payment.builder()
                 .user(testUser)
@@ -235,7 +181,7 @@ class PaymentRepositoryTest {
         paymentRepository.save(pendingPayment);
 
         // When
-        List<Payment> result = paymentRepository.findByPaymentStatus(Payment.PaymentStatus.SUCCESS);
+        List<Payment> result = paymentRepository.findByStatus(Payment.PaymentStatus.SUCCESS);
 
         // Then
         assertThat(result).hasSize(1);
@@ -0,0 +1,91 @@
+package ac.cbnu.heartcheck.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * 클러스터 리스 잠금 테스트
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("클러스터 리스 잠금 테스트")
+class ClusterLeaseLockTest {
+
+    private static final Duration LEASE = Duration.ofMinutes(5);
+
+    @Mock
+    private StringRedisTemplate redisTemplate;
+
+    @Mock
+    private ValueOperations<String, String> valueOperations;
+
+    private ClusterLeaseLock lock;
+
+    @BeforeEach
+    void setUp() {
+        lock = new ClusterLeaseLock(redisTemplate, "node-a");
+    }
+
+    @Test
+    @DisplayName("키가 없을 때만 획득하고 연장·해제는 같은 소유자로 요청")
+    void testAcquireRenewRelease() {
+        // Given
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        ArgumentCaptor<String> owner = ArgumentCaptor.forClass(String.class);
+        when(valueOperations.setIfAbsent(eq("lock:job"), owner.capture(), eq(LEASE))).thenReturn(true, false);
+        when(redisTemplate.execute(any(RedisScript.class), eq(List.of("lock:job")), anyString(), eq("300000")))
+                .thenReturn(1L);
+        when(redisTemplate.execute(any(RedisScript.class), eq(List.of("lock:job")), anyString())).thenReturn(1L);
+
+        // When & Then
+        assertThat(lock.tryAcquire("job", LEASE)).isTrue();
+        assertThat(lock.tryAcquire("job", LEASE)).isFalse();
+        assertThat(lock.renew("job", LEASE)).isTrue();
+        lock.release("job");
+
+        assertThat(owner.getValue()).startsWith("node-a:");
+        verify(redisTemplate).execute(any(RedisScript.class), eq(List.of("lock:job")), eq(owner.getValue()), eq("300000"));
+        verify(redisTemplate).execute(any(RedisScript.class), eq(List.of("lock:job")), eq(owner.getValue()));
+    }
+
+    @Test
+    @DisplayName("다른 노드가 가져간 리스는 연장되지 않음")
+    void testRenewLostLease() {
+        // Given
+        when(redisTemplate.execute(any(RedisScript.class), eq(List.of("lock:job")), anyString(), anyString()))
+                .thenReturn(0L);
+
+        // When & Then
+        assertThat(lock.renew("job", LEASE)).isFalse();
+    }
+
+    @Test
+    @DisplayName("Redis 장애 시 잠금을 얻지 못한 것으로 처리")
+    void testAcquireFailsClosedWhenRedisDown() {
+        // Given
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        when(valueOperations.setIfAbsent(anyString(), anyString(), any(Duration.class)))
+                .thenThrow(new RedisConnectionFailureException("down"));
+
+        // When & Then
+        assertThat(lock.tryAcquire("job", LEASE)).isFalse();
+    }
+}
@@ -0,0 +1,89 @@
+package ac.cbnu.heartcheck.service;
+
+import ac.cbnu.heartcheck.service.DegradedQuotaLimiter.PendingDelta;
+import ac.cbnu.heartcheck.service.DegradedQuotaLimiter.PendingIncrement;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Redis 장애 시 노드 로컬 사용량 제한기 테스트
+ */
+@DisplayName("노드 로컬 사용량 제한기 테스트")
+class DegradedQuotaLimiterTest {
+
+    private final PendingIncrement increment = new PendingIncrement(1L, LocalDate.of(2024, 1, 1),
+            "user:1:daily_usage:2024-01-01", 1704153600L, "daily_usage:1:2024-01-01", 1704160800L, "1:2024-01-01:5");
+
+    @Test
+    @DisplayName("남은 허용량을 노드 수로 나누어 배분 (올림)")
+    void testAllowanceSplitAcrossNodes() {
+        // Given: 5회 중 2회 사용 관측, 노드 2개 → 노드당 2회
+        DegradedQuotaLimiter limiter = new DegradedQuotaLimiter(new SimpleMeterRegistry(), membership(2), 1000);
+        limiter.remember(increment.limitKey(), 2);
+
+        // When & Then
+        assertThat(limiter.tryAcquire(increment, 5).allowed()).isTrue();
+        assertThat(limiter.tryAcquire(increment, 5).allowed()).isTrue();
+        assertThat(limiter.tryAcquire(increment, 5).allowed()).isFalse();
+        assertThat(limiter.usage(increment.limitKey())).isEqualTo(4);
+    }
+
+    @Test
+    @DisplayName("노드 수를 관측한 적이 없으면 거절 (fail closed)")
+    void testUnknownMembershipFailsClosed() {
+        // Given
+        DegradedQuotaLimiter limiter = new DegradedQuotaLimiter(new SimpleMeterRegistry(), membership(0), 1000);
+
+        // When & Then
+        assertThat(limiter.tryAcquire(increment, 5).allowed()).isFalse();
+        assertThat(limiter.hasPending()).isFalse();
+    }
+
+    @Test
+    @DisplayName("제한 없음(-1) - 항상 허용")
+    void testUnlimited() {
+        // Given
+        DegradedQuotaLimiter limiter = new DegradedQuotaLimiter(new SimpleMeterRegistry(), membership(3), 1000);
+
+        // When & Then
+        for (int i = 0; i < 10; i++) {
+            assertThat(limiter.tryAcquire(increment, -1).allowed()).isTrue();
+        }
+    }
+
+    @Test
+    @DisplayName("누적분 꺼내기/복원 - 같은 키는 하나로 합산")
+    void testDrainAndRestore() {
+        // Given
+        DegradedQuotaLimiter limiter = new DegradedQuotaLimiter(new SimpleMeterRegistry(), membership(1), 1000);
+        limiter.tryAcquire(increment, 5);
+        limiter.tryAcquire(increment, 5);
+
+        // When
+        List<PendingDelta> drained = limiter.drain();
+
+        // Then
+        assertThat(drained).containsExactly(new PendingDelta(increment, 2));
+        assertThat(limiter.hasPending()).isFalse();
+
+        // When: 반영 실패 시 복원
+        limiter.restore(drained);
+
+        // Then
+        assertThat(limiter.drain()).containsExactly(new PendingDelta(increment, 2));
+    }
+
+    private static ClusterMembership membership(int liveNodes) {
+        ClusterMembership membership = mock(ClusterMembership.class);
+        when(membership.liveNodeCount()).thenReturn(liveNodes);
+        return membership;
+    }
+}
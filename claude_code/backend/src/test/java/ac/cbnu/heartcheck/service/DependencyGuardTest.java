@@ -0,0 +1,116 @@
+package ac.cbnu.heartcheck.service;
+
+import ac.cbnu.heartcheck.exception.DependencyUnavailableException;
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * 외부 의존성 호출 격리 테스트
+ */
+@DisplayName("외부 의존성 호출 격리 테스트")
+class DependencyGuardTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private DependencyGuard dependencyGuard;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        CircuitBreakerRegistry circuitBreakerRegistry = CircuitBreakerRegistry.of(CircuitBreakerConfig.custom()
+                .slidingWindowSize(4)
+                .minimumNumberOfCalls(4)
+                .failureRateThreshold(50)
+                .waitDurationInOpenState(Duration.ofSeconds(30))
+                .build());
+        BulkheadRegistry bulkheadRegistry = BulkheadRegistry.of(BulkheadConfig.custom()
+                .maxConcurrentCalls(1)
+                .maxWaitDuration(Duration.ZERO)
+                .build());
+        dependencyGuard = new DependencyGuard(circuitBreakerRegistry, bulkheadRegistry, meterRegistry);
+    }
+
+    @Test
+    @DisplayName("정상 호출은 결과를 그대로 반환")
+    void testCallPassesThrough() {
+        // When
+        String result = dependencyGuard.call("openai", () -> "token");
+
+        // Then
+        assertThat(result).isEqualTo("token");
+        assertThat(dependencyGuard.state("openai")).isEqualTo(CircuitBreaker.State.CLOSED);
+    }
+
+    @Test
+    @DisplayName("실패율 초과로 브레이커가 열리면 호출 없이 즉시 거절하고 대기 시간을 Retry-After로 전달")
+    void testOpenCircuitRejectsImmediately() {
+        // Given
+        for (int i = 0; i < 4; i++) {
+            assertThatThrownBy(() -> dependencyGuard.call("openai", () -> {
+                throw new IllegalStateException("upstream 500");
+            })).isInstanceOf(IllegalStateException.class);
+        }
+
+        // When & Then
+        assertThat(dependencyGuard.state("openai")).isEqualTo(CircuitBreaker.State.OPEN);
+        assertThatThrownBy(() -> dependencyGuard.call("openai", () -> "token"))
+                .isInstanceOfSatisfying(DependencyUnavailableException.class, e -> {
+                    assertThat(e.getDependency()).isEqualTo("openai");
+                    assertThat(e.getRetryAfterSeconds()).isEqualTo(30);
+                });
+        assertThat(meterRegistry.counter("dependency.rejected",
+                "dependency", "openai", "reason", "circuit_open").count()).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("동시 호출 한도가 차면 기다리지 않고 거절하며 다른 의존성에는 영향 없음")
+    void testBulkheadFullRejectsWithoutWaiting() throws Exception {
+        // Given
+        CountDownLatch entered = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<String> slowCall = CompletableFuture.supplyAsync(() ->
+                dependencyGuard.call("google", () -> {
+                    entered.countDown();
+                    await(release);
+                    return "verified";
+                }));
+        assertThat(entered.await(5, TimeUnit.SECONDS)).isTrue();
+
+        try {
+            // When & Then
+            assertThatThrownBy(() -> dependencyGuard.call("google", () -> "verified"))
+                    .isInstanceOfSatisfying(DependencyUnavailableException.class,
+                            e -> assertThat(e.getRetryAfterSeconds()).isEqualTo(1));
+            assertThat(dependencyGuard.call("openai", () -> "token")).isEqualTo("token");
+            assertThat(meterRegistry.counter("dependency.rejected",
+                    "dependency", "google", "reason", "bulkhead").count()).isEqualTo(1.0);
+            // 한도 초과 거절은 브레이커 실패로 세지 않음
+            assertThat(dependencyGuard.state("google")).isEqualTo(CircuitBreaker.State.CLOSED);
+        } finally {
+            release.countDown();
+        }
+        assertThat(slowCall.get(5, TimeUnit.SECONDS)).isEqualTo("verified");
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
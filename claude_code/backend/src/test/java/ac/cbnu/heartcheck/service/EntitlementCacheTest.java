@@ -0,0 +1,198 @@
+package ac.cbnu.heartcheck.service;
+
+import ac.cbnu.heartcheck.entity.CostModel;
+import ac.cbnu.heartcheck.entity.Subscription;
+import ac.cbnu.heartcheck.entity.User;
+import ac.cbnu.heartcheck.repository.SubscriptionRepository;
+import ac.cbnu.heartcheck.repository.UserRepository;
+import ac.cbnu.heartcheck.service.EntitlementCache.Entitlement;
+import ac.cbnu.heartcheck.service.SubscriptionService.SubscriptionChangedEvent;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.lettuce.core.RedisCommandTimeoutException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * 구독 권한 Near-Cache 테스트
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("구독 권한 Near-Cache 테스트")
+class EntitlementCacheTest {
+
+    @Mock
+    private SubscriptionRepository subscriptionRepository;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private HotKeyCache hotKeyCache;
+
+    private CircuitBreaker circuitBreaker;
+    private EntitlementCache entitlementCache;
+
+    @BeforeEach
+    void setUp() {
+        circuitBreaker = CircuitBreaker.ofDefaults("test");
+        entitlementCache = new EntitlementCache(subscriptionRepository, userRepository, hotKeyCache, circuitBreaker, 300, 1000);
+    }
+
+    @Test
+    @DisplayName("캐시 적중 시 DB 조회 없음")
+    void testCacheHit() {
+        // Given
+        Entitlement cached = new Entitlement(5L, Subscription.SubscriptionStatus.ACTIVE,
+                CostModel.CostType.MONTHLY, 10, LocalDateTime.now().plusDays(3), false);
+        when(hotKeyCache.get("user:1:entitlement", Entitlement.class)).thenReturn(cached);
+
+        // When
+        Entitlement result = entitlementCache.get(1L);
+
+        // Then
+        assertThat(result).isEqualTo(cached);
+        verify(subscriptionRepository, never()).findActiveWithCostModelByUserId(any());
+    }
+
+    @Test
+    @DisplayName("구독 없는 사용자도 캐시 - 다음 확인부터 DB 조회 없음")
+    void testCachesAbsence() {
+        // Given
+        when(subscriptionRepository.findActiveWithCostModelByUserId(1L)).thenReturn(Optional.empty());
+
+        // When
+        Entitlement result = entitlementCache.get(1L);
+
+        // Then
+        assertThat(result.isActive()).isFalse();
+        verify(hotKeyCache).putIfVersion("user:1:entitlement", "user:1:entitlement:version", 0L,
+                Entitlement.none(), Duration.ofSeconds(300));
+    }
+
+    @Test
+    @DisplayName("관리자/의사는 구독이 없어도 무제한으로 캐시")
+    void testCachesUnlimitedRole() {
+        // Given
+        when(userRepository.findById(1L)).thenReturn(Optional.of(User.builder().userId(1L).role(User.Role.DOCTOR).build()));
+        when(subscriptionRepository.findActiveWithCostModelByUserId(1L)).thenReturn(Optional.empty());
+
+        // When
+        Entitlement result = entitlementCache.get(1L);
+
+        // Then
+        assertThat(result.unlimited()).isTrue();
+        assertThat(result.isActive()).isFalse();
+        verify(hotKeyCache).putIfVersion("user:1:entitlement", "user:1:entitlement:version", 0L,
+                Entitlement.none().withUnlimited(true), Duration.ofSeconds(300));
+    }
+
+    @Test
+    @DisplayName("구독 종료 시각이 TTL보다 빠르면 종료 시각에 만료")
+    void testExpiresAtToDate() {
+        // Given
+        Subscription subscription = Subscription.builder()
+                .id(5L)
+                .costModel(CostModel.builder().costId((short) 1).type(CostModel.CostType.MONTHLY).build())
+                .status(Subscription.SubscriptionStatus.ACTIVE)
+                .toDate(LocalDateTime.now().plusSeconds(60))
+                .build();
+        when(subscriptionRepository.findActiveWithCostModelByUserId(1L)).thenReturn(Optional.of(subscription));
+
+        // When
+        Entitlement result = entitlementCache.get(1L);
+
+        // Then
+        assertThat(result.subscriptionId()).isEqualTo(5L);
+        assertThat(result.planType()).isEqualTo(CostModel.CostType.MONTHLY);
+        assertThat(result.isValid(LocalDateTime.now())).isTrue();
+        ArgumentCaptor<Duration> ttl = ArgumentCaptor.forClass(Duration.class);
+        verify(hotKeyCache).putIfVersion(eq("user:1:entitlement"), eq("user:1:entitlement:version"), eq(0L),
+                eq(result), ttl.capture());
+        assertThat(ttl.getValue()).isLessThanOrEqualTo(Duration.ofSeconds(60));
+    }
+
+    @Test
+    @DisplayName("구독 변경 이벤트 수신 시 캐시 키 삭제")
+    void testEvictOnSubscriptionChanged() {
+        // When
+        entitlementCache.onSubscriptionChanged(
+                new SubscriptionChangedEvent(1L, 5L, Subscription.SubscriptionStatus.CANCELED));
+
+        // Then
+        verify(hotKeyCache).evictVersioned("user:1:entitlement:version", Duration.ofSeconds(300), "user:1:entitlement");
+    }
+
+    @Test
+    @DisplayName("DB 조회 전에 읽은 버전으로만 저장 - 조회 중 구독이 바뀌어 버전이 올랐으면 저장되지 않음")
+    void testPutGuardedByVersionReadBeforeLoad() {
+        // Given
+        when(hotKeyCache.version("user:1:entitlement:version")).thenReturn(7L);
+        when(subscriptionRepository.findActiveWithCostModelByUserId(1L)).thenReturn(Optional.empty());
+        when(hotKeyCache.putIfVersion("user:1:entitlement", "user:1:entitlement:version", 7L,
+                Entitlement.none(), Duration.ofSeconds(300))).thenReturn(false);
+
+        // When
+        Entitlement result = entitlementCache.get(1L);
+
+        // Then
+        assertThat(result).isEqualTo(Entitlement.none());
+        InOrder order = inOrder(hotKeyCache, subscriptionRepository);
+        order.verify(hotKeyCache).version("user:1:entitlement:version");
+        order.verify(subscriptionRepository).findActiveWithCostModelByUserId(1L);
+        order.verify(hotKeyCache).putIfVersion("user:1:entitlement", "user:1:entitlement:version", 7L,
+                Entitlement.none(), Duration.ofSeconds(300));
+    }
+
+    @Test
+    @DisplayName("Redis 장애 중에는 노드 메모리 보조 캐시 사용 (사용자당 DB 1회)")
+    void testDegradedMode() {
+        // Given
+        circuitBreaker.transitionToOpenState();
+        when(subscriptionRepository.findActiveWithCostModelByUserId(1L)).thenReturn(Optional.empty());
+
+        // When
+        entitlementCache.get(1L);
+        entitlementCache.get(1L);
+
+        // Then
+        verify(subscriptionRepository, times(1)).findActiveWithCostModelByUserId(1L);
+        verify(hotKeyCache, never()).get(any(), any());
+    }
+
+    @Test
+    @DisplayName("클라이언트 측 캐싱 연결이 RedisException을 던지면 노드 메모리 보조 캐시로 응답")
+    void testFrontendRedisExceptionFallsBack() {
+        // Given
+        when(hotKeyCache.get("user:1:entitlement", Entitlement.class))
+                .thenThrow(new RedisCommandTimeoutException("Command timed out after 1 second(s)"));
+        when(subscriptionRepository.findActiveWithCostModelByUserId(1L)).thenReturn(Optional.empty());
+
+        // When
+        entitlementCache.get(1L);
+        Entitlement result = entitlementCache.get(1L);
+
+        // Then
+        assertThat(result).isEqualTo(Entitlement.none());
+        verify(subscriptionRepository, times(1)).findActiveWithCostModelByUserId(1L);
+        verify(hotKeyCache, never()).putIfVersion(any(), any(), anyLong(), any(), any());
+    }
+}
@@ -0,0 +1,118 @@
+package ac.cbnu.heartcheck.service;
+
+import ac.cbnu.heartcheck.service.EphemeralTokenPool.MintedToken;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 임시 토큰 풀 테스트
+ */
+@DisplayName("임시 토큰 풀 테스트")
+class EphemeralTokenPoolTest {
+
+    private final Instant now = Instant.parse("2024-01-01T00:00:00Z");
+    private TestPool pool;
+
+    @AfterEach
+    void tearDown() {
+        if (pool != null) {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    @DisplayName("풀이 비어 있으면 즉시 발급")
+    void testTakeMintsOnDemandWhenEmpty() {
+        // Given
+        pool = new TestPool(0, Duration.ofSeconds(60));
+
+        // When
+        MintedToken token = pool.take();
+
+        // Then
+        assertThat(token.value()).isEqualTo("ek_1");
+        assertThat(pool.minted.get()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("최소 크기만큼 백그라운드 보충 후 준비된 토큰 사용")
+    void testTakeUsesPreMintedToken() throws InterruptedException {
+        // Given
+        pool = new TestPool(2, Duration.ofSeconds(60));
+        pool.tick();
+        waitForSize(2);
+
+        // When
+        MintedToken token = pool.take();
+
+        // Then: 준비된 토큰을 꺼내고 빈 자리는 백그라운드에서 다시 채움
+        assertThat(token.value()).isIn("ek_1", "ek_2");
+        waitForSize(2);
+        assertThat(pool.minted.get()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("만료 임박 토큰은 버리고 새로 발급")
+    void testExpiringTokenDiscarded() throws InterruptedException {
+        // Given: 수명 5초 < 안전 여유 10초
+        pool = new TestPool(1, Duration.ofSeconds(5));
+        pool.tick();
+        waitForSize(1);
+
+        // When
+        MintedToken token = pool.take();
+
+        // Then: 풀에 토큰이 있어도 유효 시간이 부족하면 사용하지 않음
+        assertThat(token.value()).isNotEqualTo("ek_1");
+    }
+
+    @Test
+    @DisplayName("세션 시작률이 높으면 목표 크기 증가")
+    void testTargetFollowsStartRate() {
+        // Given
+        pool = new TestPool(1, Duration.ofSeconds(60));
+
+        // When
+        for (int i = 0; i < 200; i++) {
+            pool.take();
+        }
+        pool.tick();
+
+        // Then
+        assertThat(pool.targetSize()).isGreaterThan(1).isLessThanOrEqualTo(20);
+    }
+
+    private void waitForSize(int expected) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 2000;
+        while (pool.size() != expected && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(pool.size()).isEqualTo(expected);
+    }
+
+    private final class TestPool extends EphemeralTokenPool {
+        private final AtomicInteger minted = new AtomicInteger();
+        private final Duration lifetime;
+
+        private TestPool(int minSize, Duration lifetime) {
+            super("test", new SimpleMeterRegistry(), minSize, 20, Duration.ofSeconds(10),
+                    Duration.ofMillis(1000), 2, Clock.fixed(now, ZoneOffset.UTC));
+            this.lifetime = lifetime;
+        }
+
+        @Override
+        protected MintedToken mint() {
+            return new MintedToken("ek_" + minted.incrementAndGet(), now.plus(lifetime));
+        }
+    }
+}
@@ -0,0 +1,222 @@
+package ac.cbnu.heartcheck.service;
+
+import ac.cbnu.heartcheck.entity.Notification;
+import ac.cbnu.heartcheck.entity.NotificationBroadcast;
+import ac.cbnu.heartcheck.entity.NotificationBroadcast.Audience;
+import ac.cbnu.heartcheck.entity.NotificationBroadcast.BroadcastStatus;
+import ac.cbnu.heartcheck.exception.ResourceNotFoundException;
+import ac.cbnu.heartcheck.repository.NotificationBroadcastJdbcRepository;
+import ac.cbnu.heartcheck.repository.NotificationBroadcastJdbcRepository.Chunk;
+import ac.cbnu.heartcheck.repository.NotificationBroadcastRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * 일괄 알림 발송 서비스 테스트
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("일괄 알림 발송 서비스 테스트")
+class NotificationBroadcastServiceTest {
+
+    private static final ZoneId ZONE = ZoneId.of("Asia/Seoul");
+    private static final Clock CLOCK = Clock.fixed(Instant.parse("2024-06-01T00:00:00Z"), ZONE);
+    private static final LocalDateTime NOW = LocalDateTime.now(CLOCK);
+
+    @Mock
+    private NotificationBroadcastRepository notificationBroadcastRepository;
+
+    @Mock
+    private NotificationBroadcastJdbcRepository notificationBroadcastJdbcRepository;
+
+    @Mock
+    private UnreadNotificationCounter unreadNotificationCounter;
+
+    @Mock
+    private NotificationPushService notificationPushService;
+
+    private SimpleMeterRegistry meterRegistry;
+    private NotificationBroadcastService broadcastService;
+    private NotificationBroadcast broadcast;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        broadcastService = new NotificationBroadcastService(notificationBroadcastRepository,
+                notificationBroadcastJdbcRepository, unreadNotificationCounter, notificationPushService,
+                meterRegistry, 2, Duration.ofMinutes(1), CLOCK);
+        broadcast = NotificationBroadcast.builder()
+                .id(10L)
+                .type(Notification.NotificationType.SYSTEM)
+                .title("서비스 점검 안내")
+                .message("6월 2일 새벽 점검이 있습니다")
+                .audience(Audience.PUSH_ENABLED)
+                .status(BroadcastStatus.RUNNING)
+                .build();
+    }
+
+    @AfterEach
+    void tearDown() {
+        broadcastService.shutdown();
+    }
+
+    @Test
+    @DisplayName("작업 생성 - 우선순위가 없으면 NORMAL로 PENDING 저장")
+    void testCreateBroadcast() {
+        // Given
+        when(notificationBroadcastRepository.save(any(NotificationBroadcast.class)))
+                .thenAnswer(invocation -> invocation.getArgument(0));
+
+        // When
+        NotificationBroadcast created = broadcastService.createBroadcast(Notification.NotificationType.SYSTEM,
+                "제목", "메시지", null, null, Audience.MARKETING);
+
+        // Then
+        assertThat(created.getStatus()).isEqualTo(BroadcastStatus.PENDING);
+        assertThat(created.getPriority()).isEqualTo(Notification.Priority.NORMAL.getLevel());
+        assertThat(created.getAudience()).isEqualTo(Audience.MARKETING);
+        assertThat(created.getLastUserId()).isZero();
+    }
+
+    @Test
+    @DisplayName("발송 - 마지막 청크(COMPLETED)까지 청크마다 카운터 조정과 푸시")
+    void testRunUntilCompleted() {
+        // Given
+        when(notificationBroadcastRepository.findById(10L)).thenReturn(Optional.of(broadcast));
+        when(notificationBroadcastJdbcRepository.sendChunk(broadcast, NOW, 2))
+                .thenReturn(new Chunk(List.of(1L, 2L), BroadcastStatus.RUNNING),
+                        new Chunk(List.of(5L), BroadcastStatus.COMPLETED));
+
+        // When
+        long sent = broadcastService.run(10L);
+
+        // Then
+        assertThat(sent).isEqualTo(3);
+        verify(notificationBroadcastJdbcRepository, times(2)).sendChunk(broadcast, NOW, 2);
+        verify(unreadNotificationCounter).adjustAll(Map.of(1L, 1L, 2L, 1L));
+        verify(unreadNotificationCounter).adjustAll(Map.of(5L, 1L));
+        verify(notificationPushService).broadcastDelivered(broadcast, List.of(1L, 2L), NOW);
+        verify(notificationPushService).broadcastDelivered(broadcast, List.of(5L), NOW);
+        assertThat(meterRegistry.counter("notification.broadcast.sent").count()).isEqualTo(3.0);
+        assertThat(meterRegistry.timer("notification.broadcast.chunk.duration").count()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("발송 - 취소되면 다음 청크에서 빈 결과로 멈춤")
+    void testRunStopsWhenCancelled() {
+        // Given
+        when(notificationBroadcastRepository.findById(10L)).thenReturn(Optional.of(broadcast));
+        when(notificationBroadcastJdbcRepository.sendChunk(broadcast, NOW, 2))
+                .thenReturn(new Chunk(List.of(1L, 2L), BroadcastStatus.RUNNING),
+                        new Chunk(List.of(), BroadcastStatus.CANCELLED));
+
+        // When
+        long sent = broadcastService.run(10L);
+
+        // Then
+        assertThat(sent).isEqualTo(2);
+        verify(unreadNotificationCounter, times(1)).adjustAll(any());
+        verify(notificationPushService, times(1)).broadcastDelivered(any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("발송 - 청크 실패 시 FAILED로 전이하고 사유 기록")
+    void testRunMarksFailed() {
+        // Given
+        when(notificationBroadcastRepository.findById(10L)).thenReturn(Optional.of(broadcast));
+        when(notificationBroadcastJdbcRepository.sendChunk(broadcast, NOW, 2))
+                .thenReturn(new Chunk(List.of(1L, 2L), BroadcastStatus.RUNNING))
+                .thenThrow(new IllegalStateException("connection reset"));
+
+        // When
+        long sent = broadcastService.run(10L);
+
+        // Then
+        assertThat(sent).isEqualTo(2);
+        verify(notificationBroadcastJdbcRepository).transition(10L, BroadcastStatus.FAILED, "connection reset",
+                BroadcastStatus.RUNNING);
+    }
+
+    @Test
+    @DisplayName("폴링 - 점유할 작업이 없으면 아무것도 하지 않음")
+    void testPollNothingClaimable() {
+        // Given
+        when(notificationBroadcastJdbcRepository.findClaimable(NOW.minusMinutes(1))).thenReturn(Optional.empty());
+
+        // When
+        broadcastService.poll();
+
+        // Then
+        verify(notificationBroadcastJdbcRepository, never()).claim(any(Long.class), any(), any());
+        verify(notificationBroadcastJdbcRepository, never()).sendChunk(any(), any(), any(Integer.class));
+    }
+
+    @Test
+    @DisplayName("폴링 - 다른 노드가 먼저 점유하면 발송하지 않음")
+    void testPollLostClaim() {
+        // Given
+        when(notificationBroadcastJdbcRepository.findClaimable(NOW.minusMinutes(1))).thenReturn(Optional.of(10L));
+        when(notificationBroadcastJdbcRepository.claim(10L, NOW, NOW.minusMinutes(1))).thenReturn(false);
+
+        // When
+        broadcastService.poll();
+        broadcastService.poll();
+
+        // Then
+        verify(notificationBroadcastJdbcRepository, times(2)).claim(10L, NOW, NOW.minusMinutes(1));
+        verify(notificationBroadcastJdbcRepository, never()).sendChunk(any(), any(), any(Integer.class));
+    }
+
+    @Test
+    @DisplayName("취소·재개 - 허용된 상태에서만 전이")
+    void testCancelAndResume() {
+        // Given
+        when(notificationBroadcastRepository.findById(10L)).thenReturn(Optional.of(broadcast));
+        when(notificationBroadcastJdbcRepository.transition(10L, BroadcastStatus.CANCELLED, null,
+                BroadcastStatus.PENDING, BroadcastStatus.RUNNING)).thenReturn(true);
+        when(notificationBroadcastJdbcRepository.transition(10L, BroadcastStatus.PENDING, null,
+                BroadcastStatus.CANCELLED, BroadcastStatus.FAILED)).thenReturn(true);
+
+        // When & Then
+        assertThat(broadcastService.cancel(10L)).isTrue();
+        assertThat(broadcastService.resume(10L)).isTrue();
+    }
+
+    @Test
+    @DisplayName("없는 작업 조회 시 예외")
+    void testGetBroadcastNotFound() {
+        // Given
+        when(notificationBroadcastRepository.findById(99L)).thenReturn(Optional.empty());
+
+        // When & Then
+        assertThatThrownBy(() -> broadcastService.cancel(99L))
+                .isInstanceOf(ResourceNotFoundException.class);
+        verify(notificationBroadcastJdbcRepository, never())
+                .transition(eq(99L), any(), anyString(), any(BroadcastStatus[].class));
+    }
+}
@@ -0,0 +1,154 @@
+package ac.cbnu.heartcheck.service;
+
+import ac.cbnu.heartcheck.entity.DeviceToken.Provider;
+import ac.cbnu.heartcheck.entity.NotificationDelivery.DeliveryStatus;
+import ac.cbnu.heartcheck.repository.NotificationDeliveryJdbcRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+
+import java.net.http.HttpClient;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 푸시 전달 작업자 부하 테스트 (로컬 가짜 게이트웨이 + 메모리 대기열, 외부 호출 없음)
+ *
+ * 실행: ./gradlew pushDeliveryLoadTest -PpushDeliveries=20000 [-PpushFailureRate=0.1] [-PpushLatencyMs=20]
+ */
+@EnabledIfEnvironmentVariable(named = "PUSH_DELIVERY_LOAD", matches = "\\d+")
+@DisplayName("푸시 전달 작업자 부하 테스트")
+class NotificationDeliveryLoadTest {
+
+    @Test
+    @DisplayName("대량 전달 - 처리량, 재시도 횟수, 등록부터 수락까지 지연")
+    void testDeliveryThroughput() {
+        // Given
+        int deliveries = Integer.parseInt(System.getenv("PUSH_DELIVERY_LOAD"));
+        double failureRate = Double.parseDouble(System.getenv().getOrDefault("PUSH_DELIVERY_FAILURE_RATE", "0.1"));
+        long latencyMs = Long.parseLong(System.getenv().getOrDefault("PUSH_DELIVERY_LATENCY_MS", "20"));
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        InMemoryQueue queue = new InMemoryQueue(deliveries);
+
+        try (StubPushGateway.Server gateway = StubPushGateway.start(
+                new StubPushGateway.Behavior(Duration.ofMillis(latencyMs), 0, failureRate))) {
+            HttpClient httpClient = HttpClient.newBuilder().version(HttpClient.Version.HTTP_2).build();
+            PushGatewayClient client = new PushGatewayClient(httpClient, new ObjectMapper(), meterRegistry,
+                    gateway.url(), "heart", "", gateway.url(), "ac.cbnu.heartcheck", "", 10000, 100);
+            NotificationDeliveryWorker worker = new NotificationDeliveryWorker(queue, client, meterRegistry,
+                    500, 20, 10, Duration.ofMinutes(1), Duration.ofMillis(10), Duration.ofMillis(200),
+                    Clock.systemDefaultZone());
+
+            // When
+            long startNanos = System.nanoTime();
+            long deadline = startNanos + TimeUnit.MINUTES.toNanos(5);
+            while (queue.pending() > 0 && System.nanoTime() < deadline) {
+                if (worker.drain() == 0) {
+                    Thread.onSpinWait();
+                }
+            }
+            double seconds = (System.nanoTime() - startNanos) / 1e9;
+
+            // Then
+            Timer latency = meterRegistry.find("notification.delivery.latency").timers().stream()
+                    .reduce((a, b) -> a.count() > b.count() ? a : b).orElseThrow();
+            System.out.printf("push deliveries=%d in %.2fs (%.0f/s), gateway requests=%d, max in-flight=%d%n",
+                    deliveries, seconds, deliveries / seconds, gateway.requests(), gateway.maxInFlight());
+            System.out.println("  status=" + queue.statusCounts()
+                    + " retried=" + meterRegistry.find("notification.delivery.retried").counters().stream()
+                            .mapToDouble(c -> c.count()).sum());
+            System.out.printf("  latency (busiest provider) mean=%.1fms max=%.1fms%n",
+                    latency.mean(TimeUnit.MILLISECONDS), latency.max(TimeUnit.MILLISECONDS));
+            assertThat(queue.pending()).isZero();
+            assertThat(queue.statusCounts().get(DeliveryStatus.INVALID_TOKEN)).isEqualTo(deliveries / 50);
+        }
+    }
+
+    /**
+     * 점유·결과 기록을 메모리에서 흉내 낸 대기열 (50건 중 1건은 만료 토큰)
+     */
+    private static final class InMemoryQueue extends NotificationDeliveryJdbcRepository {
+        private final Map<Long, Row> rows = new LinkedHashMap<>();
+
+        InMemoryQueue(int deliveries) {
+            super(null);
+            LocalDateTime now = LocalDateTime.now();
+            for (long id = 1; id <= deliveries; id++) {
+                Provider provider = id % 2 == 0 ? Provider.APNS : Provider.FCM;
+                String token = (id % 50 == 0 ? StubPushGateway.INVALID_TOKEN_PREFIX : "token") + "-" + id;
+                rows.put(id, new Row(new PendingDelivery(id, id, id, provider, token, 0, now,
+                        "HEALTH", "건강 검진 알림", "정기 건강 검진을 받으세요", null, 2)));
+            }
+        }
+
+        @Override
+        public synchronized List<PendingDelivery> claim(LocalDateTime now, LocalDateTime leaseUntil, int limit) {
+            List<PendingDelivery> claimed = new ArrayList<>(limit);
+            for (Row row : rows.values()) {
+                if (claimed.size() == limit) {
+                    break;
+                }
+                if (row.status == DeliveryStatus.PENDING && !row.nextAttemptAt.isAfter(now)) {
+                    row.attempts++;
+                    row.nextAttemptAt = leaseUntil;
+                    PendingDelivery d = row.delivery;
+                    claimed.add(new PendingDelivery(d.id(), d.notificationId(), d.deviceTokenId(), d.provider(),
+                            d.token(), row.attempts, d.createdAt(), d.type(), d.title(), d.message(), d.url(),
+                            d.priority()));
+                }
+            }
+            return claimed;
+        }
+
+        @Override
+        public synchronized void complete(List<DeliveryOutcome> outcomes) {
+            for (DeliveryOutcome outcome : outcomes) {
+                Row row = rows.get(outcome.id());
+                row.status = outcome.status();
+                if (outcome.nextAttemptAt() != null) {
+                    row.nextAttemptAt = outcome.nextAttemptAt();
+                }
+            }
+        }
+
+        @Override
+        public int deactivateTokens(Collection<Long> deviceTokenIds) {
+            return deviceTokenIds.size();
+        }
+
+        synchronized long pending() {
+            return rows.values().stream().filter(row -> row.status == DeliveryStatus.PENDING).count();
+        }
+
+        synchronized Map<DeliveryStatus, Integer> statusCounts() {
+            Map<DeliveryStatus, Integer> counts = new EnumMap<>(DeliveryStatus.class);
+            rows.values().forEach(row -> counts.merge(row.status, 1, Integer::sum));
+            return counts;
+        }
+
+        private static final class Row {
+            private final PendingDelivery delivery;
+            private DeliveryStatus status = DeliveryStatus.PENDING;
+            private int attempts;
+            private LocalDateTime nextAttemptAt;
+
+            private Row(PendingDelivery delivery) {
+                this.delivery = delivery;
+                this.nextAttemptAt = delivery.createdAt();
+            }
+        }
+    }
+}
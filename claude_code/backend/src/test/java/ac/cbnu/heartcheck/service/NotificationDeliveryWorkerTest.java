@@ -0,0 +1,184 @@
+package ac.cbnu.heartcheck.service;
+
+import ac.cbnu.heartcheck.entity.DeviceToken.Provider;
+import ac.cbnu.heartcheck.entity.NotificationDelivery.DeliveryStatus;
+import ac.cbnu.heartcheck.repository.NotificationDeliveryJdbcRepository;
+import ac.cbnu.heartcheck.repository.NotificationDeliveryJdbcRepository.DeliveryOutcome;
+import ac.cbnu.heartcheck.repository.NotificationDeliveryJdbcRepository.PendingDelivery;
+import ac.cbnu.heartcheck.service.PushGatewayClient.PushResult;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * 푸시 전달 작업자 테스트
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("푸시 전달 작업자 테스트")
+class NotificationDeliveryWorkerTest {
+
+    private static final Clock CLOCK = Clock.fixed(Instant.parse("2024-06-15T00:00:00Z"), ZoneId.of("Asia/Seoul"));
+    private static final LocalDateTime NOW = LocalDateTime.now(CLOCK);
+
+    @Mock
+    private NotificationDeliveryJdbcRepository notificationDeliveryJdbcRepository;
+
+    @Mock
+    private PushGatewayClient pushGatewayClient;
+
+    private SimpleMeterRegistry meterRegistry;
+    private NotificationDeliveryWorker worker;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        worker = new NotificationDeliveryWorker(notificationDeliveryJdbcRepository, pushGatewayClient, meterRegistry,
+                10, 5, 3, Duration.ofMinutes(1), Duration.ofSeconds(1), Duration.ofMinutes(5), CLOCK);
+    }
+
+    @Test
+    @DisplayName("제공자별로 묶어 보내고 결과를 한 번에 기록 - 수락 지연, 만료 토큰 비활성화")
+    void testDeliverGroupsByProvider() {
+        // Given
+        PendingDelivery fcmOk = delivery(1, Provider.FCM, 1, NOW.minusSeconds(2));
+        PendingDelivery apnsOk = delivery(2, Provider.APNS, 1, NOW.minusSeconds(1));
+        PendingDelivery fcmInvalid = delivery(3, Provider.FCM, 1, NOW);
+        when(notificationDeliveryJdbcRepository.claim(NOW, NOW.plusMinutes(1), 10))
+                .thenReturn(List.of(fcmOk, apnsOk, fcmInvalid));
+        when(pushGatewayClient.send(Provider.FCM, List.of(fcmOk, fcmInvalid))).thenReturn(CompletableFuture.completedFuture(
+                List.of(PushResult.delivered(200, "projects/heart/messages/1"), PushResult.invalidToken(404, "UNREGISTERED"))));
+        when(pushGatewayClient.send(Provider.APNS, List.of(apnsOk))).thenReturn(CompletableFuture.completedFuture(
+                List.of(PushResult.delivered(200, "apns-id-2"))));
+
+        // When
+        int claimed = worker.deliverOnce();
+
+        // Then
+        assertThat(claimed).isEqualTo(3);
+        Map<Long, DeliveryOutcome> outcomes = recordedOutcomes();
+        assertThat(outcomes.get(1L).status()).isEqualTo(DeliveryStatus.SENT);
+        assertThat(outcomes.get(1L).latencyMs()).isEqualTo(2000L);
+        assertThat(outcomes.get(1L).providerMessageId()).isEqualTo("projects/heart/messages/1");
+        assertThat(outcomes.get(2L).status()).isEqualTo(DeliveryStatus.SENT);
+        assertThat(outcomes.get(3L).status()).isEqualTo(DeliveryStatus.INVALID_TOKEN);
+        verify(notificationDeliveryJdbcRepository).deactivateTokens(Set.of(13L));
+        assertThat(meterRegistry.counter("notification.delivery.sent", "provider", "FCM").count()).isEqualTo(1.0);
+        assertThat(meterRegistry.timer("notification.delivery.latency", "provider", "APNS").count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("재시도 대상은 백오프 후 다시 대기, 시도 횟수를 다 쓰면 실패")
+    void testRetryWithBackoff() {
+        // Given
+        PendingDelivery firstAttempt = delivery(1, Provider.FCM, 1, NOW);
+        PendingDelivery lastAttempt = delivery(2, Provider.FCM, 3, NOW);
+        PendingDelivery throttled = delivery(3, Provider.FCM, 2, NOW);
+        when(notificationDeliveryJdbcRepository.claim(any(), any(), anyInt()))
+                .thenReturn(List.of(firstAttempt, lastAttempt, throttled));
+        when(pushGatewayClient.send(eq(Provider.FCM), any())).thenReturn(CompletableFuture.completedFuture(List.of(
+                PushResult.retry(503, "HTTP 503", null),
+                PushResult.retry(503, "HTTP 503", null),
+                PushResult.retry(429, "HTTP 429", Duration.ofMinutes(10)))));
+
+        // When
+        worker.deliverOnce();
+
+        // Then
+        Map<Long, DeliveryOutcome> outcomes = recordedOutcomes();
+        assertThat(outcomes.get(1L).status()).isEqualTo(DeliveryStatus.PENDING);
+        assertThat(outcomes.get(1L).nextAttemptAt()).isBetween(NOW, NOW.plusSeconds(1));
+        assertThat(outcomes.get(2L).status()).isEqualTo(DeliveryStatus.FAILED);
+        assertThat(outcomes.get(2L).error()).isEqualTo("HTTP 503");
+        // 게이트웨이가 요청한 대기가 백오프보다 길면 그만큼 기다림
+        assertThat(outcomes.get(3L).nextAttemptAt()).isEqualTo(NOW.plusMinutes(10));
+        verify(notificationDeliveryJdbcRepository, never()).deactivateTokens(any());
+        assertThat(meterRegistry.counter("notification.delivery.retried", "provider", "FCM").count()).isEqualTo(2.0);
+        assertThat(meterRegistry.counter("notification.delivery.failed", "provider", "FCM").count()).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("알림이 지워진 전달 작업은 보내지 않고 실패로 기록")
+    void testDeletedNotification() {
+        // Given
+        PendingDelivery orphan = new PendingDelivery(1, 100, 10, Provider.APNS, "apns-a", 1, NOW,
+                null, null, null, null, 0);
+        when(notificationDeliveryJdbcRepository.claim(any(), any(), anyInt())).thenReturn(List.of(orphan));
+
+        // When
+        worker.deliverOnce();
+
+        // Then
+        verify(pushGatewayClient, never()).send(any(), any());
+        assertThat(recordedOutcomes().get(1L).status()).isEqualTo(DeliveryStatus.FAILED);
+    }
+
+    @Test
+    @DisplayName("가득 찬 배치가 나오는 동안 이어서 처리")
+    void testDrainUntilPartialBatch() {
+        // Given
+        List<PendingDelivery> full = LongStream.rangeClosed(1, 10)
+                .mapToObj(id -> delivery(id, Provider.FCM, 1, NOW)).toList();
+        List<PendingDelivery> partial = List.of(delivery(11, Provider.FCM, 1, NOW));
+        when(notificationDeliveryJdbcRepository.claim(any(), any(), anyInt())).thenReturn(full, partial);
+        when(pushGatewayClient.send(eq(Provider.FCM), any())).thenAnswer(invocation -> {
+            List<PendingDelivery> batch = invocation.getArgument(1);
+            return CompletableFuture.completedFuture(batch.stream().map(d -> PushResult.delivered(200, "id")).toList());
+        });
+
+        // When
+        int total = worker.drain();
+
+        // Then
+        assertThat(total).isEqualTo(11);
+        verify(notificationDeliveryJdbcRepository, times(2)).claim(any(), any(), anyInt());
+    }
+
+    @Test
+    @DisplayName("백오프는 시도마다 두 배로 늘어난 상한 안에서 무작위, 최대값으로 제한")
+    void testBackoffBounds() {
+        for (int i = 0; i < 100; i++) {
+            assertThat(worker.backoff(1)).isBetween(Duration.ZERO, Duration.ofSeconds(1));
+            assertThat(worker.backoff(4)).isBetween(Duration.ZERO, Duration.ofSeconds(8));
+            assertThat(worker.backoff(30)).isBetween(Duration.ZERO, Duration.ofMinutes(5));
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<Long, DeliveryOutcome> recordedOutcomes() {
+        ArgumentCaptor<List<DeliveryOutcome>> captor = ArgumentCaptor.forClass(List.class);
+        verify(notificationDeliveryJdbcRepository).complete(captor.capture());
+        return captor.getValue().stream().collect(Collectors.toMap(DeliveryOutcome::id, Function.identity()));
+    }
+
+    private static PendingDelivery delivery(long id, Provider provider, int attempts, LocalDateTime createdAt) {
+        return new PendingDelivery(id, 100 + id, 10 + id, provider, provider.name().toLowerCase() + "-" + id, attempts,
+                createdAt, "HEALTH", "건강 검진 알림", "정기 건강 검진을 받으세요", null, 2);
+    }
+}
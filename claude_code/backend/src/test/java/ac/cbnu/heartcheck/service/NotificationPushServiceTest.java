@@ -0,0 +1,224 @@
+package ac.cbnu.heartcheck.service;
+
+import ac.cbnu.heartcheck.entity.Notification;
+import ac.cbnu.heartcheck.entity.NotificationBroadcast;
+import ac.cbnu.heartcheck.entity.User;
+import ac.cbnu.heartcheck.repository.NotificationDispatchJdbcRepository.DueNotification;
+import ac.cbnu.heartcheck.websocket.NotificationPushHandler;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+/**
+ * 알림 푸시 서비스 테스트
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("알림 푸시 서비스 테스트")
+class NotificationPushServiceTest {
+
+    @Mock
+    private StringRedisTemplate redisTemplate;
+
+    @Mock
+    private RedisMessageListenerContainer redisMessageListenerContainer;
+
+    @Mock
+    private NotificationPushHandler notificationPushHandler;
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+    private NotificationPushService notificationPushService;
+    private Notification notification;
+
+    @BeforeEach
+    void setUp() {
+        notificationPushService = new NotificationPushService(redisTemplate, redisMessageListenerContainer,
+                notificationPushHandler, objectMapper, new SimpleMeterRegistry());
+        notification = Notification.builder()
+                .id(10L)
+                .user(User.builder().userId(1L).build())
+                .type(Notification.NotificationType.HEALTH)
+                .title("건강 검진 알림")
+                .message("정기 건강 검진을 받으세요")
+                .isRead(false)
+                .priority(Notification.Priority.NORMAL.getLevel())
+                .sentTime(LocalDateTime.of(2024, 6, 1, 9, 0))
+                .build();
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    @DisplayName("트랜잭션 밖에서 생성된 알림은 바로 채널에 발행")
+    void testPublishCreatedNotification() throws Exception {
+        // When
+        notificationPushService.notificationCreated(notification);
+
+        // Then
+        ArgumentCaptor<String> payload = ArgumentCaptor.forClass(String.class);
+        verify(redisTemplate).convertAndSend(eq(NotificationPushService.CHANNEL), payload.capture());
+        JsonNode message = objectMapper.readTree(payload.getValue());
+        assertThat(message.get("type").asText()).isEqualTo("notification.created");
+        assertThat(message.get("userId").asLong()).isEqualTo(1L);
+        assertThat(message.get("unreadDelta").asInt()).isEqualTo(1);
+        assertThat(message.get("notification").get("id").asLong()).isEqualTo(10L);
+        assertThat(message.get("notification").get("title").asText()).isEqualTo("건강 검진 알림");
+        assertThat(message.get("notification").has("user")).isFalse();
+    }
+
+    @Test
+    @DisplayName("트랜잭션 안에서는 커밋 후에만 발행")
+    void testPublishAfterCommit() {
+        // Given
+        TransactionSynchronizationManager.initSynchronization();
+
+        // When
+        notificationPushService.unreadChanged(1L, -1);
+
+        // Then
+        verify(redisTemplate, never()).convertAndSend(anyString(), anyString());
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        assertThat(synchronizations).hasSize(1);
+        synchronizations.forEach(TransactionSynchronization::afterCommit);
+        verify(redisTemplate).convertAndSend(eq(NotificationPushService.CHANNEL), anyString());
+    }
+
+    @Test
+    @DisplayName("발송 전 예약 알림과 변화 없는 개수는 푸시하지 않음")
+    void testSkipPendingScheduledNotification() {
+        // Given
+        notification.setSentTime(null);
+        notification.setScheduledTime(LocalDateTime.of(2024, 6, 2, 9, 0));
+
+        // When
+        notificationPushService.notificationCreated(notification);
+        notificationPushService.unreadChanged(1L, 0);
+
+        // Then
+        verifyNoInteractions(redisTemplate);
+    }
+
+    @Test
+    @DisplayName("예약 알림 발송 청크는 한 번 발행하고 수신 노드는 연결된 사용자의 메시지만 전달")
+    void testPublishDispatchedNotifications() throws Exception {
+        // Given
+        LocalDateTime now = LocalDateTime.of(2024, 6, 1, 9, 0);
+        List<DueNotification> dispatched = List.of(
+                new DueNotification(1L, 1L, now.minusMinutes(1), "REMINDER", "복약 알림", "약 드실 시간입니다", null, 2),
+                new DueNotification(2L, 2L, now.minusMinutes(1), "REMINDER", "복약 알림", "저녁 약 드실 시간입니다", null, 2));
+        when(notificationPushHandler.isConnected(1L)).thenReturn(false);
+        when(notificationPushHandler.isConnected(2L)).thenReturn(true);
+
+        // When
+        notificationPushService.notificationsDispatched(dispatched, now);
+        ArgumentCaptor<String> published = ArgumentCaptor.forClass(String.class);
+        verify(redisTemplate).convertAndSend(eq(NotificationPushService.CHANNEL), published.capture());
+        notificationPushService.onMessage(new DefaultMessage(NotificationPushService.CHANNEL.getBytes(StandardCharsets.UTF_8),
+                published.getValue().getBytes(StandardCharsets.UTF_8)), null);
+
+        // Then
+        ArgumentCaptor<String> delivered = ArgumentCaptor.forClass(String.class);
+        verify(notificationPushHandler).deliver(eq(2L), delivered.capture());
+        verify(notificationPushHandler, never()).deliver(eq(1L), anyString());
+        JsonNode message = objectMapper.readTree(delivered.getValue());
+        assertThat(message.get("type").asText()).isEqualTo("notification.created");
+        assertThat(message.get("notification").get("id").asLong()).isEqualTo(2L);
+        assertThat(message.get("notification").get("message").asText()).isEqualTo("저녁 약 드실 시간입니다");
+    }
+
+    @Test
+    @DisplayName("Redis 발행 실패 시 이 노드의 연결에 직접 전달")
+    void testLocalDeliveryWhenPublishFails() {
+        // Given
+        doThrow(new RuntimeException("Redis down"))
+                .when(redisTemplate).convertAndSend(eq(NotificationPushService.CHANNEL), anyString());
+
+        // When
+        notificationPushService.unreadCount(1L, 0);
+
+        // Then
+        verify(notificationPushHandler).deliver(eq(1L), anyString());
+    }
+
+    @Test
+    @DisplayName("채널 메시지는 대상 사용자의 로컬 연결로 전달")
+    void testOnMessageDeliversToLocalSessions() {
+        // Given
+        String payload = "{\"type\":\"unread.changed\",\"userId\":7,\"unreadDelta\":-1}";
+        DefaultMessage message = new DefaultMessage(
+                NotificationPushService.CHANNEL.getBytes(StandardCharsets.UTF_8), payload.getBytes(StandardCharsets.UTF_8));
+
+        // When
+        notificationPushService.onMessage(message, null);
+        notificationPushService.onMessage(new DefaultMessage(new byte[0], "not json".getBytes(StandardCharsets.UTF_8)), null);
+
+        // Then
+        verify(notificationPushHandler).deliver(7L, payload);
+        verify(notificationPushHandler, times(1)).deliver(anyLong(), anyString());
+    }
+
+    @Test
+    @DisplayName("일괄 발송 청크는 한 번 발행하고 수신 노드는 연결된 사용자에게만 풀어서 전달")
+    void testBroadcastFanOut() throws Exception {
+        // Given
+        NotificationBroadcast broadcast = NotificationBroadcast.builder()
+                .id(3L)
+                .type(Notification.NotificationType.SYSTEM)
+                .title("서비스 점검 안내")
+                .message("6월 2일 새벽 점검이 있습니다")
+                .audience(NotificationBroadcast.Audience.PUSH_ENABLED)
+                .build();
+        when(notificationPushHandler.isConnected(1L)).thenReturn(false);
+        when(notificationPushHandler.isConnected(2L)).thenReturn(true);
+
+        // When
+        notificationPushService.broadcastDelivered(broadcast, List.of(1L, 2L), LocalDateTime.of(2024, 6, 1, 9, 0));
+        ArgumentCaptor<String> published = ArgumentCaptor.forClass(String.class);
+        verify(redisTemplate).convertAndSend(eq(NotificationPushService.CHANNEL), published.capture());
+        notificationPushService.onMessage(new DefaultMessage(NotificationPushService.CHANNEL.getBytes(StandardCharsets.UTF_8),
+                published.getValue().getBytes(StandardCharsets.UTF_8)), null);
+
+        // Then
+        ArgumentCaptor<String> delivered = ArgumentCaptor.forClass(String.class);
+        verify(notificationPushHandler).deliver(eq(2L), delivered.capture());
+        verify(notificationPushHandler, never()).deliver(eq(1L), anyString());
+        JsonNode message = objectMapper.readTree(delivered.getValue());
+        assertThat(message.get("type").asText()).isEqualTo("notification.created");
+        assertThat(message.get("userId").asLong()).isEqualTo(2L);
+        assertThat(message.get("unreadDelta").asInt()).isEqualTo(1);
+        assertThat(message.get("notification").get("title").asText()).isEqualTo("서비스 점검 안내");
+        assertThat(message.has("userIds")).isFalse();
+    }
+}
@@ -0,0 +1,270 @@
+package ac.cbnu.heartcheck.service;
+
+import ac.cbnu.heartcheck.repository.NotificationRetentionJdbcRepository;
+import ac.cbnu.heartcheck.repository.NotificationRetentionJdbcRepository.Partition;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.mockito.Mockito;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+import org.testcontainers.containers.MySQLContainer;
+import org.testcontainers.containers.Network;
+import org.testcontainers.utility.DockerImageName;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 알림 보관 기간 정리 벤치마크
+ * 기존 방식(전체 조회 후 deleteAll: 한 트랜잭션에서 행마다 DELETE)과 id 범위 DELETE, 파티션 삭제의
+ * 정리 시간과 복제 지연 비교
+ *
+ * 소스·레플리카 MySQL 두 개(GTID 복제)를 띄워 12개월 치 알림 중 오래된 6개월 치(모두 읽음)를 지우고,
+ * 정리 중 레플리카의 Seconds_Behind_Source 최대값과 정리가 끝난 뒤 레플리카가 따라잡기까지 걸린 시간을 잰다.
+ * Docker가 필요하므로 NOTIFICATION_RETENTION_BENCHMARK=true 환경 변수가 있을 때만 실행한다.
+ *   NOTIFICATION_RETENTION_BENCHMARK=true ./gradlew test --tests '*NotificationRetentionBenchmarkTest'
+ */
+@DisplayName("알림 보관 기간 정리 벤치마크")
+class NotificationRetentionBenchmarkTest {
+
+    private static final DockerImageName MYSQL = DockerImageName.parse("mysql:8.0");
+    private static final String PASSWORD = "bench";
+    private static final int ROWS = 300_000;
+    private static final int MONTHS = 12;
+    private static final int EXPIRED_MONTHS = 6;
+    private static final DateTimeFormatter MONTH_SUFFIX = DateTimeFormatter.ofPattern("yyyyMM");
+
+    private static final String COLUMNS =
+            "id BIGINT NOT NULL AUTO_INCREMENT, user_id BIGINT NOT NULL, type VARCHAR(20) NOT NULL, " +
+            "title VARCHAR(100) NOT NULL, message VARCHAR(500) NOT NULL, url VARCHAR(200), " +
+            "is_read BOOLEAN NOT NULL DEFAULT FALSE, read_time DATETIME, sent_time DATETIME, scheduled_time DATETIME, " +
+            "priority INT NOT NULL DEFAULT 1, unread_at DATETIME, created_at DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP, " +
+            "INDEX idx_notification_user (user_id), INDEX idx_notification_sent_time (sent_time), " +
+            "INDEX idx_notification_created (created_at), ";
+
+    private final LocalDate currentMonth = LocalDate.now().withDayOfMonth(1);
+    /** 오래된 6개월 치(모두 읽음, 읽은 시간도 이 시각 이전)만 지워지는 기준 */
+    private final LocalDateTime cutoff = currentMonth.minusMonths(EXPIRED_MONTHS - 1L).atStartOfDay();
+
+    @Test
+    @EnabledIfEnvironmentVariable(named = "NOTIFICATION_RETENTION_BENCHMARK", matches = "true")
+    @DisplayName("정리 시간과 복제 지연 - deleteAll 대비 id 범위 DELETE, 파티션 삭제")
+    void testPurgeTimeAndReplicationLag() throws Exception {
+        try (Network network = Network.newNetwork();
+             MySQLContainer<?> source = mysql(network, "source", 1);
+             MySQLContainer<?> replica = mysql(network, "replica", 2)) {
+            source.start();
+            replica.start();
+
+            SingleConnectionDataSource sourceDataSource = dataSource(source);
+            SingleConnectionDataSource replicaDataSource = dataSource(replica);
+            JdbcTemplate sourceJdbc = new JdbcTemplate(sourceDataSource);
+            JdbcTemplate replicaJdbc = new JdbcTemplate(replicaDataSource);
+            startReplication(sourceJdbc, replicaJdbc);
+
+            sourceJdbc.execute("CREATE DATABASE bench");
+            sourceJdbc.execute("CREATE TABLE bench.bench_marker (id BIGINT PRIMARY KEY)");
+            sourceJdbc.execute("USE bench");
+            awaitReplica(sourceJdbc, replicaJdbc);
+            replicaJdbc.execute("USE bench");
+
+            NotificationRetentionJdbcRepository repository = new NotificationRetentionJdbcRepository(sourceJdbc);
+            ClusterLeaseLock lock = Mockito.mock(ClusterLeaseLock.class);
+            NotificationRetentionService chunked = new NotificationRetentionService(repository, lock,
+                    new SimpleMeterRegistry(), EXPIRED_MONTHS, 30, 0, 10_000, Duration.ofMillis(100),
+                    Duration.ofMinutes(5), Clock.systemDefaultZone());
+
+            // 1. 기존 방식: 만료 알림 전체를 읽고 한 트랜잭션에서 행마다 DELETE (JPA deleteAll)
+            seed(sourceJdbc, false);
+            awaitReplica(sourceJdbc, replicaJdbc);
+            measure("deleteAll (one transaction)", sourceJdbc, replicaJdbc, replica,
+                    () -> deleteAllInOneTransaction(sourceDataSource));
+
+            // 2. id 범위 DELETE: 범위마다 자동 커밋, 범위 사이 100ms 휴식
+            seed(sourceJdbc, false);
+            awaitReplica(sourceJdbc, replicaJdbc);
+            measure("id-range chunks (10k, 100ms pause)", sourceJdbc, replicaJdbc, replica,
+                    () -> chunked.deleteReadBefore(cutoff));
+
+            // 3. 파티션 삭제
+            seed(sourceJdbc, true);
+            awaitReplica(sourceJdbc, replicaJdbc);
+            measure("DROP PARTITION", sourceJdbc, replicaJdbc, replica, () -> {
+                long before = count(sourceJdbc);
+                for (Partition partition : repository.findPartitions()) {
+                    if (partition.upperBound() != null && !partition.upperBound().atStartOfDay().isAfter(cutoff)) {
+                        repository.dropPartition(partition.name());
+                    }
+                }
+                return before - count(sourceJdbc);
+            });
+
+            sourceDataSource.destroy();
+            replicaDataSource.destroy();
+        }
+    }
+
+    private MySQLContainer<?> mysql(Network network, String alias, int serverId) {
+        return new MySQLContainer<>(MYSQL)
+                .withNetwork(network)
+                .withNetworkAliases(alias)
+                .withUsername("root")
+                .withPassword(PASSWORD)
+                .withCommand("--server-id=" + serverId, "--log-bin=mysql-bin", "--binlog-format=ROW",
+                        "--gtid-mode=ON", "--enforce-gtid-consistency=ON", "--innodb-buffer-pool-size=512M");
+    }
+
+    private SingleConnectionDataSource dataSource(MySQLContainer<?> container) {
+        SingleConnectionDataSource dataSource = new SingleConnectionDataSource(
+                container.getJdbcUrl() + "?allowPublicKeyRetrieval=true&useSSL=false", "root", PASSWORD, true);
+        dataSource.setAutoCommit(true);
+        return dataSource;
+    }
+
+    private void startReplication(JdbcTemplate sourceJdbc, JdbcTemplate replicaJdbc) {
+        // 두 서버의 초기화 트랜잭션은 서로 복제하지 않음
+        String sourceGtids = sourceJdbc.queryForObject("SELECT @@GLOBAL.gtid_executed", String.class);
+        replicaJdbc.execute("RESET MASTER");
+        replicaJdbc.execute("SET GLOBAL gtid_purged = '" + sourceGtids + "'");
+        replicaJdbc.execute("CHANGE REPLICATION SOURCE TO SOURCE_HOST = 'source', SOURCE_PORT = 3306, " +
+                "SOURCE_USER = 'root', SOURCE_PASSWORD = '" + PASSWORD + "', SOURCE_AUTO_POSITION = 1, " +
+                "GET_SOURCE_PUBLIC_KEY = 1");
+        replicaJdbc.execute("START REPLICA");
+    }
+
+    private void seed(JdbcTemplate jdbc, boolean partitioned) {
+        jdbc.execute("DROP TABLE IF EXISTS notifications");
+        jdbc.execute("CREATE TABLE IF NOT EXISTS notification_read_marks (id BIGINT NOT NULL AUTO_INCREMENT PRIMARY KEY, " +
+                "user_id BIGINT NOT NULL, scope VARCHAR(30) NOT NULL, read_up_to DATETIME NOT NULL, updated_at DATETIME, " +
+                "UNIQUE KEY uk_read_mark_user_scope (user_id, scope))");
+        if (partitioned) {
+            StringBuilder partitions = new StringBuilder();
+            for (int k = MONTHS - 1; k >= 0; k--) {
+                LocalDate month = currentMonth.minusMonths(k);
+                partitions.append("PARTITION p").append(month.format(MONTH_SUFFIX))
+                        .append(" VALUES LESS THAN (TO_DAYS('").append(month.plusMonths(1)).append("')), ");
+            }
+            jdbc.execute("CREATE TABLE notifications (" + COLUMNS + "PRIMARY KEY (id, created_at)) " +
+                    "PARTITION BY RANGE (TO_DAYS(created_at)) (" + partitions +
+                    "PARTITION p_future VALUES LESS THAN MAXVALUE)");
+        } else {
+            jdbc.execute("CREATE TABLE notifications (" + COLUMNS + "PRIMARY KEY (id))");
+        }
+
+        // n % 12 = 생성 월(몇 달 전), 6개월 이상 지난 알림은 모두 읽음 처리, 최근 알림은 1/3만 읽음
+        jdbc.execute("SET SESSION cte_max_recursion_depth = " + (ROWS + 1));
+        jdbc.update("INSERT INTO notifications (user_id, type, title, message, is_read, read_time, sent_time, " +
+                "priority, created_at) " +
+                "WITH RECURSIVE seq (n) AS (SELECT 0 UNION ALL SELECT n + 1 FROM seq WHERE n < ?) " +
+                "SELECT n % 5000 + 1, 'HEALTH', '건강 검진 알림', '정기 건강 검진을 받으세요', " +
+                "n % 12 >= ? OR n % 3 = 0, IF(n % 12 >= ? OR n % 3 = 0, ts + INTERVAL 1 HOUR, NULL), ts, 2, ts " +
+                "FROM (SELECT n, TIMESTAMP(?) - INTERVAL (n % 12) MONTH + INTERVAL ((n * 7919) % 38880) MINUTE AS ts " +
+                "FROM seq) generated ORDER BY ts",
+                ROWS - 1, EXPIRED_MONTHS, EXPIRED_MONTHS, Timestamp.valueOf(currentMonth.atStartOfDay()));
+        assertThat(count(jdbc)).isEqualTo(ROWS);
+    }
+
+    private long deleteAllInOneTransaction(SingleConnectionDataSource dataSource) throws Exception {
+        Connection connection = dataSource.getConnection();
+        connection.setAutoCommit(false);
+        try {
+            List<Map<String, Object>> expired = new JdbcTemplate(dataSource).queryForList(
+                    "SELECT * FROM notifications WHERE is_read = TRUE AND read_time < ?", Timestamp.valueOf(cutoff));
+            try (PreparedStatement delete = connection.prepareStatement("DELETE FROM notifications WHERE id = ?")) {
+                for (Map<String, Object> row : expired) {
+                    delete.setLong(1, ((Number) row.get("id")).longValue());
+                    delete.addBatch();
+                }
+                delete.executeBatch();
+            }
+            connection.commit();
+            return expired.size();
+        } finally {
+            connection.setAutoCommit(true);
+        }
+    }
+
+    private void measure(String name, JdbcTemplate sourceJdbc, JdbcTemplate replicaJdbc,
+                         MySQLContainer<?> replica, PurgeAction action) throws Exception {
+        AtomicBoolean running = new AtomicBoolean(true);
+        AtomicLong maxLagSeconds = new AtomicLong();
+        SingleConnectionDataSource samplerDataSource = dataSource(replica);
+        JdbcTemplate sampler = new JdbcTemplate(samplerDataSource);
+        Thread samplerThread = new Thread(() -> {
+            while (running.get()) {
+                Object lag = sampler.queryForList("SHOW REPLICA STATUS").get(0).get("Seconds_Behind_Source");
+                if (lag != null) {
+                    maxLagSeconds.accumulateAndGet(((Number) lag).longValue(), Math::max);
+                }
+                try {
+                    Thread.sleep(200);
+                } catch (InterruptedException e) {
+                    return;
+                }
+            }
+        });
+        samplerThread.start();
+
+        long start = System.nanoTime();
+        long deleted = action.run();
+        long purgeMillis = (System.nanoTime() - start) / 1_000_000;
+        long catchUpMillis = awaitReplica(sourceJdbc, replicaJdbc);
+
+        running.set(false);
+        samplerThread.join();
+        samplerDataSource.destroy();
+
+        System.out.printf("%-36s deleted=%,8d purge=%,7d ms  max lag=%3d s  replica catch-up=%,7d ms%n",
+                name, deleted, purgeMillis, maxLagSeconds.get(), catchUpMillis);
+        assertThat(deleted).isEqualTo(ROWS / 2);
+        assertThat(count(replicaJdbc)).isEqualTo(count(sourceJdbc));
+    }
+
+    /**
+     * 소스에 표식을 쓰고 레플리카에 보일 때까지 대기
+     * @return 대기 시간 (ms)
+     */
+    private long awaitReplica(JdbcTemplate sourceJdbc, JdbcTemplate replicaJdbc) throws InterruptedException {
+        long marker = System.nanoTime();
+        sourceJdbc.update("INSERT INTO bench.bench_marker (id) VALUES (?)", marker);
+        long start = System.nanoTime();
+        LongSupplier seen = () -> replicaJdbc.queryForObject(
+                "SELECT COUNT(*) FROM bench.bench_marker WHERE id = ?", Long.class, marker);
+        while (true) {
+            try {
+                if (seen.getAsLong() == 1) {
+                    break;
+                }
+            } catch (Exception e) {
+                // 복제 시작 직후에는 bench 스키마가 아직 없을 수 있음
+            }
+            Thread.sleep(20);
+        }
+        return (System.nanoTime() - start) / 1_000_000;
+    }
+
+    private long count(JdbcTemplate jdbc) {
+        Long count = jdbc.queryForObject("SELECT COUNT(*) FROM notifications", Long.class);
+        return count != null ? count : 0;
+    }
+
+    @FunctionalInterface
+    private interface PurgeAction {
+        long run() throws Exception;
+    }
+}
@@ -0,0 +1,226 @@
+package ac.cbnu.heartcheck.service;
+
+import ac.cbnu.heartcheck.repository.NotificationRetentionJdbcRepository;
+import ac.cbnu.heartcheck.repository.NotificationRetentionJdbcRepository.IdRange;
+import ac.cbnu.heartcheck.repository.NotificationRetentionJdbcRepository.Partition;
+import ac.cbnu.heartcheck.service.NotificationRetentionService.PurgeResult;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+/**
+ * 알림 보관 기간 정리 서비스 테스트
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("알림 보관 기간 정리 서비스 테스트")
+class NotificationRetentionServiceTest {
+
+    private static final ZoneId ZONE = ZoneId.of("Asia/Seoul");
+    private static final Clock CLOCK = Clock.fixed(Instant.parse("2024-06-15T00:00:00Z"), ZONE);
+    private static final LocalDateTime NOW = LocalDateTime.now(CLOCK);
+    private static final LocalDateTime SENT_BEFORE = NOW.minusMonths(6);
+    private static final LocalDateTime READ_BEFORE = NOW.minusDays(30);
+
+    @Mock
+    private NotificationRetentionJdbcRepository notificationRetentionJdbcRepository;
+
+    @Mock
+    private ClusterLeaseLock clusterLeaseLock;
+
+    private SimpleMeterRegistry meterRegistry;
+    private NotificationRetentionService retentionService;
+
+    @AfterEach
+    void tearDown() {
+        retentionService.shutdown();
+    }
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        retentionService = new NotificationRetentionService(notificationRetentionJdbcRepository, clusterLeaseLock,
+                meterRegistry, 6, 30, 2, 100, Duration.ZERO, Duration.ofMinutes(5), CLOCK);
+    }
+
+    @Test
+    @DisplayName("만료 파티션 중 남길 행이 없는 것만 삭제하고 미래 월 파티션을 채움")
+    void testDropExpiredAndCreateFuturePartitions() {
+        // Given
+        when(notificationRetentionJdbcRepository.findPartitions()).thenReturn(List.of(
+                new Partition("p202310", LocalDate.of(2023, 11, 1)),
+                new Partition("p202311", LocalDate.of(2023, 12, 1)),
+                new Partition("p202312", LocalDate.of(2024, 1, 1)),
+                new Partition("p202406", LocalDate.of(2024, 7, 1)),
+                new Partition("p_future", null)));
+        when(notificationRetentionJdbcRepository.hasFuturePartition(anyList())).thenReturn(true);
+        when(notificationRetentionJdbcRepository.hasRetainedRows("p202310", SENT_BEFORE)).thenReturn(false);
+        when(notificationRetentionJdbcRepository.hasRetainedRows("p202311", SENT_BEFORE)).thenReturn(true);
+        when(notificationRetentionJdbcRepository.findIdRange(READ_BEFORE)).thenReturn(Optional.empty());
+
+        // When
+        PurgeResult result = retentionService.purge();
+
+        // Then
+        verify(notificationRetentionJdbcRepository).dropPartition("p202310");
+        verify(notificationRetentionJdbcRepository, never()).dropPartition("p202311");
+        // 상한(2024-01-01)이 보관 기준(2023-12-15 09:00) 이후인 파티션은 검사하지 않음
+        verify(notificationRetentionJdbcRepository, never()).hasRetainedRows(eq("p202312"), any());
+        verify(notificationRetentionJdbcRepository).addPartition(YearMonth.of(2024, 7), LocalDate.of(2024, 8, 1));
+        verify(notificationRetentionJdbcRepository).addPartition(YearMonth.of(2024, 8), LocalDate.of(2024, 9, 1));
+        assertThat(result).isEqualTo(new PurgeResult(2, 1, 0));
+        assertThat(meterRegistry.counter("notification.retention.partitions.dropped").count()).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("파티션 관리가 밀렸으면 지난 달까지를 파티션 하나로 나눈 뒤 월 파티션 생성")
+    void testCatchUpPartition() {
+        // Given
+        when(notificationRetentionJdbcRepository.findPartitions()).thenReturn(List.of(
+                new Partition("p_history", LocalDate.of(2024, 1, 1)),
+                new Partition("p_future", null)));
+        when(notificationRetentionJdbcRepository.hasFuturePartition(anyList())).thenReturn(true);
+        when(notificationRetentionJdbcRepository.findIdRange(READ_BEFORE)).thenReturn(Optional.empty());
+
+        // When
+        PurgeResult result = retentionService.purge();
+
+        // Then
+        InOrder order = inOrder(notificationRetentionJdbcRepository);
+        order.verify(notificationRetentionJdbcRepository).addPartition(YearMonth.of(2024, 5), LocalDate.of(2024, 6, 1));
+        order.verify(notificationRetentionJdbcRepository).addPartition(YearMonth.of(2024, 6), LocalDate.of(2024, 7, 1));
+        order.verify(notificationRetentionJdbcRepository).addPartition(YearMonth.of(2024, 7), LocalDate.of(2024, 8, 1));
+        order.verify(notificationRetentionJdbcRepository).addPartition(YearMonth.of(2024, 8), LocalDate.of(2024, 9, 1));
+        assertThat(result.partitionsCreated()).isEqualTo(4);
+        // p_history 상한(2024-01-01)이 보관 기준(2023-12-15 09:00) 이후라 삭제 대상 아님
+        verify(notificationRetentionJdbcRepository, never()).dropPartition(anyString());
+    }
+
+    @Test
+    @DisplayName("파티션이 없는 테이블은 id 범위 단위 DELETE만 수행")
+    void testChunkedDeleteWithoutPartitions() {
+        // Given
+        when(notificationRetentionJdbcRepository.findPartitions()).thenReturn(List.of());
+        when(notificationRetentionJdbcRepository.findIdRange(READ_BEFORE)).thenReturn(Optional.of(new IdRange(1, 250)));
+        when(notificationRetentionJdbcRepository.deleteExpired(anyLong(), anyLong(), eq(SENT_BEFORE), eq(READ_BEFORE)))
+                .thenReturn(40, 0, 7);
+        when(clusterLeaseLock.renew(eq(NotificationRetentionService.LOCK_NAME), any())).thenReturn(true);
+
+        // When
+        PurgeResult result = retentionService.purge();
+
+        // Then
+        verify(notificationRetentionJdbcRepository).deleteExpired(1, 101, SENT_BEFORE, READ_BEFORE);
+        verify(notificationRetentionJdbcRepository).deleteExpired(101, 201, SENT_BEFORE, READ_BEFORE);
+        verify(notificationRetentionJdbcRepository).deleteExpired(201, 251, SENT_BEFORE, READ_BEFORE);
+        verify(notificationRetentionJdbcRepository, never()).addPartition(any(), any());
+        assertThat(result.rowsDeleted()).isEqualTo(47);
+        assertThat(meterRegistry.counter("notification.retention.deleted").count()).isEqualTo(47.0);
+    }
+
+    @Test
+    @DisplayName("잠금을 잃으면 다음 범위로 넘어가지 않음")
+    void testStopWhenLockLost() {
+        // Given
+        when(notificationRetentionJdbcRepository.findPartitions()).thenReturn(List.of());
+        when(notificationRetentionJdbcRepository.findIdRange(READ_BEFORE)).thenReturn(Optional.of(new IdRange(1, 1000)));
+        when(notificationRetentionJdbcRepository.deleteExpired(anyLong(), anyLong(), any(), any())).thenReturn(5);
+        when(clusterLeaseLock.renew(eq(NotificationRetentionService.LOCK_NAME), any())).thenReturn(true, false);
+
+        // When
+        PurgeResult result = retentionService.purge();
+
+        // Then
+        verify(notificationRetentionJdbcRepository, times(2)).deleteExpired(anyLong(), anyLong(), any(), any());
+        assertThat(result.rowsDeleted()).isEqualTo(10);
+    }
+
+    @Test
+    @DisplayName("다른 노드가 잠금을 가지고 있으면 정리하지 않음")
+    void testScheduledPurgeSkippedWithoutLock() {
+        // Given
+        when(clusterLeaseLock.tryAcquire(NotificationRetentionService.LOCK_NAME, Duration.ofMinutes(5))).thenReturn(false);
+
+        // When
+        boolean purged = retentionService.purgeWithLock();
+
+        // Then
+        assertThat(purged).isFalse();
+        verifyNoInteractions(notificationRetentionJdbcRepository);
+        verify(clusterLeaseLock, never()).release(anyString());
+    }
+
+    @Test
+    @DisplayName("cron은 전용 스레드에 넘기고 바로 돌아가며, 진행 중이면 다음 회차를 건너뜀")
+    void testScheduledPurgeRunsOffSchedulerThread() throws Exception {
+        // Given
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(clusterLeaseLock.tryAcquire(NotificationRetentionService.LOCK_NAME, Duration.ofMinutes(5)))
+                .thenAnswer(invocation -> {
+                    started.countDown();
+                    release.await(5, TimeUnit.SECONDS);
+                    return false;
+                });
+
+        // When
+        boolean first = retentionService.scheduledPurge();
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+        boolean second = retentionService.scheduledPurge();
+        release.countDown();
+
+        // Then
+        assertThat(first).isTrue();
+        assertThat(second).isFalse();
+        verify(clusterLeaseLock, timeout(1000).times(1)).tryAcquire(NotificationRetentionService.LOCK_NAME,
+                Duration.ofMinutes(5));
+    }
+
+    @Test
+    @DisplayName("읽은 알림 정리는 읽은 시간 기준 범위 단위 DELETE")
+    void testDeleteReadBefore() {
+        // Given
+        LocalDateTime readBefore = NOW.minusDays(7);
+        when(notificationRetentionJdbcRepository.findIdRange(readBefore)).thenReturn(Optional.of(new IdRange(50, 120)));
+        when(notificationRetentionJdbcRepository.deleteRead(50, 121, readBefore)).thenReturn(12);
+
+        // When
+        long deleted = retentionService.deleteReadBefore(readBefore);
+
+        // Then
+        assertThat(deleted).isEqualTo(12);
+        verify(notificationRetentionJdbcRepository, times(1)).deleteRead(anyLong(), anyLong(), any());
+        verifyNoInteractions(clusterLeaseLock);
+    }
+}
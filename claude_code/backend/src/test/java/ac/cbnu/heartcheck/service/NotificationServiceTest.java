@@ -1,10 +1,17 @@
 package ac.cbnu.heartcheck.service;
 
+import ac.cbnu.heartcheck.entity.DeviceToken;
 import ac.cbnu.heartcheck.entity.Notification;
+import ac.cbnu.heartcheck.entity.NotificationReadMark;
 import ac.cbnu.heartcheck.entity.User;
 import ac.cbnu.heartcheck.exception.ResourceNotFoundException;
+import ac.cbnu.heartcheck.repository.DeviceTokenRepository;
+import ac.cbnu.heartcheck.repository.NotificationDeliveryJdbcRepository;
+import ac.cbnu.heartcheck.repository.NotificationDeliveryRepository;
+import ac.cbnu.heartcheck.repository.NotificationReadMarkRepository;
 import ac.cbnu.heartcheck.repository.NotificationRepository;
 import ac.cbnu.heartcheck.repository.UserRepository;
+import jakarta.persistence.EntityManager;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -24,6 +31,7 @@ import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
@@ -37,9 +45,36 @@ class NotificationServiceTest {
     @Mock
     private NotificationRepository notificationRepository;
 
+    @Mock
+    private NotificationReadMarkRepository notificationReadMarkRepository;
+
     @Mock
     private UserRepository userRepository;
 
+    @Mock
+    private ScheduledNotificationDispatcher scheduledNotificationDispatcher;
+
+    @Mock
+    private NotificationPushService notificationPushService;
+
+    @Mock
+    private UnreadNotificationCounter unreadNotificationCounter;
+
+    @Mock
+    private NotificationRetentionService notificationRetentionService;
+
+    @Mock
+    private NotificationDeliveryJdbcRepository notificationDeliveryJdbcRepository;
+
+    @Mock
+    private NotificationDeliveryRepository notificationDeliveryRepository;
+
+    @Mock
+    private DeviceTokenRepository deviceTokenRepository;
+
+    @Mock
+    private EntityManager entityManager;
+
     @InjectMocks
     private NotificationService notificationService;
 
@@ -85,6 +120,9 @@ class NotificationServiceTest {
         assertThat(result.getId()).isEqualTo(1L);
         verify(userRepository, times(1)).findById(1L);
         verify(notificationRepository, times(1)).save(any(Notification.class));
+        verify(unreadNotificationCounter).adjust(1L, 1);
+        verify(notificationPushService).notificationCreated(testNotification);
+        verify(notificationDeliveryJdbcRepository).enqueue(List.of(1L), testNotification.getSentTime());
     }
 
     @Test
@@ -119,6 +157,43 @@ class NotificationServiceTest {
         verify(notificationRepository, times(1)).save(any(Notification.class));
     }
 
+    @Test
+    @DisplayName("기기 토큰 등록 - 이미 있는 토큰은 새 사용자로 옮기고 다시 활성화")
+    void registerDeviceToken_ReactivatesExisting() {
+        // Given
+        DeviceToken existing = DeviceToken.builder()
+                .id(7L)
+                .provider(DeviceToken.Provider.FCM)
+                .token("fcm-token")
+                .active(false)
+                .build();
+        when(userRepository.findById(1L)).thenReturn(Optional.of(testUser));
+        when(deviceTokenRepository.findByToken("fcm-token")).thenReturn(Optional.of(existing));
+        when(deviceTokenRepository.save(existing)).thenReturn(existing);
+
+        // When
+        DeviceToken result = notificationService.registerDeviceToken(1L, DeviceToken.Provider.APNS, "fcm-token");
+
+        // Then
+        assertThat(result.getId()).isEqualTo(7L);
+        assertThat(result.getUser()).isEqualTo(testUser);
+        assertThat(result.getProvider()).isEqualTo(DeviceToken.Provider.APNS);
+        assertThat(result.getActive()).isTrue();
+        assertThat(result.getLastSeenAt()).isNotNull();
+    }
+
+    @Test
+    @DisplayName("기기 토큰 등록 - 사용자 없음")
+    void registerDeviceToken_UserNotFound() {
+        // Given
+        when(userRepository.findById(1L)).thenReturn(Optional.empty());
+
+        // When & Then
+        assertThatThrownBy(() -> notificationService.registerDeviceToken(1L, DeviceToken.Provider.FCM, "fcm-token"))
+                .isInstanceOf(ResourceNotFoundException.class);
+        verify(deviceTokenRepository, never()).save(any());
+    }
+
     @Test
     @DisplayName("알림 ID로 조회")
     void getNotificationById_Success() {
@@ -167,7 +242,7 @@ class NotificationServiceTest {
     void getUnreadNotifications_Success() {
         // Given
         Page<Notification> page = new PageImpl<>(Arrays.asList(testNotification));
-        when(notificationRepository.findUnreadByUserId(eq(1L), any(Pageable.class))).thenReturn(page);
+        when(notificationRepository.findUnreadByUserId(eq(1L), any(LocalDateTime.class), any(Pageable.class))).thenReturn(page);
 
         // When
         Page<Notification> result = notificationService.getUnreadNotifications(1L, PageRequest.of(0, 10));
@@ -175,21 +250,22 @@ class NotificationServiceTest {
         // Then
         assertThat(result).isNotNull();
         assertThat(result.getContent()).hasSize(1);
-        verify(notificationRepository, times(1)).findUnreadByUserId(eq(1L), any(Pageable.class));
+        verify(notificationRepository, times(1)).findUnreadByUserId(eq(1L), any(LocalDateTime.class), any(Pageable.class));
     }
 
     @Test
     @DisplayName("읽지 않은 알림 개수 조회")
     void getUnreadNotificationCount_Success() {
         // Given
-        when(notificationRepository.countUnreadByUserId(1L)).thenReturn(5L);
+        when(unreadNotificationCounter.get(1L)).thenReturn(5L);
 
         // When
         long result = notificationService.getUnreadNotificationCount(1L);
 
         // Then
         assertThat(result).isEqualTo(5L);
-        verify(notificationRepository, times(1)).countUnreadByUserId(1L);
+        verify(unreadNotificationCounter, times(1)).get(1L);
+        verify(notificationRepository, never()).countUnreadByUserId(any());
     }
 
     @Test
@@ -261,6 +337,8 @@ class NotificationServiceTest {
         assertThat(result).isNotNull();
         verify(notificationRepository, times(1)).findById(1L);
         verify(notificationRepository, times(1)).save(any(Notification.class));
+        verify(unreadNotificationCounter).adjust(1L, -1);
+        verify(notificationPushService).unreadChanged(1L, -1);
     }
 
     @Test
@@ -277,34 +355,85 @@ class NotificationServiceTest {
         assertThat(result).isNotNull();
         verify(notificationRepository, times(1)).findById(1L);
         verify(notificationRepository, times(1)).save(any(Notification.class));
+        verify(notificationPushService, never()).unreadChanged(any(), anyInt());
     }
 
     @Test
-    @DisplayName("모든 알림 읽음 처리")
-    void markAllAsRead_Success() {
+    @DisplayName("기준선으로 읽은 알림을 미읽음 처리하면 카운터 증가")
+    void markAsUnread_CoveredByReadMark() {
         // Given
-        doNothing().when(notificationRepository).markAllAsReadByUserId(eq(1L), any(LocalDateTime.class));
+        when(notificationRepository.findById(1L)).thenReturn(Optional.of(testNotification));
+        when(notificationRepository.save(any(Notification.class))).thenReturn(testNotification);
+        when(notificationReadMarkRepository.findByUserId(1L)).thenReturn(List.of(readMark(
+                NotificationReadMark.SCOPE_ALL, testNotification.getSentTime().plusMinutes(1))));
+
+        // When
+        notificationService.markAsUnread(1L);
+
+        // Then
+        assertThat(testNotification.getUnreadAt()).isNotNull();
+        verify(unreadNotificationCounter).adjust(1L, 1);
+        verify(notificationPushService).unreadChanged(1L, 1);
+    }
 
+    @Test
+    @DisplayName("모든 알림 읽음 처리 - 알림 행 대신 기준선 한 행만 갱신")
+    void markAllAsRead_Success() {
         // When
         notificationService.markAllAsRead(1L);
 
         // Then
-        verify(notificationRepository, times(1)).markAllAsReadByUserId(eq(1L), any(LocalDateTime.class));
+        verify(notificationReadMarkRepository, times(1))
+                .advance(eq(1L), eq(NotificationReadMark.SCOPE_ALL), any(LocalDateTime.class));
+        verify(unreadNotificationCounter).set(1L, 0);
+        verify(notificationPushService).unreadCount(1L, 0);
+        verify(notificationRepository, never()).save(any(Notification.class));
     }
 
     @Test
     @DisplayName("타입별 알림 읽음 처리")
     void markAllAsReadByType_Success() {
         // Given
-        doNothing().when(notificationRepository).markAsReadByTypeAndUserId(
-                eq(1L), eq(Notification.NotificationType.HEALTH), any(LocalDateTime.class));
+        when(notificationRepository.countUnreadByUserIdAndType(1L, "HEALTH")).thenReturn(3L);
 
         // When
         notificationService.markAllAsReadByType(1L, Notification.NotificationType.HEALTH);
 
         // Then
-        verify(notificationRepository, times(1)).markAsReadByTypeAndUserId(
-                eq(1L), eq(Notification.NotificationType.HEALTH), any(LocalDateTime.class));
+        verify(notificationReadMarkRepository, times(1)).advance(eq(1L), eq("HEALTH"), any(LocalDateTime.class));
+        verify(unreadNotificationCounter).adjust(1L, -3);
+        verify(notificationPushService).unreadChanged(1L, -3);
+        verify(notificationRepository, never()).countUnreadByUserId(any());
+    }
+
+    @Test
+    @DisplayName("조회 결과에 읽음 기준선 반영 - 기준선 이후 발송·미읽음 처리된 알림은 그대로")
+    void getUserNotifications_AppliesReadMarks() {
+        // Given
+        LocalDateTime mark = LocalDateTime.now();
+        Notification before = Notification.builder().id(2L).user(testUser)
+                .type(Notification.NotificationType.HEALTH).isRead(false).sentTime(mark.minusHours(1)).build();
+        Notification after = Notification.builder().id(3L).user(testUser)
+                .type(Notification.NotificationType.HEALTH).isRead(false).sentTime(mark.plusMinutes(1)).build();
+        Notification reopened = Notification.builder().id(4L).user(testUser)
+                .type(Notification.NotificationType.HEALTH).isRead(false).sentTime(mark.minusHours(2))
+                .unreadAt(mark.plusSeconds(1)).build();
+        Notification otherType = Notification.builder().id(5L).user(testUser)
+                .type(Notification.NotificationType.PAYMENT).isRead(false).sentTime(mark.minusHours(1)).build();
+        when(notificationRepository.findByUserId(eq(1L), any(Pageable.class)))
+                .thenReturn(new PageImpl<>(List.of(before, after, reopened, otherType)));
+        when(notificationReadMarkRepository.findByUserId(1L)).thenReturn(List.of(readMark("HEALTH", mark)));
+
+        // When
+        notificationService.getUserNotifications(1L, PageRequest.of(0, 10));
+
+        // Then: 기준선을 반영한 알림은 분리한 뒤 바꿔 저장되지 않음
+        assertThat(before.getIsRead()).isTrue();
+        verify(entityManager).detach(before);
+        verify(entityManager, never()).detach(after);
+        assertThat(after.getIsRead()).isFalse();
+        assertThat(reopened.getIsRead()).isFalse();
+        assertThat(otherType.getIsRead()).isFalse();
     }
 
     @Test
@@ -338,46 +467,33 @@ class NotificationServiceTest {
     }
 
     @Test
-    @DisplayName("예약된 알림 발송")
+    @DisplayName("예약된 알림 발송 - 청크 단위 발송기에 위임")
     void sendScheduledNotifications_Success() {
         // Given
-        Notification scheduled = Notification.builder()
-                .id(2L)
-                .user(testUser)
-                .type(Notification.NotificationType.REMINDER)
-                .title("예약 알림")
-                .message("예약된 알림입니다")
-                .scheduledTime(LocalDateTime.now().minusHours(1))
-                .build();
-
-        when(notificationRepository.findScheduledNotifications(any(LocalDateTime.class)))
-                .thenReturn(Arrays.asList(scheduled));
-        when(notificationRepository.save(any(Notification.class))).thenReturn(scheduled);
+        when(scheduledNotificationDispatcher.dispatchDue()).thenReturn(1);
 
         // When
         int result = notificationService.sendScheduledNotifications();
 
         // Then
         assertThat(result).isEqualTo(1);
-        verify(notificationRepository, times(1)).findScheduledNotifications(any(LocalDateTime.class));
-        verify(notificationRepository, times(1)).save(any(Notification.class));
+        verify(scheduledNotificationDispatcher, times(1)).dispatchDue();
+        verify(notificationRepository, never()).save(any(Notification.class));
     }
 
     @Test
     @DisplayName("오래된 알림 자동 정리")
     void cleanupOldReadNotifications_Success() {
         // Given
-        when(notificationRepository.findOldReadNotifications(any(LocalDateTime.class)))
-                .thenReturn(Arrays.asList(testNotification));
-        doNothing().when(notificationRepository).deleteAll(anyList());
+        when(notificationRetentionService.deleteReadBefore(any(LocalDateTime.class))).thenReturn(1L);
 
         // When
         int result = notificationService.cleanupOldReadNotifications(30);
 
         // Then
         assertThat(result).isEqualTo(1);
-        verify(notificationRepository, times(1)).findOldReadNotifications(any(LocalDateTime.class));
-        verify(notificationRepository, times(1)).deleteAll(anyList());
+        verify(notificationRetentionService, times(1)).deleteReadBefore(any(LocalDateTime.class));
+        verify(notificationRepository, never()).deleteAll(anyList());
     }
 
     @Test
@@ -396,4 +512,8 @@ class NotificationServiceTest {
         assertThat(result).hasSize(2);
         verify(notificationRepository, times(1)).countByTypeAndUserId(1L);
     }
+
+    private NotificationReadMark readMark(String scope, LocalDateTime readUpTo) {
+        return NotificationReadMark.builder().userId(1L).scope(scope).readUpTo(readUpTo).build();
+    }
 }
@@ -0,0 +1,89 @@
+package ac.cbnu.heartcheck.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+/**
+ * 결제 원장 이관 테스트
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("결제 원장 이관 테스트")
+class PaymentLedgerBackfillTest {
+
+    private static final Duration LEASE = Duration.ofSeconds(600);
+
+    @Mock
+    private PaymentLedgerService paymentLedgerService;
+
+    @Mock
+    private ClusterLeaseLock clusterLeaseLock;
+
+    @Test
+    @DisplayName("잠금을 얻은 노드만 이관하고 잠금을 풀어 줌")
+    void testBackfillWithLock() {
+        // Given
+        when(clusterLeaseLock.tryAcquire(PaymentLedgerBackfill.LOCK_NAME, LEASE)).thenReturn(true);
+        when(paymentLedgerService.backfillFromPayments()).thenReturn(6);
+
+        // When
+        int moved = backfill(true).backfill();
+
+        // Then
+        assertThat(moved).isEqualTo(6);
+        verify(clusterLeaseLock).release(PaymentLedgerBackfill.LOCK_NAME);
+    }
+
+    @Test
+    @DisplayName("다른 노드가 잠금을 가지고 있으면 건너뜀")
+    void testSkippedWithoutLock() {
+        // Given
+        when(clusterLeaseLock.tryAcquire(PaymentLedgerBackfill.LOCK_NAME, LEASE)).thenReturn(false);
+
+        // When
+        int moved = backfill(true).backfill();
+
+        // Then
+        assertThat(moved).isZero();
+        verifyNoInteractions(paymentLedgerService);
+    }
+
+    @Test
+    @DisplayName("이관이 실패해도 시작을 막지 않고 잠금을 풀어 줌")
+    void testFailureReleasesLock() {
+        // Given
+        when(clusterLeaseLock.tryAcquire(PaymentLedgerBackfill.LOCK_NAME, LEASE)).thenReturn(true);
+        when(paymentLedgerService.backfillFromPayments()).thenThrow(new IllegalStateException("boom"));
+
+        // When
+        int moved = backfill(true).backfill();
+
+        // Then
+        assertThat(moved).isZero();
+        verify(clusterLeaseLock).release(PaymentLedgerBackfill.LOCK_NAME);
+    }
+
+    @Test
+    @DisplayName("설정으로 끄면 잠금도 시도하지 않음")
+    void testDisabled() {
+        // When
+        int moved = backfill(false).backfill();
+
+        // Then
+        assertThat(moved).isZero();
+        verifyNoInteractions(clusterLeaseLock, paymentLedgerService);
+    }
+
+    private PaymentLedgerBackfill backfill(boolean enabled) {
+        return new PaymentLedgerBackfill(paymentLedgerService, clusterLeaseLock, enabled, LEASE.toSeconds());
+    }
+}
@@ -0,0 +1,277 @@
+package ac.cbnu.heartcheck.service;
+
+import ac.cbnu.heartcheck.entity.CostModel;
+import ac.cbnu.heartcheck.entity.Payment;
+import ac.cbnu.heartcheck.entity.Payment.PaymentStatus;
+import ac.cbnu.heartcheck.entity.PaymentLedgerEntry;
+import ac.cbnu.heartcheck.entity.PaymentLedgerEntry.EventType;
+import ac.cbnu.heartcheck.entity.User;
+import ac.cbnu.heartcheck.repository.DailyRevenueSnapshotRepository;
+import ac.cbnu.heartcheck.repository.PaymentLedgerRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+/**
+ * 결제 원장·일별 매출 스냅샷 서비스 테스트
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("결제 원장 서비스 테스트")
+class PaymentLedgerServiceTest {
+
+    private static final LocalDateTime PAID_AT = LocalDateTime.of(2024, 6, 15, 14, 30);
+
+    @Mock
+    private PaymentLedgerRepository paymentLedgerRepository;
+
+    @Mock
+    private DailyRevenueSnapshotRepository dailyRevenueSnapshotRepository;
+
+    @InjectMocks
+    private PaymentLedgerService paymentLedgerService;
+
+    private CostModel costModel;
+    private Payment payment;
+
+    @BeforeEach
+    void setUp() {
+        User user = User.builder()
+                .userId(1L)
+                .userName("홍길동")
+                .role(User.Role.USER)
+                .build();
+
+        costModel = CostModel.builder()
+                .costId((short) 1)
+                .type(CostModel.CostType.MONTHLY)
+                .cost(10000)
+                .build();
+
+        payment = Payment.builder()
+                .id(7L)
+                .user(user)
+                .costModel(costModel)
+                .status(PaymentStatus.SUCCESS)
+                .storeInfo("G")
+                .payTime(PAID_AT)
+                .build();
+    }
+
+    @Test
+    @DisplayName("구매 기록 - 현재 가격을 원장에 복사하고 그날 스냅샷에 더함")
+    void recordPurchase_AppendsAndAccumulates() {
+        // Given
+        when(paymentLedgerRepository.findByPaymentIdAndEventType(7L, EventType.PURCHASE)).thenReturn(Optional.empty());
+        when(paymentLedgerRepository.save(any(PaymentLedgerEntry.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // When
+        Optional<PaymentLedgerEntry> entry = paymentLedgerService.recordPurchase(payment, PAID_AT);
+
+        // Then
+        assertThat(entry).isPresent();
+        assertThat(entry.get().getAmount()).isEqualTo(10000);
+        assertThat(entry.get().getPlanType()).isEqualTo(CostModel.CostType.MONTHLY);
+        assertThat(entry.get().getBusinessDate()).isEqualTo(LocalDate.of(2024, 6, 15));
+        verify(dailyRevenueSnapshotRepository).accumulate(eq(LocalDate.of(2024, 6, 15)), eq("MONTHLY"), eq("G"),
+                eq(1L), eq(0L), eq(10000L), eq(0L), eq(10000L), any(LocalDateTime.class));
+    }
+
+    @Test
+    @DisplayName("구매 기록 - 이미 기록된 결제는 다시 쌓지 않음")
+    void recordPurchase_AlreadyRecorded() {
+        // Given
+        when(paymentLedgerRepository.findByPaymentIdAndEventType(7L, EventType.PURCHASE))
+                .thenReturn(Optional.of(entry(EventType.PURCHASE, 10000)));
+
+        // When
+        Optional<PaymentLedgerEntry> entry = paymentLedgerService.recordPurchase(payment, PAID_AT);
+
+        // Then
+        assertThat(entry).isEmpty();
+        verify(paymentLedgerRepository, never()).save(any());
+        verifyNoInteractions(dailyRevenueSnapshotRepository);
+    }
+
+    @Test
+    @DisplayName("환불 기록 - 가격이 바뀌어도 구매 당시 금액을 음수로 기록")
+    void recordRefund_UsesPurchaseAmount() {
+        // Given
+        costModel.setCost(15000);
+        LocalDateTime refundedAt = PAID_AT.plusDays(3);
+        when(paymentLedgerRepository.findByPaymentIdAndEventType(7L, EventType.REFUND)).thenReturn(Optional.empty());
+        when(paymentLedgerRepository.findByPaymentIdAndEventType(7L, EventType.PURCHASE))
+                .thenReturn(Optional.of(entry(EventType.PURCHASE, 10000)));
+        when(paymentLedgerRepository.save(any(PaymentLedgerEntry.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // When
+        Optional<PaymentLedgerEntry> entry = paymentLedgerService.recordRefund(payment, refundedAt);
+
+        // Then
+        assertThat(entry).isPresent();
+        assertThat(entry.get().getAmount()).isEqualTo(-10000);
+        verify(dailyRevenueSnapshotRepository).accumulate(eq(refundedAt.toLocalDate()), eq("MONTHLY"), eq("G"),
+                eq(0L), eq(1L), eq(0L), eq(10000L), eq(-10000L), any(LocalDateTime.class));
+    }
+
+    @Test
+    @DisplayName("매출 계산 - 온전한 날짜는 스냅샷, 양 끝 하루 안쪽 구간은 원장")
+    void calculateRevenue_SplitsFullDaysAndEdges() {
+        // Given
+        LocalDateTime start = LocalDateTime.of(2024, 6, 1, 12, 0);
+        LocalDateTime end = LocalDateTime.of(2024, 6, 30, 9, 0);
+        when(dailyRevenueSnapshotRepository.sumNetAmountBetween(LocalDate.of(2024, 6, 2), LocalDate.of(2024, 6, 29)))
+                .thenReturn(500000L);
+        when(paymentLedgerRepository.sumAmountBetween(start, LocalDate.of(2024, 6, 1).atTime(LocalTime.MAX)))
+                .thenReturn(10000L);
+        when(paymentLedgerRepository.sumAmountBetween(LocalDate.of(2024, 6, 30).atStartOfDay(), end))
+                .thenReturn(-5000L);
+
+        // When
+        long revenue = paymentLedgerService.calculateRevenue(start, end);
+
+        // Then
+        assertThat(revenue).isEqualTo(505000L);
+    }
+
+    @Test
+    @DisplayName("매출 계산 - 자정부터 하루 끝까지의 기간은 스냅샷만 사용")
+    void calculateRevenue_WholeDaysOnly() {
+        // Given
+        LocalDateTime start = LocalDate.of(2024, 6, 1).atStartOfDay();
+        LocalDateTime end = LocalDate.of(2024, 6, 30).atTime(LocalTime.MAX);
+        when(dailyRevenueSnapshotRepository.sumNetAmountBetween(LocalDate.of(2024, 6, 1), LocalDate.of(2024, 6, 30)))
+                .thenReturn(300000L);
+
+        // When
+        long revenue = paymentLedgerService.calculateRevenue(start, end);
+
+        // Then
+        assertThat(revenue).isEqualTo(300000L);
+        verify(paymentLedgerRepository, never()).sumAmountBetween(any(), any());
+    }
+
+    @Test
+    @DisplayName("매출 계산 - 하루보다 짧은 기간은 원장만 사용")
+    void calculateRevenue_WithinOneDay() {
+        // Given
+        LocalDateTime start = LocalDateTime.of(2024, 6, 15, 9, 0);
+        LocalDateTime end = LocalDateTime.of(2024, 6, 15, 18, 0);
+        when(paymentLedgerRepository.sumAmountBetween(start, end)).thenReturn(20000L);
+
+        // When
+        long revenue = paymentLedgerService.calculateRevenue(start, end);
+
+        // Then
+        assertThat(revenue).isEqualTo(20000L);
+        verifyNoInteractions(dailyRevenueSnapshotRepository);
+    }
+
+    @Test
+    @DisplayName("스냅샷 재구성 - 기간 내 행을 지우고 원장에서 다시 집계")
+    void rebuildSnapshots_Success() {
+        // Given
+        LocalDate from = LocalDate.of(2024, 6, 1);
+        LocalDate to = LocalDate.of(2024, 6, 30);
+        when(dailyRevenueSnapshotRepository.deleteBySnapshotDateBetween(from, to)).thenReturn(40);
+        when(dailyRevenueSnapshotRepository.rebuildFromLedger(eq(from), eq(to), any(LocalDateTime.class)))
+                .thenReturn(42);
+
+        // When
+        int rows = paymentLedgerService.rebuildSnapshots(from, to);
+
+        // Then
+        assertThat(rows).isEqualTo(42);
+    }
+
+    @Test
+    @DisplayName("스냅샷 재구성 실패 - 종료일이 시작일보다 빠름")
+    void rebuildSnapshots_InvalidRange() {
+        assertThatThrownBy(() -> paymentLedgerService.rebuildSnapshots(LocalDate.of(2024, 6, 30), LocalDate.of(2024, 6, 1)))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("종료일이 시작일보다 빠릅니다");
+        verifyNoInteractions(dailyRevenueSnapshotRepository);
+    }
+
+    @Test
+    @DisplayName("전체 재구성 - 원장이 비어 있으면 아무것도 하지 않음")
+    void rebuildAllSnapshots_EmptyLedger() {
+        // Given
+        when(paymentLedgerRepository.findFirstBusinessDate()).thenReturn(Optional.empty());
+        when(paymentLedgerRepository.findLastBusinessDate()).thenReturn(Optional.empty());
+
+        // When
+        int rows = paymentLedgerService.rebuildAllSnapshots();
+
+        // Then
+        assertThat(rows).isZero();
+        verifyNoInteractions(dailyRevenueSnapshotRepository);
+    }
+
+    @Test
+    @DisplayName("원장 이관 - 옮긴 행이 있으면 전체 스냅샷 재구성")
+    void backfillFromPayments_RebuildsSnapshots() {
+        // Given
+        LocalDate first = LocalDate.of(2024, 1, 2);
+        LocalDate last = LocalDate.of(2024, 6, 15);
+        when(paymentLedgerRepository.backfillPurchases(any(LocalDateTime.class))).thenReturn(5);
+        when(paymentLedgerRepository.backfillRefunds(any(LocalDateTime.class))).thenReturn(1);
+        when(paymentLedgerRepository.findFirstBusinessDate()).thenReturn(Optional.of(first));
+        when(paymentLedgerRepository.findLastBusinessDate()).thenReturn(Optional.of(last));
+
+        // When
+        int moved = paymentLedgerService.backfillFromPayments();
+
+        // Then
+        assertThat(moved).isEqualTo(6);
+        verify(dailyRevenueSnapshotRepository).deleteBySnapshotDateBetween(first, last);
+        verify(dailyRevenueSnapshotRepository).rebuildFromLedger(eq(first), eq(last), any(LocalDateTime.class));
+    }
+
+    @Test
+    @DisplayName("원장 이관 - 이미 옮긴 뒤 다시 실행하면 스냅샷을 건드리지 않음")
+    void backfillFromPayments_AlreadyDone() {
+        // Given
+        when(paymentLedgerRepository.backfillPurchases(any(LocalDateTime.class))).thenReturn(0);
+        when(paymentLedgerRepository.backfillRefunds(any(LocalDateTime.class))).thenReturn(0);
+
+        // When
+        int moved = paymentLedgerService.backfillFromPayments();
+
+        // Then
+        assertThat(moved).isZero();
+        verifyNoInteractions(dailyRevenueSnapshotRepository);
+    }
+
+    private PaymentLedgerEntry entry(EventType eventType, int amount) {
+        return PaymentLedgerEntry.builder()
+                .id(1L)
+                .paymentId(7L)
+                .userId(1L)
+                .costId((short) 1)
+                .planType(CostModel.CostType.MONTHLY)
+                .storeInfo("G")
+                .eventType(eventType)
+                .amount(amount)
+                .occurredAt(PAID_AT)
+                .businessDate(PAID_AT.toLocalDate())
+                .build();
+    }
+}
@@ -17,6 +17,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
@@ -56,6 +57,12 @@ class PaymentServiceTest {
     @Mock
     private SubscriptionService subscriptionService;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private PaymentLedgerService paymentLedgerService;
+
     @InjectMocks
     private PaymentService paymentService;
 
@@ -164,23 +171,151 @@ class PaymentServiceTest {
     }
 
     @Test
-    @DisplayName("결제 완료 성공 - 구독 생성됨")
-    void completePayment_Success_WithSubscription() {
+    @DisplayName("결제 완료 요청 - 검증 중으로 기록하고 검증 이벤트 발행")
+    void completePayment_RecordsVerifying() {
         // Given
         when(paymentRepository.findById(1L)).thenReturn(Optional.of(testPayment));
         when(paymentRepository.findByTransactionId("TXN123")).thenReturn(Optional.empty());
         when(paymentRepository.save(any(Payment.class))).thenReturn(testPayment);
-        when(subscriptionService.createSubscription(1L, (short) 1)).thenReturn(testSubscription);
-        when(subscriptionService.activateSubscription(1L)).thenReturn(testSubscription);
 
         // When
         Payment result = paymentService.completePayment(1L, "TXN123");
 
         // Then
-        assertThat(result).isNotNull();
-        verify(subscriptionService, times(1)).createSubscription(1L, (short) 1);
-        verify(subscriptionService, times(1)).activateSubscription(1L);
+        assertThat(result.getStatus()).isEqualTo(PaymentStatus.VERIFYING);
+        assertThat(result.getTransactionId()).isEqualTo("TXN123");
+        assertThat(result.getNextVerifyAt()).isNotNull();
+        verify(eventPublisher).publishEvent(new PaymentService.PaymentVerificationRequestedEvent(1L));
+        verifyNoInteractions(subscriptionService);
+    }
+
+    @Test
+    @DisplayName("결제 완료 요청 실패 - 이미 검증 중인 결제")
+    void completePayment_AlreadyVerifying() {
+        // Given
+        testPayment.markAsVerifying("TXN123");
+        when(paymentRepository.findById(1L)).thenReturn(Optional.of(testPayment));
+
+        // When & Then
+        assertThatThrownBy(() -> paymentService.completePayment(1L, "TXN123"))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("이미 검증 중인 결제입니다");
+        verify(eventPublisher, never()).publishEvent(any());
+    }
+
+    @Test
+    @DisplayName("결제 완료 요청 실패 - 트랜잭션 ID 없음")
+    void completePayment_MissingTransactionId() {
+        // Given
+        when(paymentRepository.findById(1L)).thenReturn(Optional.of(testPayment));
+
+        // When & Then
+        assertThatThrownBy(() -> paymentService.completePayment(1L, " "))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("트랜잭션 ID는 필수입니다");
+    }
+
+    @Test
+    @DisplayName("검증 점유 성공 - 영수증 정보 반환")
+    void claimVerification_Success() {
+        // Given
+        LocalDateTime now = LocalDateTime.now();
+        testPayment.markAsVerifying("TXN123");
+        testPayment.setVerifyAttempts(1);
+        when(paymentRepository.claimVerification(1L, now, now.plusMinutes(1))).thenReturn(1);
+        when(paymentRepository.findWithCostModelById(1L)).thenReturn(Optional.of(testPayment));
+
+        // When
+        ReceiptVerificationClient.Receipt receipt = paymentService.claimVerification(1L, now, now.plusMinutes(1));
+
+        // Then
+        assertThat(receipt).isEqualTo(new ReceiptVerificationClient.Receipt(
+                1L, StoreType.GOOGLE, "TXN123", CostModel.CostType.MONTHLY, 1));
+    }
+
+    @Test
+    @DisplayName("검증 점유 실패 - 다른 작업자가 점유 중")
+    void claimVerification_AlreadyClaimed() {
+        // Given
+        LocalDateTime now = LocalDateTime.now();
+        when(paymentRepository.claimVerification(1L, now, now.plusMinutes(1))).thenReturn(0);
+
+        // When
+        ReceiptVerificationClient.Receipt receipt = paymentService.claimVerification(1L, now, now.plusMinutes(1));
+
+        // Then
+        assertThat(receipt).isNull();
+        verify(paymentRepository, never()).findWithCostModelById(anyLong());
+    }
+
+    @Test
+    @DisplayName("검증 확정 - 확인되면 결제 완료 및 구독 반영")
+    void finishVerification_Verified_WithSubscription() {
+        // Given
+        testPayment.markAsVerifying("TXN123");
+        when(paymentRepository.findWithCostModelById(1L)).thenReturn(Optional.of(testPayment));
+        when(paymentRepository.save(any(Payment.class))).thenReturn(testPayment);
+        when(subscriptionService.renewSubscription(1L, (short) 1)).thenReturn(testSubscription);
+
+        // When
+        Payment result = paymentService.finishVerification(1L, true, null);
+
+        // Then
+        assertThat(result.getStatus()).isEqualTo(PaymentStatus.SUCCESS);
+        assertThat(result.getTransactionId()).isEqualTo("TXN123");
+        assertThat(result.getSubscription()).isEqualTo(testSubscription);
+        verify(subscriptionService, times(1)).renewSubscription(1L, (short) 1);
         verify(paymentRepository, times(2)).save(any(Payment.class)); // 두 번 호출됨 (완료 처리 + 구독 연결)
+        verify(paymentLedgerService).recordPurchase(testPayment, testPayment.getPayTime());
+    }
+
+    @Test
+    @DisplayName("검증 확정 - 구독 반영 실패는 삼키지 않고 올려 보내 트랜잭션을 되돌림")
+    void finishVerification_SubscriptionFailurePropagates() {
+        // Given
+        testPayment.markAsVerifying("TXN123");
+        when(paymentRepository.findWithCostModelById(1L)).thenReturn(Optional.of(testPayment));
+        when(paymentRepository.save(any(Payment.class))).thenReturn(testPayment);
+        when(subscriptionService.renewSubscription(1L, (short) 1))
+                .thenThrow(new IllegalArgumentException("요금제를 찾을 수 없습니다: 1"));
+
+        // When & Then
+        assertThatThrownBy(() -> paymentService.finishVerification(1L, true, null))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("검증 확정 - 거절되면 사유와 함께 결제 실패")
+    void finishVerification_Rejected() {
+        // Given
+        testPayment.markAsVerifying("TXN123");
+        when(paymentRepository.findWithCostModelById(1L)).thenReturn(Optional.of(testPayment));
+        when(paymentRepository.save(any(Payment.class))).thenReturn(testPayment);
+
+        // When
+        Payment result = paymentService.finishVerification(1L, false, "HTTP 404");
+
+        // Then
+        assertThat(result.getStatus()).isEqualTo(PaymentStatus.FAIL);
+        assertThat(result.getVerifyError()).isEqualTo("HTTP 404");
+        assertThat(result.getNextVerifyAt()).isNull();
+        verifyNoInteractions(subscriptionService, paymentLedgerService);
+    }
+
+    @Test
+    @DisplayName("검증 확정 - 이미 확정된 결제는 그대로 둠")
+    void finishVerification_NotVerifying() {
+        // Given
+        testPayment.markAsCanceled();
+        when(paymentRepository.findWithCostModelById(1L)).thenReturn(Optional.of(testPayment));
+
+        // When
+        Payment result = paymentService.finishVerification(1L, true, null);
+
+        // Then
+        assertThat(result.getStatus()).isEqualTo(PaymentStatus.CANCELED);
+        verify(paymentRepository, never()).save(any(Payment.class));
+        verifyNoInteractions(subscriptionService);
     }
 
     @Test
@@ -320,6 +455,7 @@ class PaymentServiceTest {
         assertThat(result).isNotNull();
         verify(subscriptionService, times(1)).cancelSubscription(1L);
         verify(paymentRepository, times(1)).save(any(Payment.class));
+        verify(paymentLedgerService).recordRefund(eq(testPayment), any(LocalDateTime.class));
     }
 
     @Test
@@ -463,21 +599,19 @@ class PaymentServiceTest {
     }
 
     @Test
-    @DisplayName("매출 계산 성공")
+    @DisplayName("매출 계산 - 일별 스냅샷 합산 결과 반환")
     void calculateRevenue_Success() {
         // Given
         LocalDateTime startDate = LocalDateTime.now().minusDays(30);
         LocalDateTime endDate = LocalDateTime.now();
-        BigDecimal revenue = new BigDecimal("100000");
 
-        when(paymentRepository.calculateRevenueByDateRange(startDate, endDate))
-                .thenReturn(revenue);
+        when(paymentLedgerService.calculateRevenue(startDate, endDate)).thenReturn(100000L);
 
         // When
         BigDecimal result = paymentService.calculateRevenue(startDate, endDate);
 
         // Then
-        assertThat(result).isEqualTo(revenue);
+        assertThat(result).isEqualTo(new BigDecimal("100000"));
     }
 
     @Test
@@ -487,14 +621,13 @@ class PaymentServiceTest {
         LocalDateTime startDate = LocalDateTime.now().minusDays(30);
         LocalDateTime endDate = LocalDateTime.now();
 
-        when(paymentRepository.calculateRevenueByDateRange(startDate, endDate))
-                .thenReturn(null);
+        when(paymentLedgerService.calculateRevenue(startDate, endDate)).thenReturn(0L);
 
         // When
         BigDecimal result = paymentService.calculateRevenue(startDate, endDate);
 
         // Then
-        assertThat(result).isEqualTo(BigDecimal.ZERO);
+        assertThat(result).isEqualByComparingTo(BigDecimal.ZERO);
     }
 
     @Test
@@ -502,11 +635,11 @@ class PaymentServiceTest {
     void getPaymentStatsByPlan_Success() {
         // Given
         List<Object[]> stats = Arrays.asList(
-                new Object[]{"MONTHLY", 10L},
-                new Object[]{"YEARLY", 5L}
+                new Object[]{CostModel.CostType.MONTHLY, 10L},
+                new Object[]{CostModel.CostType.YEARLY, 5L}
         );
 
-        when(paymentRepository.countByPlanType()).thenReturn(stats);
+        when(paymentLedgerService.countByPlanType()).thenReturn(stats);
 
         // When
         List<Object[]> result = paymentService.getPaymentStatsByPlan();
@@ -514,5 +647,20 @@ class PaymentServiceTest {
         // Then
         assertThat(result).hasSize(2);
         assertThat(result).isEqualTo(stats);
+        verifyNoInteractions(paymentRepository);
+    }
+
+    @Test
+    @DisplayName("매출 스냅샷 재구성 - 기간이 없으면 원장 전체")
+    void rebuildRevenueSnapshots_AllWhenNoRange() {
+        // Given
+        when(paymentLedgerService.rebuildAllSnapshots()).thenReturn(12);
+
+        // When
+        int rows = paymentService.rebuildRevenueSnapshots(null, null);
+
+        // Then
+        assertThat(rows).isEqualTo(12);
+        verify(paymentLedgerService, never()).rebuildSnapshots(any(), any());
     }
 }
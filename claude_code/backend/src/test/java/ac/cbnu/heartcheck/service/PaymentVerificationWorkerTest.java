@@ -0,0 +1,245 @@
+package ac.cbnu.heartcheck.service;
+
+import ac.cbnu.heartcheck.entity.CostModel.CostType;
+import ac.cbnu.heartcheck.entity.Payment.StoreType;
+import ac.cbnu.heartcheck.repository.PaymentRepository;
+import ac.cbnu.heartcheck.service.PaymentService.PaymentVerificationRequestedEvent;
+import ac.cbnu.heartcheck.service.ReceiptVerificationClient.Outcome;
+import ac.cbnu.heartcheck.service.ReceiptVerificationClient.Receipt;
+import ac.cbnu.heartcheck.service.ReceiptVerificationClient.Verification;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * 결제 영수증 검증 작업자 테스트
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("결제 영수증 검증 작업자 테스트")
+class PaymentVerificationWorkerTest {
+
+    private static final Clock CLOCK = Clock.fixed(Instant.parse("2024-06-15T00:00:00Z"), ZoneId.of("Asia/Seoul"));
+    private static final LocalDateTime NOW = LocalDateTime.now(CLOCK);
+
+    @Mock
+    private PaymentRepository paymentRepository;
+
+    @Mock
+    private PaymentService paymentService;
+
+    @Mock
+    private ReceiptVerificationClient receiptVerificationClient;
+
+    private SimpleMeterRegistry meterRegistry;
+    private ExecutorService workers;
+    private PaymentVerificationWorker worker;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        workers = Executors.newSingleThreadExecutor();
+        worker = new PaymentVerificationWorker(paymentRepository, paymentService, receiptVerificationClient,
+                meterRegistry, workers, 10, 3, Duration.ofMinutes(1), Duration.ofSeconds(2), Duration.ofMinutes(10),
+                CLOCK);
+    }
+
+    @AfterEach
+    void tearDown() {
+        workers.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("확인된 영수증은 결제 완료로 확정")
+    void testVerified() {
+        // Given
+        Receipt receipt = receipt(1L, 1);
+        when(paymentService.claimVerification(1L, NOW, NOW.plusMinutes(1))).thenReturn(receipt);
+        when(receiptVerificationClient.verify(receipt)).thenReturn(Verification.verified(200));
+
+        // When
+        Outcome outcome = worker.verify(1L);
+
+        // Then
+        assertThat(outcome).isEqualTo(Outcome.VERIFIED);
+        verify(paymentService).finishVerification(1L, true, null);
+        assertThat(meterRegistry.counter("payment.verification.verified", "store", "G").count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("거절된 영수증은 사유와 함께 결제 실패로 확정")
+    void testRejected() {
+        // Given
+        Receipt receipt = receipt(2L, 1);
+        when(paymentService.claimVerification(2L, NOW, NOW.plusMinutes(1))).thenReturn(receipt);
+        when(receiptVerificationClient.verify(receipt)).thenReturn(Verification.rejected(404, "HTTP 404"));
+
+        // When
+        Outcome outcome = worker.verify(2L);
+
+        // Then
+        assertThat(outcome).isEqualTo(Outcome.REJECTED);
+        verify(paymentService).finishVerification(2L, false, "HTTP 404");
+    }
+
+    @Test
+    @DisplayName("재시도 대상은 백오프와 Retry-After 중 긴 쪽 뒤로 예약")
+    void testRetryScheduled() {
+        // Given
+        Receipt receipt = receipt(3L, 1);
+        when(paymentService.claimVerification(3L, NOW, NOW.plusMinutes(1))).thenReturn(receipt);
+        when(receiptVerificationClient.verify(receipt))
+                .thenReturn(Verification.retry(503, "HTTP 503", Duration.ofSeconds(30)));
+
+        // When
+        Outcome outcome = worker.verify(3L);
+
+        // Then
+        assertThat(outcome).isEqualTo(Outcome.RETRY);
+        ArgumentCaptor<LocalDateTime> next = ArgumentCaptor.forClass(LocalDateTime.class);
+        verify(paymentService).retryVerification(eq(3L), next.capture(), eq("HTTP 503"));
+        assertThat(next.getValue()).isEqualTo(NOW.plusSeconds(30));
+        verify(paymentService, never()).finishVerification(any(), anyBoolean(), any());
+    }
+
+    @Test
+    @DisplayName("max-attempts를 다 쓴 재시도 대상은 결제 실패로 확정")
+    void testRetryExhausted() {
+        // Given
+        Receipt receipt = receipt(4L, 3);
+        when(paymentService.claimVerification(4L, NOW, NOW.plusMinutes(1))).thenReturn(receipt);
+        when(receiptVerificationClient.verify(receipt)).thenReturn(Verification.retry(0, "ConnectException", null));
+
+        // When
+        worker.verify(4L);
+
+        // Then
+        verify(paymentService).finishVerification(4L, false, "ConnectException");
+        verify(paymentService, never()).retryVerification(any(), any(), any());
+        assertThat(meterRegistry.counter("payment.verification.failed", "store", "G").count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("확정이 거듭 실패해 max-attempts를 넘긴 결제는 스토어를 호출하지 않고 실패로 확정")
+    void testClaimExhausted() {
+        // Given
+        Receipt receipt = receipt(9L, 4);
+        when(paymentService.claimVerification(9L, NOW, NOW.plusMinutes(1))).thenReturn(receipt);
+
+        // When
+        Outcome outcome = worker.verify(9L);
+
+        // Then
+        assertThat(outcome).isEqualTo(Outcome.REJECTED);
+        verify(receiptVerificationClient, never()).verify(any());
+        verify(paymentService).finishVerification(9L, false, "Verification attempts exhausted");
+        assertThat(meterRegistry.counter("payment.verification.failed", "store", "G").count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("스토어 인증 오류는 시도 횟수를 되돌리고 max-backoff 뒤로 미룸")
+    void testUnauthorizedDeferred() {
+        // Given
+        Receipt receipt = receipt(10L, 3);
+        when(paymentService.claimVerification(10L, NOW, NOW.plusMinutes(1))).thenReturn(receipt);
+        when(receiptVerificationClient.verify(receipt)).thenReturn(Verification.unauthorized(401, "HTTP 401"));
+
+        // When
+        Outcome outcome = worker.verify(10L);
+
+        // Then
+        assertThat(outcome).isEqualTo(Outcome.UNAUTHORIZED);
+        verify(paymentService).deferVerification(10L, NOW.plusMinutes(10), "HTTP 401");
+        verify(paymentService, never()).finishVerification(any(), anyBoolean(), any());
+        assertThat(meterRegistry.counter("payment.verification.unauthorized", "store", "G").count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("다른 작업자가 점유한 결제는 스토어를 호출하지 않음")
+    void testNotClaimed() {
+        // Given
+        when(paymentService.claimVerification(5L, NOW, NOW.plusMinutes(1))).thenReturn(null);
+
+        // When
+        Outcome outcome = worker.verify(5L);
+
+        // Then
+        assertThat(outcome).isNull();
+        verify(receiptVerificationClient, never()).verify(any());
+    }
+
+    @Test
+    @DisplayName("완료 요청 커밋 후 작업자 풀에서 검증")
+    void testVerificationRequestedEvent() {
+        // Given
+        Receipt receipt = receipt(6L, 1);
+        when(paymentService.claimVerification(6L, NOW, NOW.plusMinutes(1))).thenReturn(receipt);
+        when(receiptVerificationClient.verify(receipt)).thenReturn(Verification.verified(200));
+
+        // When
+        worker.onVerificationRequested(new PaymentVerificationRequestedEvent(6L));
+
+        // Then
+        verify(paymentService, timeout(1000)).finishVerification(6L, true, null);
+    }
+
+    @Test
+    @DisplayName("폴링은 처리 중인 결제를 다시 넣지 않음")
+    void testPollSkipsInFlight() throws Exception {
+        // Given
+        CountDownLatch release = new CountDownLatch(1);
+        when(paymentService.claimVerification(7L, NOW, NOW.plusMinutes(1))).thenAnswer(invocation -> {
+            release.await(1, TimeUnit.SECONDS);
+            return null;
+        });
+        worker.submit(7L);
+        when(paymentRepository.findDueVerificationIds(eq(NOW), any())).thenReturn(List.of(7L, 8L));
+        when(paymentService.claimVerification(8L, NOW, NOW.plusMinutes(1))).thenReturn(null);
+
+        // When
+        int submitted = worker.poll();
+        release.countDown();
+
+        // Then
+        assertThat(submitted).isEqualTo(1);
+        verify(paymentService, timeout(1000)).claimVerification(8L, NOW, NOW.plusMinutes(1));
+    }
+
+    @Test
+    @DisplayName("백오프는 0 ~ min(상한, 시작값 * 2^(시도-1)) 범위")
+    void testBackoffRange() {
+        for (int attempts = 1; attempts <= 12; attempts++) {
+            long ceiling = Math.min(Duration.ofMinutes(10).toMillis(), 2000L << (attempts - 1));
+            assertThat(worker.backoff(attempts).toMillis()).isBetween(0L, ceiling);
+        }
+    }
+
+    private static Receipt receipt(Long paymentId, int attempts) {
+        return new Receipt(paymentId, StoreType.GOOGLE, "token-" + paymentId, CostType.MONTHLY, attempts);
+    }
+}
@@ -0,0 +1,89 @@
+package ac.cbnu.heartcheck.service;
+
+import ac.cbnu.heartcheck.entity.CostModel;
+import ac.cbnu.heartcheck.entity.Subscription;
+import ac.cbnu.heartcheck.entity.UserType;
+import ac.cbnu.heartcheck.service.EntitlementCache.Entitlement;
+import ac.cbnu.heartcheck.service.PlanTierCache.PlanTier;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+/**
+ * 요금제 등급 조회 테스트
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("요금제 등급 조회 테스트")
+class PlanTierCacheTest {
+
+    @Mock
+    private EntitlementCache entitlementCache;
+
+    @InjectMocks
+    private PlanTierCache planTierCache;
+
+    @Test
+    @DisplayName("유효한 구독은 구독의 일일 한도로 제한")
+    void testPremiumTier() {
+        // Given
+        when(entitlementCache.get(1L)).thenReturn(entitlement(LocalDateTime.now().plusDays(3), false));
+
+        // When
+        PlanTier tier = planTierCache.get(1L);
+
+        // Then
+        assertThat(tier).isEqualTo(PlanTier.premiumTier(5));
+    }
+
+    @Test
+    @DisplayName("종료 시각이 지난 구독은 만료 처리 전이라도 무료 등급")
+    void testEndedSubscriptionIsFree() {
+        // Given
+        when(entitlementCache.get(1L)).thenReturn(entitlement(LocalDateTime.now().minusMinutes(1), false));
+
+        // When
+        PlanTier tier = planTierCache.get(1L);
+
+        // Then
+        assertThat(tier.userType()).isEqualTo(UserType.FREE_USER);
+        assertThat(tier).isEqualTo(PlanTier.freeTier());
+    }
+
+    @Test
+    @DisplayName("관리자/의사는 구독과 무관하게 무제한")
+    void testUnlimitedRole() {
+        // Given
+        when(entitlementCache.get(1L)).thenReturn(Entitlement.none().withUnlimited(true));
+
+        // When
+        PlanTier tier = planTierCache.get(1L);
+
+        // Then
+        assertThat(tier.unlimited()).isTrue();
+    }
+
+    @Test
+    @DisplayName("구독이 없으면 무료 등급")
+    void testNoSubscriptionIsFree() {
+        // Given
+        when(entitlementCache.get(1L)).thenReturn(Entitlement.none());
+
+        // When
+        PlanTier tier = planTierCache.get(1L);
+
+        // Then
+        assertThat(tier).isEqualTo(PlanTier.freeTier());
+    }
+
+    private static Entitlement entitlement(LocalDateTime toDate, boolean unlimited) {
+        return new Entitlement(5L, Subscription.SubscriptionStatus.ACTIVE, CostModel.CostType.MONTHLY, 5, toDate, unlimited);
+    }
+}
@@ -0,0 +1,155 @@
+package ac.cbnu.heartcheck.service;
+
+import ac.cbnu.heartcheck.entity.DeviceToken.Provider;
+import ac.cbnu.heartcheck.repository.NotificationDeliveryJdbcRepository.PendingDelivery;
+import ac.cbnu.heartcheck.service.PushGatewayClient.Outcome;
+import ac.cbnu.heartcheck.service.PushGatewayClient.PushResult;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.net.http.HttpClient;
+import java.net.http.HttpHeaders;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+/**
+ * 푸시 게이트웨이 클라이언트 테스트 (로컬 가짜 게이트웨이 사용)
+ */
+@DisplayName("푸시 게이트웨이 클라이언트 테스트")
+class PushGatewayClientTest {
+
+    private static StubPushGateway.Server healthy;
+    private static StubPushGateway.Server flaky;
+
+    @BeforeAll
+    static void startGateways() {
+        healthy = StubPushGateway.start(StubPushGateway.Behavior.healthy());
+        flaky = StubPushGateway.start(new StubPushGateway.Behavior(Duration.ZERO, 1, 0));
+    }
+
+    @AfterAll
+    static void stopGateways() {
+        healthy.close();
+        flaky.close();
+    }
+
+    @Test
+    @DisplayName("제공자별 묶음 전송 - 수락은 메시지 ID, 만료 토큰은 INVALID_TOKEN")
+    void testSendBatch() {
+        // Given
+        PushGatewayClient client = client(healthy, 4);
+        List<PendingDelivery> fcm = List.of(delivery(1, Provider.FCM, "fcm-a"), delivery(2, Provider.FCM, "invalid-b"),
+                delivery(3, Provider.FCM, "fcm-c"));
+        List<PendingDelivery> apns = List.of(delivery(4, Provider.APNS, "apns-a"), delivery(5, Provider.APNS, "invalid-b"));
+
+        // When
+        List<PushResult> fcmResults = client.send(Provider.FCM, fcm).join();
+        List<PushResult> apnsResults = client.send(Provider.APNS, apns).join();
+
+        // Then
+        assertThat(fcmResults).extracting(PushResult::outcome)
+                .containsExactly(Outcome.DELIVERED, Outcome.INVALID_TOKEN, Outcome.DELIVERED);
+        assertThat(fcmResults.get(0).providerMessageId()).startsWith("projects/heart/messages/");
+        assertThat(apnsResults).extracting(PushResult::outcome).containsExactly(Outcome.DELIVERED, Outcome.INVALID_TOKEN);
+        assertThat(apnsResults.get(0).providerMessageId()).isNotBlank();
+        assertThat(apnsResults.get(1).status()).isEqualTo(410);
+    }
+
+    @Test
+    @DisplayName("503은 Retry-After와 함께 재시도 대상으로 분류되고 다음 시도는 수락")
+    void testRetryableFailure() {
+        // Given
+        PushGatewayClient client = client(flaky, 4);
+        List<PendingDelivery> batch = List.of(delivery(1, Provider.APNS, "retry-me"));
+
+        // When
+        PushResult first = client.send(Provider.APNS, batch).join().get(0);
+        PushResult second = client.send(Provider.APNS, batch).join().get(0);
+
+        // Then
+        assertThat(first.outcome()).isEqualTo(Outcome.RETRY);
+        assertThat(first.status()).isEqualTo(503);
+        assertThat(first.retryAfter()).isEqualTo(Duration.ZERO);
+        assertThat(second.outcome()).isEqualTo(Outcome.DELIVERED);
+    }
+
+    @Test
+    @DisplayName("동시 스트림 수는 설정값을 넘지 않음")
+    void testConcurrentStreamLimit() {
+        // Given
+        try (StubPushGateway.Server slow = StubPushGateway.start(
+                new StubPushGateway.Behavior(Duration.ofMillis(50), 0, 0))) {
+            PushGatewayClient client = client(slow, 8);
+            List<PendingDelivery> batch = LongStream.rangeClosed(1, 40)
+                    .mapToObj(id -> delivery(id, Provider.FCM, "fcm-" + id))
+                    .toList();
+
+            // When
+            List<PushResult> results = client.send(Provider.FCM, batch).join();
+
+            // Then
+            assertThat(results).allMatch(result -> result.outcome() == Outcome.DELIVERED);
+            assertThat(slow.maxInFlight()).isLessThanOrEqualTo(8);
+        }
+    }
+
+    @Test
+    @DisplayName("APNs BadDeviceToken은 만료 토큰, FCM INVALID_ARGUMENT는 거절")
+    @SuppressWarnings("unchecked")
+    void testClassifyBadRequest() {
+        // Given
+        PushGatewayClient client = client(healthy, 1);
+        HttpResponse<String> apns = Mockito.mock(HttpResponse.class);
+        when(apns.statusCode()).thenReturn(400);
+        when(apns.body()).thenReturn("{\"reason\":\"BadDeviceToken\"}");
+        HttpResponse<String> fcm = Mockito.mock(HttpResponse.class);
+        when(fcm.statusCode()).thenReturn(400);
+        when(fcm.body()).thenReturn("{\"error\":{\"status\":\"INVALID_ARGUMENT\"}}");
+
+        // When & Then
+        assertThat(client.classify(Provider.APNS, apns).outcome()).isEqualTo(Outcome.INVALID_TOKEN);
+        assertThat(client.classify(Provider.FCM, fcm).outcome()).isEqualTo(Outcome.REJECTED);
+    }
+
+    @Test
+    @DisplayName("429 응답의 Retry-After 초를 읽음")
+    @SuppressWarnings("unchecked")
+    void testRetryAfterHeader() {
+        // Given
+        PushGatewayClient client = client(healthy, 1);
+        HttpResponse<String> response = Mockito.mock(HttpResponse.class);
+        when(response.statusCode()).thenReturn(429);
+        when(response.body()).thenReturn("");
+        when(response.headers()).thenReturn(HttpHeaders.of(Map.of("Retry-After", List.of("30")), (name, value) -> true));
+
+        // When
+        PushResult result = client.classify(Provider.FCM, response);
+
+        // Then
+        assertThat(result.outcome()).isEqualTo(Outcome.RETRY);
+        assertThat(result.retryAfter()).isEqualTo(Duration.ofSeconds(30));
+    }
+
+    private static PushGatewayClient client(StubPushGateway.Server gateway, int maxConcurrentStreams) {
+        HttpClient httpClient = HttpClient.newBuilder().version(HttpClient.Version.HTTP_2).build();
+        return new PushGatewayClient(httpClient, new ObjectMapper(), new SimpleMeterRegistry(),
+                gateway.url(), "heart", "", gateway.url(), "ac.cbnu.heartcheck", "", 5000, maxConcurrentStreams);
+    }
+
+    static PendingDelivery delivery(long id, Provider provider, String token) {
+        return new PendingDelivery(id, 100 + id, 10 + id, provider, token, 1, LocalDateTime.now(),
+                "HEALTH", "건강 검진 알림", "정기 건강 검진을 받으세요", null, 2);
+    }
+}
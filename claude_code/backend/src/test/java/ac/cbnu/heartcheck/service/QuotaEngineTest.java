@@ -0,0 +1,258 @@
+package ac.cbnu.heartcheck.service;
+
+import ac.cbnu.heartcheck.service.PlanTierCache.PlanTier;
+import ac.cbnu.heartcheck.service.QuotaEngine.QuotaResult;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+/**
+ * 사용량 제한 엔진 테스트
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("사용량 제한 엔진 테스트")
+class QuotaEngineTest {
+
+    @Mock
+    private StringRedisTemplate stringRedisTemplate;
+
+    @Mock
+    private RedisTemplate<String, Long> counterRedisTemplate;
+
+    @Mock
+    private ValueOperations<String, Long> valueOperations;
+
+    @Mock
+    private PlanTierCache planTierCache;
+
+    @Mock
+    private ClusterMembership clusterMembership;
+
+    private CircuitBreaker circuitBreaker;
+
+    private DegradedQuotaLimiter degradedQuotaLimiter;
+
+    private QuotaEngine quotaEngine;
+
+    private final String today = LocalDate.now().toString();
+
+    @BeforeEach
+    void setUp() {
+        circuitBreaker = CircuitBreaker.ofDefaults("test");
+        lenient().when(clusterMembership.liveNodeCount()).thenReturn(2);
+        degradedQuotaLimiter = new DegradedQuotaLimiter(new SimpleMeterRegistry(), clusterMembership, 1000);
+        quotaEngine = new QuotaEngine(stringRedisTemplate, counterRedisTemplate, planTierCache,
+                circuitBreaker, degradedQuotaLimiter);
+    }
+
+    @Test
+    @DisplayName("FREE_USER 허용 - 총 사용량 키로 검사, 만료 없음")
+    @SuppressWarnings("unchecked")
+    void testTryAcquireFreeUserAllowed() {
+        // Given
+        when(planTierCache.get(1L)).thenReturn(PlanTier.freeTier());
+        when(stringRedisTemplate.execute(any(RedisScript.class),
+                eq(List.of("user:1:total_usage", "daily_usage:1:" + today, "daily_usage:dirty",
+                        "usage_stats:" + today + ":active", "usage_stats:" + today + ":top",
+                        "usage_stats:" + today + ":minutes", "usage_stats:" + today + ":total")),
+                eq("1"), eq("0"), eq("93600"), eq("1:" + today + ":1"), anyString(),
+                eq("1"), anyString(), eq("691200")))
+                .thenReturn(List.of(1L, 1L));
+
+        // When
+        QuotaResult result = quotaEngine.tryAcquire(1L);
+
+        // Then
+        assertThat(result.allowed()).isTrue();
+        assertThat(result.used()).isEqualTo(1);
+        assertThat(result.remaining()).isZero();
+    }
+
+    @Test
+    @DisplayName("FREE_USER 거부 - 총 1회 사용 후")
+    @SuppressWarnings("unchecked")
+    void testTryAcquireFreeUserDenied() {
+        // Given
+        when(planTierCache.get(1L)).thenReturn(PlanTier.freeTier());
+        when(stringRedisTemplate.execute(any(RedisScript.class), any(List.class),
+                eq("1"), eq("0"), anyString(), anyString(), anyString(),
+                anyString(), anyString(), anyString()))
+                .thenReturn(List.of(0L, 1L));
+
+        // When
+        QuotaResult result = quotaEngine.tryAcquire(1L);
+
+        // Then
+        assertThat(result.allowed()).isFalse();
+        assertThat(result.used()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("구독 사용자 - 일일 사용량 키와 요금제 제한량 사용")
+    @SuppressWarnings("unchecked")
+    void testTryAcquirePremiumUser() {
+        // Given
+        when(planTierCache.get(2L)).thenReturn(PlanTier.premiumTier(5));
+        when(stringRedisTemplate.execute(any(RedisScript.class),
+                eq(List.of("user:2:daily_usage:" + today, "daily_usage:2:" + today, "daily_usage:dirty",
+                        "usage_stats:" + today + ":active", "usage_stats:" + today + ":top",
+                        "usage_stats:" + today + ":minutes", "usage_stats:" + today + ":total")),
+                eq("5"), anyString(), eq("93600"), eq("2:" + today + ":5"), anyString(),
+                eq("2"), anyString(), anyString()))
+                .thenReturn(List.of(1L, 3L));
+
+        // When
+        QuotaResult result = quotaEngine.tryAcquire(2L);
+
+        // Then
+        assertThat(result.allowed()).isTrue();
+        assertThat(result.used()).isEqualTo(3);
+        assertThat(result.remaining()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("관리자/의사 - 제한 검사 생략")
+    @SuppressWarnings("unchecked")
+    void testTryAcquireUnlimited() {
+        // Given
+        when(planTierCache.get(3L)).thenReturn(PlanTier.unlimitedTier());
+        when(stringRedisTemplate.execute(any(RedisScript.class), any(List.class),
+                eq("-1"), anyString(), anyString(), anyString(), anyString(),
+                anyString(), anyString(), anyString()))
+                .thenReturn(List.of(1L, 42L));
+
+        // When
+        QuotaResult result = quotaEngine.tryAcquire(3L);
+
+        // Then
+        assertThat(result.allowed()).isTrue();
+        assertThat(result.limit()).isEqualTo(Integer.MAX_VALUE);
+    }
+
+    @Test
+    @DisplayName("현재 사용량 조회 - 요금제 등급에 맞는 키 1회 조회")
+    void testStatus() {
+        // Given
+        when(planTierCache.get(2L)).thenReturn(PlanTier.premiumTier(5));
+        when(counterRedisTemplate.opsForValue()).thenReturn(valueOperations);
+        when(valueOperations.get("user:2:daily_usage:" + today)).thenReturn(5L);
+
+        // When
+        QuotaResult result = quotaEngine.status(2L);
+
+        // Then
+        assertThat(result.used()).isEqualTo(5);
+        assertThat(result.allowed()).isFalse();
+    }
+
+    @Test
+    @DisplayName("Redis 장애 - 마지막 관측값 기준 노드 몫까지만 로컬 허용")
+    @SuppressWarnings("unchecked")
+    void testTryAcquireFallsBackToLocalLimiter() {
+        // Given: 정상 상태에서 1회 사용 관측 후 Redis 장애 (남은 4회를 2개 노드가 나눔)
+        when(planTierCache.get(2L)).thenReturn(PlanTier.premiumTier(5));
+        when(stringRedisTemplate.execute(any(RedisScript.class), any(List.class),
+                anyString(), anyString(), anyString(), anyString(), anyString(),
+                anyString(), anyString(), anyString()))
+                .thenReturn(List.of(1L, 1L))
+                .thenThrow(new RedisConnectionFailureException("down"));
+        quotaEngine.tryAcquire(2L);
+
+        // When
+        QuotaResult first = quotaEngine.tryAcquire(2L);
+        QuotaResult second = quotaEngine.tryAcquire(2L);
+        QuotaResult third = quotaEngine.tryAcquire(2L);
+
+        // Then
+        assertThat(first.allowed()).isTrue();
+        assertThat(second.allowed()).isTrue();
+        assertThat(second.used()).isEqualTo(3);
+        assertThat(third.allowed()).isFalse();
+        assertThat(degradedQuotaLimiter.hasPending()).isTrue();
+    }
+
+    @Test
+    @DisplayName("브레이커 열림 - Redis 호출 없이 로컬 제한 적용")
+    @SuppressWarnings("unchecked")
+    void testTryAcquireWhenCircuitOpen() {
+        // Given
+        when(planTierCache.get(1L)).thenReturn(PlanTier.freeTier());
+        circuitBreaker.transitionToOpenState();
+
+        // When
+        QuotaResult result = quotaEngine.tryAcquire(1L);
+
+        // Then
+        assertThat(result.allowed()).isTrue();
+        verifyNoInteractions(stringRedisTemplate);
+    }
+
+    @Test
+    @DisplayName("복구 후 반영 - 로컬 누적분을 Redis에 INCRBY")
+    @SuppressWarnings("unchecked")
+    void testReconcileAfterRecovery() {
+        // Given
+        when(planTierCache.get(2L)).thenReturn(PlanTier.premiumTier(5));
+        circuitBreaker.transitionToOpenState();
+        quotaEngine.tryAcquire(2L);
+        quotaEngine.tryAcquire(2L);
+        circuitBreaker.transitionToClosedState();
+        when(stringRedisTemplate.execute(any(RedisScript.class),
+                eq(List.of("user:2:daily_usage:" + today, "daily_usage:2:" + today, "daily_usage:dirty",
+                        "usage_stats:" + today + ":active", "usage_stats:" + today + ":top",
+                        "usage_stats:" + today + ":total")),
+                eq("2"), anyString(), anyString(), eq("2:" + today + ":5"), anyString(),
+                eq("2"), eq("691200")))
+                .thenReturn(2L);
+
+        // When
+        int applied = quotaEngine.reconcile();
+
+        // Then
+        assertThat(applied).isEqualTo(1);
+        assertThat(degradedQuotaLimiter.hasPending()).isFalse();
+    }
+
+    @Test
+    @DisplayName("복구 반영 실패 - 누적분 유지 후 다음 주기에 재시도")
+    @SuppressWarnings("unchecked")
+    void testReconcileFailureKeepsPending() {
+        // Given
+        when(planTierCache.get(2L)).thenReturn(PlanTier.premiumTier(5));
+        circuitBreaker.transitionToOpenState();
+        quotaEngine.tryAcquire(2L);
+        circuitBreaker.transitionToClosedState();
+        when(stringRedisTemplate.execute(any(RedisScript.class), any(List.class),
+                anyString(), anyString(), anyString(), anyString(), anyString(),
+                anyString(), anyString()))
+                .thenThrow(new RedisConnectionFailureException("down"));
+
+        // When
+        int applied = quotaEngine.reconcile();
+
+        // Then
+        assertThat(applied).isZero();
+        assertThat(degradedQuotaLimiter.hasPending()).isTrue();
+    }
+}
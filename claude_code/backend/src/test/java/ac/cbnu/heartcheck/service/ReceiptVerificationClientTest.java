@@ -0,0 +1,194 @@
+package ac.cbnu.heartcheck.service;
+
+import ac.cbnu.heartcheck.entity.CostModel.CostType;
+import ac.cbnu.heartcheck.entity.Payment.StoreType;
+import ac.cbnu.heartcheck.service.ReceiptVerificationClient.Outcome;
+import ac.cbnu.heartcheck.service.ReceiptVerificationClient.Receipt;
+import ac.cbnu.heartcheck.service.ReceiptVerificationClient.Verification;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.net.http.HttpClient;
+import java.net.http.HttpHeaders;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+/**
+ * 스토어 영수증 검증 클라이언트 테스트 (로컬 가짜 스토어 API 사용)
+ */
+@DisplayName("스토어 영수증 검증 클라이언트 테스트")
+class ReceiptVerificationClientTest {
+
+    private static StubReceiptGateway.Server healthy;
+    private static StubReceiptGateway.Server flaky;
+
+    @BeforeAll
+    static void startGateways() {
+        healthy = StubReceiptGateway.start(StubReceiptGateway.Behavior.healthy("heartcheck_monthly"));
+        flaky = StubReceiptGateway.start(new StubReceiptGateway.Behavior(Duration.ZERO, 1, "heartcheck_monthly"));
+    }
+
+    @AfterAll
+    static void stopGateways() {
+        healthy.close();
+        flaky.close();
+    }
+
+    @Test
+    @DisplayName("Google 구매 확인 - purchaseState 0은 확인, 2는 재시도, 없는 토큰은 거절")
+    void testGooglePlay() {
+        // Given
+        ReceiptVerificationClient client = client(healthy);
+
+        // When
+        Verification purchased = client.verify(receipt(StoreType.GOOGLE, "token-a", CostType.MONTHLY));
+        Verification pending = client.verify(receipt(StoreType.GOOGLE, "pending-b", CostType.MONTHLY));
+        Verification invalid = client.verify(receipt(StoreType.GOOGLE, "invalid-c", CostType.MONTHLY));
+
+        // Then
+        assertThat(purchased.outcome()).isEqualTo(Outcome.VERIFIED);
+        assertThat(pending.outcome()).isEqualTo(Outcome.RETRY);
+        assertThat(invalid.outcome()).isEqualTo(Outcome.REJECTED);
+        assertThat(invalid.status()).isEqualTo(404);
+    }
+
+    @Test
+    @DisplayName("Apple 거래 확인 - 상품 불일치·철회된 거래는 거절")
+    void testAppStore() {
+        // Given
+        ReceiptVerificationClient client = client(healthy);
+
+        // When
+        Verification verified = client.verify(receipt(StoreType.APPLE, "2000000100", CostType.MONTHLY));
+        Verification mismatch = client.verify(receipt(StoreType.APPLE, "2000000101", CostType.YEARLY));
+        Verification revoked = client.verify(receipt(StoreType.APPLE, "revoked-2000000102", CostType.MONTHLY));
+
+        // Then
+        assertThat(verified.outcome()).isEqualTo(Outcome.VERIFIED);
+        assertThat(mismatch.outcome()).isEqualTo(Outcome.REJECTED);
+        assertThat(mismatch.error()).contains("Product mismatch");
+        assertThat(revoked.outcome()).isEqualTo(Outcome.REJECTED);
+    }
+
+    @Test
+    @DisplayName("503은 Retry-After와 함께 재시도 대상으로 분류되고 다음 시도는 확인")
+    void testRetryableFailure() {
+        // Given
+        ReceiptVerificationClient client = client(flaky);
+        Receipt receipt = receipt(StoreType.GOOGLE, "retry-me", CostType.MONTHLY);
+
+        // When
+        Verification first = client.verify(receipt);
+        Verification second = client.verify(receipt);
+
+        // Then
+        assertThat(first.outcome()).isEqualTo(Outcome.RETRY);
+        assertThat(first.status()).isEqualTo(503);
+        assertThat(first.retryAfter()).isEqualTo(Duration.ZERO);
+        assertThat(second.outcome()).isEqualTo(Outcome.VERIFIED);
+    }
+
+    @Test
+    @DisplayName("연결할 수 없는 스토어는 재시도, 트랜잭션 ID가 없으면 요청 없이 거절")
+    void testConnectionErrorAndMissingTransaction() {
+        // Given
+        ReceiptVerificationClient unreachable = new ReceiptVerificationClient(HttpClient.newHttpClient(),
+                new ObjectMapper(), new SimpleMeterRegistry(), "http://localhost:1", "ac.cbnu.heartcheck",
+                "http://localhost:1", "", StoreAccessTokenProvider.fixed("", ""), "heartcheck_", 2000);
+
+        // When
+        Verification connectionError = unreachable.verify(receipt(StoreType.APPLE, "2000000100", CostType.MONTHLY));
+        Verification missing = unreachable.verify(receipt(StoreType.GOOGLE, " ", CostType.MONTHLY));
+
+        // Then
+        assertThat(connectionError.outcome()).isEqualTo(Outcome.RETRY);
+        assertThat(connectionError.status()).isZero();
+        assertThat(missing.outcome()).isEqualTo(Outcome.REJECTED);
+    }
+
+    @Test
+    @DisplayName("429 응답의 Retry-After 초를 읽음")
+    @SuppressWarnings("unchecked")
+    void testRetryAfterHeader() {
+        // Given
+        ReceiptVerificationClient client = client(healthy);
+        HttpResponse<String> response = Mockito.mock(HttpResponse.class);
+        when(response.statusCode()).thenReturn(429);
+        when(response.body()).thenReturn("");
+        when(response.headers()).thenReturn(HttpHeaders.of(Map.of("Retry-After", List.of("30")), (name, value) -> true));
+
+        // When
+        Verification result = client.classify(receipt(StoreType.GOOGLE, "token", CostType.MONTHLY), response);
+
+        // Then
+        assertThat(result.outcome()).isEqualTo(Outcome.RETRY);
+        assertThat(result.retryAfter()).isEqualTo(Duration.ofSeconds(30));
+    }
+
+    @Test
+    @DisplayName("401·403은 재시도가 아닌 인증 오류로 분류")
+    @SuppressWarnings("unchecked")
+    void testUnauthorizedStatus() {
+        // Given
+        ReceiptVerificationClient client = client(healthy);
+        HttpResponse<String> response = Mockito.mock(HttpResponse.class);
+        when(response.statusCode()).thenReturn(401, 403);
+        when(response.body()).thenReturn("");
+
+        // When
+        Verification unauthorized = client.classify(receipt(StoreType.GOOGLE, "token", CostType.MONTHLY), response);
+        Verification forbidden = client.classify(receipt(StoreType.APPLE, "2000000100", CostType.MONTHLY), response);
+
+        // Then
+        assertThat(unauthorized.outcome()).isEqualTo(Outcome.UNAUTHORIZED);
+        assertThat(forbidden.outcome()).isEqualTo(Outcome.UNAUTHORIZED);
+        assertThat(forbidden.status()).isEqualTo(403);
+    }
+
+    @Test
+    @DisplayName("Apple 서명 페이로드가 Base64·JSON이 아니면 재시도하지 않고 거절")
+    @SuppressWarnings("unchecked")
+    void testMalformedAppleTransaction() {
+        // Given
+        ReceiptVerificationClient client = client(healthy);
+        String notJson = Base64.getUrlEncoder().withoutPadding()
+                .encodeToString("not-json".getBytes(StandardCharsets.UTF_8));
+        HttpResponse<String> response = Mockito.mock(HttpResponse.class);
+        when(response.statusCode()).thenReturn(200);
+        when(response.body()).thenReturn(
+                "{\"signedTransactionInfo\":\"header.!!!.signature\"}",
+                "{\"signedTransactionInfo\":\"header." + notJson + ".signature\"}");
+
+        // When
+        Verification badBase64 = client.classify(receipt(StoreType.APPLE, "2000000100", CostType.MONTHLY), response);
+        Verification badJson = client.classify(receipt(StoreType.APPLE, "2000000100", CostType.MONTHLY), response);
+
+        // Then
+        assertThat(badBase64.outcome()).isEqualTo(Outcome.REJECTED);
+        assertThat(badBase64.error()).isEqualTo("Malformed signedTransactionInfo");
+        assertThat(badJson.outcome()).isEqualTo(Outcome.REJECTED);
+        assertThat(badJson.error()).isEqualTo("Malformed signedTransactionInfo");
+    }
+
+    private static ReceiptVerificationClient client(StubReceiptGateway.Server gateway) {
+        return new ReceiptVerificationClient(HttpClient.newHttpClient(), new ObjectMapper(), new SimpleMeterRegistry(),
+                gateway.url(), "ac.cbnu.heartcheck", gateway.url(), "ac.cbnu.heartcheck",
+                StoreAccessTokenProvider.fixed("", ""), "heartcheck_", 5000);
+    }
+
+    private static Receipt receipt(StoreType store, String transactionId, CostType plan) {
+        return new Receipt(1L, store, transactionId, plan, 1);
+    }
+}
@@ -0,0 +1,119 @@
+package ac.cbnu.heartcheck.service;
+
+import ac.cbnu.heartcheck.repository.NotificationDispatchJdbcRepository;
+import ac.cbnu.heartcheck.repository.NotificationDispatchJdbcRepository.DueNotification;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+/**
+ * 예약 알림 발송기 테스트
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("예약 알림 발송기 테스트")
+class ScheduledNotificationDispatcherTest {
+
+    private static final ZoneId ZONE = ZoneId.of("Asia/Seoul");
+    private static final Clock CLOCK = Clock.fixed(Instant.parse("2024-06-01T00:00:00Z"), ZONE);
+    private static final LocalDateTime NOW = LocalDateTime.now(CLOCK);
+
+    @Mock
+    private NotificationDispatchJdbcRepository notificationDispatchJdbcRepository;
+
+    @Mock
+    private NotificationPushService notificationPushService;
+
+    @Mock
+    private UnreadNotificationCounter unreadNotificationCounter;
+
+    private SimpleMeterRegistry meterRegistry;
+    private ScheduledNotificationDispatcher dispatcher;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        dispatcher = new ScheduledNotificationDispatcher(
+                notificationDispatchJdbcRepository, notificationPushService, unreadNotificationCounter,
+                meterRegistry, 2, 10, CLOCK);
+    }
+
+    @Test
+    @DisplayName("가득 찬 청크가 나오는 동안 계속 점유하고 덜 찬 청크에서 멈춤")
+    void testDispatchUntilPartialChunk() {
+        // Given
+        when(notificationDispatchJdbcRepository.claimAndMarkSent(eq(NOW), eq(2)))
+                .thenReturn(List.of(due(1, 60), due(2, 30)), List.of(due(3, 10)));
+
+        // When
+        int sent = dispatcher.dispatchDue();
+
+        // Then
+        assertThat(sent).isEqualTo(3);
+        verify(notificationDispatchJdbcRepository, times(2)).claimAndMarkSent(any(), eq(2));
+        assertThat(meterRegistry.counter("notification.dispatch.sent").count()).isEqualTo(3.0);
+        assertThat(meterRegistry.timer("notification.dispatch.lag").count()).isEqualTo(3);
+        assertThat(meterRegistry.timer("notification.dispatch.lag").max(TimeUnit.SECONDS)).isEqualTo(60.0);
+        assertThat(meterRegistry.get("notification.dispatch.lag.last.seconds").gauge().value()).isEqualTo(10.0);
+        verify(unreadNotificationCounter).adjustAll(Map.of(1L, 2L));
+        verify(unreadNotificationCounter).adjustAll(Map.of(1L, 1L));
+        verify(notificationPushService, times(2)).notificationsDispatched(any(), eq(NOW));
+    }
+
+    @Test
+    @DisplayName("한 번 실행에서 최대 청크 수까지만 처리")
+    void testDispatchStopsAtMaxChunks() {
+        // Given
+        ScheduledNotificationDispatcher bounded =
+                new ScheduledNotificationDispatcher(notificationDispatchJdbcRepository, notificationPushService,
+                        unreadNotificationCounter, meterRegistry, 2, 3, CLOCK);
+        when(notificationDispatchJdbcRepository.claimAndMarkSent(any(), eq(2)))
+                .thenReturn(List.of(due(1, 5), due(2, 5)));
+
+        // When
+        int sent = bounded.dispatchDue();
+
+        // Then
+        assertThat(sent).isEqualTo(6);
+        verify(notificationDispatchJdbcRepository, times(3)).claimAndMarkSent(any(), eq(2));
+    }
+
+    @Test
+    @DisplayName("발송 대상이 없으면 한 번만 조회")
+    void testDispatchNothingDue() {
+        // Given
+        when(notificationDispatchJdbcRepository.claimAndMarkSent(any(), eq(2))).thenReturn(List.of());
+
+        // When
+        int sent = dispatcher.dispatchDue();
+
+        // Then
+        assertThat(sent).isZero();
+        verify(notificationDispatchJdbcRepository, times(1)).claimAndMarkSent(any(), eq(2));
+        verifyNoInteractions(notificationPushService, unreadNotificationCounter);
+    }
+
+    private static DueNotification due(long id, long secondsLate) {
+        return new DueNotification(id, 1L, NOW.minusSeconds(secondsLate),
+                "REMINDER", "복약 알림", "약 드실 시간입니다", null, 2);
+    }
+}
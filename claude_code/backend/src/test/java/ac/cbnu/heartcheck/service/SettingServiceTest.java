@@ -59,7 +59,6 @@ class SettingServiceTest {
                 .marketingNotification(false)
                 .darkMode(false)
                 .language("ko")
-                .biometricAuth(false)
                 .privacyLevel(2)
                 .sessionTimeout(30)
                 .autoBackup(true)
@@ -154,22 +153,6 @@ class SettingServiceTest {
         verify(settingRepository, times(1)).save(any(Setting.class));
     }
 
-    @Test
-    @DisplayName("생체인증 토글")
-    void toggleBiometricAuth_Success() {
-        // Given
-        when(settingRepository.findByUserId(1L)).thenReturn(Optional.of(testSetting));
-        when(settingRepository.save(any(Setting.class))).thenReturn(testSetting);
-
-        // When
-        Setting result = settingService.toggleBiometricAuth(1L);
-
-        // Then
-        assertThat(result).isNotNull();
-        verify(settingRepository, times(1)).findByUserId(1L);
-        verify(settingRepository, times(1)).save(any(Setting.class));
-    }
-
     @Test
     @DisplayName("자동 백업 토글")
     void toggleAutoBackup_Success() {
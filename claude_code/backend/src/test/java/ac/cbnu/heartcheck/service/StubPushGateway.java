@@ -0,0 +1,189 @@
+package ac.cbnu.heartcheck.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.boot.Banner;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.http.HttpMessageConvertersAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.autoconfigure.web.servlet.DispatcherServletAutoConfiguration;
+import org.springframework.boot.autoconfigure.web.servlet.ServletWebServerFactoryAutoConfiguration;
+import org.springframework.boot.autoconfigure.web.servlet.WebMvcAutoConfiguration;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ApplicationContextInitializer;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.web.servlet.function.RouterFunction;
+import org.springframework.web.servlet.function.RouterFunctions;
+import org.springframework.web.servlet.function.ServerRequest;
+import org.springframework.web.servlet.function.ServerResponse;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 로컬 가짜 푸시 게이트웨이 (FCM HTTP v1 + APNs, 처리량·재시도 시험용)
+ *
+ * - POST /v1/projects/{project}/messages:send: FCM 형식 요청, 수락 시 {"name": "projects/.../messages/..."}
+ * - POST /3/device/{token}: APNs 형식 요청, 수락 시 apns-id 헤더
+ * - "invalid"로 시작하는 토큰: FCM 404 UNREGISTERED, APNs 410 Unregistered
+ * - 토큰마다 처음 failFirstAttempts번과 failureRate 비율의 요청: 503 + Retry-After
+ * - 모든 응답은 latency만큼 늦게 보낸다 (게이트웨이 왕복 시간 흉내)
+ *
+ * h2c 업그레이드를 받아들이므로 HTTP/2 클라이언트는 연결 하나에 요청을 다중화할 수 있다.
+ * 메인 애플리케이션의 컴포넌트 스캔에 잡히지 않도록 @Configuration/@Component 없이 별도 컨텍스트로 띄운다.
+ */
+@ImportAutoConfiguration({
+        ServletWebServerFactoryAutoConfiguration.class,
+        DispatcherServletAutoConfiguration.class,
+        WebMvcAutoConfiguration.class,
+        HttpMessageConvertersAutoConfiguration.class,
+        JacksonAutoConfiguration.class
+})
+class StubPushGateway {
+
+    static final String INVALID_TOKEN_PREFIX = "invalid";
+
+    private final Behavior behavior;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final Map<String, AtomicInteger> attemptsByToken = new ConcurrentHashMap<>();
+    private final AtomicLong requests = new AtomicLong();
+    private final AtomicLong accepted = new AtomicLong();
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger maxInFlight = new AtomicInteger();
+
+    StubPushGateway(Behavior behavior) {
+        this.behavior = behavior;
+    }
+
+    /**
+     * 가짜 게이트웨이 시작 (임의 포트)
+     * @param behavior 응답 지연·실패 설정
+     * @return 실행 중인 서버
+     */
+    static Server start(Behavior behavior) {
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(StubPushGateway.class)
+                .web(WebApplicationType.SERVLET)
+                .bannerMode(Banner.Mode.OFF)
+                .logStartupInfo(false)
+                .initializers((ApplicationContextInitializer<ConfigurableApplicationContext>) ctx ->
+                        ctx.getBeanFactory().registerSingleton("stubPushBehavior", behavior))
+                // 메인 애플리케이션 설정 파일을 읽지 않음
+                .properties("server.port=0", "spring.config.name=stub-push-gateway", "spring.jmx.enabled=false",
+                        "server.http2.enabled=true", "server.tomcat.threads.max=400")
+                .run();
+        return new Server(context, ((WebServerApplicationContext) context).getWebServer().getPort());
+    }
+
+    @Bean
+    RouterFunction<ServerResponse> stubPushEndpoints() {
+        return RouterFunctions.route()
+                .POST("/v1/projects/{project}/messages:send", this::fcm)
+                .POST("/3/device/{token}", this::apns)
+                .build();
+    }
+
+    private ServerResponse fcm(ServerRequest request) throws Exception {
+        JsonNode body = objectMapper.readTree(request.body(String.class));
+        String token = body.path("message").path("token").asText();
+        return respond(token, () -> ServerResponse.ok().body(Map.of(
+                "name", "projects/" + request.pathVariable("project") + "/messages/" + UUID.randomUUID())),
+                () -> ServerResponse.status(404).body(Map.of("error", Map.of(
+                        "code", 404, "status", "NOT_FOUND", "message", "Requested entity was not found.",
+                        "details", new Object[] {Map.of("errorCode", "UNREGISTERED")}))));
+    }
+
+    private ServerResponse apns(ServerRequest request) throws Exception {
+        request.body(String.class);
+        String token = request.pathVariable("token");
+        return respond(token, () -> ServerResponse.ok().header("apns-id", UUID.randomUUID().toString()).build(),
+                () -> ServerResponse.status(410).body(Map.of("reason", "Unregistered", "timestamp",
+                        System.currentTimeMillis())));
+    }
+
+    private ServerResponse respond(String token, ResponseSupplier ok, ResponseSupplier invalid) throws Exception {
+        requests.incrementAndGet();
+        maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+        try {
+            if (!behavior.latency().isZero()) {
+                Thread.sleep(behavior.latency().toMillis());
+            }
+            if (token.startsWith(INVALID_TOKEN_PREFIX)) {
+                return invalid.get();
+            }
+            int attempt = attemptsByToken.computeIfAbsent(token, t -> new AtomicInteger()).incrementAndGet();
+            if (attempt <= behavior.failFirstAttempts()
+                    || ThreadLocalRandom.current().nextDouble() < behavior.failureRate()) {
+                return ServerResponse.status(503).header("Retry-After", "0")
+                        .body(Map.of("reason", "ServiceUnavailable"));
+            }
+            accepted.incrementAndGet();
+            return ok.get();
+        } finally {
+            inFlight.decrementAndGet();
+        }
+    }
+
+    @FunctionalInterface
+    private interface ResponseSupplier {
+        ServerResponse get() throws Exception;
+    }
+
+    /**
+     * 응답 설정
+     * @param latency 응답 지연
+     * @param failFirstAttempts 토큰마다 처음 몇 번을 503으로 돌려줄지
+     * @param failureRate 그 뒤 요청 중 503으로 돌려줄 비율 (0~1)
+     */
+    record Behavior(Duration latency, int failFirstAttempts, double failureRate) {
+
+        static Behavior healthy() {
+            return new Behavior(Duration.ZERO, 0, 0);
+        }
+    }
+
+    /**
+     * 실행 중인 가짜 게이트웨이
+     */
+    static final class Server implements AutoCloseable {
+        private final ConfigurableApplicationContext context;
+        private final int port;
+
+        private Server(ConfigurableApplicationContext context, int port) {
+            this.context = context;
+            this.port = port;
+        }
+
+        String url() {
+            return "http://localhost:" + port;
+        }
+
+        long requests() {
+            return gateway().requests.get();
+        }
+
+        long accepted() {
+            return gateway().accepted.get();
+        }
+
+        int maxInFlight() {
+            return gateway().maxInFlight.get();
+        }
+
+        private StubPushGateway gateway() {
+            return context.getBean(StubPushGateway.class);
+        }
+
+        @Override
+        public void close() {
+            context.close();
+        }
+    }
+}
@@ -0,0 +1,179 @@
+package ac.cbnu.heartcheck.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.boot.Banner;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.http.HttpMessageConvertersAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.autoconfigure.web.servlet.DispatcherServletAutoConfiguration;
+import org.springframework.boot.autoconfigure.web.servlet.ServletWebServerFactoryAutoConfiguration;
+import org.springframework.boot.autoconfigure.web.servlet.WebMvcAutoConfiguration;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ApplicationContextInitializer;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.web.servlet.function.RouterFunction;
+import org.springframework.web.servlet.function.RouterFunctions;
+import org.springframework.web.servlet.function.ServerRequest;
+import org.springframework.web.servlet.function.ServerResponse;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 로컬 가짜 스토어 영수증 API (Google Play Developer API + App Store Server API, 검증 흐름 시험용)
+ *
+ * - GET /androidpublisher/v3/applications/{package}/purchases/products/{product}/tokens/{token}: purchaseState 0
+ * - GET /inApps/v1/transactions/{transactionId}: 요청한 상품 ID가 담긴 signedTransactionInfo (서명은 가짜)
+ * - "invalid"로 시작하는 토큰: 404
+ * - "pending"으로 시작하는 Google 토큰: purchaseState 2, "revoked"로 시작하는 Apple 거래: revocationDate 포함
+ * - 토큰마다 처음 failFirstAttempts번: 503 + Retry-After
+ * - 모든 응답은 latency만큼 늦게 보낸다 (스토어 왕복 시간 흉내)
+ *
+ * Apple 응답의 상품 ID는 productId 설정값을 돌려준다.
+ * 메인 애플리케이션의 컴포넌트 스캔에 잡히지 않도록 @Configuration/@Component 없이 별도 컨텍스트로 띄운다.
+ */
+@ImportAutoConfiguration({
+        ServletWebServerFactoryAutoConfiguration.class,
+        DispatcherServletAutoConfiguration.class,
+        WebMvcAutoConfiguration.class,
+        HttpMessageConvertersAutoConfiguration.class,
+        JacksonAutoConfiguration.class
+})
+class StubReceiptGateway {
+
+    static final String INVALID_TOKEN_PREFIX = "invalid";
+    static final String PENDING_TOKEN_PREFIX = "pending";
+    static final String REVOKED_TOKEN_PREFIX = "revoked";
+
+    private final Behavior behavior;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final Map<String, AtomicInteger> attemptsByToken = new ConcurrentHashMap<>();
+    private final AtomicLong requests = new AtomicLong();
+
+    StubReceiptGateway(Behavior behavior) {
+        this.behavior = behavior;
+    }
+
+    /**
+     * 가짜 스토어 API 시작 (임의 포트)
+     * @param behavior 응답 지연·실패 설정
+     * @return 실행 중인 서버
+     */
+    static Server start(Behavior behavior) {
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(StubReceiptGateway.class)
+                .web(WebApplicationType.SERVLET)
+                .bannerMode(Banner.Mode.OFF)
+                .logStartupInfo(false)
+                .initializers((ApplicationContextInitializer<ConfigurableApplicationContext>) ctx ->
+                        ctx.getBeanFactory().registerSingleton("stubReceiptBehavior", behavior))
+                // 메인 애플리케이션 설정 파일을 읽지 않음
+                .properties("server.port=0", "spring.config.name=stub-receipt-gateway", "spring.jmx.enabled=false")
+                .run();
+        return new Server(context, ((WebServerApplicationContext) context).getWebServer().getPort());
+    }
+
+    @Bean
+    RouterFunction<ServerResponse> stubReceiptEndpoints() {
+        return RouterFunctions.route()
+                .GET("/androidpublisher/v3/applications/{package}/purchases/products/{product}/tokens/{token}",
+                        this::google)
+                .GET("/inApps/v1/transactions/{transactionId}", this::apple)
+                .build();
+    }
+
+    private ServerResponse google(ServerRequest request) throws Exception {
+        String token = request.pathVariable("token");
+        return respond(token, () -> ServerResponse.ok().body(Map.of(
+                "kind", "androidpublisher#productPurchase",
+                "purchaseState", token.startsWith(PENDING_TOKEN_PREFIX) ? 2 : 0,
+                "consumptionState", 0,
+                "orderId", "GPA.0000-" + Math.abs(token.hashCode()))));
+    }
+
+    private ServerResponse apple(ServerRequest request) throws Exception {
+        String transactionId = request.pathVariable("transactionId");
+        return respond(transactionId, () -> {
+            Map<String, Object> payload = new LinkedHashMap<>();
+            payload.put("transactionId", transactionId);
+            payload.put("productId", behavior.productId());
+            payload.put("bundleId", "ac.cbnu.heartcheck");
+            if (transactionId.startsWith(REVOKED_TOKEN_PREFIX)) {
+                payload.put("revocationDate", System.currentTimeMillis());
+            }
+            Base64.Encoder encoder = Base64.getUrlEncoder().withoutPadding();
+            String jws = encoder.encodeToString("{\"alg\":\"ES256\"}".getBytes(StandardCharsets.UTF_8)) + "."
+                    + encoder.encodeToString(objectMapper.writeValueAsBytes(payload)) + ".c2lnbmF0dXJl";
+            return ServerResponse.ok().body(Map.of("signedTransactionInfo", jws));
+        });
+    }
+
+    private ServerResponse respond(String token, ResponseSupplier ok) throws Exception {
+        requests.incrementAndGet();
+        if (!behavior.latency().isZero()) {
+            Thread.sleep(behavior.latency().toMillis());
+        }
+        if (token.startsWith(INVALID_TOKEN_PREFIX)) {
+            return ServerResponse.status(404).body(Map.of("errorCode", 4040010,
+                    "errorMessage", "Transaction id not found."));
+        }
+        int attempt = attemptsByToken.computeIfAbsent(token, t -> new AtomicInteger()).incrementAndGet();
+        if (attempt <= behavior.failFirstAttempts()) {
+            return ServerResponse.status(503).header("Retry-After", "0")
+                    .body(Map.of("errorCode", 5000000, "errorMessage", "An unknown error occurred."));
+        }
+        return ok.get();
+    }
+
+    @FunctionalInterface
+    private interface ResponseSupplier {
+        ServerResponse get() throws Exception;
+    }
+
+    /**
+     * 응답 설정
+     * @param latency 응답 지연
+     * @param failFirstAttempts 토큰마다 처음 몇 번을 503으로 돌려줄지
+     * @param productId Apple 거래 정보에 담을 상품 ID
+     */
+    record Behavior(Duration latency, int failFirstAttempts, String productId) {
+
+        static Behavior healthy(String productId) {
+            return new Behavior(Duration.ZERO, 0, productId);
+        }
+    }
+
+    /**
+     * 실행 중인 가짜 스토어 API
+     */
+    static final class Server implements AutoCloseable {
+        private final ConfigurableApplicationContext context;
+        private final int port;
+
+        private Server(ConfigurableApplicationContext context, int port) {
+            this.context = context;
+            this.port = port;
+        }
+
+        String url() {
+            return "http://localhost:" + port;
+        }
+
+        long requests() {
+            return context.getBean(StubReceiptGateway.class).requests.get();
+        }
+
+        @Override
+        public void close() {
+            context.close();
+        }
+    }
+}
@@ -0,0 +1,225 @@
+package ac.cbnu.heartcheck.service;
+
+import ac.cbnu.heartcheck.repository.SubscriptionRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * 구독 만료 타이머 테스트
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("구독 만료 타이머 테스트")
+class SubscriptionExpirySchedulerTest {
+
+    private static final ZoneId ZONE = ZoneId.of("Asia/Seoul");
+
+    @Mock
+    private SubscriptionRepository subscriptionRepository;
+
+    @Mock
+    private SubscriptionService subscriptionService;
+
+    @Mock
+    private ClusterLeaseLock clusterLeaseLock;
+
+    private MutableClock clock;
+    private SimpleMeterRegistry meterRegistry;
+    private SubscriptionExpiryScheduler scheduler;
+
+    @BeforeEach
+    void setUp() {
+        clock = new MutableClock(Instant.parse("2024-06-15T00:00:00Z"));
+        meterRegistry = new SimpleMeterRegistry();
+        scheduler = new SubscriptionExpiryScheduler(subscriptionRepository, subscriptionService, clusterLeaseLock,
+                meterRegistry, Duration.ofSeconds(1), 64, Duration.ofMinutes(10), Duration.ofMinutes(1),
+                2, Duration.ofMinutes(3), clock);
+    }
+
+    @Test
+    @DisplayName("잠금을 얻으면 밀린 만료를 범위 단위로 처리한 뒤 곧 종료될 구독을 적재")
+    void testCatchUpThenLoad() {
+        // Given
+        LocalDateTime now = LocalDateTime.now(clock);
+        when(clusterLeaseLock.tryAcquire(SubscriptionExpiryScheduler.LOCK_NAME, Duration.ofMinutes(3))).thenReturn(true);
+        when(clusterLeaseLock.renew(SubscriptionExpiryScheduler.LOCK_NAME, Duration.ofMinutes(3))).thenReturn(true);
+        when(subscriptionRepository.findOverdueIds(eq(now), eq(0L), any(Pageable.class))).thenReturn(List.of(1L, 2L));
+        when(subscriptionRepository.findOverdueIds(eq(now), eq(2L), any(Pageable.class))).thenReturn(List.of(3L));
+        when(subscriptionService.expireSubscriptions(List.of(1L, 2L), now)).thenReturn(2);
+        when(subscriptionService.expireSubscriptions(List.of(3L), now)).thenReturn(1);
+        when(subscriptionRepository.findExpiringBetween(eq(now), eq(0L), eq(now.plusMinutes(10)), any(Pageable.class)))
+                .thenReturn(List.<Object[]>of(new Object[] {4L, now.plusSeconds(5)}));
+
+        // When
+        int loaded = scheduler.refill();
+
+        // Then
+        assertThat(loaded).isEqualTo(1);
+        assertThat(meterRegistry.counter("subscription.expiry.expired").count()).isEqualTo(3.0);
+        assertThat(meterRegistry.get("subscription.expiry.scheduled").gauge().value()).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("종료 시각이 지난 tick에 만료 처리, 그 전에는 DB 작업 없음")
+    void testTickExpiresNearDeadline() {
+        // Given
+        LocalDateTime now = LocalDateTime.now(clock);
+        leadWithUpcoming(now, new Object[] {4L, now.plusSeconds(5)}, new Object[] {5L, now.plusSeconds(5)},
+                new Object[] {6L, now.plusSeconds(5)});
+
+        // When
+        clock.advance(Duration.ofSeconds(4));
+        int early = scheduler.tick();
+        clock.advance(Duration.ofMillis(1500));
+        when(subscriptionService.expireSubscriptions(anyList(), any())).thenAnswer(inv -> inv.<List<Long>>getArgument(0).size());
+        int expired = scheduler.tick();
+
+        // Then
+        assertThat(early).isZero();
+        assertThat(expired).isEqualTo(3);
+        assertThat(meterRegistry.timer("subscription.expiry.lag").count()).isEqualTo(3);
+        assertThat(meterRegistry.timer("subscription.expiry.lag").max(TimeUnit.MILLISECONDS))
+                .isLessThanOrEqualTo(1000);
+    }
+
+    @Test
+    @DisplayName("만료 배치가 실패하면 다음 refill 주기에 다시 시도")
+    void testFailedBatchIsRescheduled() {
+        // Given
+        LocalDateTime now = LocalDateTime.now(clock);
+        leadWithUpcoming(now, new Object[] {4L, now.plusSeconds(1)});
+        clock.advance(Duration.ofSeconds(2));
+        when(subscriptionService.expireSubscriptions(eq(List.of(4L)), any()))
+                .thenThrow(new IllegalStateException("db down"))
+                .thenReturn(1);
+
+        // When
+        int failed = scheduler.tick();
+        clock.advance(Duration.ofSeconds(61));
+        int retried = scheduler.tick();
+
+        // Then
+        assertThat(failed).isZero();
+        assertThat(retried).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("두 refill 사이에 활성화·단축되어 종료 시각이 지난 구독도 다음 refill이 적재해 만료")
+    void testRefillCoversGapSinceLastRefill() {
+        // Given
+        LocalDateTime first = LocalDateTime.now(clock);
+        when(clusterLeaseLock.tryAcquire(SubscriptionExpiryScheduler.LOCK_NAME, Duration.ofMinutes(3))).thenReturn(true);
+        when(clusterLeaseLock.renew(SubscriptionExpiryScheduler.LOCK_NAME, Duration.ofMinutes(3))).thenReturn(true);
+        when(subscriptionRepository.findOverdueIds(eq(first), eq(0L), any(Pageable.class))).thenReturn(List.of());
+        when(subscriptionRepository.findExpiringBetween(eq(first), eq(0L), eq(first.plusMinutes(10)), any(Pageable.class)))
+                .thenReturn(List.of());
+        scheduler.refill();
+        clock.advance(Duration.ofMinutes(1));
+        LocalDateTime second = LocalDateTime.now(clock);
+        when(subscriptionRepository.findExpiringBetween(eq(first), eq(0L), eq(second.plusMinutes(10)), any(Pageable.class)))
+                .thenReturn(List.<Object[]>of(new Object[] {7L, first.plusSeconds(30)}));
+        when(subscriptionService.expireSubscriptions(List.of(7L), second)).thenReturn(1);
+
+        // When
+        int loaded = scheduler.refill();
+        int expired = scheduler.tick();
+
+        // Then
+        assertThat(loaded).isEqualTo(1);
+        assertThat(expired).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("잠금을 잃으면 휠을 비우고 만료 처리하지 않음")
+    void testLockLost() {
+        // Given
+        LocalDateTime now = LocalDateTime.now(clock);
+        leadWithUpcoming(now, new Object[] {4L, now.plusSeconds(1)});
+        when(clusterLeaseLock.renew(SubscriptionExpiryScheduler.LOCK_NAME, Duration.ofMinutes(3))).thenReturn(false);
+
+        // When
+        int loaded = scheduler.refill();
+        clock.advance(Duration.ofSeconds(2));
+        int expired = scheduler.tick();
+
+        // Then
+        assertThat(loaded).isZero();
+        assertThat(expired).isZero();
+        verify(subscriptionService, never()).expireSubscriptions(anyList(), any());
+    }
+
+    @Test
+    @DisplayName("다른 노드가 잠금을 가지면 아무것도 하지 않음")
+    void testNotLeader() {
+        // Given
+        when(clusterLeaseLock.tryAcquire(SubscriptionExpiryScheduler.LOCK_NAME, Duration.ofMinutes(3))).thenReturn(false);
+
+        // When
+        int loaded = scheduler.refill();
+
+        // Then
+        assertThat(loaded).isZero();
+        verify(subscriptionRepository, never()).findOverdueIds(any(), anyLong(), any());
+    }
+
+    private void leadWithUpcoming(LocalDateTime now, Object[]... upcoming) {
+        when(clusterLeaseLock.tryAcquire(SubscriptionExpiryScheduler.LOCK_NAME, Duration.ofMinutes(3))).thenReturn(true);
+        when(subscriptionRepository.findOverdueIds(eq(now), eq(0L), any(Pageable.class))).thenReturn(List.of());
+        when(subscriptionRepository.findExpiringBetween(any(), anyLong(), any(), any(Pageable.class)))
+                .thenReturn(List.of(upcoming))
+                .thenReturn(List.of());
+        scheduler.refill();
+    }
+
+    /**
+     * 테스트에서 시간을 옮길 수 있는 시계
+     */
+    private static final class MutableClock extends Clock {
+        private Instant instant;
+
+        private MutableClock(Instant instant) {
+            this.instant = instant;
+        }
+
+        void advance(Duration duration) {
+            instant = instant.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZONE;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+    }
+}
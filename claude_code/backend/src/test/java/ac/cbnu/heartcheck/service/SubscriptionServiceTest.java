@@ -6,6 +6,8 @@ import ac.cbnu.heartcheck.entity.User;
 import ac.cbnu.heartcheck.repository.CostModelRepository;
 import ac.cbnu.heartcheck.repository.SubscriptionRepository;
 import ac.cbnu.heartcheck.repository.UserRepository;
+import ac.cbnu.heartcheck.service.EntitlementCache.Entitlement;
+import ac.cbnu.heartcheck.service.SubscriptionService.SubscriptionChangedEvent;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -13,6 +15,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.time.LocalDateTime;
 import java.util.Arrays;
@@ -41,6 +44,12 @@ class SubscriptionServiceTest {
     @Mock
     private UserRepository userRepository;
 
+    @Mock
+    private EntitlementCache entitlementCache;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private SubscriptionService subscriptionService;
 
@@ -163,6 +172,8 @@ class SubscriptionServiceTest {
         // Then
         assertThat(result.getStatus()).isEqualTo(Subscription.SubscriptionStatus.ACTIVE);
         verify(subscriptionRepository, times(1)).save(any(Subscription.class));
+        verify(eventPublisher).publishEvent(
+                new SubscriptionChangedEvent(1L, 1L, Subscription.SubscriptionStatus.ACTIVE));
     }
 
     @Test
@@ -178,6 +189,8 @@ class SubscriptionServiceTest {
         // Then
         assertThat(result.isCanceled()).isTrue();
         verify(subscriptionRepository, times(1)).save(any(Subscription.class));
+        verify(eventPublisher).publishEvent(
+                new SubscriptionChangedEvent(1L, 1L, Subscription.SubscriptionStatus.CANCELED));
     }
 
     @Test
@@ -209,11 +222,11 @@ class SubscriptionServiceTest {
     }
 
     @Test
-    @DisplayName("활성 구독 조회")
+    @DisplayName("활성 구독 조회 - 캐시된 구독 ID로 기본 키 조회")
     void getActiveSubscription_Success() {
         // Given
-        when(subscriptionRepository.findByUserIdAndStatus(1L, Subscription.SubscriptionStatus.ACTIVE))
-                .thenReturn(Optional.of(testSubscription));
+        when(entitlementCache.get(1L)).thenReturn(Entitlement.of(testSubscription));
+        when(subscriptionRepository.findById(1L)).thenReturn(Optional.of(testSubscription));
 
         // When
         Subscription result = subscriptionService.getActiveSubscription(1L);
@@ -221,14 +234,15 @@ class SubscriptionServiceTest {
         // Then
         assertThat(result).isNotNull();
         assertThat(result.getStatus()).isEqualTo(Subscription.SubscriptionStatus.ACTIVE);
+        verify(subscriptionRepository, never()).findByUserIdAndStatus(anyLong(), any());
     }
 
     @Test
     @DisplayName("유효한 구독 조회")
     void getValidSubscription_Success() {
         // Given
-        when(subscriptionRepository.findValidSubscriptionByUserId(eq(1L), any(LocalDateTime.class)))
-                .thenReturn(Optional.of(testSubscription));
+        when(entitlementCache.get(1L)).thenReturn(Entitlement.of(testSubscription));
+        when(subscriptionRepository.findById(1L)).thenReturn(Optional.of(testSubscription));
 
         // When
         Subscription result = subscriptionService.getValidSubscription(1L);
@@ -239,17 +253,46 @@ class SubscriptionServiceTest {
     }
 
     @Test
-    @DisplayName("활성 구독 확인")
+    @DisplayName("유효한 구독 조회 - 구독 없음은 캐시만으로 응답")
+    void getValidSubscription_NoneFromCache() {
+        // Given
+        when(entitlementCache.get(1L)).thenReturn(Entitlement.none());
+
+        // When
+        Subscription result = subscriptionService.getValidSubscription(1L);
+
+        // Then
+        assertThat(result).isNull();
+        verifyNoInteractions(subscriptionRepository);
+    }
+
+    @Test
+    @DisplayName("활성 구독 확인 - DB 조회 없음")
     void hasActiveSubscription_True() {
         // Given
-        when(subscriptionRepository.hasActiveSubscription(eq(1L), any(LocalDateTime.class)))
-                .thenReturn(true);
+        when(entitlementCache.get(1L)).thenReturn(Entitlement.of(testSubscription));
 
         // When
         boolean result = subscriptionService.hasActiveSubscription(1L);
 
         // Then
         assertThat(result).isTrue();
+        verifyNoInteractions(subscriptionRepository);
+    }
+
+    @Test
+    @DisplayName("활성 구독 확인 - 종료 시각이 지난 구독은 만료 처리 전이라도 무효")
+    void hasActiveSubscription_PastToDate() {
+        // Given
+        Entitlement ended = new Entitlement(1L, Subscription.SubscriptionStatus.ACTIVE,
+                CostModel.CostType.MONTHLY, 10, LocalDateTime.now().minusMinutes(1), false);
+        when(entitlementCache.get(1L)).thenReturn(ended);
+
+        // When
+        boolean result = subscriptionService.hasActiveSubscription(1L);
+
+        // Then
+        assertThat(result).isFalse();
     }
 
     @Test
@@ -270,18 +313,93 @@ class SubscriptionServiceTest {
     }
 
     @Test
-    @DisplayName("만료된 구독 처리")
-    void processExpiredSubscriptions_Success() {
+    @DisplayName("결제 반영 - 활성 구독이 있으면 예외 없이 요금제 기간만큼 연장")
+    void renewSubscription_ExtendsActive() {
         // Given
-        List<Subscription> expiredSubscriptions = Arrays.asList(testSubscription);
-        when(subscriptionRepository.findExpiredSubscriptions(any(LocalDateTime.class)))
-                .thenReturn(expiredSubscriptions);
+        LocalDateTime originalEndDate = testSubscription.getToDate();
+        when(subscriptionRepository.findByUserIdAndStatus(1L, Subscription.SubscriptionStatus.ACTIVE))
+                .thenReturn(Optional.of(testSubscription));
+        when(costModelRepository.findById((short) 1)).thenReturn(Optional.of(testCostModel));
+        when(subscriptionRepository.save(testSubscription)).thenReturn(testSubscription);
+
+        // When
+        Subscription result = subscriptionService.renewSubscription(1L, (short) 1);
+
+        // Then
+        assertThat(result.getToDate()).isEqualTo(originalEndDate.plusDays(30));
+        verify(subscriptionRepository, never()).findById(anyLong());
+        verify(eventPublisher).publishEvent(new SubscriptionChangedEvent(1L, 1L, Subscription.SubscriptionStatus.ACTIVE));
+    }
+
+    @Test
+    @DisplayName("결제 반영 - 종료 시각이 지난 활성 구독은 지금부터 연장")
+    void renewSubscription_ExtendsFromNowWhenEnded() {
+        // Given
+        testSubscription.setToDate(LocalDateTime.now().minusDays(3));
+        when(subscriptionRepository.findByUserIdAndStatus(1L, Subscription.SubscriptionStatus.ACTIVE))
+                .thenReturn(Optional.of(testSubscription));
+        when(costModelRepository.findById((short) 1)).thenReturn(Optional.of(testCostModel));
+        when(subscriptionRepository.save(testSubscription)).thenReturn(testSubscription);
+
+        // When
+        Subscription result = subscriptionService.renewSubscription(1L, (short) 1);
+
+        // Then
+        assertThat(result.getToDate()).isAfter(LocalDateTime.now().plusDays(29));
+    }
+
+    @Test
+    @DisplayName("결제 반영 - 활성 구독이 없으면 생성 후 활성화")
+    void renewSubscription_CreatesWhenNoActive() {
+        // Given
+        testSubscription.setStatus(Subscription.SubscriptionStatus.PENDING);
+        when(subscriptionRepository.findByUserIdAndStatus(1L, Subscription.SubscriptionStatus.ACTIVE))
+                .thenReturn(Optional.empty());
+        when(userRepository.findById(1L)).thenReturn(Optional.of(testUser));
+        when(costModelRepository.findById((short) 1)).thenReturn(Optional.of(testCostModel));
         when(subscriptionRepository.save(any(Subscription.class))).thenReturn(testSubscription);
+        when(subscriptionRepository.findById(1L)).thenReturn(Optional.of(testSubscription));
 
         // When
-        subscriptionService.processExpiredSubscriptions();
+        Subscription result = subscriptionService.renewSubscription(1L, (short) 1);
 
         // Then
-        verify(subscriptionRepository, times(1)).save(any(Subscription.class));
+        assertThat(result.getStatus()).isEqualTo(Subscription.SubscriptionStatus.ACTIVE);
+    }
+
+    @Test
+    @DisplayName("만료된 구독 처리 - UPDATE 한 문장, 만료된 구독마다 변경 이벤트")
+    void expireSubscriptions_Success() {
+        // Given
+        LocalDateTime now = LocalDateTime.now();
+        List<Long> ids = List.of(1L, 2L);
+        List<Object[]> expirable = List.<Object[]>of(new Object[] {1L, 10L});
+        when(subscriptionRepository.findExpirableUserIds(ids, now)).thenReturn(expirable);
+        when(subscriptionRepository.expireByIds(ids, now, Subscription.SubscriptionStatus.EXPIRED)).thenReturn(1);
+
+        // When
+        int expired = subscriptionService.expireSubscriptions(ids, now);
+
+        // Then
+        assertThat(expired).isEqualTo(1);
+        verify(eventPublisher).publishEvent(
+                new SubscriptionChangedEvent(10L, 1L, Subscription.SubscriptionStatus.EXPIRED));
+        verify(subscriptionRepository, never()).save(any(Subscription.class));
+    }
+
+    @Test
+    @DisplayName("만료된 구독 처리 - 모두 연장·취소됐으면 UPDATE 없음")
+    void expireSubscriptions_NothingExpirable() {
+        // Given
+        LocalDateTime now = LocalDateTime.now();
+        when(subscriptionRepository.findExpirableUserIds(List.of(1L), now)).thenReturn(List.of());
+
+        // When
+        int expired = subscriptionService.expireSubscriptions(List.of(1L), now);
+
+        // Then
+        assertThat(expired).isZero();
+        verify(subscriptionRepository, never()).expireByIds(any(), any(), any());
+        verifyNoInteractions(eventPublisher);
     }
 }
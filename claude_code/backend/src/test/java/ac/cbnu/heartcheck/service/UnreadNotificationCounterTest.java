@@ -0,0 +1,212 @@
+package ac.cbnu.heartcheck.service;
+
+import ac.cbnu.heartcheck.repository.NotificationRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.data.redis.core.ZSetOperations;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * 읽지 않은 알림 카운터 테스트
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("읽지 않은 알림 카운터 테스트")
+class UnreadNotificationCounterTest {
+
+    private static final Duration TTL = Duration.ofDays(7);
+    private static final Clock CLOCK = Clock.fixed(Instant.parse("2024-06-01T00:00:00Z"), ZoneOffset.UTC);
+
+    @Mock
+    private StringRedisTemplate redisTemplate;
+
+    @Mock
+    private ValueOperations<String, String> valueOperations;
+
+    @Mock
+    private ZSetOperations<String, String> zSetOperations;
+
+    @Mock
+    private NotificationRepository notificationRepository;
+
+    private SimpleMeterRegistry meterRegistry;
+    private UnreadNotificationCounter counter;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        counter = new UnreadNotificationCounter(redisTemplate, notificationRepository, meterRegistry,
+                TTL, Duration.ofMinutes(1), Duration.ofMinutes(10), 100, CLOCK);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    @DisplayName("카운터가 있으면 키 하나만 읽고 COUNT하지 않음")
+    void testGetFromCounter() {
+        // Given
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        when(valueOperations.get("user:1:notifications:unread")).thenReturn("4");
+
+        // When
+        long count = counter.get(1L);
+
+        // Then
+        assertThat(count).isEqualTo(4L);
+        verify(notificationRepository, never()).countUnreadByUserId(any());
+        assertThat(meterRegistry.counter("notification.unread.lookups", "result", "hit").count()).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("카운터가 없으면 COUNT로 채우고 대조 대상에 등록")
+    void testGetFillsMissingCounter() {
+        // Given
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        when(redisTemplate.opsForZSet()).thenReturn(zSetOperations);
+        when(valueOperations.get("user:1:notifications:unread")).thenReturn(null);
+        when(notificationRepository.countUnreadByUserId(1L)).thenReturn(7L);
+
+        // When
+        long count = counter.get(1L);
+
+        // Then
+        assertThat(count).isEqualTo(7L);
+        verify(valueOperations).setIfAbsent("user:1:notifications:unread", "7", TTL);
+        verify(zSetOperations).addIfAbsent(UnreadNotificationCounter.USERS_KEY, "1", CLOCK.millis());
+    }
+
+    @Test
+    @DisplayName("Redis 장애 시 COUNT로 응답")
+    void testGetFallsBackWhenRedisDown() {
+        // Given
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        when(valueOperations.get("user:1:notifications:unread"))
+                .thenThrow(new RedisConnectionFailureException("down"));
+        when(notificationRepository.countUnreadByUserId(1L)).thenReturn(2L);
+
+        // When
+        long count = counter.get(1L);
+
+        // Then
+        assertThat(count).isEqualTo(2L);
+    }
+
+    @Test
+    @DisplayName("트랜잭션 안의 조정은 커밋 직전 대기 표시 후 커밋되면 적용")
+    void testAdjustAfterCommit() {
+        // Given
+        TransactionSynchronizationManager.initSynchronization();
+
+        // When
+        counter.adjust(1L, -3);
+
+        // Then
+        verify(redisTemplate, never()).execute(any(RedisScript.class), anyList(), any());
+        TransactionSynchronizationManager.getSynchronizations().forEach(sync -> sync.beforeCommit(false));
+        verify(redisTemplate).execute(any(RedisScript.class), eq(List.of("user:1:notifications:unread:pending")),
+                eq("60000"));
+        TransactionSynchronizationManager.getSynchronizations()
+                .forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+        verify(redisTemplate).execute(any(RedisScript.class),
+                eq(List.of("user:1:notifications:unread", "user:1:notifications:unread:pending")), eq("1"), eq("-3"));
+    }
+
+    @Test
+    @DisplayName("롤백되면 조정하지 않고 대기 표시만 해제")
+    void testAdjustRolledBack() {
+        // Given
+        TransactionSynchronizationManager.initSynchronization();
+        counter.adjust(1L, 1);
+
+        // When
+        TransactionSynchronizationManager.getSynchronizations().forEach(sync -> sync.beforeCommit(false));
+        TransactionSynchronizationManager.getSynchronizations()
+                .forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+
+        // Then
+        verify(redisTemplate).execute(any(RedisScript.class),
+                eq(List.of("user:1:notifications:unread", "user:1:notifications:unread:pending")), eq("1"), eq("0"));
+    }
+
+    @Test
+    @DisplayName("일괄 조정은 커밋 후 청크 전체를 스크립트 한 번으로 전송")
+    void testAdjustAllSingleScript() {
+        // Given
+        Map<Long, Long> deltas = new LinkedHashMap<>();
+        deltas.put(1L, 1L);
+        deltas.put(2L, 0L);
+        deltas.put(3L, 2L);
+
+        // When: 트랜잭션 밖에서는 바로 적용 (대기 표시 없음)
+        counter.adjustAll(deltas);
+
+        // Then
+        verify(redisTemplate, times(1)).execute(any(RedisScript.class), eq(List.of(
+                        "user:1:notifications:unread", "user:1:notifications:unread:pending",
+                        "user:3:notifications:unread", "user:3:notifications:unread:pending")),
+                eq("0"), eq("1"), eq("2"));
+    }
+
+    @Test
+    @DisplayName("대조 시 어긋난 카운터만 바로잡고 만료된 사용자는 추적에서 제외")
+    void testReconcile() {
+        // Given
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        when(redisTemplate.opsForZSet()).thenReturn(zSetOperations);
+        long cutoff = CLOCK.millis() - Duration.ofMinutes(10).toMillis();
+        when(zSetOperations.rangeByScore(UnreadNotificationCounter.USERS_KEY, 0, cutoff, 0, 100))
+                .thenReturn(new LinkedHashSet<>(List.of("1", "2", "3")));
+        when(valueOperations.multiGet(List.of(
+                "user:1:notifications:unread", "user:2:notifications:unread", "user:3:notifications:unread")))
+                .thenReturn(Arrays.asList("5", "2", null));
+        when(notificationRepository.countUnreadByUserIds(List.of(1L, 2L, 3L)))
+                .thenReturn(List.of(new Object[]{1L, 4L}, new Object[]{2L, 2L}));
+        when(redisTemplate.execute(any(RedisScript.class),
+                eq(List.of("user:1:notifications:unread", "user:1:notifications:unread:pending")),
+                eq("5"), eq("4"), eq(Long.toString(TTL.toSeconds())))).thenReturn(1L);
+
+        // When
+        int corrected = counter.reconcile();
+
+        // Then
+        assertThat(corrected).isEqualTo(1);
+        verify(redisTemplate, times(1)).execute(any(RedisScript.class), anyList(), any(), any(), any());
+        verify(zSetOperations).add(UnreadNotificationCounter.USERS_KEY, "1", CLOCK.millis());
+        verify(zSetOperations).add(UnreadNotificationCounter.USERS_KEY, "2", CLOCK.millis());
+        verify(zSetOperations).remove(UnreadNotificationCounter.USERS_KEY, "3");
+    }
+}
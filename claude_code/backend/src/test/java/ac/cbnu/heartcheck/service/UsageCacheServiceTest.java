@@ -7,11 +7,10 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.data.redis.core.RedisTemplate;
-import org.springframework.data.redis.core.ValueOperations;
 
 import java.time.Duration;
 import java.time.LocalDate;
+import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
@@ -28,16 +27,16 @@ import static org.mockito.Mockito.when;
 class UsageCacheServiceTest {
 
     @Mock
-    private RedisTemplate<String, Object> redisTemplate;
+    private HotKeyCache hotKeyCache;
 
     @Mock
-    private ValueOperations<String, Object> valueOperations;
+    private QuotaEngine quotaEngine;
 
     private UsageCacheService usageCacheService;
 
     @BeforeEach
     void setUp() {
-        usageCacheService = new UsageCacheService(redisTemplate);
+        usageCacheService = new UsageCacheService(hotKeyCache, quotaEngine);
     }
 
     @Test
@@ -45,17 +44,14 @@ class UsageCacheServiceTest {
     void testGetDailyUsageForFreeUserNoCache() {
         // Given
         Long userId = 1L;
-        String expectedKey = "user:1:total_usage"; // FREE_USER는 총 사용량 사용
-
-        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
-        when(valueOperations.get(expectedKey)).thenReturn(null);
+        when(quotaEngine.usage(userId, UserType.FREE_USER)).thenReturn(0);
 
         // When
         int usage = usageCacheService.getDailyUsage(userId, UserType.FREE_USER);
 
         // Then
         assertThat(usage).isEqualTo(0);
-        verify(valueOperations).get(expectedKey);
+        verify(quotaEngine).usage(userId, UserType.FREE_USER);
     }
 
     @Test
@@ -63,17 +59,14 @@ class UsageCacheServiceTest {
     void testGetDailyUsageForPremiumUserWithCache() {
         // Given
         Long userId = 2L;
-        String expectedKey = "user:2:daily_usage:" + LocalDate.now();
-
-        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
-        when(valueOperations.get(expectedKey)).thenReturn(3);
+        when(quotaEngine.usage(userId, UserType.PREMIUM_USER)).thenReturn(3);
 
         // When
         int usage = usageCacheService.getDailyUsage(userId, UserType.PREMIUM_USER);
 
         // Then
         assertThat(usage).isEqualTo(3);
-        verify(valueOperations).get(expectedKey);
+        verify(quotaEngine).usage(userId, UserType.PREMIUM_USER);
     }
 
     @Test
@@ -81,18 +74,14 @@ class UsageCacheServiceTest {
     void testIncrementDailyUsagePremiumUser() {
         // Given
         Long userId = 2L;
-        String expectedKey = "user:2:daily_usage:" + LocalDate.now();
-
-        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
-        when(valueOperations.increment(expectedKey)).thenReturn(1L);
+        when(quotaEngine.increment(userId, UserType.PREMIUM_USER)).thenReturn(1);
 
         // When
         int newUsage = usageCacheService.incrementDailyUsage(userId, UserType.PREMIUM_USER);
 
         // Then
         assertThat(newUsage).isEqualTo(1);
-        verify(valueOperations).increment(expectedKey);
-        verify(redisTemplate).expire(eq(expectedKey), any(Duration.class));
+        verify(quotaEngine).increment(userId, UserType.PREMIUM_USER);
     }
 
     @Test
@@ -100,18 +89,14 @@ class UsageCacheServiceTest {
     void testIncrementDailyUsageFreeUser() {
         // Given
         Long userId = 1L;
-        String expectedKey = "user:1:total_usage";
-
-        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
-        when(valueOperations.increment(expectedKey)).thenReturn(1L);
+        when(quotaEngine.increment(userId, UserType.FREE_USER)).thenReturn(1);
 
         // When
         int newUsage = usageCacheService.incrementDailyUsage(userId, UserType.FREE_USER);
 
         // Then
         assertThat(newUsage).isEqualTo(1);
-        verify(valueOperations).increment(expectedKey);
-        // FREE_USER는 총 사용량이므로 만료 시간 설정하지 않음
+        verify(quotaEngine).increment(userId, UserType.FREE_USER);
     }
 
     @Test
@@ -119,17 +104,13 @@ class UsageCacheServiceTest {
     void testGetTotalUsage() {
         // Given
         Long userId = 1L;
-        String expectedKey = "user:1:total_usage";
-
-        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
-        when(valueOperations.get(expectedKey)).thenReturn(1);
+        when(quotaEngine.usage(userId, UserType.FREE_USER)).thenReturn(1);
 
         // When
         int totalUsage = usageCacheService.getTotalUsage(userId);
 
         // Then
         assertThat(totalUsage).isEqualTo(1);
-        verify(valueOperations).get(expectedKey);
     }
 
     @Test
@@ -137,13 +118,30 @@ class UsageCacheServiceTest {
     void testResetDailyUsage() {
         // Given
         Long userId = 2L;
-        String expectedKey = "user:2:daily_usage:" + LocalDate.now();
 
         // When
         usageCacheService.resetDailyUsage(userId);
 
         // Then
-        verify(redisTemplate).delete(expectedKey);
+        verify(quotaEngine).resetDaily(userId, LocalDate.now());
+    }
+
+    @Test
+    @DisplayName("사용자 캐시 전체 삭제 - 단일 DEL")
+    void testClearUserCache() {
+        // Given
+        Long userId = 1L;
+        LocalDate today = LocalDate.now();
+
+        // When
+        usageCacheService.clearUserCache(userId);
+
+        // Then
+        verify(hotKeyCache).evict(List.of(
+                "user:1:total_usage",
+                "user:1:daily_usage:" + today,
+                "daily_usage:1:" + today,
+                "user:1:session_token"));
     }
 
     @Test
@@ -154,13 +152,11 @@ class UsageCacheServiceTest {
         String token = "test.jwt.token";
         String expectedKey = "user:1:session_token";
 
-        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
-
         // When
         usageCacheService.storeSessionToken(userId, token);
 
         // Then
-        verify(valueOperations).set(eq(expectedKey), eq(token), any(Duration.class));
+        verify(hotKeyCache).put(eq(expectedKey), eq(token), any(Duration.class));
     }
 
     @Test
@@ -171,15 +167,14 @@ class UsageCacheServiceTest {
         String token = "test.jwt.token";
         String expectedKey = "user:1:session_token";
 
-        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
-        when(valueOperations.get(expectedKey)).thenReturn(token);
+        when(hotKeyCache.get(expectedKey, String.class)).thenReturn(token);
 
         // When
         boolean isValid = usageCacheService.validateSessionToken(userId, token);
 
         // Then
         assertThat(isValid).isTrue();
-        verify(valueOperations).get(expectedKey);
+        verify(hotKeyCache).get(expectedKey, String.class);
     }
 
     @Test
@@ -193,6 +188,6 @@ class UsageCacheServiceTest {
         usageCacheService.invalidateSessionToken(userId);
 
         // Then
-        verify(redisTemplate).delete(expectedKey);
+        verify(hotKeyCache).evict(expectedKey);
     }
 }
\ No newline at end of file
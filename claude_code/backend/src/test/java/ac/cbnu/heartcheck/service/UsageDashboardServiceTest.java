@@ -0,0 +1,116 @@
+package ac.cbnu.heartcheck.service;
+
+import ac.cbnu.heartcheck.service.UsageDashboardService.TopUser;
+import ac.cbnu.heartcheck.service.UsageDashboardService.UsageDashboard;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.core.DefaultTypedTuple;
+import org.springframework.data.redis.core.HashOperations;
+import org.springframework.data.redis.core.HyperLogLogOperations;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.data.redis.core.ZSetOperations;
+import org.springframework.data.redis.core.ZSetOperations.TypedTuple;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * 사용량 대시보드 서비스 테스트
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("사용량 대시보드 서비스 테스트")
+class UsageDashboardServiceTest {
+
+    @Mock
+    private StringRedisTemplate stringRedisTemplate;
+
+    @Mock
+    private HyperLogLogOperations<String, String> hyperLogLogOperations;
+
+    @Mock
+    private ValueOperations<String, String> valueOperations;
+
+    @Mock
+    private ZSetOperations<String, String> zSetOperations;
+
+    @Mock
+    private HashOperations<String, Object, Object> hashOperations;
+
+    @InjectMocks
+    private UsageDashboardService usageDashboardService;
+
+    private final LocalDate day = LocalDate.of(2024, 3, 1);
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(stringRedisTemplate.opsForHyperLogLog()).thenReturn(hyperLogLogOperations);
+        lenient().when(stringRedisTemplate.opsForValue()).thenReturn(valueOperations);
+        lenient().when(stringRedisTemplate.opsForZSet()).thenReturn(zSetOperations);
+        lenient().when(stringRedisTemplate.opsForHash()).thenReturn(hashOperations);
+    }
+
+    @Test
+    @DisplayName("대시보드 조회 - 활성 사용자, 전체 횟수, 상위 사용자, 분별 최고치")
+    void testGetDashboard() {
+        // Given
+        Set<TypedTuple<String>> top = new LinkedHashSet<>();
+        top.add(new DefaultTypedTuple<>("7", 5.0));
+        top.add(new DefaultTypedTuple<>("3", 2.0));
+        when(hyperLogLogOperations.size("usage_stats:2024-03-01:active")).thenReturn(120L);
+        when(valueOperations.get("usage_stats:2024-03-01:total")).thenReturn("340");
+        when(zSetOperations.reverseRangeWithScores("usage_stats:2024-03-01:top", 0, 1)).thenReturn(top);
+        when(hashOperations.entries("usage_stats:2024-03-01:minutes"))
+                .thenReturn(Map.of("09:00", "12", "09:01", "30", "13:45", "4"));
+
+        // When
+        UsageDashboard dashboard = usageDashboardService.getDashboard(day, 2);
+
+        // Then
+        assertThat(dashboard.getActiveUsers()).isEqualTo(120);
+        assertThat(dashboard.getTotalUsage()).isEqualTo(340);
+        assertThat(dashboard.getTopUsers()).containsExactly(new TopUser(7L, 5), new TopUser(3L, 2));
+        assertThat(dashboard.getPerMinute()).containsKeys("09:00", "09:01", "13:45");
+        assertThat(dashboard.getPeakMinute()).isEqualTo("09:01");
+        assertThat(dashboard.getPeakMinuteUsage()).isEqualTo(30);
+    }
+
+    @Test
+    @DisplayName("통계 없는 날짜 - 0으로 응답, 상위 K는 최대 100명")
+    void testGetDashboardEmpty() {
+        // Given
+        when(hyperLogLogOperations.size(anyString())).thenReturn(0L);
+        when(zSetOperations.reverseRangeWithScores(anyString(), anyLong(), anyLong())).thenReturn(Set.of());
+        when(hashOperations.entries(anyString())).thenReturn(Map.of());
+
+        // When
+        UsageDashboard dashboard = usageDashboardService.getDashboard(day, 1000);
+
+        // Then
+        assertThat(dashboard.getTotalUsage()).isZero();
+        assertThat(dashboard.getTopUsers()).isEmpty();
+        assertThat(dashboard.getPeakMinute()).isNull();
+        verify(zSetOperations).reverseRangeWithScores("usage_stats:2024-03-01:top", 0, 99);
+    }
+
+    @Test
+    @DisplayName("분별 통계 필드 형식")
+    void testMinuteField() {
+        assertThat(UsageDashboardService.minuteField(LocalTime.of(9, 5, 59))).isEqualTo("09:05");
+    }
+}
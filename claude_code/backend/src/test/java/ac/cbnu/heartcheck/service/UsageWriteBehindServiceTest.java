@@ -0,0 +1,146 @@
+package ac.cbnu.heartcheck.service;
+
+import ac.cbnu.heartcheck.repository.DailyUsageQuotaJdbcRepository;
+import ac.cbnu.heartcheck.repository.DailyUsageQuotaJdbcRepository.UsageCountRow;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.data.redis.core.DefaultTypedTuple;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.data.redis.core.ZSetOperations;
+import org.springframework.data.redis.core.ZSetOperations.TypedTuple;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * 사용량 Write-Behind 서비스 테스트
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("사용량 Write-Behind 서비스 테스트")
+class UsageWriteBehindServiceTest {
+
+    @Mock
+    private StringRedisTemplate stringRedisTemplate;
+
+    @Mock
+    private ZSetOperations<String, String> zSetOperations;
+
+    @Mock
+    private RedisTemplate<String, Long> counterRedisTemplate;
+
+    @Mock
+    private ValueOperations<String, Long> valueOperations;
+
+    @Mock
+    private DailyUsageQuotaJdbcRepository dailyUsageQuotaJdbcRepository;
+
+    private UsageWriteBehindService usageWriteBehindService;
+
+    private final LocalDate today = LocalDate.of(2024, 5, 1);
+
+    @BeforeEach
+    void setUp() {
+        usageWriteBehindService = new UsageWriteBehindService(
+                stringRedisTemplate, counterRedisTemplate, dailyUsageQuotaJdbcRepository, new SimpleMeterRegistry(), 100);
+        when(stringRedisTemplate.opsForZSet()).thenReturn(zSetOperations);
+    }
+
+    @Test
+    @DisplayName("일괄 반영 - 변경된 카운터를 한 번에 upsert")
+    @SuppressWarnings("unchecked")
+    void testFlushOnceBatchesUpserts() {
+        // Given
+        Set<TypedTuple<String>> claimed = new LinkedHashSet<>(List.of(
+                new DefaultTypedTuple<>("1:2024-05-01:1", 1000.0),
+                new DefaultTypedTuple<>("2:2024-05-01:5", 2000.0)));
+        when(zSetOperations.popMin("daily_usage:dirty", 100)).thenReturn(claimed);
+        when(counterRedisTemplate.opsForValue()).thenReturn(valueOperations);
+        when(valueOperations.multiGet(List.of("daily_usage:1:2024-05-01", "daily_usage:2:2024-05-01")))
+                .thenReturn(Arrays.asList(1L, 3L));
+
+        // When
+        int flushed = usageWriteBehindService.flushOnce();
+
+        // Then
+        assertThat(flushed).isEqualTo(2);
+        ArgumentCaptor<List<UsageCountRow>> captor = ArgumentCaptor.forClass(List.class);
+        verify(dailyUsageQuotaJdbcRepository).batchUpsertCounts(captor.capture());
+        assertThat(captor.getValue()).containsExactly(
+                new UsageCountRow(1L, today, 1, 1),
+                new UsageCountRow(2L, today, 3, 5));
+    }
+
+    @Test
+    @DisplayName("일괄 반영 - 만료된 카운터는 건너뜀")
+    @SuppressWarnings("unchecked")
+    void testFlushOnceSkipsExpiredCounters() {
+        // Given
+        Set<TypedTuple<String>> claimed = new LinkedHashSet<>(List.of(
+                new DefaultTypedTuple<>("1:2024-05-01:1", 1000.0)));
+        when(zSetOperations.popMin("daily_usage:dirty", 100)).thenReturn(claimed);
+        when(counterRedisTemplate.opsForValue()).thenReturn(valueOperations);
+        when(valueOperations.multiGet(List.of("daily_usage:1:2024-05-01"))).thenReturn(Arrays.asList((Long) null));
+
+        // When
+        usageWriteBehindService.flushOnce();
+
+        // Then
+        ArgumentCaptor<List<UsageCountRow>> captor = ArgumentCaptor.forClass(List.class);
+        verify(dailyUsageQuotaJdbcRepository).batchUpsertCounts(captor.capture());
+        assertThat(captor.getValue()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("일괄 반영 실패 - 항목을 다시 변경 목록에 등록")
+    void testFlushOnceRequeuesOnFailure() {
+        // Given
+        Set<TypedTuple<String>> claimed = new LinkedHashSet<>(List.of(
+                new DefaultTypedTuple<>("1:2024-05-01:1", 1000.0)));
+        when(zSetOperations.popMin("daily_usage:dirty", 100)).thenReturn(claimed);
+        when(counterRedisTemplate.opsForValue()).thenReturn(valueOperations);
+        when(valueOperations.multiGet(List.of("daily_usage:1:2024-05-01"))).thenReturn(List.of(1L));
+        when(dailyUsageQuotaJdbcRepository.batchUpsertCounts(anyList()))
+                .thenThrow(new DataAccessResourceFailureException("db down"));
+
+        // When & Then
+        assertThatThrownBy(() -> usageWriteBehindService.flushOnce())
+                .isInstanceOf(DataAccessResourceFailureException.class);
+        verify(zSetOperations).addIfAbsent("daily_usage:dirty",
+                Set.of(TypedTuple.of("1:2024-05-01:1", 1000.0)));
+    }
+
+    @Test
+    @DisplayName("변경 없음 - DB 접근 없음")
+    void testFlushOnceWithNothingPending() {
+        // Given
+        when(zSetOperations.popMin(eq("daily_usage:dirty"), anyLong())).thenReturn(Set.of());
+
+        // When
+        int flushed = usageWriteBehindService.flushOnce();
+
+        // Then
+        assertThat(flushed).isZero();
+        verify(dailyUsageQuotaJdbcRepository, never()).batchUpsertCounts(anyList());
+    }
+}
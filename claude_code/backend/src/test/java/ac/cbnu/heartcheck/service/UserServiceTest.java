@@ -106,12 +106,12 @@ class UserServiceTest {
 
     @Test
     @DisplayName("전화번호 존재 여부 확인 - 존재함")
-    void existsByPhoneNumber_True() {
+    void existsByPhone_True() {
         // Given
-        when(userRepository.existsByPhoneNumber("01012345678")).thenReturn(true);
+        when(userRepository.existsByPhone("01012345678")).thenReturn(true);
 
         // When
-        boolean result = userService.existsByPhoneNumber("01012345678");
+        boolean result = userService.existsByPhone("01012345678");
 
         // Then
         assertThat(result).isTrue();
@@ -119,12 +119,12 @@ class UserServiceTest {
 
     @Test
     @DisplayName("전화번호 존재 여부 확인 - 존재하지 않음")
-    void existsByPhoneNumber_False() {
+    void existsByPhone_False() {
         // Given
-        when(userRepository.existsByPhoneNumber("01099999999")).thenReturn(false);
+        when(userRepository.existsByPhone("01099999999")).thenReturn(false);
 
         // When
-        boolean result = userService.existsByPhoneNumber("01099999999");
+        boolean result = userService.existsByPhone("01099999999");
 
         // Then
         assertThat(result).isFalse();
@@ -0,0 +1,121 @@
+package ac.cbnu.heartcheck.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.boot.availability.AvailabilityChangeEvent;
+import org.springframework.boot.availability.ReadinessState;
+import org.springframework.context.ApplicationEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.core.HashOperations;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ZSetOperations;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.verify;
+
+/**
+ * 음성 세션 레지스트리·드레인 테스트
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("음성 세션 레지스트리 테스트")
+class VoiceSessionRegistryTest {
+
+    @Mock
+    private StringRedisTemplate stringRedisTemplate;
+
+    @Mock
+    private HashOperations<String, Object, Object> hashOperations;
+
+    @Mock
+    private ZSetOperations<String, String> zSetOperations;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    private VoiceSessionRegistry registry;
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(stringRedisTemplate.opsForHash()).thenReturn(hashOperations);
+        lenient().when(stringRedisTemplate.opsForZSet()).thenReturn(zSetOperations);
+        registry = new VoiceSessionRegistry(stringRedisTemplate, eventPublisher, new SimpleMeterRegistry(),
+                "node-a", 5000, 200);
+        registry.start();
+    }
+
+    @Test
+    @DisplayName("세션 등록·해제 시 노드 세션 수를 Redis에 게시")
+    void testRegisterPublishesNodeCount() {
+        // When
+        boolean registered = registry.register("s1", 7L, () -> { });
+
+        // Then
+        assertThat(registered).isTrue();
+        assertThat(registry.localLoad().activeSessions()).isEqualTo(1);
+        verify(hashOperations).put(eq("voice:node:node-a:sessions"), eq("s1"), anyString());
+        verify(zSetOperations).add(VoiceSessionRegistry.NODES_KEY, "node-a", 1.0);
+
+        // When
+        registry.unregister("s1");
+
+        // Then
+        assertThat(registry.localLoad().activeSessions()).isZero();
+        verify(hashOperations).delete("voice:node:node-a:sessions", "s1");
+    }
+
+    @Test
+    @DisplayName("드레인 중에는 새 세션을 거절하고 readiness를 내림")
+    void testDrainRejectsNewSessions() {
+        // When
+        registry.startDrain();
+
+        // Then
+        assertThat(registry.register("s1", 7L, () -> { })).isFalse();
+        assertThat(registry.localLoad().draining()).isTrue();
+        ArgumentCaptor<ApplicationEvent> event = ArgumentCaptor.forClass(ApplicationEvent.class);
+        verify(eventPublisher).publishEvent(event.capture());
+        assertThat(((AvailabilityChangeEvent<?>) event.getValue()).getState()).isEqualTo(ReadinessState.REFUSING_TRAFFIC);
+    }
+
+    @Test
+    @DisplayName("종료 시 기한까지 끝나지 않은 세션을 닫고 노드를 레지스트리에서 제거")
+    void testStopForceClosesAfterDeadline() {
+        // Given
+        AtomicInteger forceClosed = new AtomicInteger();
+        registry.register("s1", 7L, forceClosed::incrementAndGet);
+
+        // When
+        registry.stop();
+
+        // Then
+        assertThat(forceClosed.get()).isEqualTo(1);
+        assertThat(registry.isRunning()).isFalse();
+        verify(zSetOperations).remove(VoiceSessionRegistry.NODES_KEY, "node-a");
+    }
+
+    @Test
+    @DisplayName("Redis 장애 시에도 세션 등록은 성공")
+    void testRegisterSurvivesRedisFailure() {
+        // Given
+        doThrow(new RedisConnectionFailureException("down"))
+                .when(hashOperations).put(anyString(), any(), any());
+
+        // When & Then
+        assertThat(registry.register("s1", 7L, () -> { })).isTrue();
+        assertThat(registry.localLoad().activeSessions()).isEqualTo(1);
+    }
+}
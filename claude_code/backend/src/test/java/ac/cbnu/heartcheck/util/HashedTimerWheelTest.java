@@ -0,0 +1,81 @@
+package ac.cbnu.heartcheck.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 해시 타이머 휠 테스트
+ */
+@DisplayName("해시 타이머 휠 테스트")
+class HashedTimerWheelTest {
+
+    private static final long START = 1_000_000L;
+
+    @Test
+    @DisplayName("마감 이후 첫 tick 경계에서 꺼내고, 마감 전에는 꺼내지 않음")
+    void testAdvanceFiresAtDeadline() {
+        // Given
+        HashedTimerWheel<Long> wheel = new HashedTimerWheel<>(Duration.ofMillis(100), 8, START);
+        wheel.schedule(1L, START + 250);
+
+        // When & Then
+        assertThat(wheel.advance(START + 249)).isEmpty();
+        List<HashedTimerWheel.Entry<Long>> due = wheel.advance(START + 300);
+        assertThat(due).extracting(HashedTimerWheel.Entry::key).containsExactly(1L);
+        assertThat(due.get(0).deadlineMillis()).isEqualTo(START + 250);
+        assertThat(wheel.size()).isZero();
+    }
+
+    @Test
+    @DisplayName("휠 한 바퀴보다 먼 마감은 다음 바퀴에 꺼냄")
+    void testMultipleRounds() {
+        // Given
+        HashedTimerWheel<Long> wheel = new HashedTimerWheel<>(Duration.ofMillis(100), 4, START);
+        wheel.schedule(1L, START + 100);
+        wheel.schedule(2L, START + 500); // 같은 칸, 한 바퀴 뒤
+
+        // When & Then
+        assertThat(wheel.advance(START + 100)).extracting(HashedTimerWheel.Entry::key).containsExactly(1L);
+        assertThat(wheel.advance(START + 400)).isEmpty();
+        assertThat(wheel.advance(START + 500)).extracting(HashedTimerWheel.Entry::key).containsExactly(2L);
+    }
+
+    @Test
+    @DisplayName("한 바퀴 이상 밀려도 마감된 항목을 모두 꺼냄")
+    void testLongPause() {
+        // Given
+        HashedTimerWheel<Long> wheel = new HashedTimerWheel<>(Duration.ofMillis(100), 4, START);
+        for (long i = 1; i <= 20; i++) {
+            wheel.schedule(i, START + i * 100);
+        }
+
+        // When
+        List<HashedTimerWheel.Entry<Long>> due = wheel.advance(START + 1_500);
+
+        // Then
+        assertThat(due).hasSize(15);
+        assertThat(wheel.size()).isEqualTo(5);
+    }
+
+    @Test
+    @DisplayName("다시 등록하면 마감 교체, 취소하면 꺼내지 않음, 지난 마감은 다음 advance에서 꺼냄")
+    void testRescheduleCancelAndPastDeadline() {
+        // Given
+        HashedTimerWheel<Long> wheel = new HashedTimerWheel<>(Duration.ofMillis(100), 8, START);
+        wheel.schedule(1L, START + 100);
+        wheel.schedule(1L, START + 700);
+        wheel.schedule(2L, START + 100);
+        wheel.cancel(2L);
+        wheel.advance(START + 200);
+        wheel.schedule(3L, START - 5_000);
+
+        // When & Then
+        assertThat(wheel.advance(START + 300)).extracting(HashedTimerWheel.Entry::key).containsExactly(3L);
+        assertThat(wheel.advance(START + 700)).extracting(HashedTimerWheel.Entry::key).containsExactly(1L);
+    }
+}
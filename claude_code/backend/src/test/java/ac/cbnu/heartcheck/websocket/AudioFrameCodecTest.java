@@ -0,0 +1,112 @@
+package ac.cbnu.heartcheck.websocket;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.util.Base64;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 오디오 프레임 변환기 테스트
+ */
+@DisplayName("오디오 프레임 변환기 테스트")
+class AudioFrameCodecTest {
+
+    @Test
+    @DisplayName("PCM16 프레임을 input_audio_buffer.append로 감쌈 - 길이별 Base64 패딩")
+    void testWrapAppend() {
+        // Given
+        AudioFrameCodec codec = new AudioFrameCodec();
+
+        for (int length : new int[]{0, 1, 2, 3, 4, 4096}) {
+            byte[] pcm = new byte[length];
+            for (int i = 0; i < length; i++) {
+                pcm[i] = (byte) (i * 31);
+            }
+
+            // When
+            String envelope = codec.wrapAppend(ByteBuffer.wrap(pcm)).toString();
+
+            // Then
+            assertThat(envelope).isEqualTo("{\"type\":\"input_audio_buffer.append\",\"audio\":\""
+                    + Base64.getEncoder().encodeToString(pcm) + "\"}");
+        }
+    }
+
+    @Test
+    @DisplayName("오디오 delta 메시지를 PCM16으로 디코딩")
+    void testUnwrapAudioDelta() {
+        // Given
+        AudioFrameCodec codec = new AudioFrameCodec();
+        byte[] pcm = {1, 2, 3, 4, 5};
+        String message = "{\"type\":\"response.audio.delta\",\"event_id\":\"e1\",\"response_id\":\"r1\","
+                + "\"meta\":{\"delta\":\"ignored\"},\"delta\":\"" + Base64.getEncoder().encodeToString(pcm) + "\"}";
+
+        // When
+        ByteBuffer audio = codec.unwrapAudioDelta(message);
+
+        // Then
+        assertThat(bytes(audio)).containsExactly(pcm);
+    }
+
+    @Test
+    @DisplayName("길이별 Base64 패딩 디코딩 - 패딩 생략도 허용")
+    void testUnwrapPadding() {
+        // Given
+        AudioFrameCodec codec = new AudioFrameCodec();
+
+        for (int length : new int[]{0, 1, 2, 3, 4, 5, 4097}) {
+            byte[] pcm = new byte[length];
+            for (int i = 0; i < length; i++) {
+                pcm[i] = (byte) (i * 31);
+            }
+            String padded = Base64.getEncoder().encodeToString(pcm);
+            String unpadded = Base64.getEncoder().withoutPadding().encodeToString(pcm);
+
+            // When & Then
+            assertThat(bytes(codec.unwrapAudioDelta(delta("response.audio.delta", padded)))).containsExactly(pcm);
+            assertThat(bytes(codec.unwrapAudioDelta(delta("response.output_audio.delta", unpadded)))).containsExactly(pcm);
+        }
+    }
+
+    @Test
+    @DisplayName("전송 후 돌려준 버퍼를 다음 디코딩에 재사용")
+    void testRecycledBufferReused() {
+        // Given
+        AudioFrameCodec codec = new AudioFrameCodec();
+        String message = delta("response.audio.delta", Base64.getEncoder().encodeToString(new byte[]{1, 2, 3}));
+        ByteBuffer first = codec.unwrapAudioDelta(message);
+
+        // When
+        codec.recycle(first);
+        ByteBuffer second = codec.unwrapAudioDelta(message);
+
+        // Then
+        assertThat(second.array()).isSameAs(first.array());
+        assertThat(bytes(second)).containsExactly(1, 2, 3);
+    }
+
+    @Test
+    @DisplayName("오디오가 아닌 메시지와 잘못된 Base64는 그대로 중계 (null 반환)")
+    void testUnwrapNonAudioMessage() {
+        AudioFrameCodec codec = new AudioFrameCodec();
+        assertThat(codec.unwrapAudioDelta("{\"type\":\"session.created\"}")).isNull();
+        assertThat(codec.unwrapAudioDelta(
+                "{\"type\":\"response.audio_transcript.delta\",\"delta\":\"안녕\"}")).isNull();
+        assertThat(codec.unwrapAudioDelta("{\"type\":\"response.audio.delta\"")).isNull();
+        assertThat(codec.unwrapAudioDelta(delta("response.audio.delta", "AQI*"))).isNull();
+        assertThat(codec.unwrapAudioDelta(delta("response.audio.delta", "AQIDB"))).isNull();
+    }
+
+    private static String delta(String type, String base64) {
+        return "{\"delta\":\"" + base64 + "\",\"type\":\"" + type + "\"}";
+    }
+
+    private static byte[] bytes(ByteBuffer buffer) {
+        byte[] bytes = new byte[buffer.remaining()];
+        buffer.duplicate().get(bytes);
+        return bytes;
+    }
+}
@@ -0,0 +1,257 @@
+package ac.cbnu.heartcheck.websocket;
+
+import org.springframework.boot.Banner;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.http.HttpMessageConvertersAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.autoconfigure.web.servlet.DispatcherServletAutoConfiguration;
+import org.springframework.boot.autoconfigure.web.servlet.ServletWebServerFactoryAutoConfiguration;
+import org.springframework.boot.autoconfigure.web.servlet.WebMvcAutoConfiguration;
+import org.springframework.boot.autoconfigure.websocket.servlet.WebSocketServletAutoConfiguration;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ApplicationContextInitializer;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.web.servlet.function.RouterFunction;
+import org.springframework.web.servlet.function.RouterFunctions;
+import org.springframework.web.servlet.function.ServerResponse;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.config.annotation.EnableWebSocket;
+import org.springframework.web.socket.config.annotation.WebSocketConfigurer;
+import org.springframework.web.socket.config.annotation.WebSocketHandlerRegistry;
+import org.springframework.web.socket.handler.ConcurrentWebSocketSessionDecorator;
+import org.springframework.web.socket.handler.TextWebSocketHandler;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 로컬 가짜 OpenAI Realtime 상위 서버 (부하·통합 테스트용)
+ *
+ * - POST /v1/realtime/sessions: 임시 토큰 발급 (client_secret.value, expires_at)
+ * - WS /v1/realtime: 발급한 토큰만 허용하고, response.create를 받으면
+ *   첫 오디오 지연 후 스크립트대로 response.audio.delta와 자막 이벤트를 실제 재생 속도로 보낸다
+ *
+ * 메인 애플리케이션의 컴포넌트 스캔에 잡히지 않도록 @Configuration/@Component 없이 별도 컨텍스트로 띄운다.
+ */
+@ImportAutoConfiguration({
+        ServletWebServerFactoryAutoConfiguration.class,
+        DispatcherServletAutoConfiguration.class,
+        WebMvcAutoConfiguration.class,
+        HttpMessageConvertersAutoConfiguration.class,
+        JacksonAutoConfiguration.class,
+        WebSocketServletAutoConfiguration.class
+})
+@EnableWebSocket
+class FakeRealtimeUpstream implements WebSocketConfigurer {
+
+    static final String TOKEN_PREFIX = "ek_fake_";
+
+    private final Script script;
+    private final AtomicInteger mintedTokens = new AtomicInteger();
+    private final RealtimeHandler realtimeHandler;
+
+    FakeRealtimeUpstream(Script script) {
+        this.script = script;
+        this.realtimeHandler = new RealtimeHandler(script);
+    }
+
+    /**
+     * 가짜 상위 서버 시작 (임의 포트)
+     * @param script 응답 스크립트
+     * @return 실행 중인 서버
+     */
+    static Server start(Script script) {
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(FakeRealtimeUpstream.class)
+                .web(WebApplicationType.SERVLET)
+                .bannerMode(Banner.Mode.OFF)
+                .logStartupInfo(false)
+                .initializers((ApplicationContextInitializer<ConfigurableApplicationContext>) ctx ->
+                        ctx.getBeanFactory().registerSingleton("fakeRealtimeScript", script))
+                // 메인 애플리케이션 설정 파일을 읽지 않음
+                .properties("server.port=0", "spring.config.name=fake-realtime-upstream", "spring.jmx.enabled=false")
+                .run();
+        return new Server(context, ((WebServerApplicationContext) context).getWebServer().getPort());
+    }
+
+    @Override
+    public void registerWebSocketHandlers(WebSocketHandlerRegistry registry) {
+        registry.addHandler(realtimeHandler, "/v1/realtime");
+    }
+
+    @Bean
+    RouterFunction<ServerResponse> fakeSessionsEndpoint() {
+        return RouterFunctions.route()
+                .POST("/v1/realtime/sessions", request -> ServerResponse.ok().body(Map.of(
+                        "id", "sess_fake",
+                        "client_secret", Map.of(
+                                "value", TOKEN_PREFIX + mintedTokens.incrementAndGet(),
+                                "expires_at", Instant.now().plusSeconds(60).getEpochSecond()))))
+                .build();
+    }
+
+    @Bean(destroyMethod = "shutdown")
+    RealtimeHandler fakeRealtimeHandler() {
+        return realtimeHandler;
+    }
+
+    /**
+     * 응답 스크립트
+     * @param firstAudioDelay response.create부터 첫 오디오 delta까지 (모델 지연 흉내)
+     * @param audioChunks 응답당 오디오 delta 수
+     * @param chunkInterval delta 간격 (실제 재생 속도면 chunkBytes 분량의 재생 시간)
+     * @param chunkBytes delta당 PCM16 바이트 (24kHz mono 100ms = 4800)
+     * @param userTranscript 입력 오디오 확정 시 돌려줄 사용자 자막
+     * @param aiTranscript 응답 자막
+     */
+    record Script(Duration firstAudioDelay, int audioChunks, Duration chunkInterval, int chunkBytes,
+                  String userTranscript, String aiTranscript) {
+
+        static Script realistic() {
+            return new Script(Duration.ofMillis(300), 30, Duration.ofMillis(100), 4800,
+                    "네 있어요", "가슴 통증이 있으시군요. 옆구리 통증이 있으신가요?");
+        }
+    }
+
+    /**
+     * 실행 중인 가짜 상위 서버
+     */
+    static final class Server implements AutoCloseable {
+        private final ConfigurableApplicationContext context;
+        private final int port;
+
+        private Server(ConfigurableApplicationContext context, int port) {
+            this.context = context;
+            this.port = port;
+        }
+
+        String sessionsUrl() {
+            return "http://localhost:" + port + "/v1/realtime/sessions";
+        }
+
+        String realtimeUrl() {
+            return "ws://localhost:" + port + "/v1/realtime?model=fake";
+        }
+
+        int mintedTokens() {
+            return context.getBean(FakeRealtimeUpstream.class).mintedTokens.get();
+        }
+
+        long receivedAudioBytes() {
+            return context.getBean(RealtimeHandler.class).receivedAudioChars.get() * 3 / 4;
+        }
+
+        @Override
+        public void close() {
+            context.close();
+        }
+    }
+
+    /**
+     * 가짜 Realtime WebSocket 핸들러
+     */
+    static final class RealtimeHandler extends TextWebSocketHandler {
+        private final Script script;
+        private final String audioDelta;
+        private final ScheduledExecutorService scheduler = Executors.newScheduledThreadPool(2, runnable -> {
+            Thread thread = new Thread(runnable, "fake-realtime");
+            thread.setDaemon(true);
+            return thread;
+        });
+        private final Map<String, WebSocketSession> sessions = new ConcurrentHashMap<>();
+        private final AtomicLong receivedAudioChars = new AtomicLong();
+
+        private RealtimeHandler(Script script) {
+            this.script = script;
+            byte[] pcm = new byte[script.chunkBytes()];
+            for (int i = 0; i < pcm.length; i += 2) {
+                // 440Hz 사인파 PCM16 (little endian)
+                short sample = (short) (Math.sin(2 * Math.PI * 440 * (i / 2) / 24000.0) * 8000);
+                pcm[i] = (byte) sample;
+                pcm[i + 1] = (byte) (sample >> 8);
+            }
+            this.audioDelta = Base64.getEncoder().encodeToString(pcm);
+        }
+
+        @Override
+        public void afterConnectionEstablished(WebSocketSession session) throws Exception {
+            String authorization = session.getHandshakeHeaders().getFirst("Authorization");
+            if (authorization == null || !authorization.startsWith("Bearer " + TOKEN_PREFIX)) {
+                session.close(CloseStatus.POLICY_VIOLATION);
+                return;
+            }
+            session.setTextMessageSizeLimit(1024 * 1024);
+            WebSocketSession safe = new ConcurrentWebSocketSessionDecorator(session, 10_000, 16 * 1024 * 1024);
+            sessions.put(session.getId(), safe);
+            send(safe, "{\"type\":\"session.created\",\"session\":{\"id\":\"sess_" + session.getId() + "\"}}");
+        }
+
+        @Override
+        protected void handleTextMessage(WebSocketSession session, TextMessage message) {
+            WebSocketSession safe = sessions.get(session.getId());
+            String payload = message.getPayload();
+            if (safe == null) {
+                return;
+            }
+            if (payload.contains("\"input_audio_buffer.append\"")) {
+                receivedAudioChars.addAndGet(payload.length());
+            } else if (payload.contains("\"session.update\"")) {
+                send(safe, "{\"type\":\"session.updated\"}");
+            } else if (payload.contains("\"input_audio_buffer.commit\"")) {
+                send(safe, "{\"type\":\"input_audio_buffer.committed\"}");
+                send(safe, "{\"type\":\"conversation.item.input_audio_transcription.completed\",\"transcript\":\""
+                        + script.userTranscript() + "\"}");
+            } else if (payload.contains("\"response.create\"")) {
+                replayResponse(safe);
+            }
+        }
+
+        @Override
+        public void afterConnectionClosed(WebSocketSession session, CloseStatus status) {
+            sessions.remove(session.getId());
+        }
+
+        private void replayResponse(WebSocketSession session) {
+            send(session, "{\"type\":\"response.created\"}");
+            long delay = script.firstAudioDelay().toMillis();
+            long interval = script.chunkInterval().toMillis();
+            for (int i = 0; i < script.audioChunks(); i++) {
+                scheduler.schedule(() -> send(session, "{\"type\":\"response.audio.delta\",\"response_id\":\"resp_fake\","
+                        + "\"item_id\":\"item_fake\",\"output_index\":0,\"content_index\":0,\"delta\":\""
+                        + audioDelta + "\"}"), delay + i * interval, TimeUnit.MILLISECONDS);
+            }
+            scheduler.schedule(() -> {
+                send(session, "{\"type\":\"response.audio.done\"}");
+                send(session, "{\"type\":\"response.audio_transcript.done\",\"transcript\":\""
+                        + script.aiTranscript() + "\"}");
+                send(session, "{\"type\":\"response.done\"}");
+            }, delay + script.audioChunks() * interval, TimeUnit.MILLISECONDS);
+        }
+
+        private static void send(WebSocketSession session, String message) {
+            try {
+                if (session.isOpen()) {
+                    session.sendMessage(new TextMessage(message));
+                }
+            } catch (Exception e) {
+                // 테스트용 서버: 닫힌 세션으로의 전송 실패는 무시
+            }
+        }
+
+        void shutdown() {
+            scheduler.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package ac.cbnu.heartcheck.websocket;
+
+import ac.cbnu.heartcheck.service.UnreadNotificationCounter;
+import ac.cbnu.heartcheck.util.JwtUtil;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketSession;
+
+import java.net.URI;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * 알림 스트림 WebSocket 핸들러 테스트
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("알림 스트림 WebSocket 핸들러 테스트")
+class NotificationPushHandlerTest {
+
+    @Mock
+    private JwtUtil jwtUtil;
+
+    @Mock
+    private UnreadNotificationCounter unreadNotificationCounter;
+
+    @Mock
+    private WebSocketSession session;
+
+    private SimpleMeterRegistry meterRegistry;
+    private NotificationPushHandler handler;
+    private final Map<String, Object> attributes = new HashMap<>();
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        handler = new NotificationPushHandler(jwtUtil, unreadNotificationCounter, new ObjectMapper(),
+                meterRegistry, 5000, 65536);
+    }
+
+    @Test
+    @DisplayName("연결 직후 읽지 않은 개수를 보내고 이후 메시지를 전달")
+    void testSyncOnConnectAndDeliver() throws Exception {
+        // Given
+        connectAs(1L);
+        when(unreadNotificationCounter.get(1L)).thenReturn(3L);
+
+        // When
+        handler.afterConnectionEstablished(session);
+        int delivered = handler.deliver(1L, "{\"type\":\"unread.changed\",\"userId\":1,\"unreadDelta\":1}");
+
+        // Then
+        ArgumentCaptor<TextMessage> sent = ArgumentCaptor.forClass(TextMessage.class);
+        verify(session, times(2)).sendMessage(sent.capture());
+        assertThat(sent.getAllValues().get(0).getPayload())
+                .contains("\"type\":\"unread.count\"").contains("\"unreadCount\":3");
+        assertThat(delivered).isEqualTo(1);
+        assertThat(handler.deliver(2L, "{}")).isZero();
+        assertThat(meterRegistry.get("notification.push.connections").gauge().value()).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("연결이 닫히면 더 이상 전달하지 않음")
+    void testNoDeliveryAfterClose() throws Exception {
+        // Given
+        connectAs(1L);
+        handler.afterConnectionEstablished(session);
+
+        // When
+        handler.afterConnectionClosed(session, CloseStatus.NORMAL);
+
+        // Then
+        assertThat(handler.deliver(1L, "{}")).isZero();
+        assertThat(meterRegistry.get("notification.push.connections").gauge().value()).isZero();
+    }
+
+    @Test
+    @DisplayName("유효하지 않은 토큰은 연결 거부")
+    void testRejectInvalidToken() throws Exception {
+        // Given
+        when(session.getUri()).thenReturn(URI.create("ws://localhost/api/v1/notifications/stream?token=bad"));
+        when(jwtUtil.validateToken("bad")).thenReturn(false);
+
+        // When
+        handler.afterConnectionEstablished(session);
+
+        // Then
+        verify(session).close(CloseStatus.NOT_ACCEPTABLE);
+        verify(session, never()).sendMessage(any());
+        assertThat(handler.deliver(1L, "{}")).isZero();
+    }
+
+    private void connectAs(long userId) {
+        when(session.getUri()).thenReturn(URI.create("ws://localhost/api/v1/notifications/stream?token=jwt"));
+        when(session.getAttributes()).thenReturn(attributes);
+        when(session.isOpen()).thenReturn(true);
+        when(jwtUtil.validateToken("jwt")).thenReturn(true);
+        when(jwtUtil.isRefreshToken("jwt")).thenReturn(false);
+        when(jwtUtil.extractUserId("jwt")).thenReturn(userId);
+    }
+}
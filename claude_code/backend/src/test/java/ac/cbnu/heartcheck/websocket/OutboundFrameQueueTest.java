@@ -0,0 +1,255 @@
+package ac.cbnu.heartcheck.websocket;
+
+import ac.cbnu.heartcheck.websocket.OutboundFrameQueue.OverflowPolicy;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.websocket.RemoteEndpoint;
+import jakarta.websocket.SendHandler;
+import jakarta.websocket.SendResult;
+import jakarta.websocket.Session;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.web.socket.BinaryMessage;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.adapter.NativeWebSocketSession;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketSession;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+/**
+ * 프론트엔드 송신 큐 테스트
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("프론트엔드 송신 큐 테스트")
+class OutboundFrameQueueTest {
+
+    private static final CloseStatus OVERFLOW_STATUS = new CloseStatus(1013, "frontend too slow");
+
+    @Mock
+    private WebSocketSession session;
+
+    private final List<Runnable> tasks = new ArrayList<>();
+    private final List<ByteBuffer> recycled = new ArrayList<>();
+    private SimpleMeterRegistry meterRegistry;
+    private OutboundFrameQueue.Meters meters;
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(session.isOpen()).thenReturn(true);
+        lenient().when(session.getId()).thenReturn("s1");
+        meterRegistry = new SimpleMeterRegistry();
+        meters = new OutboundFrameQueue.Meters(
+                meterRegistry.summary("depth"),
+                meterRegistry.timer("latency"),
+                meterRegistry.counter("dropped"),
+                meterRegistry.counter("closed"));
+    }
+
+    @Test
+    @DisplayName("추가 순서대로 전송하고 전송 지연 기록")
+    void testDrainInOrder() throws Exception {
+        // Given
+        OutboundFrameQueue queue = queue(10, OverflowPolicy.DROP_AUDIO);
+        TextMessage first = new TextMessage("{\"type\":\"session.created\"}");
+        BinaryMessage second = new BinaryMessage(new byte[]{1, 2});
+
+        // When: 수신 스레드는 큐에 넣기만 함
+        queue.enqueue(first, false);
+        queue.enqueue(second, true);
+
+        // Then
+        verify(session, never()).sendMessage(any());
+        assertThat(tasks).hasSize(1);
+
+        runTasks();
+        InOrder order = inOrder(session);
+        order.verify(session).sendMessage(first);
+        order.verify(session).sendMessage(second);
+        assertThat(queue.depth()).isZero();
+        assertThat(meters.sendLatency().count()).isEqualTo(2);
+        assertThat(recycled).containsExactly(second.getPayload());
+    }
+
+    @Test
+    @DisplayName("상한 초과 - 오래된 오디오부터 버리고 제어 메시지는 유지")
+    void testDropStaleAudio() throws Exception {
+        // Given
+        OutboundFrameQueue queue = queue(2, OverflowPolicy.DROP_AUDIO);
+        TextMessage created = new TextMessage("{\"type\":\"response.created\"}");
+        BinaryMessage staleAudio = new BinaryMessage(new byte[]{1});
+        BinaryMessage freshAudio = new BinaryMessage(new byte[]{2});
+        TextMessage done = new TextMessage("{\"type\":\"response.done\"}");
+
+        // When: 전송 작업이 아직 실행되지 않은 느린 단말
+        queue.enqueue(created, false);
+        queue.enqueue(staleAudio, true);
+        queue.enqueue(freshAudio, true);
+        queue.enqueue(done, false);
+        runTasks();
+
+        // Then
+        verify(session).sendMessage(created);
+        verify(session).sendMessage(done);
+        verify(session, never()).sendMessage(staleAudio);
+        verify(session, never()).sendMessage(freshAudio);
+        verify(session, never()).close(any());
+        assertThat(meters.droppedAudio().count()).isEqualTo(2);
+        assertThat(recycled).containsExactly(staleAudio.getPayload(), freshAudio.getPayload());
+    }
+
+    @Test
+    @DisplayName("상한 초과 - 버릴 오디오가 없으면 세션 종료")
+    void testOverflowWithoutAudioCloses() throws Exception {
+        // Given
+        OutboundFrameQueue queue = queue(1, OverflowPolicy.DROP_AUDIO);
+
+        // When
+        queue.enqueue(new TextMessage("{\"type\":\"a\"}"), false);
+        queue.enqueue(new TextMessage("{\"type\":\"b\"}"), false);
+        runTasks();
+
+        // Then
+        verify(session).close(OVERFLOW_STATUS);
+        verify(session, never()).sendMessage(any());
+        assertThat(queue.isOpen()).isFalse();
+        assertThat(meters.overflowClosed().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("CLOSE 정책 - 상한 초과 시 오디오여도 즉시 종료")
+    void testClosePolicy() throws Exception {
+        // Given
+        OutboundFrameQueue queue = queue(1, OverflowPolicy.CLOSE);
+
+        // When
+        queue.enqueue(new BinaryMessage(new byte[]{1}), true);
+        queue.enqueue(new BinaryMessage(new byte[]{2}), true);
+
+        // Then
+        verify(session, times(1)).close(OVERFLOW_STATUS);
+        assertThat(meters.droppedAudio().count()).isZero();
+
+        // 종료 후 추가는 무시
+        queue.enqueue(new BinaryMessage(new byte[]{3}), true);
+        runTasks();
+        verify(session, never()).sendMessage(any());
+    }
+
+    @Test
+    @DisplayName("컨테이너 세션은 비동기 전송 - 완료 콜백 후 다음 프레임 전송")
+    void testAsyncSendChainsOnCompletion() {
+        // Given
+        RemoteEndpoint.Async remote = mock(RemoteEndpoint.Async.class);
+        WebSocketSession nativeSession = nativeSession(remote);
+        OutboundFrameQueue queue = queue(nativeSession, 10, OverflowPolicy.DROP_AUDIO);
+
+        // When
+        queue.enqueue(new TextMessage("{\"type\":\"a\"}"), false);
+        queue.enqueue(new TextMessage("{\"type\":\"b\"}"), false);
+        runTasks();
+
+        // Then: 첫 전송이 끝나기 전에는 다음 프레임을 보내지 않고 실행기 스레드도 돌려줌
+        ArgumentCaptor<SendHandler> handler = ArgumentCaptor.forClass(SendHandler.class);
+        verify(remote).sendText(eq("{\"type\":\"a\"}"), handler.capture());
+        verify(remote, never()).sendText(eq("{\"type\":\"b\"}"), any());
+
+        handler.getValue().onResult(new SendResult());
+        runTasks();
+        verify(remote).sendText(eq("{\"type\":\"b\"}"), any());
+        assertThat(meters.sendLatency().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("전송 중 종료 요청은 전송 완료 후 세션을 닫음")
+    void testCloseWaitsForInFlightSend() throws Exception {
+        // Given
+        RemoteEndpoint.Async remote = mock(RemoteEndpoint.Async.class);
+        WebSocketSession nativeSession = nativeSession(remote);
+        OutboundFrameQueue queue = queue(nativeSession, 10, OverflowPolicy.DROP_AUDIO);
+        BinaryMessage audio = new BinaryMessage(new byte[]{1, 2});
+        queue.enqueue(audio, true);
+        runTasks();
+        ArgumentCaptor<SendHandler> handler = ArgumentCaptor.forClass(SendHandler.class);
+        verify(remote).sendBinary(any(), handler.capture());
+
+        // When
+        queue.close(CloseStatus.NORMAL);
+
+        // Then
+        verify(nativeSession, never()).close(any());
+        handler.getValue().onResult(new SendResult());
+        verify(nativeSession).close(CloseStatus.NORMAL);
+        assertThat(recycled).containsExactly(audio.getPayload());
+    }
+
+    @Test
+    @DisplayName("멈춘 전송은 새 프레임이 없어도 감시 작업이 종료")
+    void testWatchdogClosesStalledSend() throws Exception {
+        // Given
+        RemoteEndpoint.Async remote = mock(RemoteEndpoint.Async.class);
+        WebSocketSession nativeSession = nativeSession(remote);
+        OutboundFrameQueue queue = queue(nativeSession, 10, OverflowPolicy.DROP_AUDIO);
+        queue.enqueue(new TextMessage("{\"type\":\"a\"}"), false);
+        runTasks();
+
+        // When
+        boolean withinTimeout = queue.closeIfStalled(System.nanoTime());
+        boolean stalled = queue.closeIfStalled(System.nanoTime() + TimeUnit.SECONDS.toNanos(6));
+        runTasks();
+
+        // Then
+        assertThat(withinTimeout).isFalse();
+        assertThat(stalled).isTrue();
+        verify(nativeSession).close(OVERFLOW_STATUS);
+        assertThat(queue.isOpen()).isFalse();
+        assertThat(meters.overflowClosed().count()).isEqualTo(1);
+    }
+
+    private OutboundFrameQueue queue(int maxFrames, OverflowPolicy policy) {
+        return queue(session, maxFrames, policy);
+    }
+
+    private OutboundFrameQueue queue(WebSocketSession target, int maxFrames, OverflowPolicy policy) {
+        OutboundFrameQueue.Settings settings = new OutboundFrameQueue.Settings(
+                maxFrames, 1024 * 1024, TimeUnit.SECONDS.toNanos(5), policy, OVERFLOW_STATUS);
+        return new OutboundFrameQueue(target, tasks::add, settings, meters, recycled::add);
+    }
+
+    private static WebSocketSession nativeSession(RemoteEndpoint.Async remote) {
+        WebSocketSession nativeSession = mock(WebSocketSession.class,
+                withSettings().extraInterfaces(NativeWebSocketSession.class));
+        Session endpoint = mock(Session.class);
+        when(((NativeWebSocketSession) nativeSession).getNativeSession(Session.class)).thenReturn(endpoint);
+        when(endpoint.getAsyncRemote()).thenReturn(remote);
+        lenient().when(nativeSession.isOpen()).thenReturn(true);
+        lenient().when(nativeSession.getId()).thenReturn("s2");
+        return nativeSession;
+    }
+
+    private void runTasks() {
+        while (!tasks.isEmpty()) {
+            tasks.remove(0).run();
+        }
+    }
+}
@@ -0,0 +1,140 @@
+package ac.cbnu.heartcheck.websocket;
+
+import ac.cbnu.heartcheck.dto.request.CheckRequest;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 음성 답변 추출기 테스트
+ */
+@DisplayName("음성 답변 추출기 테스트")
+class VoiceAnswerExtractorTest {
+
+    private final VoiceAnswerExtractor extractor = new VoiceAnswerExtractor();
+
+    @Test
+    @DisplayName("질문-답변 순서대로 기본 정보, 활력 징후, 증상 누적")
+    void testExtractConversation() {
+        // Given / When
+        ask("성별이 어떻게 되시나요? 남성이신가요, 여성이신가요?");
+        answer("여성입니다");
+        ask("나이가 어떻게 되시나요?");
+        answer("마흔다섯 살이에요");
+        aiSays("네, 마흔다섯 살이시군요. 몸무게는 몇 킬로그램이신가요?");
+        answer("62kg이요");
+        ask("키는 몇 센티미터이신가요?");
+        answer("백육십오 센티요");
+        ask("체온은 몇 도이신가요?");
+        answer("삼십팔점 이도요");
+        ask("호흡은 1분당 몇 회이신가요?");
+        answer("16회 정도요");
+        ask("맥박은 1분에 몇 번 뛰나요?");
+        answer("72회요");
+        ask("가슴 통증이 있으신가요?");
+        answer("네 조금 있어요");
+        ask("부기가 있으신가요?");
+        answer("아니요 없어요");
+        ask("모든 질문에 대한 답변이 끝났습니다. 대단히 감사합니다.");
+
+        // Then
+        CheckRequest request = extractor.toCheckRequest();
+        assertThat(request).isNotNull();
+        assertThat(request.getGender()).isTrue();
+        assertThat(request.getAge()).isEqualTo((short) 45);
+        assertThat(request.getWeight()).isEqualTo((short) 62);
+        assertThat(request.getHeight()).isEqualTo((short) 165);
+        assertThat(request.getTemperature()).isEqualTo("2");
+        assertThat(request.getBreathing()).isEqualTo("0");
+        assertThat(request.getPulse()).isEqualTo((short) 72);
+        assertThat(request.getChestPain()).isTrue();
+        assertThat(request.getEdema()).isFalse();
+        assertThat(request.getFootEdema()).isNull();
+        assertThat(extractor.answeredCount()).isEqualTo(9);
+        assertThat(extractor.missingRequired()).isEmpty();
+        assertThat(extractor.isCompleted()).isTrue();
+    }
+
+    @Test
+    @DisplayName("체온·호흡·맥박을 답하지 않으면 기본값으로 채우지 않고 확정 거부")
+    void testMissingVitalsRefused() {
+        // Given
+        ask("성별이 어떻게 되시나요?");
+        answer("남자요");
+        ask("나이가 어떻게 되시나요?");
+        answer("60세요");
+        ask("몸무게는 몇 킬로그램이신가요?");
+        answer("70kg");
+        ask("키는 몇 센티미터이신가요?");
+        answer("170이요");
+        ask("체온은 몇 도이신가요?");
+        answer("36.5도요");
+        ask("모든 질문에 대한 답변이 끝났습니다.");
+
+        // When
+        CheckRequest request = extractor.toCheckRequest();
+
+        // Then
+        assertThat(request).isNull();
+        assertThat(extractor.missingRequired()).containsExactly("호흡", "맥박");
+        assertThat(extractor.isCompleted()).isTrue();
+    }
+
+    @Test
+    @DisplayName("해석할 수 없는 답변은 버리고 다시 묻는 질문의 답변을 사용")
+    void testUnclearAnswerKeepsQuestionPending() {
+        // Given
+        ask("나이가 어떻게 되시나요?");
+        answer("음 잘 모르겠어요");
+        aiSays("답변을 이해하지 못했습니다. 다시 한번 말씀해 주세요.");
+
+        // When
+        answer("서른둘이요");
+
+        // Then
+        assertThat(extractor.answeredCount()).isEqualTo(1);
+        assertThat(extractor.toCheckRequest()).isNull();
+        assertThat(extractor.isCompleted()).isFalse();
+    }
+
+    @Test
+    @DisplayName("오디오 delta 등 관심 없는 메시지는 무시")
+    void testIgnoresAudioMessages() {
+        // Given
+        ask("가슴 통증이 있으신가요?");
+
+        // When: type 이후의 큰 delta 값과 transcript 필드가 있어도 답변으로 쓰지 않음
+        extractor.accept("{\"type\":\"response.audio.delta\",\"delta\":\"AAAA\",\"transcript\":\"네\"}");
+        extractor.accept("{\"type\":\"input_audio_buffer.append\",\"audio\":\"AAAA\"}");
+        extractor.accept("not json");
+
+        // Then
+        assertThat(extractor.answeredCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("숫자 해석 - 아라비아 숫자, 고유어, 한자어")
+    void testParseNumber() {
+        assertThat(VoiceAnswerExtractor.parseNumber("36.5도")).isEqualTo(36.5);
+        assertThat(VoiceAnswerExtractor.parseNumber("스물다섯")).isEqualTo(25.0);
+        assertThat(VoiceAnswerExtractor.parseNumber("백칠십이센티")).isEqualTo(172.0);
+        assertThat(VoiceAnswerExtractor.parseNumber("삼십육점오도")).isEqualTo(36.5);
+        assertThat(VoiceAnswerExtractor.parseNumber("모르겠어요")).isNull();
+    }
+
+    private void ask(String question) {
+        extractor.accept("{\"type\":\"conversation.item.create\",\"item\":{\"type\":\"message\",\"role\":\"user\","
+                + "\"content\":[{\"type\":\"input_text\",\"text\":\"다음 질문을 해주세요: " + question + "\"}]}}");
+    }
+
+    private void aiSays(String transcript) {
+        extractor.accept("{\"type\":\"response.audio_transcript.done\",\"event_id\":\"e1\",\"transcript\":\""
+                + transcript + "\"}");
+    }
+
+    private void answer(String transcript) {
+        extractor.accept("{\"type\":\"conversation.item.input_audio_transcription.completed\",\"transcript\":\""
+                + transcript + "\"}");
+    }
+}
@@ -0,0 +1,285 @@
+package ac.cbnu.heartcheck.websocket;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.lang.management.ThreadMXBean;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.WebSocket;
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.ToLongFunction;
+
+/**
+ * 음성 프록시 부하 생성기
+ *
+ * N개의 가상 앱 세션이 프록시에 접속해 실제 녹음 속도(24kHz PCM16, 4096바이트/약 85ms)로 오디오를 보내고,
+ * 발화가 끝나면 commit + response.create를 보낸 뒤 response.done까지 오디오를 받는다.
+ *
+ * 측정 항목
+ * - 접속 지연: WebSocket 핸드셰이크 완료까지 (프록시의 토큰 획득 포함)
+ * - 첫 오디오 지연: response.create 전송부터 첫 오디오 수신까지 (가짜 상위의 첫 오디오 지연 포함)
+ * - 중계 처리량: 가상 세션이 보내고 받은 바이트 / 실행 시간
+ * - 세션당 힙·스레드: 모든 세션이 오디오를 보내는 동안의 증가분 / 세션 수
+ *   (같은 JVM의 가상 앱·가짜 상위 몫까지 포함한 상한값)
+ */
+class VoiceLoadGenerator {
+
+    private static final int FRAME_BYTES = 4096;
+    private static final long FRAME_INTERVAL_MILLIS = 85;
+
+    private final URI proxyUri;
+    private final boolean binaryAudio;
+    private final int sessions;
+    private final Duration speech;
+    private final Duration ramp;
+    private final HttpClient httpClient = HttpClient.newHttpClient();
+    private final ScheduledExecutorService scheduler = Executors.newScheduledThreadPool(2, runnable -> {
+        Thread thread = new Thread(runnable, "voice-load");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * @param proxyUri 프록시 주소 (token 쿼리 포함)
+     * @param binaryAudio heartcheck.audio.v1 서브프로토콜 사용 여부
+     * @param sessions 동시 세션 수
+     * @param speech 세션당 발화 길이
+     * @param ramp 모든 세션을 여는 데 걸리는 시간
+     */
+    VoiceLoadGenerator(URI proxyUri, boolean binaryAudio, int sessions, Duration speech, Duration ramp) {
+        this.proxyUri = proxyUri;
+        this.binaryAudio = binaryAudio;
+        this.sessions = sessions;
+        this.speech = speech;
+        this.ramp = ramp;
+    }
+
+    /**
+     * 부하 실행
+     * @param timeout 전체 제한 시간
+     * @return 측정 결과
+     */
+    Report run(Duration timeout) throws InterruptedException {
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        System.gc();
+        long baselineHeap = memory.getHeapMemoryUsage().getUsed();
+        int baselineThreads = threads.getThreadCount();
+
+        CountDownLatch done = new CountDownLatch(sessions);
+        List<SimulatedSession> simulated = new ArrayList<>(sessions);
+        long started = System.nanoTime();
+        long rampStep = sessions > 1 ? ramp.toNanos() / (sessions - 1) : 0;
+        for (int i = 0; i < sessions; i++) {
+            SimulatedSession session = new SimulatedSession(done);
+            simulated.add(session);
+            scheduler.schedule(session::connect, i * rampStep, TimeUnit.NANOSECONDS);
+        }
+
+        // 모든 세션이 발화 중인 시점(램프 완료 + 발화 절반)에 자원 사용량 측정
+        Thread.sleep(ramp.toMillis() + speech.toMillis() / 2);
+        System.gc();
+        long peakHeap = memory.getHeapMemoryUsage().getUsed();
+        int peakThreads = threads.getThreadCount();
+
+        boolean finished = done.await(timeout.toMillis(), TimeUnit.MILLISECONDS);
+        double elapsedSeconds = (System.nanoTime() - started) / 1_000_000_000.0;
+        scheduler.shutdownNow();
+
+        long sent = simulated.stream().mapToLong(session -> session.sentBytes.get()).sum();
+        long received = simulated.stream().mapToLong(session -> session.receivedAudioBytes.get()).sum();
+        long failed = simulated.stream().filter(session -> !session.completed).count();
+        if (!finished) {
+            System.err.println("voice load: timed out with " + done.getCount() + " sessions still running");
+        }
+        return new Report(sessions, binaryAudio, failed,
+                millis(simulated, session -> session.connectNanos),
+                millis(simulated, session -> session.firstAudioNanos),
+                sent, received, elapsedSeconds,
+                (peakHeap - baselineHeap) / (double) sessions,
+                (peakThreads - baselineThreads) / (double) sessions);
+    }
+
+    private static double[] millis(List<SimulatedSession> sessions, ToLongFunction<SimulatedSession> metric) {
+        return sessions.stream().mapToLong(metric).filter(nanos -> nanos > 0)
+                .mapToDouble(nanos -> nanos / 1_000_000.0).sorted().toArray();
+    }
+
+    /**
+     * 가상 앱 세션 1개
+     */
+    private final class SimulatedSession implements WebSocket.Listener {
+        private final CountDownLatch done;
+        private final AtomicLong sentBytes = new AtomicLong();
+        private final AtomicLong receivedAudioBytes = new AtomicLong();
+        private final StringBuilder partial = new StringBuilder();
+        private volatile long connectNanos;
+        private volatile long firstAudioNanos;
+        private volatile long responseRequestedAt;
+        private volatile boolean completed;
+        private volatile boolean finished;
+        private CompletableFuture<WebSocket> lastSend;
+        private ScheduledFuture<?> audioTask;
+
+        private SimulatedSession(CountDownLatch done) {
+            this.done = done;
+        }
+
+        private void connect() {
+            long start = System.nanoTime();
+            WebSocket.Builder builder = httpClient.newWebSocketBuilder().connectTimeout(Duration.ofSeconds(10));
+            if (binaryAudio) {
+                builder.subprotocols(AudioFrameCodec.AUDIO_SUBPROTOCOL);
+            }
+            builder.buildAsync(proxyUri, this).whenComplete((webSocket, error) -> {
+                if (error != null) {
+                    finish(null, false);
+                    return;
+                }
+                connectNanos = System.nanoTime() - start;
+                lastSend = CompletableFuture.completedFuture(webSocket);
+                sendText("{\"type\":\"session.update\",\"session\":{\"input_audio_format\":\"pcm16\"}}");
+                startSpeaking(webSocket);
+            });
+        }
+
+        private void startSpeaking(WebSocket webSocket) {
+            byte[] frame = new byte[FRAME_BYTES];
+            Arrays.fill(frame, (byte) 1);
+            String jsonFrame = "{\"type\":\"input_audio_buffer.append\",\"audio\":\""
+                    + Base64.getEncoder().encodeToString(frame) + "\"}";
+            long frames = speech.toMillis() / FRAME_INTERVAL_MILLIS;
+            AtomicLong remaining = new AtomicLong(frames);
+            audioTask = scheduler.scheduleAtFixedRate(() -> {
+                if (finished) {
+                    audioTask.cancel(false);
+                    return;
+                }
+                if (remaining.getAndDecrement() <= 0) {
+                    audioTask.cancel(false);
+                    requestResponse();
+                    return;
+                }
+                if (binaryAudio) {
+                    sendBinary(frame);
+                } else {
+                    sendText(jsonFrame);
+                }
+            }, FRAME_INTERVAL_MILLIS, FRAME_INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+        }
+
+        private synchronized void requestResponse() {
+            sendText("{\"type\":\"input_audio_buffer.commit\"}");
+            sendText("{\"type\":\"response.create\"}");
+            lastSend.thenRun(() -> responseRequestedAt = System.nanoTime());
+        }
+
+        private synchronized void sendText(String text) {
+            sentBytes.addAndGet(text.length());
+            lastSend = lastSend.thenCompose(webSocket -> webSocket.sendText(text, true));
+        }
+
+        private synchronized void sendBinary(byte[] data) {
+            sentBytes.addAndGet(data.length);
+            lastSend = lastSend.thenCompose(webSocket -> webSocket.sendBinary(ByteBuffer.wrap(data), true));
+        }
+
+        @Override
+        public CompletionStage<?> onText(WebSocket webSocket, CharSequence data, boolean last) {
+            partial.append(data);
+            if (last) {
+                String message = partial.toString();
+                partial.setLength(0);
+                if (message.contains("\"response.audio.delta\"")) {
+                    onAudio(message.length() * 3 / 4);
+                } else if (message.contains("\"response.done\"")) {
+                    finish(webSocket, true);
+                }
+            }
+            webSocket.request(1);
+            return null;
+        }
+
+        @Override
+        public CompletionStage<?> onBinary(WebSocket webSocket, ByteBuffer data, boolean last) {
+            onAudio(data.remaining());
+            webSocket.request(1);
+            return null;
+        }
+
+        @Override
+        public CompletionStage<?> onClose(WebSocket webSocket, int statusCode, String reason) {
+            finish(null, false);
+            return null;
+        }
+
+        @Override
+        public void onError(WebSocket webSocket, Throwable error) {
+            finish(null, false);
+        }
+
+        private void onAudio(long bytes) {
+            receivedAudioBytes.addAndGet(bytes);
+            long requestedAt = responseRequestedAt;
+            if (firstAudioNanos == 0 && requestedAt > 0) {
+                firstAudioNanos = System.nanoTime() - requestedAt;
+            }
+        }
+
+        private synchronized void finish(WebSocket webSocket, boolean success) {
+            if (finished) {
+                return;
+            }
+            finished = true;
+            completed = success;
+            if (webSocket != null) {
+                lastSend.thenCompose(ws -> ws.sendClose(WebSocket.NORMAL_CLOSURE, "done"));
+            }
+            done.countDown();
+        }
+    }
+
+    /**
+     * 부하 측정 결과
+     */
+    record Report(int sessions, boolean binaryAudio, long failedSessions,
+                  double[] connectMillis, double[] firstAudioMillis,
+                  long sentBytes, long receivedAudioBytes, double elapsedSeconds,
+                  double heapBytesPerSession, double threadsPerSession) {
+
+        double percentile(double[] sorted, double p) {
+            if (sorted.length == 0) {
+                return Double.NaN;
+            }
+            int index = (int) Math.ceil(p / 100.0 * sorted.length) - 1;
+            return sorted[Math.max(0, Math.min(sorted.length - 1, index))];
+        }
+
+        String format() {
+            return String.format(
+                    "voice load: sessions=%d audio=%s failed=%d%n"
+                            + "  connect ms      p50=%.1f p95=%.1f p99=%.1f%n"
+                            + "  first audio ms  p50=%.1f p95=%.1f p99=%.1f%n"
+                            + "  relay           sent=%d B received=%d B throughput=%.1f KB/s%n"
+                            + "  per session     heap=%.1f KB threads=%.2f",
+                    sessions, binaryAudio ? "binary" : "json", failedSessions,
+                    percentile(connectMillis, 50), percentile(connectMillis, 95), percentile(connectMillis, 99),
+                    percentile(firstAudioMillis, 50), percentile(firstAudioMillis, 95), percentile(firstAudioMillis, 99),
+                    sentBytes, receivedAudioBytes, (sentBytes + receivedAudioBytes) / 1024.0 / elapsedSeconds,
+                    heapBytesPerSession / 1024.0, threadsPerSession);
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package ac.cbnu.heartcheck.websocket;
+
+import ac.cbnu.heartcheck.HeartDiseaseApplication;
+import ac.cbnu.heartcheck.entity.User;
+import ac.cbnu.heartcheck.util.JwtUtil;
+import ac.cbnu.heartcheck.websocket.VoiceLoadGenerator.Report;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.net.URI;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 음성 프록시 부하 테스트 (가짜 Realtime 상위 서버 사용, OpenAI 호출 없음)
+ *
+ * 실행: ./gradlew voiceLoadTest -PvoiceSessions=200 [-PvoiceAudio=json]
+ */
+@SpringBootTest(classes = HeartDiseaseApplication.class, webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+@EnabledIfEnvironmentVariable(named = "VOICE_LOAD_SESSIONS", matches = "\\d+")
+@DisplayName("음성 프록시 부하 테스트")
+class VoiceProxyLoadTest {
+
+    private static FakeRealtimeUpstream.Server upstream;
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @DynamicPropertySource
+    static void upstreamProperties(DynamicPropertyRegistry registry) {
+        upstream = FakeRealtimeUpstream.start(FakeRealtimeUpstream.Script.realistic());
+        registry.add("openai.realtime.sessions.url", upstream::sessionsUrl);
+        registry.add("openai.realtime.ws.url", upstream::realtimeUrl);
+    }
+
+    @AfterAll
+    static void stopUpstream() {
+        if (upstream != null) {
+            upstream.close();
+        }
+    }
+
+    @Test
+    @DisplayName("동시 음성 세션 중계 - 접속·첫 오디오 지연, 처리량, 세션당 자원")
+    void testConcurrentVoiceSessions() throws InterruptedException {
+        // Given
+        int sessions = Integer.parseInt(System.getenv("VOICE_LOAD_SESSIONS"));
+        boolean binaryAudio = !"json".equalsIgnoreCase(System.getenv().getOrDefault("VOICE_LOAD_AUDIO", "binary"));
+        User user = User.builder().userId(1L).userName("load").phone("01000000000").build();
+        URI proxyUri = URI.create("ws://localhost:" + port + "/api/v1/voice/realtime?token="
+                + jwtUtil.generateTokenForUser(user));
+        VoiceLoadGenerator generator = new VoiceLoadGenerator(
+                proxyUri, binaryAudio, sessions, Duration.ofSeconds(3), Duration.ofSeconds(5));
+
+        // When
+        Report report = generator.run(Duration.ofSeconds(60));
+
+        // Then
+        System.out.println(report.format());
+        System.out.println("  upstream tokens minted=" + upstream.mintedTokens()
+                + " audio received=" + upstream.receivedAudioBytes() + " B");
+        assertThat(report.failedSessions()).isZero();
+        assertThat(report.firstAudioMillis()).hasSize(sessions);
+    }
+}
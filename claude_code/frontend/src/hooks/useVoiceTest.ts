@@ -34,6 +34,7 @@ interface UseVoiceTestReturn {
   currentQuestion: VoiceQuestion | null;
   currentQuestionIndex: number;
   assessmentData: AssessmentData;
+  serverCheck: any | null; // Check saved by the proxy at the end of the test
   transcript: string;
   error: string | null;
   progress: number; // 0-100
@@ -57,6 +58,7 @@ export const useVoiceTest = (): UseVoiceTestReturn => {
   const [assessmentData, setAssessmentData] = useState<AssessmentData>(
     getEmptyAssessmentData(),
   );
+  const [serverCheck, setServerCheck] = useState<any | null>(null);
   const [transcript, setTranscript] = useState<string>('');
   const [error, setError] = useState<string | null>(null);
   const [isRecording, setIsRecording] = useState<boolean>(false);
@@ -335,10 +337,13 @@ export const useVoiceTest = (): UseVoiceTestReturn => {
     const nextIndex = currentQuestionIndex + 1;
 
     if (nextIndex >= voiceTestQuestions.length) {
-      // Test completed
-      setState('completed');
+      // Test completed - let the proxy save the check before disconnecting
       setIsRecording(false);
-      voiceTestService.disconnect();
+      voiceTestService.finalizeCheck().then(check => {
+        setServerCheck(check);
+        setState('completed');
+        voiceTestService.disconnect();
+      });
       return;
     }
 
@@ -396,6 +401,7 @@ export const useVoiceTest = (): UseVoiceTestReturn => {
     currentQuestion,
     currentQuestionIndex,
     assessmentData,
+    serverCheck,
     transcript,
     error,
     progress,
@@ -29,6 +29,7 @@ export const VoiceTestModeScreen = () => {
     currentQuestion,
     currentQuestionIndex,
     assessmentData,
+    serverCheck,
     transcript,
     error,
     progress,
@@ -59,8 +60,10 @@ export const VoiceTestModeScreen = () => {
     try {
       setIsSubmitting(true);
 
-      // Submit assessment data
-      const result = await assessmentService.submitAssessment(assessmentData);
+      // Use the check saved by the voice proxy, submit only as a fallback
+      const result =
+        serverCheck ??
+        (await assessmentService.submitAssessment(assessmentData));
 
       Alert.alert(
         '검사 완료',
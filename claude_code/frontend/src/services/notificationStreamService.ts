@@ -0,0 +1,136 @@
+/**
+ * Notification Stream Service
+ * 알림 푸시 스트림(WebSocket) 연결 관리
+ *
+ * 로그인 동안 연결 하나를 열어 두고 서버가 보내는 새 알림과 읽지 않은 개수 변화를
+ * notificationStore에 반영한다 (목록·개수 폴링 대체).
+ * 연결이 끊기면 지수 백오프로 다시 연결하며, 서버는 연결 직후 읽지 않은 개수 전체 값을 보내
+ * 끊긴 동안 놓친 변화를 맞춰 준다.
+ */
+
+import {getBaseUrl} from './config';
+import {tokenStorage} from '../utils/storage';
+import {useNotificationStore} from '../store/notificationStore';
+import {Notification} from '../types';
+
+const STREAM_PATH = '/api/v1/notifications/stream';
+const INITIAL_RETRY_MS = 1000;
+const MAX_RETRY_MS = 30000;
+
+type PushMessage =
+  | {
+      type: 'notification.created';
+      notification: Omit<Notification, 'user'>;
+      unreadDelta: number;
+    }
+  | {type: 'unread.changed'; unreadDelta: number}
+  | {type: 'unread.count'; unreadCount: number};
+
+class NotificationStreamService {
+  private ws: WebSocket | null = null;
+  private retryMs = INITIAL_RETRY_MS;
+  private retryTimer: ReturnType<typeof setTimeout> | null = null;
+  private active = false;
+
+  /**
+   * 스트림 시작 (로그인 후)
+   */
+  start(): void {
+    if (this.active) {
+      return;
+    }
+    this.active = true;
+    this.retryMs = INITIAL_RETRY_MS;
+    this.connect();
+  }
+
+  /**
+   * 스트림 종료 (로그아웃 시)
+   */
+  stop(): void {
+    this.active = false;
+    if (this.retryTimer) {
+      clearTimeout(this.retryTimer);
+      this.retryTimer = null;
+    }
+    if (this.ws) {
+      this.ws.onclose = null;
+      this.ws.close(1000, 'logout');
+      this.ws = null;
+    }
+  }
+
+  private connect(): void {
+    const token = tokenStorage.getAccessToken();
+    if (!token) {
+      this.scheduleReconnect();
+      return;
+    }
+
+    const url = `${getBaseUrl().replace(/^http/, 'ws')}${STREAM_PATH}?token=${encodeURIComponent(token)}`;
+    const ws = new WebSocket(url);
+    this.ws = ws;
+
+    ws.onopen = () => {
+      this.retryMs = INITIAL_RETRY_MS;
+    };
+
+    ws.onmessage = (event: WebSocketMessageEvent) => {
+      try {
+        this.handleMessage(JSON.parse(event.data) as PushMessage);
+      } catch (error) {
+        console.warn('[NotificationStream] Invalid message:', error);
+      }
+    };
+
+    ws.onerror = () => {
+      // onclose에서 재연결
+    };
+
+    ws.onclose = () => {
+      this.ws = null;
+      this.scheduleReconnect();
+    };
+  }
+
+  private handleMessage(message: PushMessage): void {
+    const store = useNotificationStore.getState();
+    switch (message.type) {
+      case 'notification.created': {
+        // 사용자 정보는 푸시에 포함되지 않음 (목록 표시에 필요하지 않음)
+        const notification = message.notification as Notification;
+        if (notification.id === undefined) {
+          // 일괄 발송 알림은 ID 없이 전달됨 (개수만 반영, 목록은 다음 조회 때 갱신)
+          store.setUnreadCount(store.unreadCount + message.unreadDelta);
+        } else if (!store.notifications.some(n => n.id === notification.id)) {
+          store.addNotification(notification);
+        }
+        break;
+      }
+      case 'unread.changed':
+        store.setUnreadCount(Math.max(0, store.unreadCount + message.unreadDelta));
+        break;
+      case 'unread.count':
+        store.setUnreadCount(message.unreadCount);
+        break;
+    }
+  }
+
+  private scheduleReconnect(): void {
+    if (!this.active || this.retryTimer) {
+      return;
+    }
+    // 모든 앱이 동시에 재연결하지 않도록 지터 추가
+    const delay = Math.random() * this.retryMs;
+    this.retryMs = Math.min(this.retryMs * 2, MAX_RETRY_MS);
+    this.retryTimer = setTimeout(() => {
+      this.retryTimer = null;
+      if (this.active) {
+        this.connect();
+      }
+    }, delay);
+  }
+}
+
+export const notificationStreamService = new NotificationStreamService();
+export default notificationStreamService;
@@ -7,6 +7,40 @@ import {Platform} from 'react-native';
 import authService from './authService';
 import audioPlayer from '../utils/audioPlayer';
 
+// Binary audio subprotocol: raw PCM16 travels in binary frames,
+// the backend proxy wraps/unwraps the OpenAI JSON envelopes
+const AUDIO_SUBPROTOCOL = 'heartcheck.audio.v1';
+
+const BASE64_ALPHABET =
+  'ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789+/';
+const BASE64_LOOKUP = new Uint8Array(128);
+for (let i = 0; i < BASE64_ALPHABET.length; i++) {
+  BASE64_LOOKUP[BASE64_ALPHABET.charCodeAt(i)] = i;
+}
+
+/**
+ * Decode base64 (from the native recorder) into raw bytes
+ */
+function base64ToArrayBuffer(base64: string): ArrayBuffer {
+  let length = base64.length;
+  while (length > 0 && base64.charAt(length - 1) === '=') {
+    length--;
+  }
+  const bytes = new Uint8Array(Math.floor((length * 3) / 4));
+  let byteIndex = 0;
+  let buffer = 0;
+  let bits = 0;
+  for (let i = 0; i < length; i++) {
+    buffer = (buffer << 6) | BASE64_LOOKUP[base64.charCodeAt(i)];
+    bits += 6;
+    if (bits >= 8) {
+      bits -= 8;
+      bytes[byteIndex++] = (buffer >> bits) & 0xff;
+    }
+  }
+  return bytes.buffer;
+}
+
 interface TokenResponse {
   client_secret: {
     value: string;
@@ -17,6 +51,7 @@ interface TokenResponse {
 interface RealtimeSession {
   ws: WebSocket | null;
   isConnected: boolean;
+  binaryAudio: boolean;
   audioContext: AudioContext | null;
 }
 
@@ -24,6 +59,7 @@ export class VoiceTestService {
   private session: RealtimeSession = {
     ws: null,
     isConnected: false,
+    binaryAudio: false,
     audioContext: null,
   };
 
@@ -31,6 +67,7 @@ export class VoiceTestService {
   private onErrorCallback: ((error: Error) => void) | null = null;
   private onConnectionChangeCallback: ((connected: boolean) => void) | null =
     null;
+  private finalizeResolver: ((check: any | null) => void) | null = null;
 
   /**
    * Get ephemeral token from backend
@@ -91,11 +128,18 @@ export class VoiceTestService {
       )}`;
 
       console.log('[VoiceTest] Connecting to backend WebSocket proxy');
-      this.session.ws = new WebSocket(wsUrl);
+      this.session.ws = new WebSocket(wsUrl, [AUDIO_SUBPROTOCOL]);
+      this.session.ws.binaryType = 'arraybuffer';
 
       // Setup WebSocket event handlers
       this.session.ws.onopen = () => {
-        console.log('[VoiceTest] WebSocket connected');
+        // Falls back to JSON audio when the proxy did not accept the subprotocol
+        this.session.binaryAudio =
+          this.session.ws?.protocol === AUDIO_SUBPROTOCOL;
+        console.log(
+          '[VoiceTest] WebSocket connected, audio transport:',
+          this.session.binaryAudio ? 'binary' : 'json',
+        );
         this.session.isConnected = true;
         this.onConnectionChangeCallback?.(true);
 
@@ -104,6 +148,14 @@ export class VoiceTestService {
       };
 
       this.session.ws.onmessage = event => {
+        if (typeof event.data !== 'string') {
+          // Binary frame = raw PCM16 audio delta
+          this.onMessageCallback?.({
+            type: 'audio_chunk',
+            data: event.data,
+          });
+          return;
+        }
         const message = JSON.parse(event.data);
         console.log('[VoiceTest] Message:', message.type);
         this.handleServerMessage(message);
@@ -115,8 +167,14 @@ export class VoiceTestService {
         this.onErrorCallback?.(errorObj);
       };
 
-      this.session.ws.onclose = () => {
-        console.log('[VoiceTest] WebSocket closed');
+      this.session.ws.onclose = event => {
+        console.log('[VoiceTest] WebSocket closed:', event.code);
+        // 1012: node draining for a deploy, 1013: upstream busy - both are safe to retry
+        if (event.code === 1012 || event.code === 1013) {
+          this.onErrorCallback?.(
+            new Error('Voice service is restarting or busy, please try again'),
+          );
+        }
         this.session.isConnected = false;
         this.onConnectionChangeCallback?.(false);
       };
@@ -231,6 +289,17 @@ export class VoiceTestService {
         });
         break;
 
+      case 'heartcheck.check.created':
+        // Check saved by the proxy from the recognized answers
+        console.log('[VoiceTest] Check created on server:', message.data.checkId);
+        this.resolveFinalize(message.data);
+        break;
+
+      case 'heartcheck.check.failed':
+        console.warn('[VoiceTest] Server check not created:', message.message);
+        this.resolveFinalize(null);
+        break;
+
       case 'error':
         console.error('[VoiceTest] Server error:', message.error);
         this.onErrorCallback?.(new Error(message.error.message));
@@ -251,6 +320,11 @@ export class VoiceTestService {
       return;
     }
 
+    if (this.session.binaryAudio) {
+      this.session.ws.send(base64ToArrayBuffer(audioData));
+      return;
+    }
+
     const message = {
       type: 'input_audio_buffer.append',
       audio: audioData, // base64 encoded PCM16 audio
@@ -259,6 +333,31 @@ export class VoiceTestService {
     this.session.ws.send(JSON.stringify(message));
   }
 
+  /**
+   * Ask the proxy to save the check from the recognized answers
+   * Resolves with the created check, or null (caller falls back to POST /checks)
+   */
+  finalizeCheck(timeoutMs: number = 5000): Promise<any | null> {
+    if (!this.session.ws || this.session.ws.readyState !== WebSocket.OPEN) {
+      return Promise.resolve(null);
+    }
+
+    return new Promise(resolve => {
+      const timer = setTimeout(() => this.resolveFinalize(null), timeoutMs);
+      this.finalizeResolver = check => {
+        clearTimeout(timer);
+        resolve(check);
+      };
+      this.session.ws!.send(JSON.stringify({type: 'heartcheck.check.finalize'}));
+    });
+  }
+
+  private resolveFinalize(check: any | null): void {
+    const resolver = this.finalizeResolver;
+    this.finalizeResolver = null;
+    resolver?.(check);
+  }
+
   /**
    * Commit audio buffer and trigger response
    */
@@ -332,10 +431,13 @@ export class VoiceTestService {
    * Disconnect from server
    */
   disconnect(): void {
+    this.resolveFinalize(null);
+
     if (this.session.ws) {
       this.session.ws.close();
       this.session.ws = null;
       this.session.isConnected = false;
+      this.session.binaryAudio = false;
     }
 
     if (this.session.audioContext) {
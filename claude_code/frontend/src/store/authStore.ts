@@ -6,6 +6,7 @@ import {
   UserRegistrationRequest,
 } from '../api';
 import {tokenStorage} from '../utils/storage';
+import {notificationStreamService} from '../services/notificationStreamService';
 
 interface AuthState {
   user: UserInfo | null;
@@ -37,6 +38,7 @@ export const useAuthStore = create<AuthState>((set, get) => ({
         isAuthenticated: true,
         isLoading: false,
       });
+      notificationStreamService.start();
     } catch (error: unknown) {
       const errorMessage = handleApiError(error);
       set({
@@ -65,6 +67,7 @@ export const useAuthStore = create<AuthState>((set, get) => ({
   logout: async () => {
     set({isLoading: true});
     try {
+      notificationStreamService.stop();
       await authService.logout();
       set({
         user: null,
@@ -104,6 +107,7 @@ export const useAuthStore = create<AuthState>((set, get) => ({
           user,
           isAuthenticated: true,
         });
+        notificationStreamService.start();
       } else {
         // Token 만료 시 로그아웃 처리
         tokenStorage.clearAll();